@@ -20,6 +20,7 @@
 package org.neo4j.bolt.v1.runtime;
 
 import java.time.Clock;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.neo4j.bolt.BoltChannel;
 import org.neo4j.bolt.BoltConnectionDescriptor;
@@ -61,6 +62,7 @@ public class MonitoredWorkerFactory implements WorkerFactory
         private final SessionMonitor monitor;
         private final BoltWorker delegate;
         private final Clock clock;
+        private final AtomicBoolean halted = new AtomicBoolean();
 
         MonitoredBoltWorker( SessionMonitor monitor, BoltWorker delegate, Clock clock )
         {
@@ -95,6 +97,10 @@ public class MonitoredWorkerFactory implements WorkerFactory
         public void halt()
         {
             delegate.halt();
+            if ( halted.compareAndSet( false, true ) )
+            {
+                monitor.sessionEnded();
+            }
         }
     }
 
@@ -110,6 +116,11 @@ public class MonitoredWorkerFactory implements WorkerFactory
          */
         void sessionStarted();
 
+        /**
+         * Called when a Bolt session is halted, at most once for every {@link #sessionStarted()}.
+         */
+        void sessionEnded();
+
         /**
          * Called whenever a request is received. This happens after a request is
          * deserialized, but before it is queued pending processing.
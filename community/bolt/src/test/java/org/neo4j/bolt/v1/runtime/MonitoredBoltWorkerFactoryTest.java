@@ -124,6 +124,26 @@ public class MonitoredBoltWorkerFactoryTest
         assertEquals( workersCount, monitor.sessionsStarted );
     }
 
+    @Test
+    public void shouldReportEndedSessionsOnce()
+    {
+        Monitors monitors = new Monitors();
+        CountingSessionMonitor monitor = new CountingSessionMonitor();
+        monitors.addMonitorListener( monitor );
+
+        WorkerFactory mockWorkers = mock( WorkerFactory.class );
+        when( mockWorkers.newWorker( boltChannel ) ).thenReturn( mock( BoltWorker.class ) );
+
+        MonitoredWorkerFactory workerFactory = new MonitoredWorkerFactory( monitors, mockWorkers, systemClock() );
+        BoltWorker worker = workerFactory.newWorker( boltChannel );
+
+        worker.halt();
+        worker.halt();
+
+        assertEquals( 1, monitor.sessionsStarted );
+        assertEquals( 1, monitor.sessionsEnded );
+    }
+
     @Test
     public void shouldNotWrapWithMonitoredSessionIfNobodyIsListening() throws Throwable
     {
@@ -156,6 +176,7 @@ public class MonitoredBoltWorkerFactoryTest
     private static class CountingSessionMonitor implements MonitoredWorkerFactory.SessionMonitor
     {
        long sessionsStarted;
+       long sessionsEnded;
        long messagesReceived;
        long queueTime;
        long processingTime;
@@ -166,6 +187,12 @@ public class MonitoredBoltWorkerFactoryTest
             sessionsStarted++;
         }
 
+        @Override
+        public void sessionEnded()
+        {
+            sessionsEnded++;
+        }
+
         @Override
         public void messageReceived()
         {
@@ -184,6 +184,16 @@ public interface JobScheduler extends Lifecycle
          */
         public static Group transactionTimeoutMonitor = new Group( "TransactionTimeoutMonitor" );
 
+        /**
+         * Decoding of replicated transactions on core members.
+         */
+        public static Group transactionDecoding = new Group( "TransactionDecoding" );
+
+        /**
+         * Concurrent application of replicated transactions on core members.
+         */
+        public static Group transactionApplication = new Group( "TransactionApplication" );
+
         private Groups()
         {
         }
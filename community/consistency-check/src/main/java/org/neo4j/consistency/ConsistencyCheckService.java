@@ -46,11 +46,13 @@ import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
 import org.neo4j.kernel.api.direct.DirectStoreAccess;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.extension.KernelExtensions;
 import org.neo4j.kernel.impl.api.index.SchemaIndexProviderMap;
 import org.neo4j.kernel.impl.api.scan.FullStoreChangeStream;
 import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
+import org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore;
 import org.neo4j.kernel.impl.logging.SimpleLogService;
 import org.neo4j.kernel.impl.pagecache.ConfiguringPageCacheFactory;
 import org.neo4j.kernel.impl.store.NeoStores;
@@ -245,6 +247,10 @@ public class ConsistencyCheckService
                     new NativeLabelScanStore( pageCache, storeDir, FullStoreChangeStream.EMPTY, true, monitors,
                             RecoveryCleanupWorkCollector.IGNORE );
             life.add( labelScanStore );
+            RelationshipTypeScanStore relationshipTypeScanStore =
+                    new NativeRelationshipTypeScanStore( pageCache, storeDir, FullStoreChangeStream.EMPTY, true,
+                            monitors, RecoveryCleanupWorkCollector.IGNORE );
+            life.add( relationshipTypeScanStore );
 
             int numberOfThreads = defaultConsistencyCheckThreadsNumber();
             Statistics statistics;
@@ -261,7 +267,8 @@ public class ConsistencyCheckService
                 storeAccess = new StoreAccess( neoStores );
             }
             storeAccess.initialize();
-            DirectStoreAccess stores = new DirectStoreAccess( storeAccess, labelScanStore, indexes );
+            DirectStoreAccess stores = new DirectStoreAccess( storeAccess, labelScanStore, relationshipTypeScanStore,
+                    indexes );
             FullCheck check = new FullCheck(
                     progressFactory, statistics, numberOfThreads, checkConsistencyConfig, config );
             summary = check.execute( stores, new DuplicatingLog( log, reportLog ) );
@@ -34,14 +34,18 @@ import org.neo4j.consistency.checking.index.IndexEntryProcessor;
 import org.neo4j.consistency.checking.index.IndexIterator;
 import org.neo4j.consistency.checking.labelscan.LabelScanCheck;
 import org.neo4j.consistency.checking.labelscan.LabelScanDocumentProcessor;
+import org.neo4j.consistency.checking.labelscan.RelationshipTypeScanCheck;
+import org.neo4j.consistency.checking.labelscan.RelationshipTypeScanDocumentProcessor;
 import org.neo4j.consistency.report.ConsistencyReport;
 import org.neo4j.consistency.report.ConsistencyReporter;
 import org.neo4j.consistency.statistics.Statistics;
 import org.neo4j.consistency.store.synthetic.IndexRecord;
 import org.neo4j.consistency.store.synthetic.LabelScanIndex;
+import org.neo4j.consistency.store.synthetic.RelationshipTypeScanIndex;
 import org.neo4j.helpers.collection.BoundedIterable;
 import org.neo4j.helpers.progress.ProgressMonitorFactory;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
 import org.neo4j.kernel.impl.store.RecordStore;
 import org.neo4j.kernel.impl.store.Scanner;
@@ -69,13 +73,14 @@ public class ConsistencyCheckTasks
     private final MultiPassStore.Factory multiPass;
     private final ConsistencyReporter reporter;
     private final LabelScanStore labelScanStore;
+    private final RelationshipTypeScanStore relationshipTypeScanStore;
     private final IndexAccessors indexes;
     private final CacheAccess cacheAccess;
     private final int numberOfThreads;
 
     ConsistencyCheckTasks( ProgressMonitorFactory.MultiPartBuilder progress,
             StoreProcessor defaultProcessor, StoreAccess nativeStores, Statistics statistics,
-            CacheAccess cacheAccess, LabelScanStore labelScanStore,
+            CacheAccess cacheAccess, LabelScanStore labelScanStore, RelationshipTypeScanStore relationshipTypeScanStore,
             IndexAccessors indexes, MultiPassStore.Factory multiPass, ConsistencyReporter reporter, int numberOfThreads )
     {
         this.progress = progress;
@@ -86,6 +91,7 @@ public class ConsistencyCheckTasks
         this.multiPass = multiPass;
         this.reporter = reporter;
         this.labelScanStore = labelScanStore;
+        this.relationshipTypeScanStore = relationshipTypeScanStore;
         this.indexes = indexes;
         this.numberOfThreads = numberOfThreads;
     }
@@ -186,6 +192,14 @@ public class ConsistencyCheckTasks
                     new GapFreeAllEntriesLabelScanReader( labelScanStore.allNodeLabelRanges(), highId ),
                     new LabelScanDocumentProcessor( filteredReporter, new LabelScanCheck() ), Stage.SEQUENTIAL_FORWARD,
                     ROUND_ROBIN ) );
+
+            long relationshipHighId = nativeStores.getRelationshipStore().getHighId();
+            tasks.add( new RelationshipTypeIndexDirtyCheckTask() );
+            tasks.add( recordScanner( "RelationshipTypeScanStore",
+                    new GapFreeAllEntriesLabelScanReader( relationshipTypeScanStore.allRelationshipTypeRanges(),
+                            relationshipHighId ),
+                    new RelationshipTypeScanDocumentProcessor( multiPass.reporter( RELATIONSHIPS ),
+                            new RelationshipTypeScanCheck() ), Stage.SEQUENTIAL_FORWARD, ROUND_ROBIN ) );
         }
         if ( checkIndexes )
         {
@@ -248,6 +262,25 @@ public class ConsistencyCheckTasks
         }
     }
 
+    private class RelationshipTypeIndexDirtyCheckTask extends ConsistencyCheckerTask
+    {
+        RelationshipTypeIndexDirtyCheckTask()
+        {
+            super( "Relationship type index dirty check", Statistics.NONE, 1 );
+        }
+
+        @Override
+        public void run()
+        {
+            if ( relationshipTypeScanStore.isDirty() )
+            {
+                reporter.report( new RelationshipTypeScanIndex(),
+                        ConsistencyReport.RelationshipTypeScanConsistencyReport.class,
+                        RecordType.RELATIONSHIP_TYPE_SCAN_DOCUMENT ).dirtyIndex();
+            }
+        }
+    }
+
     private class IndexDirtyCheckTask extends ConsistencyCheckerTask
     {
         IndexDirtyCheckTask()
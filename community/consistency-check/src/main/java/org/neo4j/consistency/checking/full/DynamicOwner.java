@@ -50,16 +50,37 @@ abstract class DynamicOwner<RECORD extends AbstractBaseRecord> implements Owner
         // default: do nothing
     }
 
+    /**
+     * @return whether or not the owned chain may also be owned by other owners which are shared.
+     */
+    boolean isShared()
+    {
+        return false;
+    }
+
     static class Property extends DynamicOwner<PropertyRecord>
             implements ComparativeRecordChecker<PropertyRecord, AbstractBaseRecord, ConsistencyReport.PropertyConsistencyReport>
     {
         private final long id;
         private final RecordType type;
+        private final boolean shared;
 
         Property( RecordType type, PropertyRecord record )
+        {
+            this( type, record, false );
+        }
+
+        Property( RecordType type, PropertyRecord record, boolean shared )
         {
             this.type = type;
             this.id = record.getId();
+            this.shared = shared;
+        }
+
+        @Override
+        boolean isShared()
+        {
+            return shared;
         }
 
         @Override
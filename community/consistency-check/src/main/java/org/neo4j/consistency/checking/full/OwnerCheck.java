@@ -228,9 +228,11 @@ class OwnerCheck implements CheckDecorator
                             if ( dynamicOwners != null )
                             {
                                 long id = block.getSingleValueLong();
-                                DynamicOwner.Property owner = new DynamicOwner.Property( type, record );
+                                // Dictionary encoded strings share their string chain between property blocks
+                                boolean shared = block.forceGetType() == PropertyType.DICTIONARY_STRING;
+                                DynamicOwner.Property owner = new DynamicOwner.Property( type, record, shared );
                                 DynamicOwner prev = dynamicOwners.put( id, owner );
-                                if ( prev != null )
+                                if ( prev != null && !(shared && prev.isShared()) )
                                 {
                                     engine.comparativeCheck( prev.record( records ), owner );
                                 }
@@ -253,6 +255,7 @@ class OwnerCheck implements CheckDecorator
         switch ( type )
         {
         case STRING:
+        case DICTIONARY_STRING:
             return STRING_PROPERTY;
         case ARRAY:
             return ARRAY_PROPERTY;
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.consistency.checking.full;
+
+import org.neo4j.consistency.checking.CheckerEngine;
+import org.neo4j.consistency.checking.ComparativeRecordChecker;
+import org.neo4j.consistency.report.ConsistencyReport;
+import org.neo4j.consistency.store.RecordAccess;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+public class RelationshipInUseWithCorrectTypeCheck
+        <RECORD extends AbstractBaseRecord, REPORT extends ConsistencyReport.RelationshipTypeScanConsistencyReport>
+        implements ComparativeRecordChecker<RECORD, RelationshipRecord, REPORT>
+{
+    private final long[] expectedTypes;
+
+    public RelationshipInUseWithCorrectTypeCheck( long[] expectedTypes )
+    {
+        this.expectedTypes = expectedTypes;
+    }
+
+    @Override
+    public void checkReference( RECORD record, RelationshipRecord relationshipRecord,
+            CheckerEngine<RECORD, REPORT> engine, RecordAccess records )
+    {
+        if ( !relationshipRecord.inUse() )
+        {
+            engine.report().relationshipNotInUse( relationshipRecord );
+            return;
+        }
+
+        // A relationship has exactly one type, so every other type indexed for it is wrong
+        for ( long expectedType : expectedTypes )
+        {
+            if ( expectedType != relationshipRecord.getType() )
+            {
+                engine.report().relationshipDoesNotHaveExpectedType( relationshipRecord, expectedType );
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.consistency.checking.labelscan;
+
+import org.neo4j.consistency.checking.CheckerEngine;
+import org.neo4j.consistency.checking.RecordCheck;
+import org.neo4j.consistency.checking.full.RelationshipInUseWithCorrectTypeCheck;
+import org.neo4j.consistency.report.ConsistencyReport;
+import org.neo4j.consistency.store.RecordAccess;
+import org.neo4j.consistency.store.synthetic.RelationshipTypeScanDocument;
+import org.neo4j.kernel.api.labelscan.NodeLabelRange;
+
+public class RelationshipTypeScanCheck
+        implements RecordCheck<RelationshipTypeScanDocument, ConsistencyReport.RelationshipTypeScanConsistencyReport>
+{
+    @Override
+    public void check( RelationshipTypeScanDocument record, CheckerEngine<RelationshipTypeScanDocument,
+            ConsistencyReport.RelationshipTypeScanConsistencyReport> engine, RecordAccess records )
+    {
+        NodeLabelRange range = record.getRelationshipTypeRange();
+        for ( long relationshipId : range.nodes() )
+        {
+            long[] types = range.labels( relationshipId );
+            if ( types.length > 0 )
+            {
+                engine.comparativeCheck( records.relationship( relationshipId ),
+                        new RelationshipInUseWithCorrectTypeCheck<>( types ) );
+            }
+        }
+    }
+}
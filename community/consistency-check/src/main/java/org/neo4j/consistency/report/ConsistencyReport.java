@@ -29,6 +29,7 @@ import org.neo4j.consistency.checking.RecordCheck;
 import org.neo4j.consistency.store.synthetic.CountsEntry;
 import org.neo4j.consistency.store.synthetic.IndexEntry;
 import org.neo4j.consistency.store.synthetic.LabelScanDocument;
+import org.neo4j.consistency.store.synthetic.RelationshipTypeScanDocument;
 import org.neo4j.kernel.impl.annotations.Documented;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.IndexRule;
@@ -83,6 +84,9 @@ public interface ConsistencyReport
         void forNodeLabelScan( LabelScanDocument document,
                                RecordCheck<LabelScanDocument, ConsistencyReport.LabelScanConsistencyReport> checker );
 
+        void forRelationshipTypeScan( RelationshipTypeScanDocument document,
+                RecordCheck<RelationshipTypeScanDocument, RelationshipTypeScanConsistencyReport> checker );
+
         void forIndexEntry( IndexEntry entry,
                             RecordCheck<IndexEntry, ConsistencyReport.IndexConsistencyReport> checker );
 
@@ -498,6 +502,21 @@ public interface ConsistencyReport
         void dirtyIndex();
     }
 
+    interface RelationshipTypeScanConsistencyReport extends ConsistencyReport
+    {
+        @Documented( "This relationship type scan document refers to a relationship record that is not in use." )
+        void relationshipNotInUse( RelationshipRecord referredRelationshipRecord );
+
+        @Documented( "This relationship type scan document refers to a relationship that does not have the " +
+                     "expected type." )
+        void relationshipDoesNotHaveExpectedType( RelationshipRecord referredRelationshipRecord,
+                long expectedRelationshipTypeId );
+
+        @Warning
+        @Documented( "Relationship type index was not properly shutdown and rebuild is required." )
+        void dirtyIndex();
+    }
+
     interface IndexConsistencyReport extends NodeInUseWithCorrectLabelsReport
     {
         @Override
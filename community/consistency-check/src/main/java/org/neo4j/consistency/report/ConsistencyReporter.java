@@ -39,6 +39,7 @@ import org.neo4j.consistency.store.RecordReference;
 import org.neo4j.consistency.store.synthetic.CountsEntry;
 import org.neo4j.consistency.store.synthetic.IndexEntry;
 import org.neo4j.consistency.store.synthetic.LabelScanDocument;
+import org.neo4j.consistency.store.synthetic.RelationshipTypeScanDocument;
 import org.neo4j.kernel.impl.annotations.Documented;
 import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
@@ -77,6 +78,9 @@ public class ConsistencyReporter implements ConsistencyReport.Reporter
             ProxyFactory.create( ConsistencyReport.DynamicLabelConsistencyReport.class );
     private static final ProxyFactory<ConsistencyReport.LabelScanConsistencyReport> LABEL_SCAN_REPORT =
             ProxyFactory.create( ConsistencyReport.LabelScanConsistencyReport.class );
+    private static final ProxyFactory<ConsistencyReport.RelationshipTypeScanConsistencyReport>
+            RELATIONSHIP_TYPE_SCAN_REPORT =
+            ProxyFactory.create( ConsistencyReport.RelationshipTypeScanConsistencyReport.class );
     private static final ProxyFactory<ConsistencyReport.IndexConsistencyReport> INDEX =
             ProxyFactory.create( ConsistencyReport.IndexConsistencyReport.class );
     private static final ProxyFactory<ConsistencyReport.RelationshipGroupConsistencyReport> RELATIONSHIP_GROUP_REPORT =
@@ -423,6 +427,13 @@ public class ConsistencyReporter implements ConsistencyReport.Reporter
         dispatch( RecordType.LABEL_SCAN_DOCUMENT, LABEL_SCAN_REPORT, document, checker );
     }
 
+    @Override
+    public void forRelationshipTypeScan( RelationshipTypeScanDocument document,
+            RecordCheck<RelationshipTypeScanDocument,ConsistencyReport.RelationshipTypeScanConsistencyReport> checker )
+    {
+        dispatch( RecordType.RELATIONSHIP_TYPE_SCAN_DOCUMENT, RELATIONSHIP_TYPE_SCAN_REPORT, document, checker );
+    }
+
     @Override
     public void forIndexEntry( IndexEntry entry,
                                RecordCheck<IndexEntry, ConsistencyReport.IndexConsistencyReport> checker )
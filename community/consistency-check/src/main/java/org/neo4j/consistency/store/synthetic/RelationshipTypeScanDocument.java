@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.consistency.store.synthetic;
+
+import org.neo4j.kernel.api.labelscan.NodeLabelRange;
+import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
+
+/**
+ * Synthetic record type that stands in for a real record to fit in conveniently
+ * with consistency checking. The relationship type scan store shares its layout with the label scan store,
+ * so the wrapped range maps relationship ids to relationship type ids.
+ */
+public class RelationshipTypeScanDocument extends AbstractBaseRecord
+{
+    private NodeLabelRange relationshipTypeRange;
+
+    public RelationshipTypeScanDocument( NodeLabelRange relationshipTypeRange )
+    {
+        super( relationshipTypeRange.id() );
+        this.relationshipTypeRange = relationshipTypeRange;
+        setInUse( true );
+    }
+
+    @Override
+    public void clear()
+    {
+        super.clear();
+        this.relationshipTypeRange = null;
+    }
+
+    public NodeLabelRange getRelationshipTypeRange()
+    {
+        return relationshipTypeRange;
+    }
+
+    @Override
+    public String toString()
+    {
+        return relationshipTypeRange.toString();
+    }
+}
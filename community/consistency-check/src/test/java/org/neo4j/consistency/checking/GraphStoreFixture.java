@@ -47,6 +47,7 @@ import org.neo4j.kernel.api.ReadOperations;
 import org.neo4j.kernel.api.direct.DirectStoreAccess;
 import org.neo4j.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.extension.KernelExtensions;
 import org.neo4j.kernel.impl.api.TransactionRepresentationCommitProcess;
@@ -54,8 +55,10 @@ import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.api.index.IndexStoreView;
 import org.neo4j.kernel.impl.api.index.SchemaIndexProviderMap;
 import org.neo4j.kernel.impl.api.scan.FullLabelStream;
+import org.neo4j.kernel.impl.api.scan.FullRelationshipTypeStream;
 import org.neo4j.kernel.impl.factory.DatabaseInfo;
 import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
+import org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.kernel.impl.logging.SimpleLogService;
@@ -188,8 +191,10 @@ public abstract class GraphStoreFixture extends ConfigurablePageCacheRule implem
 
             Monitors monitors = new Monitors();
             LabelScanStore labelScanStore = startLabelScanStore( pageCache, indexStoreView, monitors );
+            RelationshipTypeScanStore relationshipTypeScanStore =
+                    startRelationshipTypeScanStore( pageCache, nativeStores, monitors );
             SchemaIndexProviderMap indexes = createIndexes( pageCache, fileSystem, directory, config, logProvider, monitors);
-            directStoreAccess = new DirectStoreAccess( nativeStores, labelScanStore, indexes );
+            directStoreAccess = new DirectStoreAccess( nativeStores, labelScanStore, relationshipTypeScanStore, indexes );
         }
         return directStoreAccess;
     }
@@ -211,6 +216,24 @@ public abstract class GraphStoreFixture extends ConfigurablePageCacheRule implem
         return labelScanStore;
     }
 
+    private RelationshipTypeScanStore startRelationshipTypeScanStore( PageCache pageCache, StoreAccess nativeStores,
+            Monitors monitors )
+    {
+        NativeRelationshipTypeScanStore relationshipTypeScanStore = new NativeRelationshipTypeScanStore( pageCache,
+                directory, new FullRelationshipTypeStream( nativeStores.getRawNeoStores().getRelationshipStore() ),
+                false, monitors, RecoveryCleanupWorkCollector.IMMEDIATE );
+        try
+        {
+            relationshipTypeScanStore.init();
+            relationshipTypeScanStore.start();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+        return relationshipTypeScanStore;
+    }
+
     private SchemaIndexProviderMap createIndexes( PageCache pageCache, FileSystemAbstraction fileSystem, File storeDir,
             Config config, LogProvider logProvider, Monitors monitors )
     {
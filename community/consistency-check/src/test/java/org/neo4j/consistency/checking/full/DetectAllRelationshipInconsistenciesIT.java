@@ -39,6 +39,7 @@ import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
 import org.neo4j.kernel.api.direct.DirectStoreAccess;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.MyRelTypes;
 import org.neo4j.kernel.impl.api.index.SchemaIndexProviderMap;
@@ -125,6 +126,7 @@ public class DetectAllRelationshipInconsistenciesIT
                 StoreAccess storeAccess = new StoreAccess( neoStores ).initialize();
                 DirectStoreAccess directStoreAccess = new DirectStoreAccess( storeAccess,
                         db.getDependencyResolver().resolveDependency( LabelScanStore.class ),
+                        db.getDependencyResolver().resolveDependency( RelationshipTypeScanStore.class ),
                         db.getDependencyResolver().resolveDependency( SchemaIndexProviderMap.class ) );
 
                 int threads = random.intBetween( 2, 10 );
@@ -72,6 +72,7 @@ import org.neo4j.kernel.api.index.SchemaIndexProvider;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
 import org.neo4j.kernel.api.labelscan.LabelScanWriter;
 import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
 import org.neo4j.kernel.api.schema.constaints.ConstraintDescriptorFactory;
 import org.neo4j.kernel.api.schema.index.IndexDescriptor;
@@ -406,6 +407,28 @@ public class FullCheckIntegrationTest
                    .andThatsAllFolks();
     }
 
+    @Test
+    public void shouldReportRelationshipTypeScanStoreInconsistencies() throws Exception
+    {
+        // given
+        GraphStoreFixture.IdGenerator idGenerator = fixture.idGenerator();
+        long relationshipId = idGenerator.relationship();
+        long relationshipTypeId = idGenerator.relationshipType();
+
+        RelationshipTypeScanStore relationshipTypeScanStore = fixture.directStoreAccess().relationshipTypeScanStore();
+        try ( LabelScanWriter writer = relationshipTypeScanStore.newWriter() )
+        {
+            writer.write( labelChanges( relationshipId, new long[]{}, new long[]{relationshipTypeId} ) );
+        }
+
+        // when
+        ConsistencySummaryStatistics stats = check();
+
+        // then
+        on( stats ).verify( RecordType.RELATIONSHIP_TYPE_SCAN_DOCUMENT, 1 )
+                   .andThatsAllFolks();
+    }
+
     private void write( LabelScanStore labelScanStore, Iterable<NodeLabelUpdate> nodeLabelUpdates )
             throws IOException
     {
@@ -29,9 +29,11 @@ import org.neo4j.consistency.report.ConsistencyReport.LabelScanConsistencyReport
 import org.neo4j.consistency.report.ConsistencyReport.PropertyConsistencyReport;
 import org.neo4j.consistency.report.ConsistencyReport.RelationshipGroupConsistencyReport;
 import org.neo4j.consistency.report.ConsistencyReport.RelationshipTypeConsistencyReport;
+import org.neo4j.consistency.report.ConsistencyReport.RelationshipTypeScanConsistencyReport;
 import org.neo4j.consistency.store.synthetic.CountsEntry;
 import org.neo4j.consistency.store.synthetic.IndexEntry;
 import org.neo4j.consistency.store.synthetic.LabelScanDocument;
+import org.neo4j.consistency.store.synthetic.RelationshipTypeScanDocument;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
@@ -101,6 +103,12 @@ public class NullReporter implements ConsistencyReport.Reporter
     {
     }
 
+    @Override
+    public void forRelationshipTypeScan( RelationshipTypeScanDocument document,
+            RecordCheck<RelationshipTypeScanDocument,RelationshipTypeScanConsistencyReport> checker )
+    {
+    }
+
     @Override
     public void forIndexEntry( IndexEntry entry, RecordCheck<IndexEntry, IndexConsistencyReport>
             checker )
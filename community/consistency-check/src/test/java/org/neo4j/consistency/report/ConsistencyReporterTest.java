@@ -51,6 +51,7 @@ import org.neo4j.consistency.store.RecordReference;
 import org.neo4j.consistency.store.synthetic.CountsEntry;
 import org.neo4j.consistency.store.synthetic.IndexEntry;
 import org.neo4j.consistency.store.synthetic.LabelScanDocument;
+import org.neo4j.consistency.store.synthetic.RelationshipTypeScanDocument;
 import org.neo4j.kernel.api.index.SchemaIndexProvider;
 import org.neo4j.kernel.api.schema.SchemaDescriptor;
 import org.neo4j.kernel.api.labelscan.NodeLabelRange;
@@ -375,6 +376,10 @@ public class ConsistencyReporterTest
             {
                 return new LabelScanDocument( new NodeLabelRange( 0, new long[][] {} ) );
             }
+            if ( type == RelationshipTypeScanDocument.class )
+            {
+                return new RelationshipTypeScanDocument( new NodeLabelRange( 0, new long[][] {} ) );
+            }
             if ( type == IndexEntry.class )
             {
                 return new IndexEntry( 0 );
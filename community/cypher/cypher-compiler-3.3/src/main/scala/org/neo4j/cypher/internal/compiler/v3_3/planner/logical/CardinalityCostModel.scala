@@ -39,7 +39,9 @@ object CardinalityCostModel extends CostModel {
      */
 
     case _: NodeByLabelScan |
+         _: NodeByLabelIntersectionScan |
          _: NodeIndexScan |
+         _: NodePropertyColumnScan |
          _: ProjectEndpoints
     => 1.0
 
@@ -61,8 +63,13 @@ object CardinalityCostModel extends CostModel {
          _: VarExpand
     => 1.5
 
+    // Reading the relationship type scan store, like a label scan, and then the relationship records, like an expand
+    case _: DirectedRelationshipTypeScan
+    => 2.5
+
     case _: NodeUniqueIndexSeek |
          _: NodeIndexSeek |
+         _: OrderedNodeIndexSeek |
          _: NodeIndexContainsScan |
          _: NodeIndexEndsWithScan
     => 1.9
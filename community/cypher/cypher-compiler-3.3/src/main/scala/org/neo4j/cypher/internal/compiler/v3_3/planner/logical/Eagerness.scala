@@ -36,8 +36,10 @@ object Eagerness {
   def readWriteConflictInHead(plan: LogicalPlan, plannerQuery: PlannerQuery): Boolean = {
     // The first leaf node is always reading through a stable iterator.
     // We will only consider this analysis for all other node iterators.
+    // A relationship type scan also starts from a read, so it is treated like reading its start node.
     val unstableLeaves = plan.leaves.collect {
       case n: NodeLogicalLeafPlan => n.idName
+      case r: DirectedRelationshipTypeScan => r.startNode
     }
 
     if (unstableLeaves.isEmpty)
@@ -41,6 +41,9 @@ object QueryPlannerConfiguration {
     // MATCH (n:Person) WHERE n.prop CONTAINS ...
     indexScanLeafPlanner,
 
+    // MATCH (n:Person) WHERE exists(n.prop) RETURN n, when (:Person).prop is kept in a property column
+    propertyColumnScanLeafPlanner,
+
     // MATCH (n:Person) RETURN n
     labelScanLeafPlanner
   )
@@ -51,6 +54,9 @@ object QueryPlannerConfiguration {
     // MATCH (n) RETURN n
     allNodesLeafPlanner,
 
+    // MATCH (a)-[r:T]->(b) RETURN r
+    relationshipTypeScanLeafPlanner,
+
     // Handles OR between other leaf planners
     OrLeafPlanner(leafPlanFromExpressions))
 
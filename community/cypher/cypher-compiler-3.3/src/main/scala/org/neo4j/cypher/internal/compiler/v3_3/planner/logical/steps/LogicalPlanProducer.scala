@@ -93,6 +93,20 @@ case class LogicalPlanProducer(cardinalityModel: CardinalityModel) extends ListS
     DirectedRelationshipByIdSeek(idName, relIds, startNode, endNode, argumentIds)(solved)
   }
 
+  def planDirectedRelationshipTypeScan(idName: String,
+                                       startNode: String,
+                                       typ: RelTypeName,
+                                       endNode: String,
+                                       pattern: PatternRelationship,
+                                       argumentIds: Set[String])
+                                      (implicit context: LogicalPlanningContext): LogicalPlan = {
+    val solved = RegularPlannerQuery(queryGraph = QueryGraph.empty
+      .addPatternRelationship(pattern)
+      .addArgumentIds(argumentIds.toIndexedSeq)
+    )
+    DirectedRelationshipTypeScan(idName, startNode, typ, endNode, argumentIds)(solved)
+  }
+
   def planUndirectedRelationshipByIdSeek(idName: String,
                                          relIds: SeekableArgs,
                                          leftNode: String,
@@ -185,6 +199,18 @@ case class LogicalPlanProducer(cardinalityModel: CardinalityModel) extends ListS
     NodeByLabelScan(idName, label, argumentIds)(solved)
   }
 
+  def planNodeByLabelIntersectionScan(idName: String, labels: Seq[LabelName], solvedPredicates: Seq[Expression],
+                                      solvedHint: Option[UsingScanHint] = None, argumentIds: Set[String])
+                                     (implicit context: LogicalPlanningContext): LogicalPlan = {
+    val solved = RegularPlannerQuery(queryGraph = QueryGraph.empty
+      .addPatternNodes(idName)
+      .addPredicates(solvedPredicates: _*)
+      .addHints(solvedHint)
+      .addArgumentIds(argumentIds.toIndexedSeq)
+    )
+    NodeByLabelIntersectionScan(idName, labels, argumentIds)(solved)
+  }
+
   def planNodeIndexSeek(idName: String,
                         label: ast.LabelToken,
                         propertyKeys: Seq[ast.PropertyKeyToken],
@@ -216,6 +242,19 @@ case class LogicalPlanProducer(cardinalityModel: CardinalityModel) extends ListS
     NodeIndexScan(idName, label, propertyKey, argumentIds)(solved)
   }
 
+  def planNodePropertyColumnScan(idName: String,
+                                 label: ast.LabelToken,
+                                 propertyKey: ast.PropertyKeyToken,
+                                 solvedPredicates: Seq[Expression] = Seq.empty,
+                                 argumentIds: Set[String])(implicit context: LogicalPlanningContext): LogicalPlan = {
+    val solved = RegularPlannerQuery(queryGraph = QueryGraph.empty
+      .addPatternNodes(idName)
+      .addPredicates(solvedPredicates: _*)
+      .addArgumentIds(argumentIds.toIndexedSeq)
+    )
+    NodePropertyColumnScan(idName, label, propertyKey, argumentIds)(solved)
+  }
+
   def planNodeIndexContainsScan(idName: String,
                                 label: ast.LabelToken,
                                 propertyKey: ast.PropertyKeyToken,
@@ -456,6 +495,14 @@ case class LogicalPlanProducer(cardinalityModel: CardinalityModel) extends ListS
     Sort(inner, descriptions)(solved)
   }
 
+  def planOrderedNodeIndexSeek(seek: NodeIndexSeek, indexOrder: IndexOrder)
+                              (implicit context: LogicalPlanningContext): LogicalPlan =
+    OrderedNodeIndexSeek(seek.idName, seek.label, seek.propertyKeys, seek.valueExpr, seek.argumentIds, indexOrder)(seek.solved)
+
+  def planSortedByIndexSeek(inner: LogicalPlan, items: Seq[ast.SortItem])
+                           (implicit context: LogicalPlanningContext): LogicalPlan =
+    inner.updateSolved(inner.solved.updateTailOrSelf(_.updateQueryProjection(_.updateShuffle(_.withSortItems(items)))))
+
   def planShortestPath(inner: LogicalPlan, shortestPaths: ShortestPathPattern, predicates: Seq[Expression],
                        withFallBack: Boolean, disallowSameNode: Boolean = true)
                       (implicit context: LogicalPlanningContext): LogicalPlan = {
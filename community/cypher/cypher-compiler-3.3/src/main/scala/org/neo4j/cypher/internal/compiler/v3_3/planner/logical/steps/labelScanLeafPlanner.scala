@@ -22,6 +22,7 @@ package org.neo4j.cypher.internal.compiler.v3_3.planner.logical.steps
 import org.neo4j.cypher.internal.compiler.v3_3.planner.logical.{LeafPlanFromExpression, LeafPlanner, LeafPlansForVariable, LogicalPlanningContext}
 import org.neo4j.cypher.internal.frontend.v3_3.ast.{Expression, HasLabels, UsingScanHint, Variable}
 import org.neo4j.cypher.internal.ir.v3_3.QueryGraph
+import org.neo4j.cypher.internal.v3_3.logical.plans.LogicalPlan
 
 object labelScanLeafPlanner extends LeafPlanner with LeafPlanFromExpression {
 
@@ -44,5 +45,30 @@ object labelScanLeafPlanner extends LeafPlanner with LeafPlanFromExpression {
   }
 
   override def apply(qg: QueryGraph)(implicit context: LogicalPlanningContext) =
-    qg.selections.flatPredicates.flatMap(e => producePlanFor(e, qg).toSeq.flatMap(_.plans))
+    qg.selections.flatPredicates.flatMap(e => producePlanFor(e, qg).toSeq.flatMap(_.plans)) ++
+      labelIntersectionScans(qg)
+
+  /*
+   * For nodes with more than one label, scanning all of the labels and intersecting the results solves all
+   * label predicates at once, without having to filter the nodes of one label scan on the other labels.
+   */
+  private def labelIntersectionScans(qg: QueryGraph)(implicit context: LogicalPlanningContext): Seq[LogicalPlan] = {
+    val labelPredicates = qg.selections.flatPredicates.collect {
+      case labelPredicate@HasLabels(Variable(varName), _) if qg.patternNodes(varName) && !qg.argumentIds(varName) =>
+        varName -> labelPredicate
+    }
+    labelPredicates.groupBy(_._1).toIndexedSeq.flatMap {
+      case (varName, predicatesForVariable) =>
+        val solvedPredicates = predicatesForVariable.map(_._2)
+        val labels = solvedPredicates.flatMap(_.labels).distinct
+        if (labels.size > 1) {
+          val hint = qg.hints.collectFirst {
+            case hint@UsingScanHint(Variable(`varName`), labelName) if labels.contains(labelName) => hint
+          }
+          Some(context.logicalPlanProducer.planNodeByLabelIntersectionScan(varName, labels, solvedPredicates, hint,
+                                                                           qg.argumentIds))
+        } else
+          None
+    }
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v3_3.planner.logical.steps
+
+import org.neo4j.cypher.internal.compiler.v3_3.planner.logical.LeafPlansForVariable.maybeLeafPlans
+import org.neo4j.cypher.internal.compiler.v3_3.planner.logical.plans.AsPropertyScannable
+import org.neo4j.cypher.internal.compiler.v3_3.planner.logical.{LeafPlanFromExpression, LeafPlanner, LeafPlansForVariable, LogicalPlanningContext}
+import org.neo4j.cypher.internal.frontend.v3_3.ast._
+import org.neo4j.cypher.internal.ir.v3_3.QueryGraph
+import org.neo4j.cypher.internal.v3_3.logical.plans.LogicalPlan
+
+/*
+ * Plans scans of the property columns kept for some label and property key pairs, for predicates implying that
+ * a labeled node has the property. The remaining part of a predicate, e.g. the comparison of n.prop > 42, is
+ * then solved by a selection reading the property values from the column as well.
+ */
+object propertyColumnScanLeafPlanner extends LeafPlanner with LeafPlanFromExpression {
+
+  override def producePlanFor(e: Expression, qg: QueryGraph)(implicit context: LogicalPlanningContext): Option[LeafPlansForVariable] = {
+    implicit val semanticTable = context.semanticTable
+
+    e match {
+      // MATCH (n:User) WHERE exists(n.prop) RETURN n
+      // MATCH (n:User) WHERE n.prop > 42 RETURN n
+      case AsPropertyScannable(scannable) =>
+        val name = scannable.name
+        val propertyKey = scannable.propertyKey
+
+        val plans = for (labelPredicate <- qg.selections.labelPredicates.getOrElse(name, Set.empty);
+                         labelName <- labelPredicate.labels;
+                         labelId <- labelName.id;
+                         propertyKeyId <- propertyKey.id
+                         if context.planContext.hasPropertyColumn(labelName.name, propertyKey.name))
+          yield {
+            val labelToken = LabelToken(labelName, labelId)
+            val keyToken = PropertyKeyToken(propertyKey, propertyKeyId)
+            context.logicalPlanProducer.planNodePropertyColumnScan(name, labelToken, keyToken,
+                                                                   Seq(scannable.expr, labelPredicate), qg.argumentIds)
+          }
+        maybeLeafPlans(name, plans)
+
+      case _ =>
+        None
+    }
+  }
+
+  override def apply(qg: QueryGraph)(implicit context: LogicalPlanningContext): Seq[LogicalPlan] =
+    qg.selections.flatPredicates.flatMap(e => producePlanFor(e, qg).toSeq.flatMap(_.plans))
+}
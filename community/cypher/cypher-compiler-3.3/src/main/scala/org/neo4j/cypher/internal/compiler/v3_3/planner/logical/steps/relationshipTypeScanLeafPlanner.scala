@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compiler.v3_3.planner.logical.steps
+
+import org.neo4j.cypher.internal.compiler.v3_3.planner.logical.{LeafPlanner, LogicalPlanningContext}
+import org.neo4j.cypher.internal.frontend.v3_3.SemanticDirection.{INCOMING, OUTGOING}
+import org.neo4j.cypher.internal.frontend.v3_3.ast.UsingJoinHint
+import org.neo4j.cypher.internal.ir.v3_3.{PatternRelationship, QueryGraph, SimplePatternLength}
+import org.neo4j.cypher.internal.v3_3.logical.plans.LogicalPlan
+
+/*
+ * Plans a relationship type scan for directed single type relationships, finding the relationships and both of their
+ * end nodes at once from the relationship type scan store instead of expanding from all nodes. Relationships touching
+ * a node with a join hint are left to expand, so that the hinted join can still be planned.
+ */
+object relationshipTypeScanLeafPlanner extends LeafPlanner {
+
+  override def apply(qg: QueryGraph)(implicit context: LogicalPlanningContext): Seq[LogicalPlan] = {
+    val joinHintNodes = qg.hints.collect { case hint: UsingJoinHint => hint.variables.map(_.name).toIterable }.flatten
+    qg.patternRelationships.toIndexedSeq.collect {
+      case relationship@PatternRelationship(name, (left, right), dir, Seq(typ), SimplePatternLength)
+        if (dir == OUTGOING || dir == INCOMING) && left != right && !(Set(name, left, right) exists qg.argumentIds) &&
+          !(joinHintNodes contains left) && !(joinHintNodes contains right) =>
+        val (startNode, endNode) = if (dir == OUTGOING) (left, right) else (right, left)
+        context.logicalPlanProducer.planDirectedRelationshipTypeScan(name, startNode, typ, endNode, relationship,
+                                                                     qg.argumentIds)
+    }
+  }
+}
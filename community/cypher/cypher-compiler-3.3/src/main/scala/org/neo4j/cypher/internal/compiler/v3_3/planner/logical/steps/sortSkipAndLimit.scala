@@ -20,13 +20,16 @@
 package org.neo4j.cypher.internal.compiler.v3_3.planner.logical.steps
 
 import org.neo4j.cypher.internal.compiler.v3_3.planner.logical._
-import org.neo4j.cypher.internal.frontend.v3_3.ast.Variable
+import org.neo4j.cypher.internal.frontend.v3_3.ast.{Property, PropertyKeyName, Variable}
 import org.neo4j.cypher.internal.frontend.v3_3.{InternalException, ast}
 import org.neo4j.cypher.internal.ir.v3_3.{PlannerQuery, QueryProjection}
-import org.neo4j.cypher.internal.v3_3.logical.plans.{Ascending, ColumnOrder, Descending, LogicalPlan}
+import org.neo4j.cypher.internal.v3_3.logical.plans._
 
 object sortSkipAndLimit extends PlanTransformer[PlannerQuery] {
 
+  // either a variable, or a (node variable, property key name) pair
+  private type SortKey = Either[String, (String, String)]
+
   def apply(plan: LogicalPlan, query: PlannerQuery)(implicit context: LogicalPlanningContext): LogicalPlan = query.horizon match {
     case p: QueryProjection =>
       val shuffle = p.shuffle
@@ -37,7 +40,8 @@ object sortSkipAndLimit extends PlanTransformer[PlannerQuery] {
         case (sortItems, s, l) =>
           require(sortItems.forall(_.expression.isInstanceOf[Variable]))
           val columnOrders = sortItems.map(columnOrder)
-          val sortedPlan = context.logicalPlanProducer.planSort(plan, columnOrders, sortItems)
+          val sortedPlan = planOrderedIndexSeek(plan, columnOrders, sortItems).getOrElse(
+            context.logicalPlanProducer.planSort(plan, columnOrders, sortItems))
 
           addLimit(l, addSkip(s, sortedPlan))
       }
@@ -53,6 +57,70 @@ object sortSkipAndLimit extends PlanTransformer[PlannerQuery] {
     case _ => throw new InternalException("Sort items expected to only use single variable expression")
   }
 
+  /*
+  Sorting on a single property of a node found by a range seek in an index, with only plans keeping the order of rows
+  in between, is solved by having the index return the nodes in order instead of sorting them.
+   */
+  private def planOrderedIndexSeek(plan: LogicalPlan, columnOrders: Seq[ColumnOrder], sortItems: Seq[ast.SortItem])
+                                  (implicit context: LogicalPlanningContext): Option[LogicalPlan] = columnOrders match {
+    case Seq(order) =>
+      val indexOrder = order match {
+        case _: Ascending => IndexOrderAscending
+        case _: Descending => IndexOrderDescending
+      }
+      orderedBySeek(plan, Left(order.id), indexOrder).map(context.logicalPlanProducer.planSortedByIndexSeek(_, sortItems))
+
+    case _ => None
+  }
+
+  /*
+  Looks for the index seek through plans which keep the order of rows. The sort key starts out as the sorted variable,
+  and becomes a (node, property key) pair when reaching the projection of that variable. Later query parts are planned
+  as the right hand side of an Apply, which keeps the order of the left hand side as long as it produces at most one row
+  per argument row.
+   */
+  private def orderedBySeek(plan: LogicalPlan, sortKey: SortKey, indexOrder: IndexOrder)
+                           (implicit context: LogicalPlanningContext): Option[LogicalPlan] = plan match {
+    case p@Projection(source, expressions) =>
+      projectedSortKey(sortKey, expressions).flatMap(orderedBySeek(source, _, indexOrder))
+        .map(newSource => p.copy(left = newSource)(p.solved))
+
+    case s@Selection(_, source) =>
+      orderedBySeek(source, sortKey, indexOrder).map(newSource => s.copy(left = newSource)(s.solved))
+
+    case a@Apply(source, inner) =>
+      argumentSortKey(inner, sortKey).flatMap(orderedBySeek(source, _, indexOrder))
+        .map(newSource => a.copy(left = newSource)(a.solved))
+
+    case seek@NodeIndexSeek(idName, _, Seq(propertyKey), _: RangeQueryExpression[_], _)
+      if sortKey == Right((idName, propertyKey.name)) =>
+      Some(context.logicalPlanProducer.planOrderedNodeIndexSeek(seek, indexOrder))
+
+    case _ => None
+  }
+
+  private def argumentSortKey(plan: LogicalPlan, sortKey: SortKey): Option[SortKey] = plan match {
+    case Projection(source, expressions) => projectedSortKey(sortKey, expressions).flatMap(argumentSortKey(source, _))
+    case Selection(_, source) => argumentSortKey(source, sortKey)
+    case _: Argument => Some(sortKey)
+    case _ => None
+  }
+
+  private def projectedSortKey(sortKey: SortKey, expressions: Map[String, ast.Expression]): Option[SortKey] =
+    sortKey match {
+      case Left(variable) => expressions.get(variable) match {
+        case None => Some(sortKey)
+        case Some(Variable(name)) => Some(Left(name))
+        case Some(Property(Variable(node), PropertyKeyName(propertyKey))) => Some(Right((node, propertyKey)))
+        case Some(_) => None
+      }
+      case Right((node, propertyKey)) => expressions.get(node) match {
+        case None => Some(sortKey)
+        case Some(Variable(name)) => Some(Right((name, propertyKey)))
+        case Some(_) => None
+      }
+    }
+
   private def addSkip(s: Option[ast.Expression], plan: LogicalPlan)(implicit context: LogicalPlanningContext) =
     s.fold(plan)(x => context.logicalPlanProducer.planSkip(plan, x))
 
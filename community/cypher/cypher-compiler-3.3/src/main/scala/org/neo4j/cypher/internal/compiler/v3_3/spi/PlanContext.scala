@@ -44,6 +44,8 @@ trait PlanContext extends TokenContext with ProcedureSignatureResolver {
 
   def hasPropertyExistenceConstraint(labelName: String, propertyKey: String): Boolean
 
+  def hasPropertyColumn(labelName: String, propertyKey: String): Boolean
+
   def checkNodeIndex(idxName: String)
 
   def checkRelIndex(idxName: String)
@@ -33,6 +33,7 @@ trait LogicalPlanningConfiguration {
   def graphStatistics: GraphStatistics
   def indexes: Set[(String, Seq[String])]
   def uniqueIndexes: Set[(String, Seq[String])]
+  def propertyColumns: Set[(String, String)]
   def labelCardinality: Map[String, Cardinality]
   def knownLabels: Set[String]
   def labelsById: Map[Int, String]
@@ -49,6 +50,7 @@ class DelegatingLogicalPlanningConfiguration(val parent: LogicalPlanningConfigur
   override def graphStatistics = parent.graphStatistics
   override def indexes = parent.indexes
   override def uniqueIndexes = parent.uniqueIndexes
+  override def propertyColumns = parent.propertyColumns
   override def labelCardinality = parent.labelCardinality
   override def knownLabels = parent.knownLabels
   override def labelsById = parent.labelsById
@@ -74,6 +76,10 @@ trait LogicalPlanningConfigurationAdHocSemanticTable {
       addLabelIfUnknown(label)
       properties.foreach(addPropertyKeyIfUnknown(_))
     }
+    propertyColumns.foreach { case (label, property) =>
+      addLabelIfUnknown(label)
+      addPropertyKeyIfUnknown(property)
+    }
     labelCardinality.keys.foreach(addLabelIfUnknown)
     knownLabels.foreach(addLabelIfUnknown)
     table
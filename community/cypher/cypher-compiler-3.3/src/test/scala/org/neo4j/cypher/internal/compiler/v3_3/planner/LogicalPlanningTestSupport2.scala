@@ -124,6 +124,9 @@ trait LogicalPlanningTestSupport2 extends CypherTestSupport with AstConstruction
       override def indexExistsForLabel(labelName: String): Boolean =
         config.indexes.exists(_._1 == labelName) || config.uniqueIndexes.exists(_._1 == labelName)
 
+      override def hasPropertyColumn(labelName: String, propertyKey: String): Boolean =
+        config.propertyColumns((labelName, propertyKey))
+
       override def getOptPropertyKeyId(propertyKeyName: String) =
         semanticTable.resolvedPropertyKeyNames.get(propertyKeyName).map(_.id)
 
@@ -47,6 +47,7 @@ case class RealLogicalPlanningConfiguration()
   override def graphStatistics: GraphStatistics = HardcodedGraphStatistics
   override def indexes: Set[(String, Seq[String])] = Set.empty
   override def uniqueIndexes: Set[(String, Seq[String])] = Set.empty
+  override def propertyColumns: Set[(String, String)] = Set.empty
   override def labelCardinality: Map[String, Cardinality] = Map.empty
   override def knownLabels: Set[String] = Set.empty
   override def labelsById: Map[Int, String] = Map.empty
@@ -49,6 +49,7 @@ class StubbedLogicalPlanningConfiguration(parent: LogicalPlanningConfiguration)
 
   var indexes: Set[(String, Seq[String])] = Set.empty
   var uniqueIndexes: Set[(String, Seq[String])] = Set.empty
+  var propertyColumns: Set[(String, String)] = Set.empty
 
   lazy val labelsById: Map[Int, String] = (indexes ++ uniqueIndexes).map(_._1).zipWithIndex.map(_.swap).toMap
 
@@ -60,6 +61,10 @@ class StubbedLogicalPlanningConfiguration(parent: LogicalPlanningConfiguration)
     uniqueIndexes = uniqueIndexes + (label -> properties)
   }
 
+  def propertyColumnOn(label: String, property: String) {
+    propertyColumns = propertyColumns + (label -> property)
+  }
+
   def costModel() = cost.orElse(parent.costModel())
 
   def cardinalityModel(queryGraphCardinalityModel: QueryGraphCardinalityModel, evalutor: ExpressionEvaluator): CardinalityModel = {
@@ -24,6 +24,7 @@ import org.neo4j.cypher.internal.compiler.v3_3.ast.{InequalitySeekRangeWrapper,
 import org.neo4j.cypher.internal.compiler.v3_3.planner.BeLikeMatcher._
 import org.neo4j.cypher.internal.compiler.v3_3.planner.LogicalPlanningTestSupport2
 import org.neo4j.cypher.internal.compiler.v3_3.planner.logical.Metrics.QueryGraphSolverInput
+import org.neo4j.cypher.internal.frontend.v3_3.Foldable._
 import org.neo4j.cypher.internal.frontend.v3_3.ast._
 import org.neo4j.cypher.internal.frontend.v3_3.helpers.NonEmptyList
 import org.neo4j.cypher.internal.frontend.v3_3.symbols._
@@ -315,6 +316,47 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
     )
   }
 
+  private val propertyColumnScanCost: PartialFunction[(LogicalPlan, QueryGraphSolverInput), Cost] = {
+    case (_: AllNodesScan, _) => 1000.0
+    case (_: NodeByLabelScan, _) => 50.0
+    case (_: NodePropertyColumnScan, _) => 10.0
+    case (Selection(_, plan), input) => propertyColumnScanCost((plan, input))
+    case _ => Double.MaxValue
+  }
+
+  test("should plan property column scan for exists(n.prop)") {
+    implicit val plan = new given {
+      propertyColumnOn("Awesome", "prop")
+      cost = propertyColumnScanCost
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE exists(n.prop) RETURN n"
+
+    plan._2 should equal(
+      NodePropertyColumnScan(
+        "n",
+        LabelToken("Awesome", LabelId(0)),
+        PropertyKeyToken(PropertyKeyName("prop")_, PropertyKeyId(0)),
+        Set.empty)(solved)
+    )
+  }
+
+  test("should plan property column scan and filter on the property for comparisons") {
+    (new given {
+      propertyColumnOn("Awesome", "prop")
+      cost = propertyColumnScanCost
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop > 42 RETURN n")._2 should beLike {
+      case Selection(_, NodePropertyColumnScan("n", LabelToken("Awesome", _), PropertyKeyToken("prop", _), _)) => ()
+    }
+  }
+
+  test("should not plan property column scan for a property kept in a column for another label") {
+    (new given {
+      propertyColumnOn("Other", "prop")
+      cost = propertyColumnScanCost
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE exists(n.prop) RETURN n")._2 should beLike {
+      case Selection(_, _: NodeByLabelScan) => ()
+    }
+  }
+
   test("should plan index seek instead of index scan when there are predicates for both") {
     implicit val plan = new given {
       indexOn("Awesome", "prop")
@@ -511,6 +553,7 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
         case (_: Selection, _) => 20.0
         case (_: NodeHashJoin, _) => 1000.0
         case (_: NodeByLabelScan, _) => 20.0
+        case (_: NodeByLabelIntersectionScan, _) => 1000.0
       }
     } getLogicalPlanFor "MATCH (n:Foo:Bar:Baz) USING SCAN n:Bar RETURN n"
 
@@ -522,6 +565,57 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
     )
   }
 
+  test("should plan label intersection scan for node with multiple labels") {
+    (new given {
+      labelCardinality = Map("Foo" -> 100.0, "Bar" -> 200.0)
+    } getLogicalPlanFor "MATCH (n:Foo:Bar) RETURN n")._2 should equal(
+      NodeByLabelIntersectionScan("n", Seq(lblName("Foo"), lblName("Bar")), Set.empty)(solved)
+    )
+  }
+
+  test("should plan label intersection scan solving hint on one of the labels") {
+    (new given {
+      labelCardinality = Map("Foo" -> 100.0, "Bar" -> 200.0, "Baz" -> 300.0)
+    } getLogicalPlanFor "MATCH (n:Foo:Bar:Baz) USING SCAN n:Bar RETURN n")._2 should equal(
+      NodeByLabelIntersectionScan("n", Seq(lblName("Foo"), lblName("Bar"), lblName("Baz")), Set.empty)(solved)
+    )
+  }
+
+  test("should plan relationship type scan for directed relationship with single type") {
+    (new given {
+      cost = {
+        case (_: DirectedRelationshipTypeScan, _) => 1.0
+        case _ => 1000.0
+      }
+    } getLogicalPlanFor "MATCH (a)-[r:X]->(b) RETURN r")._2 should equal(
+      DirectedRelationshipTypeScan("r", "a", RelTypeName("X")_, "b", Set.empty)(solved)
+    )
+  }
+
+  test("should plan relationship type scan with swapped end nodes for incoming relationship") {
+    (new given {
+      cost = {
+        case (_: DirectedRelationshipTypeScan, _) => 1.0
+        case _ => 1000.0
+      }
+    } getLogicalPlanFor "MATCH (a)<-[r:X]-(b) RETURN r")._2 should equal(
+      DirectedRelationshipTypeScan("r", "b", RelTypeName("X")_, "a", Set.empty)(solved)
+    )
+  }
+
+  test("should not plan relationship type scan for undirected relationship") {
+    val plan = (new given {
+      cost = {
+        case (_: DirectedRelationshipTypeScan, _) => 1.0
+        case _ => 1000.0
+      }
+    } getLogicalPlanFor "MATCH (a)-[r:X]-(b) RETURN r")._2
+
+    plan.treeExists {
+      case _: DirectedRelationshipTypeScan => true
+    } should be(false)
+  }
+
   test("should plan hinted index seek") {
     implicit val plan = new given {
       indexOn("Awesome", "prop")
@@ -721,4 +815,37 @@ class LeafPlanningIntegrationTest extends CypherFunSuite with LogicalPlanningTes
     plan should equal(distinct)
   }
 
+  test("should plan ordered index seek instead of sort when ordering by the property of a range seek") {
+    val plan = (new given {
+      indexOn("Awesome", "prop")
+      cost = nodeIndexScanCost
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop > 42 RETURN n ORDER BY n.prop")._2
+
+    plan.treeExists { case _: Sort => true } should be(false)
+    plan.treeExists {
+      case OrderedNodeIndexSeek(_, _, Seq(PropertyKeyToken("prop", _)), _: RangeQueryExpression[_], _, IndexOrderAscending) => true
+    } should be(true)
+  }
+
+  test("should plan descending ordered index seek when ordering descending by the property of a range seek") {
+    val plan = (new given {
+      indexOn("Awesome", "prop")
+      cost = nodeIndexScanCost
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop < 42 RETURN n.prop AS p ORDER BY p DESC")._2
+
+    plan.treeExists { case _: Sort => true } should be(false)
+    plan.treeExists {
+      case OrderedNodeIndexSeek("n", _, Seq(PropertyKeyToken("prop", _)), _: RangeQueryExpression[_], _, IndexOrderDescending) => true
+    } should be(true)
+  }
+
+  test("should still sort when ordering by a property other than the one sought") {
+    val plan = (new given {
+      indexOn("Awesome", "prop")
+      cost = nodeIndexScanCost
+    } getLogicalPlanFor "MATCH (n:Awesome) WHERE n.prop > 42 RETURN n ORDER BY n.other")._2
+
+    plan.treeExists { case _: Sort => true } should be(true)
+    plan.treeExists { case _: OrderedNodeIndexSeek => true } should be(false)
+  }
 }
@@ -32,11 +32,12 @@ class MergeRelationshipPlanningIntegrationTest extends CypherFunSuite with Logic
   private val rId = "r"
   private val argId = "arg"
 
-  test("should plan simple expand") {
-    val nodeByLabelScan = NodeByLabelScan(aId, LabelName("A")(pos), Set.empty)(solved)
-    val expand = Expand(nodeByLabelScan, aId, OUTGOING, Seq(RelTypeName("R")(pos)), bId, rId)(solved)
+  test("should plan simple relationship type scan") {
+    val relationshipTypeScan = DirectedRelationshipTypeScan(rId, aId, RelTypeName("R")(pos), bId, Set.empty)(solved)
+    val selection = Selection(Seq(HasLabels(Variable("a")(pos), Seq(LabelName("A")(pos)))(pos)),
+                              relationshipTypeScan)(solved)
 
-    val optional = Optional(expand)(solved)
+    val optional = Optional(selection)(solved)
     val argument = SingleRow()(solved)
     val createNodeA = MergeCreateNode(argument, aId, Seq(LabelName("A")(pos)), None)(solved)
     val createNodeB = MergeCreateNode(createNodeA, bId, Seq.empty, None)(solved)
@@ -49,14 +50,16 @@ class MergeRelationshipPlanningIntegrationTest extends CypherFunSuite with Logic
     planFor("MERGE (a:A)-[r:R]->(b)")._2 should equal(emptyResult)
   }
 
-  test("should plan simple expand with argument dependency") {
+  test("should plan simple relationship type scan with argument dependency") {
     val leaf = SingleRow()(solved)
     val projection = Projection(leaf, Map("arg" -> SignedDecimalIntegerLiteral("42")(pos)))(solved)
-    val nodeByLabelScan = NodeByLabelScan(aId, LabelName("A")(pos), Set(argId))(solved)
-    val selection = Selection(Seq(In(Property(Variable("a")(pos), PropertyKeyName("p")(pos))(pos), ListLiteral(Seq(Variable("arg")(pos)))(pos))(pos)), nodeByLabelScan)(solved)
-    val expand = Expand(selection, aId, OUTGOING, Seq(RelTypeName("R")(pos)), bId, rId)(solved)
+    val relationshipTypeScan =
+      DirectedRelationshipTypeScan(rId, aId, RelTypeName("R")(pos), bId, Set(argId))(solved)
+    val selection = Selection(Seq(HasLabels(Variable("a")(pos), Seq(LabelName("A")(pos)))(pos),
+                                  In(Property(Variable("a")(pos), PropertyKeyName("p")(pos))(pos), ListLiteral(Seq(Variable("arg")(pos)))(pos))(pos)),
+                              relationshipTypeScan)(solved)
 
-    val optional = Optional(expand, Set(argId))(solved)
+    val optional = Optional(selection, Set(argId))(solved)
     val argument = Argument(Set(argId))(solved)(Map.empty)
     val createNodeA = MergeCreateNode(argument, aId, Seq(LabelName("A")(pos)), Some(MapExpression(Seq((PropertyKeyName("p")(pos), Variable("arg")(pos))))(pos)))(solved)
     val createNodeB = MergeCreateNode(createNodeA, bId, Seq.empty, None)(solved)
@@ -21,7 +21,7 @@ package org.neo4j.cypher.internal.compiler.v3_3.planner.logical.steps
 
 import org.neo4j.cypher.internal.compiler.v3_3.planner.LogicalPlanningTestSupport2
 import org.neo4j.cypher.internal.frontend.v3_3.test_helpers.CypherFunSuite
-import org.neo4j.cypher.internal.v3_3.logical.plans.{NodeByLabelScan, NodeHashJoin, Selection}
+import org.neo4j.cypher.internal.v3_3.logical.plans.{NodeByLabelIntersectionScan, NodeByLabelScan, NodeHashJoin, Selection}
 
 
 class SelectHasLabelWithJoinTest extends CypherFunSuite with LogicalPlanningTestSupport2 {
@@ -32,6 +32,7 @@ class SelectHasLabelWithJoinTest extends CypherFunSuite with LogicalPlanningTest
         case (_: Selection, _) => 1000.0
         case (_: NodeHashJoin, _) => 20.0
         case (_: NodeByLabelScan, _) => 20.0
+        case (_: NodeByLabelIntersectionScan, _) => 1000.0
       }
     } getLogicalPlanFor "MATCH (n:Foo:Bar:Baz) RETURN n"
 
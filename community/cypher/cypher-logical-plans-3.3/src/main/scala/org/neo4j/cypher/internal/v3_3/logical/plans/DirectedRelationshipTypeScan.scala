@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.v3_3.logical.plans
+
+import org.neo4j.cypher.internal.frontend.v3_3.ast.RelTypeName
+import org.neo4j.cypher.internal.ir.v3_3.{CardinalityEstimation, PlannerQuery}
+
+/*
+  * This operator produces the relationships of the given type together with their start and end nodes, by reading
+  * the relationship type scan store.
+  *
+  * Unlike expanding from every node, it never has to look at relationships of other types.
+  */
+case class DirectedRelationshipTypeScan(idName: String, startNode: String, typ: RelTypeName, endNode: String,
+                                        argumentIds: Set[String])
+                                       (val solved: PlannerQuery with CardinalityEstimation)
+  extends LogicalLeafPlan {
+
+  val availableSymbols: Set[String] = argumentIds ++ Set(idName, startNode, endNode)
+}
@@ -197,6 +197,8 @@ abstract class LogicalPlan
     this.fold(Seq.empty[IndexUsage]) {
       case NodeIndexSeek(idName, label, propertyKeys, _, _) =>
         (acc) => acc :+ SchemaIndexSeekUsage(idName, label.nameId.id, label.name, propertyKeys.map(_.name))
+      case OrderedNodeIndexSeek(idName, label, propertyKeys, _, _, _) =>
+        (acc) => acc :+ SchemaIndexSeekUsage(idName, label.nameId.id, label.name, propertyKeys.map(_.name))
       case NodeUniqueIndexSeek(idName, label, propertyKeys, _, _) =>
         (acc) => acc :+ SchemaIndexSeekUsage(idName, label.nameId.id, label.name, propertyKeys.map(_.name))
       case NodeIndexScan(idName, label, propertyKey, _) =>
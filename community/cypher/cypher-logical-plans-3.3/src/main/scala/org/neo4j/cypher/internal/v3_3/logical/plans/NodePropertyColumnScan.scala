@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.v3_3.logical.plans
+
+import org.neo4j.cypher.internal.frontend.v3_3.ast.{LabelToken, PropertyKeyToken}
+import org.neo4j.cypher.internal.ir.v3_3.{CardinalityEstimation, PlannerQuery}
+
+/*
+  * This operator produces the nodes having both the given label and the given property, by scanning the property
+  * column kept for that label and property key.
+  *
+  * It never reads the node or property records, unlike a label scan followed by a filter on the property, and
+  * the property values of the produced nodes are then read from the column as well.
+  */
+case class NodePropertyColumnScan(idName: String,
+                                  label: LabelToken,
+                                  propertyKey: PropertyKeyToken,
+                                  argumentIds: Set[String])
+                                 (val solved: PlannerQuery with CardinalityEstimation)
+  extends NodeLogicalLeafPlan {
+
+  val availableSymbols: Set[String] = argumentIds + idName
+}
@@ -27,7 +27,7 @@ import org.neo4j.cypher.internal.compatibility.v3_3.runtime.pipes.matching.Patte
 import org.neo4j.cypher.internal.compiler.v3_3.IndexDescriptor
 import org.neo4j.cypher.internal.frontend.v3_3.SemanticDirection
 import org.neo4j.cypher.internal.spi.v3_3._
-import org.neo4j.cypher.internal.v3_3.logical.plans.QualifiedName
+import org.neo4j.cypher.internal.v3_3.logical.plans.{IndexOrder, QualifiedName}
 import org.neo4j.graphdb.{Node, Path, PropertyContainer, Relationship}
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.values.AnyValue
@@ -113,6 +113,18 @@ class ExceptionTranslatingQueryContext(val inner: QueryContext) extends QueryCon
   override def getNodesByLabelPrimitive(id: Int): PrimitiveLongIterator =
     translateException(inner.getNodesByLabelPrimitive(id))
 
+  override def getNodesByAllLabels(ids: Seq[Int]): Iterator[Node] =
+    translateException(inner.getNodesByAllLabels(ids))
+
+  override def getNodesByAllLabelsPrimitive(ids: Seq[Int]): PrimitiveLongIterator =
+    translateException(inner.getNodesByAllLabelsPrimitive(ids))
+
+  override def getNodesFromPropertyColumn(labelId: Int, propertyKeyId: Int): Iterator[Node] =
+    translateException(inner.getNodesFromPropertyColumn(labelId, propertyKeyId))
+
+  override def getNodesFromPropertyColumnPrimitive(labelId: Int, propertyKeyId: Int): PrimitiveLongIterator =
+    translateException(inner.getNodesFromPropertyColumnPrimitive(labelId, propertyKeyId))
+
   override def nodeGetDegree(node: Long, dir: SemanticDirection): Int =
     translateException(inner.nodeGetDegree(node, dir))
 
@@ -208,12 +220,21 @@ class ExceptionTranslatingQueryContext(val inner: QueryContext) extends QueryCon
   override def getRelationshipsForIdsPrimitive(node: Long, dir: SemanticDirection, types: Option[Array[Int]]): RelationshipIterator =
     translateException(inner.getRelationshipsForIdsPrimitive(node, dir, types))
 
+  override def getRelationshipsByType(typeId: Int): Iterator[Relationship] =
+    translateException(inner.getRelationshipsByType(typeId))
+
+  override def getRelationshipsByTypePrimitive(typeId: Int): RelationshipIterator =
+    translateException(inner.getRelationshipsByTypePrimitive(typeId))
+
   override def getRelationshipFor(relationshipId: Long, typeId: Int, startNodeId: Long, endNodeId: Long): Relationship =
     translateException(inner.getRelationshipFor(relationshipId, typeId, startNodeId, endNodeId))
 
   override def indexSeekByRange(index: IndexDescriptor, value: Any) =
     translateException(inner.indexSeekByRange(index, value))
 
+  override def orderedIndexSeekByRange(index: IndexDescriptor, value: Any, indexOrder: IndexOrder) =
+    translateException(inner.orderedIndexSeekByRange(index, value, indexOrder))
+
   override def indexScanByContains(index: IndexDescriptor, value: String) =
     translateException(inner.indexScanByContains(index, value))
 
@@ -75,6 +75,15 @@ case class CommunityPipeBuilder(monitors: Monitors, recurse: LogicalPlan => Pipe
       case NodeByLabelScan(ident, label, _) =>
         NodeByLabelScanPipe(ident, LazyLabel(label))(id = id)
 
+      case NodeByLabelIntersectionScan(ident, labels, _) =>
+        NodeByLabelIntersectionScanPipe(ident, labels.map(LazyLabel(_)))(id = id)
+
+      case NodePropertyColumnScan(ident, label, propertyKey, _) =>
+        NodePropertyColumnScanPipe(ident, label, propertyKey)(id = id)
+
+      case DirectedRelationshipTypeScan(ident, startNode, typ, endNode, _) =>
+        DirectedRelationshipTypeScanPipe(ident, startNode, LazyType(typ), endNode)(id = id)
+
       case NodeByIdSeek(ident, nodeIdExpr, _) =>
         NodeByIdSeekPipe(ident, expressionConverters.toCommandSeekArgs(nodeIdExpr))(id = id)
 
@@ -88,6 +97,9 @@ case class CommunityPipeBuilder(monitors: Monitors, recurse: LogicalPlan => Pipe
         val indexSeekMode = IndexSeekModeFactory(unique = false, readOnly = readOnly).fromQueryExpression(valueExpr)
         NodeIndexSeekPipe(ident, label, propertyKeys, valueExpr.map(buildExpression), indexSeekMode)(id = id)
 
+      case OrderedNodeIndexSeek(ident, label, propertyKeys, valueExpr, _, indexOrder) =>
+        NodeIndexSeekPipe(ident, label, propertyKeys, valueExpr.map(buildExpression), OrderedIndexSeekByRange(indexOrder))(id = id)
+
       case NodeUniqueIndexSeek(ident, label, propertyKeys, valueExpr, _) =>
         val indexSeekMode = IndexSeekModeFactory(unique = true, readOnly = readOnly).fromQueryExpression(valueExpr)
         NodeIndexSeekPipe(ident, label, propertyKeys, valueExpr.map(buildExpression), indexSeekMode)(id = id)
@@ -45,6 +45,9 @@ case class CheckForLoadCsvAndMatchOnLargeLabel(planContext: PlanContext, nonInde
       }
       case NodeByLabelScanPipe(_, label) if cardinality(label.getOptId(planContext)) > threshold =>
         acc => (LargeLabelFound, Some(identity))
+      case NodeByLabelIntersectionScanPipe(_, labels)
+        if labels.exists(label => cardinality(label.getOptId(planContext)) > threshold) =>
+        acc => (LargeLabelFound, Some(identity))
       case NodeStartPipe(_, _, NodeByLabelEntityProducer(_, id), _) if cardinality(id) > threshold =>
         acc => (LargeLabelFound, Some(identity))
     }
@@ -22,7 +22,7 @@ package org.neo4j.cypher.internal.compatibility.v3_3.runtime.pipes
 import org.neo4j.cypher.internal.compatibility.v3_3.runtime.pipes.IndexSeekMode.{MultipleValueQuery, assertSingleValue}
 import org.neo4j.cypher.internal.compiler.v3_3.IndexDescriptor
 import org.neo4j.cypher.internal.frontend.v3_3.InternalException
-import org.neo4j.cypher.internal.v3_3.logical.plans.{QueryExpression, RangeQueryExpression}
+import org.neo4j.cypher.internal.v3_3.logical.plans.{IndexOrder, QueryExpression, RangeQueryExpression}
 import org.neo4j.graphdb.Node
 
 case class IndexSeekModeFactory(unique: Boolean, readOnly: Boolean) {
@@ -88,3 +88,10 @@ case object IndexSeekByRange extends IndexSeekMode with SeekByRange {
 case object UniqueIndexSeekByRange extends IndexSeekMode with SeekByRange {
   override def name: String = "NodeUniqueIndexSeekByRange"
 }
+
+case class OrderedIndexSeekByRange(indexOrder: IndexOrder) extends IndexSeekMode {
+  override def indexFactory(descriptor: IndexDescriptor): MultipleValueQuery =
+    (state: QueryState) => (x: Seq[Any]) => state.query.orderedIndexSeekByRange(descriptor, assertSingleValue(x), indexOrder)
+
+  override def name: String = "NodeIndexSeekByRange"
+}
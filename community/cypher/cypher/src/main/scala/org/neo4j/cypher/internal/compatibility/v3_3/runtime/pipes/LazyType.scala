@@ -19,6 +19,7 @@
  */
 package org.neo4j.cypher.internal.compatibility.v3_3.runtime.pipes
 
+import org.neo4j.cypher.internal.compiler.v3_3.spi.TokenContext
 import org.neo4j.cypher.internal.frontend.v3_3.SemanticTable
 import org.neo4j.cypher.internal.frontend.v3_3.ast.RelTypeName
 import org.neo4j.cypher.internal.spi.v3_3.QueryContext
@@ -33,6 +34,13 @@ case class LazyType(name: String) {
     }
     id
   }
+
+  def getOptId(context: TokenContext): Option[Int] = {
+    if (id == LazyType.UNINITIALIZED) {
+      context.getOptRelTypeId(name).foreach(id = _)
+    }
+    if (id == LazyType.UNINITIALIZED) None else Some(id)
+  }
 }
 
 object LazyType {
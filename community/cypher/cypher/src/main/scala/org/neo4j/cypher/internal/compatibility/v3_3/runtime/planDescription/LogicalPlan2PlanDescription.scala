@@ -23,7 +23,7 @@ import org.neo4j.cypher.internal.compatibility.v3_3.runtime.planDescription.Inte
 import org.neo4j.cypher.internal.compiler.v3_3._
 import org.neo4j.cypher.internal.compiler.v3_3.ast.{InequalitySeekRangeWrapper, PrefixSeekRangeWrapper}
 import org.neo4j.cypher.internal.frontend.v3_3.ast.{LabelToken, PropertyKeyToken}
-import org.neo4j.cypher.internal.frontend.v3_3.{InternalException, PlannerName, ast}
+import org.neo4j.cypher.internal.frontend.v3_3.{InternalException, PlannerName, SemanticDirection, ast}
 import org.neo4j.cypher.internal.v3_3.logical.plans
 import org.neo4j.cypher.internal.v3_3.logical.plans._
 
@@ -58,6 +58,18 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean)
       case NodeByLabelScan(_, label, _) =>
         PlanDescriptionImpl(id, "NodeByLabelScan", NoChildren, Seq(LabelName(label.name)), variables)
 
+      case NodeByLabelIntersectionScan(_, labels, _) =>
+        PlanDescriptionImpl(id, "NodeByLabelIntersectionScan", NoChildren, labels.map(label => LabelName(label.name)),
+                            variables)
+
+      case DirectedRelationshipTypeScan(idName, startNode, typ, endNode, _) =>
+        val expression = ExpandExpression(startNode, idName, Seq(typ.name), endNode, SemanticDirection.OUTGOING, 1, Some(1))
+        PlanDescriptionImpl(id, "DirectedRelationshipTypeScan", NoChildren, Seq(expression), variables)
+
+      case NodePropertyColumnScan(_, label, propertyKey, _) =>
+        PlanDescriptionImpl(id, "NodePropertyColumnScan", NoChildren,
+                            Seq(LabelName(label.name), KeyNames(Seq(propertyKey.name))), variables)
+
       case NodeByIdSeek(_, _, _) =>
         PlanDescriptionImpl(id, "NodeByIdSeek", NoChildren, Seq(), variables)
 
@@ -65,6 +77,10 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean)
         val (indexMode, indexDesc) = getDescriptions(label, propertyKeys, valueExpr, unique = false, readOnly)
         PlanDescriptionImpl(id, indexMode, NoChildren, Seq(indexDesc), variables)
 
+      case OrderedNodeIndexSeek(_, label, propertyKeys, valueExpr, _, indexOrder) =>
+        val (indexMode, indexDesc) = getDescriptions(label, propertyKeys, valueExpr, unique = false, readOnly)
+        PlanDescriptionImpl(id, s"$indexMode(${orderName(indexOrder)})", NoChildren, Seq(indexDesc), variables)
+
       case NodeUniqueIndexSeek(_, label, propertyKeys, valueExpr, _) =>
         val (indexMode, indexDesc) = getDescriptions(label, propertyKeys, valueExpr, unique = true, readOnly)
         PlanDescriptionImpl(id, indexMode, NoChildren, Seq(indexDesc), variables)
@@ -368,6 +384,11 @@ case class LogicalPlan2PlanDescription(readOnly: Boolean)
     result.addArgument(EstimatedRows(plan.solved.estimatedCardinality.amount))
   }
 
+  private def orderName(indexOrder: IndexOrder): String = indexOrder match {
+    case IndexOrderAscending => "Ascending"
+    case IndexOrderDescending => "Descending"
+  }
+
   private def getDescriptions(label: LabelToken,
                               propertyKeys: Seq[PropertyKeyToken],
                               valueExpr: QueryExpression[ast.Expression],
@@ -27,7 +27,7 @@ import org.neo4j.cypher.internal.compatibility.v3_3.runtime.pipes.matching.Patte
 import org.neo4j.cypher.internal.compiler.v3_3.IndexDescriptor
 import org.neo4j.cypher.internal.compiler.v3_3.spi.KernelStatisticProvider
 import org.neo4j.cypher.internal.frontend.v3_3.SemanticDirection
-import org.neo4j.cypher.internal.v3_3.logical.plans.QualifiedName
+import org.neo4j.cypher.internal.v3_3.logical.plans.{IndexOrder, QualifiedName}
 import org.neo4j.graphdb.{Node, Path, PropertyContainer, Relationship}
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.factory.DatabaseInfo
@@ -82,6 +82,12 @@ class DelegatingQueryContext(val inner: QueryContext) extends QueryContext {
   override def getRelationshipsForIdsPrimitive(node: Long, dir: SemanticDirection, types: Option[Array[Int]]): RelationshipIterator =
   manyDbHits(inner.getRelationshipsForIdsPrimitive(node, dir, types))
 
+  override def getRelationshipsByType(typeId: Int): Iterator[Relationship] =
+    manyDbHits(inner.getRelationshipsByType(typeId))
+
+  override def getRelationshipsByTypePrimitive(typeId: Int): RelationshipIterator =
+    manyDbHits(inner.getRelationshipsByTypePrimitive(typeId))
+
   override def getRelationshipFor(relationshipId: Long, typeId: Int, startNodeId: Long, endNodeId: Long): Relationship =
     inner.getRelationshipFor(relationshipId, typeId, startNodeId, endNodeId)
 
@@ -116,6 +122,9 @@ class DelegatingQueryContext(val inner: QueryContext) extends QueryContext {
   override def indexSeekByRange(index: IndexDescriptor, value: Any): Iterator[Node] =
     manyDbHits(inner.indexSeekByRange(index, value))
 
+  override def orderedIndexSeekByRange(index: IndexDescriptor, value: Any, indexOrder: IndexOrder): Iterator[Node] =
+    manyDbHits(inner.orderedIndexSeekByRange(index, value, indexOrder))
+
   override def indexScan(index: IndexDescriptor): Iterator[Node] = manyDbHits(inner.indexScan(index))
 
   override def indexScanPrimitive(index: IndexDescriptor): PrimitiveLongIterator = manyDbHits(inner.indexScanPrimitive(index))
@@ -130,6 +139,17 @@ class DelegatingQueryContext(val inner: QueryContext) extends QueryContext {
 
   override def getNodesByLabelPrimitive(id: Int): PrimitiveLongIterator = manyDbHits(inner.getNodesByLabelPrimitive(id))
 
+  override def getNodesByAllLabels(ids: Seq[Int]): Iterator[Node] = manyDbHits(inner.getNodesByAllLabels(ids))
+
+  override def getNodesByAllLabelsPrimitive(ids: Seq[Int]): PrimitiveLongIterator =
+    manyDbHits(inner.getNodesByAllLabelsPrimitive(ids))
+
+  override def getNodesFromPropertyColumn(labelId: Int, propertyKeyId: Int): Iterator[Node] =
+    manyDbHits(inner.getNodesFromPropertyColumn(labelId, propertyKeyId))
+
+  override def getNodesFromPropertyColumnPrimitive(labelId: Int, propertyKeyId: Int): PrimitiveLongIterator =
+    manyDbHits(inner.getNodesFromPropertyColumnPrimitive(labelId, propertyKeyId))
+
   override def getOrCreateFromSchemaState[K, V](key: K, creator: => V): V =
     singleDbHit(inner.getOrCreateFromSchemaState(key, creator))
 
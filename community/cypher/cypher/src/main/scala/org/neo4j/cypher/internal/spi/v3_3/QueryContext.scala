@@ -28,7 +28,7 @@ import org.neo4j.cypher.internal.compatibility.v3_3.runtime.pipes.matching.Patte
 import org.neo4j.cypher.internal.compiler.v3_3.IndexDescriptor
 import org.neo4j.cypher.internal.compiler.v3_3.spi._
 import org.neo4j.cypher.internal.frontend.v3_3.SemanticDirection
-import org.neo4j.cypher.internal.v3_3.logical.plans.QualifiedName
+import org.neo4j.cypher.internal.v3_3.logical.plans.{IndexOrder, QualifiedName}
 import org.neo4j.graphdb.{Node, Path, PropertyContainer, Relationship}
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.factory.DatabaseInfo
@@ -78,6 +78,10 @@ trait QueryContext extends TokenContext {
 
   def getRelationshipsForIdsPrimitive(node: Long, dir: SemanticDirection, types: Option[Array[Int]]): RelationshipIterator
 
+  def getRelationshipsByType(typeId: Int): Iterator[Relationship]
+
+  def getRelationshipsByTypePrimitive(typeId: Int): RelationshipIterator
+
   def getRelationshipFor(relationshipId: Long, typeId: Int, startNodeId: Long, endNodeId: Long): Relationship
 
   def getOrCreateLabelId(labelName: String): Int
@@ -105,6 +109,8 @@ trait QueryContext extends TokenContext {
 
   def indexSeekByRange(index: IndexDescriptor, value: Any): Iterator[Node]
 
+  def orderedIndexSeekByRange(index: IndexDescriptor, value: Any, indexOrder: IndexOrder): Iterator[Node]
+
   def indexScanByContains(index: IndexDescriptor, value: String): Iterator[Node]
 
   def indexScanByEndsWith(index: IndexDescriptor, value: String): Iterator[Node]
@@ -119,6 +125,14 @@ trait QueryContext extends TokenContext {
 
   def getNodesByLabelPrimitive(id: Int): PrimitiveLongIterator
 
+  def getNodesByAllLabels(ids: Seq[Int]): Iterator[Node]
+
+  def getNodesByAllLabelsPrimitive(ids: Seq[Int]): PrimitiveLongIterator
+
+  def getNodesFromPropertyColumn(labelId: Int, propertyKeyId: Int): Iterator[Node]
+
+  def getNodesFromPropertyColumnPrimitive(labelId: Int, propertyKeyId: Int): PrimitiveLongIterator
+
   def getOrCreateFromSchemaState[K, V](key: K, creator: => V): V
 
   /* return true if the constraint was created, false if preexisting, throws if failed */
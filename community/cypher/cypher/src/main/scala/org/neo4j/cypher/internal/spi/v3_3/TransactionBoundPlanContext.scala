@@ -102,6 +102,17 @@ class TransactionBoundPlanContext(tc: TransactionalContextWrapper, logger: Inter
     }
   }
 
+  override def hasPropertyColumn(labelName: String, propertyKey: String): Boolean = {
+    try {
+      val labelId = getLabelId(labelName)
+      val propertyKeyId = getPropertyKeyId(propertyKey)
+
+      tc.statement.readOperations().nodePropertyColumnExists(labelId, propertyKeyId)
+    } catch {
+      case _: KernelException => false
+    }
+  }
+
   def checkNodeIndex(idxName: String) {
     if (!tc.statement.readOperations().nodeExplicitIndexesGetAll().contains(idxName)) {
       throw new MissingIndexException(idxName)
@@ -37,7 +37,7 @@ import org.neo4j.cypher.internal.frontend.v3_3._
 import org.neo4j.cypher.internal.javacompat.ValueToObjectSerializer
 import org.neo4j.cypher.internal.spi.BeansAPIRelationshipIterator
 import org.neo4j.cypher.internal.spi.v3_3.TransactionBoundQueryContext.IndexSearchMonitor
-import org.neo4j.cypher.internal.v3_3.logical.plans.QualifiedName
+import org.neo4j.cypher.internal.v3_3.logical.plans.{IndexOrder, IndexOrderAscending, IndexOrderDescending, QualifiedName}
 import org.neo4j.cypher.javacompat.internal.GraphDatabaseCypherService
 import org.neo4j.cypher.{InternalException, internal}
 import org.neo4j.graphalgo.impl.path.ShortestPath
@@ -54,12 +54,13 @@ import org.neo4j.kernel.api.index.InternalIndexState
 import org.neo4j.kernel.api.proc.CallableUserAggregationFunction.Aggregator
 import org.neo4j.kernel.api.proc.{QualifiedName => KernelQualifiedName}
 import org.neo4j.kernel.api.schema.constaints.ConstraintDescriptorFactory
-import org.neo4j.kernel.api.schema.{IndexQuery, SchemaDescriptorFactory}
+import org.neo4j.kernel.api.schema.{IndexQuery, SchemaDescriptorFactory, IndexOrder => KernelIndexOrder}
 import org.neo4j.kernel.impl.api.RelationshipVisitor
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.kernel.impl.core.{NodeManager, RelationshipProxy}
 import org.neo4j.kernel.impl.locking.ResourceTypes
 import org.neo4j.kernel.impl.util.{NodeProxyWrappingNodeValue, RelationshipProxyWrappingEdgeValue}
+import org.neo4j.storageengine.api.schema.NodeValueIterator
 import org.neo4j.values.AnyValue
 import org.neo4j.values.storable.{Value, Values}
 import org.neo4j.values.virtual.EdgeValue
@@ -73,6 +74,15 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
   override type EntityAccessor = NodeManager
 
   override val nodeOps = new NodeOperations
+
+  /*
+  The node most recently returned from an index seek or scan, together with the index query it came from, which
+  has the indexed values of it. Valid until that query moves on to its next node, or any node is written to.
+   */
+  private var indexedNode: Long = StatementConstants.NO_SUCH_NODE
+  private var indexedPropertyKeyIds: Array[Int] = Array.empty
+  private var indexedValuesSource: NodeValueIterator = _
+  private var indexedValuesEnabled = true
   override val relationshipOps = new RelationshipOperations
   override lazy val entityAccessor: NodeManager =
     transactionalContext.graph.getDependencyResolver.resolveDependency(classOf[NodeManager])
@@ -154,6 +164,12 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
         transactionalContext.statement.readOperations().nodeGetRelationships(node, toGraphDb(dir), typeIds)
     }
 
+  override def getRelationshipsByType(typeId: Int): Iterator[Relationship] =
+    new BeansAPIRelationshipIterator(getRelationshipsByTypePrimitive(typeId), entityAccessor)
+
+  override def getRelationshipsByTypePrimitive(typeId: Int): RelationshipIterator =
+    transactionalContext.statement.readOperations().relationshipsGetForType(typeId)
+
   override def getRelationshipFor(relationshipId: Long, typeId: Int, startNodeId: Long, endNodeId: Long): RelationshipProxy = try {
     entityAccessor.newRelationshipProxy(relationshipId, startNodeId, typeId, endNodeId)
   } catch {
@@ -162,23 +178,30 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
   override def indexSeek(index: IndexDescriptor, values: Seq[Any]) = {
     indexSearchMonitor.indexSeek(index, values)
     val predicates = index.properties.zip(values).map(p => IndexQuery.exact(p._1, p._2))
-    val indexResult = transactionalContext.statement.readOperations().indexQuery(index, predicates: _*)
-    JavaConversionSupport.mapToScalaENFXSafe(indexResult)(nodeOps.getById)
+    val indexResult = transactionalContext.statement.readOperations().indexQueryWithValues(index, predicates: _*)
+    indexedNodes(index, indexResult)
   }
 
-  override def indexSeekByRange(index: IndexDescriptor, value: Any) = value match {
+  override def indexSeekByRange(index: IndexDescriptor, value: Any) =
+    indexSeekByRange(index, value, None)
+
+  override def orderedIndexSeekByRange(index: IndexDescriptor, value: Any, indexOrder: IndexOrder) =
+    indexSeekByRange(index, value, Some(indexOrder))
+
+  private def indexSeekByRange(index: IndexDescriptor, value: Any, indexOrder: Option[IndexOrder]): scala.Iterator[Node] = value match {
 
     case PrefixRange(null) => Iterator.empty
     case PrefixRange(prefix: String) =>
-      indexSeekByPrefixRange(index, prefix)
+      indexSeekByPrefixRange(index, prefix, indexOrder)
     case range: InequalitySeekRange[Any] =>
-      indexSeekByPrefixRange(index, range)
+      indexSeekByPrefixRange(index, range, indexOrder)
 
     case range =>
       throw new InternalException(s"Unsupported index seek by range: $range")
   }
 
-  private def indexSeekByPrefixRange(index: IndexDescriptor, range: InequalitySeekRange[Any]): scala.Iterator[Node] = {
+  private def indexSeekByPrefixRange(index: IndexDescriptor, range: InequalitySeekRange[Any],
+                                     indexOrder: Option[IndexOrder]): scala.Iterator[Node] = {
     val groupedRanges = range.groupBy { (bound: Bound[Any]) =>
       bound.endPoint match {
         case n: Number => classOf[Number]
@@ -199,8 +222,8 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
         }.getOrElse(Iterator.empty)
       } else {
         (optNumericRange, optStringRange) match {
-          case (Some(numericRange), None) => indexSeekByNumericalRange(index, numericRange)
-          case (None, Some(stringRange)) => indexSeekByStringRange(index, stringRange)
+          case (Some(numericRange), None) => indexSeekByNumericalRange(index, numericRange, indexOrder)
+          case (None, Some(stringRange)) => indexSeekByStringRange(index, stringRange, indexOrder)
 
           case (Some(numericRange), Some(stringRange)) =>
             // Consider MATCH (n:Person) WHERE n.prop < 1 AND n.prop > "London":
@@ -212,8 +235,8 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
             //
             // Below we simulate this behaviour:
             //
-            if (indexSeekByNumericalRange( index, numericRange ).isEmpty
-                || indexSeekByStringRange(index, stringRange).isEmpty) {
+            if (indexSeekByNumericalRange(index, numericRange, None).isEmpty
+                || indexSeekByStringRange(index, stringRange, None).isEmpty) {
               Iterator.empty
             } else {
               throw new IllegalArgumentException(s"Cannot compare a property against both numbers and strings. They are incomparable.")
@@ -226,68 +249,125 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
       }
   }
 
-  private def indexSeekByPrefixRange(index: IndexDescriptor, prefix: String): scala.Iterator[Node] = {
-    val indexedNodes = transactionalContext.statement.readOperations().indexQuery(index, IndexQuery.stringPrefix(index.property, prefix))
-    JavaConversionSupport.mapToScalaENFXSafe(indexedNodes)(nodeOps.getById)
+  private def indexSeekByPrefixRange(index: IndexDescriptor, prefix: String, indexOrder: Option[IndexOrder]): scala.Iterator[Node] = {
+    val matchingNodes = indexQuery(index, IndexQuery.stringPrefix(index.property, prefix), indexOrder)
+    indexedNodes(index, matchingNodes)
   }
 
-  private def indexSeekByNumericalRange(index: IndexDescriptor, range: InequalitySeekRange[Number]): scala.Iterator[Node] = {
-    val readOps = transactionalContext.statement.readOperations()
+  private def indexSeekByNumericalRange(index: IndexDescriptor, range: InequalitySeekRange[Number],
+                                        indexOrder: Option[IndexOrder]): scala.Iterator[Node] = {
     val matchingNodes: PrimitiveLongIterator = (range match {
 
       case rangeLessThan: RangeLessThan[Number] =>
         rangeLessThan.limit(BY_NUMBER).map { limit =>
           val rangePredicate = IndexQuery.range(index.property, null, false, limit.endPoint, limit.isInclusive)
-          readOps.indexQuery(index, rangePredicate)
+          indexQuery(index, rangePredicate, indexOrder)
         }
 
       case rangeGreaterThan: RangeGreaterThan[Number] =>
         rangeGreaterThan.limit(BY_NUMBER).map { limit =>
           val rangePredicate = IndexQuery.range(index.property, limit.endPoint, limit.isInclusive, null, false)
-          readOps.indexQuery(index, rangePredicate)
+          indexQuery(index, rangePredicate, indexOrder)
         }
 
       case RangeBetween(rangeGreaterThan, rangeLessThan) =>
         rangeGreaterThan.limit(BY_NUMBER).flatMap { greaterThanLimit =>
           rangeLessThan.limit(BY_NUMBER).map { lessThanLimit =>
             val rangePredicate = IndexQuery.range(index.property, greaterThanLimit.endPoint, greaterThanLimit.isInclusive, lessThanLimit.endPoint, lessThanLimit.isInclusive)
-            readOps.indexQuery(index, rangePredicate)
+            indexQuery(index, rangePredicate, indexOrder)
           }
         }
     }).getOrElse(EMPTY_PRIMITIVE_LONG_COLLECTION.iterator)
-    JavaConversionSupport.mapToScalaENFXSafe(matchingNodes)(nodeOps.getById)
+    indexedNodes(index, matchingNodes)
   }
 
-  private def indexSeekByStringRange(index: IndexDescriptor, range: InequalitySeekRange[String]): scala.Iterator[Node] = {
-    val readOps = transactionalContext.statement.readOperations()
+  private def indexSeekByStringRange(index: IndexDescriptor, range: InequalitySeekRange[String],
+                                     indexOrder: Option[IndexOrder]): scala.Iterator[Node] = {
     val matchingNodes: PrimitiveLongIterator = range match {
 
       case rangeLessThan: RangeLessThan[String] =>
         rangeLessThan.limit(BY_STRING).map { limit =>
           val rangePredicate = IndexQuery.range(index.property, null, false, limit.endPoint.asInstanceOf[String], limit.isInclusive)
-          readOps.indexQuery(index, rangePredicate)
+          indexQuery(index, rangePredicate, indexOrder)
         }.getOrElse(EMPTY_PRIMITIVE_LONG_COLLECTION.iterator)
 
       case rangeGreaterThan: RangeGreaterThan[String] =>
         rangeGreaterThan.limit(BY_STRING).map { limit =>
           val rangePredicate = IndexQuery.range(index.property, limit.endPoint.asInstanceOf[String], limit.isInclusive, null, false);
-          readOps.indexQuery(index, rangePredicate)
+          indexQuery(index, rangePredicate, indexOrder)
         }.getOrElse(EMPTY_PRIMITIVE_LONG_COLLECTION.iterator)
 
       case RangeBetween(rangeGreaterThan, rangeLessThan) =>
         rangeGreaterThan.limit(BY_STRING).flatMap { greaterThanLimit =>
           rangeLessThan.limit(BY_STRING).map { lessThanLimit =>
             val rangePredicate = IndexQuery.range(index.property, greaterThanLimit.endPoint.asInstanceOf[String], greaterThanLimit.isInclusive, lessThanLimit.endPoint.asInstanceOf[String], lessThanLimit.isInclusive)
-            readOps.indexQuery(index, rangePredicate)
+            indexQuery(index, rangePredicate, indexOrder)
           }
         }.getOrElse(EMPTY_PRIMITIVE_LONG_COLLECTION.iterator)
     }
 
-    JavaConversionSupport.mapToScalaENFXSafe(matchingNodes)(nodeOps.getById)
+    indexedNodes(index, matchingNodes)
   }
 
+  private def indexQuery(index: IndexDescriptor, predicate: IndexQuery, indexOrder: Option[IndexOrder]): PrimitiveLongIterator = {
+    val readOps = transactionalContext.statement.readOperations()
+    indexOrder match {
+      case None => readOps.indexQueryWithValues(index, predicate)
+      case Some(IndexOrderAscending) => readOps.orderedIndexQuery(index, KernelIndexOrder.ASCENDING, predicate)
+      case Some(IndexOrderDescending) => readOps.orderedIndexQuery(index, KernelIndexOrder.DESCENDING, predicate)
+    }
+  }
+
+  /*
+  Nodes from an index query able to provide the indexed values of each node are returned one by one, without reading
+  ahead like mapToScalaENFXSafe, so that the values of the current node can be used instead of reading its properties.
+   */
+  private def indexedNodes(index: IndexDescriptor, nodeIds: PrimitiveLongIterator): Iterator[Node] = nodeIds match {
+    case nodes: NodeValueIterator =>
+      val propertyKeyIds = index.properties.map(_.id).toArray
+      new Iterator[Node] {
+        override def hasNext: Boolean = {
+          forgetIndexedValuesOf(nodes)
+          nodes.hasNext
+        }
+
+        override def next(): Node = {
+          val node = nodes.next()
+          rememberIndexedValues(node, propertyKeyIds, nodes)
+          nodeOps.getById(node)
+        }
+      }
+    case _ =>
+      mapToScalaENFXSafe(nodeIds)(nodeOps.getById)
+  }
+
+  private def rememberIndexedValues(node: Long, propertyKeyIds: Array[Int], source: NodeValueIterator): Unit =
+    if (indexedValuesEnabled) {
+      indexedNode = node
+      indexedPropertyKeyIds = propertyKeyIds
+      indexedValuesSource = source
+    }
+
+  private def forgetIndexedValuesOf(source: NodeValueIterator): Unit =
+    if (indexedValuesSource eq source) forgetIndexedValues()
+
+  private def forgetIndexedValues(): Unit =
+    indexedValuesSource = null
+
+  // Called when a procedure, which can write to nodes without going through this context, is called
+  private def disableIndexedValues(): Unit = {
+    forgetIndexedValues()
+    indexedValuesEnabled = false
+  }
+
+  private def indexedValue(node: Long, propertyKeyId: Int): Value =
+    if (indexedValuesSource != null && indexedNode == node) {
+      val i = indexedPropertyKeyIds.indexOf(propertyKeyId)
+      if (i >= 0) indexedValuesSource.values()(i) else null
+    } else null
+
   override def indexScan(index: IndexDescriptor) =
-    mapToScalaENFXSafe(indexScanPrimitive(index))(nodeOps.getById)
+    indexedNodes(index, transactionalContext.statement.readOperations().indexQueryWithValues(index, IndexQuery.exists(index.property)))
 
   override def indexScanPrimitive(index: IndexDescriptor) =
     transactionalContext.statement.readOperations().indexQuery(index, IndexQuery.exists(index.property))
@@ -316,6 +396,18 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
   override def getNodesByLabelPrimitive(id: Int): PrimitiveLongIterator =
     transactionalContext.statement.readOperations().nodesGetForLabel(id)
 
+  override def getNodesByAllLabels(ids: Seq[Int]): Iterator[Node] =
+    JavaConversionSupport.mapToScalaENFXSafe(getNodesByAllLabelsPrimitive(ids))(nodeOps.getById)
+
+  override def getNodesByAllLabelsPrimitive(ids: Seq[Int]): PrimitiveLongIterator =
+    transactionalContext.statement.readOperations().nodesGetForAllLabels(ids: _*)
+
+  override def getNodesFromPropertyColumn(labelId: Int, propertyKeyId: Int): Iterator[Node] =
+    JavaConversionSupport.mapToScalaENFXSafe(getNodesFromPropertyColumnPrimitive(labelId, propertyKeyId))(nodeOps.getById)
+
+  override def getNodesFromPropertyColumnPrimitive(labelId: Int, propertyKeyId: Int): PrimitiveLongIterator =
+    transactionalContext.statement.readOperations().nodesGetFromPropertyColumn(labelId, propertyKeyId)
+
   override def nodeGetDegree(node: Long, dir: SemanticDirection): Int =
     transactionalContext.statement.readOperations().nodeGetDegree(node, toGraphDb(dir))
 
@@ -340,6 +432,7 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
 
   class NodeOperations extends BaseOperations[Node] {
     override def delete(id: Long) {
+      forgetIndexedValues()
       try {
         transactionalContext.statement.dataWriteOperations().nodeDelete(id)
       } catch {
@@ -353,14 +446,18 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
       case _: exceptions.EntityNotFoundException => Iterator.empty
     }
 
-    override def getProperty(id: Long, propertyKeyId: Int): Value = try {
-      transactionalContext.statement.readOperations().nodeGetProperty(id, propertyKeyId)
-    } catch {
-      case e: org.neo4j.kernel.api.exceptions.EntityNotFoundException =>
-        if (isDeletedInThisTx(id))
-          throw new EntityNotFoundException(s"Node with id $id has been deleted in this transaction", e)
-        else
-          Values.NO_VALUE
+    override def getProperty(id: Long, propertyKeyId: Int): Value = {
+      val indexed = indexedValue(id, propertyKeyId)
+      if (indexed != null) indexed
+      else try {
+        transactionalContext.statement.readOperations().nodeGetProperty(id, propertyKeyId)
+      } catch {
+        case e: org.neo4j.kernel.api.exceptions.EntityNotFoundException =>
+          if (isDeletedInThisTx(id))
+            throw new EntityNotFoundException(s"Node with id $id has been deleted in this transaction", e)
+          else
+            Values.NO_VALUE
+      }
     }
 
     override def hasProperty(id: Long, propertyKey: Int): Boolean = try {
@@ -370,6 +467,7 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
     }
 
     override def removeProperty(id: Long, propertyKeyId: Int): Unit = {
+      forgetIndexedValues()
       try {
         transactionalContext.statement.dataWriteOperations().nodeRemoveProperty(id, propertyKeyId)
       } catch {
@@ -378,6 +476,7 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
     }
 
     override def setProperty(id: Long, propertyKeyId: Int, value: Value): Unit = {
+      forgetIndexedValues()
       try {
         transactionalContext.statement.dataWriteOperations().nodeSetProperty(id, propertyKeyId, value)
       } catch {
@@ -699,6 +798,7 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
   }
 
   override def callReadWriteProcedure(name: QualifiedName, args: Seq[Any], allowed: Array[String]) = {
+    disableIndexedValues()
     val call: KernelProcedureCall =
       if (shouldElevate(allowed))
         transactionalContext.statement.procedureCallOperations.procedureCallWriteOverride(_, _)
@@ -708,6 +808,7 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
   }
 
   override def callSchemaWriteProcedure(name: QualifiedName, args: Seq[Any], allowed: Array[String]) = {
+    disableIndexedValues()
     val call: KernelProcedureCall =
       if (shouldElevate(allowed))
         transactionalContext.statement.procedureCallOperations.procedureCallSchemaOverride(_, _)
@@ -717,6 +818,7 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
   }
 
   override def callDbmsProcedure(name: QualifiedName, args: Seq[Any], allowed: Array[String]) = {
+    disableIndexedValues()
     callProcedure(name, args, transactionalContext.dbmsOperations.procedureCallDbms(_,
                                                                                     _,
                                                                                     transactionalContext.securityContext,
@@ -808,6 +910,7 @@ final class TransactionBoundQueryContext(val transactionalContext: Transactional
   }
 
   override def detachDeleteNode(node: Long): Int = {
+    forgetIndexedValues()
     try {
       transactionalContext.statement.dataWriteOperations().nodeDetachDelete(node)
     } catch {
@@ -26,7 +26,7 @@ import org.neo4j.cypher.internal.compatibility.v3_3.runtime.commands.expressions
 import org.neo4j.cypher.internal.compatibility.v3_3.runtime.pipes.matching.PatternNode
 import org.neo4j.cypher.internal.compiler.v3_3.IndexDescriptor
 import org.neo4j.cypher.internal.frontend.v3_3.SemanticDirection
-import org.neo4j.cypher.internal.v3_3.logical.plans.QualifiedName
+import org.neo4j.cypher.internal.v3_3.logical.plans.{IndexOrder, QualifiedName}
 import org.neo4j.graphdb.{Node, Path, PropertyContainer, Relationship}
 import org.neo4j.kernel.impl.api.store.RelationshipIterator
 import org.neo4j.values.AnyValue
@@ -91,6 +91,10 @@ trait QueryContextAdaptation {
 
   override def getRelationshipsForIdsPrimitive(node: Long, dir: SemanticDirection, types: Option[Array[Int]]): RelationshipIterator = ???
 
+  override def getRelationshipsByType(typeId: Int): scala.Iterator[Relationship] = ???
+
+  override def getRelationshipsByTypePrimitive(typeId: Int): RelationshipIterator = ???
+
   override def getRelationshipFor(relationshipId: Long, typeId: Int, startNodeId: Long, endNodeId: Long): Relationship = ???
 
   override def getLabelsForNode(node: Long): scala.Iterator[Int] = ???
@@ -126,6 +130,8 @@ trait QueryContextAdaptation {
 
   override def indexSeekByRange(index: IndexDescriptor, value: Any): scala.Iterator[Node] = ???
 
+  override def orderedIndexSeekByRange(index: IndexDescriptor, value: Any, indexOrder: IndexOrder): scala.Iterator[Node] = ???
+
   override def setLabelsOnNode(node: Long, labelIds: scala.Iterator[Int]): Int = ???
 
   override def createRelationshipPropertyExistenceConstraint(relTypeId: Int, propertyKeyId: Int): Boolean = ???
@@ -140,6 +146,14 @@ trait QueryContextAdaptation {
 
   override def getNodesByLabelPrimitive(id: Int): PrimitiveLongIterator = ???
 
+  override def getNodesByAllLabels(ids: Seq[Int]): scala.Iterator[Node] = ???
+
+  override def getNodesByAllLabelsPrimitive(ids: Seq[Int]): PrimitiveLongIterator = ???
+
+  override def getNodesFromPropertyColumn(labelId: Int, propertyKeyId: Int): scala.Iterator[Node] = ???
+
+  override def getNodesFromPropertyColumnPrimitive(labelId: Int, propertyKeyId: Int): PrimitiveLongIterator = ???
+
   override def lockingUniqueIndexSeek(index: IndexDescriptor, values: Seq[Any]): Option[Node] = ???
 
   override def callReadOnlyProcedure(name: QualifiedName, args: Seq[Any], allowed: Array[String]): scala.Iterator[Array[AnyRef]] = ???
@@ -20,12 +20,15 @@
 package org.neo4j.cypher.internal.spi.v3_3
 
 import java.net.URL
+import java.util.concurrent.TimeUnit
 
 import org.hamcrest.Matchers.greaterThan
 import org.junit.Assert.assertThat
 import org.mockito.Mockito._
 import org.neo4j.cypher.internal.compatibility.v3_3.runtime.helpers.DynamicIterable
-import org.neo4j.cypher.internal.frontend.v3_3.SemanticDirection
+import org.neo4j.cypher.internal.compiler.v3_3.{IndexDescriptor, RangeGreaterThan}
+import org.neo4j.cypher.internal.frontend.v3_3.helpers.NonEmptyList
+import org.neo4j.cypher.internal.frontend.v3_3.{InclusiveBound, SemanticDirection}
 import org.neo4j.cypher.internal.frontend.v3_3.test_helpers.CypherFunSuite
 import org.neo4j.cypher.internal.spi.v3_3.TransactionBoundQueryContext.IndexSearchMonitor
 import org.neo4j.cypher.javacompat.internal.GraphDatabaseCypherService
@@ -46,6 +49,7 @@ import org.neo4j.kernel.impl.query.clientconnection.ClientConnectionInfo
 import org.neo4j.kernel.impl.query.{Neo4jTransactionalContext, Neo4jTransactionalContextFactory}
 import org.neo4j.storageengine.api.StorageStatement
 import org.neo4j.test.TestGraphDatabaseFactory
+import org.neo4j.values.storable.Values
 import org.neo4j.values.virtual.VirtualValues.EMPTY_MAP
 
 import scala.collection.JavaConverters._
@@ -196,6 +200,48 @@ class TransactionBoundQueryContextTest extends CypherFunSuite {
     tx.close()
   }
 
+  test("should use values from the index for properties of nodes from index seeks") {
+    // GIVEN
+    val label = Label.label("Person")
+    val creator = graph.beginTransaction(KernelTransaction.Type.explicit, SecurityContext.AUTH_DISABLED)
+    graph.getGraphDatabaseService.schema().indexFor(label).on("age").create()
+    creator.success()
+    creator.close()
+    val populator = graph.beginTransaction(KernelTransaction.Type.explicit, SecurityContext.AUTH_DISABLED)
+    graph.getGraphDatabaseService.schema().awaitIndexesOnline(10, TimeUnit.SECONDS)
+    val node = graph.createNode(label)
+    node.setProperty("age", 42)
+    populator.success()
+    populator.close()
+
+    val tx = graph.beginTransaction(KernelTransaction.Type.explicit, SecurityContext.AUTH_DISABLED)
+    val transactionalContext = TransactionalContextWrapper(createTransactionContext(graph, tx))
+    val context = new TransactionBoundQueryContext(transactionalContext)(indexSearchMonitor)
+    val labelId = context.getLabelId("Person")
+    val propertyKeyId = context.getPropertyKeyId("age")
+    val index = IndexDescriptor(labelId, propertyKeyId)
+    val tracer = transactionalContext.kernelStatisticProvider
+
+    // WHEN
+    val nodes = context.indexSeekByRange(index, RangeGreaterThan(NonEmptyList(InclusiveBound(40))))
+    nodes.next().getId should equal(node.getId)
+    val accessesBefore = tracer.getPageCacheHits + tracer.getPageCacheMisses
+    val value = context.nodeOps.getProperty(node.getId, propertyKeyId)
+
+    // THEN
+    value should equal(Values.intValue(42))
+    tracer.getPageCacheHits + tracer.getPageCacheMisses should equal(accessesBefore)
+
+    // and WHEN
+    context.nodeOps.setProperty(node.getId, propertyKeyId, Values.intValue(43))
+
+    // THEN
+    context.nodeOps.getProperty(node.getId, propertyKeyId) should equal(Values.intValue(43))
+
+    transactionalContext.close(true)
+    tx.close()
+  }
+
   private def createTransactionContext(graphDatabaseCypherService: GraphDatabaseCypherService, transaction: InternalTransaction) = {
     val contextFactory = Neo4jTransactionalContextFactory.create(graphDatabaseCypherService, new PropertyContainerLocker)
     contextFactory.newContext(ClientConnectionInfo.EMBEDDED_CONNECTION, transaction, "no query", EMPTY_MAP)
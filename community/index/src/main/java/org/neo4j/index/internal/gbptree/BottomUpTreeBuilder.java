@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+
+import static org.neo4j.index.internal.gbptree.PageCursorUtil.checkOutOfBounds;
+
+/**
+ * Builds a tree bottom-up from entries added in strictly ascending key order, see {@link BulkLoader}.
+ * <p>
+ * One node per level is being built at any given time, each pinned by its own {@link PageCursor}.
+ * Entries are appended to the current leaf until it overflows, at which point a new leaf is started
+ * as its right sibling and a key separating the two is appended to the current node on the level above,
+ * recursively creating new nodes and levels as needed. Since nodes are only ever appended to, all nodes
+ * except the rightmost on each level are completely full.
+ * <p>
+ * Built nodes are not reachable from the current root of the tree until the root has been switched
+ * to the node returned from {@link #rootId()}, which makes building the tree invisible to concurrent readers.
+ */
+class BottomUpTreeBuilder<KEY,VALUE>
+{
+    private final PagedFile pagedFile;
+    private final TreeNode<KEY,VALUE> bTreeNode;
+    private final Layout<KEY,VALUE> layout;
+    private final IdProvider idProvider;
+    private final long stableGeneration;
+    private final long unstableGeneration;
+
+    /**
+     * Node currently being built on each level, where level 0 is the leaf level.
+     */
+    private final List<Level> levels = new ArrayList<>();
+    private final KEY prevKey;
+    private final KEY splitter;
+    private boolean hasPrevKey;
+
+    BottomUpTreeBuilder( PagedFile pagedFile, TreeNode<KEY,VALUE> bTreeNode, Layout<KEY,VALUE> layout,
+            IdProvider idProvider, long stableGeneration, long unstableGeneration ) throws IOException
+    {
+        this.pagedFile = pagedFile;
+        this.bTreeNode = bTreeNode;
+        this.layout = layout;
+        this.idProvider = idProvider;
+        this.stableGeneration = stableGeneration;
+        this.unstableGeneration = unstableGeneration;
+        this.prevKey = layout.newKey();
+        this.splitter = layout.newKey();
+        levels.add( newLevel( true ) );
+    }
+
+    void add( KEY key, VALUE value ) throws IOException
+    {
+        if ( hasPrevKey && layout.compare( prevKey, key ) >= 0 )
+        {
+            throw new IllegalArgumentException( "Keys must be added in strictly ascending order, but " + key +
+                    " was added after " + prevKey );
+        }
+
+        Level leaf = levels.get( 0 );
+        if ( bTreeNode.leafOverflow( leaf.cursor, leaf.keyCount, key, value ) )
+        {
+            layout.minimalSplitter( prevKey, key, splitter );
+            long newLeafId = startNewNode( leaf );
+            addToInternal( 1, splitter, newLeafId );
+        }
+
+        bTreeNode.insertKeyValueAt( leaf.cursor, key, value, leaf.keyCount, leaf.keyCount );
+        TreeNode.setKeyCount( leaf.cursor, ++leaf.keyCount );
+        checkOutOfBounds( leaf.cursor );
+
+        layout.copyKey( key, prevKey );
+        hasPrevKey = true;
+    }
+
+    /**
+     * Appends {@code key} and its right child to the node currently being built on level {@code depth}.
+     * If it doesn't fit, a new node is started on that level with {@code child} as its first child and
+     * {@code key} is instead moved up to the level above, just like when splitting an internal node.
+     */
+    private void addToInternal( int depth, KEY key, long child ) throws IOException
+    {
+        if ( depth == levels.size() )
+        {
+            // Level below just got its second node, first node on new level gets leftmost node below as first child
+            Level level = newLevel( false );
+            bTreeNode.setChildAt( level.cursor, levels.get( depth - 1 ).firstNodeId, 0,
+                    stableGeneration, unstableGeneration );
+            levels.add( level );
+        }
+
+        Level level = levels.get( depth );
+        if ( bTreeNode.internalOverflow( level.cursor, level.keyCount, key ) )
+        {
+            long newNodeId = startNewNode( level );
+            bTreeNode.setChildAt( level.cursor, child, 0, stableGeneration, unstableGeneration );
+            addToInternal( depth + 1, key, newNodeId );
+        }
+        else
+        {
+            bTreeNode.insertKeyAndRightChildAt( level.cursor, key, child, level.keyCount, level.keyCount,
+                    stableGeneration, unstableGeneration );
+            TreeNode.setKeyCount( level.cursor, ++level.keyCount );
+        }
+        checkOutOfBounds( level.cursor );
+    }
+
+    /**
+     * @return id of the root of the built tree, i.e. the single node on the top level.
+     */
+    long rootId()
+    {
+        return levels.get( levels.size() - 1 ).nodeId;
+    }
+
+    void close()
+    {
+        for ( Level level : levels )
+        {
+            level.cursor.close();
+        }
+    }
+
+    private Level newLevel( boolean leaf ) throws IOException
+    {
+        long nodeId = idProvider.acquireNewId( stableGeneration, unstableGeneration );
+        PageCursor cursor = pagedFile.io( nodeId, PagedFile.PF_SHARED_WRITE_LOCK );
+        PageCursorUtil.goTo( cursor, "new level", nodeId );
+        initialize( cursor, leaf );
+        return new Level( cursor, leaf, nodeId );
+    }
+
+    /**
+     * Starts a new node on given level as right sibling of its current node.
+     *
+     * @return id of the new node.
+     */
+    private long startNewNode( Level level ) throws IOException
+    {
+        long newNodeId = idProvider.acquireNewId( stableGeneration, unstableGeneration );
+        TreeNode.setRightSibling( level.cursor, newNodeId, stableGeneration, unstableGeneration );
+        checkOutOfBounds( level.cursor );
+
+        PageCursorUtil.goTo( level.cursor, "new sibling", newNodeId );
+        initialize( level.cursor, level.leaf );
+        TreeNode.setLeftSibling( level.cursor, level.nodeId, stableGeneration, unstableGeneration );
+        level.nodeId = newNodeId;
+        level.keyCount = 0;
+        return newNodeId;
+    }
+
+    private void initialize( PageCursor cursor, boolean leaf )
+    {
+        if ( leaf )
+        {
+            bTreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+        }
+        else
+        {
+            bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+        }
+    }
+
+    private static class Level
+    {
+        private final PageCursor cursor;
+        private final boolean leaf;
+        private final long firstNodeId;
+        private long nodeId;
+        private int keyCount;
+
+        Level( PageCursor cursor, boolean leaf, long nodeId )
+        {
+            this.cursor = cursor;
+            this.leaf = leaf;
+            this.firstNodeId = nodeId;
+            this.nodeId = nodeId;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Builds the contents of an empty {@link GBPTree} bottom-up from entries given in strictly ascending key order,
+ * as opposed to inserting them one by one using a {@link Writer}. Leaves are filled completely, one after
+ * the other, and internal levels are built on top of them as leaves fill up, resulting in sequential writes
+ * and no splits. The tree is made visible to readers when the loader is {@link #close() closed}, typically
+ * using try-with-resource clause.
+ * <p>
+ * Keys must be {@link Layout#compare(Object, Object) strictly ascending}, i.e. without duplicates.
+ *
+ * @param <KEY> type of keys
+ * @param <VALUE> type of values
+ */
+public interface BulkLoader<KEY,VALUE> extends Closeable
+{
+    /**
+     * Adds {@code key} and {@code value} as the last entry of the tree being built.
+     *
+     * @param key key to add, must be greater than all previously added keys.
+     * @param value value to associate with key.
+     * @throws IOException on index access error.
+     * @throws IllegalArgumentException if {@code key} isn't greater than previously added key.
+     */
+    void add( KEY key, VALUE value ) throws IOException;
+}
@@ -431,7 +431,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
             this.pagedFile = openOrCreate( pageCache, indexFile, tentativePageSize, layout );
             this.pageSize = pagedFile.pageSize();
             closed = false;
-            this.bTreeNode = new TreeNode<>( pageSize, layout );
+            this.bTreeNode = TreeNode.instantiate( pageSize, layout );
             this.freeList = new FreeListIdProvider( pagedFile, pageSize, rootId, FreeListIdProvider.NO_MONITOR );
             this.writer = new SingleWriter( new InternalTreeLogic<>( freeList, bTreeNode, layout ) );
 
@@ -485,7 +485,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
         {
             long stableGeneration = stableGeneration( generation );
             long unstableGeneration = unstableGeneration( generation );
-            TreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+            bTreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
             checkOutOfBounds( cursor );
         }
 
@@ -1014,6 +1014,36 @@ public class GBPTree<KEY,VALUE> implements Closeable
         return writer;
     }
 
+    /**
+     * Returns a {@link BulkLoader} able to build the contents of this index bottom-up from entries in
+     * strictly ascending key order. Only allowed on an empty index. This is much faster than inserting
+     * the same entries using a {@link Writer}. The bulk loader holds the single writer of this index,
+     * so no other writer can be acquired until the returned bulk loader has been closed.
+     * Entries become visible to readers when the returned bulk loader is {@link BulkLoader#close() closed}.
+     *
+     * @return {@link BulkLoader} for building the contents of this empty index.
+     * @throws IOException on error accessing the index.
+     * @throws IllegalStateException if this index isn't empty or if the writer is already acquired.
+     */
+    public BulkLoader<KEY,VALUE> bulkLoader() throws IOException
+    {
+        Writer<KEY,VALUE> writer = writer();
+        boolean success = false;
+        try
+        {
+            SingleBulkLoader bulkLoader = new SingleBulkLoader( this.writer );
+            success = true;
+            return bulkLoader;
+        }
+        finally
+        {
+            if ( !success )
+            {
+                writer.close();
+            }
+        }
+    }
+
     private void setRoot( long rootId, long rootGeneration )
     {
         this.root = new Root( rootId, rootGeneration );
@@ -1224,19 +1254,25 @@ public class GBPTree<KEY,VALUE> implements Closeable
                 throw e;
             }
 
+            handleStructureChanges();
+
+            checkOutOfBounds( cursor );
+        }
+
+        private void handleStructureChanges() throws IOException
+        {
             if ( structurePropagation.hasRightKeyInsert )
             {
                 // New root
                 long newRootId = freeList.acquireNewId( stableGeneration, unstableGeneration );
                 PageCursorUtil.goTo( cursor, "new root", newRootId );
 
-                TreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
-                bTreeNode.insertKeyAt( cursor, structurePropagation.rightKey, 0, 0 );
-                TreeNode.setKeyCount( cursor, 1 );
+                bTreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
                 bTreeNode.setChildAt( cursor, structurePropagation.midChild, 0,
                         stableGeneration, unstableGeneration );
-                bTreeNode.setChildAt( cursor, structurePropagation.rightChild, 1,
-                        stableGeneration, unstableGeneration );
+                bTreeNode.insertKeyAndRightChildAt( cursor, structurePropagation.rightKey,
+                        structurePropagation.rightChild, 0, 0, stableGeneration, unstableGeneration );
+                TreeNode.setKeyCount( cursor, 1 );
                 setRoot( newRootId );
             }
             else if ( structurePropagation.hasMidChildUpdate )
@@ -1244,8 +1280,6 @@ public class GBPTree<KEY,VALUE> implements Closeable
                 setRoot( structurePropagation.midChild );
             }
             structurePropagation.clear();
-
-            checkOutOfBounds( cursor );
         }
 
         private void setRoot( long rootPointer )
@@ -1270,11 +1304,7 @@ public class GBPTree<KEY,VALUE> implements Closeable
                 throw e;
             }
 
-            if ( structurePropagation.hasMidChildUpdate )
-            {
-                setRoot( structurePropagation.midChild );
-            }
-            structurePropagation.clear();
+            handleStructureChanges();
 
             checkOutOfBounds( cursor );
             return result;
@@ -1302,6 +1332,56 @@ public class GBPTree<KEY,VALUE> implements Closeable
         }
     }
 
+    private class SingleBulkLoader implements BulkLoader<KEY,VALUE>
+    {
+        private final SingleWriter writer;
+        private final BottomUpTreeBuilder<KEY,VALUE> builder;
+        private final long emptyRootId;
+
+        SingleBulkLoader( SingleWriter writer ) throws IOException
+        {
+            this.writer = writer;
+            PageCursor cursor = writer.cursor;
+            this.emptyRootId = cursor.getCurrentPageId();
+            if ( !TreeNode.isLeaf( cursor ) || TreeNode.keyCount( cursor ) != 0 )
+            {
+                throw new IllegalStateException( "Bulk loading is only allowed on an empty tree, " + GBPTree.this );
+            }
+            this.builder = new BottomUpTreeBuilder<>( pagedFile, bTreeNode, layout, freeList,
+                    writer.stableGeneration, writer.unstableGeneration );
+        }
+
+        @Override
+        public void add( KEY key, VALUE value ) throws IOException
+        {
+            try
+            {
+                builder.add( key, value );
+            }
+            catch ( Throwable e )
+            {
+                appendTreeInformation( e );
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                long rootId = builder.rootId();
+                builder.close();
+                freeList.releaseId( writer.stableGeneration, writer.unstableGeneration, emptyRootId );
+                GBPTree.this.setRoot( rootId, writer.unstableGeneration );
+            }
+            finally
+            {
+                writer.close();
+            }
+        }
+    }
+
     public boolean wasDirtyOnStartup()
     {
         return dirtyOnStartup;
@@ -60,15 +60,62 @@ public interface Layout<KEY, VALUE> extends Comparator<KEY>
     VALUE newValue();
 
     /**
-     * @return size, in bytes, of a key.
+     * @return size, in bytes, of a key. For layouts which are not {@link #fixedSize() fixed size}
+     * this is the maximum size of any key.
      */
     int keySize();
 
     /**
-     * @return size, in bytes, of a value.
+     * @param key key to get size for.
+     * @return size, in bytes, of the given {@code key}, i.e. number of bytes {@link #writeKey(PageCursor, Object)}
+     * will write for it. Only used for layouts which are not {@link #fixedSize() fixed size}.
+     */
+    default int keySize( KEY key )
+    {
+        return keySize();
+    }
+
+    /**
+     * Whether or not all keys have the same size. Keys of layouts which are not fixed size are stored in a more
+     * compact format where each key only occupies {@link #keySize(Object)} bytes, and where entries are
+     * located through an offset array in each tree node. Values are fixed size unless
+     * {@link #fixedValueSize()} says otherwise.
+     *
+     * @return {@code true} if all keys are {@link #keySize()} large, otherwise {@code false}.
+     */
+    default boolean fixedSize()
+    {
+        return true;
+    }
+
+    /**
+     * @return size, in bytes, of a value. For layouts which are not {@link #fixedValueSize() fixed value size}
+     * this is the maximum size of any value.
      */
     int valueSize();
 
+    /**
+     * @param value value to get size for.
+     * @return size, in bytes, of the given {@code value}, i.e. number of bytes {@link #writeValue(PageCursor, Object)}
+     * will write for it. Only used for layouts which are not {@link #fixedValueSize() fixed value size}.
+     */
+    default int valueSize( VALUE value )
+    {
+        return valueSize();
+    }
+
+    /**
+     * Whether or not all values have the same size. Layouts which are not fixed value size are stored in the same
+     * format as layouts which are not {@link #fixedSize() fixed size}, where each value only occupies
+     * {@link #valueSize(Object)} bytes. Keys can still be of fixed size in such layouts.
+     *
+     * @return {@code true} if all values are {@link #valueSize()} large, otherwise {@code false}.
+     */
+    default boolean fixedValueSize()
+    {
+        return true;
+    }
+
     /**
      * Writes contents of {@code key} into {@code cursor} at its current offset.
      *
@@ -93,6 +140,36 @@ public interface Layout<KEY, VALUE> extends Comparator<KEY>
      */
     void readKey( PageCursor cursor, KEY into );
 
+    /**
+     * Reads key contents at {@code cursor} at its current offset into {@code key}, where the number of bytes
+     * written for this key is known to be {@code keySize}. Only used for layouts which are not
+     * {@link #fixedSize() fixed size}.
+     *
+     * @param cursor {@link PageCursor} to read from, at current offset.
+     * @param into key instances to read into.
+     * @param keySize number of bytes occupied by this key, as returned from {@link #keySize(Object)} when written.
+     */
+    default void readKey( PageCursor cursor, KEY into, int keySize )
+    {
+        readKey( cursor, into );
+    }
+
+    /**
+     * Finds the shortest key {@code S} such that {@code left < S <= right} and writes it into {@code into}.
+     * Used for choosing the key separating two tree nodes when splitting a leaf. Shorter separators means
+     * more keys per internal node for layouts which are not {@link #fixedSize() fixed size}, e.g. by
+     * stripping the suffix of a string key that isn't needed to separate the two keys.
+     * Default is to use {@code right} as-is.
+     *
+     * @param left the greatest key in left node, strictly less than {@code right}.
+     * @param right the smallest key in right node.
+     * @param into key instance to write the separator key into.
+     */
+    default void minimalSplitter( KEY left, KEY right, KEY into )
+    {
+        copyKey( right, into );
+    }
+
     /**
      * Reads value contents at {@code cursor} at its current offset into {@code value}.
      *
@@ -101,6 +178,20 @@ public interface Layout<KEY, VALUE> extends Comparator<KEY>
      */
     void readValue( PageCursor cursor, VALUE into );
 
+    /**
+     * Reads value contents at {@code cursor} at its current offset into {@code value}, where the number of bytes
+     * written for this value is known to be {@code valueSize}. Only used for layouts which are not
+     * {@link #fixedValueSize() fixed value size}.
+     *
+     * @param cursor {@link PageCursor} to read from, at current offset.
+     * @param into value instances to read into.
+     * @param valueSize number of bytes occupied by this value, as returned from {@link #valueSize(Object)} when written.
+     */
+    default void readValue( PageCursor cursor, VALUE into, int valueSize )
+    {
+        readValue( cursor, into );
+    }
+
     /**
      * Used as verification when loading an index after creation, to verify that the same layout is used,
      * as the one it was initially created with.
@@ -447,6 +447,7 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
             }
             while ( cursor.shouldRetry() );
             checkOutOfBounds( cursor );
+            cursor.checkAndClearCursorException();
 
             // Act
             if ( !endedUpOnExpectedNode() )
@@ -538,6 +539,13 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
                         prevSiblingId = readPrevSibling();
                         prevSiblingGeneration = readPointerGenerationOnSuccess( prevSiblingId );
                     }
+                    else if ( !seekForward && pos > 0 && !KeySearch.isHit( searchResult ) )
+                    {
+                        // Search position is that of the closest greater key, which is behind us when seeking
+                        // backwards. Start from the closest smaller key instead, or we'd keep finding that key
+                        // outside of the range and search for the same position over and over again
+                        pos--;
+                    }
                 }
 
                 // Next result
@@ -556,6 +564,7 @@ class SeekCursor<KEY,VALUE> implements RawCursor<Hit<KEY,VALUE>,IOException>, Hi
             }
             while ( concurrentWriteHappened = cursor.shouldRetry() );
             checkOutOfBoundsAndClosed();
+            cursor.checkAndClearCursorException();
 
             // Act
             if ( !endedUpOnExpectedNode() )
@@ -31,40 +31,24 @@ import static org.neo4j.index.internal.gbptree.GenerationSafePointerPair.read;
  * Methods to manipulate single tree node such as set and get header fields,
  * insert and fetch keys, values and children.
  * <p>
- * DESIGN
- * <p>
- * Using Separate design the internal nodes should look like
+ * The header, which is the same for all node formats, looks like
  * <pre>
- * # = empty space
- *
- * [                                   HEADER   82B                           ]|[   KEYS   ]|[     CHILDREN      ]
- * [NODETYPE][TYPE][GENERATION][KEYCOUNT][RIGHTSIBLING][LEFTSIBLING][SUCCESSOR]|[[KEY]...##]|[[CHILD][CHILD]...##]
+ * [                                   HEADER   82B                           ]
+ * [NODETYPE][TYPE][GENERATION][KEYCOUNT][RIGHTSIBLING][LEFTSIBLING][SUCCESSOR]
  *  0         1     2           6         10            34           58          82
  * </pre>
- * Calc offset for key i (starting from 0)
- * HEADER_LENGTH + i * SIZE_KEY
- * <p>
- * Calc offset for child i
- * HEADER_LENGTH + SIZE_KEY * MAX_KEY_COUNT_INTERNAL + i * SIZE_CHILD
- * <p>
- * Using Separate design the leaf nodes should look like
- *
- * <pre>
- * [                                   HEADER   82B                           ]|[    KEYS  ]|[   VALUES   ]
- * [NODETYPE][TYPE][GENERATION][KEYCOUNT][RIGHTSIBLING][LEFTSIBLING][SUCCESSOR]|[[KEY]...##]|[[VALUE]...##]
- *  0         1     2           6         10            34           58          82
- * </pre>
- *
- * Calc offset for key i (starting from 0)
- * HEADER_LENGTH + i * SIZE_KEY
+ * How keys, values and children are laid out after the header is decided by the implementation,
+ * see {@link TreeNodeFixedSize} and {@link TreeNodeDynamicSize}. Which one is used is decided by
+ * {@link Layout#fixedSize()}, see {@link #instantiate(int, Layout)}.
  * <p>
- * Calc offset for value i
- * HEADER_LENGTH + SIZE_KEY * MAX_KEY_COUNT_LEAF + i * SIZE_VALUE
+ * Methods for manipulating the body of a node must be safe to use while concurrent readers are
+ * reading the same page, i.e. readers must never see state that makes them throw exceptions,
+ * they must rather read garbage and rely on {@link PageCursor#shouldRetry()} to redo the read.
  *
  * @param <KEY> type of key
  * @param <VALUE> type of value
  */
-class TreeNode<KEY,VALUE>
+abstract class TreeNode<KEY,VALUE>
 {
     // Shared between all node types: TreeNode and FreelistNode
     static final int BYTE_POS_NODE_TYPE = 0;
@@ -84,35 +68,27 @@ class TreeNode<KEY,VALUE>
     static final byte INTERNAL_FLAG = 0;
     static final long NO_NODE_FLAG = 0;
 
-    private final int pageSize;
-    private final int internalMaxKeyCount;
-    private final int leafMaxKeyCount;
-    private final Layout<KEY,VALUE> layout;
-
-    private final int keySize;
-    private final int valueSize;
+    final int pageSize;
+    final Layout<KEY,VALUE> layout;
 
     TreeNode( int pageSize, Layout<KEY,VALUE> layout )
     {
         this.pageSize = pageSize;
         this.layout = layout;
-        this.keySize = layout.keySize();
-        this.valueSize = layout.valueSize();
-        this.internalMaxKeyCount = Math.floorDiv( pageSize - (HEADER_LENGTH + SIZE_PAGE_REFERENCE),
-                keySize + SIZE_PAGE_REFERENCE);
-        this.leafMaxKeyCount = Math.floorDiv( pageSize - HEADER_LENGTH, keySize + valueSize );
+    }
 
-        if ( internalMaxKeyCount < 2 )
-        {
-            throw new MetadataMismatchException(
-                    "For layout %s a page size of %d would only fit %d internal keys, minimum is 2",
-                    layout, pageSize, internalMaxKeyCount );
-        }
-        if ( leafMaxKeyCount < 2 )
-        {
-            throw new MetadataMismatchException( "A page size of %d would only fit leaf keys, minimum is 2",
-                    pageSize, leafMaxKeyCount );
-        }
+    /**
+     * Instantiates the {@link TreeNode} format suitable for the given {@code layout}.
+     *
+     * @param pageSize size of the pages of the tree.
+     * @param layout {@link Layout} of the tree.
+     * @return {@link TreeNodeFixedSize} if {@link Layout#fixedSize()} and {@link Layout#fixedValueSize()},
+     * otherwise {@link TreeNodeDynamicSize}.
+     */
+    static <KEY,VALUE> TreeNode<KEY,VALUE> instantiate( int pageSize, Layout<KEY,VALUE> layout )
+    {
+        return layout.fixedSize() && layout.fixedValueSize() ? new TreeNodeFixedSize<>( pageSize, layout )
+                                                             : new TreeNodeDynamicSize<>( pageSize, layout );
     }
 
     static byte nodeType( PageCursor cursor )
@@ -131,16 +107,25 @@ class TreeNode<KEY,VALUE>
         setSuccessor( cursor, NO_NODE_FLAG, stableGeneration, unstableGeneration );
     }
 
-    static void initializeLeaf( PageCursor cursor, long stableGeneration, long unstableGeneration )
+    void initializeLeaf( PageCursor cursor, long stableGeneration, long unstableGeneration )
     {
         initialize( cursor, LEAF_FLAG, stableGeneration, unstableGeneration );
+        writeAdditionalHeader( cursor );
     }
 
-    static void initializeInternal( PageCursor cursor, long stableGeneration, long unstableGeneration )
+    void initializeInternal( PageCursor cursor, long stableGeneration, long unstableGeneration )
     {
         initialize( cursor, INTERNAL_FLAG, stableGeneration, unstableGeneration );
+        writeAdditionalHeader( cursor );
     }
 
+    /**
+     * Writes header fields specific to this node format, placed directly after {@link #HEADER_LENGTH}.
+     *
+     * @param cursor {@link PageCursor} pinned to the node being initialized.
+     */
+    abstract void writeAdditionalHeader( PageCursor cursor );
+
     // HEADER METHODS
 
     static boolean isLeaf( PageCursor cursor )
@@ -234,165 +219,159 @@ class TreeNode<KEY,VALUE>
 
     // BODY METHODS
 
-    KEY keyAt( PageCursor cursor, KEY into, int pos )
-    {
-        cursor.setOffset( keyOffset( pos ) );
-        layout.readKey( cursor, into );
-        return into;
-    }
+    /**
+     * Reads key at {@code pos} into {@code into}. Safe to call from concurrent readers, i.e. reading an inconsistent
+     * node will not throw, but may leave {@code into} with garbage or set a
+     * {@link PageCursor#setCursorException(String) cursor exception}.
+     */
+    abstract KEY keyAt( PageCursor cursor, KEY into, int pos );
 
-    void insertKeyAt( PageCursor cursor, KEY key, int pos, int keyCount )
-    {
-        insertKeySlotsAt( cursor, pos, 1, keyCount );
-        cursor.setOffset( keyOffset( pos ) );
-        layout.writeKey( cursor, key );
-    }
+    /**
+     * Reads value at {@code pos} into {@code into}. Same concurrency guarantees as {@link #keyAt(PageCursor, Object, int)}.
+     */
+    abstract VALUE valueAt( PageCursor cursor, VALUE into, int pos );
 
-    void removeKeyAt( PageCursor cursor, int pos, int keyCount )
+    long childAt( PageCursor cursor, int pos, long stableGeneration, long unstableGeneration )
     {
-        removeSlotAt( cursor, pos, keyCount, keyOffset( 0 ), keySize );
+        cursor.setOffset( childOffset( pos ) );
+        return read( cursor, stableGeneration, unstableGeneration, pos );
     }
 
-    private static void removeSlotAt( PageCursor cursor, int pos, int itemCount, int baseOffset, int itemSize )
+    void setChildAt( PageCursor cursor, long child, int pos, long stableGeneration, long unstableGeneration )
     {
-        for ( int posToMoveLeft = pos + 1, offset = baseOffset + posToMoveLeft * itemSize;
-                posToMoveLeft < itemCount; posToMoveLeft++, offset += itemSize )
-        {
-            cursor.copyTo( offset, cursor, offset - itemSize, itemSize );
-        }
+        cursor.setOffset( childOffset( pos ) );
+        writeChild( cursor, child, stableGeneration, unstableGeneration );
     }
 
-    void setKeyAt( PageCursor cursor, KEY key, int pos )
+    static void writeChild( PageCursor cursor, long child, long stableGeneration, long unstableGeneration )
     {
-        cursor.setOffset( keyOffset( pos ) );
-        layout.writeKey( cursor, key );
+        GenerationSafePointerPair.write( cursor, child, stableGeneration, unstableGeneration );
     }
 
-    VALUE valueAt( PageCursor cursor, VALUE value, int pos )
-    {
-        cursor.setOffset( valueOffset( pos ) );
-        layout.readValue( cursor, value );
-        return value;
-    }
+    /**
+     * Offset of child at {@code pos} in internal node. Must only depend on {@code pos},
+     * since it's used to locate pointers without reading the node, e.g. when cleaning crashed pointers.
+     */
+    abstract int childOffset( int pos );
 
-    void insertValueAt( PageCursor cursor, VALUE value, int pos, int keyCount )
-    {
-        insertValueSlotsAt( cursor, pos, 1, keyCount );
-        setValueAt( cursor, value, pos );
-    }
+    /**
+     * Inserts key and value at {@code pos} in leaf, shifting keys and values at {@code pos} and after one step
+     * to the right. Caller must first make sure there's room for the entry, see {@link #leafOverflow(PageCursor, int, Object, Object)}.
+     * Key count is not updated.
+     */
+    abstract void insertKeyValueAt( PageCursor cursor, KEY key, VALUE value, int pos, int keyCount );
 
-    void removeValueAt( PageCursor cursor, int pos, int keyCount )
-    {
-        removeSlotAt( cursor, pos, keyCount, valueOffset( 0 ), valueSize );
-    }
+    /**
+     * Removes key and value at {@code pos} in leaf. Key count is not updated.
+     */
+    abstract void removeKeyValueAt( PageCursor cursor, int pos, int keyCount );
 
-    void setValueAt( PageCursor cursor, VALUE value, int pos )
-    {
-        cursor.setOffset( valueOffset( pos ) );
-        layout.writeValue( cursor, value );
-    }
+    /**
+     * Overwrites value at {@code pos} in leaf.
+     *
+     * @return {@code true} if value could be overwritten, or {@code false} if it's larger than the current value
+     * and there wasn't room for it in this node. In the latter case the node is left unchanged.
+     */
+    abstract boolean setValueAt( PageCursor cursor, VALUE value, int pos );
 
-    long childAt( PageCursor cursor, int pos, long stableGeneration, long unstableGeneration )
-    {
-        cursor.setOffset( childOffset( pos ) );
-        return read( cursor, stableGeneration, unstableGeneration, pos );
-    }
+    /**
+     * Inserts key at {@code pos} and {@code child} at {@code pos + 1} in internal node. Caller must first make sure
+     * there's room for the key, see {@link #internalOverflow(PageCursor, int, Object)}. Key count is not updated.
+     */
+    abstract void insertKeyAndRightChildAt( PageCursor cursor, KEY key, long child, int pos, int keyCount,
+            long stableGeneration, long unstableGeneration );
 
-    void insertChildAt( PageCursor cursor, long child, int pos, int keyCount,
-            long stableGeneration, long unstableGeneration )
-    {
-        insertChildSlotsAt( cursor, pos, 1, keyCount );
-        setChildAt( cursor, child, pos, stableGeneration, unstableGeneration );
-    }
+    /**
+     * Removes key at {@code keyPos} and child at {@code keyPos + 1} in internal node. Key count is not updated.
+     */
+    abstract void removeKeyAndRightChildAt( PageCursor cursor, int keyPos, int keyCount );
 
-    void removeChildAt( PageCursor cursor, int pos, int keyCount )
-    {
-        removeSlotAt( cursor, pos, keyCount + 1, childOffset( 0 ), childSize() );
-    }
+    /**
+     * Removes key at {@code keyPos} and child at {@code keyPos} in internal node. Key count is not updated.
+     */
+    abstract void removeKeyAndLeftChildAt( PageCursor cursor, int keyPos, int keyCount );
 
-    void setChildAt( PageCursor cursor, long child, int pos, long stableGeneration, long unstableGeneration )
-    {
-        cursor.setOffset( childOffset( pos ) );
-        writeChild( cursor, child, stableGeneration, unstableGeneration );
-    }
+    /**
+     * Overwrites key at {@code pos} in internal node.
+     *
+     * @return {@code true} if key could be overwritten, or {@code false} if there wasn't room for it in this node.
+     * In the latter case the node is left unchanged.
+     */
+    abstract boolean setKeyAtInternal( PageCursor cursor, KEY key, int pos );
 
-    static void writeChild( PageCursor cursor, long child, long stableGeneration, long unstableGeneration )
-    {
-        GenerationSafePointerPair.write( cursor, child, stableGeneration, unstableGeneration );
-    }
+    /**
+     * @return whether or not inserting {@code newKey} and {@code newValue} into leaf with {@code keyCount} keys
+     * would make it overflow.
+     */
+    abstract boolean leafOverflow( PageCursor cursor, int keyCount, KEY newKey, VALUE newValue );
 
     /**
-     * Moves items (key/value/child) one step to the right, which means rewriting all items of the particular type
-     * from pos - itemCount.
-     * itemCount is keyCount for key and value, but keyCount+1 for children.
+     * @return whether or not inserting {@code newKey} into internal node with {@code keyCount} keys would make it
+     * overflow.
      */
-    private static void insertSlotsAt( PageCursor cursor, int pos, int numberOfSlots, int itemCount, int baseOffset,
-            int itemSize )
-    {
-        for ( int posToMoveRight = itemCount - 1, offset = baseOffset + posToMoveRight * itemSize;
-              posToMoveRight >= pos; posToMoveRight--, offset -= itemSize )
-        {
-            cursor.copyTo( offset, cursor, offset + itemSize * numberOfSlots, itemSize );
-        }
-    }
+    abstract boolean internalOverflow( PageCursor cursor, int keyCount, KEY newKey );
 
-    void insertKeySlotsAt( PageCursor cursor, int pos, int numberOfSlots, int keyCount )
-    {
-        insertSlotsAt( cursor, pos, numberOfSlots, keyCount, keyOffset( 0 ), keySize );
-    }
+    /**
+     * @return whether or not leaf with {@code keyCount} keys is considered underflowing.
+     */
+    abstract boolean leafUnderflow( PageCursor cursor, int keyCount );
 
-    void insertValueSlotsAt( PageCursor cursor, int pos, int numberOfSlots, int keyCount )
-    {
-        insertSlotsAt( cursor, pos, numberOfSlots, keyCount, valueOffset( 0 ), valueSize );
-    }
+    /**
+     * @return whether or not underflowing leaf {@code rightCursor} should be rebalanced with its left sibling,
+     * {@link #moveKeyValuesFromLeftToRight(PageCursor, int, PageCursor, int, int) moving} entries from it.
+     * If {@code false} the leaves may be {@link #canMergeLeaves(PageCursor, int, PageCursor, int) merged}.
+     */
+    abstract boolean canRebalanceLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor,
+            int rightKeyCount );
 
-    void insertChildSlotsAt( PageCursor cursor, int pos, int numberOfSlots, int keyCount )
-    {
-        insertSlotsAt( cursor, pos, numberOfSlots, keyCount + 1, childOffset( 0 ), childSize() );
-    }
+    /**
+     * @return whether or not all entries of both leaves fit in one leaf.
+     */
+    abstract boolean canMergeLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor,
+            int rightKeyCount );
 
-    int internalMaxKeyCount()
-    {
-        return internalMaxKeyCount;
-    }
+    /**
+     * Performs the in-page part of a leaf split, caused by insertion of {@code newKey} and {@code newValue}
+     * at {@code insertPos} in full leaf {@code leftCursor}. Entries are divided between {@code leftCursor} and
+     * the newly initialized {@code rightCursor} and key count of both are updated, right node first.
+     * The key to be inserted in parent, separating left and right, is written into {@code newSplitter}.
+     */
+    abstract void doSplitLeaf( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int insertPos,
+            KEY newKey, VALUE newValue, KEY newSplitter );
 
-    int leafMaxKeyCount()
-    {
-        return leafMaxKeyCount;
-    }
+    /**
+     * Performs the in-page part of an internal node split, caused by insertion of {@code newKey} and
+     * {@code newRightChild} at {@code insertPos} in full internal node {@code leftCursor}. Keys and children are
+     * divided between {@code leftCursor} and the newly initialized {@code rightCursor} and key count of both are
+     * updated. The key moved up to parent is written into {@code newSplitter}.
+     */
+    abstract void doSplitInternal( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int insertPos,
+            KEY newKey, long newRightChild, long stableGeneration, long unstableGeneration, KEY newSplitter );
 
-    // HELPERS
+    /**
+     * Moves keys and values from position {@code fromPosInLeftNode} and onwards in left leaf to the beginning of
+     * right leaf, shifting existing entries in right leaf to the right. Key counts are not updated.
+     */
+    abstract void moveKeyValuesFromLeftToRight( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor,
+            int rightKeyCount, int fromPosInLeftNode );
 
-    int keyOffset( int pos )
-    {
-        return HEADER_LENGTH + pos * keySize;
-    }
+    /**
+     * @return upper bound of number of keys an internal node can hold.
+     */
+    abstract int internalMaxKeyCount();
 
-    int valueOffset( int pos )
-    {
-        return HEADER_LENGTH + leafMaxKeyCount * keySize + pos * valueSize;
-    }
+    /**
+     * @return upper bound of number of keys a leaf can hold.
+     */
+    abstract int leafMaxKeyCount();
 
-    int childOffset( int pos )
-    {
-        return HEADER_LENGTH + internalMaxKeyCount * keySize + pos * SIZE_PAGE_REFERENCE;
-    }
+    // HELPERS
 
     static boolean isNode( long node )
     {
         return GenerationSafePointerPair.pointer( node ) != NO_NODE_FLAG;
     }
 
-    int keySize()
-    {
-        return keySize;
-    }
-
-    int valueSize()
-    {
-        return valueSize;
-    }
-
     static int childSize()
     {
         return SIZE_PAGE_REFERENCE;
@@ -408,11 +387,4 @@ class TreeNode<KEY,VALUE>
     {
         PageCursorUtil.goTo( cursor, messageOnError, GenerationSafePointerPair.pointer( nodeId ) );
     }
-
-    @Override
-    public String toString()
-    {
-        return "TreeNode[pageSize:" + pageSize + ", internalMax:" + internalMaxKeyCount +
-                ", leafMax:" + leafMaxKeyCount + ", keySize:" + keySize + ", valueSize:" + valueSize + "]";
-    }
 }
@@ -0,0 +1,774 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+import static java.lang.String.format;
+
+/**
+ * {@link TreeNode} format for layouts where keys, and optionally values, vary in size, see {@link Layout#fixedSize()}
+ * and {@link Layout#fixedValueSize()}.
+ * <p>
+ * DESIGN
+ * <p>
+ * Keys, and in leaves values, are stored as entries in a heap growing from the end of the page towards the header.
+ * Entries are located through an offset array growing from the header towards the end of the page.
+ * Offsets in the offset array are kept in key order, the entries in the heap are not.
+ * <p>
+ * Leaf nodes look like
+ * <pre>
+ * # = empty space
+ *
+ * [ HEADER 82B ][HEAPSIZE][DEADSPACE]|[OFFSET][OFFSET]...|#####|...[KEYSIZE][VALUESIZE][KEY][VALUE]...
+ *                82        84          86
+ * </pre>
+ * where VALUESIZE is only stored for layouts which are not {@link Layout#fixedValueSize() fixed value size}.
+ * Internal nodes look like
+ * <pre>
+ * [ HEADER 82B ][HEAPSIZE][DEADSPACE]|[CHILD][OFFSET][CHILD][OFFSET][CHILD]...|#####|...[KEYSIZE][KEY]...
+ *                82        84          86
+ * </pre>
+ * where key i sits between child i and child i+1. Child pointers are kept in the same array as the offsets
+ * so that the location of child i only depends on i.
+ * <p>
+ * HEAPSIZE is the number of bytes allocated in the heap, including dead space. DEADSPACE is the number of bytes
+ * in the heap occupied by removed entries. Dead space is reclaimed by defragmenting the node, which happens when
+ * an entry doesn't fit in the contiguous free space between offset array and heap, and on split.
+ * <p>
+ * Key sizes and offsets are read from the page and may be garbage during concurrent modification, which is why
+ * they are validated on read and {@link PageCursor#setCursorException(String) signals an exception} instead of
+ * throwing if invalid. Readers are expected to {@link PageCursor#shouldRetry() retry} and then
+ * {@link PageCursor#checkAndClearCursorException() check for exceptions}.
+ * <p>
+ * Leaves are split in the middle by bytes rather than by count and the key inserted into parent is
+ * {@link Layout#minimalSplitter(Object, Object, Object) minimal} so that internal nodes can fit as many keys as
+ * possible. Underflowing leaves are merged with a sibling if all entries fit in one leaf, they are never rebalanced.
+ *
+ * @param <KEY> type of key
+ * @param <VALUE> type of value
+ */
+class TreeNodeDynamicSize<KEY,VALUE> extends TreeNode<KEY,VALUE>
+{
+    static final int BYTE_POS_HEAP_SIZE = HEADER_LENGTH;
+    static final int BYTE_POS_DEAD_SPACE = BYTE_POS_HEAP_SIZE + Short.BYTES;
+    static final int HEADER_LENGTH_DYNAMIC = BYTE_POS_DEAD_SPACE + Short.BYTES;
+
+    private static final int SIZE_OFFSET = Short.BYTES;
+    private static final int SIZE_KEY_SIZE = Short.BYTES;
+    private static final int SIZE_VALUE_SIZE = Short.BYTES;
+    private static final int SIZE_INTERNAL_SLOT = SIZE_PAGE_REFERENCE + SIZE_OFFSET;
+    private static final int MAX_UNSIGNED_SHORT = 0xFFFF;
+    private static final byte[] EMPTY_CHILD = new byte[SIZE_PAGE_REFERENCE];
+
+    private final int maxKeySize;
+    private final int maxValueSize;
+    private final boolean fixedValueSize;
+    private final int leafEntryHeaderSize;
+    private final int internalMaxKeyCount;
+    private final int leafMaxKeyCount;
+    private final int halfSpace;
+
+    // Only used by the single writer, never by readers
+    private final byte[] defragmentBuffer;
+    private final KEY tmpKeyLeft;
+    private final KEY tmpKeyRight;
+
+    TreeNodeDynamicSize( int pageSize, Layout<KEY,VALUE> layout )
+    {
+        super( pageSize, layout );
+        this.maxKeySize = layout.keySize();
+        this.maxValueSize = layout.valueSize();
+        this.fixedValueSize = layout.fixedValueSize();
+        this.leafEntryHeaderSize = SIZE_KEY_SIZE + (fixedValueSize ? 0 : SIZE_VALUE_SIZE);
+        this.internalMaxKeyCount = Math.floorDiv( pageSize - (HEADER_LENGTH_DYNAMIC + SIZE_PAGE_REFERENCE),
+                SIZE_INTERNAL_SLOT + SIZE_KEY_SIZE );
+        this.leafMaxKeyCount = Math.floorDiv( pageSize - HEADER_LENGTH_DYNAMIC,
+                SIZE_OFFSET + leafEntryHeaderSize + (fixedValueSize ? maxValueSize : 0) );
+        this.halfSpace = (pageSize - HEADER_LENGTH_DYNAMIC) / 2;
+
+        if ( pageSize > MAX_UNSIGNED_SHORT + 1 )
+        {
+            throw new MetadataMismatchException( "For layout %s a page size of %d is larger than maximum %d",
+                    layout, pageSize, MAX_UNSIGNED_SHORT + 1 );
+        }
+        if ( maxKeySize > MAX_UNSIGNED_SHORT )
+        {
+            throw new MetadataMismatchException( "For layout %s a max key size of %d is larger than maximum %d",
+                    layout, maxKeySize, MAX_UNSIGNED_SHORT );
+        }
+        if ( maxValueSize > MAX_UNSIGNED_SHORT )
+        {
+            throw new MetadataMismatchException( "For layout %s a max value size of %d is larger than maximum %d",
+                    layout, maxValueSize, MAX_UNSIGNED_SHORT );
+        }
+        // At least three entries of max size must fit so that split always result in two nodes that fit.
+        int maxLeafEntrySize = SIZE_OFFSET + leafEntryHeaderSize + maxKeySize + maxValueSize;
+        int maxInternalEntrySize = SIZE_INTERNAL_SLOT + SIZE_KEY_SIZE + maxKeySize;
+        if ( pageSize - HEADER_LENGTH_DYNAMIC < 3 * maxLeafEntrySize ||
+             pageSize - HEADER_LENGTH_DYNAMIC - SIZE_PAGE_REFERENCE < 3 * maxInternalEntrySize )
+        {
+            throw new MetadataMismatchException(
+                    "For layout %s a page size of %d would not fit 3 entries of max key size %d and max value size %d," +
+                    " minimum is 3", layout, pageSize, maxKeySize, maxValueSize );
+        }
+
+        this.defragmentBuffer = new byte[pageSize];
+        this.tmpKeyLeft = layout.newKey();
+        this.tmpKeyRight = layout.newKey();
+    }
+
+    @Override
+    void writeAdditionalHeader( PageCursor cursor )
+    {
+        cursor.putShort( BYTE_POS_HEAP_SIZE, (short) 0 );
+        cursor.putShort( BYTE_POS_DEAD_SPACE, (short) 0 );
+    }
+
+    // READ METHODS, safe for concurrent readers
+
+    @Override
+    KEY keyAt( PageCursor cursor, KEY into, int pos )
+    {
+        boolean leaf = isLeaf( cursor );
+        int offset = entryOffset( cursor, pos, leaf );
+        int keySize = readKeySize( cursor, offset, leaf );
+        if ( keySize >= 0 )
+        {
+            cursor.setOffset( offset + entryHeaderSize( leaf ) );
+            layout.readKey( cursor, into, keySize );
+        }
+        return into;
+    }
+
+    @Override
+    VALUE valueAt( PageCursor cursor, VALUE into, int pos )
+    {
+        int offset = entryOffset( cursor, pos, true );
+        int keySize = readKeySize( cursor, offset, true );
+        if ( keySize >= 0 )
+        {
+            int valueSize = valueSizeAt( cursor, offset );
+            cursor.setOffset( offset + leafEntryHeaderSize + keySize );
+            if ( fixedValueSize )
+            {
+                layout.readValue( cursor, into );
+            }
+            else
+            {
+                layout.readValue( cursor, into, valueSize );
+            }
+        }
+        return into;
+    }
+
+    /**
+     * @return size of key in entry at {@code offset}, or {@code -1} if offset or size of key or value is
+     * out of bounds, in which case a cursor exception is also set.
+     */
+    private int readKeySize( PageCursor cursor, int offset, boolean leaf )
+    {
+        int headerSize = entryHeaderSize( leaf );
+        if ( offset < HEADER_LENGTH_DYNAMIC || offset + headerSize > pageSize )
+        {
+            cursor.setCursorException( format( "Read unreasonable entry offset %d in tree node %d",
+                    offset, cursor.getCurrentPageId() ) );
+            return -1;
+        }
+        int keySize = getUnsignedShort( cursor, offset );
+        int valueSize = leaf ? valueSizeAt( cursor, offset ) : 0;
+        int entrySize = headerSize + keySize + valueSize;
+        if ( keySize > maxKeySize || valueSize > maxValueSize || offset + entrySize > pageSize )
+        {
+            cursor.setCursorException( format( "Read unreasonable key size %d and value size %d at offset %d in " +
+                    "tree node %d", keySize, valueSize, offset, cursor.getCurrentPageId() ) );
+            return -1;
+        }
+        return keySize;
+    }
+
+    @Override
+    int childOffset( int pos )
+    {
+        return HEADER_LENGTH_DYNAMIC + pos * SIZE_INTERNAL_SLOT;
+    }
+
+    // WRITE METHODS, only used by the single writer
+
+    @Override
+    boolean setValueAt( PageCursor cursor, VALUE value, int pos )
+    {
+        int offset = entryOffset( cursor, pos, true );
+        int keySize = getUnsignedShort( cursor, offset );
+        if ( fixedValueSize )
+        {
+            cursor.setOffset( offset + leafEntryHeaderSize + keySize );
+            layout.writeValue( cursor, value );
+            return true;
+        }
+
+        int oldValueSize = valueSizeAt( cursor, offset );
+        int newValueSize = layout.valueSize( value );
+        if ( newValueSize <= oldValueSize )
+        {
+            // Overwrite in place, remainder of old entry becomes dead space
+            cursor.putShort( offset + SIZE_KEY_SIZE, (short) newValueSize );
+            cursor.setOffset( offset + leafEntryHeaderSize + keySize );
+            layout.writeValue( cursor, value );
+            setDeadSpace( cursor, deadSpace( cursor ) + oldValueSize - newValueSize );
+            return true;
+        }
+
+        int keyCount = keyCount( cursor );
+        int oldEntrySize = leafEntryHeaderSize + keySize + oldValueSize;
+        int newEntrySize = leafEntryHeaderSize + keySize + newValueSize;
+        if ( newEntrySize > availableSpace( cursor, keyCount, true ) + oldEntrySize )
+        {
+            return false;
+        }
+        // Key is read before freeing the old entry, which may be overwritten when defragmenting
+        keyAt( cursor, tmpKeyLeft, pos );
+        freeEntry( cursor, offset, true );
+        int allocOffset = allocOffset( cursor );
+        if ( allocOffset - slotsEnd( keyCount, true ) < newEntrySize )
+        {
+            allocOffset = defragment( cursor, keyCount, true, pos );
+        }
+        allocOffset -= newEntrySize;
+        writeLeafEntry( cursor, allocOffset, tmpKeyLeft, value );
+        setAllocOffset( cursor, allocOffset );
+        setEntryOffset( cursor, pos, true, allocOffset );
+        return true;
+    }
+
+    @Override
+    void insertKeyValueAt( PageCursor cursor, KEY key, VALUE value, int pos, int keyCount )
+    {
+        int entrySize = leafEntrySize( key, value );
+        int allocOffset = ensureContiguousSpace( cursor, keyCount, true, SIZE_OFFSET + entrySize ) - entrySize;
+        writeLeafEntry( cursor, allocOffset, key, value );
+        setAllocOffset( cursor, allocOffset );
+
+        insertSlotsAt( cursor, pos, 1, keyCount, true );
+        setEntryOffset( cursor, pos, true, allocOffset );
+    }
+
+    @Override
+    void removeKeyValueAt( PageCursor cursor, int pos, int keyCount )
+    {
+        freeEntry( cursor, entryOffset( cursor, pos, true ), true );
+        removeSlotAt( cursor, pos, keyCount, true );
+    }
+
+    @Override
+    void insertKeyAndRightChildAt( PageCursor cursor, KEY key, long child, int pos, int keyCount,
+            long stableGeneration, long unstableGeneration )
+    {
+        int entrySize = SIZE_KEY_SIZE + layout.keySize( key );
+        int allocOffset = ensureContiguousSpace( cursor, keyCount, false, SIZE_INTERNAL_SLOT + entrySize ) - entrySize;
+        writeEntry( cursor, allocOffset, key );
+        setAllocOffset( cursor, allocOffset );
+
+        insertSlotsAt( cursor, pos, 1, keyCount, false );
+        setEntryOffset( cursor, pos, false, allocOffset );
+        if ( pos == keyCount )
+        {
+            // Rightmost child slot is taken into use and may contain leftovers from heap or earlier slots,
+            // which would make the pointer pair look broken and not writable
+            cursor.setOffset( childOffset( pos + 1 ) );
+            cursor.putBytes( EMPTY_CHILD );
+        }
+        setChildAt( cursor, child, pos + 1, stableGeneration, unstableGeneration );
+    }
+
+    @Override
+    void removeKeyAndRightChildAt( PageCursor cursor, int keyPos, int keyCount )
+    {
+        freeEntry( cursor, entryOffset( cursor, keyPos, false ), false );
+        removeSlotAt( cursor, keyPos, keyCount, false );
+    }
+
+    @Override
+    void removeKeyAndLeftChildAt( PageCursor cursor, int keyPos, int keyCount )
+    {
+        freeEntry( cursor, entryOffset( cursor, keyPos, false ), false );
+        cursor.copyTo( childOffset( keyPos + 1 ), cursor, childOffset( keyPos ), childSize() );
+        removeSlotAt( cursor, keyPos, keyCount, false );
+    }
+
+    @Override
+    boolean setKeyAtInternal( PageCursor cursor, KEY key, int pos )
+    {
+        int keyCount = keyCount( cursor );
+        int oldOffset = entryOffset( cursor, pos, false );
+        int oldEntrySize = entrySize( cursor, oldOffset, false );
+        int newEntrySize = SIZE_KEY_SIZE + layout.keySize( key );
+        if ( newEntrySize <= oldEntrySize )
+        {
+            // Overwrite in place, remainder of old entry becomes dead space
+            writeEntry( cursor, oldOffset, key );
+            setDeadSpace( cursor, deadSpace( cursor ) + oldEntrySize - newEntrySize );
+            return true;
+        }
+
+        if ( newEntrySize > availableSpace( cursor, keyCount, false ) + oldEntrySize )
+        {
+            return false;
+        }
+        freeEntry( cursor, oldOffset, false );
+        int allocOffset = allocOffset( cursor );
+        if ( allocOffset - slotsEnd( keyCount, false ) < newEntrySize )
+        {
+            allocOffset = defragment( cursor, keyCount, false, pos );
+        }
+        allocOffset -= newEntrySize;
+        writeEntry( cursor, allocOffset, key );
+        setAllocOffset( cursor, allocOffset );
+        setEntryOffset( cursor, pos, false, allocOffset );
+        return true;
+    }
+
+    @Override
+    boolean leafOverflow( PageCursor cursor, int keyCount, KEY newKey, VALUE newValue )
+    {
+        int neededSpace = SIZE_OFFSET + leafEntrySize( newKey, newValue );
+        return neededSpace > availableSpace( cursor, keyCount, true );
+    }
+
+    @Override
+    boolean internalOverflow( PageCursor cursor, int keyCount, KEY newKey )
+    {
+        int neededSpace = SIZE_INTERNAL_SLOT + SIZE_KEY_SIZE + layout.keySize( newKey );
+        return neededSpace > availableSpace( cursor, keyCount, false );
+    }
+
+    @Override
+    boolean leafUnderflow( PageCursor cursor, int keyCount )
+    {
+        return usedSpace( cursor, keyCount, true ) < halfSpace;
+    }
+
+    @Override
+    boolean canRebalanceLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
+    {
+        return false;
+    }
+
+    @Override
+    boolean canMergeLeaves( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int rightKeyCount )
+    {
+        return usedSpace( leftCursor, leftKeyCount, true ) + usedSpace( rightCursor, rightKeyCount, true ) <=
+               pageSize - HEADER_LENGTH_DYNAMIC;
+    }
+
+    @Override
+    void doSplitLeaf( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int insertPos,
+            KEY newKey, VALUE newValue, KEY newSplitter )
+    {
+        int keyCountAfterInsert = leftKeyCount + 1;
+        int newEntrySize = leafEntrySize( newKey, newValue );
+
+        // Split in the middle by bytes, not by count
+        int totalSpace = SIZE_OFFSET + newEntrySize + usedSpace( leftCursor, leftKeyCount, true );
+        int middlePos = keyCountAfterInsert - 1;
+        int accumulated = 0;
+        for ( int pos = 0; pos < keyCountAfterInsert; pos++ )
+        {
+            accumulated += SIZE_OFFSET + (pos == insertPos ? newEntrySize :
+                           entrySize( leftCursor, entryOffset( leftCursor, beforeInsert( pos, insertPos ), true ), true ));
+            if ( accumulated >= totalSpace / 2 )
+            {
+                middlePos = pos + 1;
+                break;
+            }
+        }
+        middlePos = Math.max( 1, Math.min( middlePos, keyCountAfterInsert - 1 ) );
+
+        layout.minimalSplitter( keyAtAfterInsert( leftCursor, tmpKeyLeft, middlePos - 1, insertPos, newKey ),
+                keyAtAfterInsert( leftCursor, tmpKeyRight, middlePos, insertPos, newKey ), newSplitter );
+
+        // Right
+        int allocOffset = pageSize;
+        for ( int pos = middlePos, rightPos = 0; pos < keyCountAfterInsert; pos++, rightPos++ )
+        {
+            if ( pos == insertPos )
+            {
+                allocOffset -= newEntrySize;
+                writeLeafEntry( rightCursor, allocOffset, newKey, newValue );
+            }
+            else
+            {
+                allocOffset = copyEntry( leftCursor, beforeInsert( pos, insertPos ), rightCursor, allocOffset, true );
+            }
+            setEntryOffset( rightCursor, rightPos, true, allocOffset );
+        }
+        setAllocOffset( rightCursor, allocOffset );
+        TreeNode.setKeyCount( rightCursor, keyCountAfterInsert - middlePos );
+
+        // Left
+        int keepInLeft = insertPos < middlePos ? middlePos - 1 : middlePos;
+        defragment( leftCursor, keepInLeft, true, -1 );
+        if ( insertPos < middlePos )
+        {
+            insertKeyValueAt( leftCursor, newKey, newValue, insertPos, keepInLeft );
+        }
+        TreeNode.setKeyCount( leftCursor, middlePos );
+    }
+
+    @Override
+    void doSplitInternal( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor, int insertPos,
+            KEY newKey, long newRightChild, long stableGeneration, long unstableGeneration, KEY newSplitter )
+    {
+        int keyCountAfterInsert = leftKeyCount + 1;
+        int newEntrySize = SIZE_KEY_SIZE + layout.keySize( newKey );
+
+        // Find key in the middle by bytes, this key will be moved up to parent
+        int totalSpace = SIZE_INTERNAL_SLOT + newEntrySize + usedSpace( leftCursor, leftKeyCount, false );
+        int middlePos = keyCountAfterInsert - 2;
+        int accumulated = 0;
+        for ( int pos = 0; pos < keyCountAfterInsert; pos++ )
+        {
+            accumulated += SIZE_INTERNAL_SLOT + (pos == insertPos ? newEntrySize :
+                           entrySize( leftCursor, entryOffset( leftCursor, beforeInsert( pos, insertPos ), false ), false ));
+            if ( accumulated >= totalSpace / 2 )
+            {
+                middlePos = pos;
+                break;
+            }
+        }
+        middlePos = Math.max( 1, Math.min( middlePos, keyCountAfterInsert - 2 ) );
+
+        keyAtAfterInsert( leftCursor, newSplitter, middlePos, insertPos, newKey );
+
+        // Right, first child is right child of middle key
+        copyChildAfterInsert( leftCursor, middlePos + 1, rightCursor, 0, insertPos, newRightChild,
+                stableGeneration, unstableGeneration );
+        int allocOffset = pageSize;
+        for ( int pos = middlePos + 1, rightPos = 0; pos < keyCountAfterInsert; pos++, rightPos++ )
+        {
+            if ( pos == insertPos )
+            {
+                allocOffset -= newEntrySize;
+                writeEntry( rightCursor, allocOffset, newKey );
+            }
+            else
+            {
+                allocOffset = copyEntry( leftCursor, beforeInsert( pos, insertPos ), rightCursor, allocOffset, false );
+            }
+            setEntryOffset( rightCursor, rightPos, false, allocOffset );
+            copyChildAfterInsert( leftCursor, pos + 1, rightCursor, rightPos + 1, insertPos, newRightChild,
+                    stableGeneration, unstableGeneration );
+        }
+        setAllocOffset( rightCursor, allocOffset );
+        TreeNode.setKeyCount( rightCursor, keyCountAfterInsert - middlePos - 1 );
+
+        // Left
+        int keepInLeft = insertPos < middlePos ? middlePos - 1 : middlePos;
+        defragment( leftCursor, keepInLeft, false, -1 );
+        if ( insertPos < middlePos )
+        {
+            insertKeyAndRightChildAt( leftCursor, newKey, newRightChild, insertPos, keepInLeft,
+                    stableGeneration, unstableGeneration );
+        }
+        TreeNode.setKeyCount( leftCursor, middlePos );
+    }
+
+    /**
+     * Left node is not modified, caller is expected to either release it or update its key count.
+     */
+    @Override
+    void moveKeyValuesFromLeftToRight( PageCursor leftCursor, int leftKeyCount, PageCursor rightCursor,
+            int rightKeyCount, int fromPosInLeftNode )
+    {
+        int numberOfKeysToMove = leftKeyCount - fromPosInLeftNode;
+        int neededSpace = numberOfKeysToMove * SIZE_OFFSET;
+        for ( int pos = fromPosInLeftNode; pos < leftKeyCount; pos++ )
+        {
+            neededSpace += entrySize( leftCursor, entryOffset( leftCursor, pos, true ), true );
+        }
+        int allocOffset = ensureContiguousSpace( rightCursor, rightKeyCount, true, neededSpace );
+
+        insertSlotsAt( rightCursor, 0, numberOfKeysToMove, rightKeyCount, true );
+        for ( int i = 0; i < numberOfKeysToMove; i++ )
+        {
+            allocOffset = copyEntry( leftCursor, fromPosInLeftNode + i, rightCursor, allocOffset, true );
+            setEntryOffset( rightCursor, i, true, allocOffset );
+        }
+        setAllocOffset( rightCursor, allocOffset );
+    }
+
+    @Override
+    int internalMaxKeyCount()
+    {
+        return internalMaxKeyCount;
+    }
+
+    @Override
+    int leafMaxKeyCount()
+    {
+        return leafMaxKeyCount;
+    }
+
+    // HELPERS
+
+    private static int beforeInsert( int posAfterInsert, int insertPos )
+    {
+        return posAfterInsert < insertPos ? posAfterInsert : posAfterInsert - 1;
+    }
+
+    private KEY keyAtAfterInsert( PageCursor cursor, KEY into, int posAfterInsert, int insertPos, KEY newKey )
+    {
+        return posAfterInsert == insertPos ? layout.copyKey( newKey, into ) :
+               keyAt( cursor, into, beforeInsert( posAfterInsert, insertPos ) );
+    }
+
+    private void copyChildAfterInsert( PageCursor fromCursor, int childPosAfterInsert, PageCursor toCursor,
+            int toPos, int insertPos, long newRightChild, long stableGeneration, long unstableGeneration )
+    {
+        // New child is inserted at insertPos + 1
+        if ( childPosAfterInsert == insertPos + 1 )
+        {
+            setChildAt( toCursor, newRightChild, toPos, stableGeneration, unstableGeneration );
+        }
+        else
+        {
+            int fromPos = childPosAfterInsert <= insertPos ? childPosAfterInsert : childPosAfterInsert - 1;
+            fromCursor.copyTo( childOffset( fromPos ), toCursor, childOffset( toPos ), childSize() );
+        }
+    }
+
+    private int slotOffset( int pos, boolean leaf )
+    {
+        return leaf ? HEADER_LENGTH_DYNAMIC + pos * SIZE_OFFSET
+                    : HEADER_LENGTH_DYNAMIC + SIZE_PAGE_REFERENCE + pos * SIZE_INTERNAL_SLOT;
+    }
+
+    private int slotSize( boolean leaf )
+    {
+        return leaf ? SIZE_OFFSET : SIZE_INTERNAL_SLOT;
+    }
+
+    private int slotsEnd( int keyCount, boolean leaf )
+    {
+        return slotOffset( keyCount, leaf );
+    }
+
+    private int entryOffset( PageCursor cursor, int pos, boolean leaf )
+    {
+        return getUnsignedShort( cursor, slotOffset( pos, leaf ) );
+    }
+
+    private void setEntryOffset( PageCursor cursor, int pos, boolean leaf, int entryOffset )
+    {
+        cursor.putShort( slotOffset( pos, leaf ), (short) entryOffset );
+    }
+
+    private int entryHeaderSize( boolean leaf )
+    {
+        return leaf ? leafEntryHeaderSize : SIZE_KEY_SIZE;
+    }
+
+    private int entrySize( PageCursor cursor, int entryOffset, boolean leaf )
+    {
+        return entryHeaderSize( leaf ) + getUnsignedShort( cursor, entryOffset ) +
+               (leaf ? valueSizeAt( cursor, entryOffset ) : 0);
+    }
+
+    private int valueSizeAt( PageCursor cursor, int entryOffset )
+    {
+        return fixedValueSize ? maxValueSize : getUnsignedShort( cursor, entryOffset + SIZE_KEY_SIZE );
+    }
+
+    private int leafEntrySize( KEY key, VALUE value )
+    {
+        return leafEntryHeaderSize + layout.keySize( key ) + (fixedValueSize ? maxValueSize : layout.valueSize( value ));
+    }
+
+    /**
+     * Writes key size and key of internal node entry at {@code entryOffset}.
+     */
+    private void writeEntry( PageCursor cursor, int entryOffset, KEY key )
+    {
+        cursor.putShort( entryOffset, (short) layout.keySize( key ) );
+        cursor.setOffset( entryOffset + SIZE_KEY_SIZE );
+        layout.writeKey( cursor, key );
+    }
+
+    /**
+     * Writes key size, value size if not fixed, key and value of leaf entry at {@code entryOffset}.
+     */
+    private void writeLeafEntry( PageCursor cursor, int entryOffset, KEY key, VALUE value )
+    {
+        cursor.putShort( entryOffset, (short) layout.keySize( key ) );
+        if ( !fixedValueSize )
+        {
+            cursor.putShort( entryOffset + SIZE_KEY_SIZE, (short) layout.valueSize( value ) );
+        }
+        cursor.setOffset( entryOffset + leafEntryHeaderSize );
+        layout.writeKey( cursor, key );
+        layout.writeValue( cursor, value );
+    }
+
+    /**
+     * Copies entry at {@code fromPos} in {@code fromCursor} to be placed right before {@code toAllocOffset}
+     * in {@code toCursor}.
+     *
+     * @return new alloc offset in {@code toCursor}, where the copied entry starts.
+     */
+    private int copyEntry( PageCursor fromCursor, int fromPos, PageCursor toCursor, int toAllocOffset, boolean leaf )
+    {
+        int fromOffset = entryOffset( fromCursor, fromPos, leaf );
+        int entrySize = entrySize( fromCursor, fromOffset, leaf );
+        int toOffset = toAllocOffset - entrySize;
+        fromCursor.copyTo( fromOffset, toCursor, toOffset, entrySize );
+        return toOffset;
+    }
+
+    private void freeEntry( PageCursor cursor, int entryOffset, boolean leaf )
+    {
+        int entrySize = entrySize( cursor, entryOffset, leaf );
+        if ( entryOffset == allocOffset( cursor ) )
+        {
+            setAllocOffset( cursor, entryOffset + entrySize );
+        }
+        else
+        {
+            setDeadSpace( cursor, deadSpace( cursor ) + entrySize );
+        }
+    }
+
+    private void insertSlotsAt( PageCursor cursor, int pos, int numberOfSlots, int keyCount, boolean leaf )
+    {
+        int slotSize = slotSize( leaf );
+        for ( int posToMoveRight = keyCount - 1, offset = slotOffset( posToMoveRight, leaf );
+              posToMoveRight >= pos; posToMoveRight--, offset -= slotSize )
+        {
+            cursor.copyTo( offset, cursor, offset + slotSize * numberOfSlots, slotSize );
+        }
+    }
+
+    private void removeSlotAt( PageCursor cursor, int pos, int keyCount, boolean leaf )
+    {
+        int slotSize = slotSize( leaf );
+        for ( int posToMoveLeft = pos + 1, offset = slotOffset( posToMoveLeft, leaf );
+              posToMoveLeft < keyCount; posToMoveLeft++, offset += slotSize )
+        {
+            cursor.copyTo( offset, cursor, offset - slotSize, slotSize );
+        }
+    }
+
+    /**
+     * Makes sure there are at least {@code neededSpace} contiguous bytes between offset array and heap,
+     * defragmenting if needed. Caller is expected to have verified that the node has room for it.
+     *
+     * @return alloc offset after potential defragmentation.
+     */
+    private int ensureContiguousSpace( PageCursor cursor, int keyCount, boolean leaf, int neededSpace )
+    {
+        int allocOffset = allocOffset( cursor );
+        if ( allocOffset - slotsEnd( keyCount, leaf ) < neededSpace )
+        {
+            allocOffset = defragment( cursor, keyCount, leaf, -1 );
+            if ( allocOffset - slotsEnd( keyCount, leaf ) < neededSpace )
+            {
+                throw new IllegalStateException( format( "Needed %d bytes in tree node %d, but only %d available",
+                        neededSpace, cursor.getCurrentPageId(), allocOffset - slotsEnd( keyCount, leaf ) ) );
+            }
+        }
+        return allocOffset;
+    }
+
+    /**
+     * Compacts entries of the first {@code keyCount} keys to the end of the page, reclaiming all dead space.
+     * Entry of key at {@code skipPos} is dropped, use {@code -1} to keep all.
+     *
+     * @return alloc offset after defragmentation.
+     */
+    private int defragment( PageCursor cursor, int keyCount, boolean leaf, int skipPos )
+    {
+        int allocOffset = pageSize;
+        for ( int pos = 0; pos < keyCount; pos++ )
+        {
+            if ( pos == skipPos )
+            {
+                continue;
+            }
+            int entryOffset = entryOffset( cursor, pos, leaf );
+            int entrySize = entrySize( cursor, entryOffset, leaf );
+            allocOffset -= entrySize;
+            cursor.setOffset( entryOffset );
+            cursor.getBytes( defragmentBuffer, allocOffset, entrySize );
+            setEntryOffset( cursor, pos, leaf, allocOffset );
+        }
+        cursor.setOffset( allocOffset );
+        cursor.putBytes( defragmentBuffer, allocOffset, pageSize - allocOffset );
+        setAllocOffset( cursor, allocOffset );
+        setDeadSpace( cursor, 0 );
+        return allocOffset;
+    }
+
+    private int availableSpace( PageCursor cursor, int keyCount, boolean leaf )
+    {
+        return allocOffset( cursor ) - slotsEnd( keyCount, leaf ) + deadSpace( cursor );
+    }
+
+    private int usedSpace( PageCursor cursor, int keyCount, boolean leaf )
+    {
+        return slotsEnd( keyCount, leaf ) - HEADER_LENGTH_DYNAMIC - (leaf ? 0 : SIZE_PAGE_REFERENCE) +
+               heapSize( cursor ) - deadSpace( cursor );
+    }
+
+    private int heapSize( PageCursor cursor )
+    {
+        return getUnsignedShort( cursor, BYTE_POS_HEAP_SIZE );
+    }
+
+    private int allocOffset( PageCursor cursor )
+    {
+        return pageSize - heapSize( cursor );
+    }
+
+    private void setAllocOffset( PageCursor cursor, int allocOffset )
+    {
+        cursor.putShort( BYTE_POS_HEAP_SIZE, (short) (pageSize - allocOffset) );
+    }
+
+    private static int deadSpace( PageCursor cursor )
+    {
+        return getUnsignedShort( cursor, BYTE_POS_DEAD_SPACE );
+    }
+
+    private static void setDeadSpace( PageCursor cursor, int deadSpace )
+    {
+        cursor.putShort( BYTE_POS_DEAD_SPACE, (short) deadSpace );
+    }
+
+    private static int getUnsignedShort( PageCursor cursor, int offset )
+    {
+        return cursor.getShort( offset ) & MAX_UNSIGNED_SHORT;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TreeNodeDynamicSize[pageSize:" + pageSize + ", internalMax:" + internalMaxKeyCount +
+                ", leafMax:" + leafMaxKeyCount + ", maxKeySize:" + maxKeySize + ", maxValueSize:" + maxValueSize + "]";
+    }
+}
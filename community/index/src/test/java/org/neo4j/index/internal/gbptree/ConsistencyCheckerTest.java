@@ -48,8 +48,10 @@ public class ConsistencyCheckerTest
         String pointerFieldName = "abc";
         long pointer = 123;
 
+        TreeNode<MutableLong,MutableLong> node = new TreeNodeFixedSize<>( pageSize, new SimpleLongLayout() );
+
         cursor.next( 0 );
-        TreeNode.initializeInternal( cursor, stableGeneration, crashGeneration );
+        node.initializeInternal( cursor, stableGeneration, crashGeneration );
         TreeNode.setSuccessor( cursor, pointer, stableGeneration, crashGeneration );
 
         // WHEN
@@ -77,14 +79,14 @@ public class ConsistencyCheckerTest
         // GIVEN
         int pageSize = 256;
         Layout<MutableLong,MutableLong> layout = new SimpleLongLayout();
-        TreeNode<MutableLong,MutableLong> node = new TreeNode<>( pageSize, layout );
+        TreeNodeFixedSize<MutableLong,MutableLong> node = new TreeNodeFixedSize<>( pageSize, layout );
         long stableGeneration = GenerationSafePointer.MIN_GENERATION;
         long unstableGeneration = stableGeneration + 1;
         SimpleIdProvider idProvider = new SimpleIdProvider();
         InternalTreeLogic<MutableLong,MutableLong> logic = new InternalTreeLogic<>( idProvider, node, layout );
         PageCursor cursor = new PageAwareByteArrayCursor( pageSize );
         cursor.next( idProvider.acquireNewId( stableGeneration, unstableGeneration ) );
-        TreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+        node.initializeLeaf( cursor, stableGeneration, unstableGeneration );
         logic.initialize( cursor );
         StructurePropagation<MutableLong> structure = new StructurePropagation<>( layout.newKey(), layout.newKey(),
                 layout.newKey() );
@@ -100,7 +102,7 @@ public class ConsistencyCheckerTest
                 {
                     goTo( cursor, "new root",
                             idProvider.acquireNewId( stableGeneration, unstableGeneration ) );
-                    TreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+                    node.initializeInternal( cursor, stableGeneration, unstableGeneration );
                     node.insertKeyAt( cursor, structure.rightKey, 0, 0 );
                     TreeNode.setKeyCount( cursor, 1 );
                     node.setChildAt( cursor, structure.midChild, 0, stableGeneration, unstableGeneration );
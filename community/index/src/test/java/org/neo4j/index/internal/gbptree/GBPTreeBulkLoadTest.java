@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.test.rule.PageCacheRule;
+import org.neo4j.test.rule.RandomRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.rules.RuleChain.outerRule;
+import static org.neo4j.test.rule.PageCacheRule.config;
+
+public class GBPTreeBulkLoadTest
+{
+    private static final int PAGE_SIZE = 256;
+
+    private final DefaultFileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( getClass(), fs.get() );
+    private final PageCacheRule pageCacheRule = new PageCacheRule( config().withAccessChecks( true ) );
+    private final RandomRule random = new RandomRule();
+
+    @Rule
+    public final RuleChain rules = outerRule( fs ).around( directory ).around( pageCacheRule ).around( random );
+
+    @Test
+    public void shouldBulkLoadEmptyTree() throws Exception
+    {
+        try ( GBPTree<MutableLong,MutableLong> index = index( new SimpleLongLayout() ) )
+        {
+            // WHEN
+            index.bulkLoader().close();
+
+            // THEN
+            assertLongs( index, 0 );
+            index.consistencyCheck();
+        }
+    }
+
+    @Test
+    public void shouldBulkLoadMultipleLevelsOfFixedSizeKeys() throws Exception
+    {
+        try ( GBPTree<MutableLong,MutableLong> index = index( new SimpleLongLayout() ) )
+        {
+            // WHEN
+            int count = 10_000;
+            try ( BulkLoader<MutableLong,MutableLong> loader = index.bulkLoader() )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    loader.add( new MutableLong( i * 2 ), new MutableLong( i ) );
+                }
+            }
+
+            // THEN
+            index.consistencyCheck();
+            assertLongs( index, count );
+
+            // and WHEN modifying it afterwards using ordinary writer
+            try ( Writer<MutableLong,MutableLong> writer = index.writer() )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    writer.put( new MutableLong( i * 2 + 1 ), new MutableLong( -i ) );
+                }
+                for ( int i = 0; i < count; i++ )
+                {
+                    assertEquals( i, writer.remove( new MutableLong( i * 2 ) ).longValue() );
+                }
+            }
+
+            // THEN
+            index.consistencyCheck();
+            try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek =
+                          index.seek( new MutableLong( 0 ), new MutableLong( Long.MAX_VALUE ) ) )
+            {
+                for ( int i = 0; i < count; i++ )
+                {
+                    assertTrue( seek.next() );
+                    assertEquals( i * 2 + 1, seek.get().key().longValue() );
+                    assertEquals( -i, seek.get().value().longValue() );
+                }
+                assertFalse( seek.next() );
+            }
+        }
+    }
+
+    @Test
+    public void shouldBulkLoadMultipleLevelsOfDynamicSizeKeys() throws Exception
+    {
+        SimpleByteArrayLayout layout = new SimpleByteArrayLayout( 10 );
+        TreeMap<RawBytes,MutableLong> expected = new TreeMap<>( layout );
+        for ( int i = 0; i < 5_000; i++ )
+        {
+            byte[] bytes = new byte[random.nextInt( 10 )];
+            random.nextBytes( bytes );
+            expected.put( new RawBytes( bytes ), new MutableLong( i ) );
+        }
+
+        try ( GBPTree<RawBytes,MutableLong> index = index( layout ) )
+        {
+            // WHEN
+            try ( BulkLoader<RawBytes,MutableLong> loader = index.bulkLoader() )
+            {
+                for ( Map.Entry<RawBytes,MutableLong> entry : expected.entrySet() )
+                {
+                    loader.add( entry.getKey(), entry.getValue() );
+                }
+            }
+
+            // THEN
+            index.consistencyCheck();
+            try ( RawCursor<Hit<RawBytes,MutableLong>,IOException> seek =
+                          index.seek( new RawBytes( new byte[0] ), new RawBytes( new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1} ) ) )
+            {
+                for ( Map.Entry<RawBytes,MutableLong> entry : expected.entrySet() )
+                {
+                    assertTrue( seek.next() );
+                    assertArrayEquals( entry.getKey().bytes, seek.get().key().bytes );
+                    assertEquals( entry.getValue(), seek.get().value() );
+                }
+                assertFalse( seek.next() );
+            }
+        }
+    }
+
+    @Test
+    public void shouldFailOnKeysNotInStrictlyAscendingOrder() throws Exception
+    {
+        try ( GBPTree<MutableLong,MutableLong> index = index( new SimpleLongLayout() ) )
+        {
+            try ( BulkLoader<MutableLong,MutableLong> loader = index.bulkLoader() )
+            {
+                loader.add( new MutableLong( 10 ), new MutableLong( 10 ) );
+
+                // WHEN
+                loader.add( new MutableLong( 10 ), new MutableLong( 10 ) );
+                fail( "Should have failed" );
+            }
+            catch ( IllegalArgumentException e )
+            {
+                // THEN good
+            }
+
+            // and writer should have been released
+            index.writer().close();
+        }
+    }
+
+    @Test
+    public void shouldFailToBulkLoadNonEmptyTree() throws Exception
+    {
+        try ( GBPTree<MutableLong,MutableLong> index = index( new SimpleLongLayout() ) )
+        {
+            // GIVEN
+            try ( Writer<MutableLong,MutableLong> writer = index.writer() )
+            {
+                writer.put( new MutableLong( 1 ), new MutableLong( 1 ) );
+            }
+
+            // WHEN
+            try
+            {
+                index.bulkLoader();
+                fail( "Should have failed" );
+            }
+            catch ( IllegalStateException e )
+            {
+                // THEN good
+            }
+
+            // and writer should have been released
+            index.writer().close();
+        }
+    }
+
+    @Test
+    public void shouldNotAllowWriterWhileBulkLoading() throws Exception
+    {
+        try ( GBPTree<MutableLong,MutableLong> index = index( new SimpleLongLayout() );
+              BulkLoader<MutableLong,MutableLong> ignored = index.bulkLoader() )
+        {
+            try
+            {
+                index.writer();
+                fail( "Should have failed" );
+            }
+            catch ( IllegalStateException e )
+            {
+                // THEN good
+            }
+        }
+    }
+
+    private <KEY,VALUE> GBPTree<KEY,VALUE> index( Layout<KEY,VALUE> layout ) throws IOException
+    {
+        PageCache pageCache = pageCacheRule.getPageCache( fs.get(), config().withPageSize( PAGE_SIZE ).withAccessChecks( true ) );
+        return new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build();
+    }
+
+    private static void assertLongs( GBPTree<MutableLong,MutableLong> index, int count ) throws IOException
+    {
+        try ( RawCursor<Hit<MutableLong,MutableLong>,IOException> seek =
+                      index.seek( new MutableLong( 0 ), new MutableLong( Long.MAX_VALUE ) ) )
+        {
+            for ( int i = 0; i < count; i++ )
+            {
+                assertTrue( seek.next() );
+                assertEquals( i * 2, seek.get().key().longValue() );
+                assertEquals( i, seek.get().value().longValue() );
+            }
+            assertFalse( seek.next() );
+        }
+    }
+}
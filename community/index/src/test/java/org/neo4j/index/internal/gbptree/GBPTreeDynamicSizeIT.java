@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.test.rule.PageCacheRule;
+import org.neo4j.test.rule.RandomRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.rules.RuleChain.outerRule;
+import static org.neo4j.test.rule.PageCacheRule.config;
+
+/**
+ * Randomized modifications of a {@link GBPTree} with keys or values of varying size, i.e. using {@link TreeNodeDynamicSize},
+ * verified against an in-memory model.
+ */
+public class GBPTreeDynamicSizeIT
+{
+    private static final int PAGE_SIZE = 512;
+    private static final int MAX_KEY_SIZE = 60;
+    private static final int MAX_VALUE_SIZE = 100;
+
+    private final DefaultFileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( getClass(), fs.get() );
+    private final PageCacheRule pageCacheRule = new PageCacheRule();
+    private final RandomRule random = new RandomRule();
+
+    @Rule
+    public final RuleChain rules = outerRule( fs ).around( directory ).around( pageCacheRule ).around( random );
+
+    private final SimpleByteArrayLayout layout = new SimpleByteArrayLayout( MAX_KEY_SIZE );
+
+    @Test
+    public void shouldStayCorrectAfterRandomModifications() throws Exception
+    {
+        PageCache pageCache = pageCacheRule.getPageCache( fs.get(), config().withPageSize( PAGE_SIZE ).withAccessChecks( true ) );
+        TreeMap<RawBytes,MutableLong> expected = new TreeMap<>( layout );
+        try ( GBPTree<RawBytes,MutableLong> index = new GBPTreeBuilder<>( pageCache, directory.file( "index" ), layout ).build() )
+        {
+            for ( int round = 0; round < 20; round++ )
+            {
+                // WHEN
+                try ( Writer<RawBytes,MutableLong> writer = index.writer() )
+                {
+                    int changes = random.nextInt( 500 );
+                    for ( int i = 0; i < changes; i++ )
+                    {
+                        if ( !expected.isEmpty() && random.nextInt( 3 ) == 0 )
+                        {
+                            RawBytes key = randomExistingKey( expected );
+                            MutableLong removed = writer.remove( key );
+                            assertEquals( expected.remove( key ), removed );
+                        }
+                        else
+                        {
+                            RawBytes key = randomKey();
+                            MutableLong value = new MutableLong( random.nextLong() );
+                            writer.put( key, value );
+                            expected.put( key, value );
+                        }
+                    }
+                }
+
+                // THEN
+                assertContents( index, expected );
+                index.consistencyCheck();
+                index.checkpoint( IOLimiter.unlimited() );
+            }
+        }
+    }
+
+    @Test
+    public void shouldStayCorrectAfterRandomModificationsOfValuesOfVaryingSize() throws Exception
+    {
+        PageCache pageCache = pageCacheRule.getPageCache( fs.get(), config().withPageSize( PAGE_SIZE ).withAccessChecks( true ) );
+        SimpleByteArrayValueLayout valueLayout = new SimpleByteArrayValueLayout( MAX_VALUE_SIZE );
+        TreeMap<Long,RawBytes> expected = new TreeMap<>();
+        try ( GBPTree<MutableLong,RawBytes> index =
+                new GBPTreeBuilder<>( pageCache, directory.file( "index" ), valueLayout ).build() )
+        {
+            for ( int round = 0; round < 20; round++ )
+            {
+                // WHEN
+                try ( Writer<MutableLong,RawBytes> writer = index.writer() )
+                {
+                    int changes = random.nextInt( 500 );
+                    for ( int i = 0; i < changes; i++ )
+                    {
+                        long key = random.nextInt( 200 );
+                        RawBytes value = new RawBytes( new byte[random.nextInt( MAX_VALUE_SIZE / 4 )] );
+                        random.nextBytes( value.bytes );
+                        int action = random.nextInt( 3 );
+                        if ( action == 0 )
+                        {
+                            RawBytes removed = writer.remove( new MutableLong( key ) );
+                            assertEquals( expected.remove( key ), removed );
+                        }
+                        else if ( action == 1 )
+                        {
+                            writer.put( new MutableLong( key ), value );
+                            expected.put( key, value );
+                        }
+                        else
+                        {
+                            // Grows values in place, which sometimes requires leaves to be split
+                            writer.merge( new MutableLong( key ), value, APPEND );
+                            expected.merge( key, value, GBPTreeDynamicSizeIT::append );
+                        }
+                    }
+                }
+
+                // THEN
+                assertValueContents( index, expected );
+                index.consistencyCheck();
+                index.checkpoint( IOLimiter.unlimited() );
+            }
+        }
+    }
+
+    private static final ValueMerger<MutableLong,RawBytes> APPEND =
+            ( existingKey, newKey, existingValue, newValue ) -> append( existingValue, newValue );
+
+    /**
+     * Appends {@code value} to {@code existing}, or starts over with {@code value} if the result would be too big.
+     */
+    private static RawBytes append( RawBytes existing, RawBytes value )
+    {
+        byte[] bytes = Arrays.copyOf( existing.bytes, existing.bytes.length + value.bytes.length );
+        System.arraycopy( value.bytes, 0, bytes, existing.bytes.length, value.bytes.length );
+        return bytes.length > MAX_VALUE_SIZE ? value : new RawBytes( bytes );
+    }
+
+    private void assertValueContents( GBPTree<MutableLong,RawBytes> index, TreeMap<Long,RawBytes> expected )
+            throws IOException
+    {
+        try ( RawCursor<Hit<MutableLong,RawBytes>,IOException> seek =
+                index.seek( new MutableLong( Long.MIN_VALUE ), new MutableLong( Long.MAX_VALUE ) ) )
+        {
+            Iterator<Map.Entry<Long,RawBytes>> expectedEntries = expected.entrySet().iterator();
+            while ( seek.next() )
+            {
+                assertTrue( expectedEntries.hasNext() );
+                Map.Entry<Long,RawBytes> expectedEntry = expectedEntries.next();
+                assertEquals( expectedEntry.getKey().longValue(), seek.get().key().longValue() );
+                assertArrayEquals( expectedEntry.getValue().bytes, seek.get().value().bytes );
+            }
+            assertFalse( expectedEntries.hasNext() );
+        }
+    }
+
+    private void assertContents( GBPTree<RawBytes,MutableLong> index, TreeMap<RawBytes,MutableLong> expected )
+            throws IOException
+    {
+        RawBytes from = new RawBytes( new byte[0] );
+        RawBytes to = new RawBytes( fill( MAX_KEY_SIZE ) );
+        try ( RawCursor<Hit<RawBytes,MutableLong>,IOException> seek = index.seek( from, to ) )
+        {
+            Iterator<Map.Entry<RawBytes,MutableLong>> expectedEntries = expected.entrySet().iterator();
+            while ( seek.next() )
+            {
+                assertTrue( expectedEntries.hasNext() );
+                Map.Entry<RawBytes,MutableLong> expectedEntry = expectedEntries.next();
+                assertArrayEquals( expectedEntry.getKey().bytes, seek.get().key().bytes );
+                assertEquals( expectedEntry.getValue(), seek.get().value() );
+            }
+            assertFalse( expectedEntries.hasNext() );
+        }
+    }
+
+    private RawBytes randomExistingKey( TreeMap<RawBytes,MutableLong> expected )
+    {
+        RawBytes key = expected.ceilingKey( randomKey() );
+        return key != null ? key : expected.firstKey();
+    }
+
+    private RawBytes randomKey()
+    {
+        // Short keys with a small alphabet so that keys share prefixes and removes hit existing keys
+        byte[] bytes = new byte[random.nextInt( MAX_KEY_SIZE )];
+        for ( int i = 0; i < bytes.length; i++ )
+        {
+            bytes[i] = (byte) random.nextInt( 4 );
+        }
+        return new RawBytes( bytes );
+    }
+
+    private static byte[] fill( int size )
+    {
+        byte[] bytes = new byte[size];
+        for ( int i = 0; i < size; i++ )
+        {
+            bytes[i] = (byte) 0xFF;
+        }
+        return bytes;
+    }
+}
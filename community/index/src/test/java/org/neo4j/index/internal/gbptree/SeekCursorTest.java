@@ -67,7 +67,7 @@ public class SeekCursorTest
 
     private final SimpleIdProvider id = new SimpleIdProvider();
     private final Layout<MutableLong,MutableLong> layout = new SimpleLongLayout();
-    private final TreeNode<MutableLong,MutableLong> node = new TreeNode<>( PAGE_SIZE, layout );
+    private final TreeNodeFixedSize<MutableLong,MutableLong> node = new TreeNodeFixedSize<>( PAGE_SIZE, layout );
     private final InternalTreeLogic<MutableLong,MutableLong> treeLogic = new InternalTreeLogic<>( id, node, layout );
     private final StructurePropagation<MutableLong> structurePropagation =
             new StructurePropagation<>( layout.newKey(), layout.newKey(), layout.newKey() );
@@ -92,7 +92,7 @@ public class SeekCursorTest
     public void setUp() throws IOException
     {
         cursor.next( id.acquireNewId( stableGeneration, unstableGeneration ) );
-        TreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+        node.initializeLeaf( cursor, stableGeneration, unstableGeneration );
         updateRoot();
     }
 
@@ -416,6 +416,29 @@ public class SeekCursorTest
         assertEquals( expectedkey, 0 );
     }
 
+    @Test
+    public void mustFindKeysWhenGivenRangeStartingBetweenKeysBackwards() throws Exception
+    {
+        // Given
+        // [ 0 2 4... ]
+        int keyCount = maxKeyCount / 2;
+        for ( int i = 0; i < keyCount; i++ )
+        {
+            insert( i * 2 );
+        }
+
+        long expectedkey = (keyCount - 2) * 2;
+        try ( SeekCursor<MutableLong,MutableLong> seekCursor = seekCursor( expectedkey + 1, -1 ) )
+        {
+            while ( seekCursor.next() )
+            {
+                assertKeyAndValue( seekCursor, expectedkey );
+                expectedkey -= 2;
+            }
+        }
+        assertEquals( expectedkey, -2 );
+    }
+
     @Test
     public void mustFindKeysWhenGivenRangeEndingOutsideEndOfData() throws Exception
     {
@@ -1917,12 +1940,12 @@ public class SeekCursorTest
 
         // a newer leaf
         long leftChild = cursor.getCurrentPageId();
-        TreeNode.initializeLeaf( cursor, stableGeneration + 1, unstableGeneration + 1 ); // A newer leaf
+        node.initializeLeaf( cursor, stableGeneration + 1, unstableGeneration + 1 ); // A newer leaf
         cursor.next();
 
         // a root
         long rootId = cursor.getCurrentPageId();
-        TreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+        node.initializeInternal( cursor, stableGeneration, unstableGeneration );
         long keyInRoot = 10L;
         insertKey.setValue( keyInRoot );
         node.insertKeyAt( cursor, insertKey, 0, 0 );
@@ -1940,7 +1963,7 @@ public class SeekCursorTest
                 // and set child generation to match pointer
                 cursor.next( leftChild );
                 cursor.zapPage();
-                TreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+                node.initializeLeaf( cursor, stableGeneration, unstableGeneration );
 
                 cursor.next( rootId );
                 return new Root( rootId, generation );
@@ -1973,7 +1996,7 @@ public class SeekCursorTest
 
         // a newer right leaf
         long rightChild = cursor.getCurrentPageId();
-        TreeNode.initializeLeaf( cursor, stableGeneration, unstableGeneration );
+        node.initializeLeaf( cursor, stableGeneration, unstableGeneration );
         cursor.next();
 
         Supplier<Root> rootCatchup = () ->
@@ -1993,13 +2016,13 @@ public class SeekCursorTest
 
         // a left leaf
         long leftChild = cursor.getCurrentPageId();
-        TreeNode.initializeLeaf( cursor, stableGeneration - 1, unstableGeneration - 1 );
+        node.initializeLeaf( cursor, stableGeneration - 1, unstableGeneration - 1 );
         // with an old pointer to right sibling
         TreeNode.setRightSibling( cursor, rightChild, stableGeneration - 1, unstableGeneration - 1 );
         cursor.next();
 
         // a root
-        TreeNode.initializeInternal( cursor, stableGeneration - 1, unstableGeneration - 1 );
+        node.initializeInternal( cursor, stableGeneration - 1, unstableGeneration - 1 );
         long keyInRoot = 10L;
         insertKey.setValue( keyInRoot );
         node.insertKeyAt( cursor, insertKey, 0, 0 );
@@ -2140,7 +2163,7 @@ public class SeekCursorTest
         assertTrue( split.hasRightKeyInsert );
         long rootId = id.acquireNewId( stableGeneration, unstableGeneration );
         cursor.next( rootId );
-        TreeNode.initializeInternal( cursor, stableGeneration, unstableGeneration );
+        node.initializeInternal( cursor, stableGeneration, unstableGeneration );
         node.insertKeyAt( cursor, split.rightKey, 0, 0 );
         TreeNode.setKeyCount( cursor, 1 );
         node.setChildAt( cursor, split.midChild, 0, stableGeneration, unstableGeneration );
@@ -2229,7 +2252,7 @@ public class SeekCursorTest
         TreeNode.setRightSibling( pageCursor, right, stableGeneration, unstableGeneration );
 
         pageCursor.next( right );
-        TreeNode.initializeLeaf( pageCursor, stableGeneration, unstableGeneration );
+        node.initializeLeaf( pageCursor, stableGeneration, unstableGeneration );
         TreeNode.setLeftSibling( pageCursor, left, stableGeneration, unstableGeneration );
         return left;
     }
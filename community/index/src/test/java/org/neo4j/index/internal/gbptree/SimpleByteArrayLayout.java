@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+
+import java.util.Arrays;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * {@link Layout} with keys of varying size, used for testing {@link TreeNodeDynamicSize}.
+ */
+class SimpleByteArrayLayout extends Layout.Adapter<RawBytes,MutableLong>
+{
+    private final int maxKeySize;
+
+    SimpleByteArrayLayout( int maxKeySize )
+    {
+        this.maxKeySize = maxKeySize;
+    }
+
+    @Override
+    public int compare( RawBytes o1, RawBytes o2 )
+    {
+        byte[] left = o1.bytes;
+        byte[] right = o2.bytes;
+        int length = Math.min( left.length, right.length );
+        for ( int i = 0; i < length; i++ )
+        {
+            int compare = Integer.compare( left[i] & 0xFF, right[i] & 0xFF );
+            if ( compare != 0 )
+            {
+                return compare;
+            }
+        }
+        return Integer.compare( left.length, right.length );
+    }
+
+    @Override
+    public RawBytes newKey()
+    {
+        return new RawBytes();
+    }
+
+    @Override
+    public RawBytes copyKey( RawBytes key, RawBytes into )
+    {
+        into.bytes = Arrays.copyOf( key.bytes, key.bytes.length );
+        return into;
+    }
+
+    @Override
+    public MutableLong newValue()
+    {
+        return new MutableLong();
+    }
+
+    @Override
+    public int keySize()
+    {
+        return maxKeySize;
+    }
+
+    @Override
+    public int keySize( RawBytes key )
+    {
+        return key.bytes.length;
+    }
+
+    @Override
+    public boolean fixedSize()
+    {
+        return false;
+    }
+
+    @Override
+    public int valueSize()
+    {
+        return Long.BYTES;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, RawBytes key )
+    {
+        cursor.putBytes( key.bytes );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, MutableLong value )
+    {
+        cursor.putLong( value.longValue() );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, RawBytes into )
+    {
+        throw new UnsupportedOperationException( "Key size must be known when reading keys of varying size" );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, RawBytes into, int keySize )
+    {
+        into.bytes = new byte[keySize];
+        cursor.getBytes( into.bytes );
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, MutableLong into )
+    {
+        into.setValue( cursor.getLong() );
+    }
+
+    @Override
+    public void minimalSplitter( RawBytes left, RawBytes right, RawBytes into )
+    {
+        // Shortest prefix of right which is still greater than left
+        int firstDiff = 0;
+        while ( firstDiff < left.bytes.length && left.bytes[firstDiff] == right.bytes[firstDiff] )
+        {
+            firstDiff++;
+        }
+        into.bytes = Arrays.copyOf( right.bytes, firstDiff + 1 );
+    }
+
+    @Override
+    public long identifier()
+    {
+        return 666;
+    }
+
+    @Override
+    public int majorVersion()
+    {
+        return 0;
+    }
+
+    @Override
+    public int minorVersion()
+    {
+        return 0;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+
+import java.util.Arrays;
+
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * {@link Layout} with keys of fixed size and values of varying size, used for testing {@link TreeNodeDynamicSize}.
+ */
+class SimpleByteArrayValueLayout extends Layout.Adapter<MutableLong,RawBytes>
+{
+    private final int maxValueSize;
+
+    SimpleByteArrayValueLayout( int maxValueSize )
+    {
+        this.maxValueSize = maxValueSize;
+    }
+
+    @Override
+    public int compare( MutableLong o1, MutableLong o2 )
+    {
+        return Long.compare( o1.longValue(), o2.longValue() );
+    }
+
+    @Override
+    public MutableLong newKey()
+    {
+        return new MutableLong();
+    }
+
+    @Override
+    public MutableLong copyKey( MutableLong key, MutableLong into )
+    {
+        into.setValue( key.longValue() );
+        return into;
+    }
+
+    @Override
+    public RawBytes newValue()
+    {
+        return new RawBytes();
+    }
+
+    @Override
+    public int keySize()
+    {
+        return Long.BYTES;
+    }
+
+    @Override
+    public int valueSize()
+    {
+        return maxValueSize;
+    }
+
+    @Override
+    public int valueSize( RawBytes value )
+    {
+        return value.bytes.length;
+    }
+
+    @Override
+    public boolean fixedValueSize()
+    {
+        return false;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, MutableLong key )
+    {
+        cursor.putLong( key.longValue() );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, RawBytes value )
+    {
+        cursor.putBytes( value.bytes );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, MutableLong into )
+    {
+        into.setValue( cursor.getLong() );
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, RawBytes into )
+    {
+        throw new UnsupportedOperationException( "Value size must be known when reading values of varying size" );
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, RawBytes into, int valueSize )
+    {
+        into.bytes = new byte[valueSize];
+        cursor.getBytes( into.bytes );
+    }
+
+    @Override
+    public long identifier()
+    {
+        return 667;
+    }
+
+    @Override
+    public int majorVersion()
+    {
+        return 0;
+    }
+
+    @Override
+    public int minorVersion()
+    {
+        return 0;
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.index.internal.gbptree;
+
+import org.apache.commons.lang3.mutable.MutableLong;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.io.pagecache.CursorException;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.test.rule.RandomRule;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TreeNodeDynamicSizeTest
+{
+    private static final int STABLE_GENERATION = 1;
+    private static final int UNSTABLE_GENERATION = 3;
+
+    private static final int PAGE_SIZE = 512;
+    private static final int MAX_KEY_SIZE = 50;
+    private static final int MAX_VALUE_SIZE = 50;
+    private final PageCursor cursor = new PageAwareByteArrayCursor( PAGE_SIZE );
+    private final SimpleByteArrayLayout layout = new SimpleByteArrayLayout( MAX_KEY_SIZE );
+    private final TreeNode<RawBytes,MutableLong> node = new TreeNodeDynamicSize<>( PAGE_SIZE, layout );
+
+    @Rule
+    public final RandomRule random = new RandomRule();
+
+    @Before
+    public void prepareCursor() throws IOException
+    {
+        cursor.next();
+    }
+
+    @Test
+    public void shouldInstantiateDynamicSizeForLayoutsWithoutFixedSize() throws Exception
+    {
+        assertTrue( TreeNode.instantiate( PAGE_SIZE, layout ) instanceof TreeNodeDynamicSize );
+        assertTrue( TreeNode.instantiate( PAGE_SIZE, new SimpleLongLayout() ) instanceof TreeNodeFixedSize );
+    }
+
+    @Test
+    public void shouldNotAllowKeysWhereThreeDoNotFitInNode() throws Exception
+    {
+        try
+        {
+            new TreeNodeDynamicSize<>( PAGE_SIZE, new SimpleByteArrayLayout( PAGE_SIZE / 3 ) );
+            fail( "Should have failed" );
+        }
+        catch ( MetadataMismatchException e )
+        {
+            // THEN good
+        }
+    }
+
+    @Test
+    public void shouldInsertAndReadKeysOfDifferentSizes() throws Exception
+    {
+        // GIVEN
+        node.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        List<RawBytes> expectedKeys = new ArrayList<>();
+
+        // WHEN
+        int keyCount = 0;
+        RawBytes key;
+        while ( !node.leafOverflow( cursor, keyCount, key = randomKey(), new MutableLong() ) )
+        {
+            int pos = random.nextInt( keyCount + 1 );
+            node.insertKeyValueAt( cursor, key, new MutableLong( key.bytes.length ), pos, keyCount );
+            expectedKeys.add( pos, key );
+            keyCount++;
+            TreeNode.setKeyCount( cursor, keyCount );
+        }
+
+        // THEN
+        assertTrue( keyCount > PAGE_SIZE / (MAX_KEY_SIZE + 12) );
+        assertKeysAndValues( expectedKeys );
+    }
+
+    @Test
+    public void shouldReuseSpaceOfRemovedEntries() throws Exception
+    {
+        // GIVEN a full leaf
+        node.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        List<RawBytes> expectedKeys = new ArrayList<>();
+        int keyCount = 0;
+        RawBytes key = key( MAX_KEY_SIZE, 0 );
+        while ( !node.leafOverflow( cursor, keyCount, key, new MutableLong() ) )
+        {
+            node.insertKeyValueAt( cursor, key, new MutableLong( key.bytes.length ), keyCount, keyCount );
+            expectedKeys.add( key );
+            keyCount++;
+            TreeNode.setKeyCount( cursor, keyCount );
+            key = key( MAX_KEY_SIZE, keyCount );
+        }
+
+        // WHEN removing an entry in the middle, not located at the heap boundary
+        int removePos = keyCount / 2;
+        node.removeKeyValueAt( cursor, removePos, keyCount );
+        expectedKeys.remove( removePos );
+        keyCount--;
+        TreeNode.setKeyCount( cursor, keyCount );
+
+        // THEN there should be room for an entry of the same size again
+        assertFalse( node.leafOverflow( cursor, keyCount, key, new MutableLong() ) );
+        node.insertKeyValueAt( cursor, key, new MutableLong( key.bytes.length ), keyCount, keyCount );
+        expectedKeys.add( key );
+        keyCount++;
+        TreeNode.setKeyCount( cursor, keyCount );
+        assertKeysAndValues( expectedKeys );
+    }
+
+    @Test
+    public void shouldReplaceKeyInInternalNodeIfItFits() throws Exception
+    {
+        // GIVEN
+        node.initializeInternal( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        node.setChildAt( cursor, 10, 0, STABLE_GENERATION, UNSTABLE_GENERATION );
+        List<RawBytes> expectedKeys = new ArrayList<>();
+        int keyCount = 0;
+        RawBytes key = key( 10, 0 );
+        while ( !node.internalOverflow( cursor, keyCount, key ) )
+        {
+            node.insertKeyAndRightChildAt( cursor, key, 11 + keyCount, keyCount, keyCount,
+                    STABLE_GENERATION, UNSTABLE_GENERATION );
+            expectedKeys.add( key );
+            keyCount++;
+            TreeNode.setKeyCount( cursor, keyCount );
+            key = key( 10, keyCount );
+        }
+
+        // WHEN shorter key
+        RawBytes shorter = key( 5, 1 );
+        assertTrue( node.setKeyAtInternal( cursor, shorter, 1 ) );
+        expectedKeys.set( 1, shorter );
+
+        // THEN it should be replaced in place
+        assertKeys( expectedKeys );
+
+        // WHEN a slightly longer key, fitting into space freed by shorter key
+        RawBytes longer = key( 14, 2 );
+        assertTrue( node.setKeyAtInternal( cursor, longer, 2 ) );
+        expectedKeys.set( 2, longer );
+        assertKeys( expectedKeys );
+
+        // WHEN a key which doesn't fit
+        assertFalse( node.setKeyAtInternal( cursor, key( MAX_KEY_SIZE, 3 ), 3 ) );
+
+        // THEN node should be unchanged, children included
+        assertKeys( expectedKeys );
+        for ( int i = 0; i <= keyCount; i++ )
+        {
+            assertEquals( 10 + i, GenerationSafePointerPair.pointer(
+                    node.childAt( cursor, i, STABLE_GENERATION, UNSTABLE_GENERATION ) ) );
+        }
+    }
+
+    @Test
+    public void shouldSplitLeafByBytesAndUseMinimalSplitter() throws Exception
+    {
+        // GIVEN
+        PageCursor rightCursor = new PageAwareByteArrayCursor( PAGE_SIZE );
+        rightCursor.next();
+        node.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        node.initializeLeaf( rightCursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        List<RawBytes> expectedKeys = new ArrayList<>();
+        int keyCount = 0;
+        RawBytes key = longKey( keyCount );
+        while ( !node.leafOverflow( cursor, keyCount, key, new MutableLong() ) )
+        {
+            node.insertKeyValueAt( cursor, key, new MutableLong( key.bytes.length ), keyCount, keyCount );
+            expectedKeys.add( key );
+            keyCount++;
+            TreeNode.setKeyCount( cursor, keyCount );
+            key = longKey( keyCount );
+        }
+
+        // WHEN
+        RawBytes splitter = layout.newKey();
+        node.doSplitLeaf( cursor, keyCount, rightCursor, keyCount, key, new MutableLong( key.bytes.length ), splitter );
+        expectedKeys.add( key );
+
+        // THEN
+        int leftKeyCount = TreeNode.keyCount( cursor );
+        int rightKeyCount = TreeNode.keyCount( rightCursor );
+        assertEquals( expectedKeys.size(), leftKeyCount + rightKeyCount );
+        assertTrue( Math.abs( leftKeyCount - rightKeyCount ) <= 1 );
+        assertKeysAndValues( cursor, expectedKeys.subList( 0, leftKeyCount ) );
+        assertKeysAndValues( rightCursor, expectedKeys.subList( leftKeyCount, expectedKeys.size() ) );
+
+        RawBytes lastInLeft = expectedKeys.get( leftKeyCount - 1 );
+        RawBytes firstInRight = expectedKeys.get( leftKeyCount );
+        assertTrue( layout.compare( lastInLeft, splitter ) < 0 );
+        assertTrue( layout.compare( splitter, firstInRight ) <= 0 );
+        assertTrue( splitter.bytes.length < firstInRight.bytes.length );
+    }
+
+    @Test
+    public void shouldInstantiateDynamicSizeForLayoutsWithoutFixedValueSize() throws Exception
+    {
+        assertTrue( TreeNode.instantiate( PAGE_SIZE, new SimpleByteArrayValueLayout( MAX_VALUE_SIZE ) )
+                instanceof TreeNodeDynamicSize );
+    }
+
+    @Test
+    public void shouldInsertAndReadValuesOfDifferentSizes() throws Exception
+    {
+        // GIVEN
+        SimpleByteArrayValueLayout valueLayout = new SimpleByteArrayValueLayout( MAX_VALUE_SIZE );
+        TreeNode<MutableLong,RawBytes> valueNode = new TreeNodeDynamicSize<>( PAGE_SIZE, valueLayout );
+        valueNode.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        List<RawBytes> expectedValues = new ArrayList<>();
+
+        // WHEN
+        int keyCount = 0;
+        RawBytes value;
+        while ( !valueNode.leafOverflow( cursor, keyCount, new MutableLong( keyCount ), value = randomValue() ) )
+        {
+            valueNode.insertKeyValueAt( cursor, new MutableLong( keyCount ), value, keyCount, keyCount );
+            expectedValues.add( value );
+            keyCount++;
+            TreeNode.setKeyCount( cursor, keyCount );
+        }
+
+        // THEN
+        assertTrue( keyCount > PAGE_SIZE / (MAX_VALUE_SIZE + 14) );
+        assertValues( valueNode, expectedValues );
+    }
+
+    @Test
+    public void shouldOverwriteValueWithValueOfDifferentSizeIfItFits() throws Exception
+    {
+        // GIVEN a full leaf
+        SimpleByteArrayValueLayout valueLayout = new SimpleByteArrayValueLayout( MAX_VALUE_SIZE );
+        TreeNode<MutableLong,RawBytes> valueNode = new TreeNodeDynamicSize<>( PAGE_SIZE, valueLayout );
+        valueNode.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        List<RawBytes> expectedValues = new ArrayList<>();
+        int keyCount = 0;
+        RawBytes value = value( 10, 0 );
+        while ( !valueNode.leafOverflow( cursor, keyCount, new MutableLong( keyCount ), value ) )
+        {
+            valueNode.insertKeyValueAt( cursor, new MutableLong( keyCount ), value, keyCount, keyCount );
+            expectedValues.add( value );
+            keyCount++;
+            TreeNode.setKeyCount( cursor, keyCount );
+            value = value( 10, keyCount );
+        }
+
+        // WHEN smaller value
+        RawBytes smaller = value( 4, 1 );
+        assertTrue( valueNode.setValueAt( cursor, smaller, 1 ) );
+        expectedValues.set( 1, smaller );
+
+        // THEN it should be replaced in place
+        assertValues( valueNode, expectedValues );
+
+        // WHEN a slightly larger value, fitting into space freed by smaller value
+        RawBytes larger = value( 15, 2 );
+        assertTrue( valueNode.setValueAt( cursor, larger, 2 ) );
+        expectedValues.set( 2, larger );
+        assertValues( valueNode, expectedValues );
+
+        // WHEN a value which doesn't fit
+        assertFalse( valueNode.setValueAt( cursor, value( MAX_VALUE_SIZE, 3 ), 3 ) );
+
+        // THEN node should be unchanged
+        assertValues( valueNode, expectedValues );
+    }
+
+    @Test
+    public void shouldSetCursorExceptionOnUnreasonableValueSize() throws Exception
+    {
+        // GIVEN
+        SimpleByteArrayValueLayout valueLayout = new SimpleByteArrayValueLayout( MAX_VALUE_SIZE );
+        TreeNode<MutableLong,RawBytes> valueNode = new TreeNodeDynamicSize<>( PAGE_SIZE, valueLayout );
+        valueNode.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        valueNode.insertKeyValueAt( cursor, new MutableLong( 1 ), value( 10, 1 ), 0, 0 );
+        TreeNode.setKeyCount( cursor, 1 );
+
+        // WHEN corrupting value size of the entry, which follows key size
+        int entryOffset = cursor.getShort( TreeNodeDynamicSize.HEADER_LENGTH_DYNAMIC ) & 0xFFFF;
+        cursor.putShort( entryOffset + Short.BYTES, (short) (MAX_VALUE_SIZE + 1) );
+        valueNode.valueAt( cursor, valueLayout.newValue(), 0 );
+
+        // THEN
+        try
+        {
+            cursor.checkAndClearCursorException();
+            fail( "Should have failed" );
+        }
+        catch ( CursorException e )
+        {
+            // THEN good
+        }
+    }
+
+    @Test
+    public void shouldSetCursorExceptionOnUnreasonableKeySize() throws Exception
+    {
+        // GIVEN
+        node.initializeLeaf( cursor, STABLE_GENERATION, UNSTABLE_GENERATION );
+        RawBytes key = key( 10, 1 );
+        node.insertKeyValueAt( cursor, key, new MutableLong( 1 ), 0, 0 );
+        TreeNode.setKeyCount( cursor, 1 );
+
+        // WHEN corrupting key size of the entry
+        int entryOffset = cursor.getShort( TreeNodeDynamicSize.HEADER_LENGTH_DYNAMIC ) & 0xFFFF;
+        cursor.putShort( entryOffset, (short) (MAX_KEY_SIZE + 1) );
+        node.keyAt( cursor, layout.newKey(), 0 );
+
+        // THEN
+        try
+        {
+            cursor.checkAndClearCursorException();
+            fail( "Should have failed" );
+        }
+        catch ( CursorException e )
+        {
+            // THEN good
+        }
+    }
+
+    private void assertKeys( List<RawBytes> expectedKeys )
+    {
+        assertEquals( expectedKeys.size(), TreeNode.keyCount( cursor ) );
+        RawBytes readKey = layout.newKey();
+        for ( int i = 0; i < expectedKeys.size(); i++ )
+        {
+            assertArrayEquals( expectedKeys.get( i ).bytes, node.keyAt( cursor, readKey, i ).bytes );
+        }
+    }
+
+    private void assertKeysAndValues( List<RawBytes> expectedKeys )
+    {
+        assertKeysAndValues( cursor, expectedKeys );
+    }
+
+    private void assertKeysAndValues( PageCursor cursor, List<RawBytes> expectedKeys )
+    {
+        assertEquals( expectedKeys.size(), TreeNode.keyCount( cursor ) );
+        RawBytes readKey = layout.newKey();
+        MutableLong readValue = layout.newValue();
+        for ( int i = 0; i < expectedKeys.size(); i++ )
+        {
+            byte[] expected = expectedKeys.get( i ).bytes;
+            assertArrayEquals( expected, node.keyAt( cursor, readKey, i ).bytes );
+            assertEquals( expected.length, node.valueAt( cursor, readValue, i ).longValue() );
+        }
+    }
+
+    private void assertValues( TreeNode<MutableLong,RawBytes> valueNode, List<RawBytes> expectedValues )
+    {
+        assertEquals( expectedValues.size(), TreeNode.keyCount( cursor ) );
+        MutableLong readKey = new MutableLong();
+        RawBytes readValue = new RawBytes();
+        for ( int i = 0; i < expectedValues.size(); i++ )
+        {
+            assertEquals( i, valueNode.keyAt( cursor, readKey, i ).longValue() );
+            assertArrayEquals( expectedValues.get( i ).bytes, valueNode.valueAt( cursor, readValue, i ).bytes );
+        }
+    }
+
+    private RawBytes randomValue()
+    {
+        byte[] bytes = new byte[random.nextInt( MAX_VALUE_SIZE + 1 )];
+        random.nextBytes( bytes );
+        return new RawBytes( bytes );
+    }
+
+    private static RawBytes value( int size, int id )
+    {
+        return key( size, id );
+    }
+
+    private RawBytes randomKey()
+    {
+        byte[] bytes = new byte[random.nextInt( MAX_KEY_SIZE + 1 )];
+        random.nextBytes( bytes );
+        return new RawBytes( bytes );
+    }
+
+    private static RawBytes key( int size, int id )
+    {
+        byte[] bytes = new byte[size];
+        if ( size > 0 )
+        {
+            bytes[0] = (byte) id;
+        }
+        return new RawBytes( bytes );
+    }
+
+    private static RawBytes longKey( int id )
+    {
+        // Long keys with a unique short prefix, so that a minimal splitter is much shorter than the keys
+        byte[] bytes = new byte[MAX_KEY_SIZE];
+        bytes[0] = (byte) id;
+        return new RawBytes( bytes );
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache;
+
+/**
+ * An immutable set of file-page-ids that have been written to the file underlying a {@link PagedFile}, during one
+ * tracking period.
+ * <p>
+ * Tracking periods are delimited by calls to {@link PagedFile#swapChangedPages()}. Every paged file mapping gets a
+ * unique {@link #trackingId() tracking id}, and every tracking period within that mapping gets a
+ * {@link #sequence() sequence number} that is one greater than the previous one. Two sets where the second one
+ * follows directly after the first, will thus have the same tracking id, and consecutive sequence numbers. If this
+ * is not the case, then changes may have happened in between the two periods, that none of the sets know about.
+ */
+public final class ChangedPages
+{
+    private final long trackingId;
+    private final long sequence;
+    private final long[] words;
+
+    public ChangedPages( long trackingId, long sequence, long[] words )
+    {
+        this.trackingId = trackingId;
+        this.sequence = sequence;
+        this.words = words;
+    }
+
+    /**
+     * @return the id that uniquely identifies the mapping of the file, that these changes were tracked by.
+     */
+    public long trackingId()
+    {
+        return trackingId;
+    }
+
+    /**
+     * @return the sequence number of the tracking period these changes were collected in.
+     */
+    public long sequence()
+    {
+        return sequence;
+    }
+
+    /**
+     * @return {@code true} if this tracking period directly follows the given one, such that the two sets together
+     * cover every change made since the start of the {@code previous} period.
+     */
+    public boolean follows( ChangedPages previous )
+    {
+        return previous != null && previous.trackingId == trackingId && previous.sequence + 1 == sequence;
+    }
+
+    public boolean isChanged( long filePageId )
+    {
+        int wordIndex = (int) (filePageId >>> 6);
+        return filePageId >= 0 && wordIndex < words.length && (words[wordIndex] & (1L << filePageId)) != 0;
+    }
+
+    /**
+     * Find the first changed file-page-id that is greater than or equal to the given id.
+     *
+     * @param fromFilePageId the file-page-id to start searching from, inclusive.
+     * @return the id of the next changed page, or {@code -1} if there are no more changed pages.
+     */
+    public long nextChanged( long fromFilePageId )
+    {
+        int wordIndex = (int) (fromFilePageId >>> 6);
+        if ( wordIndex >= words.length )
+        {
+            return -1;
+        }
+        long word = words[wordIndex] & (-1L << fromFilePageId);
+        while ( true )
+        {
+            if ( word != 0 )
+            {
+                return ((long) wordIndex << 6) + Long.numberOfTrailingZeros( word );
+            }
+            if ( ++wordIndex == words.length )
+            {
+                return -1;
+            }
+            word = words[wordIndex];
+        }
+    }
+
+    /**
+     * @return the number of changed pages in this set.
+     */
+    public long count()
+    {
+        long count = 0;
+        for ( long word : words )
+        {
+            count += Long.bitCount( word );
+        }
+        return count;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ChangedPages{trackingId=" + trackingId + ", sequence=" + sequence + ", count=" + count() + "}";
+    }
+}
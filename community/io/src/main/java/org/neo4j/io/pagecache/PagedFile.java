@@ -167,6 +167,21 @@ public interface PagedFile extends AutoCloseable
      */
     long getLastPageId() throws IOException;
 
+    /**
+     * Atomically collect the ids of the file pages that have been written to the underlying file since the previous
+     * call to this method, or since the file was mapped, and begin a new tracking period.
+     * <p>
+     * This can be used for finding the parts of a file that need to be copied, in order to bring an older copy of
+     * the file up to date. See {@link ChangedPages} for how to tell if two tracking periods are consecutive.
+     *
+     * @return the pages changed in the tracking period that just ended, or {@code null} if this paged file does not
+     * track changed pages.
+     */
+    default ChangedPages swapChangedPages()
+    {
+        return null;
+    }
+
     /**
      * Release a handle to a paged file.
      * <p>
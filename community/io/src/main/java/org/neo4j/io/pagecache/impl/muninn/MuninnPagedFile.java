@@ -26,6 +26,7 @@ import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 
+import org.neo4j.io.pagecache.ChangedPages;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PageEvictionCallback;
@@ -72,6 +73,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     final PageSwapper swapper;
     final short swapperId;
     private final CursorPool cursorPool;
+    private final PageChangeTracker changeTracker;
 
     // Guarded by the monitor lock on MuninnPageCache (map and unmap)
     private boolean deleteOnClose;
@@ -126,6 +128,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         this.cursorPool = new CursorPool( this, pageCursorTracerSupplier, pageCacheTracer, versionContextSupplier );
         this.pageCacheTracer = pageCacheTracer;
         this.pageFaultLatches = new LatchMap();
+        this.changeTracker = new PageChangeTracker();
 
         // The translation table is an array of arrays of integers that are either UNMAPPED_TTE, or the id of a page in
         // the page list. The table only grows the outer array, and all the inner "chunks" all stay the same size. This
@@ -440,6 +443,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             long startFilePageId = getFilePageId( firstPageRef );
             flush = flushOpportunity.beginFlush( startFilePageId, toId( firstPageRef ), swapper );
             long bytesWritten = swapper.write( startFilePageId, bufferAddresses, 0, pagesGrabbed );
+            changeTracker.markChanged( startFilePageId, pagesGrabbed );
 
             // Update the flush event
             flush.addBytesWritten( bytesWritten );
@@ -492,6 +496,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             try
             {
                 long bytesWritten = swapper.write( filePageId, address );
+                changeTracker.markChanged( filePageId, 1 );
                 flush.addBytesWritten( bytesWritten );
                 flush.addPagesFlushed( 1 );
                 flush.done();
@@ -505,6 +510,12 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         return success;
     }
 
+    @Override
+    public ChangedPages swapChangedPages()
+    {
+        return changeTracker.swap();
+    }
+
     private void syncDevice() throws IOException
     {
         pageCache.syncDevice();
@@ -657,6 +668,11 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 
         int mappedPageId = UnsafeUtil.getIntVolatile( chunk, chunkOffset );
         long pageRef = deref( mappedPageId );
+        if ( isModified( pageRef ) )
+        {
+            // The page has just been flushed by the eviction.
+            changeTracker.markChanged( filePageId, 1 );
+        }
         setHighestEvictedTransactionId( getAndResetLastModifiedTransactionId( pageRef ) );
         UnsafeUtil.putIntVolatile( chunk, chunkOffset, UNMAPPED_TTE );
     }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.neo4j.io.pagecache.ChangedPages;
+
+/**
+ * Keeps a bitmap of the file pages that have been flushed to the file of a {@link MuninnPagedFile}.
+ * <p>
+ * Marking is lock-free. The bitmap is made of fixed-size chunks of atomic words, and the outer chunk array only
+ * grows, under the monitor lock of the tracking period.
+ * <p>
+ * When the tracking period is swapped out, a thread that is concurrently marking a page may end up setting its bit
+ * in the old period after the old period has been read. To make sure that such marks are never lost, the marking
+ * thread double-checks the current period after setting its bit, and marks the page again in the new period if the
+ * periods were swapped in the meantime. This means that a page can be reported as changed in two consecutive
+ * periods, but never in neither of them.
+ */
+final class PageChangeTracker
+{
+    private static final AtomicLong trackingIds = new AtomicLong();
+    private static final int chunkSizePower = 10; // 1024 words, or 65536 pages, per chunk
+    private static final int chunkSize = 1 << chunkSizePower;
+    private static final int chunkSizeMask = chunkSize - 1;
+
+    private final long trackingId;
+    private volatile Period current;
+
+    PageChangeTracker()
+    {
+        trackingId = trackingIds.incrementAndGet();
+        current = new Period( 0 );
+    }
+
+    void markChanged( long filePageId, int pageCount )
+    {
+        Period period = current;
+        period.mark( filePageId, pageCount );
+        Period latest = current;
+        if ( latest != period )
+        {
+            latest.mark( filePageId, pageCount );
+        }
+    }
+
+    synchronized ChangedPages swap()
+    {
+        Period period = current;
+        current = new Period( period.sequence + 1 );
+        return new ChangedPages( trackingId, period.sequence, period.words() );
+    }
+
+    private static final class Period
+    {
+        private final long sequence;
+        private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+        Period( long sequence )
+        {
+            this.sequence = sequence;
+        }
+
+        void mark( long filePageId, int pageCount )
+        {
+            for ( long pageId = filePageId; pageId < filePageId + pageCount; pageId++ )
+            {
+                long wordIndex = pageId >>> 6;
+                AtomicLongArray chunk = chunk( (int) (wordIndex >>> chunkSizePower) );
+                int index = (int) (wordIndex & chunkSizeMask);
+                long mask = 1L << pageId;
+                long word;
+                do
+                {
+                    word = chunk.get( index );
+                }
+                while ( (word & mask) == 0 && !chunk.compareAndSet( index, word, word | mask ) );
+            }
+        }
+
+        private AtomicLongArray chunk( int chunkId )
+        {
+            AtomicLongArray[] cs = chunks;
+            if ( chunkId < cs.length )
+            {
+                return cs[chunkId];
+            }
+            return expandChunks( chunkId );
+        }
+
+        private synchronized AtomicLongArray expandChunks( int chunkId )
+        {
+            AtomicLongArray[] cs = chunks;
+            if ( chunkId >= cs.length )
+            {
+                AtomicLongArray[] ncs = new AtomicLongArray[chunkId + 1];
+                System.arraycopy( cs, 0, ncs, 0, cs.length );
+                for ( int i = cs.length; i < ncs.length; i++ )
+                {
+                    ncs[i] = new AtomicLongArray( chunkSize );
+                }
+                chunks = cs = ncs;
+            }
+            return cs[chunkId];
+        }
+
+        long[] words()
+        {
+            AtomicLongArray[] cs = chunks;
+            long[] words = new long[cs.length * chunkSize];
+            for ( int chunkId = 0; chunkId < cs.length; chunkId++ )
+            {
+                AtomicLongArray chunk = cs[chunkId];
+                for ( int i = 0; i < chunkSize; i++ )
+                {
+                    words[(chunkId << chunkSizePower) + i] = chunk.get( i );
+                }
+            }
+            return words;
+        }
+    }
+}
@@ -496,11 +496,17 @@ class PageList
                 PageSwapper swapper = swapperMapping.swapper;
                 evictionEvent.setSwapper( swapper );
 
-                if ( isModified( pageRef ) )
+                boolean modified = isModified( pageRef );
+                if ( modified )
                 {
                     flushModifiedPage( pageRef, evictionEvent, filePageId, swapper );
                 }
+                // The eviction callback is told about the flush by the page still being marked as modified.
                 swapper.evicted( filePageId );
+                if ( modified )
+                {
+                    explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef );
+                }
             }
         }
         clearBinding( pageRef );
@@ -514,7 +520,6 @@ class PageList
         {
             long address = getAddress( pageRef );
             long bytesWritten = swapper.write( filePageId, address );
-            explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef );
             flushEvent.addBytesWritten( bytesWritten );
             flushEvent.addPagesFlushed( 1 );
             flushEvent.done();
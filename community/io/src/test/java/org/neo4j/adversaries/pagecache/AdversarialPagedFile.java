@@ -26,6 +26,7 @@ import java.nio.channels.WritableByteChannel;
 import java.util.Objects;
 
 import org.neo4j.adversaries.Adversary;
+import org.neo4j.io.pagecache.ChangedPages;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
@@ -97,6 +98,12 @@ public class AdversarialPagedFile implements PagedFile
         return delegate.getLastPageId();
     }
 
+    @Override
+    public ChangedPages swapChangedPages()
+    {
+        return delegate.swapChangedPages();
+    }
+
     @Override
     public void close() throws IOException
     {
@@ -47,6 +47,11 @@ public class DelegatingPagedFile implements PagedFile
         return delegate.getLastPageId();
     }
 
+    public ChangedPages swapChangedPages()
+    {
+        return delegate.swapChangedPages();
+    }
+
     public int pageSize()
     {
         return delegate.pageSize();
@@ -34,6 +34,7 @@ import org.neo4j.graphdb.mockfs.DelegatingFileSystemAbstraction;
 import org.neo4j.graphdb.mockfs.DelegatingStoreChannel;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.pagecache.ChangedPages;
 import org.neo4j.io.pagecache.PageCacheTest;
 import org.neo4j.io.pagecache.PageCursor;
 import org.neo4j.io.pagecache.PagedFile;
@@ -609,6 +610,76 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    public void mustTrackPagesWrittenByFlushAndEviction() throws Exception
+    {
+        writeInitialDataTo( file( "a" ) );
+
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, 8, PageCacheTracer.NULL, DefaultPageCursorTracerSupplier.INSTANCE );
+              PagedFile pagedFile = pageCache.map( file( "a" ), 8 ) )
+        {
+            ChangedPages initial = pagedFile.swapChangedPages();
+            assertThat( initial.count(), is( 0L ) );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( cursor.next( 1 ) );
+                cursor.putLong( 1 );
+                assertTrue( cursor.next( 3 ) );
+                cursor.putLong( 3 );
+            }
+            try ( PageCursor cursor = pagedFile.io( 2, PF_SHARED_READ_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+            }
+            pagedFile.flushAndForce();
+
+            ChangedPages changed = pagedFile.swapChangedPages();
+            assertTrue( changed.follows( initial ) );
+            assertThat( changed.count(), is( 2L ) );
+            assertFalse( changed.isChanged( 0 ) );
+            assertTrue( changed.isChanged( 1 ) );
+            assertFalse( changed.isChanged( 2 ) );
+            assertTrue( changed.isChanged( 3 ) );
+            assertThat( changed.nextChanged( 0 ), is( 1L ) );
+            assertThat( changed.nextChanged( 2 ), is( 3L ) );
+            assertThat( changed.nextChanged( 4 ), is( -1L ) );
+
+            try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( 0 );
+            }
+            evictAllPages( pageCache );
+
+            ChangedPages evicted = pagedFile.swapChangedPages();
+            assertTrue( evicted.follows( changed ) );
+            assertFalse( evicted.follows( initial ) );
+            assertThat( evicted.count(), is( 1L ) );
+            assertTrue( evicted.isChanged( 0 ) );
+        }
+    }
+
+    @Test
+    public void changedPagesOfDifferentMappingsMustNotFollowEachOther() throws Exception
+    {
+        writeInitialDataTo( file( "a" ) );
+
+        try ( MuninnPageCache pageCache = createPageCache( fs, 4, 8, PageCacheTracer.NULL, DefaultPageCursorTracerSupplier.INSTANCE ) )
+        {
+            ChangedPages first;
+            try ( PagedFile pagedFile = pageCache.map( file( "a" ), 8 ) )
+            {
+                first = pagedFile.swapChangedPages();
+            }
+            try ( PagedFile pagedFile = pageCache.map( file( "a" ), 8 ) )
+            {
+                ChangedPages second = pagedFile.swapChangedPages();
+                assertFalse( second.follows( first ) );
+            }
+        }
+    }
+
     private void evictAllPages( MuninnPageCache pageCache ) throws IOException
     {
         PageList pages = pageCache.pages;
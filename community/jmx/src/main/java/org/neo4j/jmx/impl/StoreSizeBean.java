@@ -31,6 +31,7 @@ import org.neo4j.io.fs.FileUtils;
 import org.neo4j.jmx.StoreSize;
 import org.neo4j.kernel.NeoStoreDataSource;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.impl.api.ExplicitIndexProviderLookup;
 import org.neo4j.kernel.impl.api.index.SchemaIndexProviderMap;
 import org.neo4j.kernel.impl.store.StoreFile;
@@ -86,6 +87,7 @@ public final class StoreSizeBean extends ManagementBeanProvider
         private ExplicitIndexProviderLookup explicitIndexProviderLookup;
         private SchemaIndexProviderMap schemaIndexProviderMap;
         private LabelScanStore labelScanStore;
+        private RelationshipTypeScanStore relationshipTypeScanStore;
 
         StoreSizeImpl( ManagementData management, boolean isMXBean ) throws NotCompliantMBeanException
         {
@@ -104,6 +106,7 @@ public final class StoreSizeBean extends ManagementBeanProvider
                     explicitIndexProviderLookup = resolveDependency( ds, ExplicitIndexProviderLookup.class );
                     schemaIndexProviderMap = resolveDependency( ds, SchemaIndexProviderMap.class );
                     labelScanStore = resolveDependency( ds, LabelScanStore.class );
+                    relationshipTypeScanStore = resolveDependency( ds, RelationshipTypeScanStore.class );
                 }
 
                 private <T> T resolveDependency( NeoStoreDataSource ds, Class<T> clazz )
@@ -118,6 +121,7 @@ public final class StoreSizeBean extends ManagementBeanProvider
                     explicitIndexProviderLookup = null;
                     schemaIndexProviderMap = null;
                     labelScanStore = null;
+                    relationshipTypeScanStore = null;
                 }
             } );
         }
@@ -208,6 +212,9 @@ public final class StoreSizeBean extends ManagementBeanProvider
             // Add label index
             size += FileUtils.size( fs, labelScanStore.getLabelScanStoreFile() );
 
+            // Add relationship type index
+            size += FileUtils.size( fs, relationshipTypeScanStore.getRelationshipTypeScanStoreFile() );
+
             return size;
         }
 
@@ -39,6 +39,7 @@ import org.neo4j.kernel.api.index.IndexDirectoryStructure;
 import org.neo4j.kernel.api.index.SchemaIndexProvider;
 import org.neo4j.kernel.api.index.SchemaIndexProvider.Descriptor;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.ExplicitIndexProviderLookup;
 import org.neo4j.kernel.impl.api.index.SchemaIndexProviderMap;
@@ -84,6 +85,7 @@ public class StoreSizeBeanTest
     private final SchemaIndexProvider schemaIndexProvider = mockedSchemaIndexProvider( "providah1" );
     private final SchemaIndexProvider schemaIndexProvider2 = mockedSchemaIndexProvider( "providah" );
     private final LabelScanStore labelScanStore = mock( LabelScanStore.class );
+    private final RelationshipTypeScanStore relationshipTypeScanStore = mock( RelationshipTypeScanStore.class );
     private StoreSize storeSizeBean;
     private File storeDirAbsolute;
 
@@ -104,6 +106,7 @@ public class StoreSizeBeanTest
         dependencies.satisfyDependency( explicitIndexProviderLookup );
         dependencies.satisfyDependency( schemaIndexProviderMap );
         dependencies.satisfyDependency( labelScanStore );
+        dependencies.satisfyDependency( relationshipTypeScanStore );
         when( db.getDependencyResolver() ).thenReturn( dependencies );
         when( dataSource.getDependencyResolver() ).thenReturn( dependencies );
 
@@ -271,8 +274,13 @@ public class StoreSizeBeanTest
         createFileOfSize( labelScan, 4 );
         when( labelScanStore.getLabelScanStoreFile() ).thenReturn( labelScan );
 
+        // Relationship type scan store
+        File relationshipTypeScan = new File( storeDir, "relationshipTypeScanStore" );
+        createFileOfSize( relationshipTypeScan, 5 );
+        when( relationshipTypeScanStore.getRelationshipTypeScanStoreFile() ).thenReturn( relationshipTypeScan );
+
         // Count all files
-        assertEquals( 10, storeSizeBean.getIndexStoreSize() );
+        assertEquals( 15, storeSizeBean.getIndexStoreSize() );
     }
 
     private void createFileOfSize( File file, int size ) throws IOException
@@ -137,7 +137,9 @@ public class GraphDatabaseSettings implements LoadableConfig
             "The `high_limit` format is available for Enterprise Edition only. " +
             "It is required if you have a graph that is larger than 34 billion nodes, 34 billion relationships, or 68 billion properties. " +
             "A change of the record format is irreversible. " +
-            "Certain operations may suffer from a performance penalty of up to 10%, which is why this format is not switched on by default." )
+            "Certain operations may suffer from a performance penalty of up to 10%, which is why this format is not switched on by default. " +
+            "The `standard_dictionary_strings` format is the `standard` format with support for dictionary encoded string " +
+            "values, see `unsupported.dbms.dictionary_encoded_properties`." )
     public static final Setting<String> record_format = setting( "dbms.record_format", Settings.STRING, "" );
 
     // Cypher settings
@@ -348,6 +350,12 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Duration> counts_store_rotation_timeout =
             setting( "unsupported.dbms.counts_store_rotation_timeout", DURATION, "10m" );
 
+    @Description( "Keep the counts store in a GB+Tree, which is checkpointed incrementally, instead of rewriting " +
+            "all counts on every checkpoint. An existing counts store is migrated when the database starts." )
+    @Internal
+    public static final Setting<Boolean> counts_store_gbptree =
+            setting( "unsupported.dbms.counts_store.gbptree", BOOLEAN, FALSE );
+
     @Description( "Minimum time interval after last rotation of the debug log before it may be rotated again." )
     public static final Setting<Duration> store_internal_log_rotation_delay =
             setting( "dbms.logs.debug.rotation.delay", DURATION, "300s" );
@@ -457,6 +465,56 @@ public class GraphDatabaseSettings implements LoadableConfig
     public static final Setting<Integer> index_sampling_update_percentage =
             buildSetting( "dbms.index_sampling.update_percentage", INTEGER, "5" ).constraint( min( 0 ) ).build();
 
+    // Store compaction
+    @Internal
+    @Description( "Enable or disable background compaction of fragmented property chains. Property chains of " +
+            "nodes and relationships are rewritten into as few, adjacent, property records as possible, " +
+            "rate limited by the same I/O limit as check pointing." )
+    public static final Setting<Boolean> store_compaction_enabled =
+            setting( "unsupported.dbms.store_compaction.enabled", BOOLEAN, FALSE );
+
+    @Internal
+    @Description( "Time to wait between background compaction runs." )
+    public static final Setting<Duration> store_compaction_interval =
+            setting( "unsupported.dbms.store_compaction.interval", DURATION, "10s" );
+
+    @Internal
+    @Description( "Maximum number of nodes and relationships that are looked at in every background compaction run." )
+    public static final Setting<Integer> store_compaction_batch_size =
+            buildSetting( "unsupported.dbms.store_compaction.batch_size", INTEGER, "10000" ).constraint( min( 1 ) )
+                    .build();
+
+    @Internal
+    @Description( "Label and property key pairs, on the form <label>:<property key>, whose numeric node property " +
+            "values are additionally kept in columns, i.e. files with one fixed-size entry per node id for the " +
+            "nodes with the label. Reading such a property is then a single page access rather than a walk of the " +
+            "property chain of the node, and queries can scan the column to find the nodes with both the label and " +
+            "the property. Columns are built when the database starts, if needed." )
+    public static final Setting<List<String>> property_columns =
+            setting( "unsupported.dbms.property_columns", STRING_LIST, "" );
+
+    @Internal
+    @Description( "Property keys whose string values are dictionary encoded. Such a string value, if not short " +
+            "enough to be inlined in its property record, is stored once and then referred to by all properties " +
+            "having that value. Suitable for property keys with few distinct values, e.g. codes or statuses. " +
+            "Only used by stores with the `standard_dictionary_strings` record format, see `dbms.record_format`." )
+    public static final Setting<List<String>> dictionary_encoded_properties =
+            setting( "unsupported.dbms.dictionary_encoded_properties", STRING_LIST, "" );
+
+    @Internal
+    @Description( "Maximum number of distinct values kept in memory, per dictionary encoded property key. " +
+            "Values beyond that are stored as ordinary strings." )
+    public static final Setting<Integer> dictionary_max_entries_per_key =
+            buildSetting( "unsupported.dbms.dictionary_encoded_properties.max_entries_per_key", INTEGER, "10000" )
+                    .constraint( min( 1 ) ).build();
+
+    @Internal
+    @Description( "Name of an alternative implementation for reading node and relationship records, e.g. `neole`, " +
+            "which reads the store files directly rather than through the page cache. Only used when the database " +
+            "is started with `dbms.read_only`, otherwise the records are read through the page cache." )
+    public static final Setting<String> record_read_path =
+            setting( "unsupported.dbms.record_storage.read_path", STRING, "" );
+
     // Lucene settings
     @Description( "The maximum number of open Lucene index searchers." )
     public static Setting<Integer> lucene_searcher_cache_size = buildSetting( "dbms.index_searcher_cache_size",INTEGER,
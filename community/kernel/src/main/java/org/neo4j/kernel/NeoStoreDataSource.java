@@ -45,6 +45,7 @@ import org.neo4j.kernel.api.explicitindex.AutoIndexing;
 import org.neo4j.kernel.api.index.PropertyAccessor;
 import org.neo4j.kernel.api.index.SchemaIndexProvider;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.extension.dependency.AllByPrioritySelectionStrategy;
 import org.neo4j.kernel.guard.Guard;
@@ -86,6 +87,7 @@ import org.neo4j.kernel.impl.locking.ReentrantLockService;
 import org.neo4j.kernel.impl.locking.StatementLocksFactory;
 import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.kernel.impl.proc.Procedures;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.OnlineStoreCompactor;
 import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordStorageEngine;
 import org.neo4j.kernel.impl.storageengine.impl.recordstorage.id.IdController;
 import org.neo4j.kernel.impl.store.MetaDataStore;
@@ -479,6 +481,7 @@ public class NeoStoreDataSource implements Lifecycle, IndexProviders
                     storageEngine.storeReadLayer(),
                     databaseSchemaState,
                     dependencies.resolveDependency( LabelScanStore.class ),
+                    dependencies.resolveDependency( RelationshipTypeScanStore.class ),
                     storageEngine,
                     indexConfigStore,
                     transactionIdStore,
@@ -704,6 +707,7 @@ public class NeoStoreDataSource implements Lifecycle, IndexProviders
                                       IndexingService indexingService,
                                       StoreReadLayer storeLayer,
                                       DatabaseSchemaState databaseSchemaState, LabelScanStore labelScanStore,
+                                      RelationshipTypeScanStore relationshipTypeScanStore,
                                       StorageEngine storageEngine,
                                       IndexConfigStore indexConfigStore,
                                       TransactionIdStore transactionIdStore,
@@ -738,14 +742,15 @@ public class NeoStoreDataSource implements Lifecycle, IndexProviders
                 versionContextSupplier ) );
 
         buildTransactionMonitor( kernelTransactions, clock, config );
+        buildStoreCompaction( storageEngine, transactionCommitProcess, transactionIdStore, clock, config );
 
         final Kernel kernel = new Kernel( kernelTransactions, hooks, databaseHealth, transactionMonitor, procedures,
                 config );
 
         kernel.registerTransactionHook( transactionEventHandlers );
 
-        final NeoStoreFileListing fileListing = new NeoStoreFileListing( storeDir, labelScanStore, indexingService,
-                explicitIndexProviderLookup, storageEngine );
+        final NeoStoreFileListing fileListing = new NeoStoreFileListing( storeDir, labelScanStore,
+                relationshipTypeScanStore, indexingService, explicitIndexProviderLookup, storageEngine );
 
         return new NeoStoreKernelModule( transactionCommitProcess, kernel, kernelTransactions, fileListing );
     }
@@ -761,6 +766,20 @@ public class NeoStoreDataSource implements Lifecycle, IndexProviders
         life.add( transactionMonitorScheduler );
     }
 
+    private void buildStoreCompaction( StorageEngine storageEngine, TransactionCommitProcess transactionCommitProcess,
+            TransactionIdStore transactionIdStore, Clock clock, Config config )
+    {
+        if ( config.get( GraphDatabaseSettings.store_compaction_enabled ) )
+        {
+            OnlineStoreCompactor storeCompactor = new OnlineStoreCompactor( (RecordStorageEngine) storageEngine,
+                    transactionCommitProcess, statementLocksFactory, transactionHeaderInformationFactory,
+                    transactionIdStore, ioLimiter, scheduler, clock,
+                    config.get( GraphDatabaseSettings.store_compaction_interval ).toMillis(),
+                    config.get( GraphDatabaseSettings.store_compaction_batch_size ), logProvider );
+            life.add( storeCompactor );
+        }
+    }
+
     @Override
     public synchronized void stop()
     {
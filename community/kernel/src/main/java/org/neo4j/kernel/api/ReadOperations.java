@@ -44,6 +44,7 @@ import org.neo4j.kernel.api.index.SchemaIndexProvider;
 import org.neo4j.kernel.api.proc.ProcedureSignature;
 import org.neo4j.kernel.api.proc.QualifiedName;
 import org.neo4j.kernel.api.proc.UserFunctionSignature;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
 import org.neo4j.kernel.api.schema.SchemaDescriptor;
@@ -58,6 +59,7 @@ import org.neo4j.storageengine.api.PropertyItem;
 import org.neo4j.storageengine.api.RelationshipItem;
 import org.neo4j.storageengine.api.Token;
 import org.neo4j.storageengine.api.lock.ResourceType;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.values.storable.Value;
 
@@ -118,6 +120,32 @@ public interface ReadOperations
      */
     PrimitiveLongIterator nodesGetForLabel( int labelId );
 
+    /**
+     * @param labelIds the label ids of the labels that returned nodes are guaranteed to have all of
+     * @return ids of all nodes that have all of the given labels, in ascending order for nodes not changed in
+     * this transaction
+     */
+    PrimitiveLongIterator nodesGetForAllLabels( int... labelIds );
+
+    /**
+     * @param labelId the label id of the column.
+     * @param propertyKeyId the property key id of the column.
+     * @return whether or not the values of the given property key of nodes with the given label are kept in a column.
+     */
+    boolean nodePropertyColumnExists( int labelId, int propertyKeyId );
+
+    /**
+     * Scans the property column of the given label and property key, if there is one, see
+     * {@link #nodePropertyColumnExists(int, int)}. Otherwise the nodes with the label are filtered on having
+     * the property.
+     *
+     * @param labelId the label id of the label that returned nodes are guaranteed to have
+     * @param propertyKeyId the property key id of the property that returned nodes are guaranteed to have
+     * @return ids of all nodes that have both the given label and the given property, in ascending order for
+     * nodes not changed in this transaction
+     */
+    PrimitiveLongIterator nodesGetFromPropertyColumn( int labelId, int propertyKeyId );
+
     /**
      * Queries the given index with the given index query.
      *
@@ -129,6 +157,33 @@ public interface ReadOperations
     PrimitiveLongIterator indexQuery( IndexDescriptor index, IndexQuery... predicates )
             throws IndexNotFoundKernelException, IndexNotApplicableKernelException;
 
+    /**
+     * Queries the given index with the given index query, returning the matching nodes ordered by their
+     * indexed property values. Indexes able to return entries in order stream them directly, otherwise
+     * the matching nodes are sorted by their property values.
+     *
+     * @param index the index to query against.
+     * @param order the order to return matching nodes in.
+     * @param predicates array of the {@link IndexQuery} predicates to query for.
+     * @return ids of the matching nodes, in the given order of their indexed property values.
+     * @throws org.neo4j.kernel.api.exceptions.index.IndexNotFoundKernelException if no such index is found.
+     */
+    PrimitiveLongIterator orderedIndexQuery( IndexDescriptor index, IndexOrder order, IndexQuery... predicates )
+            throws IndexNotFoundKernelException, IndexNotApplicableKernelException;
+
+    /**
+     * Queries the given index with the given index query, like {@link #indexQuery(IndexDescriptor, IndexQuery...)},
+     * but where the indexed property values of each matching node are available from the returned iterator.
+     * Indexes storing exact values provide them directly, otherwise they are read from the matching nodes.
+     *
+     * @param index the index to query against.
+     * @param predicates array of the {@link IndexQuery} predicates to query for.
+     * @return ids of the matching nodes, together with their indexed property values.
+     * @throws org.neo4j.kernel.api.exceptions.index.IndexNotFoundKernelException if no such index is found.
+     */
+    NodeValueIterator indexQueryWithValues( IndexDescriptor index, IndexQuery... predicates )
+            throws IndexNotFoundKernelException, IndexNotApplicableKernelException;
+
     /**
      * @return an iterator over all nodes in the database.
      */
@@ -139,6 +194,13 @@ public interface ReadOperations
      */
     PrimitiveLongIterator relationshipsGetAll();
 
+    /**
+     * @param relationshipTypeId the relationship type id of the relationships to return.
+     * @return an iterator over all relationships of the given type, which can also visit the data,
+     * e.g. start and end node, of each returned relationship.
+     */
+    RelationshipIterator relationshipsGetForType( int relationshipTypeId );
+
     RelationshipIterator nodeGetRelationships( long nodeId, Direction direction, int[] relTypes )
             throws EntityNotFoundException;
 
@@ -23,6 +23,7 @@ import java.io.Closeable;
 import java.io.IOException;
 
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.impl.api.index.SchemaIndexProviderMap;
 import org.neo4j.kernel.impl.store.StoreAccess;
 
@@ -30,13 +31,16 @@ public class DirectStoreAccess implements Closeable
 {
     private final StoreAccess nativeStores;
     private final LabelScanStore labelScanStore;
+    private final RelationshipTypeScanStore relationshipTypeScanStore;
     private final SchemaIndexProviderMap indexes;
 
     public DirectStoreAccess(
-            StoreAccess nativeStores, LabelScanStore labelScanStore, SchemaIndexProviderMap indexes )
+            StoreAccess nativeStores, LabelScanStore labelScanStore,
+            RelationshipTypeScanStore relationshipTypeScanStore, SchemaIndexProviderMap indexes )
     {
         this.nativeStores = nativeStores;
         this.labelScanStore = labelScanStore;
+        this.relationshipTypeScanStore = relationshipTypeScanStore;
         this.indexes = indexes;
     }
 
@@ -50,6 +54,11 @@ public class DirectStoreAccess implements Closeable
         return labelScanStore;
     }
 
+    public RelationshipTypeScanStore relationshipTypeScanStore()
+    {
+        return relationshipTypeScanStore;
+    }
+
     public SchemaIndexProviderMap indexes()
     {
         return indexes;
@@ -60,5 +69,6 @@ public class DirectStoreAccess implements Closeable
     {
         nativeStores.close();
         labelScanStore.shutdown();
+        relationshipTypeScanStore.shutdown();
     }
 }
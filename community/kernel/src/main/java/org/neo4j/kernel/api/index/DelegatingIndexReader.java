@@ -21,8 +21,10 @@ package org.neo4j.kernel.api.index;
 
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.kernel.api.exceptions.index.IndexNotApplicableKernelException;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.storageengine.api.schema.IndexSampler;
 import org.neo4j.values.storable.Value;
 
@@ -65,6 +67,31 @@ public class DelegatingIndexReader implements IndexReader
         return delegate.hasFullNumberPrecision( predicates );
     }
 
+    @Override
+    public boolean supportsOrder( IndexOrder order, IndexQuery... predicates )
+    {
+        return delegate.supportsOrder( order, predicates );
+    }
+
+    @Override
+    public PrimitiveLongIterator orderedQuery( IndexOrder order, IndexQuery... predicates )
+            throws IndexNotApplicableKernelException
+    {
+        return delegate.orderedQuery( order, predicates );
+    }
+
+    @Override
+    public boolean canProvideValues( IndexQuery... predicates )
+    {
+        return delegate.canProvideValues( predicates );
+    }
+
+    @Override
+    public NodeValueIterator queryWithValues( IndexQuery... predicates ) throws IndexNotApplicableKernelException
+    {
+        return delegate.queryWithValues( predicates );
+    }
+
     @Override
     public String toString()
     {
@@ -131,10 +131,19 @@ public class NodeLabelRange
     }
 
     public static void readBitmap( long bitmap, long labelId, List<Long>[] labelsPerNode )
+    {
+        readBitmap( bitmap, 0, labelId, labelsPerNode );
+    }
+
+    /**
+     * Like {@link #readBitmap(long, long, List[])}, but for a bitmap of the nodes starting at relative node id
+     * {@code offset} in the range, for ranges larger than 64 nodes.
+     */
+    public static void readBitmap( long bitmap, int offset, long labelId, List<Long>[] labelsPerNode )
     {
         while ( bitmap != 0 )
         {
-            int relativeNodeId = Long.numberOfTrailingZeros( bitmap );
+            int relativeNodeId = offset + Long.numberOfTrailingZeros( bitmap );
             if ( labelsPerNode[relativeNodeId] == null )
             {
                 labelsPerNode[relativeNodeId] = new ArrayList<>();
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.api.labelscan;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+import org.neo4j.kernel.lifecycle.Lifecycle;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
+
+/**
+ * Stores relationship type-->relationships mappings, the relationship counterpart of {@link LabelScanStore}.
+ * It receives updates in the form of {@link NodeLabelUpdate} where the entity id is a relationship id and the
+ * labels are relationship type ids, and can iterate through all relationships of any given type.
+ */
+public interface RelationshipTypeScanStore extends Lifecycle
+{
+    /**
+     * From the point a {@link RelationshipTypeScanReader} is created till it's
+     * {@link RelationshipTypeScanReader#close() closed} the contents it returns cannot change,
+     * i.e. it honors repeatable reads.
+     *
+     * @return a {@link RelationshipTypeScanReader} capable of retrieving relationships for relationship types.
+     */
+    RelationshipTypeScanReader newReader();
+
+    /**
+     * Acquire a writer for updating the store. Relationships never change type, so updates are either
+     * a relationship getting its type when created or losing it when deleted.
+     *
+     * @return {@link LabelScanWriter} which can modify the {@link RelationshipTypeScanStore}.
+     */
+    LabelScanWriter newWriter();
+
+    /**
+     * Forces all changes to disk. Called at certain points from within Neo4j for example when
+     * rotating the logical log. After completion of this call there cannot be any essential state that
+     * hasn't been forced to disk.
+     *
+     * @throws UnderlyingStorageException if there was a problem forcing the state to persistent storage.
+     */
+    void force( IOLimiter limiter ) throws UnderlyingStorageException;
+
+    /**
+     * Acquire a reader for all relationship type ranges, where each {@link NodeLabelRange} holds
+     * relationship ids and their relationship types.
+     *
+     * @return the {@link AllEntriesLabelScanReader reader}.
+     */
+    AllEntriesLabelScanReader allRelationshipTypeRanges();
+
+    ResourceIterator<File> snapshotStoreFiles() throws IOException;
+
+    /**
+     * Initializes the store. After this has been called recovery updates can be processed.
+     */
+    @Override
+    void init() throws IOException;
+
+    /**
+     * Starts the store. After this has been called updates can be processed.
+     */
+    @Override
+    void start() throws IOException;
+
+    @Override
+    void stop() throws IOException;
+
+    /**
+     * Shuts down the store and all resources acquired by it.
+     */
+    @Override
+    void shutdown() throws IOException;
+
+    /**
+     * @return {@code true} if there's no data at all in this relationship type scan store, otherwise {@code false}.
+     * @throws IOException on I/O error.
+     */
+    boolean isEmpty() throws IOException;
+
+    /**
+     * Drops any persistent storage backing this store.
+     *
+     * @throws IOException on I/O error.
+     */
+    void drop() throws IOException;
+
+    /**
+     * @return whether or not this index is read-only.
+     */
+    boolean isReadOnly();
+
+    /**
+     * @return whether or not this store was not shut down cleanly and had to be recovered on startup.
+     */
+    boolean isDirty();
+
+    /**
+     * @return the file where the relationship type scan store is persisted.
+     */
+    File getRelationshipTypeScanStoreFile();
+}
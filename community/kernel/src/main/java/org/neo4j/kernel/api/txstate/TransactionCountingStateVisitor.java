@@ -160,7 +160,7 @@ public class TransactionCountingStateVisitor extends TxStateVisitor.Delegator
 
     private void visitLabels( long nodeId, PrimitiveIntVisitor<RuntimeException> visitor )
     {
-        nodeCursor( statement, nodeId ).forAll( node -> node.labels().visitKeys( visitor ) );
+        nodeCursor( statement, nodeId ).forAll( node -> node.visitLabels( visitor ) );
     }
 
     private Cursor<NodeItem> nodeCursor( StorageStatement statement, long nodeId )
@@ -49,6 +49,7 @@ import org.neo4j.kernel.api.exceptions.schema.IndexBrokenKernelException;
 import org.neo4j.kernel.api.exceptions.schema.RepeatedPropertyInCompositeSchemaException;
 import org.neo4j.kernel.api.exceptions.schema.UnableToValidateConstraintException;
 import org.neo4j.kernel.api.exceptions.schema.UniquePropertyValueValidationException;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.IndexQuery.ExactPredicate;
 import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
@@ -68,6 +69,7 @@ import org.neo4j.kernel.impl.api.operations.SchemaReadOperations;
 import org.neo4j.kernel.impl.api.operations.SchemaWriteOperations;
 import org.neo4j.kernel.impl.api.schema.NodeSchemaMatcher;
 import org.neo4j.kernel.impl.api.store.NodeLoadingIterator;
+import org.neo4j.kernel.impl.api.store.RelationshipIterator;
 import org.neo4j.kernel.impl.constraints.ConstraintSemantics;
 import org.neo4j.kernel.impl.locking.LockTracer;
 import org.neo4j.kernel.impl.locking.Locks;
@@ -76,6 +78,7 @@ import org.neo4j.storageengine.api.Direction;
 import org.neo4j.storageengine.api.NodeItem;
 import org.neo4j.storageengine.api.PropertyItem;
 import org.neo4j.storageengine.api.RelationshipItem;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
@@ -356,6 +359,24 @@ public class ConstraintEnforcingEntityOperations implements EntityOperations, Sc
         return entityReadOperations.nodesGetForLabel( state, labelId );
     }
 
+    @Override
+    public PrimitiveLongIterator nodesGetForAllLabels( KernelStatement state, int... labelIds )
+    {
+        return entityReadOperations.nodesGetForAllLabels( state, labelIds );
+    }
+
+    @Override
+    public boolean nodePropertyColumnExists( KernelStatement state, int labelId, int propertyKeyId )
+    {
+        return entityReadOperations.nodePropertyColumnExists( state, labelId, propertyKeyId );
+    }
+
+    @Override
+    public PrimitiveLongIterator nodesGetFromPropertyColumn( KernelStatement state, int labelId, int propertyKeyId )
+    {
+        return entityReadOperations.nodesGetFromPropertyColumn( state, labelId, propertyKeyId );
+    }
+
     @Override
     public PrimitiveLongIterator indexQuery( KernelStatement statement, IndexDescriptor index,
             IndexQuery[] predicates )
@@ -364,6 +385,21 @@ public class ConstraintEnforcingEntityOperations implements EntityOperations, Sc
         return entityReadOperations.indexQuery( statement, index, predicates );
     }
 
+    @Override
+    public PrimitiveLongIterator orderedIndexQuery( KernelStatement statement, IndexDescriptor index,
+            IndexOrder order, IndexQuery... predicates )
+            throws IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        return entityReadOperations.orderedIndexQuery( statement, index, order, predicates );
+    }
+
+    @Override
+    public NodeValueIterator indexQueryWithValues( KernelStatement statement, IndexDescriptor index,
+            IndexQuery... predicates ) throws IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        return entityReadOperations.indexQueryWithValues( statement, index, predicates );
+    }
+
     @Override
     public long nodeGetFromUniqueIndexSeek(
             KernelStatement state,
@@ -464,6 +500,12 @@ public class ConstraintEnforcingEntityOperations implements EntityOperations, Sc
         return entityReadOperations.relationshipsGetAll( state );
     }
 
+    @Override
+    public RelationshipIterator relationshipsGetForType( KernelStatement state, int relationshipTypeId )
+    {
+        return entityReadOperations.relationshipsGetForType( state, relationshipTypeId );
+    }
+
     @Override
     public <EXCEPTION extends Exception> void relationshipVisit( KernelStatement statement,
             long relId, RelationshipVisitor<EXCEPTION> visitor )
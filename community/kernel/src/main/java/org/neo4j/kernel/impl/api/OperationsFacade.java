@@ -74,6 +74,7 @@ import org.neo4j.kernel.api.proc.ProcedureSignature;
 import org.neo4j.kernel.api.proc.QualifiedName;
 import org.neo4j.kernel.api.proc.UserFunctionSignature;
 import org.neo4j.kernel.api.query.ExecutingQuery;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
 import org.neo4j.kernel.api.schema.RelationTypeSchemaDescriptor;
@@ -109,6 +110,7 @@ import org.neo4j.storageengine.api.PropertyItem;
 import org.neo4j.storageengine.api.RelationshipItem;
 import org.neo4j.storageengine.api.Token;
 import org.neo4j.storageengine.api.lock.ResourceType;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.storageengine.api.schema.SchemaRule;
 import org.neo4j.values.storable.Value;
@@ -213,6 +215,17 @@ public class OperationsFacade
         return dataRead().relationshipsGetAll( statement );
     }
 
+    @Override
+    public RelationshipIterator relationshipsGetForType( int relationshipTypeId )
+    {
+        statement.assertOpen();
+        if ( relationshipTypeId == StatementConstants.NO_SUCH_RELATIONSHIP_TYPE )
+        {
+            return RelationshipIterator.EMPTY;
+        }
+        return dataRead().relationshipsGetForType( statement, relationshipTypeId );
+    }
+
     @Override
     public PrimitiveLongIterator nodesGetForLabel( int labelId )
     {
@@ -224,6 +237,38 @@ public class OperationsFacade
         return dataRead().nodesGetForLabel( statement, labelId );
     }
 
+    @Override
+    public PrimitiveLongIterator nodesGetForAllLabels( int... labelIds )
+    {
+        statement.assertOpen();
+        for ( int labelId : labelIds )
+        {
+            if ( labelId == StatementConstants.NO_SUCH_LABEL )
+            {
+                return PrimitiveLongCollections.emptyIterator();
+            }
+        }
+        return dataRead().nodesGetForAllLabels( statement, labelIds );
+    }
+
+    @Override
+    public boolean nodePropertyColumnExists( int labelId, int propertyKeyId )
+    {
+        statement.assertOpen();
+        return dataRead().nodePropertyColumnExists( statement, labelId, propertyKeyId );
+    }
+
+    @Override
+    public PrimitiveLongIterator nodesGetFromPropertyColumn( int labelId, int propertyKeyId )
+    {
+        statement.assertOpen();
+        if ( labelId == StatementConstants.NO_SUCH_LABEL || propertyKeyId == StatementConstants.NO_SUCH_PROPERTY_KEY )
+        {
+            return PrimitiveLongCollections.emptyIterator();
+        }
+        return dataRead().nodesGetFromPropertyColumn( statement, labelId, propertyKeyId );
+    }
+
     @Override
     public PrimitiveLongIterator indexQuery( IndexDescriptor index, IndexQuery... predicates )
             throws IndexNotFoundKernelException, IndexNotApplicableKernelException
@@ -232,6 +277,22 @@ public class OperationsFacade
         return dataRead().indexQuery( statement, index, predicates );
     }
 
+    @Override
+    public PrimitiveLongIterator orderedIndexQuery( IndexDescriptor index, IndexOrder order,
+            IndexQuery... predicates ) throws IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        statement.assertOpen();
+        return dataRead().orderedIndexQuery( statement, index, order, predicates );
+    }
+
+    @Override
+    public NodeValueIterator indexQueryWithValues( IndexDescriptor index, IndexQuery... predicates )
+            throws IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        statement.assertOpen();
+        return dataRead().indexQueryWithValues( statement, index, predicates );
+    }
+
     @Override
     public long nodeGetFromUniqueIndexSeek( IndexDescriptor index, IndexQuery.ExactPredicate... predicates )
             throws IndexNotFoundKernelException, IndexBrokenKernelException, IndexNotApplicableKernelException
@@ -19,8 +19,13 @@
  */
 package org.neo4j.kernel.impl.api;
 
+import org.apache.commons.lang3.mutable.MutableBoolean;
+
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.neo4j.collection.primitive.Primitive;
@@ -28,8 +33,10 @@ import org.neo4j.collection.primitive.PrimitiveIntCollection;
 import org.neo4j.collection.primitive.PrimitiveIntIterator;
 import org.neo4j.collection.primitive.PrimitiveIntSet;
 import org.neo4j.collection.primitive.PrimitiveIntStack;
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.collection.primitive.PrimitiveLongResourceIterator;
+import org.neo4j.collection.primitive.PrimitiveLongSet;
 import org.neo4j.cursor.Cursor;
 import org.neo4j.graphdb.NotFoundException;
 import org.neo4j.kernel.api.DataWriteOperations;
@@ -59,6 +66,7 @@ import org.neo4j.kernel.api.explicitindex.AutoIndexing;
 import org.neo4j.kernel.api.index.InternalIndexState;
 import org.neo4j.kernel.api.index.SchemaIndexProvider;
 import org.neo4j.kernel.api.properties.PropertyKeyIdIterator;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
 import org.neo4j.kernel.api.schema.RelationTypeSchemaDescriptor;
@@ -99,6 +107,7 @@ import org.neo4j.storageengine.api.StorageStatement;
 import org.neo4j.storageengine.api.StoreReadLayer;
 import org.neo4j.storageengine.api.Token;
 import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.storageengine.api.txstate.NodeState;
 import org.neo4j.storageengine.api.txstate.ReadableDiffSets;
@@ -115,6 +124,7 @@ import static org.neo4j.helpers.collection.Iterators.filter;
 import static org.neo4j.helpers.collection.Iterators.iterator;
 import static org.neo4j.helpers.collection.Iterators.singleOrNull;
 import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_NODE;
+import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP;
 import static org.neo4j.kernel.impl.api.state.IndexTxStateUpdater.LabelChangeType.ADDED_LABEL;
 import static org.neo4j.kernel.impl.api.state.IndexTxStateUpdater.LabelChangeType.REMOVED_LABEL;
 import static org.neo4j.kernel.impl.util.Cursors.count;
@@ -285,6 +295,16 @@ public class StateHandlingStatementOperations implements
     @Override
     public Value nodeGetProperty( KernelStatement statement, NodeItem node, int propertyKeyId )
     {
+        if ( !statement.hasTxStateWithChanges() )
+        {
+            // Committed numeric values may be kept in a column, which avoids walking the property chain
+            Value value = storeLayer.nodeGetColumnarProperty( node, propertyKeyId );
+            if ( value != null )
+            {
+                return value;
+            }
+        }
+
         try ( Cursor<PropertyItem> cursor = nodeGetPropertyCursor( statement, node, propertyKeyId ) )
         {
             if ( cursor.next() )
@@ -450,8 +470,12 @@ public class StateHandlingStatementOperations implements
         {
             try ( Cursor<NodeItem> endNode = nodeCursorById( state, endNodeId ) )
             {
-                long id = state.getStoreStatement().reserveRelationship();
-                state.txState().relationshipDoCreate( id, relationshipTypeId, startNode.get().id(), endNode.get().id() );
+                // New relationships are linked in first in the relationship chains of sparse nodes,
+                // so prefer placing them close to the current first relationship of the start node
+                NodeItem start = startNode.get();
+                long id = state.getStoreStatement().reserveRelationship(
+                        start.isDense() ? NO_SUCH_RELATIONSHIP : start.nextRelationshipId() );
+                state.txState().relationshipDoCreate( id, relationshipTypeId, start.id(), endNode.get().id() );
                 return id;
             }
         }
@@ -493,6 +517,30 @@ public class StateHandlingStatementOperations implements
         return state.hasTxStateWithChanges() ? state.txState().augmentRelationshipsGetAll( iterator ) : iterator;
     }
 
+    @Override
+    public RelationshipIterator relationshipsGetForType( KernelStatement state, int relationshipTypeId )
+    {
+        RelationshipIterator committed =
+                storeLayer.relationshipsGetForType( state.getStoreStatement(), relationshipTypeId );
+        if ( state.hasTxStateWithChanges() )
+        {
+            TransactionState txState = state.txState();
+            return txState.addedAndRemovedRelationships()
+                    .filterAdded( relationshipId -> relationshipHasType( txState, relationshipId, relationshipTypeId ) )
+                    .augment( committed );
+        }
+        return committed;
+    }
+
+    private static boolean relationshipHasType( TransactionState txState, long relationshipId,
+            int relationshipTypeId )
+    {
+        MutableBoolean hasType = new MutableBoolean();
+        txState.relationshipVisit( relationshipId,
+                ( relId, type, startNode, endNode ) -> hasType.setValue( type == relationshipTypeId ) );
+        return hasType.booleanValue();
+    }
+
     @Override
     public boolean nodeAddLabel( KernelStatement state, long nodeId, int labelId ) throws EntityNotFoundException
     {
@@ -547,6 +595,105 @@ public class StateHandlingStatementOperations implements
         return storeLayer.nodesGetForLabel( state.getStoreStatement(), labelId );
     }
 
+    @Override
+    public PrimitiveLongIterator nodesGetForAllLabels( KernelStatement state, int... labelIds )
+    {
+        PrimitiveLongIterator committed = storeLayer.nodesGetForAllLabels( state.getStoreStatement(), labelIds );
+        if ( state.hasTxStateWithChanges() )
+        {
+            TransactionState txState = state.txState();
+            PrimitiveLongIterator stillLabeled = PrimitiveLongCollections.filter( committed,
+                    nodeId -> !txState.nodeIsDeletedInThisTx( nodeId ) && !lostAnyLabel( txState, nodeId, labelIds ) );
+            return PrimitiveLongCollections.concat( stillLabeled, nodesGivenAllLabelsInTx( state, labelIds ) );
+        }
+        return committed;
+    }
+
+    private static boolean lostAnyLabel( TransactionState txState, long nodeId, int[] labelIds )
+    {
+        for ( int labelId : labelIds )
+        {
+            if ( txState.nodesWithLabelChanged( labelId ).isRemoved( nodeId ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Nodes which got at least one of the given labels in this transaction, and now have all of them.
+     * These can't be in the committed result already, since a node only gets a label added if it didn't have it.
+     */
+    private PrimitiveLongIterator nodesGivenAllLabelsInTx( KernelStatement state, int[] labelIds )
+    {
+        PrimitiveLongSet nodes = Primitive.longSet();
+        for ( int labelId : labelIds )
+        {
+            for ( long nodeId : state.txState().nodesWithLabelChanged( labelId ).getAdded() )
+            {
+                if ( !nodes.contains( nodeId ) && nodeHasAllLabels( state, nodeId, labelIds ) )
+                {
+                    nodes.add( nodeId );
+                }
+            }
+        }
+        return nodes.iterator();
+    }
+
+    private boolean nodeHasAllLabels( KernelStatement state, long nodeId, int[] labelIds )
+    {
+        try ( Cursor<NodeItem> cursor = nodeCursorById( state, nodeId ) )
+        {
+            NodeItem node = cursor.get();
+            for ( int labelId : labelIds )
+            {
+                if ( !node.hasLabel( labelId ) )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        catch ( EntityNotFoundException e )
+        {
+            // Deleted in this transaction
+            return false;
+        }
+    }
+
+    @Override
+    public boolean nodePropertyColumnExists( KernelStatement state, int labelId, int propertyKeyId )
+    {
+        return storeLayer.nodePropertyColumnExists( labelId, propertyKeyId );
+    }
+
+    @Override
+    public PrimitiveLongIterator nodesGetFromPropertyColumn( KernelStatement state, int labelId, int propertyKeyId )
+    {
+        PrimitiveLongIterator committed = storeLayer.nodesGetFromPropertyColumn( labelId, propertyKeyId );
+        if ( committed != null && !state.hasTxStateWithChanges() )
+        {
+            return committed;
+        }
+        // Columns only have committed values, and the column may also have been dropped since the query was planned
+        return PrimitiveLongCollections.filter( nodesGetForLabel( state, labelId ),
+                nodeId -> nodeHasProperty( state, nodeId, propertyKeyId ) );
+    }
+
+    private boolean nodeHasProperty( KernelStatement state, long nodeId, int propertyKeyId )
+    {
+        try ( Cursor<NodeItem> cursor = nodeCursorById( state, nodeId ) )
+        {
+            return nodeHasProperty( state, cursor.get(), propertyKeyId );
+        }
+        catch ( EntityNotFoundException e )
+        {
+            // Deleted in this transaction
+            return false;
+        }
+    }
+
     @Override
     public long nodesGetCount( KernelStatement state )
     {
@@ -900,6 +1047,145 @@ public class StateHandlingStatementOperations implements
         }
     }
 
+    @Override
+    public PrimitiveLongIterator orderedIndexQuery( KernelStatement state, IndexDescriptor index, IndexOrder order,
+            IndexQuery... predicates ) throws IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        IndexReader reader = state.getStoreStatement().getIndexReader( index );
+        if ( !state.hasTxStateWithChanges() && reader.supportsOrder( order, predicates ) &&
+             reader.hasFullNumberPrecision( predicates ) )
+        {
+            return reader.orderedQuery( order, predicates );
+        }
+
+        // Changes in transaction state have no order and neither have results of indexes not supporting the
+        // requested order, so sort the matching nodes by their, transaction state aware, property values instead.
+        return sortByIndexedValues( state, index, order, indexQuery( state, index, predicates ) );
+    }
+
+    private PrimitiveLongIterator sortByIndexedValues( KernelStatement state, IndexDescriptor index,
+            IndexOrder order, PrimitiveLongIterator nodeIds )
+    {
+        int[] propertyKeyIds = index.schema().getPropertyIds();
+        List<IndexedNode> nodes = new ArrayList<>();
+        while ( nodeIds.hasNext() )
+        {
+            long nodeId = nodeIds.next();
+            try
+            {
+                Value[] values = nodeGetPropertyValues( state, nodeId, propertyKeyIds );
+                nodes.add( new IndexedNode( nodeId, ValueTuple.of( values ) ) );
+            }
+            catch ( EntityNotFoundException e )
+            {
+                // Deleted after being returned from the index, it's not part of the result then
+            }
+        }
+
+        Comparator<IndexedNode> comparator = IndexedNode.ORDER;
+        nodes.sort( order == IndexOrder.DESCENDING ? comparator.reversed() : comparator );
+        long[] sorted = new long[nodes.size()];
+        for ( int i = 0; i < sorted.length; i++ )
+        {
+            sorted[i] = nodes.get( i ).nodeId;
+        }
+        return PrimitiveLongCollections.iterator( sorted );
+    }
+
+    private Value[] nodeGetPropertyValues( KernelStatement state, long nodeId, int[] propertyKeyIds )
+            throws EntityNotFoundException
+    {
+        try ( Cursor<NodeItem> cursor = nodeCursorById( state, nodeId ) )
+        {
+            Value[] values = new Value[propertyKeyIds.length];
+            for ( int i = 0; i < propertyKeyIds.length; i++ )
+            {
+                values[i] = nodeGetProperty( state, cursor.get(), propertyKeyIds[i] );
+            }
+            return values;
+        }
+    }
+
+    @Override
+    public NodeValueIterator indexQueryWithValues( KernelStatement state, IndexDescriptor index,
+            IndexQuery... predicates ) throws IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        IndexReader reader = state.getStoreStatement().getIndexReader( index );
+        if ( !state.hasTxStateWithChanges() && reader.canProvideValues( predicates ) &&
+             reader.hasFullNumberPrecision( predicates ) )
+        {
+            return reader.queryWithValues( predicates );
+        }
+
+        // Indexed values are stale for nodes changed in this transaction, and not all indexes have values to give,
+        // so read the values from the matching, transaction state aware, nodes instead.
+        return new PropertyReadingNodeValueIterator( state, index.schema().getPropertyIds(),
+                indexQuery( state, index, predicates ) );
+    }
+
+    /**
+     * {@link NodeValueIterator} reading the values of the current node from the node itself, and only if asked for.
+     */
+    private class PropertyReadingNodeValueIterator implements NodeValueIterator
+    {
+        private final KernelStatement state;
+        private final int[] propertyKeyIds;
+        private final PrimitiveLongIterator nodeIds;
+        private long current = NO_SUCH_NODE;
+
+        PropertyReadingNodeValueIterator( KernelStatement state, int[] propertyKeyIds, PrimitiveLongIterator nodeIds )
+        {
+            this.state = state;
+            this.propertyKeyIds = propertyKeyIds;
+            this.nodeIds = nodeIds;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return nodeIds.hasNext();
+        }
+
+        @Override
+        public long next()
+        {
+            current = nodeIds.next();
+            return current;
+        }
+
+        @Override
+        public Value[] values()
+        {
+            try
+            {
+                return nodeGetPropertyValues( state, current, propertyKeyIds );
+            }
+            catch ( EntityNotFoundException e )
+            {
+                // Deleted after being returned from the index, it has no values then
+                Value[] values = new Value[propertyKeyIds.length];
+                Arrays.fill( values, Values.NO_VALUE );
+                return values;
+            }
+        }
+    }
+
+    private static class IndexedNode
+    {
+        static final Comparator<IndexedNode> ORDER =
+                Comparator.<IndexedNode,ValueTuple>comparing( node -> node.values, ValueTuple.COMPARATOR )
+                        .thenComparingLong( node -> node.nodeId );
+
+        private final long nodeId;
+        private final ValueTuple values;
+
+        IndexedNode( long nodeId, ValueTuple values )
+        {
+            this.nodeId = nodeId;
+            this.values = values;
+        }
+    }
+
     private IndexQuery.ExactPredicate[] assertOnlyExactPredicates( IndexQuery[] predicates )
     {
         IndexQuery.ExactPredicate[] exactPredicates;
@@ -1759,15 +2045,22 @@ public class StateHandlingStatementOperations implements
             return statement.txState().getNodeState( node.id() ).relationshipTypes();
         }
 
+        PrimitiveIntSet storedTypes = storeLayer.relationshipTypes( statement.getStoreStatement(), node );
+        if ( !statement.hasTxStateWithChanges() )
+        {
+            // Stored relationship groups are removed along with the last relationship of their type
+            return storedTypes;
+        }
+
         // Read types in the current transaction
-        PrimitiveIntSet types = statement.hasTxStateWithChanges()
-                                ? statement.txState().getNodeState( node.id() ).relationshipTypes()
-                                : Primitive.intSet();
+        NodeState nodeState = statement.txState().getNodeState( node.id() );
+        PrimitiveIntSet types = nodeState.relationshipTypes();
 
         // Augment with types stored on disk, minus any types where all rels of that type are deleted
-        // in current tx.
-        types.addAll( filter( storeLayer.relationshipTypes( statement.getStoreStatement(), node ).iterator(),
-                current -> !types.contains( current ) && degree( statement, node, Direction.BOTH, current ) > 0 ) );
+        // in current tx. Only types with relationships removed in this transaction need their degree counted.
+        types.addAll( filter( storedTypes.iterator(), current -> !types.contains( current ) &&
+                ( nodeState.augmentDegree( Direction.BOTH, 1, current ) == 1 ||
+                  degree( statement, node, Direction.BOTH, current ) > 0 ) ) );
 
         return types;
     }
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.api.cursor;
 import java.util.function.Consumer;
 
 import org.neo4j.collection.primitive.PrimitiveIntSet;
+import org.neo4j.collection.primitive.PrimitiveIntVisitor;
 import org.neo4j.cursor.Cursor;
 import org.neo4j.kernel.api.StatementConstants;
 import org.neo4j.kernel.api.txstate.TransactionState;
@@ -121,6 +122,19 @@ public class TxSingleNodeCursor implements Cursor<NodeItem>, NodeItem
         return state.augmentLabels( nodeIsAddedInThisTx ? intSet() : this.cursor.get().labels(), nodeState );
     }
 
+    @Override
+    public <E extends Exception> void visitLabels( PrimitiveIntVisitor<E> visitor ) throws E
+    {
+        if ( nodeIsAddedInThisTx || !nodeState.labelDiffSets().isEmpty() )
+        {
+            labels().visitKeys( visitor );
+        }
+        else
+        {
+            cursor.get().visitLabels( visitor );
+        }
+    }
+
     @Override
     public boolean hasLabel( int labelId )
     {
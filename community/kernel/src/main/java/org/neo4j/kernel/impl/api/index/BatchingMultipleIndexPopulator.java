@@ -277,7 +277,7 @@ public class BatchingMultipleIndexPopulator extends MultipleIndexPopulator
             try
             {
                 super.run();
-                log.info( "Completed node store scan. " +
+                log.info( "Completed node store scan " + this + ". " +
                           "Flushing all pending updates." + EOL + BatchingMultipleIndexPopulator.this );
                 flushAll();
             }
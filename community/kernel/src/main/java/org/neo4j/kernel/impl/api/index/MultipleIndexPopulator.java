@@ -607,5 +607,11 @@ public class MultipleIndexPopulator implements IndexPopulator
         {
             return delegate.getProgress();
         }
+
+        @Override
+        public String toString()
+        {
+            return delegate.toString();
+        }
     }
 }
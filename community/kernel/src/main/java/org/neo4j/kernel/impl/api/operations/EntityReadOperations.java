@@ -29,14 +29,17 @@ import org.neo4j.kernel.api.exceptions.EntityNotFoundException;
 import org.neo4j.kernel.api.exceptions.index.IndexNotApplicableKernelException;
 import org.neo4j.kernel.api.exceptions.index.IndexNotFoundKernelException;
 import org.neo4j.kernel.api.exceptions.schema.IndexBrokenKernelException;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.index.IndexDescriptor;
 import org.neo4j.kernel.impl.api.KernelStatement;
+import org.neo4j.kernel.impl.api.store.RelationshipIterator;
 import org.neo4j.kernel.impl.api.RelationshipVisitor;
 import org.neo4j.storageengine.api.Direction;
 import org.neo4j.storageengine.api.NodeItem;
 import org.neo4j.storageengine.api.PropertyItem;
 import org.neo4j.storageengine.api.RelationshipItem;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.values.storable.Value;
 
 public interface EntityReadOperations
@@ -47,6 +50,24 @@ public interface EntityReadOperations
      */
     PrimitiveLongIterator nodesGetForLabel( KernelStatement state, int labelId );
 
+    /**
+     * @param labelIds the label ids of the labels that returned nodes are guaranteed to have all of
+     * @return ids of all nodes that have all of the given labels
+     */
+    PrimitiveLongIterator nodesGetForAllLabels( KernelStatement state, int... labelIds );
+
+    /**
+     * @return whether or not the values of the given property key of nodes with the given label are kept in a column
+     */
+    boolean nodePropertyColumnExists( KernelStatement state, int labelId, int propertyKeyId );
+
+    /**
+     * @param labelId the label id of the label that returned nodes are guaranteed to have
+     * @param propertyKeyId the property key id of the property that returned nodes are guaranteed to have
+     * @return ids of all nodes that have both the given label and the given property
+     */
+    PrimitiveLongIterator nodesGetFromPropertyColumn( KernelStatement state, int labelId, int propertyKeyId );
+
     /**
      * Queries the given index with the given index query.
      *
@@ -59,6 +80,32 @@ public interface EntityReadOperations
     PrimitiveLongIterator indexQuery( KernelStatement statement, IndexDescriptor index, IndexQuery... predicates )
             throws IndexNotFoundKernelException, IndexNotApplicableKernelException;
 
+    /**
+     * Queries the given index with the given index query, returning matching nodes ordered by their indexed values.
+     *
+     * @param statement the KernelStatement to use.
+     * @param index the index to query against.
+     * @param order the order to return matching nodes in.
+     * @param predicates the {@link IndexQuery} predicates to query for.
+     * @return ids of the matching nodes, in the given order of their indexed values.
+     * @throws IndexNotFoundKernelException if no such index is found.
+     */
+    PrimitiveLongIterator orderedIndexQuery( KernelStatement statement, IndexDescriptor index, IndexOrder order,
+            IndexQuery... predicates ) throws IndexNotFoundKernelException, IndexNotApplicableKernelException;
+
+    /**
+     * Queries the given index with the given index query, making the indexed values of each matching node
+     * available from the returned iterator.
+     *
+     * @param statement the KernelStatement to use.
+     * @param index the index to query against.
+     * @param predicates the {@link IndexQuery} predicates to query for.
+     * @return ids of the matching nodes, together with their indexed values.
+     * @throws IndexNotFoundKernelException if no such index is found.
+     */
+    NodeValueIterator indexQueryWithValues( KernelStatement statement, IndexDescriptor index,
+            IndexQuery... predicates ) throws IndexNotFoundKernelException, IndexNotApplicableKernelException;
+
     /**
      * Returns the id of the matched node, or {@link StatementConstants#NO_SUCH_NODE} if no node was found.
      *
@@ -84,6 +131,12 @@ public interface EntityReadOperations
 
     PrimitiveLongIterator relationshipsGetAll( KernelStatement state );
 
+    /**
+     * @param relationshipTypeId the relationship type id of the relationships to return
+     * @return all relationships of the given type
+     */
+    RelationshipIterator relationshipsGetForType( KernelStatement state, int relationshipTypeId );
+
     <EXCEPTION extends Exception> void relationshipVisit( KernelStatement statement, long relId,
             RelationshipVisitor<EXCEPTION> visitor ) throws EntityNotFoundException, EXCEPTION;
 
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.scan;
+
+import java.io.IOException;
+
+import org.neo4j.kernel.api.labelscan.LabelScanWriter;
+import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
+import org.neo4j.kernel.impl.store.RecordStore;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+import static org.neo4j.collection.primitive.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+
+/**
+ * {@link FullStoreChangeStream} reading all relationships and their types directly from the relationship store,
+ * used to rebuild a relationship type scan store.
+ */
+public class FullRelationshipTypeStream implements FullStoreChangeStream
+{
+    private final RecordStore<RelationshipRecord> relationshipStore;
+
+    public FullRelationshipTypeStream( RecordStore<RelationshipRecord> relationshipStore )
+    {
+        this.relationshipStore = relationshipStore;
+    }
+
+    @Override
+    public long applyTo( LabelScanWriter writer ) throws IOException
+    {
+        long count = 0;
+        RelationshipRecord record = relationshipStore.newRecord();
+        long highId = relationshipStore.getHighId();
+        for ( long id = relationshipStore.getNumberOfReservedLowIds(); id < highId; id++ )
+        {
+            relationshipStore.getRecord( id, record, RecordLoad.CHECK );
+            if ( record.inUse() )
+            {
+                writer.write( NodeLabelUpdate.labelChanges( id, EMPTY_LONG_ARRAY, new long[]{record.getType()} ) );
+                count++;
+            }
+        }
+        return count;
+    }
+}
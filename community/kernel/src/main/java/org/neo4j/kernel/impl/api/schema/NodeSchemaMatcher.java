@@ -73,7 +73,7 @@ public class NodeSchemaMatcher
         {
             SUPPLIER schemaSupplier = schemaSuppliers.next();
             LabelSchemaDescriptor schema = schemaSupplier.schema();
-            if ( node.labels().contains( schema.getLabelId() ) )
+            if ( node.hasLabel( schema.getLabelId() ) )
             {
                 if ( nodePropertyIds == null )
                 {
@@ -29,6 +29,12 @@ import org.neo4j.storageengine.api.Direction;
 
 import static org.neo4j.kernel.impl.store.record.RecordLoad.FORCE;
 
+/**
+ * Counts degrees of dense nodes. The number of relationships in each chain of a {@link RelationshipGroupRecord},
+ * i.e. the degree per type and direction, is kept in the previous relationship pointer of the first relationship
+ * in that chain. Counting degrees of a dense node therefore reads the group records of the node and the first
+ * relationship of each of their chains, but never walks the relationship chains themselves.
+ */
 class DegreeCounter
 {
     private DegreeCounter()
@@ -61,6 +67,11 @@ class DegreeCounter
         while ( groupId != Record.NO_NEXT_RELATIONSHIP.longValue() )
         {
             boolean groupRecordInUse = cursors.relationshipGroup().next( groupId, groupRecord, FORCE );
+            if ( groupRecordInUse && type != null && groupRecord.getType() > type )
+            {
+                // groups are sorted by type in the chain, so there's no group for the type we're interested in
+                break;
+            }
             if ( groupRecordInUse && ( type == null || groupRecord.getType() == type ) )
             {
                 count += nodeDegreeByDirection( direction, nodeId, relationshipRecord, groupRecord, cursors );
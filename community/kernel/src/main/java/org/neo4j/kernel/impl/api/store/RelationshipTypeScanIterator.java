@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.store;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections.PrimitiveLongBaseIterator;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.kernel.impl.api.RelationshipVisitor;
+import org.neo4j.kernel.impl.store.RelationshipStore;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+
+/**
+ * {@link RelationshipIterator} over relationship ids coming from a relationship type scan store.
+ * Each relationship record is loaded when moving to it, so that it can be visited without reading it again.
+ * Relationships no longer in use or not of the expected type are skipped.
+ */
+class RelationshipTypeScanIterator extends PrimitiveLongBaseIterator implements RelationshipIterator
+{
+    private final RelationshipStore store;
+    private final PrimitiveLongIterator relationshipIds;
+    private final int relationshipTypeId;
+    private final RelationshipRecord record;
+
+    RelationshipTypeScanIterator( RelationshipStore store, PrimitiveLongIterator relationshipIds,
+            int relationshipTypeId )
+    {
+        this.store = store;
+        this.relationshipIds = relationshipIds;
+        this.relationshipTypeId = relationshipTypeId;
+        this.record = store.newRecord();
+    }
+
+    @Override
+    public <EXCEPTION extends Exception> boolean relationshipVisit( long relationshipId,
+            RelationshipVisitor<EXCEPTION> visitor ) throws EXCEPTION
+    {
+        visitor.visit( relationshipId, record.getType(), record.getFirstNode(), record.getSecondNode() );
+        return false;
+    }
+
+    @Override
+    protected boolean fetchNext()
+    {
+        while ( relationshipIds.hasNext() )
+        {
+            long relationshipId = relationshipIds.next();
+            store.getRecord( relationshipId, record, RecordLoad.CHECK );
+            if ( record.inUse() && record.getType() == relationshipTypeId )
+            {
+                return next( relationshipId );
+            }
+        }
+        return false;
+    }
+}
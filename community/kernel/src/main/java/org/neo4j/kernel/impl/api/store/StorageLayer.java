@@ -55,6 +55,7 @@ import org.neo4j.kernel.impl.core.PropertyKeyTokenHolder;
 import org.neo4j.kernel.impl.core.RelationshipTypeTokenHolder;
 import org.neo4j.kernel.impl.core.TokenNotFoundException;
 import org.neo4j.kernel.impl.locking.Lock;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordReadPath;
 import org.neo4j.kernel.impl.store.InvalidRecordException;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeStore;
@@ -63,7 +64,8 @@ import org.neo4j.kernel.impl.store.RecordStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.SchemaStorage;
 import org.neo4j.kernel.impl.store.UnderlyingStorageException;
-import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.columns.PropertyColumns;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 import org.neo4j.kernel.impl.store.record.IndexRule;
 import org.neo4j.kernel.impl.store.record.RelationshipGroupRecord;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
@@ -81,6 +83,7 @@ import org.neo4j.storageengine.api.StoreReadLayer;
 import org.neo4j.storageengine.api.Token;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.storageengine.api.schema.SchemaRule;
+import org.neo4j.values.storable.Value;
 
 import static org.neo4j.collection.primitive.Primitive.intSet;
 import static org.neo4j.function.Predicates.ALWAYS_TRUE_INT;
@@ -101,18 +104,35 @@ public class StorageLayer implements StoreReadLayer
     private final LabelTokenHolder labelTokenHolder;
     private final RelationshipTypeTokenHolder relationshipTokenHolder;
     private final IndexingService indexService;
+    private final NeoStores neoStores;
     private final NodeStore nodeStore;
     private final RelationshipStore relationshipStore;
     private final RecordStore<RelationshipGroupRecord> relationshipGroupStore;
     private final SchemaStorage schemaStorage;
-    private final CountsTracker counts;
+    private final CountsStore counts;
     private final PropertyLoader propertyLoader;
     private final Supplier<StorageStatement> statementProvider;
     private final SchemaCache schemaCache;
+    private final PropertyColumns propertyColumns;
+    private final RecordReadPath readPath;
 
     public StorageLayer( PropertyKeyTokenHolder propertyKeyTokenHolder, LabelTokenHolder labelTokenHolder,
             RelationshipTypeTokenHolder relationshipTokenHolder, SchemaStorage schemaStorage, NeoStores neoStores,
-            IndexingService indexService, Supplier<StorageStatement> storeStatementSupplier, SchemaCache schemaCache )
+            IndexingService indexService, Supplier<StorageStatement> storeStatementSupplier, SchemaCache schemaCache,
+            PropertyColumns propertyColumns )
+    {
+        this( propertyKeyTokenHolder, labelTokenHolder, relationshipTokenHolder, schemaStorage, neoStores, indexService,
+                storeStatementSupplier, schemaCache, propertyColumns, null );
+    }
+
+    /**
+     * @param readPath if not {@code null}, the scan of all nodes is done through this {@link RecordReadPath}
+     * rather than through the page cache.
+     */
+    public StorageLayer( PropertyKeyTokenHolder propertyKeyTokenHolder, LabelTokenHolder labelTokenHolder,
+            RelationshipTypeTokenHolder relationshipTokenHolder, SchemaStorage schemaStorage, NeoStores neoStores,
+            IndexingService indexService, Supplier<StorageStatement> storeStatementSupplier, SchemaCache schemaCache,
+            PropertyColumns propertyColumns, RecordReadPath readPath )
     {
         this.relationshipTokenHolder = relationshipTokenHolder;
         this.schemaStorage = schemaStorage;
@@ -120,12 +140,15 @@ public class StorageLayer implements StoreReadLayer
         this.propertyKeyTokenHolder = propertyKeyTokenHolder;
         this.labelTokenHolder = labelTokenHolder;
         this.statementProvider = storeStatementSupplier;
+        this.neoStores = neoStores;
         this.nodeStore = neoStores.getNodeStore();
         this.relationshipStore = neoStores.getRelationshipStore();
         this.relationshipGroupStore = neoStores.getRelationshipGroupStore();
         this.counts = neoStores.getCounts();
         this.propertyLoader = new PropertyLoader( neoStores );
         this.schemaCache = schemaCache;
+        this.propertyColumns = propertyColumns;
+        this.readPath = readPath;
     }
 
     @Override
@@ -134,6 +157,18 @@ public class StorageLayer implements StoreReadLayer
         return statementProvider.get();
     }
 
+    /**
+     * Allocates node, relationship traversal and property cursors owned by the caller, for reading many entities
+     * through the same cursors without allocating per entity. See {@link StoreCursors}.
+     *
+     * @return new {@link StoreCursors}, which the caller is responsible for closing.
+     */
+    public StoreCursors allocateCursors()
+    {
+        neoStores.assertOpen();
+        return new StoreCursors( neoStores );
+    }
+
     @Override
     public int labelGetOrCreateForName( String label ) throws TooManyLabelsException
     {
@@ -181,6 +216,12 @@ public class StorageLayer implements StoreReadLayer
         return statement.getLabelScanReader().nodesWithLabel( labelId );
     }
 
+    @Override
+    public PrimitiveLongIterator nodesGetForAllLabels( StorageStatement statement, int... labelIds )
+    {
+        return statement.getLabelScanReader().nodesWithAllLabels( labelIds );
+    }
+
     @Override
     public IndexDescriptor indexGetForSchema( LabelSchemaDescriptor descriptor )
     {
@@ -399,6 +440,10 @@ public class StorageLayer implements StoreReadLayer
     @Override
     public PrimitiveLongIterator nodesGetAll()
     {
+        if ( readPath != null )
+        {
+            return readPath.nodesGetAll();
+        }
         return new AllNodeIterator( nodeStore );
     }
 
@@ -408,6 +453,14 @@ public class StorageLayer implements StoreReadLayer
         return new AllRelationshipIterator( relationshipStore );
     }
 
+    @Override
+    public RelationshipIterator relationshipsGetForType( StorageStatement statement, int relationshipTypeId )
+    {
+        return new RelationshipTypeScanIterator( relationshipStore,
+                statement.getRelationshipTypeScanReader().relationshipsWithType( relationshipTypeId ),
+                relationshipTypeId );
+    }
+
     @Override
     public Cursor<RelationshipItem> nodeGetRelationships( StorageStatement statement, NodeItem nodeItem,
             Direction direction )
@@ -438,6 +491,27 @@ public class StorageLayer implements StoreReadLayer
         return statement.acquireSinglePropertyCursor( node.nextPropertyId(), propertyKeyId, lock, assertOpen );
     }
 
+    @Override
+    public Value nodeGetColumnarProperty( NodeItem node, int propertyKeyId )
+    {
+        try ( Lock lock = node.lock() )
+        {
+            return propertyColumns.nodeGetProperty( node, propertyKeyId );
+        }
+    }
+
+    @Override
+    public boolean nodePropertyColumnExists( int labelId, int propertyKeyId )
+    {
+        return propertyColumns.get( labelId, propertyKeyId ) != null;
+    }
+
+    @Override
+    public PrimitiveLongIterator nodesGetFromPropertyColumn( int labelId, int propertyKeyId )
+    {
+        return propertyColumns.nodes( labelId, propertyKeyId );
+    }
+
     @Override
     public Cursor<PropertyItem> relationshipGetProperties( StorageStatement statement, RelationshipItem relationship,
             AssertOpen assertOpen )
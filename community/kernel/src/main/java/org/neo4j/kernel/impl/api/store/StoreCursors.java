@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.store;
+
+import java.util.function.IntPredicate;
+
+import org.neo4j.kernel.api.AssertOpen;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.RecordCursors;
+import org.neo4j.storageengine.api.Direction;
+import org.neo4j.storageengine.api.NodeItem;
+
+import static org.neo4j.kernel.impl.locking.LockService.NO_LOCK;
+import static org.neo4j.kernel.impl.locking.LockService.NO_LOCK_SERVICE;
+
+/**
+ * Node, relationship traversal and property cursors which, unlike the cursors acquired from a
+ * {@link org.neo4j.storageengine.api.StorageStatement}, are owned by the caller instead of being pooled per statement.
+ * The cursors read through their own {@link RecordCursors}, keeping their page cursors pinned for as long as this
+ * instance is open, and are re-initialized for every node, traversal or property chain. Labels and properties are
+ * read as primitives, see {@link StoreSingleNodeCursor#visitLabels} and
+ * {@link StorePropertyCursor#propertyKeyId()}, so once warmed up reading the labels of a node or traversing
+ * relationships allocates nothing.
+ * <p>
+ * The cursors can be closed after each use and initialized again, closing this instance releases the page cursors.
+ * No read locks are taken, so property values read by these cursors may be affected by concurrent updates.
+ * Instances are not thread safe.
+ */
+public class StoreCursors implements AutoCloseable
+{
+    private final RecordCursors recordCursors;
+    private final StoreSingleNodeCursor nodeCursor;
+    private final StoreNodeRelationshipCursor relationshipCursor;
+    private final StorePropertyCursor propertyCursor;
+
+    StoreCursors( NeoStores neoStores )
+    {
+        this.recordCursors = new RecordCursors( neoStores );
+        this.nodeCursor = new StoreSingleNodeCursor( neoStores.getNodeStore().newRecord(), ignored -> {}, recordCursors,
+                NO_LOCK_SERVICE );
+        this.relationshipCursor = new StoreNodeRelationshipCursor( neoStores.getRelationshipStore().newRecord(),
+                neoStores.getRelationshipGroupStore().newRecord(), ignored -> {}, recordCursors, NO_LOCK_SERVICE );
+        this.propertyCursor = new StorePropertyCursor( recordCursors, ignored -> {} );
+    }
+
+    /**
+     * @param nodeId id of the node to read.
+     * @return the node cursor, initialized to read the given node on {@link StoreSingleNodeCursor#next()}.
+     */
+    public StoreSingleNodeCursor node( long nodeId )
+    {
+        return nodeCursor.init( nodeId );
+    }
+
+    /**
+     * @param node the node to traverse the relationships of, typically read by {@link #node(long)}.
+     * @param direction direction of the relationships to traverse.
+     * @param relTypes filter of the types of the relationships to traverse.
+     * @return the relationship cursor, initialized to traverse the relationships of the given node.
+     */
+    public StoreNodeRelationshipCursor relationships( NodeItem node, Direction direction, IntPredicate relTypes )
+    {
+        return relationshipCursor.init( node.isDense(), node.nextRelationshipId(), node.id(), direction, relTypes );
+    }
+
+    /**
+     * @param firstPropertyId id of the first property record of a node or relationship,
+     * i.e. {@link NodeItem#nextPropertyId()}.
+     * @return the property cursor, initialized to read the property chain starting at the given record.
+     */
+    public StorePropertyCursor properties( long firstPropertyId )
+    {
+        return propertyCursor.init( firstPropertyId, NO_LOCK, AssertOpen.ALWAYS_OPEN );
+    }
+
+    @Override
+    public void close()
+    {
+        recordCursors.close();
+    }
+}
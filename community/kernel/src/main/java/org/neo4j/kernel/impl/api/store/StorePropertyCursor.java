@@ -48,7 +48,8 @@ public class StorePropertyCursor implements Cursor<PropertyItem>, PropertyItem
     public StorePropertyCursor( RecordCursors cursors, Consumer<StorePropertyCursor> instanceCache )
     {
         this.instanceCache = instanceCache;
-        this.payload = new StorePropertyPayloadCursor( cursors.propertyString(), cursors.propertyArray() );
+        this.payload = new StorePropertyPayloadCursor( cursors.propertyString(), cursors.propertyArray(),
+                cursors.stringDictionary() );
         this.recordCursor = cursors.property();
     }
 
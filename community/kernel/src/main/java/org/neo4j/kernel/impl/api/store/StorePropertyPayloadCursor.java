@@ -26,6 +26,7 @@ import org.neo4j.kernel.impl.store.LongerShortString;
 import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.RecordCursor;
 import org.neo4j.kernel.impl.store.ShortArray;
+import org.neo4j.kernel.impl.store.StringDictionary;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.Record;
@@ -48,6 +49,7 @@ import static org.neo4j.kernel.impl.store.PropertyType.ARRAY;
 import static org.neo4j.kernel.impl.store.PropertyType.BOOL;
 import static org.neo4j.kernel.impl.store.PropertyType.BYTE;
 import static org.neo4j.kernel.impl.store.PropertyType.CHAR;
+import static org.neo4j.kernel.impl.store.PropertyType.DICTIONARY_STRING;
 import static org.neo4j.kernel.impl.store.PropertyType.DOUBLE;
 import static org.neo4j.kernel.impl.store.PropertyType.FLOAT;
 import static org.neo4j.kernel.impl.store.PropertyType.INT;
@@ -79,6 +81,7 @@ class StorePropertyPayloadCursor
 
     private final RecordCursor<DynamicRecord> stringRecordCursor;
     private final RecordCursor<DynamicRecord> arrayRecordCursor;
+    private final StringDictionary stringDictionary;
     private ByteBuffer buffer = cachedBuffer;
 
     private long[] data;
@@ -88,9 +91,16 @@ class StorePropertyPayloadCursor
 
     StorePropertyPayloadCursor( RecordCursor<DynamicRecord> stringRecordCursor,
             RecordCursor<DynamicRecord> arrayRecordCursor )
+    {
+        this( stringRecordCursor, arrayRecordCursor, null );
+    }
+
+    StorePropertyPayloadCursor( RecordCursor<DynamicRecord> stringRecordCursor,
+            RecordCursor<DynamicRecord> arrayRecordCursor, StringDictionary stringDictionary )
     {
         this.stringRecordCursor = stringRecordCursor;
         this.arrayRecordCursor = arrayRecordCursor;
+        this.stringDictionary = stringDictionary;
     }
 
     void init( long[] blocks, int numberOfBlocks )
@@ -212,6 +222,20 @@ class StorePropertyPayloadCursor
         return Values.stringValue( UTF8.decode( buffer.array(), 0, buffer.limit() ) );
     }
 
+    private TextValue dictionaryStringValue()
+    {
+        assertOfType( DICTIONARY_STRING );
+        long reference = PropertyBlock.fetchLong( currentHeader() );
+        TextValue value = stringDictionary != null ? stringDictionary.value( reference ) : null;
+        if ( value == null )
+        {   // Not in the dictionary, e.g. not opened, read the shared chain
+            readFromStore( stringRecordCursor );
+            buffer.flip();
+            value = Values.stringValue( UTF8.decode( buffer.array(), 0, buffer.limit() ) );
+        }
+        return value;
+    }
+
     private Value shortArrayValue()
     {
         assertOfType( SHORT_ARRAY );
@@ -251,6 +275,8 @@ class StorePropertyPayloadCursor
             return shortStringValue();
         case STRING:
             return stringValue();
+        case DICTIONARY_STRING:
+            return dictionaryStringValue();
         case SHORT_ARRAY:
             return shortArrayValue();
         case ARRAY:
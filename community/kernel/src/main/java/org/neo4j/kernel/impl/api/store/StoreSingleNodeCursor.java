@@ -21,15 +21,18 @@ package org.neo4j.kernel.impl.api.store;
 
 import java.util.function.Consumer;
 
-import org.neo4j.collection.primitive.PrimitiveIntCollections;
+import org.neo4j.collection.primitive.Primitive;
 import org.neo4j.collection.primitive.PrimitiveIntSet;
+import org.neo4j.collection.primitive.PrimitiveIntVisitor;
 import org.neo4j.cursor.Cursor;
-import org.neo4j.helpers.Numbers;
 import org.neo4j.kernel.api.StatementConstants;
 import org.neo4j.kernel.impl.locking.Lock;
 import org.neo4j.kernel.impl.locking.LockService;
+import org.neo4j.kernel.impl.store.DynamicNodeLabels;
+import org.neo4j.kernel.impl.store.InlineNodeLabels;
 import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.RecordCursors;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.storageengine.api.NodeItem;
@@ -43,14 +46,21 @@ import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
  */
 public class StoreSingleNodeCursor implements Cursor<NodeItem>, NodeItem
 {
+    private static final int INITIAL_LABELS_CAPACITY = 8;
+
     private final NodeRecord nodeRecord;
+    // Dynamic label records are read into this record, one at a time
+    private final DynamicRecord labelRecord = new DynamicRecord( -1 );
     private final Consumer<StoreSingleNodeCursor> instanceCache;
 
     private final LockService lockService;
     private final RecordCursors recordCursors;
 
     private long nodeId = StatementConstants.NO_SUCH_NODE;
-    private long[] labels;
+    // Labels of the current node, decoded into this array which is reused between nodes and only grows
+    // when a node has more labels than it can hold, only the first labelCount items are valid
+    private long[] labels = new long[INITIAL_LABELS_CAPACITY];
+    private int labelCount = -1;
 
     public StoreSingleNodeCursor( NodeRecord nodeRecord, Consumer<StoreSingleNodeCursor> instanceCache,
             RecordCursors recordCursors, LockService lockService )
@@ -76,7 +86,7 @@ public class StoreSingleNodeCursor implements Cursor<NodeItem>, NodeItem
     @Override
     public boolean next()
     {
-        labels = null;
+        labelCount = -1;
         if ( nodeId != StatementConstants.NO_SUCH_NODE )
         {
             try
@@ -95,7 +105,7 @@ public class StoreSingleNodeCursor implements Cursor<NodeItem>, NodeItem
     @Override
     public void close()
     {
-        labels = null;
+        labelCount = -1;
         nodeRecord.clear();
         instanceCache.accept( this );
     }
@@ -110,24 +120,62 @@ public class StoreSingleNodeCursor implements Cursor<NodeItem>, NodeItem
     public PrimitiveIntSet labels()
     {
         ensureLabels();
-        return PrimitiveIntCollections.asSet( labels, Numbers::safeCastLongToInt );
+        PrimitiveIntSet set = Primitive.intSet( labelCount );
+        for ( int i = 0; i < labelCount; i++ )
+        {
+            set.add( safeCastLongToInt( labels[i] ) );
+        }
+        return set;
+    }
+
+    @Override
+    public <E extends Exception> void visitLabels( PrimitiveIntVisitor<E> visitor ) throws E
+    {
+        ensureLabels();
+        for ( int i = 0; i < labelCount; i++ )
+        {
+            if ( visitor.visited( safeCastLongToInt( labels[i] ) ) )
+            {
+                return;
+            }
+        }
     }
 
     private void ensureLabels()
     {
-        if ( labels == null )
+        if ( labelCount == -1 )
         {
-            labels = NodeLabelsField.get( nodeRecord, recordCursors.label() );
+            long labelField = nodeRecord.getLabelField();
+            if ( NodeLabelsField.fieldPointsToDynamicRecordOfLabels( labelField ) )
+            {
+                int count = readDynamicLabels( labelField );
+                if ( count < 0 )
+                {
+                    labels = new long[-count];
+                    count = readDynamicLabels( labelField );
+                }
+                labelCount = count;
+            }
+            else
+            {
+                labels = InlineNodeLabels.parseInlined( labelField, labels );
+                labelCount = InlineNodeLabels.inlinedLabelCount( labelField );
+            }
         }
     }
 
+    private int readDynamicLabels( long labelField )
+    {
+        return DynamicNodeLabels.readDynamicLabels( labelField, recordCursors.label(), labelRecord, labels );
+    }
+
     @Override
     public boolean hasLabel( int labelId )
     {
         ensureLabels();
-        for ( long label : labels )
+        for ( int i = 0; i < labelCount; i++ )
         {
-            if ( safeCastLongToInt( label ) == labelId )
+            if ( safeCastLongToInt( labels[i] ) == labelId )
             {
                 return true;
             }
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.labelscan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.Hit;
+
+/**
+ * {@link PrimitiveLongIterator} combining the {@link LabelScanValue bit sets} of multiple labels range by range,
+ * instead of node by node. Both {@code AND} and {@code OR} combining is supported, the former being able to
+ * skip past ranges which not all labels have nodes in.
+ * <p>
+ * When one label is far behind the others in an {@code AND} combination, i.e. it has many ranges which can't be
+ * part of the result, its cursor is re-seeked from the range the others are at, instead of reading through all
+ * the ranges in between.
+ * <p>
+ * Cursors are managed externally, e.g. {@link NativeLabelScanReader}, just like for {@link LabelScanValueIterator}.
+ */
+class LabelScanBitmapIterator extends PrimitiveLongCollections.PrimitiveLongBaseIterator
+{
+    /**
+     * Number of ranges to step through in a lagging cursor before re-seeking it instead.
+     */
+    static final int MAX_STEPS_BEFORE_RESEEK = 8;
+
+    /**
+     * Opens new cursors for a label, starting at a given range.
+     */
+    interface Seeker
+    {
+        RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> seek( int labelId, long fromRange ) throws IOException;
+    }
+
+    private final LabelCursor[] cursors;
+    private final boolean trueForAll;
+    private final Seeker seeker;
+    private final Collection<RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException>> toRemoveFromWhenExhausted;
+    private boolean initialized;
+
+    /**
+     * Base node id of the current combined bit set.
+     */
+    private long baseNodeId;
+
+    /**
+     * Current combined bit set.
+     */
+    private final long[] words = new long[LabelScanValue.WORDS];
+
+    /**
+     * Index of the word in {@link #words} currently being iterated over.
+     */
+    private int wordIndex = LabelScanValue.WORDS;
+
+    /**
+     * Remaining bits of the current word.
+     */
+    private long bits;
+
+    /**
+     * @param labelIds label ids to combine.
+     * @param trueForAll if {@code true} using {@code AND} combining, otherwise {@code OR} combining.
+     * @param seeker opens cursors for the labels, both initially and when re-seeking.
+     * @param toRemoveFromWhenExhausted collection to remove cursors from when they get closed.
+     */
+    LabelScanBitmapIterator( int[] labelIds, boolean trueForAll, Seeker seeker,
+            Collection<RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException>> toRemoveFromWhenExhausted )
+    {
+        this.trueForAll = trueForAll;
+        this.seeker = seeker;
+        this.toRemoveFromWhenExhausted = toRemoveFromWhenExhausted;
+        this.cursors = new LabelCursor[labelIds.length];
+        for ( int i = 0; i < labelIds.length; i++ )
+        {
+            cursors[i] = new LabelCursor( labelIds[i] );
+        }
+    }
+
+    @Override
+    protected boolean fetchNext()
+    {
+        try
+        {
+            if ( !initialized )
+            {
+                initialized = true;
+                for ( LabelCursor cursor : cursors )
+                {
+                    cursor.open( 0 );
+                    cursor.next();
+                }
+            }
+
+            while ( bits == 0 )
+            {
+                if ( ++wordIndex < LabelScanValue.WORDS )
+                {
+                    bits = words[wordIndex];
+                }
+                else if ( trueForAll ? nextIntersection() : nextUnion() )
+                {
+                    wordIndex = 0;
+                    bits = words[0];
+                }
+                else
+                {
+                    closeAll();
+                    return false;
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+
+        int delta = Long.numberOfTrailingZeros( bits );
+        bits &= bits - 1;
+        return next( baseNodeId + wordIndex * Long.SIZE + delta );
+    }
+
+    /**
+     * Aligns all cursors on the lowest range they all have and sets {@link #words} to the intersection of their
+     * bit sets in that range.
+     *
+     * @return {@code false} if any of the cursors got exhausted, otherwise {@code true}.
+     */
+    private boolean nextIntersection() throws IOException
+    {
+        if ( cursors.length == 0 )
+        {
+            return false;
+        }
+
+        long target = -1;
+        for ( LabelCursor cursor : cursors )
+        {
+            if ( cursor.exhausted )
+            {
+                return false;
+            }
+            target = Math.max( target, cursor.idRange );
+        }
+
+        boolean aligned;
+        do
+        {
+            aligned = true;
+            for ( LabelCursor cursor : cursors )
+            {
+                if ( cursor.idRange < target && !cursor.skipTo( target ) )
+                {
+                    return false;
+                }
+                if ( cursor.idRange > target )
+                {
+                    target = cursor.idRange;
+                    aligned = false;
+                }
+            }
+        }
+        while ( !aligned );
+
+        Arrays.fill( words, -1L );
+        for ( LabelCursor cursor : cursors )
+        {
+            for ( int i = 0; i < LabelScanValue.WORDS; i++ )
+            {
+                words[i] &= cursor.value.words[i];
+            }
+            cursor.next();
+        }
+        baseNodeId = target * LabelScanValue.RANGE_SIZE;
+        return true;
+    }
+
+    /**
+     * Sets {@link #words} to the union of the bit sets of all cursors in the lowest range any of them is at
+     * and moves those cursors to their next range.
+     *
+     * @return {@code false} if all cursors are exhausted, otherwise {@code true}.
+     */
+    private boolean nextUnion() throws IOException
+    {
+        long lowest = Long.MAX_VALUE;
+        for ( LabelCursor cursor : cursors )
+        {
+            if ( !cursor.exhausted )
+            {
+                lowest = Math.min( lowest, cursor.idRange );
+            }
+        }
+        if ( lowest == Long.MAX_VALUE )
+        {
+            return false;
+        }
+
+        Arrays.fill( words, 0 );
+        for ( LabelCursor cursor : cursors )
+        {
+            if ( !cursor.exhausted && cursor.idRange == lowest )
+            {
+                for ( int i = 0; i < LabelScanValue.WORDS; i++ )
+                {
+                    words[i] |= cursor.value.words[i];
+                }
+                cursor.next();
+            }
+        }
+        baseNodeId = lowest * LabelScanValue.RANGE_SIZE;
+        return true;
+    }
+
+    private void closeAll() throws IOException
+    {
+        for ( LabelCursor cursor : cursors )
+        {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Cursor over the ranges of one label, remembering range and bit set of the current hit, since hits
+     * from {@link RawCursor} are reused between calls to {@link RawCursor#next()}.
+     */
+    private class LabelCursor
+    {
+        private final int labelId;
+        private RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor;
+        private long idRange = -1;
+        private final LabelScanValue value = new LabelScanValue();
+        private boolean exhausted;
+
+        LabelCursor( int labelId )
+        {
+            this.labelId = labelId;
+        }
+
+        void open( long fromRange ) throws IOException
+        {
+            cursor = seeker.seek( labelId, fromRange );
+        }
+
+        boolean next() throws IOException
+        {
+            if ( exhausted )
+            {
+                return false;
+            }
+            if ( !cursor.next() )
+            {
+                exhausted = true;
+                close();
+                return false;
+            }
+            Hit<LabelScanKey,LabelScanValue> hit = cursor.get();
+            assert hit.key().idRange > idRange : "Expected to get ordered results, got " + hit.key() +
+                    " where previous range was " + idRange;
+            idRange = hit.key().idRange;
+            value.copyFrom( hit.value() );
+            return true;
+        }
+
+        /**
+         * Moves this cursor to the first range at or after {@code target}.
+         *
+         * @return {@code false} if this cursor got exhausted before reaching {@code target}, otherwise {@code true}.
+         */
+        boolean skipTo( long target ) throws IOException
+        {
+            int steps = 0;
+            while ( idRange < target )
+            {
+                if ( ++steps > MAX_STEPS_BEFORE_RESEEK )
+                {
+                    close();
+                    open( target );
+                    steps = 0;
+                }
+                if ( !next() )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void close() throws IOException
+        {
+            if ( cursor != null )
+            {
+                cursor.close();
+                toRemoveFromWhenExhausted.remove( cursor );
+                cursor = null;
+            }
+        }
+    }
+}
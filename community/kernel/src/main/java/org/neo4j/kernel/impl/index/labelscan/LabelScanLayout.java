@@ -28,13 +28,23 @@ import org.neo4j.io.pagecache.PageCursor;
  *
  * <ul>
  * <li>
- * Each keys is a combination of {@code labelId} and {@code nodeIdRange} ({@code nodeId/64}).
+ * Each keys is a combination of {@code labelId} and {@code nodeIdRange} ({@code nodeId/RANGE_SIZE}).
  * </li>
  * <li>
- * Each value is a 64-bit bit set (a primitive {@code long}) where each set bit in it represents
- * a node with that label, such that {@code nodeId = nodeIdRange+bitOffset}. Range size is 64 bits.
+ * Each value is a bit set of {@link LabelScanValue#RANGE_SIZE} bits where each set bit in it represents
+ * a node with that label, such that {@code nodeId = nodeIdRange*RANGE_SIZE+bitOffset}.
  * </li>
  * </ul>
+ * <p>
+ * Values are of varying size. Each value is stored as the smallest of three container types, chosen when written:
+ * <ul>
+ * <li>{@link #TYPE_ARRAY}: sorted offsets of the set bits, two bytes each. Used for sparse ranges.</li>
+ * <li>{@link #TYPE_RUN}: offset and length minus one of each run of consecutive set bits, two bytes each.
+ * Used for ranges of mostly consecutive nodes, e.g. after bulk creation of nodes with the same labels.</li>
+ * <li>{@link #TYPE_BITMAP}: the plain bit set. Used for dense ranges without long runs.</li>
+ * </ul>
+ * Stores of older versions, with ranges of 64 nodes stored as plain {@code long}, don't match the
+ * {@link #identifier()} of this layout and are rebuilt by {@link NativeLabelScanStore} on startup.
  */
 class LabelScanLayout extends Layout.Adapter<LabelScanKey,LabelScanValue>
 {
@@ -48,6 +58,16 @@ class LabelScanLayout extends Layout.Adapter<LabelScanKey,LabelScanValue>
      */
     private static final int KEY_SIZE = Integer.BYTES/*labelId*/ + 6/*idRange*/;
 
+    static final byte TYPE_ARRAY = 0;
+    static final byte TYPE_RUN = 1;
+    static final byte TYPE_BITMAP = 2;
+
+    private static final int SIZE_TYPE = Byte.BYTES;
+    private static final int SIZE_ARRAY_ENTRY = Short.BYTES;
+    private static final int SIZE_RUN = 2 * Short.BYTES;
+    private static final int SIZE_BITMAP = LabelScanValue.WORDS * Long.BYTES;
+    private static final int OFFSET_MASK = LabelScanValue.RANGE_SIZE - 1;
+
     /**
      * Compares {@link LabelScanKey}, giving ascending order of {@code labelId} then {@code nodeIdRange}.
      */
@@ -84,10 +104,52 @@ class LabelScanLayout extends Layout.Adapter<LabelScanKey,LabelScanValue>
         return KEY_SIZE;
     }
 
+    /**
+     * @return max size of a value, i.e. a {@link #TYPE_BITMAP} container, since the other containers are only
+     * used when smaller than that.
+     */
     @Override
     public int valueSize()
     {
-        return LabelScanValue.RANGE_SIZE_BYTES;
+        return SIZE_TYPE + SIZE_BITMAP;
+    }
+
+    @Override
+    public int valueSize( LabelScanValue value )
+    {
+        int cardinality = value.cardinality();
+        int runs = value.runs();
+        return SIZE_TYPE + containerSize( containerType( cardinality, runs ), cardinality, runs );
+    }
+
+    @Override
+    public boolean fixedValueSize()
+    {
+        return false;
+    }
+
+    private static byte containerType( int cardinality, int runs )
+    {
+        int arraySize = cardinality * SIZE_ARRAY_ENTRY;
+        int runSize = runs * SIZE_RUN;
+        if ( arraySize <= runSize && arraySize < SIZE_BITMAP )
+        {
+            return TYPE_ARRAY;
+        }
+        return runSize < SIZE_BITMAP ? TYPE_RUN : TYPE_BITMAP;
+    }
+
+    private static int containerSize( byte type, int cardinality, int runs )
+    {
+        switch ( type )
+        {
+        case TYPE_ARRAY:
+            return cardinality * SIZE_ARRAY_ENTRY;
+        case TYPE_RUN:
+            return runs * SIZE_RUN;
+        default:
+            return SIZE_BITMAP;
+        }
     }
 
     @Override
@@ -106,7 +168,43 @@ class LabelScanLayout extends Layout.Adapter<LabelScanKey,LabelScanValue>
     @Override
     public void writeValue( PageCursor cursor, LabelScanValue value )
     {
-        cursor.putLong( value.bits );
+        byte type = containerType( value.cardinality(), value.runs() );
+        cursor.putByte( type );
+        long[] words = value.words;
+        switch ( type )
+        {
+        case TYPE_ARRAY:
+            for ( int i = 0; i < words.length; i++ )
+            {
+                for ( long word = words[i]; word != 0; word &= word - 1 )
+                {
+                    cursor.putShort( (short) (i * Long.SIZE + Long.numberOfTrailingZeros( word )) );
+                }
+            }
+            break;
+        case TYPE_RUN:
+            int runStart = -1;
+            for ( int index = 0; index <= LabelScanValue.RANGE_SIZE; index++ )
+            {
+                boolean set = index < LabelScanValue.RANGE_SIZE && (words[index >>> 6] & (1L << index)) != 0;
+                if ( set && runStart == -1 )
+                {
+                    runStart = index;
+                }
+                else if ( !set && runStart != -1 )
+                {
+                    cursor.putShort( (short) runStart );
+                    cursor.putShort( (short) (index - runStart - 1) );
+                    runStart = -1;
+                }
+            }
+            break;
+        default:
+            for ( long word : words )
+            {
+                cursor.putLong( word );
+            }
+        }
     }
 
     @Override
@@ -126,7 +224,52 @@ class LabelScanLayout extends Layout.Adapter<LabelScanKey,LabelScanValue>
     @Override
     public void readValue( PageCursor cursor, LabelScanValue into )
     {
-        into.bits = cursor.getLong();
+        throw new UnsupportedOperationException( "Value size must be known when reading label scan values" );
+    }
+
+    /**
+     * Reads a container written by {@link #writeValue(PageCursor, LabelScanValue)}. Values may be read
+     * while being concurrently written, in which case they are read again later. Offsets and lengths are
+     * therefore masked to be within the range and an unknown container type reads as empty, instead of failing.
+     */
+    @Override
+    public void readValue( PageCursor cursor, LabelScanValue into, int valueSize )
+    {
+        into.clear();
+        if ( valueSize < SIZE_TYPE )
+        {
+            return;
+        }
+        byte type = cursor.getByte();
+        int containerSize = valueSize - SIZE_TYPE;
+        switch ( type )
+        {
+        case TYPE_ARRAY:
+            for ( int i = 0; i < containerSize / SIZE_ARRAY_ENTRY; i++ )
+            {
+                into.set( cursor.getShort() & OFFSET_MASK );
+            }
+            break;
+        case TYPE_RUN:
+            for ( int i = 0; i < containerSize / SIZE_RUN; i++ )
+            {
+                int start = cursor.getShort() & OFFSET_MASK;
+                int length = (cursor.getShort() & OFFSET_MASK) + 1;
+                into.setRange( start, Math.min( start + length, LabelScanValue.RANGE_SIZE ) );
+            }
+            break;
+        case TYPE_BITMAP:
+            if ( containerSize == SIZE_BITMAP )
+            {
+                for ( int i = 0; i < LabelScanValue.WORDS; i++ )
+                {
+                    into.words[i] = cursor.getLong();
+                }
+            }
+            break;
+        default:
+            // Inconsistent read, leave empty
+        }
     }
 
     @Override
@@ -138,12 +281,12 @@ class LabelScanLayout extends Layout.Adapter<LabelScanKey,LabelScanValue>
     @Override
     public int majorVersion()
     {
-        return 0;
+        return 1;
     }
 
     @Override
     public int minorVersion()
     {
-        return 1;
+        return 0;
     }
 }
@@ -19,28 +19,31 @@
  */
 package org.neo4j.kernel.impl.index.labelscan;
 
+import java.util.Arrays;
+
 /**
- * A small bit set of maximum 64 bits. Used in {@link LabelScanLayout}.
+ * A bit set of {@link #RANGE_SIZE} bits, kept as {@link #WORDS} words of 64 bits each. Used in {@link LabelScanLayout},
+ * which stores it compressed, see {@link LabelScanLayout#writeValue(org.neo4j.io.pagecache.PageCursor, LabelScanValue)}.
  */
 class LabelScanValue
 {
-    static final int RANGE_SIZE = Long.SIZE;
-    static final int RANGE_SIZE_BYTES = Long.BYTES;
+    static final int RANGE_SIZE = 1024;
+    static final int WORDS = RANGE_SIZE / Long.SIZE;
 
     /**
-     * Small bit set.
+     * Bit set, where bit {@code index} is bit {@code index % 64} of word {@code index / 64}.
      */
-    long bits;
+    final long[] words = new long[WORDS];
 
     /**
-     * Sets bit at given {@code index}, where {@code index=0} is the lowest index, {@code index=63} the highest.
+     * Sets bit at given {@code index}, where {@code index=0} is the lowest index,
+     * {@code index=RANGE_SIZE-1} the highest.
      *
      * @param index index into the bit set of the bit to set.
      */
     void set( int index )
     {
-        long mask = 1L << index;
-        bits |= mask;
+        words[index >>> 6] |= 1L << index;
     }
 
     /**
@@ -52,7 +55,10 @@ class LabelScanValue
      */
     LabelScanValue add( LabelScanValue other )
     {
-        bits |= other.bits;
+        for ( int i = 0; i < WORDS; i++ )
+        {
+            words[i] |= other.words[i];
+        }
         return this;
     }
 
@@ -66,7 +72,10 @@ class LabelScanValue
      */
     LabelScanValue remove( LabelScanValue other )
     {
-        bits &= ~other.bits;
+        for ( int i = 0; i < WORDS; i++ )
+        {
+            words[i] &= ~other.words[i];
+        }
         return this;
     }
 
@@ -75,12 +84,76 @@ class LabelScanValue
      */
     void clear()
     {
-        bits = 0;
+        Arrays.fill( words, 0 );
+    }
+
+    /**
+     * @return whether or not no bits are set in this bit set.
+     */
+    boolean isEmpty()
+    {
+        for ( long word : words )
+        {
+            if ( word != 0 )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return number of set bits in this bit set.
+     */
+    int cardinality()
+    {
+        int cardinality = 0;
+        for ( long word : words )
+        {
+            cardinality += Long.bitCount( word );
+        }
+        return cardinality;
+    }
+
+    /**
+     * @return number of runs of consecutive set bits in this bit set.
+     */
+    int runs()
+    {
+        int runs = 0;
+        long carry = 0;
+        for ( long word : words )
+        {
+            // A run starts at each set bit which doesn't have a set bit right below it
+            runs += Long.bitCount( word & ~((word << 1) | carry) );
+            carry = word >>> (Long.SIZE - 1);
+        }
+        return runs;
+    }
+
+    /**
+     * Sets all bits from {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    void setRange( int from, int to )
+    {
+        for ( int index = from; index < to; )
+        {
+            int word = index >>> 6;
+            int end = Math.min( to, (word + 1) << 6 );
+            long mask = -1L >>> (Long.SIZE - (end - index)) << index;
+            words[word] |= mask;
+            index = end;
+        }
+    }
+
+    void copyFrom( LabelScanValue other )
+    {
+        System.arraycopy( other.words, 0, words, 0, WORDS );
     }
 
     @Override
     public String toString()
     {
-        return String.valueOf( bits );
+        return Arrays.toString( words );
     }
 }
@@ -48,7 +48,18 @@ class LabelScanValueIterator extends PrimitiveLongCollections.PrimitiveLongBaseI
     private long baseNodeId;
 
     /**
-     * Bit set of the current {@link LabelScanValue}.
+     * Bit set of the current {@link LabelScanValue}, copied since hits are reused between calls to
+     * {@link RawCursor#next()}.
+     */
+    private final LabelScanValue value = new LabelScanValue();
+
+    /**
+     * Index of the word in {@link #value} currently being iterated over.
+     */
+    private int wordIndex = LabelScanValue.WORDS;
+
+    /**
+     * Remaining bits of the current word.
      */
     private long bits;
 
@@ -93,6 +104,11 @@ class LabelScanValueIterator extends PrimitiveLongCollections.PrimitiveLongBaseI
             {
                 return nextFromCurrent();
             }
+            if ( ++wordIndex < LabelScanValue.WORDS )
+            {
+                bits = value.words[wordIndex];
+                continue;
+            }
 
             try
             {
@@ -109,7 +125,9 @@ class LabelScanValueIterator extends PrimitiveLongCollections.PrimitiveLongBaseI
 
             Hit<LabelScanKey,LabelScanValue> hit = cursor.get();
             baseNodeId = hit.key().idRange * LabelScanValue.RANGE_SIZE;
-            bits = hit.value().bits;
+            value.copyFrom( hit.value() );
+            wordIndex = 0;
+            bits = value.words[0];
 
             assert keysInOrder( hit.key() );
         }
@@ -141,6 +159,6 @@ class LabelScanValueIterator extends PrimitiveLongCollections.PrimitiveLongBaseI
     {
         int delta = Long.numberOfTrailingZeros( bits );
         bits &= bits - 1;
-        return next( baseNodeId + delta );
+        return next( baseNodeId + wordIndex * Long.SIZE + delta );
     }
 }
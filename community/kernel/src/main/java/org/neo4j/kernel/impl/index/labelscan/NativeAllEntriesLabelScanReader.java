@@ -153,9 +153,12 @@ class NativeAllEntriesLabelScanReader implements AllEntriesLabelScanReader
                     }
                     else if ( idRange == currentRange )
                     {
-                        long bits = cursor.get().value().bits;
+                        long[] words = cursor.get().value().words;
                         long labelId = cursor.get().key().labelId;
-                        readBitmap( bits, labelId, labelsForEachNode );
+                        for ( int i = 0; i < words.length; i++ )
+                        {
+                            readBitmap( words[i], i * Long.SIZE, labelId, labelsForEachNode );
+                        }
 
                         // Advance cursor and look ahead to the next range
                         if ( cursor.next() )
@@ -21,9 +21,7 @@ package org.neo4j.kernel.impl.index.labelscan;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
@@ -82,7 +80,7 @@ class NativeLabelScanReader implements LabelScanReader
         RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor;
         try
         {
-            cursor = seekerForLabel( labelId );
+            cursor = seekerForLabel( labelId, 0 );
             openCursors.add( cursor );
         }
         catch ( IOException e )
@@ -96,39 +94,27 @@ class NativeLabelScanReader implements LabelScanReader
     @Override
     public PrimitiveLongIterator nodesWithAnyOfLabels( int... labelIds )
     {
-        List<PrimitiveLongIterator> iterators = iteratorsForLabels( labelIds );
-        return new CompositeLabelScanValueIterator( iterators, false );
+        return new LabelScanBitmapIterator( labelIds, false, this::openCursor, openCursors );
     }
 
     @Override
     public PrimitiveLongIterator nodesWithAllLabels( int... labelIds )
     {
-        List<PrimitiveLongIterator> iterators = iteratorsForLabels( labelIds );
-        return new CompositeLabelScanValueIterator( iterators, true );
+        return new LabelScanBitmapIterator( labelIds, true, this::openCursor, openCursors );
     }
 
-    private List<PrimitiveLongIterator> iteratorsForLabels( int[] labelIds )
+    private RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> openCursor( int labelId, long fromRange )
+            throws IOException
     {
-        List<PrimitiveLongIterator> iterators = new ArrayList<>();
-        try
-        {
-            for ( int labelId : labelIds )
-            {
-                RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor = seekerForLabel( labelId );
-                openCursors.add( cursor );
-                iterators.add( new LabelScanValueIterator( cursor, openCursors ) );
-            }
-        }
-        catch ( IOException e )
-        {
-            throw new UncheckedIOException( e );
-        }
-        return iterators;
+        RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor = seekerForLabel( labelId, fromRange );
+        openCursors.add( cursor );
+        return cursor;
     }
 
-    private RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> seekerForLabel( int labelId ) throws IOException
+    private RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> seekerForLabel( int labelId, long fromRange )
+            throws IOException
     {
-        LabelScanKey from = new LabelScanKey( labelId, 0 );
+        LabelScanKey from = new LabelScanKey( labelId, fromRange );
         LabelScanKey to = new LabelScanKey( labelId, Long.MAX_VALUE );
         return index.seek( from, to );
     }
@@ -62,14 +62,14 @@ import static org.neo4j.kernel.impl.store.MetaDataStore.DEFAULT_NAME;
  * About the {@link Layout} used in this instance of {@link GBPTree}:
  * <ul>
  * <li>
- * Each keys is a combination of {@code labelId} and {@code nodeIdRange} ({@code nodeId/64}).
+ * Each keys is a combination of {@code labelId} and {@code nodeIdRange} ({@code nodeId/1024}).
  * </li>
  * <li>
- * Each value is a 64-bit bit set (a primitive {@code long}) where each set bit in it represents
- * a node with that label, such that {@code nodeId = nodeIdRange+bitOffset}. Range size (e.g. 64 bits)
- * is configurable on initial creation of the store, 8, 16, 32 or 64.
+ * Each value is a 1024-bit bit set where each set bit in it represents a node with that label,
+ * such that {@code nodeId = nodeIdRange*1024+bitOffset}. Values are stored compressed, see {@link LabelScanLayout}.
  * </li>
  * </ul>
+ * A store written with another layout, e.g. by an older version, is rebuilt from the node store on startup.
  * <p>
  * {@link #force(IOLimiter)} is vital for allowing this store to be recoverable, and must be called
  * whenever Neo4j performs a checkpoint.
@@ -181,15 +181,27 @@ public class NativeLabelScanStore implements LabelScanStore
     NativeLabelScanStore( PageCache pageCache, File storeDir,
                 FullStoreChangeStream fullStoreChangeStream, boolean readOnly, Monitors monitors,
                 RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, int pageSize )
+    {
+        this( pageCache, getLabelScanStoreFile( storeDir ), fullStoreChangeStream, readOnly, monitors,
+                monitors.newMonitor( Monitor.class ), recoveryCleanupWorkCollector, pageSize );
+    }
+
+    /*
+     * Used by other scan stores sharing this token to entity id layout, e.g. {@link NativeRelationshipTypeScanStore},
+     * backed by a different store file.
+     */
+    NativeLabelScanStore( PageCache pageCache, File storeFile, FullStoreChangeStream fullStoreChangeStream,
+            boolean readOnly, Monitors monitors, Monitor monitor,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector, int pageSize )
     {
         this.pageCache = pageCache;
         this.pageSize = pageSize;
         this.fullStoreChangeStream = fullStoreChangeStream;
-        this.storeFile = getLabelScanStoreFile( storeDir );
+        this.storeFile = storeFile;
         this.singleWriter = new NativeLabelScanWriter( 1_000 );
         this.readOnly = readOnly;
         this.monitors = monitors;
-        this.monitor = monitors.newMonitor( Monitor.class );
+        this.monitor = monitor;
         this.recoveryCleanupWorkCollector = recoveryCleanupWorkCollector;
         this.gbpTreeUtil = new GBPTreePageCacheFileUtil( pageCache );
     }
@@ -243,7 +243,7 @@ class NativeLabelScanWriter implements LabelScanWriter
 
     private void flushPendingRange() throws IOException
     {
-        if ( value.bits != 0 )
+        if ( !value.isEmpty() )
         {
             // There are changes in the current range, flush them
             writer.merge( key, value, addition ? ADD_MERGER : REMOVE_MERGER );
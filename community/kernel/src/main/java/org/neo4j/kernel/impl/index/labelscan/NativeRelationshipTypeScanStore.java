@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.labelscan;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.labelscan.AllEntriesLabelScanReader;
+import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.LabelScanWriter;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
+import org.neo4j.kernel.impl.api.scan.FullStoreChangeStream;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+import org.neo4j.kernel.monitoring.Monitors;
+import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
+
+import static org.neo4j.kernel.impl.store.MetaDataStore.DEFAULT_NAME;
+
+/**
+ * {@link RelationshipTypeScanStore} which is implemented using {@link GBPTree} atop a {@link PageCache}.
+ * Uses the same layout as {@link NativeLabelScanStore}, i.e. keys are a combination of {@code relationshipTypeId}
+ * and {@code relationshipIdRange} and values are bit sets where each set bit represents a relationship of that type.
+ * Rebuilding, recovery and checkpointing all work the same way as for {@link NativeLabelScanStore}.
+ * <p>
+ * This store is backed by a single store file "neostore.relationshiptypescanstore.db".
+ */
+public class NativeRelationshipTypeScanStore implements RelationshipTypeScanStore
+{
+    /**
+     * Name of the file used for the native relationship type scan store.
+     */
+    public static final String FILE_NAME = DEFAULT_NAME + ".relationshiptypescanstore.db";
+
+    private final NativeLabelScanStore store;
+
+    public NativeRelationshipTypeScanStore( PageCache pageCache, File storeDir,
+            FullStoreChangeStream fullStoreChangeStream, boolean readOnly, Monitors monitors,
+            RecoveryCleanupWorkCollector recoveryCleanupWorkCollector )
+    {
+        this.store = new NativeLabelScanStore( pageCache, getRelationshipTypeScanStoreFile( storeDir ),
+                fullStoreChangeStream, readOnly, monitors,
+                monitors.newMonitor( LabelScanStore.Monitor.class, NativeRelationshipTypeScanStore.class ),
+                recoveryCleanupWorkCollector, /*means no opinion about page size*/ 0 );
+    }
+
+    /**
+     * Returns the file backing the relationship type scan store.
+     *
+     * @param storeDir The store directory to use.
+     * @return the file backing the relationship type scan store
+     */
+    public static File getRelationshipTypeScanStoreFile( File storeDir )
+    {
+        return new File( storeDir, FILE_NAME );
+    }
+
+    @Override
+    public RelationshipTypeScanReader newReader()
+    {
+        LabelScanReader reader = store.newReader();
+        return new RelationshipTypeScanReader()
+        {
+            @Override
+            public PrimitiveLongIterator relationshipsWithType( int relationshipTypeId )
+            {
+                return reader.nodesWithLabel( relationshipTypeId );
+            }
+
+            @Override
+            public void close()
+            {
+                reader.close();
+            }
+        };
+    }
+
+    @Override
+    public LabelScanWriter newWriter()
+    {
+        return store.newWriter();
+    }
+
+    @Override
+    public void force( IOLimiter limiter ) throws UnderlyingStorageException
+    {
+        store.force( limiter );
+    }
+
+    @Override
+    public AllEntriesLabelScanReader allRelationshipTypeRanges()
+    {
+        return store.allNodeLabelRanges();
+    }
+
+    @Override
+    public ResourceIterator<File> snapshotStoreFiles() throws IOException
+    {
+        return store.snapshotStoreFiles();
+    }
+
+    @Override
+    public boolean isEmpty() throws IOException
+    {
+        return store.isEmpty();
+    }
+
+    @Override
+    public void init() throws IOException
+    {
+        store.init();
+    }
+
+    @Override
+    public void start() throws IOException
+    {
+        store.start();
+    }
+
+    @Override
+    public void stop() throws IOException
+    {
+        store.stop();
+    }
+
+    @Override
+    public void shutdown() throws IOException
+    {
+        store.shutdown();
+    }
+
+    @Override
+    public void drop() throws IOException
+    {
+        store.drop();
+    }
+
+    @Override
+    public boolean isReadOnly()
+    {
+        return store.isReadOnly();
+    }
+
+    @Override
+    public boolean isDirty()
+    {
+        return store.isDirty();
+    }
+
+    @Override
+    public File getRelationshipTypeScanStoreFile()
+    {
+        return store.getLabelScanStoreFile();
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * {@link Layout} for composite keys of numbers, i.e. keys of indexes on multiple properties where all values are numbers.
+ * Number of values is part of the identifier so that a tree can't be opened with a layout of a different number of values.
+ * <p>
+ * Keys are of dynamic size, see {@link CompositeSchemaNumberKey#storedValues()}, so that separator keys in internal
+ * tree nodes only need to store the values needed to separate their children.
+ */
+abstract class CompositeNumberLayout extends Layout.Adapter<CompositeSchemaNumberKey,NativeSchemaValue>
+{
+    private final int numberOfValues;
+
+    CompositeNumberLayout( int numberOfValues )
+    {
+        this.numberOfValues = numberOfValues;
+    }
+
+    /**
+     * Identifiers of composite layouts differ in checksum part, which is the number of values.
+     *
+     * @return whether or not the two identifiers have the same name, regardless of number of values.
+     */
+    static boolean sameIdentifierName( long identifier, long otherIdentifier )
+    {
+        return identifier >>> Integer.SIZE == otherIdentifier >>> Integer.SIZE;
+    }
+
+    int numberOfValues()
+    {
+        return numberOfValues;
+    }
+
+    @Override
+    public CompositeSchemaNumberKey newKey()
+    {
+        return new CompositeSchemaNumberKey( numberOfValues );
+    }
+
+    @Override
+    public CompositeSchemaNumberKey copyKey( CompositeSchemaNumberKey key, CompositeSchemaNumberKey into )
+    {
+        System.arraycopy( key.types, 0, into.types, 0, numberOfValues );
+        System.arraycopy( key.rawValueBits, 0, into.rawValueBits, 0, numberOfValues );
+        into.entityId = key.entityId;
+        into.entityIdIsSpecialTieBreaker = key.entityIdIsSpecialTieBreaker;
+        return into;
+    }
+
+    @Override
+    public NativeSchemaValue newValue()
+    {
+        return NativeSchemaValue.INSTANCE;
+    }
+
+    @Override
+    public int keySize()
+    {
+        return CompositeSchemaNumberKey.size( numberOfValues );
+    }
+
+    @Override
+    public int keySize( CompositeSchemaNumberKey key )
+    {
+        return CompositeSchemaNumberKey.size( key.storedValues() );
+    }
+
+    @Override
+    public boolean fixedSize()
+    {
+        return false;
+    }
+
+    @Override
+    public int valueSize()
+    {
+        return NativeSchemaValue.SIZE;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, CompositeSchemaNumberKey key )
+    {
+        int storedValues = key.storedValues();
+        cursor.putByte( (byte) storedValues );
+        for ( int slot = 0; slot < storedValues; slot++ )
+        {
+            cursor.putByte( key.types[slot] );
+            cursor.putLong( key.rawValueBits[slot] );
+        }
+        cursor.putLong( key.entityId );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, NativeSchemaValue value )
+    {
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, CompositeSchemaNumberKey into )
+    {
+        throw new UnsupportedOperationException( "Keys of " + this + " are of dynamic size, key size must be provided" );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, CompositeSchemaNumberKey into, int keySize )
+    {
+        int storedValues = cursor.getByte();
+        if ( storedValues < 0 || storedValues > numberOfValues ||
+             keySize != CompositeSchemaNumberKey.size( storedValues ) )
+        {
+            // Inconsistent read, which will be retried. Just make sure we read within the bounds of the key.
+            storedValues = 0;
+        }
+        for ( int slot = 0; slot < storedValues; slot++ )
+        {
+            into.types[slot] = cursor.getByte();
+            into.rawValueBits[slot] = cursor.getLong();
+        }
+        for ( int slot = storedValues; slot < numberOfValues; slot++ )
+        {
+            into.initSlotAsLowest( slot );
+        }
+        into.entityId = cursor.getLong();
+    }
+
+    /**
+     * Separator has the values of {@code right} up to and including the first value differing from {@code left},
+     * followed by lowest values, which aren't stored. Such a key is never greater than {@code right},
+     * so entity id of {@code right} is used for it regardless of whether or not it was shortened.
+     */
+    @Override
+    public void minimalSplitter( CompositeSchemaNumberKey left, CompositeSchemaNumberKey right,
+            CompositeSchemaNumberKey into )
+    {
+        int slot = 0;
+        while ( slot < numberOfValues && RawBits.compare( left.rawValueBits[slot], left.types[slot],
+                right.rawValueBits[slot], right.types[slot] ) == 0 )
+        {
+            slot++;
+        }
+        int separatorValues = Math.min( slot + 1, numberOfValues );
+        System.arraycopy( right.types, 0, into.types, 0, separatorValues );
+        System.arraycopy( right.rawValueBits, 0, into.rawValueBits, 0, separatorValues );
+        for ( int lowest = separatorValues; lowest < numberOfValues; lowest++ )
+        {
+            into.initSlotAsLowest( lowest );
+        }
+        into.entityId = right.entityId;
+        into.entityIdIsSpecialTieBreaker = false;
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, NativeSchemaValue into )
+    {
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.values.storable.NumberValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static java.lang.String.format;
+
+/**
+ * Includes values of multiple properties and entity id (to be able to handle non-unique values).
+ * Each value is a number, represented the same way as in {@link SchemaNumberKey}, i.e. raw bits and a type.
+ * Keys are ordered by comparing values one by one, i.e. a key prefix of exact values followed by a range
+ * on the next value is a contiguous range of keys in the tree.
+ */
+class CompositeSchemaNumberKey extends NativeSchemaKey
+{
+    private static final int VALUE_SIZE =
+            Byte.BYTES + /* type of value */
+            Long.BYTES;  /* raw value bits */
+
+    final byte[] types;
+    final long[] rawValueBits;
+
+    /**
+     * Index of value written to by the {@link org.neo4j.values.storable.ValueWriter} methods.
+     */
+    private int currentSlot;
+
+    CompositeSchemaNumberKey( int numberOfValues )
+    {
+        this.types = new byte[numberOfValues];
+        this.rawValueBits = new long[numberOfValues];
+    }
+
+    private static final long LOWEST_RAW_BITS = Double.doubleToLongBits( Double.NEGATIVE_INFINITY );
+
+    /**
+     * @param numberOfValues number of values in the key.
+     * @return size of a key with the given number of values.
+     */
+    static int size( int numberOfValues )
+    {
+        return Byte.BYTES + /* number of stored values */
+               numberOfValues * VALUE_SIZE +
+               Long.BYTES; /* entityId */
+    }
+
+    /**
+     * Trailing values which are {@link #initSlotAsLowest(int) lowest} aren't stored in the tree, they are
+     * implied when reading the key. Separator keys chosen when splitting tree nodes are made short this way.
+     *
+     * @return number of values to store in the tree for this key.
+     */
+    int storedValues()
+    {
+        int count = types.length;
+        while ( count > 0 && isLowest( count - 1 ) )
+        {
+            count--;
+        }
+        return count;
+    }
+
+    private boolean isLowest( int slot )
+    {
+        return types[slot] == RawBits.DOUBLE && rawValueBits[slot] == LOWEST_RAW_BITS;
+    }
+
+    @Override
+    int numberOfValues()
+    {
+        return types.length;
+    }
+
+    @Override
+    boolean acceptsValue( Value value )
+    {
+        return Values.isNumberValue( value );
+    }
+
+    @Override
+    String supportedValuesDescription()
+    {
+        return "numbers";
+    }
+
+    @Override
+    void initFromValues( Value[] values )
+    {
+        for ( int slot = 0; slot < values.length; slot++ )
+        {
+            initSlotFromValue( slot, values[slot] );
+        }
+    }
+
+    @Override
+    Value[] asValues()
+    {
+        Value[] values = new Value[types.length];
+        for ( int slot = 0; slot < values.length; slot++ )
+        {
+            values[slot] = RawBits.asNumberValue( rawValueBits[slot], types[slot] );
+        }
+        return values;
+    }
+
+    @Override
+    void initAsLowest()
+    {
+        for ( int slot = 0; slot < types.length; slot++ )
+        {
+            initSlotAsLowest( slot );
+        }
+        entityId = Long.MIN_VALUE;
+        entityIdIsSpecialTieBreaker = true;
+    }
+
+    @Override
+    void initAsHighest()
+    {
+        for ( int slot = 0; slot < types.length; slot++ )
+        {
+            initSlotAsHighest( slot );
+        }
+        entityId = Long.MAX_VALUE;
+        entityIdIsSpecialTieBreaker = true;
+    }
+
+    /**
+     * Sets the value at the given slot, leaving the other values and entity id untouched.
+     * Used when building keys for seeks, where values may be bounds of ranges.
+     *
+     * @param slot index of the value to set.
+     * @param value the number to set.
+     */
+    void initSlotFromValue( int slot, Value value )
+    {
+        currentSlot = slot;
+        ((NumberValue) value).writeTo( this );
+    }
+
+    void initSlotAsLowest( int slot )
+    {
+        currentSlot = slot;
+        writeFloatingPoint( Double.NEGATIVE_INFINITY );
+    }
+
+    void initSlotAsHighest( int slot )
+    {
+        currentSlot = slot;
+        writeFloatingPoint( Double.POSITIVE_INFINITY );
+    }
+
+    /**
+     * Compares the values of this key to those of another key, value by value.
+     * This method is expected to be called in scenarios where inconsistent reads may happen (and later retried).
+     *
+     * @param other the {@link CompositeSchemaNumberKey} to compare to.
+     * @return comparison against the {@code other} {@link CompositeSchemaNumberKey}.
+     */
+    int compareValueTo( CompositeSchemaNumberKey other )
+    {
+        for ( int slot = 0; slot < types.length; slot++ )
+        {
+            int comparison = RawBits.compare( rawValueBits[slot], types[slot], other.rawValueBits[slot], other.types[slot] );
+            if ( comparison != 0 )
+            {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "values=%s,entityId=%d", propertiesAsString(), entityId );
+    }
+
+    @Override
+    public void writeInteger( byte value )
+    {
+        types[currentSlot] = RawBits.BYTE;
+        rawValueBits[currentSlot] = value;
+    }
+
+    @Override
+    public void writeInteger( short value )
+    {
+        types[currentSlot] = RawBits.SHORT;
+        rawValueBits[currentSlot] = value;
+    }
+
+    @Override
+    public void writeInteger( int value )
+    {
+        types[currentSlot] = RawBits.INT;
+        rawValueBits[currentSlot] = value;
+    }
+
+    @Override
+    public void writeInteger( long value )
+    {
+        types[currentSlot] = RawBits.LONG;
+        rawValueBits[currentSlot] = value;
+    }
+
+    @Override
+    public void writeFloatingPoint( float value )
+    {
+        types[currentSlot] = RawBits.FLOAT;
+        rawValueBits[currentSlot] = Float.floatToIntBits( value );
+    }
+
+    @Override
+    public void writeFloatingPoint( double value )
+    {
+        types[currentSlot] = RawBits.DOUBLE;
+        rawValueBits[currentSlot] = Double.doubleToLongBits( value );
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+
+/**
+ * Sorts keys according to a {@link Layout}, using a bounded amount of heap. Keys are collected in runs of
+ * at most {@code runSize} keys. A full run is sorted in memory and written to a temporary file through the
+ * {@link PageCache}, after which its key instances are reused for the next run. {@link #sorted()} merges all
+ * written runs, together with the keys still in memory, into one sorted stream of keys.
+ * <p>
+ * Each page of the temporary file has this format:
+ * <pre>
+ * [keyCount:short][key][key]...
+ * </pre>
+ * where each key is prefixed with its size as a short for layouts which are not {@link Layout#fixedSize() fixed size}.
+ * Keys never straddle pages. The temporary file is deleted when this sorter is {@link #close() closed}.
+ * <p>
+ * Not thread safe.
+ *
+ * @param <KEY> type of keys to sort.
+ */
+class ExternalKeySorter<KEY> implements Closeable
+{
+    private static final int PAGE_HEADER_SIZE = Short.BYTES;
+
+    private final PageCache pageCache;
+    private final File file;
+    private final Layout<KEY,?> layout;
+    private final Object[] buffer;
+    private final List<Run> runs = new ArrayList<>();
+    private int bufferedCount;
+    private PagedFile pagedFile;
+    private long nextPageId;
+
+    ExternalKeySorter( PageCache pageCache, File file, Layout<KEY,?> layout, int runSize )
+    {
+        if ( runSize <= 0 )
+        {
+            throw new IllegalArgumentException( "Run size must be positive, was " + runSize );
+        }
+        this.pageCache = pageCache;
+        this.file = file;
+        this.layout = layout;
+        this.buffer = new Object[runSize];
+    }
+
+    /**
+     * Adds a copy of {@code key} to be sorted. The given instance can be reused by the caller after this call.
+     *
+     * @param key key to copy and add.
+     * @throws IOException on error writing a full run to the temporary file.
+     */
+    void add( KEY key ) throws IOException
+    {
+        if ( bufferedCount == buffer.length )
+        {
+            writeRun();
+        }
+        layout.copyKey( key, bufferedKey( bufferedCount++ ) );
+    }
+
+    /**
+     * @return all added keys in the order defined by the {@link Layout}. Duplicates are kept. The returned
+     * key instances are reused between calls to {@link RawCursor#next()}. No more keys can be added after this call.
+     * @throws IOException on error writing or reading runs.
+     */
+    RawCursor<KEY,IOException> sorted() throws IOException
+    {
+        if ( runs.isEmpty() )
+        {
+            // Everything fits in memory, don't touch the file at all
+            sortBuffer();
+            return new BufferCursor();
+        }
+        if ( bufferedCount > 0 )
+        {
+            writeRun();
+        }
+        return new MergingCursor();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if ( pagedFile != null )
+        {
+            pagedFile.close();
+            pagedFile = null;
+        }
+        runs.clear();
+        bufferedCount = 0;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private KEY bufferedKey( int i )
+    {
+        Object key = buffer[i];
+        if ( key == null )
+        {
+            key = buffer[i] = layout.newKey();
+        }
+        return (KEY) key;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private void sortBuffer()
+    {
+        Arrays.sort( buffer, 0, bufferedCount, ( o1, o2 ) -> layout.compare( (KEY) o1, (KEY) o2 ) );
+    }
+
+    private void writeRun() throws IOException
+    {
+        sortBuffer();
+        if ( pagedFile == null )
+        {
+            pagedFile = pageCache.map( file, pageCache.pageSize(), CREATE, DELETE_ON_CLOSE );
+        }
+
+        long firstPageId = nextPageId;
+        try ( PageCursor cursor = pagedFile.io( firstPageId, PF_SHARED_WRITE_LOCK ) )
+        {
+            int i = 0;
+            while ( i < bufferedCount )
+            {
+                if ( !cursor.next( nextPageId++ ) )
+                {
+                    throw new IllegalStateException( "Could not grow sort file " + file + " to page " + (nextPageId - 1) );
+                }
+                cursor.setOffset( PAGE_HEADER_SIZE );
+                short keyCount = 0;
+                while ( i < bufferedCount )
+                {
+                    KEY key = bufferedKey( i );
+                    if ( cursor.getOffset() + entrySize( key ) > cursor.getCurrentPageSize() )
+                    {
+                        break;
+                    }
+                    writeEntry( cursor, key );
+                    keyCount++;
+                    i++;
+                }
+                if ( keyCount == 0 )
+                {
+                    throw new IllegalStateException( "Key " + bufferedKey( i ) + " does not fit in a page of " + file );
+                }
+                cursor.putShort( 0, keyCount );
+            }
+        }
+        runs.add( new Run( firstPageId, nextPageId ) );
+        bufferedCount = 0;
+    }
+
+    private int entrySize( KEY key )
+    {
+        return layout.fixedSize() ? layout.keySize() : Short.BYTES + layout.keySize( key );
+    }
+
+    private void writeEntry( PageCursor cursor, KEY key )
+    {
+        if ( !layout.fixedSize() )
+        {
+            cursor.putShort( (short) layout.keySize( key ) );
+        }
+        layout.writeKey( cursor, key );
+    }
+
+    private void readEntry( PageCursor cursor, KEY into )
+    {
+        if ( layout.fixedSize() )
+        {
+            layout.readKey( cursor, into );
+        }
+        else
+        {
+            int keySize = cursor.getShort() & 0xFFFF;
+            layout.readKey( cursor, into, keySize );
+        }
+    }
+
+    private static class Run
+    {
+        private final long firstPageId;
+        private final long endPageId;
+
+        Run( long firstPageId, long endPageId )
+        {
+            this.firstPageId = firstPageId;
+            this.endPageId = endPageId;
+        }
+    }
+
+    private class BufferCursor implements RawCursor<KEY,IOException>
+    {
+        private int index = -1;
+
+        @Override
+        public boolean next()
+        {
+            return ++index < bufferedCount;
+        }
+
+        @Override
+        public KEY get()
+        {
+            return bufferedKey( index );
+        }
+
+        @Override
+        public void close()
+        {   // nothing to close
+        }
+    }
+
+    /**
+     * Reads one {@link Run} key by key. A whole page is read at a time into key instances owned by this reader,
+     * so that each page is pinned only once.
+     */
+    private class RunReader
+    {
+        private final Run run;
+        private final PageCursor cursor;
+        private final KEY[] keys;
+        private long pageId;
+        private int keyCount;
+        private int keyIndex;
+
+        @SuppressWarnings( "unchecked" )
+        RunReader( Run run ) throws IOException
+        {
+            this.run = run;
+            this.cursor = pagedFile.io( run.firstPageId, PF_SHARED_READ_LOCK );
+            this.keys = (KEY[]) new Object[pageCache.pageSize() / Math.max( 1, minEntrySize() )];
+            this.pageId = run.firstPageId;
+        }
+
+        /**
+         * @return whether or not there was a next key, which is then available in {@link #current()}.
+         */
+        boolean advance() throws IOException
+        {
+            if ( ++keyIndex < keyCount )
+            {
+                return true;
+            }
+            if ( pageId >= run.endPageId )
+            {
+                return false;
+            }
+            readPage( pageId++ );
+            return keyCount > 0;
+        }
+
+        KEY current()
+        {
+            return keys[keyIndex];
+        }
+
+        private void readPage( long id ) throws IOException
+        {
+            if ( !cursor.next( id ) )
+            {
+                throw new IllegalStateException( "Page " + id + " of run missing in sort file " + file );
+            }
+            do
+            {
+                cursor.setOffset( 0 );
+                keyCount = cursor.getShort() & 0xFFFF;
+                for ( int i = 0; i < keyCount && i < keys.length; i++ )
+                {
+                    if ( keys[i] == null )
+                    {
+                        keys[i] = layout.newKey();
+                    }
+                    readEntry( cursor, keys[i] );
+                }
+            }
+            while ( cursor.shouldRetry() );
+            cursor.checkAndClearBoundsFlag();
+            keyIndex = 0;
+        }
+
+        private int minEntrySize()
+        {
+            return layout.fixedSize() ? layout.keySize() : Short.BYTES;
+        }
+
+        void close()
+        {
+            cursor.close();
+        }
+    }
+
+    private class MergingCursor implements RawCursor<KEY,IOException>
+    {
+        private final PriorityQueue<RunReader> queue =
+                new PriorityQueue<>( runs.size(), ( r1, r2 ) -> layout.compare( r1.current(), r2.current() ) );
+        private final List<RunReader> readers = new ArrayList<>();
+        private RunReader current;
+
+        MergingCursor() throws IOException
+        {
+            for ( Run run : runs )
+            {
+                RunReader reader = new RunReader( run );
+                readers.add( reader );
+                if ( reader.advance() )
+                {
+                    queue.add( reader );
+                }
+            }
+        }
+
+        @Override
+        public boolean next() throws IOException
+        {
+            if ( current != null && current.advance() )
+            {
+                queue.add( current );
+            }
+            current = queue.poll();
+            return current != null;
+        }
+
+        @Override
+        public KEY get()
+        {
+            return current.current();
+        }
+
+        @Override
+        public void close()
+        {
+            readers.forEach( RunReader::close );
+            readers.clear();
+        }
+    }
+}
@@ -33,23 +33,26 @@ import org.neo4j.storageengine.api.schema.IndexSample;
 
 /**
  * {@link NonUniqueIndexSampler} which performs a full scans of a {@link GBPTree} in {@link #result()}.
+ * The {@link IndexSampleSketch} of the index is rebuilt from the same scan, correcting any drift it may have.
  *
  * @param <KEY> type of keys in tree.
  * @param <VALUE> type of values in tree.
  */
-class FullScanNonUniqueIndexSampler<KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue>
+class FullScanNonUniqueIndexSampler<KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue>
         extends NonUniqueIndexSampler.Adapter
 {
     private final GBPTree<KEY,VALUE> gbpTree;
     private final Layout<KEY,VALUE> layout;
     private final IndexSamplingConfig samplingConfig;
+    private final IndexSampleSketch sketch;
 
     FullScanNonUniqueIndexSampler( GBPTree<KEY,VALUE> gbpTree, Layout<KEY,VALUE> layout,
-            IndexSamplingConfig samplingConfig )
+            IndexSamplingConfig samplingConfig, IndexSampleSketch sketch )
     {
         this.gbpTree = gbpTree;
         this.layout = layout;
         this.samplingConfig = samplingConfig;
+        this.sketch = sketch;
     }
 
     @Override
@@ -62,11 +65,14 @@ class FullScanNonUniqueIndexSampler<KEY extends SchemaNumberKey, VALUE extends S
         try ( RawCursor<Hit<KEY,VALUE>,IOException> seek = gbpTree.seek( lowest, highest ) )
         {
             NonUniqueIndexSampler sampler = new DefaultNonUniqueIndexSampler( samplingConfig.sampleSizeLimit() );
+            IndexSampleSketch scanned = IndexSampleSketch.empty();
             while ( seek.next() )
             {
                 Hit<KEY,VALUE> hit = seek.get();
                 sampler.include( hit.key().propertiesAsString() );
+                scanned.entryAdded( IndexSampleSketch.hash( hit.key().asValues() ) );
             }
+            sketch.replaceWith( scanned );
             return sampler.result();
         }
         catch ( IOException e )
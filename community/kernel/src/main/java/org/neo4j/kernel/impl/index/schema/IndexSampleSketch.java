@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.nio.ByteBuffer;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.storageengine.api.schema.IndexSample;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueWriter;
+
+/**
+ * Keeps running estimates of the number of entries and number of distinct values in a native schema index,
+ * so that the index can be sampled without reading all of it.
+ * <p>
+ * Distinct values are estimated using a HyperLogLog sketch of {@link #REGISTERS} one byte registers, fed with
+ * a hash of the indexed values of every entry added to the index. Such a sketch can't forget values, so entries
+ * removed from the index only decrement the number of entries. The number of removals since the sketch was last
+ * rebuilt from a full scan of the index is tracked and {@link #needsFullScan(double)} tells when the distinct
+ * value estimate may have drifted too far from the actual index contents, at which point the index should be
+ * fully scanned and the sketch {@link #replaceWith(IndexSampleSketch) replaced} with one built from that scan.
+ * <p>
+ * The sketch is persisted in the {@link GBPTree} header of the index, after the state byte,
+ * see {@link #write(PageCursor)} and {@link #read(ByteBuffer)}.
+ */
+class IndexSampleSketch
+{
+    /**
+     * Number of bits of the hash used to select register, gives a standard error of about 2.3%.
+     */
+    private static final int PRECISION = 11;
+    static final int REGISTERS = 1 << PRECISION;
+    private static final int SERIALIZED_SIZE = Byte.BYTES + Long.BYTES * 2 + REGISTERS;
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers = new byte[REGISTERS];
+    private long entries;
+    private long removals;
+    private boolean accurate;
+
+    private IndexSampleSketch( boolean accurate )
+    {
+        this.accurate = accurate;
+    }
+
+    /**
+     * @return sketch of an empty index, which will be accurate as long as all updates to the index are
+     * fed to it.
+     */
+    static IndexSampleSketch empty()
+    {
+        return new IndexSampleSketch( true );
+    }
+
+    /**
+     * @return sketch for an index with unknown contents, e.g. one created before sketches were kept.
+     * {@link #needsFullScan(double)} will return {@code true} until it has been replaced by a sketch built
+     * from a full scan.
+     */
+    static IndexSampleSketch unknown()
+    {
+        return new IndexSampleSketch( false );
+    }
+
+    /**
+     * Hashes indexed values in a way which is consistent with {@link Value#equals(Object)}, i.e. the values of
+     * a key read back from the tree hash the same as the values the key was created from.
+     * <p>
+     * {@link Value#hashCode()} isn't used since it only has 32 bits and e.g. hashes {@link Long#MIN_VALUE}
+     * and {@link Long#MAX_VALUE} the same.
+     *
+     * @param values indexed values of an entry.
+     * @return hash of the values.
+     */
+    static long hash( Value... values )
+    {
+        ValueHasher hasher = new ValueHasher();
+        for ( Value value : values )
+        {
+            value.writeTo( hasher );
+        }
+        return mix( hasher.hash );
+    }
+
+    /**
+     * Finalization step of MurmurHash3, spreads the bits of the given value over all 64 bits.
+     */
+    private static long mix( long hash )
+    {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    synchronized void entryAdded( long hash )
+    {
+        int register = (int) (hash >>> (Long.SIZE - PRECISION));
+        // The set bit caps the rank at the number of remaining hash bits + 1
+        byte rank = (byte) (Long.numberOfLeadingZeros( (hash << PRECISION) | (1L << (PRECISION - 1)) ) + 1);
+        if ( rank > registers[register] )
+        {
+            registers[register] = rank;
+        }
+        entries++;
+    }
+
+    synchronized void entryRemoved()
+    {
+        if ( entries > 0 )
+        {
+            entries--;
+        }
+        removals++;
+    }
+
+    /**
+     * @param driftRatio ratio of removals to entries where the distinct value estimate is no longer trusted.
+     * @return whether or not the index needs to be fully scanned to get an accurate sample.
+     */
+    synchronized boolean needsFullScan( double driftRatio )
+    {
+        return !accurate || removals > driftRatio * entries;
+    }
+
+    synchronized IndexSample sample()
+    {
+        return new IndexSample( entries, Math.min( entries, estimateDistinctValues() ), entries );
+    }
+
+    /**
+     * Replaces the state of this sketch with that of a sketch built from a full scan of the index.
+     *
+     * @param scanned sketch built from a full scan of the index.
+     */
+    void replaceWith( IndexSampleSketch scanned )
+    {
+        synchronized ( scanned )
+        {
+            synchronized ( this )
+            {
+                System.arraycopy( scanned.registers, 0, registers, 0, REGISTERS );
+                entries = scanned.entries;
+                removals = 0;
+                accurate = true;
+            }
+        }
+    }
+
+    private long estimateDistinctValues()
+    {
+        double sum = 0;
+        int zeros = 0;
+        for ( byte rank : registers )
+        {
+            sum += 1d / (1L << rank);
+            if ( rank == 0 )
+            {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if ( estimate <= 2.5 * REGISTERS && zeros > 0 )
+        {
+            // Small range correction, linear counting is more accurate for few distinct values
+            estimate = REGISTERS * Math.log( (double) REGISTERS / zeros );
+        }
+        return Math.round( estimate );
+    }
+
+    /**
+     * Writes this sketch at the current offset of the cursor, unless it doesn't fit in the rest of the page.
+     * A sketch which isn't written will be {@link #unknown()} when read back.
+     *
+     * @param cursor {@link PageCursor} positioned where the sketch should be written.
+     */
+    synchronized void write( PageCursor cursor )
+    {
+        if ( !accurate || cursor.getCurrentPageSize() - cursor.getOffset() < SERIALIZED_SIZE )
+        {
+            return;
+        }
+        cursor.putByte( (byte) PRECISION );
+        cursor.putLong( entries );
+        cursor.putLong( removals );
+        cursor.putBytes( registers );
+    }
+
+    /**
+     * @param headerData header data positioned after the state byte.
+     * @return the sketch written by {@link #write(PageCursor)}, or an {@link #unknown()} sketch if none was written.
+     */
+    static IndexSampleSketch read( ByteBuffer headerData )
+    {
+        if ( headerData.remaining() < SERIALIZED_SIZE || headerData.get() != PRECISION )
+        {
+            return unknown();
+        }
+        IndexSampleSketch sketch = empty();
+        sketch.entries = headerData.getLong();
+        sketch.removals = headerData.getLong();
+        headerData.get( sketch.registers );
+        return sketch;
+    }
+
+    private static class ValueHasher extends ValueWriter.Adapter<RuntimeException>
+    {
+        private long hash = 1;
+
+        private void update( long part )
+        {
+            hash = 31 * hash + mix( part );
+        }
+
+        @Override
+        public void writeBoolean( boolean value )
+        {
+            update( value ? 1 : 0 );
+        }
+
+        @Override
+        public void writeInteger( byte value )
+        {
+            update( value );
+        }
+
+        @Override
+        public void writeInteger( short value )
+        {
+            update( value );
+        }
+
+        @Override
+        public void writeInteger( int value )
+        {
+            update( value );
+        }
+
+        @Override
+        public void writeInteger( long value )
+        {
+            update( value );
+        }
+
+        @Override
+        public void writeFloatingPoint( float value )
+        {
+            writeFloatingPoint( (double) value );
+        }
+
+        @Override
+        public void writeFloatingPoint( double value )
+        {
+            // Integral values must hash like the equal integer values
+            long integral = (long) value;
+            update( integral == value && integral != Long.MAX_VALUE ? integral : Double.doubleToLongBits( value ) );
+        }
+
+        @Override
+        public void writeString( String value )
+        {
+            long stringHash = 1;
+            for ( int i = 0; i < value.length(); i++ )
+            {
+                stringHash = 31 * stringHash + value.charAt( i );
+            }
+            update( stringHash );
+        }
+
+        @Override
+        public void writeString( char value )
+        {
+            writeString( String.valueOf( value ) );
+        }
+
+        @Override
+        public void writeString( char[] value, int offset, int length )
+        {
+            writeString( new String( value, offset, length ) );
+        }
+    }
+}
@@ -27,23 +27,27 @@ import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.cursor.RawCursor;
 import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
+import org.neo4j.values.storable.Value;
 
 /**
- * Wraps number key/value results in a {@link PrimitiveLongIterator}.
+ * Wraps key/value results in a {@link PrimitiveLongIterator}.
  * The {@link RawCursor seeker} which gets passed in will have to be closed somewhere else because
  * the {@link PrimitiveLongIterator} is just a plain iterator, no resource.
+ * Values of the current hit are read from its key, which the seeker is still positioned at until the next hit is
+ * fetched.
  *
- * @param <KEY> type of {@link SchemaNumberKey}.
- * @param <VALUE> type of {@link SchemaNumberValue}.
+ * @param <KEY> type of {@link NativeSchemaKey}.
+ * @param <VALUE> type of {@link NativeSchemaValue}.
  */
-public class NumberHitIterator<KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue>
-        extends PrimitiveLongCollections.PrimitiveLongBaseIterator
+public class NativeHitIterator<KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue>
+        extends PrimitiveLongCollections.PrimitiveLongBaseIterator implements NodeValueIterator
 {
     private final RawCursor<Hit<KEY,VALUE>,IOException> seeker;
     private final Collection<RawCursor<Hit<KEY,VALUE>,IOException>> toRemoveFromWhenExhausted;
     private boolean closed;
 
-    NumberHitIterator( RawCursor<Hit<KEY,VALUE>,IOException> seeker,
+    NativeHitIterator( RawCursor<Hit<KEY,VALUE>,IOException> seeker,
             Collection<RawCursor<Hit<KEY,VALUE>,IOException>> toRemoveFromWhenExhausted )
     {
         this.seeker = seeker;
@@ -55,15 +59,16 @@ public class NumberHitIterator<KEY extends SchemaNumberKey, VALUE extends Schema
     {
         try
         {
-            if ( !closed && seeker.next() )
+            while ( !closed && seeker.next() )
             {
-                return next( seeker.get().key().entityId );
-            }
-            else
-            {
-                ensureCursorClosed();
-                return false;
+                KEY key = seeker.get().key();
+                if ( acceptValue( key ) )
+                {
+                    return next( key.entityId );
+                }
             }
+            ensureCursorClosed();
+            return false;
         }
         catch ( IOException e )
         {
@@ -71,6 +76,21 @@ public class NumberHitIterator<KEY extends SchemaNumberKey, VALUE extends Schema
         }
     }
 
+    @Override
+    public Value[] values()
+    {
+        return seeker.get().key().asValues();
+    }
+
+    /**
+     * @param key the key of the current hit.
+     * @return whether or not the entity of this hit should be returned.
+     */
+    boolean acceptValue( KEY key )
+    {
+        return true;
+    }
+
     private void ensureCursorClosed() throws IOException
     {
         if ( !closed )
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.index.IndexAccessor;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.schema.index.IndexDescriptor;
+import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
+
+/**
+ * Schema index provider for native indexes of numbers on multiple properties, i.e. composite indexes where
+ * all values of an entry are numbers. Used by {@link NativeSchemaNumberIndexProvider} for composite indexes,
+ * sharing its descriptor and directory structure.
+ */
+class NativeSchemaCompositeNumberIndexProvider extends NativeSchemaIndexProvider<CompositeSchemaNumberKey,NativeSchemaValue>
+{
+    NativeSchemaCompositeNumberIndexProvider( Descriptor descriptor, PageCache pageCache, FileSystemAbstraction fs,
+            IndexDirectoryStructure.Factory directoryStructure, Monitor monitor, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            boolean readOnly )
+    {
+        super( descriptor, 0, directoryStructure, pageCache, fs, monitor, recoveryCleanupWorkCollector, readOnly );
+    }
+
+    @Override
+    protected Layout<CompositeSchemaNumberKey,NativeSchemaValue> layout( IndexDescriptor descriptor )
+    {
+        int numberOfValues = descriptor.schema().getPropertyIds().length;
+        switch ( descriptor.type() )
+        {
+        case GENERAL:
+            return new NonUniqueCompositeNumberLayout( numberOfValues );
+        case UNIQUE:
+            return new UniqueCompositeNumberLayout( numberOfValues );
+        default:
+            throw new UnsupportedOperationException( "Can not create index of type " + descriptor.type() );
+        }
+    }
+
+    @Override
+    protected IndexAccessor newIndexAccessor( File storeFile, Layout<CompositeSchemaNumberKey,NativeSchemaValue> layout,
+            IndexDescriptor descriptor, long indexId, IndexSamplingConfig samplingConfig ) throws IOException
+    {
+        return new NativeSchemaCompositeNumberIndexAccessor<>(
+                pageCache, fs, storeFile, layout, recoveryCleanupWorkCollector, monitor, descriptor, indexId,
+                samplingConfig );
+    }
+
+    @Override
+    protected boolean compatibleWith( long layoutIdentifier, int majorVersion, int minorVersion )
+    {
+        return (CompositeNumberLayout.sameIdentifierName( layoutIdentifier, UniqueCompositeNumberLayout.identifier( 0 ) ) &&
+                majorVersion == UniqueCompositeNumberLayout.MAJOR_VERSION &&
+                minorVersion == UniqueCompositeNumberLayout.MINOR_VERSION) ||
+                (CompositeNumberLayout.sameIdentifierName( layoutIdentifier, NonUniqueCompositeNumberLayout.identifier( 0 ) ) &&
+                        majorVersion == NonUniqueCompositeNumberLayout.MAJOR_VERSION &&
+                        minorVersion == NonUniqueCompositeNumberLayout.MINOR_VERSION);
+    }
+}
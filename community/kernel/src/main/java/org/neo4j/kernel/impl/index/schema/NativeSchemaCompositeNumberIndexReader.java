@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.kernel.api.schema.IndexOrder;
+import org.neo4j.kernel.api.schema.IndexQuery;
+import org.neo4j.kernel.api.schema.IndexQuery.ExactPredicate;
+import org.neo4j.kernel.api.schema.IndexQuery.NumberRangePredicate;
+import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Reader of composite number indexes. Exact predicates on leading properties, optionally followed by
+ * a number range predicate, are a seek in the tree. Predicates on properties after that are matched
+ * by filtering the keys within the seeked range.
+ */
+class NativeSchemaCompositeNumberIndexReader<KEY extends CompositeSchemaNumberKey, VALUE extends NativeSchemaValue>
+        extends NativeSchemaIndexReader<KEY,VALUE>
+{
+    NativeSchemaCompositeNumberIndexReader(
+            GBPTree<KEY,VALUE> tree, Layout<KEY,VALUE> layout, IndexSamplingConfig samplingConfig,
+            IndexSampleSketch sketch )
+    {
+        super( tree, layout, samplingConfig, sketch );
+    }
+
+    @Override
+    public NodeValueIterator query( IndexQuery... predicates )
+    {
+        KEY treeKeyFrom = layout.newKey();
+        KEY treeKeyTo = layout.newKey();
+        if ( predicates.length == 1 && predicates[0].type() == IndexQuery.IndexQueryType.exists )
+        {
+            // A single exists predicate is a scan of the whole index
+            treeKeyFrom.initAsLowest();
+            treeKeyTo.initAsHighest();
+            return startSeekForInitializedRange( treeKeyFrom, treeKeyTo, null );
+        }
+        if ( predicates.length != treeKeyFrom.numberOfValues() )
+        {
+            throw new IllegalArgumentException( "Expected one predicate per property, i.e. " +
+                    treeKeyFrom.numberOfValues() + ", but got " + predicates.length );
+        }
+        for ( IndexQuery predicate : predicates )
+        {
+            if ( !canMatchNumber( predicate ) )
+            {
+                // All values in this index are numbers
+                return NodeValueIterator.EMPTY;
+            }
+        }
+
+        // Exact predicates on leading properties is a prefix of values
+        int slot = 0;
+        for ( ; slot < predicates.length && predicates[slot].type() == IndexQuery.IndexQueryType.exact; slot++ )
+        {
+            Value value = ((ExactPredicate) predicates[slot]).value();
+            treeKeyFrom.initSlotFromValue( slot, value );
+            treeKeyTo.initSlotFromValue( slot, value );
+        }
+
+        // Followed by a range on the next property, if any
+        boolean fromInclusive = true;
+        boolean toInclusive = true;
+        if ( slot < predicates.length )
+        {
+            if ( predicates[slot].type() == IndexQuery.IndexQueryType.rangeNumeric )
+            {
+                NumberRangePredicate rangePredicate = (NumberRangePredicate) predicates[slot];
+                fromInclusive = initFromForRange( slot, rangePredicate, treeKeyFrom );
+                toInclusive = initToForRange( slot, rangePredicate, treeKeyTo );
+            }
+            else
+            {
+                treeKeyFrom.initSlotAsLowest( slot );
+                treeKeyTo.initSlotAsHighest( slot );
+            }
+            slot++;
+        }
+
+        // Remaining properties are not part of the range, only filtered
+        boolean needFiltering = false;
+        for ( int remaining = slot; remaining < predicates.length; remaining++ )
+        {
+            initSlotAsBound( treeKeyFrom, remaining, !fromInclusive );
+            initSlotAsBound( treeKeyTo, remaining, toInclusive );
+            needFiltering |= predicates[remaining].type() != IndexQuery.IndexQueryType.exists;
+        }
+        treeKeyFrom.entityId = fromInclusive ? Long.MIN_VALUE : Long.MAX_VALUE;
+        treeKeyFrom.entityIdIsSpecialTieBreaker = true;
+        treeKeyTo.entityId = toInclusive ? Long.MAX_VALUE : Long.MIN_VALUE;
+        treeKeyTo.entityIdIsSpecialTieBreaker = true;
+        return startSeekForInitializedRange( treeKeyFrom, treeKeyTo, needFiltering ? predicates : null );
+    }
+
+    private static boolean canMatchNumber( IndexQuery predicate )
+    {
+        switch ( predicate.type() )
+        {
+        case exists:
+        case rangeNumeric:
+            return true;
+        case exact:
+            return Values.isNumberValue( ((ExactPredicate) predicate).value() );
+        default:
+            return false;
+        }
+    }
+
+    private static void initSlotAsBound( CompositeSchemaNumberKey key, int slot, boolean highest )
+    {
+        if ( highest )
+        {
+            key.initSlotAsHighest( slot );
+        }
+        else
+        {
+            key.initSlotAsLowest( slot );
+        }
+    }
+
+    private static boolean initFromForRange( int slot, NumberRangePredicate rangePredicate, CompositeSchemaNumberKey treeKeyFrom )
+    {
+        Value fromValue = rangePredicate.fromAsValue();
+        if ( fromValue.valueGroup() == ValueGroup.NO_VALUE )
+        {
+            treeKeyFrom.initSlotAsLowest( slot );
+            return true;
+        }
+        treeKeyFrom.initSlotFromValue( slot, fromValue );
+        return rangePredicate.fromInclusive();
+    }
+
+    private static boolean initToForRange( int slot, NumberRangePredicate rangePredicate, CompositeSchemaNumberKey treeKeyTo )
+    {
+        Value toValue = rangePredicate.toAsValue();
+        if ( toValue.valueGroup() == ValueGroup.NO_VALUE )
+        {
+            treeKeyTo.initSlotAsHighest( slot );
+            return true;
+        }
+        treeKeyTo.initSlotFromValue( slot, toValue );
+        return rangePredicate.toInclusive();
+    }
+
+    @Override
+    boolean initializeRangeForQuery( KEY treeKeyFrom, KEY treeKeyTo, IndexQuery predicate )
+    {
+        // Composite queries are handled by query( IndexQuery... ) as a whole
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean hasFullNumberPrecision( IndexQuery... predicates )
+    {
+        return true;
+    }
+
+    @Override
+    public boolean supportsOrder( IndexOrder order, IndexQuery... predicates )
+    {
+        // Keys are ordered by all their values, which isn't an order by any single property
+        return false;
+    }
+}
@@ -24,12 +24,14 @@ import java.nio.charset.StandardCharsets;
 
 import org.neo4j.index.internal.gbptree.Header;
 
-import static org.neo4j.kernel.impl.index.schema.NativeSchemaNumberIndexPopulator.BYTE_FAILED;
+import static org.neo4j.kernel.impl.index.schema.NativeSchemaIndexPopulator.BYTE_FAILED;
+import static org.neo4j.kernel.impl.index.schema.NativeSchemaIndexPopulator.BYTE_ONLINE;
 
 class NativeSchemaIndexHeaderReader implements Header.Reader
 {
     byte state;
     String failureMessage;
+    IndexSampleSketch sketch = IndexSampleSketch.unknown();
 
     @Override
     public void read( ByteBuffer headerData )
@@ -42,5 +44,9 @@ class NativeSchemaIndexHeaderReader implements Header.Reader
             headerData.get( failureMessageBytes );
             failureMessage = new String( failureMessageBytes, StandardCharsets.UTF_8 );
         }
+        else if ( state == BYTE_ONLINE )
+        {
+            sketch = IndexSampleSketch.read( headerData );
+        }
     }
 }
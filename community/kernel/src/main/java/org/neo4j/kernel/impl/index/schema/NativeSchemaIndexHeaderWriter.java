@@ -25,20 +25,31 @@ import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.io.pagecache.PageCursor;
 
 /**
- * Writes index state in the {@link GBPTree} header.
+ * Writes index state in the {@link GBPTree} header, optionally followed by an {@link IndexSampleSketch}.
  */
 class NativeSchemaIndexHeaderWriter implements Consumer<PageCursor>
 {
     private final byte state;
+    private final IndexSampleSketch sketch;
 
     NativeSchemaIndexHeaderWriter( byte state )
+    {
+        this( state, null );
+    }
+
+    NativeSchemaIndexHeaderWriter( byte state, IndexSampleSketch sketch )
     {
         this.state = state;
+        this.sketch = sketch;
     }
 
     @Override
     public void accept( PageCursor cursor )
     {
         cursor.putByte( state );
+        if ( sketch != null )
+        {
+            sketch.write( cursor );
+        }
     }
 }
@@ -27,8 +27,10 @@ import java.util.Collection;
 import java.util.concurrent.ExecutionException;
 
 import org.neo4j.concurrent.Work;
+import org.neo4j.cursor.RawCursor;
 import org.neo4j.concurrent.WorkSync;
 import org.neo4j.helpers.Exceptions;
+import org.neo4j.index.internal.gbptree.BulkLoader;
 import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Layout;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
@@ -43,53 +45,95 @@ import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.kernel.api.index.PropertyAccessor;
 import org.neo4j.kernel.api.index.SchemaIndexProvider;
 import org.neo4j.kernel.api.schema.index.IndexDescriptor;
+import org.neo4j.unsafe.impl.internal.dragons.FeatureToggles;
 
 import static org.neo4j.index.internal.gbptree.GBPTree.NO_HEADER_WRITER;
 
 /**
  * {@link IndexPopulator} backed by a {@link GBPTree}.
+ * <p>
+ * Populators which {@link #supportsBulkLoad() support bulk loading} don't insert scanned entries into the tree
+ * one by one. Instead they are sorted using an {@link ExternalKeySorter} and the tree is built bottom-up from
+ * the sorted keys using {@link GBPTree#bulkLoader()} when population completes. Updates arriving through
+ * {@link #newPopulatingUpdater(PropertyAccessor)} are applied on top of the bulk loaded tree after that.
+ * <p>
+ * An {@link IndexSampleSketch} of all entries going into the tree is kept during population and written to the
+ * tree header together with the online state, so that the online index can be sampled from it right away.
  *
- * @param <KEY> type of {@link SchemaNumberKey}.
- * @param <VALUE> type of {@link SchemaNumberValue}.
+ * @param <KEY> type of {@link NativeSchemaKey}.
+ * @param <VALUE> type of {@link NativeSchemaValue}.
  */
-public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue>
-        extends NativeSchemaNumberIndex<KEY,VALUE> implements IndexPopulator
+public abstract class NativeSchemaIndexPopulator<KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue>
+        extends NativeSchemaIndex<KEY,VALUE> implements IndexPopulator
 {
     static final byte BYTE_FAILED = 0;
     static final byte BYTE_ONLINE = 1;
     static final byte BYTE_POPULATING = 2;
 
+    /**
+     * Number of keys sorted in memory before being written as a sorted run to the temporary sort file.
+     */
+    private final int sortRunSize = FeatureToggles.getInteger( NativeSchemaIndexPopulator.class, "sortRunSize", 100_000 );
+
     private final KEY treeKey;
     private final VALUE treeValue;
     private final ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger;
+    private final IndexSampleSketch sketch;
     private WorkSync<IndexUpdateApply<KEY,VALUE>,IndexUpdateWork<KEY,VALUE>> workSync;
 
     private Writer<KEY,VALUE> singleTreeWriter;
+    private ExternalKeySorter<KEY> sorter;
+    private Collection<IndexEntryUpdate<?>> deferredUpdates;
     private byte[] failureBytes;
     private boolean dropped;
 
-    NativeSchemaNumberIndexPopulator( PageCache pageCache, FileSystemAbstraction fs, File storeFile, Layout<KEY,VALUE> layout,
+    NativeSchemaIndexPopulator( PageCache pageCache, FileSystemAbstraction fs, File storeFile, Layout<KEY,VALUE> layout,
             SchemaIndexProvider.Monitor monitor, IndexDescriptor descriptor, long indexId )
     {
         super( pageCache, fs, storeFile, layout, monitor, descriptor, indexId );
         this.treeKey = layout.newKey();
         this.treeValue = layout.newValue();
         this.conflictDetectingValueMerger = new ConflictDetectingValueMerger<>();
+        this.sketch = IndexSampleSketch.empty();
     }
 
     @Override
     public synchronized void create() throws IOException
     {
         gbpTreeFileUtil.deleteFileIfPresent( storeFile );
+        gbpTreeFileUtil.deleteFileIfPresent( sortFile() );
         instantiateTree( RecoveryCleanupWorkCollector.IMMEDIATE, new NativeSchemaIndexHeaderWriter( BYTE_POPULATING ) );
-        instantiateWriter();
-        workSync = new WorkSync<>( new IndexUpdateApply<>( treeKey, treeValue, singleTreeWriter, conflictDetectingValueMerger ) );
+        if ( supportsBulkLoad() )
+        {
+            sorter = new ExternalKeySorter<>( pageCache, sortFile(), layout, sortRunSize );
+            deferredUpdates = new ArrayList<>();
+        }
+        else
+        {
+            instantiateWriter();
+        }
+    }
+
+    /**
+     * @return whether or not entries added through {@link #add(Collection)} can be sorted and bulk loaded
+     * when population completes. Populators which must detect conflicts as entries are added can't.
+     */
+    boolean supportsBulkLoad()
+    {
+        return false;
+    }
+
+    private File sortFile()
+    {
+        return new File( storeFile.getParentFile(), storeFile.getName() + ".sort" );
     }
 
     void instantiateWriter() throws IOException
     {
         assert singleTreeWriter == null;
         singleTreeWriter = tree.writer();
+        workSync = new WorkSync<>(
+                new IndexUpdateApply<>( treeKey, treeValue, singleTreeWriter, conflictDetectingValueMerger, sketch ) );
     }
 
     @Override
@@ -98,6 +142,7 @@ public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberK
         try
         {
             closeWriter();
+            closeSorter();
             closeTree();
             gbpTreeFileUtil.deleteFileIfPresent( storeFile );
         }
@@ -110,7 +155,23 @@ public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberK
     @Override
     public void add( Collection<? extends IndexEntryUpdate<?>> updates ) throws IndexEntryConflictException, IOException
     {
-        applyWithWorkSync( updates );
+        if ( sorter != null )
+        {
+            addToSorter( updates );
+        }
+        else
+        {
+            applyWithWorkSync( updates );
+        }
+    }
+
+    private synchronized void addToSorter( Collection<? extends IndexEntryUpdate<?>> updates ) throws IOException
+    {
+        for ( IndexEntryUpdate<?> update : updates )
+        {
+            treeKey.from( update.getEntityId(), update.values() );
+            sorter.add( treeKey );
+        }
     }
 
     @Override
@@ -138,7 +199,14 @@ public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberK
             @Override
             public void close() throws IOException, IndexEntryConflictException
             {
-                applyWithWorkSync( updates );
+                if ( sorter != null )
+                {
+                    deferUpdates( updates );
+                }
+                else
+                {
+                    applyWithWorkSync( updates );
+                }
                 closed = true;
             }
 
@@ -158,6 +226,7 @@ public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberK
         closeWriter();
         if ( populationCompletedSuccessfully && failureBytes != null )
         {
+            closeSorter();
             throw new IllegalStateException( "Can't mark index as online after it has been marked as failure" );
         }
 
@@ -166,6 +235,11 @@ public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberK
             if ( populationCompletedSuccessfully )
             {
                 assertPopulatorOpen();
+                if ( sorter != null )
+                {
+                    bulkLoadSortedEntries();
+                    applyDeferredUpdates();
+                }
                 markTreeAsOnline();
             }
             else
@@ -177,10 +251,63 @@ public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberK
         }
         finally
         {
-            closeTree();
+            try
+            {
+                closeSorter();
+            }
+            finally
+            {
+                closeTree();
+            }
+        }
+    }
+
+    private synchronized void deferUpdates( Collection<? extends IndexEntryUpdate<?>> updates )
+    {
+        deferredUpdates.addAll( updates );
+    }
+
+    private void bulkLoadSortedEntries() throws IOException
+    {
+        KEY prevKey = layout.newKey();
+        boolean first = true;
+        try ( RawCursor<KEY,IOException> sorted = sorter.sorted();
+              BulkLoader<KEY,VALUE> bulkLoader = tree.bulkLoader() )
+        {
+            while ( sorted.next() )
+            {
+                KEY key = sorted.get();
+                // The same entity may have been scanned more than once, it only goes into the tree once
+                if ( first || layout.compare( prevKey, key ) != 0 )
+                {
+                    bulkLoader.add( key, treeValue );
+                    sketch.entryAdded( IndexSampleSketch.hash( key.asValues() ) );
+                    layout.copyKey( key, prevKey );
+                    first = false;
+                }
+            }
         }
     }
 
+    private void applyDeferredUpdates() throws IOException
+    {
+        instantiateWriter();
+        try
+        {
+            applyWithWorkSync( deferredUpdates );
+            deferredUpdates.clear();
+        }
+        finally
+        {
+            closeWriter();
+        }
+    }
+
+    private void closeSorter() throws IOException
+    {
+        sorter = closeIfPresent( sorter );
+    }
+
     private void applyWithWorkSync( Collection<? extends IndexEntryUpdate<?>> updates ) throws IOException
     {
         try
@@ -234,7 +361,7 @@ public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberK
 
     private void markTreeAsOnline() throws IOException
     {
-        tree.checkpoint( IOLimiter.unlimited(), pc -> pc.putByte( BYTE_ONLINE ) );
+        tree.checkpoint( IOLimiter.unlimited(), new NativeSchemaIndexHeaderWriter( BYTE_ONLINE, sketch ) );
     }
 
     void closeWriter() throws IOException
@@ -242,29 +369,32 @@ public abstract class NativeSchemaNumberIndexPopulator<KEY extends SchemaNumberK
         singleTreeWriter = closeIfPresent( singleTreeWriter );
     }
 
-    private static class IndexUpdateApply<KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue>
+    private static class IndexUpdateApply<KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue>
     {
         private final KEY treeKey;
         private final VALUE treeValue;
         private final Writer<KEY,VALUE> writer;
         private final ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger;
+        private final IndexSampleSketch sketch;
 
         IndexUpdateApply( KEY treeKey, VALUE treeValue, Writer<KEY,VALUE> writer,
-                ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger )
+                ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger, IndexSampleSketch sketch )
         {
             this.treeKey = treeKey;
             this.treeValue = treeValue;
             this.writer = writer;
             this.conflictDetectingValueMerger = conflictDetectingValueMerger;
+            this.sketch = sketch;
         }
 
         public void process( IndexEntryUpdate<?> indexEntryUpdate ) throws Exception
         {
-            NativeSchemaNumberIndexUpdater.processUpdate( treeKey, treeValue, indexEntryUpdate, writer, conflictDetectingValueMerger );
+            NativeSchemaIndexUpdater.processUpdate( treeKey, treeValue, indexEntryUpdate, writer,
+                    conflictDetectingValueMerger, sketch );
         }
     }
 
-    private static class IndexUpdateWork<KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue>
+    private static class IndexUpdateWork<KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue>
             implements Work<IndexUpdateApply<KEY,VALUE>,IndexUpdateWork<KEY,VALUE>>
     {
         private final Collection<? extends IndexEntryUpdate<?>> updates;
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.IOUtils;
+import org.neo4j.kernel.api.exceptions.index.IndexNotApplicableKernelException;
+import org.neo4j.kernel.api.schema.IndexOrder;
+import org.neo4j.kernel.api.schema.IndexQuery;
+import org.neo4j.kernel.api.schema.IndexQuery.ExactPredicate;
+import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
+import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
+import org.neo4j.values.storable.Value;
+
+abstract class NativeSchemaIndexReader<KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue>
+        implements IndexReader
+{
+    private final GBPTree<KEY,VALUE> tree;
+    final Layout<KEY,VALUE> layout;
+    private final IndexSamplingConfig samplingConfig;
+    private final IndexSampleSketch sketch;
+    private final Set<RawCursor<Hit<KEY,VALUE>,IOException>> openSeekers;
+
+    NativeSchemaIndexReader(
+            GBPTree<KEY,VALUE> tree, Layout<KEY,VALUE> layout, IndexSamplingConfig samplingConfig,
+            IndexSampleSketch sketch )
+    {
+        this.tree = tree;
+        this.layout = layout;
+        this.samplingConfig = samplingConfig;
+        this.sketch = sketch;
+        this.openSeekers = new HashSet<>();
+    }
+
+    @Override
+    public void close()
+    {
+        ensureOpenSeekersClosed();
+    }
+
+    @Override
+    public IndexSampler createSampler()
+    {
+        // The sketch of the index is kept up to date by all updates to the index, so unless it has drifted too far
+        // from the actual index contents it can be sampled directly, without reading the index.
+        if ( !sketch.needsFullScan( samplingConfig.updateRatio() ) )
+        {
+            return sketch::sample;
+        }
+
+        // For an unique index there's an optimization, knowing that all values in it are unique, to simply count
+        // the number of indexes values and create a sample for that count. The GBPTree doesn't have an O(1)
+        // count mechanism, it will have to manually count the indexed values in it to get it.
+        // For that reason this implementation opts for keeping complexity down by just using the existing
+        // non-unique sampler which scans the index and counts (potentially duplicates, of which there will
+        // be none in a unique index).
+
+        FullScanNonUniqueIndexSampler<KEY,VALUE> sampler =
+                new FullScanNonUniqueIndexSampler<>( tree, layout, samplingConfig, sketch );
+        return sampler::result;
+    }
+
+    @Override
+    public long countIndexedNodes( long nodeId, Value... propertyValues )
+    {
+        KEY treeKeyFrom = layout.newKey();
+        KEY treeKeyTo = layout.newKey();
+        treeKeyFrom.from( nodeId, propertyValues );
+        treeKeyTo.from( nodeId, propertyValues );
+        try ( RawCursor<Hit<KEY,VALUE>,IOException> seeker = tree.seek( treeKeyFrom, treeKeyTo ) )
+        {
+            long count = 0;
+            while ( seeker.next() )
+            {
+                if ( seeker.get().key().entityId == nodeId )
+                {
+                    count++;
+                }
+            }
+            return count;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    @Override
+    public NodeValueIterator query( IndexQuery... predicates ) throws IndexNotApplicableKernelException
+    {
+        return query( IndexOrder.ASCENDING, predicates );
+    }
+
+    /**
+     * Keys in the tree hold the exact indexed values, so they can be returned for any query.
+     */
+    @Override
+    public boolean canProvideValues( IndexQuery... predicates )
+    {
+        return true;
+    }
+
+    @Override
+    public NodeValueIterator queryWithValues( IndexQuery... predicates ) throws IndexNotApplicableKernelException
+    {
+        return query( predicates );
+    }
+
+    /**
+     * Keys in the tree are sorted by value, so any single predicate query can be answered in either order
+     * by seeking forwards or backwards through its range.
+     */
+    @Override
+    public boolean supportsOrder( IndexOrder order, IndexQuery... predicates )
+    {
+        return predicates.length == 1;
+    }
+
+    @Override
+    public PrimitiveLongIterator orderedQuery( IndexOrder order, IndexQuery... predicates )
+            throws IndexNotApplicableKernelException
+    {
+        if ( !supportsOrder( order, predicates ) )
+        {
+            return IndexReader.super.orderedQuery( order, predicates );
+        }
+        return query( order, predicates );
+    }
+
+    private NodeValueIterator query( IndexOrder order, IndexQuery... predicates )
+    {
+        KEY treeKeyFrom = layout.newKey();
+        KEY treeKeyTo = layout.newKey();
+
+        if ( predicates.length != 1 )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        IndexQuery predicate = predicates[0];
+        switch ( predicate.type() )
+        {
+        case exists:
+            treeKeyFrom.initAsLowest();
+            treeKeyTo.initAsHighest();
+            return startSeekForInitializedRange( treeKeyFrom, treeKeyTo, null, order );
+        case exact:
+            ExactPredicate exactPredicate = (ExactPredicate) predicate;
+            treeKeyFrom.from( Long.MIN_VALUE, exactPredicate.value() );
+            treeKeyTo.from( Long.MAX_VALUE, exactPredicate.value() );
+            return startSeekForInitializedRange( treeKeyFrom, treeKeyTo, null, order );
+        default:
+            boolean needFiltering = initializeRangeForQuery( treeKeyFrom, treeKeyTo, predicate );
+            return startSeekForInitializedRange( treeKeyFrom, treeKeyTo, needFiltering ? predicates : null, order );
+        }
+    }
+
+    /**
+     * Initializes {@code treeKeyFrom} and {@code treeKeyTo} to the range of keys to seek for the given predicate.
+     * Predicates which can not be expressed as a range fully can ask for the keys within the range to be filtered.
+     *
+     * @param treeKeyFrom key to initialize as the inclusive start of the range.
+     * @param treeKeyTo key to initialize as the exclusive end of the range.
+     * @param predicate the {@link IndexQuery} to initialize the range for.
+     * @return whether or not the keys within the initialized range needs to be filtered by the predicate.
+     * @throws IllegalArgumentException if the predicate isn't supported by this type of index.
+     */
+    abstract boolean initializeRangeForQuery( KEY treeKeyFrom, KEY treeKeyTo, IndexQuery predicate );
+
+    /**
+     * Starts a seek in the tree for the range between the given keys.
+     *
+     * @param treeKeyFrom inclusive start of the range.
+     * @param treeKeyTo exclusive end of the range.
+     * @param filters predicates, one for each value in the keys, which the keys within the range must match,
+     * or {@code null} if all keys within the range should be returned.
+     * @return iterator over entity ids, and values, of the keys within the range.
+     */
+    NodeValueIterator startSeekForInitializedRange( KEY treeKeyFrom, KEY treeKeyTo, IndexQuery[] filters )
+    {
+        return startSeekForInitializedRange( treeKeyFrom, treeKeyTo, filters, IndexOrder.ASCENDING );
+    }
+
+    /**
+     * Starts a seek in the tree for the range between the given keys, returning keys in the given order.
+     * A {@link IndexOrder#DESCENDING descending} seek starts at {@code treeKeyTo} and ends at {@code treeKeyFrom}.
+     * Range bounds never equal an actual key since they carry a special entity id, so swapping them doesn't
+     * change which keys are returned.
+     *
+     * @param treeKeyFrom inclusive start of the range.
+     * @param treeKeyTo exclusive end of the range.
+     * @param filters predicates, one for each value in the keys, which the keys within the range must match,
+     * or {@code null} if all keys within the range should be returned.
+     * @param order order to return keys in.
+     * @return iterator over entity ids, and values, of the keys within the range.
+     */
+    NodeValueIterator startSeekForInitializedRange( KEY treeKeyFrom, KEY treeKeyTo, IndexQuery[] filters,
+            IndexOrder order )
+    {
+        if ( layout.compare( treeKeyFrom, treeKeyTo ) > 0 )
+        {
+            return NodeValueIterator.EMPTY;
+        }
+        try
+        {
+            RawCursor<Hit<KEY,VALUE>,IOException> seeker = order == IndexOrder.DESCENDING
+                                                           ? tree.seek( treeKeyTo, treeKeyFrom )
+                                                           : tree.seek( treeKeyFrom, treeKeyTo );
+            openSeekers.add( seeker );
+            return filters == null ? new NativeHitIterator<>( seeker, openSeekers )
+                                   : new FilteringNativeHitIterator<>( seeker, openSeekers, filters );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private void ensureOpenSeekersClosed()
+    {
+        try
+        {
+            IOUtils.closeAll( openSeekers );
+            openSeekers.clear();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+}
@@ -27,25 +27,27 @@ import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.api.index.IndexUpdater;
 import org.neo4j.values.storable.ValueTuple;
 
-class NativeSchemaNumberIndexUpdater<KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue>
+class NativeSchemaIndexUpdater<KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue>
         implements IndexUpdater
 {
     private final KEY treeKey;
     private final VALUE treeValue;
     private final ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger;
+    private final IndexSampleSketch sketch;
     private Writer<KEY,VALUE> writer;
 
     private boolean closed = true;
     private boolean manageClosingOfWriter;
 
-    NativeSchemaNumberIndexUpdater( KEY treeKey, VALUE treeValue )
+    NativeSchemaIndexUpdater( KEY treeKey, VALUE treeValue, IndexSampleSketch sketch )
     {
         this.treeKey = treeKey;
         this.treeValue = treeValue;
+        this.sketch = sketch;
         this.conflictDetectingValueMerger = new ConflictDetectingValueMerger<>();
     }
 
-    NativeSchemaNumberIndexUpdater<KEY,VALUE> initialize( Writer<KEY,VALUE> writer, boolean manageClosingOfWriter )
+    NativeSchemaIndexUpdater<KEY,VALUE> initialize( Writer<KEY,VALUE> writer, boolean manageClosingOfWriter )
     {
         if ( !closed )
         {
@@ -62,7 +64,7 @@ class NativeSchemaNumberIndexUpdater<KEY extends SchemaNumberKey, VALUE extends
     public void process( IndexEntryUpdate<?> update ) throws IOException, IndexEntryConflictException
     {
         assertOpen();
-        processUpdate( treeKey, treeValue, update, writer, conflictDetectingValueMerger );
+        processUpdate( treeKey, treeValue, update, writer, conflictDetectingValueMerger, sketch );
     }
 
     @Override
@@ -83,62 +85,85 @@ class NativeSchemaNumberIndexUpdater<KEY extends SchemaNumberKey, VALUE extends
         }
     }
 
-    static <KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue> void processUpdate( KEY treeKey, VALUE treeValue,
-            IndexEntryUpdate<?> update, Writer<KEY,VALUE> writer, ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger )
-            throws IOException, IndexEntryConflictException
+    static <KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue> void processUpdate( KEY treeKey, VALUE treeValue,
+            IndexEntryUpdate<?> update, Writer<KEY,VALUE> writer, ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger,
+            IndexSampleSketch sketch ) throws IOException, IndexEntryConflictException
     {
         switch ( update.updateMode() )
         {
         case ADDED:
-            processAdd( treeKey, treeValue, update, writer, conflictDetectingValueMerger );
+            processAdd( treeKey, treeValue, update, writer, conflictDetectingValueMerger, sketch );
             break;
         case CHANGED:
-            processChange( treeKey, treeValue, update, writer, conflictDetectingValueMerger );
+            processChange( treeKey, treeValue, update, writer, conflictDetectingValueMerger, sketch );
             break;
         case REMOVED:
-            processRemove( treeKey, update, writer );
+            processRemove( treeKey, update, writer, sketch );
             break;
         default:
             throw new IllegalArgumentException();
         }
     }
 
-    private static <KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue> void processRemove( KEY treeKey,
-            IndexEntryUpdate<?> update, Writer<KEY,VALUE> writer ) throws IOException
+    private static <KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue> void processRemove( KEY treeKey,
+            IndexEntryUpdate<?> update, Writer<KEY,VALUE> writer, IndexSampleSketch sketch ) throws IOException
     {
         // todo Do we need to verify that we actually removed something at all?
         // todo Difference between online and recovery?
         treeKey.from( update.getEntityId(), update.values() );
-        writer.remove( treeKey );
+        removeEntry( treeKey, writer, sketch );
     }
 
-    private static <KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue> void processChange( KEY treeKey, VALUE treeValue,
+    private static <KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue> void processChange( KEY treeKey, VALUE treeValue,
             IndexEntryUpdate<?> update, Writer<KEY,VALUE> writer,
-            ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger )
+            ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger, IndexSampleSketch sketch )
             throws IOException, IndexEntryConflictException
     {
         // Remove old entry
         treeKey.from( update.getEntityId(), update.beforeValues() );
-        writer.remove( treeKey );
+        removeEntry( treeKey, writer, sketch );
         // Insert new entry
         treeKey.from( update.getEntityId(), update.values() );
         treeValue.from( update.values() );
-        writer.merge( treeKey, treeValue, conflictDetectingValueMerger );
-        assertNoConflict( update, conflictDetectingValueMerger );
+        mergeEntry( treeKey, treeValue, update, writer, conflictDetectingValueMerger, sketch );
     }
 
-    static <KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue> void processAdd( KEY treeKey, VALUE treeValue,
+    static <KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue> void processAdd( KEY treeKey, VALUE treeValue,
             IndexEntryUpdate<?> update, Writer<KEY,VALUE> writer,
-            ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger )
+            ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger, IndexSampleSketch sketch )
             throws IOException, IndexEntryConflictException
     {
         treeKey.from( update.getEntityId(), update.values() );
         treeValue.from( update.values() );
+        mergeEntry( treeKey, treeValue, update, writer, conflictDetectingValueMerger, sketch );
+    }
+
+    // The sketch is only updated for entries actually added or removed, so that updates applied more than once,
+    // e.g. during recovery, don't skew the number of entries in it.
+    private static <KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue> void mergeEntry( KEY treeKey,
+            VALUE treeValue, IndexEntryUpdate<?> update, Writer<KEY,VALUE> writer,
+            ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger, IndexSampleSketch sketch )
+            throws IOException, IndexEntryConflictException
+    {
         writer.merge( treeKey, treeValue, conflictDetectingValueMerger );
+        boolean keyExisted = conflictDetectingValueMerger.keyExisted();
         assertNoConflict( update, conflictDetectingValueMerger );
+        if ( !keyExisted )
+        {
+            sketch.entryAdded( IndexSampleSketch.hash( update.values() ) );
+        }
+    }
+
+    private static <KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue> void removeEntry( KEY treeKey,
+            Writer<KEY,VALUE> writer, IndexSampleSketch sketch ) throws IOException
+    {
+        if ( writer.remove( treeKey ) != null )
+        {
+            sketch.entryRemoved();
+        }
     }
 
-    private static <KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue> void assertNoConflict( IndexEntryUpdate<?> update,
+    private static <KEY extends NativeSchemaKey, VALUE extends NativeSchemaValue> void assertNoConflict( IndexEntryUpdate<?> update,
             ConflictDetectingValueMerger<KEY,VALUE> conflictDetectingValueMerger ) throws IndexEntryConflictException
     {
         if ( conflictDetectingValueMerger.wasConflict() )
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueWriter;
+
+/**
+ * Key in a {@link GBPTree} suitable for schema indexing. Includes value and entity id (to be able to handle
+ * non-unique values). How the value is represented is up to each type of key.
+ */
+abstract class NativeSchemaKey extends ValueWriter.Adapter<RuntimeException>
+{
+    long entityId;
+
+    /**
+     * Marks that comparisons with this key requires also comparing entityId, this allows functionality
+     * of inclusive/exclusive bounds of range queries.
+     * This is because {@link GBPTree} only support from inclusive and to exclusive.
+     * <p>
+     * Note that {@code entityIdIsSpecialTieBreaker} is only an in memory state.
+     */
+    boolean entityIdIsSpecialTieBreaker;
+
+    void from( long entityId, Value... values )
+    {
+        initFromValues( assertValidValues( values ) );
+        this.entityId = entityId;
+        entityIdIsSpecialTieBreaker = false;
+    }
+
+    private Value[] assertValidValues( Value... values )
+    {
+        if ( values.length != numberOfValues() )
+        {
+            throw new IllegalArgumentException( "Key layout holds " + numberOfValues() +
+                    " value(s), tried to create key from " + values.length + " value(s)" );
+        }
+        for ( Value value : values )
+        {
+            if ( !acceptsValue( value ) )
+            {
+                throw new IllegalArgumentException( "Key layout does only support " + supportedValuesDescription() +
+                        ", tried to create key from " + value );
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return number of values in this type of key, i.e. number of properties of the indexes using it.
+     */
+    int numberOfValues()
+    {
+        return 1;
+    }
+
+    /**
+     * @param value {@link Value} to check.
+     * @return whether or not this type of key can represent the given value.
+     */
+    abstract boolean acceptsValue( Value value );
+
+    /**
+     * @return description of the values supported by this type of key, used in error messages.
+     */
+    abstract String supportedValuesDescription();
+
+    /**
+     * Extracts the state representing the given values into this key.
+     *
+     * @param values the {@link Value values}, already verified to be accepted by this key and
+     * to be {@link #numberOfValues()} many.
+     */
+    abstract void initFromValues( Value[] values );
+
+    /**
+     * @return the values of this key as {@link Value values}, one for each property.
+     */
+    abstract Value[] asValues();
+
+    String propertiesAsString()
+    {
+        Value[] values = asValues();
+        if ( values.length == 1 )
+        {
+            return values[0].toString();
+        }
+        StringBuilder builder = new StringBuilder();
+        for ( int i = 0; i < values.length; i++ )
+        {
+            builder.append( i == 0 ? "" : "," ).append( values[i] );
+        }
+        return builder.toString();
+    }
+
+    abstract void initAsLowest();
+
+    abstract void initAsHighest();
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.index.IndexAccessor;
+import org.neo4j.kernel.api.index.IndexDirectoryStructure;
+import org.neo4j.kernel.api.index.IndexPopulator;
+import org.neo4j.kernel.api.schema.index.IndexDescriptor;
+import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
+
+/**
+ * Schema index provider for native indexes of strings. Only strings which encode to at most
+ * {@link StringSchemaKey#MAX_STRING_BYTES} bytes can be indexed by it.
+ * <p>
+ * Unique indexes use the same layout as non-unique indexes, i.e. entity id is part of the key. Like other unique
+ * indexes it must be possible to feed this index with conflicting data and have it verify uniqueness afterwards,
+ * see {@link NativeUniqueSchemaStringIndexPopulator}.
+ */
+public class NativeSchemaStringIndexProvider extends NativeSchemaIndexProvider<StringSchemaKey,NativeSchemaValue>
+{
+    public static final String KEY = "string";
+    public static final Descriptor STRING_PROVIDER_DESCRIPTOR = new Descriptor( KEY, "1.0" );
+
+    public NativeSchemaStringIndexProvider( PageCache pageCache, FileSystemAbstraction fs,
+            IndexDirectoryStructure.Factory directoryStructure, Monitor monitor, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            boolean readOnly )
+    {
+        super( STRING_PROVIDER_DESCRIPTOR, 0, directoryStructure, pageCache, fs, monitor, recoveryCleanupWorkCollector, readOnly );
+    }
+
+    @Override
+    protected Layout<StringSchemaKey,NativeSchemaValue> layout( IndexDescriptor descriptor )
+    {
+        return new NonUniqueStringLayout();
+    }
+
+    @Override
+    protected IndexPopulator newUniqueIndexPopulator( File storeFile, Layout<StringSchemaKey,NativeSchemaValue> layout,
+            IndexDescriptor descriptor, long indexId )
+    {
+        return new NativeUniqueSchemaStringIndexPopulator( pageCache, fs, storeFile, layout, monitor, descriptor, indexId );
+    }
+
+    @Override
+    protected IndexAccessor newIndexAccessor( File storeFile, Layout<StringSchemaKey,NativeSchemaValue> layout,
+            IndexDescriptor descriptor, long indexId, IndexSamplingConfig samplingConfig ) throws IOException
+    {
+        return new NativeSchemaStringIndexAccessor<>(
+                pageCache, fs, storeFile, layout, recoveryCleanupWorkCollector, monitor, descriptor, indexId,
+                samplingConfig );
+    }
+
+    @Override
+    protected boolean compatibleWith( long layoutIdentifier, int majorVersion, int minorVersion )
+    {
+        return layoutIdentifier == NonUniqueStringLayout.IDENTIFIER &&
+                majorVersion == NonUniqueStringLayout.MAJOR_VERSION &&
+                minorVersion == NonUniqueStringLayout.MINOR_VERSION;
+    }
+}
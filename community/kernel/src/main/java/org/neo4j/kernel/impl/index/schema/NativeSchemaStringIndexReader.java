@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.kernel.api.schema.IndexQuery;
+import org.neo4j.kernel.api.schema.IndexQuery.StringPrefixPredicate;
+import org.neo4j.kernel.api.schema.IndexQuery.StringRangePredicate;
+import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
+
+class NativeSchemaStringIndexReader<KEY extends StringSchemaKey, VALUE extends NativeSchemaValue>
+        extends NativeSchemaIndexReader<KEY,VALUE>
+{
+    NativeSchemaStringIndexReader(
+            GBPTree<KEY,VALUE> tree, Layout<KEY,VALUE> layout, IndexSamplingConfig samplingConfig,
+            IndexSampleSketch sketch )
+    {
+        super( tree, layout, samplingConfig, sketch );
+    }
+
+    @Override
+    boolean initializeRangeForQuery( KEY treeKeyFrom, KEY treeKeyTo, IndexQuery predicate )
+    {
+        switch ( predicate.type() )
+        {
+        case rangeString:
+            StringRangePredicate rangePredicate = (StringRangePredicate) predicate;
+            initFromForRange( rangePredicate, treeKeyFrom );
+            initToForRange( rangePredicate, treeKeyTo );
+            return false;
+        case stringPrefix:
+            StringPrefixPredicate prefixPredicate = (StringPrefixPredicate) predicate;
+            if ( treeKeyFrom.initAsBound( prefixPredicate.prefix() ) )
+            {
+                // No string in this index is long enough to start with this prefix
+                treeKeyFrom.initAsHighest();
+                treeKeyTo.initAsLowest();
+                return false;
+            }
+            treeKeyFrom.entityId = Long.MIN_VALUE;
+            treeKeyFrom.entityIdIsSpecialTieBreaker = true;
+            treeKeyTo.initAsBound( prefixPredicate.prefix() );
+            treeKeyTo.initAsPrefixUpperBound();
+            return false;
+        case stringSuffix:
+        case stringContains:
+            treeKeyFrom.initAsLowest();
+            treeKeyTo.initAsHighest();
+            return true;
+        default:
+            throw new IllegalArgumentException( "IndexQuery of type " + predicate.type() + " is not supported." );
+        }
+    }
+
+    private void initFromForRange( StringRangePredicate rangePredicate, KEY treeKeyFrom )
+    {
+        String from = rangePredicate.from();
+        if ( from == null )
+        {
+            treeKeyFrom.initAsLowest();
+        }
+        else
+        {
+            // A truncated bound is lower than the actual bound, but higher than any string in this index
+            // which is lower than the actual bound, so it's used as an exclusive bound
+            boolean truncated = treeKeyFrom.initAsBound( from );
+            boolean inclusive = rangePredicate.fromInclusive() && !truncated;
+            treeKeyFrom.entityId = inclusive ? Long.MIN_VALUE : Long.MAX_VALUE;
+            treeKeyFrom.entityIdIsSpecialTieBreaker = true;
+        }
+    }
+
+    private void initToForRange( StringRangePredicate rangePredicate, KEY treeKeyTo )
+    {
+        String to = rangePredicate.to();
+        if ( to == null )
+        {
+            treeKeyTo.initAsHighest();
+        }
+        else
+        {
+            // A truncated bound is lower than the actual bound, but not lower than any string in this index
+            // which is lower than the actual bound, so it's used as an inclusive bound
+            boolean truncated = treeKeyTo.initAsBound( to );
+            boolean inclusive = rangePredicate.toInclusive() || truncated;
+            treeKeyTo.entityId = inclusive ? Long.MAX_VALUE : Long.MIN_VALUE;
+            treeKeyTo.entityIdIsSpecialTieBreaker = true;
+        }
+    }
+
+    @Override
+    public boolean hasFullNumberPrecision( IndexQuery... predicates )
+    {
+        return false;
+    }
+}
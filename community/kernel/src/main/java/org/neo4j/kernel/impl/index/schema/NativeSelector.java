@@ -26,19 +26,32 @@ import org.neo4j.values.storable.ValueGroup;
 public class NativeSelector implements FusionSchemaIndexProvider.Selector
 {
     @Override
-    public <T> T select( T nativeInstance, T luceneInstance, Value... values )
+    public <T> T select( T stringInstance, T numberInstance, T luceneInstance, Value... values )
     {
         if ( values.length > 1 )
         {
-            // Multiple values must be handled by lucene
-            return luceneInstance;
+            // Multiple values can be handled by the native number index if all of them are numbers,
+            // otherwise they must be handled by lucene
+            for ( Value value : values )
+            {
+                if ( value.valueGroup() != ValueGroup.NUMBER )
+                {
+                    return luceneInstance;
+                }
+            }
+            return numberInstance;
         }
 
         Value singleValue = values[0];
         if ( singleValue.valueGroup() == ValueGroup.NUMBER )
         {
             // It's a number, the native can handle this
-            return nativeInstance;
+            return numberInstance;
+        }
+        if ( StringSchemaKey.fitsInKey( singleValue ) )
+        {
+            // It's a string short enough for the native string index
+            return stringInstance;
         }
         return luceneInstance;
     }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.kernel.api.index.PropertyAccessor;
+import org.neo4j.kernel.api.index.SchemaIndexProvider;
+import org.neo4j.kernel.api.schema.index.IndexDescriptor;
+
+/**
+ * {@link NativeUniqueSchemaIndexPopulator} for strings. The layout has entity id as part of the key and so
+ * conflicting values don't collide on insert. Instead uniqueness is verified in
+ * {@link #verifyDeferredConstraints(PropertyAccessor)}, see {@link StringIndexUniquenessVerifier}.
+ */
+class NativeUniqueSchemaStringIndexPopulator extends NativeUniqueSchemaIndexPopulator<StringSchemaKey,NativeSchemaValue>
+{
+    NativeUniqueSchemaStringIndexPopulator( PageCache pageCache, FileSystemAbstraction fs, File storeFile,
+            Layout<StringSchemaKey,NativeSchemaValue> layout, SchemaIndexProvider.Monitor monitor, IndexDescriptor descriptor,
+            long indexId )
+    {
+        super( pageCache, fs, storeFile, layout, monitor, descriptor, indexId );
+    }
+
+    @Override
+    public void verifyDeferredConstraints( PropertyAccessor propertyAccessor )
+            throws IndexEntryConflictException, IOException
+    {
+        // Close the writer before scanning
+        closeWriter();
+        try
+        {
+            StringIndexUniquenessVerifier.verify( tree, layout );
+        }
+        finally
+        {
+            instantiateWriter();
+        }
+    }
+}
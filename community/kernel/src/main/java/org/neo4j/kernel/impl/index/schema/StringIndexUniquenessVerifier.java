@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.io.IOException;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
+import org.neo4j.values.storable.ValueTuple;
+
+/**
+ * Verifies uniqueness of values in a native string index, where entity id is part of the key and so conflicting
+ * values can be inserted next to each other. Scans the whole tree, where entries with equal values are adjacent.
+ */
+class StringIndexUniquenessVerifier
+{
+    private StringIndexUniquenessVerifier()
+    {
+    }
+
+    static <KEY extends StringSchemaKey, VALUE extends NativeSchemaValue> void verify( GBPTree<KEY,VALUE> tree,
+            Layout<KEY,VALUE> layout ) throws IndexEntryConflictException, IOException
+    {
+        KEY from = layout.newKey();
+        KEY to = layout.newKey();
+        KEY previous = layout.newKey();
+        from.initAsLowest();
+        to.initAsHighest();
+        boolean first = true;
+        try ( RawCursor<Hit<KEY,VALUE>,IOException> seeker = tree.seek( from, to ) )
+        {
+            while ( seeker.next() )
+            {
+                KEY key = seeker.get().key();
+                if ( !first && previous.compareValueTo( key ) == 0 )
+                {
+                    throw new IndexEntryConflictException( previous.entityId, key.entityId, ValueTuple.of( key.asValue() ) );
+                }
+                layout.copyKey( key, previous );
+                first = false;
+            }
+        }
+    }
+}
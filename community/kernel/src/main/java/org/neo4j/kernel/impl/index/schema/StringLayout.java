@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * {@link Layout} for strings. Keys are of dynamic size, only occupying the entity id and the encoded bytes of
+ * the string, the length of which is given by the key size stored by the tree.
+ */
+abstract class StringLayout extends Layout.Adapter<StringSchemaKey,NativeSchemaValue>
+{
+    @Override
+    public StringSchemaKey newKey()
+    {
+        return new StringSchemaKey();
+    }
+
+    @Override
+    public StringSchemaKey copyKey( StringSchemaKey key, StringSchemaKey into )
+    {
+        into.ensureCapacity( key.bytesLength );
+        System.arraycopy( key.bytes, 0, into.bytes, 0, key.bytesLength );
+        into.bytesLength = key.bytesLength;
+        into.isHighest = key.isHighest;
+        into.entityId = key.entityId;
+        into.entityIdIsSpecialTieBreaker = key.entityIdIsSpecialTieBreaker;
+        return into;
+    }
+
+    @Override
+    public NativeSchemaValue newValue()
+    {
+        return NativeSchemaValue.INSTANCE;
+    }
+
+    @Override
+    public int keySize()
+    {
+        return StringSchemaKey.MAX_SIZE;
+    }
+
+    @Override
+    public int keySize( StringSchemaKey key )
+    {
+        return key.size();
+    }
+
+    @Override
+    public boolean fixedSize()
+    {
+        return false;
+    }
+
+    @Override
+    public int valueSize()
+    {
+        return NativeSchemaValue.SIZE;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, StringSchemaKey key )
+    {
+        cursor.putLong( key.entityId );
+        cursor.putBytes( key.bytes, 0, key.bytesLength );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, NativeSchemaValue value )
+    {
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, StringSchemaKey into )
+    {
+        throw new UnsupportedOperationException( "Keys of " + this + " are of dynamic size, key size must be provided" );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, StringSchemaKey into, int keySize )
+    {
+        into.entityId = cursor.getLong();
+        int bytesLength = keySize - StringSchemaKey.ENTITY_ID_SIZE;
+        if ( bytesLength < 0 || bytesLength > StringSchemaKey.MAX_STRING_BYTES )
+        {
+            // Inconsistent read, which will be retried. Just make sure we read within the bounds of the key.
+            bytesLength = 0;
+        }
+        into.ensureCapacity( bytesLength );
+        cursor.getBytes( into.bytes, 0, bytesLength );
+        into.bytesLength = bytesLength;
+        into.isHighest = false;
+    }
+
+    /**
+     * Separator is the shortest prefix of {@code right} which is still greater than {@code left}, i.e. {@code right}
+     * up to and including the first byte differing from {@code left}. Such a prefix is never greater than
+     * {@code right}, so entity id of {@code right} is used for it regardless of whether or not it was shortened.
+     */
+    @Override
+    public void minimalSplitter( StringSchemaKey left, StringSchemaKey right, StringSchemaKey into )
+    {
+        int length = Math.min( left.bytesLength, right.bytesLength );
+        int firstDifference = 0;
+        while ( firstDifference < length && left.bytes[firstDifference] == right.bytes[firstDifference] )
+        {
+            firstDifference++;
+        }
+        int separatorLength = Math.min( firstDifference + 1, right.bytesLength );
+        into.ensureCapacity( separatorLength );
+        System.arraycopy( right.bytes, 0, into.bytes, 0, separatorLength );
+        into.bytesLength = separatorLength;
+        into.isHighest = false;
+        into.entityId = right.entityId;
+        into.entityIdIsSpecialTieBreaker = false;
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, NativeSchemaValue into )
+    {
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import java.util.Arrays;
+
+import org.neo4j.string.UTF8;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueGroup;
+import org.neo4j.values.storable.Values;
+
+import static java.lang.String.format;
+
+/**
+ * Includes value and entity id (to be able to handle non-unique values).
+ * A value is a string, stored as its UTF-8 encoded bytes. Keys are ordered by comparing those bytes
+ * lexicographically as unsigned, which is the same as ordering the strings by unicode code point.
+ * <p>
+ * Keys are of dynamic size, each occupying {@link #size()} bytes in the tree. Strings which encode to more than
+ * {@link #MAX_STRING_BYTES} bytes can't be represented, see {@link #fitsInKey(Value)}.
+ */
+class StringSchemaKey extends NativeSchemaKey
+{
+    /**
+     * Max size of a key. A tree node must fit at least three keys of max size, which holds with margin
+     * for the 8 KiB pages of the page cache.
+     */
+    static final int MAX_SIZE = 2048;
+
+    static final int ENTITY_ID_SIZE = Long.BYTES;
+
+    static final int MAX_STRING_BYTES = MAX_SIZE - ENTITY_ID_SIZE;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    byte[] bytes = new byte[INITIAL_CAPACITY];
+    int bytesLength;
+
+    /**
+     * Marks this key as higher than any string. Only used as upper bound in seeks, never written to the tree.
+     * <p>
+     * Note that {@code isHighest} is only an in memory state.
+     */
+    boolean isHighest;
+
+    /**
+     * @param value {@link Value} to check.
+     * @return whether or not the value is a string which fits in a {@link StringSchemaKey}.
+     */
+    static boolean fitsInKey( Value value )
+    {
+        return value.valueGroup() == ValueGroup.TEXT &&
+               encodedLength( ((TextValue) value).stringValue(), MAX_STRING_BYTES ) <= MAX_STRING_BYTES;
+    }
+
+    /**
+     * Calculates the number of bytes the given string takes up when UTF-8 encoded, without encoding it.
+     * Calculation stops as soon as the length goes beyond {@code limit}.
+     */
+    private static int encodedLength( String string, int limit )
+    {
+        int length = 0;
+        for ( int i = 0; i < string.length() && length <= limit; i++ )
+        {
+            char c = string.charAt( i );
+            if ( c < 0x80 )
+            {
+                length += 1;
+            }
+            else if ( c < 0x800 )
+            {
+                length += 2;
+            }
+            else if ( Character.isHighSurrogate( c ) && i + 1 < string.length() &&
+                      Character.isLowSurrogate( string.charAt( i + 1 ) ) )
+            {
+                length += 4;
+                i++;
+            }
+            else
+            {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @return number of bytes this key occupies in the tree.
+     */
+    int size()
+    {
+        return ENTITY_ID_SIZE + bytesLength;
+    }
+
+    /**
+     * Makes sure {@link #bytes} can hold at least {@code length} bytes, keeping the current contents.
+     * Keys are reused, so the array only grows as long as strings are seen.
+     */
+    void ensureCapacity( int length )
+    {
+        if ( bytes.length < length )
+        {
+            bytes = Arrays.copyOf( bytes, Math.min( MAX_STRING_BYTES, Math.max( length, bytes.length * 2 ) ) );
+        }
+    }
+
+    @Override
+    boolean acceptsValue( Value value )
+    {
+        return fitsInKey( value );
+    }
+
+    @Override
+    String supportedValuesDescription()
+    {
+        return "strings of at most " + MAX_STRING_BYTES + " UTF-8 encoded bytes";
+    }
+
+    @Override
+    void initFromValues( Value[] values )
+    {
+        initFromValue( values[0] );
+    }
+
+    @Override
+    Value[] asValues()
+    {
+        return new Value[]{asValue()};
+    }
+
+    void initFromValue( Value value )
+    {
+        isHighest = false;
+        value.writeTo( this );
+    }
+
+    Value asValue()
+    {
+        return Values.utf8Value( bytes, 0, bytesLength );
+    }
+
+    @Override
+    void initAsLowest()
+    {
+        bytesLength = 0;
+        isHighest = false;
+        entityId = Long.MIN_VALUE;
+        entityIdIsSpecialTieBreaker = true;
+    }
+
+    @Override
+    void initAsHighest()
+    {
+        bytesLength = 0;
+        isHighest = true;
+        entityId = Long.MAX_VALUE;
+        entityIdIsSpecialTieBreaker = true;
+    }
+
+    /**
+     * Initializes the value of this key from the given string, truncated to its first {@link #MAX_STRING_BYTES}
+     * encoded bytes. Used for bounds of seeks, which unlike the strings stored in the tree may be of any length.
+     * Entity id and tie breaker are left for the caller to initialize.
+     *
+     * @param string the string to initialize the value from.
+     * @return whether or not the string had to be truncated.
+     */
+    boolean initAsBound( String string )
+    {
+        byte[] encoded = UTF8.encode( string );
+        bytesLength = Math.min( encoded.length, MAX_STRING_BYTES );
+        ensureCapacity( bytesLength );
+        System.arraycopy( encoded, 0, bytes, 0, bytesLength );
+        isHighest = false;
+        return encoded.length > MAX_STRING_BYTES;
+    }
+
+    /**
+     * Turns the value of this key into the lowest value which is higher than all strings starting with it,
+     * e.g. {@code "abc"} becomes {@code "abd"}. Used as exclusive upper bound when seeking for a prefix.
+     */
+    void initAsPrefixUpperBound()
+    {
+        // Strip trailing bytes which can't be incremented and increment the last one that can
+        while ( bytesLength > 0 && bytes[bytesLength - 1] == (byte) 0xFF )
+        {
+            bytesLength--;
+        }
+        if ( bytesLength == 0 )
+        {
+            initAsHighest();
+            return;
+        }
+        bytes[bytesLength - 1]++;
+        entityId = Long.MIN_VALUE;
+        entityIdIsSpecialTieBreaker = true;
+    }
+
+    /**
+     * Compares the value of this key to that of another key.
+     * This method is expected to be called in scenarios where inconsistent reads may happen (and later retried).
+     *
+     * @param other the {@link StringSchemaKey} to compare to.
+     * @return comparison against the {@code other} {@link StringSchemaKey}.
+     */
+    int compareValueTo( StringSchemaKey other )
+    {
+        if ( isHighest || other.isHighest )
+        {
+            return Boolean.compare( isHighest, other.isHighest );
+        }
+        int length = Math.min( bytesLength, other.bytesLength );
+        for ( int i = 0; i < length; i++ )
+        {
+            int comparison = Integer.compare( bytes[i] & 0xFF, other.bytes[i] & 0xFF );
+            if ( comparison != 0 )
+            {
+                return comparison;
+            }
+        }
+        return Integer.compare( bytesLength, other.bytesLength );
+    }
+
+    @Override
+    public String toString()
+    {
+        return format( "value=%s,entityId=%d", isHighest ? "<highest>" : asValue(), entityId );
+    }
+
+    @Override
+    public void writeString( String value )
+    {
+        setBytes( UTF8.encode( value ) );
+    }
+
+    @Override
+    public void writeString( char value )
+    {
+        writeString( String.valueOf( value ) );
+    }
+
+    @Override
+    public void writeString( char[] value, int offset, int length )
+    {
+        writeString( new String( value, offset, length ) );
+    }
+
+    @Override
+    public void writeUTF8( byte[] bytes, int offset, int length )
+    {
+        assertFits( length );
+        ensureCapacity( length );
+        System.arraycopy( bytes, offset, this.bytes, 0, length );
+        bytesLength = length;
+    }
+
+    private void setBytes( byte[] encoded )
+    {
+        writeUTF8( encoded, 0, encoded.length );
+    }
+
+    private static void assertFits( int length )
+    {
+        if ( length > MAX_STRING_BYTES )
+        {
+            throw new IllegalArgumentException( "String of " + length + " bytes doesn't fit in key of max " +
+                    MAX_STRING_BYTES + " bytes" );
+        }
+    }
+}
@@ -37,19 +37,22 @@ import org.neo4j.storageengine.api.schema.IndexReader;
 
 import static java.util.Arrays.asList;
 import static org.neo4j.helpers.collection.Iterators.concatResourceIterators;
+import static org.neo4j.kernel.impl.index.schema.fusion.FusionIndexUtils.forAll;
 
 class FusionIndexAccessor implements IndexAccessor
 {
-    private final IndexAccessor nativeAccessor;
+    private final IndexAccessor stringAccessor;
+    private final IndexAccessor numberAccessor;
     private final IndexAccessor luceneAccessor;
     private final Selector selector;
     private final long indexId;
     private final DropAction dropAction;
 
-    FusionIndexAccessor( IndexAccessor nativeAccessor, IndexAccessor luceneAccessor, Selector selector,
-            long indexId, DropAction dropAction )
+    FusionIndexAccessor( IndexAccessor stringAccessor, IndexAccessor numberAccessor, IndexAccessor luceneAccessor,
+            Selector selector, long indexId, DropAction dropAction )
     {
-        this.nativeAccessor = nativeAccessor;
+        this.stringAccessor = stringAccessor;
+        this.numberAccessor = numberAccessor;
         this.luceneAccessor = luceneAccessor;
         this.selector = selector;
         this.indexId = indexId;
@@ -59,89 +62,75 @@ class FusionIndexAccessor implements IndexAccessor
     @Override
     public void drop() throws IOException
     {
-        try
-        {
-            nativeAccessor.drop();
-        }
-        finally
-        {
-            luceneAccessor.drop();
-        }
+        forAll( IndexAccessor::drop, stringAccessor, numberAccessor, luceneAccessor );
         dropAction.drop( indexId );
     }
 
     @Override
     public IndexUpdater newUpdater( IndexUpdateMode mode )
     {
-        return new FusionIndexUpdater( nativeAccessor.newUpdater( mode ), luceneAccessor.newUpdater( mode ), selector );
+        return new FusionIndexUpdater( stringAccessor.newUpdater( mode ), numberAccessor.newUpdater( mode ),
+                luceneAccessor.newUpdater( mode ), selector );
     }
 
     @Override
     public void force() throws IOException
     {
-        nativeAccessor.force();
+        stringAccessor.force();
+        numberAccessor.force();
         luceneAccessor.force();
     }
 
     @Override
     public void refresh() throws IOException
     {
-        nativeAccessor.refresh();
+        stringAccessor.refresh();
+        numberAccessor.refresh();
         luceneAccessor.refresh();
     }
 
     @Override
     public void close() throws IOException
     {
-        try
-        {
-            nativeAccessor.close();
-        }
-        finally
-        {
-            luceneAccessor.close();
-        }
+        forAll( IndexAccessor::close, stringAccessor, numberAccessor, luceneAccessor );
     }
 
     @Override
     public IndexReader newReader()
     {
-        return new FusionIndexReader( nativeAccessor.newReader(), luceneAccessor.newReader(), selector );
+        return new FusionIndexReader( stringAccessor.newReader(), numberAccessor.newReader(), luceneAccessor.newReader(),
+                selector );
     }
 
     @Override
     public BoundedIterable<Long> newAllEntriesReader()
     {
-        BoundedIterable<Long> nativeAllEntries = nativeAccessor.newAllEntriesReader();
+        BoundedIterable<Long> stringAllEntries = stringAccessor.newAllEntriesReader();
+        BoundedIterable<Long> numberAllEntries = numberAccessor.newAllEntriesReader();
         BoundedIterable<Long> luceneAllEntries = luceneAccessor.newAllEntriesReader();
         return new BoundedIterable<Long>()
         {
             @Override
             public long maxCount()
             {
-                long nativeMaxCount = nativeAllEntries.maxCount();
+                long stringMaxCount = stringAllEntries.maxCount();
+                long numberMaxCount = numberAllEntries.maxCount();
                 long luceneMaxCount = luceneAllEntries.maxCount();
-                return nativeMaxCount == UNKNOWN_MAX_COUNT || luceneMaxCount == UNKNOWN_MAX_COUNT ?
-                       UNKNOWN_MAX_COUNT : nativeMaxCount + luceneMaxCount;
+                return stringMaxCount == UNKNOWN_MAX_COUNT || numberMaxCount == UNKNOWN_MAX_COUNT ||
+                       luceneMaxCount == UNKNOWN_MAX_COUNT ?
+                       UNKNOWN_MAX_COUNT : stringMaxCount + numberMaxCount + luceneMaxCount;
             }
 
             @Override
             public void close() throws Exception
             {
-                try
-                {
-                    nativeAllEntries.close();
-                }
-                finally
-                {
-                    luceneAllEntries.close();
-                }
+                forAll( BoundedIterable::close, stringAllEntries, numberAllEntries, luceneAllEntries );
             }
 
             @Override
             public Iterator<Long> iterator()
             {
-                return Iterables.concat( nativeAllEntries, luceneAllEntries ).iterator();
+                return Iterables.concat( stringAllEntries, numberAllEntries, luceneAllEntries ).iterator();
             }
         };
     }
@@ -149,21 +138,22 @@ class FusionIndexAccessor implements IndexAccessor
     @Override
     public ResourceIterator<File> snapshotFiles() throws IOException
     {
-        return concatResourceIterators(
-                asList( nativeAccessor.snapshotFiles(), luceneAccessor.snapshotFiles() ).iterator() );
+        return concatResourceIterators( asList( stringAccessor.snapshotFiles(), numberAccessor.snapshotFiles(),
+                luceneAccessor.snapshotFiles() ).iterator() );
     }
 
     @Override
     public void verifyDeferredConstraints( PropertyAccessor propertyAccessor )
             throws IndexEntryConflictException, IOException
     {
-        nativeAccessor.verifyDeferredConstraints( propertyAccessor );
+        stringAccessor.verifyDeferredConstraints( propertyAccessor );
+        numberAccessor.verifyDeferredConstraints( propertyAccessor );
         luceneAccessor.verifyDeferredConstraints( propertyAccessor );
     }
 
     @Override
     public boolean isDirty()
     {
-        return nativeAccessor.isDirty();
+        return stringAccessor.isDirty() || numberAccessor.isDirty();
     }
 }
@@ -32,20 +32,23 @@ import org.neo4j.kernel.impl.index.schema.fusion.FusionSchemaIndexProvider.DropA
 import org.neo4j.kernel.impl.index.schema.fusion.FusionSchemaIndexProvider.Selector;
 import org.neo4j.storageengine.api.schema.IndexSample;
 
+import static org.neo4j.kernel.impl.index.schema.fusion.FusionIndexUtils.forAll;
 import static org.neo4j.kernel.impl.index.schema.fusion.FusionSchemaIndexProvider.combineSamples;
 
 class FusionIndexPopulator implements IndexPopulator
 {
-    private final IndexPopulator nativePopulator;
+    private final IndexPopulator stringPopulator;
+    private final IndexPopulator numberPopulator;
     private final IndexPopulator lucenePopulator;
     private final Selector selector;
     private final long indexId;
     private final DropAction dropAction;
 
-    FusionIndexPopulator( IndexPopulator nativePopulator, IndexPopulator lucenePopulator, Selector selector,
-            long indexId, DropAction dropAction )
+    FusionIndexPopulator( IndexPopulator stringPopulator, IndexPopulator numberPopulator, IndexPopulator lucenePopulator,
+            Selector selector, long indexId, DropAction dropAction )
     {
-        this.nativePopulator = nativePopulator;
+        this.stringPopulator = stringPopulator;
+        this.numberPopulator = numberPopulator;
         this.lucenePopulator = lucenePopulator;
         this.selector = selector;
         this.indexId = indexId;
@@ -55,42 +58,39 @@ class FusionIndexPopulator implements IndexPopulator
     @Override
     public void create() throws IOException
     {
-        nativePopulator.create();
+        stringPopulator.create();
+        numberPopulator.create();
         lucenePopulator.create();
     }
 
     @Override
     public void drop() throws IOException
     {
-        try
-        {
-            nativePopulator.drop();
-        }
-        finally
-        {
-            lucenePopulator.drop();
-        }
+        forAll( IndexPopulator::drop, stringPopulator, numberPopulator, lucenePopulator );
         dropAction.drop( indexId );
     }
 
     @Override
     public void add( Collection<? extends IndexEntryUpdate<?>> updates ) throws IndexEntryConflictException, IOException
     {
+        Collection<IndexEntryUpdate<?>> stringBatch = new ArrayList<>();
+        Collection<IndexEntryUpdate<?>> numberBatch = new ArrayList<>();
         Collection<IndexEntryUpdate<?>> luceneBatch = new ArrayList<>();
-        Collection<IndexEntryUpdate<?>> nativeBatch = new ArrayList<>();
         for ( IndexEntryUpdate<?> update : updates )
         {
-            selector.select( nativeBatch, luceneBatch, update.values() ).add( update );
+            selector.select( stringBatch, numberBatch, luceneBatch, update.values() ).add( update );
         }
         lucenePopulator.add( luceneBatch );
-        nativePopulator.add( nativeBatch );
+        stringPopulator.add( stringBatch );
+        numberPopulator.add( numberBatch );
     }
 
     @Override
     public void verifyDeferredConstraints( PropertyAccessor propertyAccessor )
             throws IndexEntryConflictException, IOException
     {
-        nativePopulator.verifyDeferredConstraints( propertyAccessor );
+        stringPopulator.verifyDeferredConstraints( propertyAccessor );
+        numberPopulator.verifyDeferredConstraints( propertyAccessor );
         lucenePopulator.verifyDeferredConstraints( propertyAccessor );
     }
 
@@ -98,45 +98,32 @@ class FusionIndexPopulator implements IndexPopulator
     public IndexUpdater newPopulatingUpdater( PropertyAccessor accessor ) throws IOException
     {
         return new FusionIndexUpdater(
-                nativePopulator.newPopulatingUpdater( accessor ),
+                stringPopulator.newPopulatingUpdater( accessor ),
+                numberPopulator.newPopulatingUpdater( accessor ),
                 lucenePopulator.newPopulatingUpdater( accessor ), selector );
     }
 
     @Override
     public void close( boolean populationCompletedSuccessfully ) throws IOException
     {
-        try
-        {
-            nativePopulator.close( populationCompletedSuccessfully );
-        }
-        finally
-        {
-            lucenePopulator.close( populationCompletedSuccessfully );
-        }
+        forAll( populator -> populator.close( populationCompletedSuccessfully ), stringPopulator, numberPopulator, lucenePopulator );
     }
 
     @Override
     public void markAsFailed( String failure ) throws IOException
     {
-        try
-        {
-            nativePopulator.markAsFailed( failure );
-        }
-        finally
-        {
-            lucenePopulator.markAsFailed( failure );
-        }
+        forAll( populator -> populator.markAsFailed( failure ), stringPopulator, numberPopulator, lucenePopulator );
     }
 
     @Override
     public void includeSample( IndexEntryUpdate<?> update )
     {
-        selector.select( nativePopulator, lucenePopulator, update.values() ).includeSample( update );
+        selector.select( stringPopulator, numberPopulator, lucenePopulator, update.values() ).includeSample( update );
     }
 
     @Override
     public IndexSample sampleResult()
     {
-        return combineSamples( nativePopulator.sampleResult(), lucenePopulator.sampleResult() );
+        return combineSamples( stringPopulator.sampleResult(), numberPopulator.sampleResult(), lucenePopulator.sampleResult() );
     }
 }
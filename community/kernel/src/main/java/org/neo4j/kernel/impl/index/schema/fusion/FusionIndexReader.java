@@ -22,24 +22,35 @@ package org.neo4j.kernel.impl.index.schema.fusion;
 import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.kernel.api.exceptions.index.IndexNotApplicableKernelException;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.IndexQuery.ExactPredicate;
 import org.neo4j.kernel.api.schema.IndexQuery.ExistsPredicate;
 import org.neo4j.kernel.api.schema.IndexQuery.NumberRangePredicate;
+import org.neo4j.kernel.api.schema.IndexQuery.StringContainsPredicate;
+import org.neo4j.kernel.api.schema.IndexQuery.StringPrefixPredicate;
+import org.neo4j.kernel.api.schema.IndexQuery.StringRangePredicate;
+import org.neo4j.kernel.api.schema.IndexQuery.StringSuffixPredicate;
 import org.neo4j.kernel.impl.index.schema.fusion.FusionSchemaIndexProvider.Selector;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.neo4j.kernel.impl.index.schema.fusion.FusionIndexUtils.forAll;
 
 class FusionIndexReader implements IndexReader
 {
-    private final IndexReader nativeReader;
+    private final IndexReader stringReader;
+    private final IndexReader numberReader;
     private final IndexReader luceneReader;
     private final Selector selector;
 
-    FusionIndexReader( IndexReader nativeReader, IndexReader luceneReader, Selector selector )
+    FusionIndexReader( IndexReader stringReader, IndexReader numberReader, IndexReader luceneReader, Selector selector )
     {
-        this.nativeReader = nativeReader;
+        this.stringReader = stringReader;
+        this.numberReader = numberReader;
         this.luceneReader = luceneReader;
         this.selector = selector;
     }
@@ -47,26 +58,21 @@ class FusionIndexReader implements IndexReader
     @Override
     public void close()
     {
-        try
-        {
-            nativeReader.close();
-        }
-        finally
-        {
-            luceneReader.close();
-        }
+        forAll( IndexReader::close, stringReader, numberReader, luceneReader );
     }
 
     @Override
     public long countIndexedNodes( long nodeId, Value... propertyValues )
     {
-        return selector.select( nativeReader, luceneReader, propertyValues ).countIndexedNodes( nodeId, propertyValues );
+        return selector.select( stringReader, numberReader, luceneReader, propertyValues )
+                .countIndexedNodes( nodeId, propertyValues );
     }
 
     @Override
     public IndexSampler createSampler()
     {
-        return new FusionIndexSampler( nativeReader.createSampler(), luceneReader.createSampler() );
+        return new FusionIndexSampler( stringReader.createSampler(), numberReader.createSampler(),
+                luceneReader.createSampler() );
     }
 
     @Override
@@ -74,37 +80,94 @@ class FusionIndexReader implements IndexReader
     {
         if ( predicates.length > 1 )
         {
-            return luceneReader.query( predicates );
+            return compositeQuery( predicates );
         }
 
         if ( predicates[0] instanceof ExactPredicate )
         {
             ExactPredicate exactPredicate = (ExactPredicate) predicates[0];
-            return selector.select( nativeReader, luceneReader, exactPredicate.value() ).query( predicates );
+            return selector.select( stringReader, numberReader, luceneReader, exactPredicate.value() ).query( predicates );
         }
 
         if ( predicates[0] instanceof NumberRangePredicate )
         {
-            return nativeReader.query( predicates[0] );
+            return numberReader.query( predicates[0] );
+        }
+
+        // Strings too long for the native string index are in lucene, so string queries go to both.
+        // Suffix and contains can't be answered with a range seek in the native index, so it filters all its keys.
+        // todo: There will be no ordering of the node ids here. Is this a problem?
+        if ( predicates[0] instanceof StringRangePredicate || predicates[0] instanceof StringPrefixPredicate ||
+             predicates[0] instanceof StringSuffixPredicate || predicates[0] instanceof StringContainsPredicate )
+        {
+            PrimitiveLongIterator stringResult = stringReader.query( predicates[0] );
+            PrimitiveLongIterator luceneResult = luceneReader.query( predicates[0] );
+            return PrimitiveLongCollections.concat( stringResult, luceneResult );
         }
 
         // todo: There will be no ordering of the node ids here. Is this a problem?
         if ( predicates[0] instanceof ExistsPredicate )
         {
-            PrimitiveLongIterator nativeResult = nativeReader.query( predicates[0] );
+            PrimitiveLongIterator stringResult = stringReader.query( predicates[0] );
+            PrimitiveLongIterator numberResult = numberReader.query( predicates[0] );
             PrimitiveLongIterator luceneResult = luceneReader.query( predicates[0] );
-            return PrimitiveLongCollections.concat( nativeResult, luceneResult );
+            return PrimitiveLongCollections.concat( stringResult, numberResult, luceneResult );
         }
 
         return luceneReader.query( predicates );
     }
 
+    /**
+     * Composite entries where all values are numbers are in the native number index, all other composite entries
+     * are in lucene. Queries go to the index, or indexes, which can have matching entries.
+     */
+    private PrimitiveLongIterator compositeQuery( IndexQuery[] predicates ) throws IndexNotApplicableKernelException
+    {
+        switch ( compositeMatch( predicates ) )
+        {
+        case ONLY_NUMBERS:
+            return numberReader.query( predicates );
+        case NO_NUMBERS:
+            return luceneReader.query( predicates );
+        default:
+            // todo: There will be no ordering of the node ids here. Is this a problem?
+            PrimitiveLongIterator numberResult = numberReader.query( predicates );
+            PrimitiveLongIterator luceneResult = luceneReader.query( predicates );
+            return PrimitiveLongCollections.concat( numberResult, luceneResult );
+        }
+    }
+
+    private static CompositeMatch compositeMatch( IndexQuery[] predicates )
+    {
+        CompositeMatch match = CompositeMatch.ONLY_NUMBERS;
+        for ( IndexQuery predicate : predicates )
+        {
+            if ( predicate instanceof ExactPredicate )
+            {
+                if ( !Values.isNumberValue( ((ExactPredicate) predicate).value() ) )
+                {
+                    return CompositeMatch.NO_NUMBERS;
+                }
+            }
+            else if ( predicate instanceof ExistsPredicate )
+            {
+                match = CompositeMatch.ANY;
+            }
+            else if ( !(predicate instanceof NumberRangePredicate) )
+            {
+                return CompositeMatch.NO_NUMBERS;
+            }
+        }
+        return match;
+    }
+
     @Override
     public boolean hasFullNumberPrecision( IndexQuery... predicates )
     {
         if ( predicates.length > 1 )
         {
-            return false;
+            return compositeMatch( predicates ) == CompositeMatch.ONLY_NUMBERS &&
+                   numberReader.hasFullNumberPrecision( predicates );
         }
 
         IndexQuery predicate = predicates[0];
@@ -112,13 +175,105 @@ class FusionIndexReader implements IndexReader
         {
             Value value = ((ExactPredicate) predicate).value();
             return selector.select(
-                    nativeReader.hasFullNumberPrecision( predicates ),
+                    stringReader.hasFullNumberPrecision( predicates ),
+                    numberReader.hasFullNumberPrecision( predicates ),
                     luceneReader.hasFullNumberPrecision( predicates ), value );
         }
         if ( predicates[0] instanceof NumberRangePredicate )
         {
-            return nativeReader.hasFullNumberPrecision( predicates );
+            return numberReader.hasFullNumberPrecision( predicates );
         }
         return false;
     }
+
+    /**
+     * Only queries answered by a single one of the fused readers can be ordered, i.e. exact queries, where all
+     * entries have the same value, and number range queries. Results from several readers are concatenated
+     * and have no order.
+     */
+    @Override
+    public boolean supportsOrder( IndexOrder order, IndexQuery... predicates )
+    {
+        if ( predicates.length > 1 )
+        {
+            return false;
+        }
+        if ( predicates[0] instanceof ExactPredicate )
+        {
+            return true;
+        }
+        return predicates[0] instanceof NumberRangePredicate && numberReader.supportsOrder( order, predicates );
+    }
+
+    @Override
+    public PrimitiveLongIterator orderedQuery( IndexOrder order, IndexQuery... predicates )
+            throws IndexNotApplicableKernelException
+    {
+        if ( !supportsOrder( order, predicates ) )
+        {
+            return IndexReader.super.orderedQuery( order, predicates );
+        }
+        if ( predicates[0] instanceof ExactPredicate )
+        {
+            return query( predicates );
+        }
+        return numberReader.orderedQuery( order, predicates );
+    }
+
+    /**
+     * Values can be provided for queries answered by a single one of the fused readers, if that reader can.
+     */
+    @Override
+    public boolean canProvideValues( IndexQuery... predicates )
+    {
+        IndexReader reader = singleReaderFor( predicates );
+        return reader != null && reader.canProvideValues( predicates );
+    }
+
+    @Override
+    public NodeValueIterator queryWithValues( IndexQuery... predicates ) throws IndexNotApplicableKernelException
+    {
+        IndexReader reader = singleReaderFor( predicates );
+        if ( reader == null )
+        {
+            return IndexReader.super.queryWithValues( predicates );
+        }
+        return reader.queryWithValues( predicates );
+    }
+
+    /**
+     * @return the reader which alone can answer the given query, or {@code null} if more than one of them is needed.
+     */
+    private IndexReader singleReaderFor( IndexQuery[] predicates )
+    {
+        if ( predicates.length > 1 )
+        {
+            return compositeMatch( predicates ) == CompositeMatch.ONLY_NUMBERS ? numberReader : null;
+        }
+        if ( predicates[0] instanceof ExactPredicate )
+        {
+            return selector.select( stringReader, numberReader, luceneReader, ((ExactPredicate) predicates[0]).value() );
+        }
+        if ( predicates[0] instanceof NumberRangePredicate )
+        {
+            return numberReader;
+        }
+        return null;
+    }
+
+    private enum CompositeMatch
+    {
+        /**
+         * Only entries where all values are numbers can match.
+         */
+        ONLY_NUMBERS,
+        /**
+         * Entries where all values are numbers can not match.
+         */
+        NO_NUMBERS,
+        /**
+         * Any entry can match.
+         */
+        ANY
+    }
 }
@@ -28,13 +28,15 @@ import org.neo4j.kernel.impl.index.schema.fusion.FusionSchemaIndexProvider.Selec
 
 class FusionIndexUpdater implements IndexUpdater
 {
-    private final IndexUpdater nativeUpdater;
+    private final IndexUpdater stringUpdater;
+    private final IndexUpdater numberUpdater;
     private final IndexUpdater luceneUpdater;
     private final Selector selector;
 
-    FusionIndexUpdater( IndexUpdater nativeUpdater, IndexUpdater luceneUpdater, Selector selector )
+    FusionIndexUpdater( IndexUpdater stringUpdater, IndexUpdater numberUpdater, IndexUpdater luceneUpdater, Selector selector )
     {
-        this.nativeUpdater = nativeUpdater;
+        this.stringUpdater = stringUpdater;
+        this.numberUpdater = numberUpdater;
         this.luceneUpdater = luceneUpdater;
         this.selector = selector;
     }
@@ -45,14 +47,14 @@ class FusionIndexUpdater implements IndexUpdater
         switch ( update.updateMode() )
         {
         case ADDED:
-            selector.select( nativeUpdater, luceneUpdater, update.values() ).process( update );
+            selector.select( stringUpdater, numberUpdater, luceneUpdater, update.values() ).process( update );
             break;
         case CHANGED:
             // Hmm, here's a little conundrum. What if we change from a value that goes into native
             // to a value that goes into fallback, or vice versa? We also don't want to blindly pass
-            // all CHANGED updates to both updaters since not all values will work in them.
-            IndexUpdater from = selector.select( nativeUpdater, luceneUpdater, update.beforeValues() );
-            IndexUpdater to = selector.select( nativeUpdater, luceneUpdater, update.values() );
+            // all CHANGED updates to all updaters since not all values will work in them.
+            IndexUpdater from = selector.select( stringUpdater, numberUpdater, luceneUpdater, update.beforeValues() );
+            IndexUpdater to = selector.select( stringUpdater, numberUpdater, luceneUpdater, update.values() );
             // There are two cases:
             // - both before/after go into the same updater --> pass update into that updater
             if ( from == to )
@@ -69,7 +71,7 @@ class FusionIndexUpdater implements IndexUpdater
             }
             break;
         case REMOVED:
-            selector.select( nativeUpdater, luceneUpdater, update.values() ).process( update );
+            selector.select( stringUpdater, numberUpdater, luceneUpdater, update.values() ).process( update );
             break;
         default:
             throw new IllegalArgumentException( "Unknown update mode" );
@@ -81,11 +83,18 @@ class FusionIndexUpdater implements IndexUpdater
     {
         try
         {
-            nativeUpdater.close();
+            stringUpdater.close();
         }
         finally
         {
-            luceneUpdater.close();
+            try
+            {
+                numberUpdater.close();
+            }
+            finally
+            {
+                luceneUpdater.close();
+            }
         }
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema.fusion;
+
+import org.neo4j.function.ThrowingConsumer;
+import org.neo4j.helpers.Exceptions;
+
+final class FusionIndexUtils
+{
+    private FusionIndexUtils()
+    {
+    }
+
+    /**
+     * Applies the action on all subjects, also if it fails for some of them. Failures are chained and the
+     * first one is thrown when the action has been applied on all subjects.
+     *
+     * @param action the action to apply.
+     * @param subjects the subjects to apply the action on.
+     * @param <T> type of subjects.
+     * @param <E> type of exception the action may throw.
+     * @throws E the first failure of the action, with any other failures as suppressed.
+     */
+    @SafeVarargs
+    @SuppressWarnings( "unchecked" )
+    static <T, E extends Exception> void forAll( ThrowingConsumer<T,E> action, T... subjects ) throws E
+    {
+        E exception = null;
+        for ( T subject : subjects )
+        {
+            try
+            {
+                action.accept( subject );
+            }
+            catch ( Exception e )
+            {
+                exception = Exceptions.chain( exception, (E) e );
+            }
+        }
+        if ( exception != null )
+        {
+            throw exception;
+        }
+    }
+}
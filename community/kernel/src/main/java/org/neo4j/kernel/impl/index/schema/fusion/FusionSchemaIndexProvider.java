@@ -35,28 +35,30 @@ import org.neo4j.storageengine.api.schema.IndexSample;
 import org.neo4j.values.storable.Value;
 
 /**
- * This {@link SchemaIndexProvider index provider} act as one logical index but is backed by two physical
- * indexes, the native index and the lucene index. All index entries that can be handled by the native index will be directed
- * there and the rest will be directed to the lucene index.
+ * This {@link SchemaIndexProvider index provider} act as one logical index but is backed by three physical
+ * indexes, the native string index, the native number index and the lucene index. All index entries that can be handled
+ * by one of the native indexes will be directed there and the rest will be directed to the lucene index.
  */
 public class FusionSchemaIndexProvider extends SchemaIndexProvider
 {
     public interface Selector
     {
-        <T> T select( T nativeInstance, T luceneInstance, Value... values );
+        <T> T select( T stringInstance, T numberInstance, T luceneInstance, Value... values );
     }
 
-    private final SchemaIndexProvider nativeProvider;
+    private final SchemaIndexProvider stringProvider;
+    private final SchemaIndexProvider numberProvider;
     private final SchemaIndexProvider luceneProvider;
     private final Selector selector;
     private final DropAction dropAction;
 
-    public FusionSchemaIndexProvider( SchemaIndexProvider nativeProvider,
+    public FusionSchemaIndexProvider( SchemaIndexProvider stringProvider, SchemaIndexProvider numberProvider,
             SchemaIndexProvider luceneProvider, Selector selector, SchemaIndexProvider.Descriptor descriptor,
             int priority, IndexDirectoryStructure.Factory directoryStructure, FileSystemAbstraction fs )
     {
         super( descriptor, priority, directoryStructure );
-        this.nativeProvider = nativeProvider;
+        this.stringProvider = stringProvider;
+        this.numberProvider = numberProvider;
         this.luceneProvider = luceneProvider;
         this.selector = selector;
         this.dropAction = new FileSystemDropAction( fs, directoryStructure() );
@@ -66,7 +68,8 @@ public class FusionSchemaIndexProvider extends SchemaIndexProvider
     public IndexPopulator getPopulator( long indexId, IndexDescriptor descriptor, IndexSamplingConfig samplingConfig )
     {
         return new FusionIndexPopulator(
-                nativeProvider.getPopulator( indexId, descriptor, samplingConfig ),
+                stringProvider.getPopulator( indexId, descriptor, samplingConfig ),
+                numberProvider.getPopulator( indexId, descriptor, samplingConfig ),
                 luceneProvider.getPopulator( indexId, descriptor, samplingConfig ), selector, indexId, dropAction );
     }
 
@@ -75,54 +78,57 @@ public class FusionSchemaIndexProvider extends SchemaIndexProvider
             IndexSamplingConfig samplingConfig ) throws IOException
     {
         return new FusionIndexAccessor(
-                nativeProvider.getOnlineAccessor( indexId, descriptor, samplingConfig ),
+                stringProvider.getOnlineAccessor( indexId, descriptor, samplingConfig ),
+                numberProvider.getOnlineAccessor( indexId, descriptor, samplingConfig ),
                 luceneProvider.getOnlineAccessor( indexId, descriptor, samplingConfig ), selector, indexId, dropAction );
     }
 
     @Override
     public String getPopulationFailure( long indexId ) throws IllegalStateException
     {
-        String nativeFailure = null;
-        try
+        String stringFailure = populationFailure( stringProvider, indexId );
+        String numberFailure = populationFailure( numberProvider, indexId );
+        String luceneFailure = populationFailure( luceneProvider, indexId );
+
+        if ( stringFailure != null || numberFailure != null || luceneFailure != null )
         {
-            nativeFailure = nativeProvider.getPopulationFailure( indexId );
-        }
-        catch ( IllegalStateException e )
-        {   // Just catch
+            return "string: " + stringFailure + " number: " + numberFailure + " lucene: " + luceneFailure;
         }
-        String luceneFailure = null;
+        throw new IllegalStateException( "None of the indexes were in a failed state" );
+    }
+
+    private static String populationFailure( SchemaIndexProvider provider, long indexId )
+    {
         try
         {
-            luceneFailure = luceneProvider.getPopulationFailure( indexId );
+            return provider.getPopulationFailure( indexId );
         }
         catch ( IllegalStateException e )
         {   // Just catch
+            return null;
         }
-
-        if ( nativeFailure != null || luceneFailure != null )
-        {
-            return "native: " + nativeFailure + " lucene: " + luceneFailure;
-        }
-        throw new IllegalStateException( "None of the indexes were in a failed state" );
     }
 
     @Override
     public InternalIndexState getInitialState( long indexId, IndexDescriptor descriptor )
     {
-        InternalIndexState nativeState = nativeProvider.getInitialState( indexId, descriptor );
+        InternalIndexState stringState = stringProvider.getInitialState( indexId, descriptor );
+        InternalIndexState numberState = numberProvider.getInitialState( indexId, descriptor );
         InternalIndexState luceneState = luceneProvider.getInitialState( indexId, descriptor );
-        if ( nativeState == InternalIndexState.FAILED || luceneState == InternalIndexState.FAILED )
+        if ( stringState == InternalIndexState.FAILED || numberState == InternalIndexState.FAILED ||
+             luceneState == InternalIndexState.FAILED )
         {
             // One of the state is FAILED, the whole state must be considered FAILED
             return InternalIndexState.FAILED;
         }
-        if ( nativeState == InternalIndexState.POPULATING || luceneState == InternalIndexState.POPULATING )
+        if ( stringState == InternalIndexState.POPULATING || numberState == InternalIndexState.POPULATING ||
+             luceneState == InternalIndexState.POPULATING )
         {
             // No state is FAILED and one of the state is POPULATING, the whole state must be considered POPULATING
             return InternalIndexState.POPULATING;
         }
-        // This means that both states are ONLINE
-        return nativeState;
+        // This means that all states are ONLINE
+        return numberState;
     }
 
     @Override
@@ -132,12 +138,18 @@ public class FusionSchemaIndexProvider extends SchemaIndexProvider
         return StoreMigrationParticipant.NOT_PARTICIPATING;
     }
 
-    static IndexSample combineSamples( IndexSample first, IndexSample other )
+    static IndexSample combineSamples( IndexSample... samples )
     {
-        return new IndexSample(
-                first.indexSize() + other.indexSize(),
-                first.uniqueValues() + other.uniqueValues(),
-                first.sampleSize() + other.sampleSize() );
+        long indexSize = 0;
+        long uniqueValues = 0;
+        long sampleSize = 0;
+        for ( IndexSample sample : samples )
+        {
+            indexSize += sample.indexSize();
+            uniqueValues += sample.uniqueValues();
+            sampleSize += sample.sampleSize();
+        }
+        return new IndexSample( indexSize, uniqueValues, sampleSize );
     }
 
     /**
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.function.Predicates;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.api.exceptions.TransactionFailureException;
+import org.neo4j.kernel.impl.api.TransactionCommitProcess;
+import org.neo4j.kernel.impl.api.TransactionHeaderInformation;
+import org.neo4j.kernel.impl.api.TransactionToApply;
+import org.neo4j.kernel.impl.locking.LockTracer;
+import org.neo4j.kernel.impl.locking.ResourceTypes;
+import org.neo4j.kernel.impl.locking.StatementLocks;
+import org.neo4j.kernel.impl.locking.StatementLocksFactory;
+import org.neo4j.kernel.impl.store.RecordCursor;
+import org.neo4j.kernel.impl.store.RecordCursors;
+import org.neo4j.kernel.impl.store.StoreType;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
+import org.neo4j.kernel.impl.transaction.TransactionHeaderInformationFactory;
+import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
+import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.storageengine.api.EntityType;
+import org.neo4j.storageengine.api.StorageCommand;
+import org.neo4j.storageengine.api.StorageStatement;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.neo4j.scheduler.JobScheduler.Groups.storageMaintenance;
+import static org.neo4j.storageengine.api.TransactionApplicationMode.INTERNAL;
+
+/**
+ * Background job which compacts fragmented property chains of nodes and relationships while the database is online,
+ * see {@link RecordStorageEngine#createPropertyChainCompactionCommands}.
+ * <p>
+ * Every run looks at a batch of nodes, and then relationships, continuing where the previous run stopped and
+ * starting over from the first node once all relationships have been looked at. Every compacted entity
+ * is compacted in its own transaction, committed through the normal commit process while holding an exclusive
+ * lock on the entity, so concurrent transactions and replication see it like any other transaction.
+ * <p>
+ * Records are read and written through the page cache like for any other transaction, so compaction competes
+ * with foreground transactions for I/O. Records touched are therefore rate limited by the {@link IOLimiter}.
+ * Records of compacted chains are allocated from reused ids first, which moves them away from the end of the store.
+ * <p>
+ * Relationship records themselves are never moved, since relationship ids are exposed to users.
+ */
+public class OnlineStoreCompactor extends LifecycleAdapter
+{
+    private static final Flushable NO_FLUSH = () ->
+    {
+    };
+
+    private final RecordStorageEngine storageEngine;
+    private final TransactionCommitProcess commitProcess;
+    private final StatementLocksFactory statementLocksFactory;
+    private final TransactionHeaderInformationFactory headerInformationFactory;
+    private final TransactionIdStore transactionIdStore;
+    private final IOLimiter ioLimiter;
+    private final JobScheduler scheduler;
+    private final Clock clock;
+    private final long recurringPeriodMillis;
+    private final int batchSize;
+    private final Log log;
+
+    private EntityType currentEntityType = EntityType.NODE;
+    private long nextEntityId;
+    private long compactedEntities;
+
+    private volatile JobScheduler.JobHandle handle;
+    private volatile boolean stopped;
+    private volatile boolean compacting;
+
+    public OnlineStoreCompactor( RecordStorageEngine storageEngine, TransactionCommitProcess commitProcess,
+            StatementLocksFactory statementLocksFactory, TransactionHeaderInformationFactory headerInformationFactory,
+            TransactionIdStore transactionIdStore, IOLimiter ioLimiter, JobScheduler scheduler, Clock clock,
+            long recurringPeriodMillis, int batchSize, LogProvider logProvider )
+    {
+        this.storageEngine = storageEngine;
+        this.commitProcess = commitProcess;
+        this.statementLocksFactory = statementLocksFactory;
+        this.headerInformationFactory = headerInformationFactory;
+        this.transactionIdStore = transactionIdStore;
+        this.ioLimiter = ioLimiter;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.recurringPeriodMillis = recurringPeriodMillis;
+        this.batchSize = batchSize;
+        this.log = logProvider.getLog( getClass() );
+    }
+
+    @Override
+    public void start() throws Throwable
+    {
+        handle = scheduler.schedule( storageMaintenance, this::run, recurringPeriodMillis, MILLISECONDS );
+    }
+
+    @Override
+    public void stop() throws Throwable
+    {
+        stopped = true;
+        if ( handle != null )
+        {
+            handle.cancel( false );
+        }
+        ioLimiter.disableLimit();
+        try
+        {
+            Predicates.awaitForever( () -> !compacting, 100, MILLISECONDS );
+        }
+        finally
+        {
+            ioLimiter.enableLimit();
+        }
+    }
+
+    private void run()
+    {
+        try
+        {
+            compacting = true;
+            if ( stopped )
+            {
+                return;
+            }
+            compactBatch();
+        }
+        catch ( Throwable t )
+        {
+            // Compaction is an optimization, the next run continues after the entity which failed
+            log.warn( "Failed to compact property chains", t );
+        }
+        finally
+        {
+            compacting = false;
+        }
+
+        // reschedule only if it is not stopped
+        if ( !stopped )
+        {
+            handle = scheduler.schedule( storageMaintenance, this::run, recurringPeriodMillis, MILLISECONDS );
+        }
+    }
+
+    private void compactBatch() throws TransactionFailureException, IOException
+    {
+        long ioStamp = IOLimiter.INITIAL_STAMP;
+        try ( StorageStatement statement = storageEngine.storeReadLayer().newStatement() )
+        {
+            statement.acquire();
+            RecordCursors cursors = statement.recordCursors();
+            for ( int i = 0; i < batchSize && !stopped; i++ )
+            {
+                long highId = storageEngine.highId( storeType( currentEntityType ) );
+                if ( nextEntityId >= highId )
+                {
+                    if ( currentEntityType == EntityType.RELATIONSHIP )
+                    {
+                        log.info( "Compacted property chains of " + compactedEntities + " nodes and relationships" );
+                        compactedEntities = 0;
+                    }
+                    currentEntityType = currentEntityType == EntityType.NODE ? EntityType.RELATIONSHIP : EntityType.NODE;
+                    nextEntityId = 0;
+                    break;
+                }
+
+                long entityId = nextEntityId++;
+                int ios = 1;
+                boolean multipleRecordPropertyChain = currentEntityType == EntityType.NODE
+                        ? hasMultipleRecordPropertyChain( cursors.node(), cursors.property(), entityId )
+                        : hasMultipleRecordPropertyChain( cursors.relationship(), cursors.property(), entityId );
+                if ( multipleRecordPropertyChain )
+                {
+                    ios += compact( statement, entityId );
+                }
+                ioStamp = ioLimiter.maybeLimitIO( ioStamp, ios, NO_FLUSH );
+            }
+            statement.release();
+        }
+    }
+
+    /**
+     * Cheap check, without locking, whether or not the entity is in use and has a property chain of more than
+     * one record. Only such chains can be fragmented.
+     */
+    private static <R extends PrimitiveRecord> boolean hasMultipleRecordPropertyChain( RecordCursor<R> cursor,
+            RecordCursor<PropertyRecord> propertyCursor, long entityId )
+    {
+        R primitive = cursor.get();
+        if ( !cursor.next( entityId, primitive, RecordLoad.CHECK ) ||
+             primitive.getNextProp() == Record.NO_NEXT_PROPERTY.intValue() )
+        {
+            return false;
+        }
+        PropertyRecord firstProperty = propertyCursor.get();
+        return propertyCursor.next( primitive.getNextProp(), firstProperty, RecordLoad.CHECK ) &&
+               firstProperty.getNextProp() != Record.NO_NEXT_PROPERTY.intValue();
+    }
+
+    /**
+     * @return number of records written by the compaction.
+     */
+    private int compact( StorageStatement statement, long entityId ) throws TransactionFailureException
+    {
+        try ( StatementLocks locks = statementLocksFactory.newInstance() )
+        {
+            locks.pessimistic().acquireExclusive( LockTracer.NONE, lockType( currentEntityType ), entityId );
+            long lastTransactionIdWhenStarted = transactionIdStore.getLastCommittedTransactionId();
+            long startTimeMillis = clock.millis();
+            List<StorageCommand> commands = new ArrayList<>();
+            if ( !storageEngine.createPropertyChainCompactionCommands( commands, statement, currentEntityType,
+                    entityId, locks.pessimistic(), lastTransactionIdWhenStarted ) )
+            {
+                return 0;
+            }
+
+            PhysicalTransactionRepresentation transactionRepresentation =
+                    new PhysicalTransactionRepresentation( commands );
+            TransactionHeaderInformation headerInformation = headerInformationFactory.create();
+            transactionRepresentation.setHeader( headerInformation.getAdditionalHeader(),
+                    headerInformation.getMasterId(), headerInformation.getAuthorId(), startTimeMillis,
+                    lastTransactionIdWhenStarted, clock.millis(), locks.pessimistic().getLockSessionId() );
+            commitProcess.commit( new TransactionToApply( transactionRepresentation ), CommitEvent.NULL, INTERNAL );
+            compactedEntities++;
+            return commands.size();
+        }
+    }
+
+    private static StoreType storeType( EntityType entityType )
+    {
+        return entityType == EntityType.NODE ? StoreType.NODE : StoreType.RELATIONSHIP;
+    }
+
+    private static ResourceTypes lockType( EntityType entityType )
+    {
+        return entityType == EntityType.NODE ? ResourceTypes.NODE : ResourceTypes.RELATIONSHIP;
+    }
+}
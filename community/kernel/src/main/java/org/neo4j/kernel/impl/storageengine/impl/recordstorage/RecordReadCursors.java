@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
+
+import java.util.function.IntPredicate;
+
+import org.neo4j.cursor.Cursor;
+import org.neo4j.storageengine.api.Direction;
+import org.neo4j.storageengine.api.NodeItem;
+import org.neo4j.storageengine.api.RelationshipItem;
+
+/**
+ * Cursors of a {@link RecordReadPath}, with the same semantics as the corresponding methods in
+ * {@link org.neo4j.storageengine.api.StorageStatement}. Cursors are reused, i.e. an instance is only used
+ * by one statement at a time.
+ */
+public interface RecordReadCursors extends AutoCloseable
+{
+    Cursor<NodeItem> acquireSingleNodeCursor( long nodeId );
+
+    Cursor<RelationshipItem> acquireSingleRelationshipCursor( long relationshipId );
+
+    Cursor<RelationshipItem> acquireNodeRelationshipCursor( boolean isDense, long nodeId, long relationshipId,
+            Direction direction, IntPredicate relTypeFilter );
+
+    @Override
+    void close();
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.helpers.Service;
+
+/**
+ * Alternative way of reading node and relationship records of a store which isn't written to, selected by
+ * {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#record_read_path}. When selected, {@link StoreStatement}
+ * and {@link org.neo4j.kernel.impl.api.store.StorageLayer} read nodes, relationships and relationship chains
+ * through it rather than through the page cache. Properties, schema and indexes are still read through the
+ * page cache.
+ */
+public interface RecordReadPath extends AutoCloseable
+{
+    /**
+     * @return ids of all nodes in use.
+     */
+    PrimitiveLongIterator nodesGetAll();
+
+    /**
+     * @return new cursors, one set per {@link StoreStatement}.
+     */
+    RecordReadCursors newCursors();
+
+    @Override
+    void close();
+
+    abstract class Factory extends Service
+    {
+        protected Factory( String key, String... altKeys )
+        {
+            super( key, altKeys );
+        }
+
+        /**
+         * @param storeDir directory of the store to read records from.
+         * @return a read path over the record files in the given directory.
+         * @throws IOException if the store files couldn't be opened.
+         */
+        public abstract RecordReadPath open( File storeDir ) throws IOException;
+    }
+}
@@ -67,7 +67,7 @@ public class RecordStorageCommandCreationContext implements CommandCreationConte
                 new StandardDynamicRecordAllocator( idBatches.idGenerator( StoreType.PROPERTY_ARRAY ),
                         neoStores.getPropertyStore().getArrayStore().getRecordDataSize() ),
                 idBatches.idGenerator( StoreType.PROPERTY ),
-                propertyTraverser );
+                propertyTraverser, neoStores.getPropertyStore().getStringDictionary() );
     }
 
     public long nextId( StoreType storeType )
@@ -75,6 +75,11 @@ public class RecordStorageCommandCreationContext implements CommandCreationConte
         return idBatches.nextId( storeType );
     }
 
+    public long nextId( StoreType storeType, long nearId )
+    {
+        return idBatches.nextId( storeType, nearId );
+    }
+
     @Override
     public void close()
     {
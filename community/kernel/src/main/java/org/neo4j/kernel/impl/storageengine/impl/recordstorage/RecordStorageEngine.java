@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.storageengine.impl.recordstorage;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,6 +29,7 @@ import java.util.function.Supplier;
 
 import org.neo4j.concurrent.WorkSync;
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.helpers.Service;
 import org.neo4j.helpers.collection.Iterators;
 import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.io.fs.FileSystemAbstraction;
@@ -42,6 +44,7 @@ import org.neo4j.kernel.api.exceptions.schema.CreateConstraintFailureException;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
 import org.neo4j.kernel.api.labelscan.LabelScanWriter;
 import org.neo4j.kernel.api.labelscan.LoggingMonitor;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.api.txstate.TransactionCountingStateVisitor;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.BatchTransactionApplier;
@@ -62,6 +65,7 @@ import org.neo4j.kernel.impl.api.index.IndexingUpdateService;
 import org.neo4j.kernel.impl.api.index.PropertyPhysicalToLogicalConverter;
 import org.neo4j.kernel.impl.api.index.SchemaIndexProviderMap;
 import org.neo4j.kernel.impl.api.scan.FullLabelStream;
+import org.neo4j.kernel.impl.api.scan.FullRelationshipTypeStream;
 import org.neo4j.kernel.impl.api.store.SchemaCache;
 import org.neo4j.kernel.impl.api.store.StorageLayer;
 import org.neo4j.kernel.impl.cache.BridgingCacheAccess;
@@ -73,6 +77,7 @@ import org.neo4j.kernel.impl.core.RelationshipTypeTokenHolder;
 import org.neo4j.kernel.impl.factory.OperationalMode;
 import org.neo4j.kernel.impl.index.IndexConfigStore;
 import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
+import org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore;
 import org.neo4j.kernel.impl.locking.LockGroup;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.storageengine.impl.recordstorage.id.IdController;
@@ -81,6 +86,10 @@ import org.neo4j.kernel.impl.store.RecordStore;
 import org.neo4j.kernel.impl.store.SchemaStorage;
 import org.neo4j.kernel.impl.store.StoreFactory;
 import org.neo4j.kernel.impl.store.StoreType;
+import org.neo4j.kernel.impl.store.StringDictionary;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+import org.neo4j.kernel.impl.store.columns.PropertyColumns;
+import org.neo4j.kernel.impl.store.format.Capability;
 import org.neo4j.kernel.impl.store.format.RecordFormat;
 import org.neo4j.kernel.impl.store.id.IdGeneratorFactory;
 import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
@@ -90,6 +99,8 @@ import org.neo4j.kernel.impl.transaction.command.IndexBatchTransactionApplier;
 import org.neo4j.kernel.impl.transaction.command.IndexUpdatesWork;
 import org.neo4j.kernel.impl.transaction.command.LabelUpdateWork;
 import org.neo4j.kernel.impl.transaction.command.NeoStoreBatchTransactionApplier;
+import org.neo4j.kernel.impl.transaction.command.PropertyColumnBatchTransactionApplier;
+import org.neo4j.kernel.impl.transaction.command.StringDictionaryBatchTransactionApplier;
 import org.neo4j.kernel.impl.transaction.state.IntegrityValidator;
 import org.neo4j.kernel.impl.transaction.state.TransactionRecordState;
 import org.neo4j.kernel.impl.transaction.state.storeview.DynamicIndexStoreView;
@@ -101,10 +112,12 @@ import org.neo4j.kernel.internal.DatabaseHealth;
 import org.neo4j.kernel.lifecycle.Lifecycle;
 import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.kernel.spi.explicitindex.IndexImplementation;
+import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.CommandReaderFactory;
 import org.neo4j.storageengine.api.CommandsToApply;
+import org.neo4j.storageengine.api.EntityType;
 import org.neo4j.storageengine.api.StorageCommand;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.StorageStatement;
@@ -117,6 +130,7 @@ import org.neo4j.storageengine.api.txstate.ReadableTransactionState;
 import org.neo4j.storageengine.api.txstate.TxStateVisitor;
 import org.neo4j.unsafe.impl.internal.dragons.FeatureToggles;
 
+import static java.lang.String.format;
 import static org.neo4j.kernel.impl.locking.LockService.NO_LOCK_SERVICE;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.RECOVERY;
 import static org.neo4j.storageengine.api.TransactionApplicationMode.REVERSE_RECOVERY;
@@ -138,6 +152,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final IntegrityValidator integrityValidator;
     private final CacheAccessBackDoor cacheAccess;
     private final LabelScanStore labelScanStore;
+    private final RelationshipTypeScanStore relationshipTypeScanStore;
+    private final PropertyColumns propertyColumns;
+    private final RecordReadPath readPath;
     private final SchemaIndexProviderMap schemaIndexProviderMap;
     private final ExplicitIndexApplierLookup explicitIndexApplierLookup;
     private final SchemaState schemaState;
@@ -146,6 +163,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final IdOrderingQueue explicitIndexTransactionOrdering;
     private final LockService lockService;
     private final WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> labelScanStoreSync;
+    private final WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> relationshipTypeScanStoreSync;
     private final CommandReaderFactory commandReaderFactory;
     private final WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync;
     private final IndexStoreView indexStoreView;
@@ -155,6 +173,10 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     private final IdController idController;
     private final int denseNodeThreshold;
     private final int recordIdBatchSize;
+    private final PageCache pageCache;
+    private final File storeDir;
+    private final RecoveryCleanupWorkCollector recoveryCleanupWorkCollector;
+    private final boolean readOnly;
 
     public RecordStorageEngine(
             File storeDir,
@@ -193,6 +215,9 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         this.indexConfigStore = indexConfigStore;
         this.constraintSemantics = constraintSemantics;
         this.explicitIndexTransactionOrdering = explicitIndexTransactionOrdering;
+        this.pageCache = pageCache;
+        this.storeDir = storeDir;
+        this.recoveryCleanupWorkCollector = recoveryCleanupWorkCollector;
 
         this.idController = idController;
         StoreFactory factory = new StoreFactory( storeDir, config, idGeneratorFactory, pageCache, fs, logProvider,
@@ -206,10 +231,16 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
             schemaStorage = new SchemaStorage( neoStores.getSchemaStore() );
 
             NeoStoreIndexStoreView neoStoreIndexStoreView = new NeoStoreIndexStoreView( lockService, neoStores );
-            Boolean readOnly = config.get( GraphDatabaseSettings.read_only ) && operationalMode == OperationalMode.single;
+            readOnly = config.get( GraphDatabaseSettings.read_only ) && operationalMode == OperationalMode.single;
             monitors.addMonitorListener( new LoggingMonitor( logProvider.getLog( NativeLabelScanStore.class ) ) );
             labelScanStore = new NativeLabelScanStore( pageCache, storeDir, new FullLabelStream( neoStoreIndexStoreView ),
                     readOnly, monitors, recoveryCleanupWorkCollector );
+            relationshipTypeScanStore = new NativeRelationshipTypeScanStore( pageCache, storeDir,
+                    new FullRelationshipTypeStream( neoStores.getRelationshipStore() ), readOnly, monitors,
+                    recoveryCleanupWorkCollector );
+
+            propertyColumns = new PropertyColumns( pageCache, storeDir,
+                    config.get( GraphDatabaseSettings.property_columns ), neoStores, logProvider );
 
             indexStoreView = new DynamicIndexStoreView( neoStoreIndexStoreView, labelScanStore, lockService, neoStores, logProvider );
             schemaIndexProviderMap = indexProviderMap;
@@ -222,15 +253,17 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
             cacheAccess = new BridgingCacheAccess( schemaCache, schemaState,
                     propertyKeyTokenHolder, relationshipTypeTokens, labelTokens );
 
+            readPath = openRecordReadPath( config.get( GraphDatabaseSettings.record_read_path ), logProvider );
             storeStatementSupplier = storeStatementSupplier( neoStores );
             storeLayer = new StorageLayer(
                     propertyKeyTokenHolder, labelTokens, relationshipTypeTokens,
                     schemaStorage, neoStores, indexingService,
-                    storeStatementSupplier, schemaCache );
+                    storeStatementSupplier, schemaCache, propertyColumns, readPath );
 
             explicitIndexApplierLookup = new ExplicitIndexApplierLookup.Direct( explicitIndexProviderLookup );
 
             labelScanStoreSync = new WorkSync<>( labelScanStore::newWriter );
+            relationshipTypeScanStoreSync = new WorkSync<>( relationshipTypeScanStore::newWriter );
 
             commandReaderFactory = new RecordStorageCommandReaderFactory();
             indexUpdatesSync = new WorkSync<>( indexingService );
@@ -245,13 +278,44 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         }
     }
 
+    private RecordReadPath openRecordReadPath( String name, LogProvider logProvider )
+    {
+        if ( name.isEmpty() )
+        {
+            return null;
+        }
+        Log log = logProvider.getLog( getClass() );
+        if ( !readOnly )
+        {
+            log.warn( "Ignoring %s=%s since the database isn't read only, records are read through the page cache.",
+                    GraphDatabaseSettings.record_read_path.name(), name );
+            return null;
+        }
+        RecordReadPath.Factory factory = Service.loadSilently( RecordReadPath.Factory.class, name );
+        if ( factory == null )
+        {
+            throw new IllegalArgumentException( format( "No record read path named '%s' found, see %s.", name,
+                    GraphDatabaseSettings.record_read_path.name() ) );
+        }
+        try
+        {
+            RecordReadPath path = factory.open( storeDir );
+            log.info( "Reading node and relationship records through the %s read path.", name );
+            return path;
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
     private Supplier<StorageStatement> storeStatementSupplier( NeoStores neoStores )
     {
         Supplier<IndexReaderFactory> indexReaderFactory = () -> new IndexReaderFactory.Caching( indexingService );
         LockService lockService = takePropertyReadLocks ? this.lockService : NO_LOCK_SERVICE;
 
-        return () -> new StoreStatement( neoStores, indexReaderFactory, labelScanStore::newReader, lockService,
-                allocateCommandCreationContext() );
+        return () -> new StoreStatement( neoStores, indexReaderFactory, labelScanStore::newReader,
+                relationshipTypeScanStore::newReader, lockService, allocateCommandCreationContext(), readPath );
     }
 
     @Override
@@ -313,6 +377,42 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         }
     }
 
+    /**
+     * Creates commands rewriting the property chain of the given entity into as few records, placed as close
+     * together, as possible, if it's fragmented. Property values are left unchanged.
+     * The caller is expected to hold an exclusive lock on the entity.
+     *
+     * @param commands {@link Collection} to add commands to.
+     * @param storageStatement {@link StorageStatement} allocated by this storage engine.
+     * @param entityType type of the entity to compact the property chain of.
+     * @param entityId id of the entity to compact the property chain of.
+     * @param locks {@link ResourceLocker} for locking resources.
+     * @param lastTransactionIdWhenStarted transaction id which was seen as last committed before reading any records.
+     * @return {@code true} if the property chain was rewritten and commands added, otherwise {@code false}.
+     * @throws TransactionFailureException if the commands couldn't be created.
+     */
+    public boolean createPropertyChainCompactionCommands(
+            Collection<StorageCommand> commands,
+            StorageStatement storageStatement,
+            EntityType entityType,
+            long entityId,
+            ResourceLocker locks,
+            long lastTransactionIdWhenStarted ) throws TransactionFailureException
+    {
+        RecordStorageCommandCreationContext creationContext =
+                ((StoreStatement) storageStatement).getCommandCreationContext();
+        TransactionRecordState recordState =
+                creationContext.createTransactionRecordState( integrityValidator, lastTransactionIdWhenStarted, locks );
+        boolean compacted = entityType == EntityType.NODE
+                            ? recordState.nodeCompactPropertyChain( entityId )
+                            : recordState.relCompactPropertyChain( entityId );
+        if ( compacted )
+        {
+            recordState.extractCommands( commands );
+        }
+        return compacted;
+    }
+
     @Override
     public void apply( CommandsToApply batch, TransactionApplicationMode mode ) throws Exception
     {
@@ -367,10 +467,17 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
             appliers.add( new CountsStoreBatchTransactionApplier( neoStores.getCounts(), mode ) );
 
             // Schema index application
-            appliers.add( new IndexBatchTransactionApplier( indexingService, labelScanStoreSync, indexUpdatesSync,
+            appliers.add( new IndexBatchTransactionApplier( indexingService, labelScanStoreSync,
+                    relationshipTypeScanStoreSync, indexUpdatesSync,
                     neoStores.getNodeStore(),
                     indexUpdatesConverter ) );
 
+            // Property column application
+            appliers.add( new PropertyColumnBatchTransactionApplier( propertyColumns, neoStores.getPropertyStore() ) );
+
+            // String dictionary application
+            appliers.add( new StringDictionaryBatchTransactionApplier( neoStores.getPropertyStore() ) );
+
             // Explicit index application
             appliers.add(
                     new ExplicitBatchIndexApplier( indexConfigStore, explicitIndexApplierLookup,
@@ -395,17 +502,34 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         satisfier.satisfyDependency( schemaIndexProviderMap );
         satisfier.satisfyDependency( integrityValidator );
         satisfier.satisfyDependency( labelScanStore );
+        satisfier.satisfyDependency( relationshipTypeScanStore );
         satisfier.satisfyDependency( indexingService );
         // providing TransactionIdStore, LogVersionRepository
         satisfier.satisfyDependency( neoStores.getMetaDataStore() );
         satisfier.satisfyDependency( indexStoreView );
+        if ( readPath != null )
+        {
+            satisfier.satisfyDependency( readPath );
+        }
     }
 
     @Override
     public void init() throws Throwable
     {
+        openStringDictionary();
         indexingService.init();
         labelScanStore.init();
+        relationshipTypeScanStore.init();
+    }
+
+    private void openStringDictionary() throws IOException
+    {
+        // Opened before recovery, so that it gets the changes of recovered transactions
+        if ( neoStores.getRecordFormats().hasCapability( Capability.DICTIONARY_STRINGS ) && !readOnly )
+        {
+            neoStores.getPropertyStore().getStringDictionary().open( pageCache,
+                    new File( storeDir, StringDictionary.FILE_NAME ), recoveryCleanupWorkCollector );
+        }
     }
 
     @Override
@@ -422,8 +546,10 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
 
         neoStores.rebuildCountStoreIfNeeded(); // TODO: move this to counts store lifecycle
         loadSchemaCache();
+        propertyColumns.start();
         indexingService.start();
         labelScanStore.start();
+        relationshipTypeScanStore.start();
         idController.start();
     }
 
@@ -444,6 +570,7 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     public void stop() throws Throwable
     {
         labelScanStore.stop();
+        relationshipTypeScanStore.stop();
         indexingService.stop();
         idController.stop();
     }
@@ -452,7 +579,14 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     public void shutdown() throws Throwable
     {
         labelScanStore.shutdown();
+        relationshipTypeScanStore.shutdown();
+        propertyColumns.close();
+        if ( readPath != null )
+        {
+            readPath.close();
+        }
         indexingService.shutdown();
+        neoStores.getPropertyStore().getStringDictionary().close();
         neoStores.close();
     }
 
@@ -461,11 +595,38 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
     {
         indexingService.forceAll();
         labelScanStore.force( limiter );
+        relationshipTypeScanStore.force( limiter );
+        flushPropertyColumns( limiter );
         for ( IndexImplementation index : explicitIndexProviderLookup.all() )
         {
             index.force();
         }
         neoStores.flush( limiter );
+        checkpointStringDictionary( limiter );
+    }
+
+    private void checkpointStringDictionary( IOLimiter limiter )
+    {
+        try
+        {
+            neoStores.getPropertyStore().getStringDictionary().checkpoint( limiter );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    private void flushPropertyColumns( IOLimiter limiter )
+    {
+        try
+        {
+            propertyColumns.flush( limiter );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
     }
 
     @Override
@@ -511,6 +672,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
                 files.add( metadata );
             }
         }
+        File stringDictionaryFile = new File( storeDir, StringDictionary.FILE_NAME );
+        if ( neoStores.getPropertyStore().getStringDictionary().isOpen() )
+        {
+            files.add( new StoreFileMetadata( stringDictionaryFile, RecordFormat.NO_RECORD_SIZE ) );
+        }
         return files;
     }
 
@@ -525,6 +691,11 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         }
     }
 
+    long highId( StoreType storeType )
+    {
+        return neoStores.getRecordStore( storeType ).getHighId();
+    }
+
     /**
      * @return the underlying {@link NeoStores} which should <strong>ONLY</strong> be accessed by tests
      * until all tests are properly converted to not rely on access to {@link NeoStores}. Currently there
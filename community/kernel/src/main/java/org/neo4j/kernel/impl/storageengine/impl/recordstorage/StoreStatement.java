@@ -51,6 +51,7 @@ import org.neo4j.storageengine.api.RelationshipItem;
 import org.neo4j.storageengine.api.StorageStatement;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
 
 /**
  * Statement for store layer. This allows for acquisition of cursors on the store data.
@@ -73,27 +74,46 @@ public class StoreStatement implements StorageStatement
     private final Supplier<IndexReaderFactory> indexReaderFactorySupplier;
     private final RecordCursors recordCursors;
     private final Supplier<LabelScanReader> labelScanStore;
+    private final Supplier<RelationshipTypeScanReader> relationshipTypeScanStore;
     private final RecordStore<RelationshipGroupRecord> relationshipGroupStore;
     private final RecordStorageCommandCreationContext commandCreationContext;
+    private final RecordReadCursors readCursors;
 
     private IndexReaderFactory indexReaderFactory;
     private LabelScanReader labelScanReader;
+    private RelationshipTypeScanReader relationshipTypeScanReader;
 
     private boolean acquired;
     private boolean closed;
 
     public StoreStatement( NeoStores neoStores, Supplier<IndexReaderFactory> indexReaderFactory,
-            Supplier<LabelScanReader> labelScanReaderSupplier, LockService lockService,
+            Supplier<LabelScanReader> labelScanReaderSupplier,
+            Supplier<RelationshipTypeScanReader> relationshipTypeScanReaderSupplier, LockService lockService,
             RecordStorageCommandCreationContext commandCreationContext )
+    {
+        this( neoStores, indexReaderFactory, labelScanReaderSupplier, relationshipTypeScanReaderSupplier, lockService,
+                commandCreationContext, null );
+    }
+
+    /**
+     * @param readPath if not {@code null}, nodes, relationships and relationship chains are read through this
+     * {@link RecordReadPath} rather than through the page cache.
+     */
+    public StoreStatement( NeoStores neoStores, Supplier<IndexReaderFactory> indexReaderFactory,
+            Supplier<LabelScanReader> labelScanReaderSupplier,
+            Supplier<RelationshipTypeScanReader> relationshipTypeScanReaderSupplier, LockService lockService,
+            RecordStorageCommandCreationContext commandCreationContext, RecordReadPath readPath )
     {
         this.neoStores = neoStores;
         this.indexReaderFactorySupplier = indexReaderFactory;
         this.labelScanStore = labelScanReaderSupplier;
+        this.relationshipTypeScanStore = relationshipTypeScanReaderSupplier;
         this.commandCreationContext = commandCreationContext;
         this.nodeStore = neoStores.getNodeStore();
         this.relationshipStore = neoStores.getRelationshipStore();
         this.relationshipGroupStore = neoStores.getRelationshipGroupStore();
         this.recordCursors = new RecordCursors( neoStores );
+        this.readCursors = readPath != null ? readPath.newCursors() : null;
 
         singleNodeCursor = new InstanceCache<StoreSingleNodeCursor>()
         {
@@ -161,6 +181,10 @@ public class StoreStatement implements StorageStatement
     public Cursor<NodeItem> acquireSingleNodeCursor( long nodeId )
     {
         neoStores.assertOpen();
+        if ( readCursors != null )
+        {
+            return readCursors.acquireSingleNodeCursor( nodeId );
+        }
         return singleNodeCursor.get().init( nodeId );
     }
 
@@ -168,6 +192,10 @@ public class StoreStatement implements StorageStatement
     public Cursor<RelationshipItem> acquireSingleRelationshipCursor( long relId )
     {
         neoStores.assertOpen();
+        if ( readCursors != null )
+        {
+            return readCursors.acquireSingleRelationshipCursor( relId );
+        }
         return singleRelationshipCursor.get().init( relId );
     }
 
@@ -176,6 +204,11 @@ public class StoreStatement implements StorageStatement
             Direction direction, IntPredicate relTypeFilter )
     {
         neoStores.assertOpen();
+        if ( readCursors != null )
+        {
+            return readCursors.acquireNodeRelationshipCursor( isDense, nodeId, relationshipId, direction,
+                    relTypeFilter );
+        }
         return nodeRelationshipsCursor.get().init( isDense, relationshipId, nodeId, direction, relTypeFilter );
     }
 
@@ -214,6 +247,10 @@ public class StoreStatement implements StorageStatement
         assert !closed;
         closeSchemaResources();
         recordCursors.close();
+        if ( readCursors != null )
+        {
+            readCursors.close();
+        }
         commandCreationContext.close();
         closed = true;
     }
@@ -230,6 +267,11 @@ public class StoreStatement implements StorageStatement
             labelScanReader.close();
             labelScanReader = null;
         }
+        if ( relationshipTypeScanReader != null )
+        {
+            relationshipTypeScanReader.close();
+            relationshipTypeScanReader = null;
+        }
     }
 
     @Override
@@ -239,6 +281,13 @@ public class StoreStatement implements StorageStatement
                 labelScanReader : (labelScanReader = labelScanStore.get());
     }
 
+    @Override
+    public RelationshipTypeScanReader getRelationshipTypeScanReader()
+    {
+        return relationshipTypeScanReader != null ?
+                relationshipTypeScanReader : (relationshipTypeScanReader = relationshipTypeScanStore.get());
+    }
+
     private IndexReaderFactory indexReaderFactory()
     {
         return indexReaderFactory != null ?
@@ -279,4 +328,10 @@ public class StoreStatement implements StorageStatement
     {
         return commandCreationContext.nextId( StoreType.RELATIONSHIP );
     }
+
+    @Override
+    public long reserveRelationship( long nearRelationshipId )
+    {
+        return commandCreationContext.nextId( StoreType.RELATIONSHIP, nearRelationshipId );
+    }
 }
@@ -625,14 +625,7 @@ public abstract class CommonAbstractStore<RECORD extends AbstractBaseRecord,HEAD
         IdGenerator generator = this.idGenerator;
         if ( generator != null )
         {
-            //noinspection SynchronizationOnLocalVariableOrMethodParameter
-            synchronized ( generator )
-            {
-                if ( highId > generator.getHighId() )
-                {
-                    generator.setHighId( highId );
-                }
-            }
+            generator.raiseHighId( highId );
         }
     }
 
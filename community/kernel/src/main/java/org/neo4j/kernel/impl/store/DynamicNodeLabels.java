@@ -29,6 +29,8 @@ import org.neo4j.helpers.collection.Pair;
 import org.neo4j.kernel.impl.store.allocator.ReusableRecordsCompositeAllocator;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.store.record.RecordLoad;
 
 import static java.lang.String.format;
 import static org.neo4j.kernel.impl.store.AbstractDynamicStore.readFullByteArrayFromHeavyRecords;
@@ -237,6 +239,82 @@ public class DynamicNodeLabels implements NodeLabels
         return LabelIdArray.stripNodeId( storedLongs );
     }
 
+    /**
+     * Reads the labels of a node whose labels are stored in dynamic records into {@code target}, without allocating.
+     * The chain of dynamic records is read one record at a time into {@code record} and the bit-packed label ids
+     * are decoded as they come, instead of first gathering all the records and their bytes.
+     *
+     * @param labelField label field of the node, pointing to its first dynamic label record.
+     * @param dynamicLabelCursor cursor to read the dynamic label records with.
+     * @param record record to read each dynamic label record into.
+     * @param target array to read the label ids into.
+     * @return number of labels of the node. If {@code target} is too small to hold them all the number of labels
+     * is returned negated, in which case the caller is expected to retry with a big enough {@code target}.
+     */
+    public static int readDynamicLabels( long labelField, RecordCursor<DynamicRecord> dynamicLabelCursor,
+            DynamicRecord record, long[] target )
+    {
+        long recordId = firstDynamicLabelRecordId( labelField );
+        boolean firstRecord = true;
+        int bitsUsedInLastByte = 0;
+        int requiredBits = 0;
+        int totalBytes = 0;
+        // The first decoded value is the id of the node owning the labels, it's skipped
+        int valueIndex = -1;
+        long value = 0;
+        int valueBits = 0;
+        while ( !Record.NO_NEXT_BLOCK.is( recordId ) )
+        {
+            dynamicLabelCursor.next( recordId, record, RecordLoad.NORMAL );
+            byte[] data = record.getData();
+            int offset = 0;
+            if ( firstRecord )
+            {
+                bitsUsedInLastByte = data[1];
+                requiredBits = data[2];
+                if ( requiredBits == 0 )
+                {
+                    return 0;
+                }
+                offset = DynamicArrayStore.NUMBER_HEADER_SIZE;
+                firstRecord = false;
+            }
+            for ( int i = offset; i < data.length; i++ )
+            {
+                int bits = data[i] & 0xFF;
+                int bitsLeftInByte = Byte.SIZE;
+                while ( bitsLeftInByte > 0 )
+                {
+                    int steps = Math.min( bitsLeftInByte, requiredBits - valueBits );
+                    value |= (long) (bits & ((1 << steps) - 1)) << valueBits;
+                    bits >>>= steps;
+                    bitsLeftInByte -= steps;
+                    valueBits += steps;
+                    if ( valueBits == requiredBits )
+                    {
+                        if ( valueIndex >= 0 && valueIndex < target.length )
+                        {
+                            target[valueIndex] = value;
+                        }
+                        valueIndex++;
+                        value = 0;
+                        valueBits = 0;
+                    }
+                }
+            }
+            totalBytes += data.length - offset;
+            recordId = record.getNextBlock();
+        }
+        if ( firstRecord )
+        {
+            return 0;
+        }
+
+        // Values decoded from the padding bits of the last byte, if any, are not part of the array
+        int labelCount = (totalBytes * Byte.SIZE - (Byte.SIZE - bitsUsedInLastByte)) / requiredBits - 1;
+        return labelCount <= target.length ? labelCount : -labelCount;
+    }
+
     public static Pair<Long, long[]> getDynamicLabelsArrayAndOwner( Iterable<DynamicRecord> records,
             AbstractDynamicStore dynamicLabelStore )
     {
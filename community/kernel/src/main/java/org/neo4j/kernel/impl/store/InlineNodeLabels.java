@@ -155,6 +155,37 @@ public class InlineNodeLabels implements NodeLabels
         return result;
     }
 
+    /**
+     * Garbage-free version of {@link #parseInlined(long)}, decoding the inlined labels into {@code target}.
+     *
+     * @param labelField inlined label field of a node record.
+     * @param target array to decode the labels into, will be replaced by a bigger one if not big enough.
+     * @return array containing the labels, where the number of labels is {@link #inlinedLabelCount(long)}.
+     */
+    public static long[] parseInlined( long labelField, long[] target )
+    {
+        int numberOfLabels = labelCount( labelField );
+        if ( numberOfLabels == 0 )
+        {
+            return target;
+        }
+
+        long existingLabelsField = parseLabelsBody( labelField );
+        int bitsPerLabel = LABEL_BITS / numberOfLabels;
+        long mask = (1L << bitsPerLabel) - 1;
+        long[] result = target.length >= numberOfLabels ? target : new long[numberOfLabels];
+        for ( int i = 0; i < numberOfLabels; i++ )
+        {
+            result[i] = (existingLabelsField >>> (i * bitsPerLabel)) & mask;
+        }
+        return result;
+    }
+
+    public static int inlinedLabelCount( long labelField )
+    {
+        return labelCount( labelField );
+    }
+
     private static long combineLabelCountAndLabelStorage( byte labelCount, long labelBits )
     {
         return ((long)labelCount << 36) | labelBits;
@@ -33,6 +33,7 @@ import org.neo4j.helpers.Exceptions;
 import org.neo4j.helpers.collection.FilteringIterator;
 import org.neo4j.helpers.collection.IteratorWrapper;
 import org.neo4j.helpers.collection.Visitor;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.IOLimiter;
 import org.neo4j.io.pagecache.PageCache;
@@ -41,7 +42,9 @@ import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.kernel.NeoStoresDiagnostics;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.CountsAccessor;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.GBPTreeCountsStore;
 import org.neo4j.kernel.impl.store.counts.ReadOnlyCountsTracker;
 import org.neo4j.kernel.impl.store.format.CapabilityType;
 import org.neo4j.kernel.impl.store.format.FormatFamily;
@@ -112,7 +115,7 @@ public class NeoStores implements AutoCloseable
     private final StoreType[] initializedStores;
     private final FileSystemAbstraction fileSystemAbstraction;
     private final RecordFormats recordFormats;
-    // All stores, as Object due to CountsTracker being different that all other stores.
+    // All stores, as Object due to the counts store being different that all other stores.
     private final Object[] stores;
     private final OpenOption[] openOptions;
 
@@ -240,7 +243,7 @@ public class NeoStores implements AutoCloseable
     {
         try
         {
-            CountsTracker counts = (CountsTracker) stores[StoreType.COUNTS.ordinal()];
+            CountsStore counts = (CountsStore) stores[StoreType.COUNTS.ordinal()];
             if ( counts != null )
             {
                 counts.rotate( getMetaDataStore().getLastCommittedTransactionId() );
@@ -306,6 +309,14 @@ public class NeoStores implements AutoCloseable
         return store;
     }
 
+    /**
+     * @return the record formats of these stores.
+     */
+    public RecordFormats getRecordFormats()
+    {
+        return recordFormats;
+    }
+
     /**
      * @return the NeoStore.
      */
@@ -413,9 +424,9 @@ public class NeoStores implements AutoCloseable
         return (SchemaStore) getStore( StoreType.SCHEMA );
     }
 
-    public CountsTracker getCounts()
+    public CountsStore getCounts()
     {
-        return (CountsTracker) getStore( StoreType.COUNTS );
+        return (CountsStore) getStore( StoreType.COUNTS );
     }
 
     private CountsTracker createWritableCountsTracker( File fileName )
@@ -429,6 +440,24 @@ public class NeoStores implements AutoCloseable
         return new ReadOnlyCountsTracker( logProvider, fileSystemAbstraction, pageCache, config, fileName );
     }
 
+    private GBPTreeCountsStore createGBPTreeCountsStore( File fileName, boolean readOnly )
+    {
+        return new GBPTreeCountsStore( pageCache, fileName, RecoveryCleanupWorkCollector.IMMEDIATE,
+                config.get( GraphDatabaseSettings.counts_store_rotation_timeout ).toMillis(), readOnly );
+    }
+
+    private boolean countsTrackerExists( File fileName )
+    {
+        return fileSystemAbstraction.fileExists( new File( fileName.getPath() + CountsTracker.LEFT ) ) ||
+               fileSystemAbstraction.fileExists( new File( fileName.getPath() + CountsTracker.RIGHT ) );
+    }
+
+    private void deleteCountsTracker( File fileName )
+    {
+        fileSystemAbstraction.deleteFile( new File( fileName.getPath() + CountsTracker.LEFT ) );
+        fileSystemAbstraction.deleteFile( new File( fileName.getPath() + CountsTracker.RIGHT ) );
+    }
+
     private Iterable<CommonAbstractStore> instantiatedRecordStores()
     {
         Iterator<StoreType> storeTypes = new FilteringIterator<>( iterator( STORE_TYPES ), INSTANTIATED_RECORD_STORES );
@@ -501,7 +530,13 @@ public class NeoStores implements AutoCloseable
     public void rebuildCountStoreIfNeeded() throws IOException
     {
         // TODO: move this to LifeCycle
-        getCounts().start();
+        CountsStore counts = getCounts();
+        counts.start();
+        if ( counts instanceof GBPTreeCountsStore && !config.get( GraphDatabaseSettings.read_only ) )
+        {
+            // Now migrated into, and checkpointed by, the tree counts store
+            deleteCountsTracker( getStoreFile( StoreFactory.COUNTS_STORE ) );
+        }
     }
 
     public void deleteIdGenerators()
@@ -613,21 +648,43 @@ public class NeoStores implements AutoCloseable
                 recordFormats, openOptions ) );
     }
 
-    CountsTracker createCountStore( String storeName )
+    CountsStore createCountStore( String storeName )
     {
         File storeFile = getStoreFile( storeName );
         boolean readOnly = config.get( GraphDatabaseSettings.read_only );
-        CountsTracker counts = readOnly
-                               ? createReadOnlyCountsTracker( storeFile )
-                               : createWritableCountsTracker( storeFile );
+        boolean gbptree = config.get( GraphDatabaseSettings.counts_store_gbptree );
+        if ( !gbptree && !readOnly && fileSystemAbstraction.fileExists( storeFile ) )
+        {
+            // Left behind by the tree counts store and stale as soon as the counts tracker changes
+            fileSystemAbstraction.deleteFile( storeFile );
+        }
+        CountsStore counts = gbptree ? createGBPTreeCountsStore( storeFile, readOnly )
+                                     : readOnly ? createReadOnlyCountsTracker( storeFile )
+                                                : createWritableCountsTracker( storeFile );
         NeoStores neoStores = this;
+        boolean migrate = gbptree && countsTrackerExists( storeFile );
         counts.setInitializer( new DataInitializer<CountsAccessor.Updater>()
         {
             private final Log log = logProvider.getLog( MetaDataStore.class );
+            private CountsTracker previous;
 
             @Override
             public void initialize( CountsAccessor.Updater updater )
             {
+                if ( migrate )
+                {
+                    log.info( "Migrating counts store to GB+Tree." );
+                    try ( CountsAccessor.IndexStatsUpdater stats = counts.updateIndexCounts() )
+                    {
+                        previous().accept( new CountsAccessor.Initializer( updater, stats ) );
+                    }
+                    finally
+                    {
+                        closePrevious();
+                    }
+                    log.info( "Counts store migration completed." );
+                    return;
+                }
                 log.warn( "Missing counts store, rebuilding it." );
                 new CountsComputer( neoStores, pageCache ).initialize( updater );
                 log.warn( "Counts store rebuild completed." );
@@ -636,7 +693,42 @@ public class NeoStores implements AutoCloseable
             @Override
             public long initialVersion()
             {
-                return ((MetaDataStore) getOrCreateStore( StoreType.META_DATA )).getLastCommittedTransactionId();
+                return migrate ? previous().txId()
+                               : ((MetaDataStore) getOrCreateStore( StoreType.META_DATA )).getLastCommittedTransactionId();
+            }
+
+            private CountsTracker previous()
+            {
+                if ( previous == null )
+                {
+                    previous = createReadOnlyCountsTracker( storeFile );
+                    try
+                    {
+                        previous.init();
+                        previous.start();
+                    }
+                    catch ( IOException e )
+                    {
+                        throw new UnderlyingStorageException( "Failed to open counts store to migrate", e );
+                    }
+                }
+                return previous;
+            }
+
+            private void closePrevious()
+            {
+                try
+                {
+                    previous.shutdown();
+                }
+                catch ( IOException e )
+                {
+                    throw new UnderlyingStorageException( "Failed to close migrated counts store", e );
+                }
+                finally
+                {
+                    previous = null;
+                }
             }
         } );
 
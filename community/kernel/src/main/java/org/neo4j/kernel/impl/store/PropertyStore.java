@@ -28,6 +28,7 @@ import java.util.List;
 
 import org.neo4j.collection.primitive.PrimitiveLongObjectMap;
 import org.neo4j.cursor.Cursor;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.helpers.collection.Iterables;
 import org.neo4j.helpers.collection.Pair;
 import org.neo4j.io.pagecache.PageCache;
@@ -42,8 +43,11 @@ import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.storageengine.api.lock.ResourceLocker;
 import org.neo4j.string.UTF8;
+import org.neo4j.values.storable.TextValue;
 import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static org.neo4j.kernel.impl.store.DynamicArrayStore.getRightArray;
 import static org.neo4j.kernel.impl.store.NoStoreHeaderFormat.NO_STORE_HEADER_FORMAT;
@@ -64,6 +68,7 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
     private final DynamicStringStore stringStore;
     private final PropertyKeyTokenStore propertyKeyTokenStore;
     private final DynamicArrayStore arrayStore;
+    private final StringDictionary stringDictionary;
 
     public PropertyStore(
             File fileName,
@@ -82,6 +87,10 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         this.stringStore = stringPropertyStore;
         this.propertyKeyTokenStore = propertyKeyTokenStore;
         this.arrayStore = arrayPropertyStore;
+        this.stringDictionary = new StringDictionary(
+                configuration.get( GraphDatabaseSettings.dictionary_encoded_properties ),
+                configuration.get( GraphDatabaseSettings.dictionary_max_entries_per_key ),
+                keyId -> propertyKeyTokenStore.getToken( keyId ).name(), this::readDictionaryString );
     }
 
     @Override
@@ -106,6 +115,11 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         return propertyKeyTokenStore;
     }
 
+    public StringDictionary getStringDictionary()
+    {
+        return stringDictionary;
+    }
+
     @Override
     public void updateRecord( PropertyRecord record )
     {
@@ -141,7 +155,7 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         for ( DynamicRecord valueRecord : records )
         {
             PropertyType recordType = valueRecord.getType();
-            if ( recordType == PropertyType.STRING )
+            if ( recordType == PropertyType.STRING || recordType == PropertyType.DICTIONARY_STRING )
             {
                 stringStore.updateRecord( valueRecord );
             }
@@ -180,15 +194,26 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
             return;
         }
 
+        for ( DynamicRecord valueRecord : loadDynamicRecords( dynamicStore, type, block.getSingleValueLong() ) )
+        {
+            block.addValueRecord( valueRecord );
+        }
+    }
+
+    private static List<DynamicRecord> loadDynamicRecords( RecordStore<DynamicRecord> dynamicStore,
+            PropertyType type, long firstRecordId )
+    {
+        List<DynamicRecord> records = new ArrayList<>();
         try ( Cursor<DynamicRecord> dynamicRecords = dynamicStore.newRecordCursor( dynamicStore.newRecord() )
-                .acquire( block.getSingleValueLong(), NORMAL ) )
+                .acquire( firstRecordId, NORMAL ) )
         {
             while ( dynamicRecords.next() )
             {
                 dynamicRecords.get().setType( type.intValue() );
-                block.addValueRecord( dynamicRecords.get().clone() );
+                records.add( dynamicRecords.get().clone() );
             }
         }
+        return records;
     }
 
     private RecordStore<DynamicRecord> dynamicStoreForValueType( PropertyType type )
@@ -225,6 +250,18 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
 
     public static void encodeValue( PropertyBlock block, int keyId, Value value,
             DynamicRecordAllocator stringAllocator, DynamicRecordAllocator arrayAllocator )
+    {
+        encodeValue( block, keyId, value, stringAllocator, arrayAllocator, null, ResourceLocker.NONE );
+    }
+
+    /**
+     * Encodes a value into a property block, allocating dynamic records if the value doesn't fit in the block.
+     * Strings of property keys encoded by the given {@link StringDictionary} refer to a shared string chain,
+     * which is locked using the given {@code locks} of the transaction going to refer to it.
+     */
+    public static void encodeValue( PropertyBlock block, int keyId, Value value,
+            DynamicRecordAllocator stringAllocator, DynamicRecordAllocator arrayAllocator,
+            StringDictionary stringDictionary, ResourceLocker locks )
     {
         // TODO: use ValueWriter
         Object asObject = value.asObject();
@@ -236,14 +273,29 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
                 return;
             }
 
+            PropertyType type = PropertyType.STRING;
+            if ( stringDictionary != null && stringDictionary.encodes( keyId ) )
+            {
+                long reference = stringDictionary.reference( keyId, string, locks );
+                if ( reference != StringDictionary.NO_REFERENCE )
+                {   // Refer to the shared string chain of this value
+                    setSingleBlockValue( block, keyId, PropertyType.DICTIONARY_STRING, reference );
+                    return;
+                }
+                if ( !stringDictionary.isFull( keyId ) )
+                {   // First occurrence of this value, its chain is added to the dictionary when applied
+                    type = PropertyType.DICTIONARY_STRING;
+                }
+            }
+
             // Fall back to dynamic string store
             byte[] encodedString = encodeString( string );
             List<DynamicRecord> valueRecords = new ArrayList<>();
             allocateStringRecords( valueRecords, encodedString, stringAllocator );
-            setSingleBlockValue( block, keyId, PropertyType.STRING, Iterables.first( valueRecords ).getId() );
+            setSingleBlockValue( block, keyId, type, Iterables.first( valueRecords ).getId() );
             for ( DynamicRecord valueRecord : valueRecords )
             {
-                valueRecord.setType( PropertyType.STRING.intValue() );
+                valueRecord.setType( type.intValue() );
             }
             block.setValueRecords( valueRecords );
         }
@@ -348,6 +400,31 @@ public class PropertyStore extends CommonAbstractStore<PropertyRecord,NoStoreHea
         return decodeString( source.other() );
     }
 
+    /**
+     * Reads a {@link PropertyType#DICTIONARY_STRING dictionary encoded} string, from the {@link StringDictionary}
+     * if known there, otherwise from its shared string chain.
+     */
+    public TextValue getDictionaryStringFor( PropertyBlock propertyBlock )
+    {
+        long reference = propertyBlock.getSingleValueLong();
+        TextValue value = stringDictionary.value( reference );
+        return value != null ? value : readDictionaryString( reference );
+    }
+
+    private TextValue readDictionaryString( long reference )
+    {
+        return Values.stringValue( getStringFor( getDictionaryStringRecords( reference ) ) );
+    }
+
+    /**
+     * @param reference id of the first record of a shared string chain.
+     * @return the records of the given {@link PropertyType#DICTIONARY_STRING dictionary encoded} string chain.
+     */
+    public List<DynamicRecord> getDictionaryStringRecords( long reference )
+    {
+        return loadDynamicRecords( stringStore, PropertyType.DICTIONARY_STRING, reference );
+    }
+
     public Value getArrayFor( PropertyBlock propertyBlock )
     {
         ensureHeavy( propertyBlock );
@@ -190,6 +190,23 @@ public enum PropertyType
         {
             return ShortArray.calculateNumberOfBlocksUsed( firstBlock );
         }
+    },
+    /**
+     * A string referring to a string chain shared by all blocks with the same value, see {@link StringDictionary}.
+     */
+    DICTIONARY_STRING( 13 )
+    {
+        @Override
+        public Value value( PropertyBlock block, PropertyStore store )
+        {
+            return store.getDictionaryStringFor( block );
+        }
+
+        @Override
+        public byte[] readDynamicRecordHeader( byte[] recordBytes )
+        {
+            return EMPTY_BYTE_ARRAY;
+        }
     };
 
     public static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
@@ -259,6 +276,8 @@ public enum PropertyType
             return SHORT_STRING;
         case 12:
             return SHORT_ARRAY;
+        case 13:
+            return DICTIONARY_STRING;
         default:
             return null;
         }
@@ -42,6 +42,7 @@ public class RecordCursors implements AutoCloseable
     private final RecordCursor<DynamicRecord> propertyString;
     private final RecordCursor<DynamicRecord> propertyArray;
     private final RecordCursor<DynamicRecord> label;
+    private final StringDictionary stringDictionary;
 
     public RecordCursors( NeoStores neoStores )
     {
@@ -52,6 +53,7 @@ public class RecordCursors implements AutoCloseable
         propertyString = newCursor( neoStores.getPropertyStore().getStringStore() );
         propertyArray = newCursor( neoStores.getPropertyStore().getArrayStore() );
         label = newCursor( neoStores.getNodeStore().getDynamicLabelStore() );
+        stringDictionary = neoStores.getPropertyStore().getStringDictionary();
     }
 
     private static <R extends AbstractBaseRecord> RecordCursor<R> newCursor( RecordStore<R> store )
@@ -66,6 +68,11 @@ public class RecordCursors implements AutoCloseable
                 node, relationship, relationshipGroup, property, propertyArray, propertyString, label );
     }
 
+    public StringDictionary stringDictionary()
+    {
+        return stringDictionary;
+    }
+
     public RecordCursor<NodeRecord> node()
     {
         return node;
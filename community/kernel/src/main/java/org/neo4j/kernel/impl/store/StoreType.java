@@ -25,7 +25,10 @@ import java.util.Optional;
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.index.labelscan.NativeLabelScanStore;
+import org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.GBPTreeCountsStore;
 import org.neo4j.kernel.impl.store.id.IdType;
 
 public enum StoreType
@@ -151,7 +154,7 @@ public enum StoreType
     COUNTS( null, false, false )
             {
                 @Override
-                public CountsTracker open( final NeoStores neoStores )
+                public CountsStore open( final NeoStores neoStores )
                 {
                     return neoStores.createCountStore( StoreFactory.COUNTS_STORE );
                 }
@@ -161,7 +164,7 @@ public enum StoreType
                 {
                     try
                     {
-                        ((CountsTracker) object).shutdown();
+                        ((CountsStore) object).shutdown();
                     }
                     catch ( IOException e )
                     {
@@ -179,7 +182,8 @@ public enum StoreType
                 protected boolean isStoreFile( String fileName )
                 {
                     return matchStoreName( fileName, getStoreName() + CountsTracker.RIGHT ) ||
-                           matchStoreName( fileName, getStoreName() + CountsTracker.LEFT );
+                           matchStoreName( fileName, getStoreName() + CountsTracker.LEFT ) ||
+                           matchStoreName( fileName, getStoreName() );
                 }
             },
     META_DATA( StoreFile.NEO_STORE, true, true ) // Make sure this META store is last
@@ -262,8 +266,12 @@ public enum StoreType
      */
     public static boolean shouldBeManagedByPageCache( String storeFileName )
     {
-        boolean isLabelScanStore = NativeLabelScanStore.FILE_NAME.equals( storeFileName );
-        return isLabelScanStore || StoreType.typeOf( storeFileName ).map( StoreType::isRecordStore ).orElse( false );
+        boolean isScanStore = NativeLabelScanStore.FILE_NAME.equals( storeFileName ) ||
+                NativeRelationshipTypeScanStore.FILE_NAME.equals( storeFileName );
+        boolean isStringDictionary = StringDictionary.FILE_NAME.equals( storeFileName );
+        boolean isCountsTree = GBPTreeCountsStore.FILE_NAME.equals( storeFileName );
+        return isScanStore || isStringDictionary || isCountsTree ||
+               StoreType.typeOf( storeFileName ).map( StoreType::isRecordStore ).orElse( false );
     }
 
     protected boolean isStoreFile( String fileName )
@@ -0,0 +1,581 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.hashing.HashFunction;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.ValueMergers;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.impl.locking.LockTracer;
+import org.neo4j.kernel.impl.locking.ResourceTypes;
+import org.neo4j.kernel.impl.store.format.Capability;
+import org.neo4j.storageengine.api.lock.ResourceLocker;
+import org.neo4j.values.storable.TextValue;
+
+import static org.neo4j.kernel.impl.store.StringDictionaryKey.CHAIN;
+import static org.neo4j.kernel.impl.store.StringDictionaryKey.REFERENCE;
+import static org.neo4j.kernel.impl.store.StringDictionaryKey.VALUE;
+
+/**
+ * Dictionary of string property values of the property keys configured to be dictionary encoded.
+ * <p>
+ * A dictionary encoded string is stored once, as a string chain in the {@link DynamicStringStore}, and every
+ * property block having that value refers to that same chain using a {@link PropertyType#DICTIONARY_STRING}
+ * block. Only stores with the {@link Capability#DICTIONARY_STRINGS} capability can have such blocks.
+ * <p>
+ * The dictionary is kept in a {@link GBPTree} next to the string store. It has the shared chains, with the property
+ * key and the hash of the value of each, the chain of each value hash per property key and the property records
+ * referring to each chain, see {@link StringDictionaryKey}. It's changed by applied transactions, through
+ * {@link #updater()}, using only puts and removes which are idempotent, so that applying transactions again during
+ * recovery leaves it in the same state. The tree is checkpointed together with the record stores.
+ * <p>
+ * A shared chain is freed, i.e. its records are deleted, by the transaction removing the last reference to it.
+ * A transaction referring to an existing chain holds a shared {@link ResourceTypes#STRING_DICTIONARY_VALUE} lock
+ * on it until the transaction has been applied, see {@link #reference(int, String, ResourceLocker)}. A transaction
+ * removing references to a chain frees it if, holding the exclusive lock on the chain, the dictionary has no other
+ * references to it than the removed ones, see {@link #countReferences(long, int)}. Transactions which see more
+ * references than that don't take the lock, and so concurrent removals of the last references may leave a chain
+ * without references. Such a chain is still in the dictionary and is used again by the next occurrence of its value.
+ * <p>
+ * Until {@link #open(PageCache, File, RecoveryCleanupWorkCollector) opened} the dictionary encodes nothing, which is
+ * the case for stores without the capability, read only databases and tools. Values of existing dictionary encoded
+ * blocks can always be read from their chains.
+ */
+public class StringDictionary implements Closeable
+{
+    public static final String FILE_NAME =
+            MetaDataStore.DEFAULT_NAME + StoreFactory.PROPERTY_STRINGS_STORE_NAME + ".dictionary";
+    public static final long NO_REFERENCE = -1;
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ENCODED = 1;
+    private static final byte NOT_ENCODED = 2;
+    private static final HashFunction HASH = HashFunction.incrementalXXH64();
+
+    private final Set<String> propertyKeys;
+    private final int maxEntriesPerKey;
+    private final IntFunction<String> propertyKeyNames;
+    private final LongFunction<TextValue> chainValues;
+    private final StringDictionaryLayout layout = new StringDictionaryLayout();
+    // The shared chains in the dictionary, by reference, and the number of them per property key
+    private final Map<Long,Chain> chains = new ConcurrentHashMap<>();
+    private final Map<Integer,AtomicInteger> chainCounts = new ConcurrentHashMap<>();
+    // Known references of values, per property key. Only has values verified against their chains
+    private final Map<Integer,Map<String,Long>> referencesByKey = new ConcurrentHashMap<>();
+    private final Lock writerLock = new ReentrantLock();
+    // Whether or not property keys, by id, are encoded. Property key names never change so this can be cached
+    private volatile byte[] encodedKeys = new byte[0];
+    private volatile GBPTree<StringDictionaryKey,StringDictionaryValue> tree;
+
+    /**
+     * @param propertyKeys names of the property keys to encode.
+     * @param maxEntriesPerKey maximum number of shared chains per property key.
+     * @param propertyKeyNames names of property keys, by id.
+     * @param chainValues values of string chains, by the id of their first record.
+     */
+    public StringDictionary( Collection<String> propertyKeys, int maxEntriesPerKey,
+            IntFunction<String> propertyKeyNames, LongFunction<TextValue> chainValues )
+    {
+        this.propertyKeys = new HashSet<>( propertyKeys );
+        this.maxEntriesPerKey = maxEntriesPerKey;
+        this.propertyKeyNames = propertyKeyNames;
+        this.chainValues = chainValues;
+    }
+
+    /**
+     * Opens, or creates, the tree of this dictionary. Must be done before transactions are applied,
+     * including recovery.
+     *
+     * @param pageCache {@link PageCache} to map the tree file with.
+     * @param file the tree file, normally {@link #FILE_NAME} in the store directory.
+     * @param recoveryCleanupWorkCollector collects recovery cleanup of the tree.
+     */
+    public void open( PageCache pageCache, File file, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector )
+            throws IOException
+    {
+        GBPTree<StringDictionaryKey,StringDictionaryValue> tree = new GBPTree<>( pageCache, file, layout, 0,
+                GBPTree.NO_MONITOR, GBPTree.NO_HEADER_READER, GBPTree.NO_HEADER_WRITER, recoveryCleanupWorkCollector );
+        try ( RawCursor<Hit<StringDictionaryKey,StringDictionaryValue>,IOException> seek = tree.seek(
+                new StringDictionaryKey( CHAIN, Long.MIN_VALUE, Long.MIN_VALUE ),
+                new StringDictionaryKey( CHAIN, Long.MAX_VALUE, Long.MAX_VALUE ) ) )
+        {
+            while ( seek.next() )
+            {
+                StringDictionaryKey key = seek.get().key();
+                addChain( key.first, new Chain( (int) key.second, seek.get().value().value, null ) );
+            }
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            tree.close();
+            throw e;
+        }
+        this.tree = tree;
+    }
+
+    public boolean isOpen()
+    {
+        return tree != null;
+    }
+
+    /**
+     * Checkpoints the tree of this dictionary, if open.
+     */
+    public void checkpoint( IOLimiter limiter ) throws IOException
+    {
+        GBPTree<StringDictionaryKey,StringDictionaryValue> tree = this.tree;
+        if ( tree != null )
+        {
+            tree.checkpoint( limiter );
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        GBPTree<StringDictionaryKey,StringDictionaryValue> tree = this.tree;
+        if ( tree != null )
+        {
+            this.tree = null;
+            tree.close();
+            chains.clear();
+            chainCounts.clear();
+            referencesByKey.clear();
+        }
+    }
+
+    /**
+     * @param propertyKeyId id of property key.
+     * @return whether or not string values of the given property key should be dictionary encoded.
+     */
+    public boolean encodes( int propertyKeyId )
+    {
+        if ( propertyKeys.isEmpty() || tree == null )
+        {
+            return false;
+        }
+        byte[] encodedKeys = this.encodedKeys;
+        byte encoded = propertyKeyId < encodedKeys.length ? encodedKeys[propertyKeyId] : UNKNOWN;
+        if ( encoded == UNKNOWN )
+        {
+            encoded = propertyKeys.contains( propertyKeyNames.apply( propertyKeyId ) ) ? ENCODED : NOT_ENCODED;
+            cacheEncoded( propertyKeyId, encoded );
+        }
+        return encoded == ENCODED;
+    }
+
+    private synchronized void cacheEncoded( int propertyKeyId, byte encoded )
+    {
+        byte[] newEncodedKeys = Arrays.copyOf( encodedKeys, Math.max( encodedKeys.length, propertyKeyId + 1 ) );
+        newEncodedKeys[propertyKeyId] = encoded;
+        encodedKeys = newEncodedKeys;
+    }
+
+    /**
+     * Looks up the shared string chain of a value. If there is one, a shared lock is taken on it, which keeps it
+     * from being freed until the transaction of the given {@code locks} has been applied.
+     *
+     * @param propertyKeyId id of property key the value is for.
+     * @param value string value to look up.
+     * @param locks locks of the transaction which is going to refer to the chain.
+     * @return id of the first record of the string chain of the value, or {@link #NO_REFERENCE} if the value
+     * isn't in the dictionary.
+     */
+    public long reference( int propertyKeyId, String value, ResourceLocker locks )
+    {
+        long reference = lookup( propertyKeyId, value );
+        if ( reference != NO_REFERENCE )
+        {
+            locks.acquireShared( LockTracer.NONE, ResourceTypes.STRING_DICTIONARY_VALUE, reference );
+            if ( lookup( propertyKeyId, value ) != reference )
+            {   // The chain was freed while waiting for the lock
+                return NO_REFERENCE;
+            }
+        }
+        return reference;
+    }
+
+    private long lookup( int propertyKeyId, String value )
+    {
+        Map<String,Long> references = referencesByKey.computeIfAbsent( propertyKeyId,
+                key -> new ConcurrentHashMap<>() );
+        Long cached = references.get( value );
+        if ( cached != null )
+        {
+            return cached;
+        }
+
+        // Not known in memory, look for it in the tree and verify the value of the chain, hashes may collide
+        StringDictionaryValue found = get( new StringDictionaryKey( VALUE, propertyKeyId, hash( value ) ) );
+        if ( found == null )
+        {
+            return NO_REFERENCE;
+        }
+        long reference = found.value;
+        Chain chain = chains.get( reference );
+        if ( chain == null || chain.propertyKeyId != propertyKeyId || !value.equals( chain.value( reference ) ) )
+        {
+            return NO_REFERENCE;
+        }
+        references.put( value, reference );
+        if ( chains.get( reference ) != chain )
+        {   // Freed concurrently, don't leave it behind
+            references.remove( value, reference );
+            return NO_REFERENCE;
+        }
+        return reference;
+    }
+
+    /**
+     * @param propertyKeyId id of property key.
+     * @return whether or not the maximum number of shared chains exist for the given property key, in which case
+     * new values should be stored as ordinary strings.
+     */
+    public boolean isFull( int propertyKeyId )
+    {
+        AtomicInteger count = chainCounts.get( propertyKeyId );
+        return count != null && count.get() >= maxEntriesPerKey;
+    }
+
+    /**
+     * @param reference id of the first record of a string chain.
+     * @return the value of the given string chain, or {@code null} if the chain isn't in this dictionary.
+     */
+    public TextValue value( long reference )
+    {
+        Chain chain = chains.get( reference );
+        return chain != null ? chain.value( reference ) : null;
+    }
+
+    /**
+     * Counts references to a shared string chain made by applied transactions.
+     *
+     * @param reference id of the first record of a string chain.
+     * @param limit stop counting at this number of references.
+     * @return the number of references to the given chain, at most {@code limit}.
+     */
+    public int countReferences( long reference, int limit )
+    {
+        int count = 0;
+        try ( RawCursor<Hit<StringDictionaryKey,StringDictionaryValue>,IOException> seek = tree.seek(
+                new StringDictionaryKey( REFERENCE, reference, Long.MIN_VALUE ),
+                new StringDictionaryKey( REFERENCE, reference, Long.MAX_VALUE ) ) )
+        {
+            while ( count < limit && seek.next() )
+            {
+                count++;
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+        return count;
+    }
+
+    /**
+     * @return an {@link Updater} for the changes of an applied transaction. Only one updater can be used at a time.
+     */
+    public Updater updater()
+    {
+        return new Updater();
+    }
+
+    private StringDictionaryValue get( StringDictionaryKey key )
+    {
+        try ( RawCursor<Hit<StringDictionaryKey,StringDictionaryValue>,IOException> seek = tree.seek( key, key ) )
+        {
+            return seek.next() ? new StringDictionaryValue( seek.get().value().value ) : null;
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    private void addChain( long reference, Chain chain )
+    {
+        Chain previous = chains.put( reference, chain );
+        if ( previous != null )
+        {
+            forgetChain( reference, previous );
+        }
+        chainCounts.computeIfAbsent( chain.propertyKeyId, key -> new AtomicInteger() ).incrementAndGet();
+    }
+
+    private void removeChain( long reference )
+    {
+        Chain chain = chains.remove( reference );
+        if ( chain != null )
+        {
+            forgetChain( reference, chain );
+        }
+    }
+
+    private void forgetChain( long reference, Chain chain )
+    {
+        chainCounts.get( chain.propertyKeyId ).decrementAndGet();
+        Map<String,Long> references = referencesByKey.get( chain.propertyKeyId );
+        if ( references != null )
+        {
+            references.values().removeIf( candidate -> candidate == reference );
+        }
+    }
+
+    static long hash( String value )
+    {
+        long hash = HASH.initialise( 0x0123456789abcdefL );
+        int length = value.length();
+        hash = HASH.update( hash, length );
+        for ( int i = 0; i < length; i++ )
+        {
+            hash = HASH.update( hash, value.charAt( i ) );
+        }
+        return HASH.finalise( hash );
+    }
+
+    private final class Chain
+    {
+        private final int propertyKeyId;
+        private final long hash;
+        // Read lazily from the chain
+        private volatile TextValue value;
+
+        Chain( int propertyKeyId, long hash, TextValue value )
+        {
+            this.propertyKeyId = propertyKeyId;
+            this.hash = hash;
+            this.value = value;
+        }
+
+        TextValue value( long reference )
+        {
+            TextValue value = this.value;
+            if ( value == null )
+            {
+                value = chainValues.apply( reference );
+                this.value = value;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Changes to the dictionary made by one applied transaction. Additions are written before removals,
+     * so that {@link #countReferences(long, int) counting} references concurrently with a transaction moving
+     * references between property records never sees too few references.
+     */
+    public class Updater implements AutoCloseable
+    {
+        private final List<Runnable> additions = new ArrayList<>();
+        private final List<Runnable> removals = new ArrayList<>();
+        private Writer<StringDictionaryKey,StringDictionaryValue> writer;
+
+        private Updater()
+        {
+        }
+
+        /**
+         * A shared string chain has been created.
+         *
+         * @param propertyKeyId id of the property key of the value.
+         * @param reference id of the first record of the chain.
+         * @param value the value of the chain.
+         */
+        public void chainCreated( int propertyKeyId, long reference, TextValue value )
+        {
+            additions.add( () ->
+            {
+                long hash = hash( value.stringValue() );
+                put( new StringDictionaryKey( CHAIN, reference, propertyKeyId ), hash );
+                // There may be another chain with the same value, created concurrently, or the same hash
+                merge( new StringDictionaryKey( VALUE, propertyKeyId, hash ), reference );
+                addChain( reference, new Chain( propertyKeyId, hash, value ) );
+            } );
+        }
+
+        /**
+         * @param reference id of the first record of a shared string chain.
+         * @param propertyRecordId id of a property record now referring to it.
+         */
+        public void referenceAdded( long reference, long propertyRecordId )
+        {
+            additions.add( () -> put( new StringDictionaryKey( REFERENCE, reference, propertyRecordId ), 0 ) );
+        }
+
+        /**
+         * @param reference id of the first record of a shared string chain.
+         * @param propertyRecordId id of a property record no longer referring to it.
+         */
+        public void referenceRemoved( long reference, long propertyRecordId )
+        {
+            removals.add( () -> remove( new StringDictionaryKey( REFERENCE, reference, propertyRecordId ) ) );
+        }
+
+        /**
+         * A shared string chain has been freed.
+         *
+         * @param reference id of the first record of the chain.
+         */
+        public void chainDeleted( long reference )
+        {
+            removals.add( () ->
+            {
+                for ( StringDictionaryKey key : keys( CHAIN, reference ) )
+                {
+                    StringDictionaryValue hash = remove( key );
+                    StringDictionaryKey valueKey = new StringDictionaryKey( VALUE, key.second, hash.value );
+                    StringDictionaryValue valueReference = get( valueKey );
+                    if ( valueReference != null && valueReference.value == reference )
+                    {
+                        remove( valueKey );
+                    }
+                }
+                // References removed while the dictionary wasn't open, e.g. by the batch inserter, are still there
+                for ( StringDictionaryKey key : keys( REFERENCE, reference ) )
+                {
+                    remove( key );
+                }
+                removeChain( reference );
+            } );
+        }
+
+        private List<StringDictionaryKey> keys( byte type, long first )
+        {
+            List<StringDictionaryKey> keys = new ArrayList<>();
+            try ( RawCursor<Hit<StringDictionaryKey,StringDictionaryValue>,IOException> seek = tree.seek(
+                    new StringDictionaryKey( type, first, Long.MIN_VALUE ),
+                    new StringDictionaryKey( type, first, Long.MAX_VALUE ) ) )
+            {
+                while ( seek.next() )
+                {
+                    StringDictionaryKey key = seek.get().key();
+                    keys.add( new StringDictionaryKey( key.type, key.first, key.second ) );
+                }
+            }
+            catch ( IOException e )
+            {
+                throw new UnderlyingStorageException( e );
+            }
+            return keys;
+        }
+
+        private void put( StringDictionaryKey key, long value )
+        {
+            try
+            {
+                writer().put( key, new StringDictionaryValue( value ) );
+            }
+            catch ( IOException e )
+            {
+                throw new UnderlyingStorageException( e );
+            }
+        }
+
+        private void merge( StringDictionaryKey key, long value )
+        {
+            try
+            {
+                writer().merge( key, new StringDictionaryValue( value ), ValueMergers.keepExisting() );
+            }
+            catch ( IOException e )
+            {
+                throw new UnderlyingStorageException( e );
+            }
+        }
+
+        private StringDictionaryValue remove( StringDictionaryKey key )
+        {
+            try
+            {
+                return writer().remove( key );
+            }
+            catch ( IOException e )
+            {
+                throw new UnderlyingStorageException( e );
+            }
+        }
+
+        private Writer<StringDictionaryKey,StringDictionaryValue> writer() throws IOException
+        {
+            if ( writer == null )
+            {
+                writerLock.lock();
+                try
+                {
+                    writer = tree.writer();
+                }
+                catch ( IOException | RuntimeException e )
+                {
+                    writerLock.unlock();
+                    throw e;
+                }
+            }
+            return writer;
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                additions.forEach( Runnable::run );
+                removals.forEach( Runnable::run );
+            }
+            finally
+            {
+                if ( writer != null )
+                {
+                    try
+                    {
+                        writer.close();
+                    }
+                    finally
+                    {
+                        writer = null;
+                        writerLock.unlock();
+                    }
+                }
+            }
+        }
+    }
+}
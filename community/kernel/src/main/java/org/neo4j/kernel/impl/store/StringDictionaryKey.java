@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+/**
+ * Keys in {@link StringDictionaryLayout}. Each key consists of a type followed by two longs:
+ * <ul>
+ * <li>{@link #CHAIN}: {@code reference}, {@code propertyKeyId}, i.e. a shared string chain of a property key</li>
+ * <li>{@link #VALUE}: {@code propertyKeyId}, {@code hash} of the string, leading to a shared string chain</li>
+ * <li>{@link #REFERENCE}: {@code reference}, {@code propertyRecordId}, i.e. a property record referring
+ * to a shared string chain</li>
+ * </ul>
+ */
+class StringDictionaryKey
+{
+    static final byte CHAIN = 1;
+    static final byte VALUE = 2;
+    static final byte REFERENCE = 3;
+
+    byte type;
+    long first;
+    long second;
+
+    StringDictionaryKey()
+    {
+    }
+
+    StringDictionaryKey( byte type, long first, long second )
+    {
+        set( type, first, second );
+    }
+
+    /**
+     * Sets this key.
+     *
+     * @return this key instance, for convenience.
+     */
+    StringDictionaryKey set( byte type, long first, long second )
+    {
+        this.type = type;
+        this.first = first;
+        this.second = second;
+        return this;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[type:" + type + ",first:" + first + ",second:" + second + "]";
+    }
+}
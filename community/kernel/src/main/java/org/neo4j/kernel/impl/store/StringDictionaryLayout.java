@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Layout;
+import org.neo4j.io.pagecache.PageCursor;
+
+/**
+ * {@link Layout} for {@link GBPTree} used by {@link StringDictionary}. Keys are {@link StringDictionaryKey}
+ * and values a single long, see {@link StringDictionaryValue}.
+ */
+class StringDictionaryLayout extends Layout.Adapter<StringDictionaryKey,StringDictionaryValue>
+{
+    /**
+     * Name part of the {@link #identifier()} value.
+     */
+    private static final String IDENTIFIER_NAME = "SDI";
+
+    private static final int KEY_SIZE = Byte.BYTES/*type*/ + Long.BYTES/*first*/ + Long.BYTES/*second*/;
+
+    private static final int VALUE_SIZE = Long.BYTES;
+
+    /**
+     * Compares {@link StringDictionaryKey}, giving ascending order of {@code type}, then {@code first}
+     * and {@code second}.
+     */
+    @Override
+    public int compare( StringDictionaryKey o1, StringDictionaryKey o2 )
+    {
+        int typeComparison = Byte.compare( o1.type, o2.type );
+        if ( typeComparison != 0 )
+        {
+            return typeComparison;
+        }
+        int firstComparison = Long.compare( o1.first, o2.first );
+        return firstComparison != 0 ? firstComparison : Long.compare( o1.second, o2.second );
+    }
+
+    @Override
+    public StringDictionaryKey newKey()
+    {
+        return new StringDictionaryKey();
+    }
+
+    @Override
+    public StringDictionaryKey copyKey( StringDictionaryKey key, StringDictionaryKey into )
+    {
+        return into.set( key.type, key.first, key.second );
+    }
+
+    @Override
+    public StringDictionaryValue newValue()
+    {
+        return new StringDictionaryValue();
+    }
+
+    @Override
+    public int keySize()
+    {
+        return KEY_SIZE;
+    }
+
+    @Override
+    public int valueSize()
+    {
+        return VALUE_SIZE;
+    }
+
+    @Override
+    public void writeKey( PageCursor cursor, StringDictionaryKey key )
+    {
+        cursor.putByte( key.type );
+        cursor.putLong( key.first );
+        cursor.putLong( key.second );
+    }
+
+    @Override
+    public void writeValue( PageCursor cursor, StringDictionaryValue value )
+    {
+        cursor.putLong( value.value );
+    }
+
+    @Override
+    public void readKey( PageCursor cursor, StringDictionaryKey into )
+    {
+        into.type = cursor.getByte();
+        into.first = cursor.getLong();
+        into.second = cursor.getLong();
+    }
+
+    @Override
+    public void readValue( PageCursor cursor, StringDictionaryValue into )
+    {
+        into.value = cursor.getLong();
+    }
+
+    @Override
+    public long identifier()
+    {
+        return Layout.namedIdentifier( IDENTIFIER_NAME, KEY_SIZE );
+    }
+
+    @Override
+    public int majorVersion()
+    {
+        return 0;
+    }
+
+    @Override
+    public int minorVersion()
+    {
+        return 1;
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.columns;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.StandardOpenOption;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections.PrimitiveLongBaseIterator;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+import org.neo4j.values.storable.ByteValue;
+import org.neo4j.values.storable.DoubleValue;
+import org.neo4j.values.storable.FloatValue;
+import org.neo4j.values.storable.IntValue;
+import org.neo4j.values.storable.LongValue;
+import org.neo4j.values.storable.ShortValue;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+
+/**
+ * Values of one property key for the nodes having one label, as a dense array indexed by node id in a paged file.
+ * A node has an entry if it has both the label and the property. Only numbers are kept in the column, other values
+ * of the property key are only marked as such and have to be read from the property chain of the node.
+ * <p>
+ * The first page is a header page containing a magic number and the state of the column. Every following
+ * page contains {@link #ENTRY_SIZE} byte entries, a type byte followed by the value as 8 bytes.
+ */
+public class PropertyColumn implements Closeable
+{
+    private static final long MAGIC = 0x50726F70436F6CL; // "PropCol"
+    private static final byte STATE_BUILDING = 0;
+    private static final byte STATE_ONLINE = 1;
+    static final int ENTRY_SIZE = Byte.BYTES + Long.BYTES;
+
+    private static final byte ABSENT = 0;
+    private static final byte BYTE = 1;
+    private static final byte SHORT = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte OTHER = 7;
+
+    private final File file;
+    private final PagedFile pagedFile;
+    private final int labelId;
+    private final int propertyKeyId;
+    private final int entriesPerPage;
+
+    private PropertyColumn( File file, PagedFile pagedFile, int labelId, int propertyKeyId )
+    {
+        this.file = file;
+        this.pagedFile = pagedFile;
+        this.labelId = labelId;
+        this.propertyKeyId = propertyKeyId;
+        this.entriesPerPage = pagedFile.pageSize() / ENTRY_SIZE;
+    }
+
+    /**
+     * Opens the column in the given file, creating the file if it doesn't exist.
+     *
+     * @param pageCache {@link PageCache} to map the file in.
+     * @param file file of the column.
+     * @param labelId label id of the nodes in the column.
+     * @param propertyKeyId property key id of the values in the column.
+     * @return the opened column.
+     * @throws IOException on I/O error.
+     */
+    public static PropertyColumn open( PageCache pageCache, File file, int labelId, int propertyKeyId )
+            throws IOException
+    {
+        return new PropertyColumn( file, pageCache.map( file, pageCache.pageSize(), StandardOpenOption.CREATE ),
+                labelId, propertyKeyId );
+    }
+
+    public File file()
+    {
+        return file;
+    }
+
+    public int labelId()
+    {
+        return labelId;
+    }
+
+    public int propertyKeyId()
+    {
+        return propertyKeyId;
+    }
+
+    /**
+     * @return whether or not this column has been fully built, i.e. contains the values of all nodes.
+     * A column which isn't online must be rebuilt before being used.
+     */
+    public boolean isOnline() throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK ) )
+        {
+            if ( !cursor.next() )
+            {
+                return false;
+            }
+            long magic;
+            byte state;
+            do
+            {
+                magic = cursor.getLong();
+                state = cursor.getByte();
+            }
+            while ( cursor.shouldRetry() );
+            return magic == MAGIC && state == STATE_ONLINE;
+        }
+    }
+
+    void markAsBuilding() throws IOException
+    {
+        writeHeader( STATE_BUILDING );
+    }
+
+    void markAsOnline() throws IOException
+    {
+        writeHeader( STATE_ONLINE );
+    }
+
+    private void writeHeader( byte state ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK ) )
+        {
+            if ( cursor.next() )
+            {
+                cursor.putLong( MAGIC );
+                cursor.putByte( state );
+            }
+        }
+        pagedFile.flushAndForce();
+    }
+
+    /**
+     * @param nodeId id of the node to get the value for.
+     * @return the value of the node, or {@code null} if the node has no value for the property key
+     * or if the value isn't a number and therefore only is available from the property chain of the node.
+     */
+    public Value get( long nodeId )
+    {
+        long pageId = pageIdForNode( nodeId );
+        int offset = offsetForNode( nodeId );
+        try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK ) )
+        {
+            if ( !cursor.next() )
+            {
+                return null;
+            }
+            byte type;
+            long bits;
+            do
+            {
+                cursor.setOffset( offset );
+                type = cursor.getByte();
+                bits = cursor.getLong();
+            }
+            while ( cursor.shouldRetry() );
+            return decode( type, bits );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    /**
+     * Sets the value of the given node. Values other than numbers are marked as not being kept in this column.
+     */
+    public void set( long nodeId, Value value )
+    {
+        byte type;
+        long bits;
+        if ( value instanceof LongValue )
+        {
+            type = LONG;
+            bits = ((LongValue) value).value();
+        }
+        else if ( value instanceof IntValue )
+        {
+            type = INT;
+            bits = ((IntValue) value).value();
+        }
+        else if ( value instanceof ShortValue )
+        {
+            type = SHORT;
+            bits = ((ShortValue) value).value();
+        }
+        else if ( value instanceof ByteValue )
+        {
+            type = BYTE;
+            bits = ((ByteValue) value).value();
+        }
+        else if ( value instanceof DoubleValue )
+        {
+            type = DOUBLE;
+            bits = Double.doubleToRawLongBits( ((DoubleValue) value).value() );
+        }
+        else if ( value instanceof FloatValue )
+        {
+            type = FLOAT;
+            bits = Float.floatToRawIntBits( ((FloatValue) value).value() );
+        }
+        else
+        {
+            type = OTHER;
+            bits = 0;
+        }
+        write( nodeId, type, bits );
+    }
+
+    /**
+     * Removes the value of the given node, i.e. the node no longer has the label or the property.
+     */
+    public void remove( long nodeId )
+    {
+        write( nodeId, ABSENT, 0 );
+    }
+
+    /**
+     * Scans the column from start to end, one page at a time.
+     *
+     * @return ids of all nodes having an entry in this column, i.e. having both the label and the property,
+     * in ascending order.
+     */
+    public PrimitiveLongIterator nodes()
+    {
+        try
+        {
+            return new NodeIterator( pagedFile.getLastPageId() );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    private void write( long nodeId, byte type, long bits )
+    {
+        long pageId = pageIdForNode( nodeId );
+        int offset = offsetForNode( nodeId );
+        try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_WRITE_LOCK ) )
+        {
+            if ( cursor.next() )
+            {
+                cursor.setOffset( offset );
+                cursor.putByte( type );
+                cursor.putLong( bits );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+    }
+
+    private static Value decode( byte type, long bits )
+    {
+        switch ( type )
+        {
+        case LONG:
+            return Values.longValue( bits );
+        case INT:
+            return Values.intValue( (int) bits );
+        case SHORT:
+            return Values.shortValue( (short) bits );
+        case BYTE:
+            return Values.byteValue( (byte) bits );
+        case DOUBLE:
+            return Values.doubleValue( Double.longBitsToDouble( bits ) );
+        case FLOAT:
+            return Values.floatValue( Float.intBitsToFloat( (int) bits ) );
+        default:
+            // ABSENT or OTHER
+            return null;
+        }
+    }
+
+    private long pageIdForNode( long nodeId )
+    {
+        // The first page is the header page
+        return 1 + nodeId / entriesPerPage;
+    }
+
+    private int offsetForNode( long nodeId )
+    {
+        return (int) (nodeId % entriesPerPage) * ENTRY_SIZE;
+    }
+
+    private class NodeIterator extends PrimitiveLongBaseIterator
+    {
+        private final long lastPageId;
+        private final long[] nodeIds = new long[entriesPerPage];
+        private long nextPageId = 1;
+        private int count;
+        private int index;
+
+        NodeIterator( long lastPageId )
+        {
+            this.lastPageId = lastPageId;
+        }
+
+        @Override
+        protected boolean fetchNext()
+        {
+            while ( index == count )
+            {
+                if ( nextPageId > lastPageId )
+                {
+                    return false;
+                }
+                readPage( nextPageId++ );
+            }
+            return next( nodeIds[index++] );
+        }
+
+        private void readPage( long pageId )
+        {
+            index = 0;
+            count = 0;
+            long firstNodeId = (pageId - 1) * entriesPerPage;
+            try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK ) )
+            {
+                if ( cursor.next() )
+                {
+                    do
+                    {
+                        count = 0;
+                        for ( int i = 0; i < entriesPerPage; i++ )
+                        {
+                            if ( cursor.getByte( i * ENTRY_SIZE ) != ABSENT )
+                            {
+                                nodeIds[count++] = firstNodeId + i;
+                            }
+                        }
+                    }
+                    while ( cursor.shouldRetry() );
+                }
+            }
+            catch ( IOException e )
+            {
+                throw new UnderlyingStorageException( e );
+            }
+        }
+    }
+
+    public void flush( IOLimiter limiter ) throws IOException
+    {
+        pagedFile.flushAndForce( limiter );
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        pagedFile.close();
+    }
+}
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.columns;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.kernel.impl.store.NeoStores;
+import org.neo4j.kernel.impl.store.NodeLabelsField;
+import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.RecordCursor;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.storageengine.api.NodeItem;
+import org.neo4j.storageengine.api.Token;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
+import static org.neo4j.collection.primitive.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.kernel.impl.store.MetaDataStore.DEFAULT_NAME;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.CHECK;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.FORCE;
+
+/**
+ * {@link PropertyColumn Property columns} of the label and property key pairs configured to be kept in columns.
+ * Columns are opened when the store starts, or when the label or property key of a configured pair is created,
+ * and are kept up to date by the transaction appliers, see {@link #get(int, int)}. Columns which aren't online when
+ * the store starts, e.g. after a pair has been added to the configuration, are rebuilt from the node and
+ * property stores.
+ * <p>
+ * Reading a number from a column is a single page access, whereas reading it from the property chain of
+ * a node may fault in several pages and decode several property records. Scanning a column finds the nodes
+ * having both the label and the property without looking at any node or property record.
+ */
+public class PropertyColumns
+{
+    private static final PropertyColumn[] NO_COLUMNS = new PropertyColumn[0];
+    private static final String FILE_NAME_PREFIX = DEFAULT_NAME + ".propertycolumn.";
+
+    private final PageCache pageCache;
+    private final File storeDir;
+    private final Map<String,Set<String>> propertyKeysByLabel = new HashMap<>();
+    private final NeoStores neoStores;
+    private final Log log;
+    // Copy-on-write, so that readers don't need to synchronize. There are only ever a handful of columns.
+    private volatile PropertyColumn[] columns = NO_COLUMNS;
+
+    /**
+     * @param columns the configured columns, each on the form {@code <label>:<property key>}.
+     */
+    public PropertyColumns( PageCache pageCache, File storeDir, Collection<String> columns, NeoStores neoStores,
+            LogProvider logProvider )
+    {
+        this.pageCache = pageCache;
+        this.storeDir = storeDir;
+        this.neoStores = neoStores;
+        this.log = logProvider.getLog( getClass() );
+        for ( String column : columns )
+        {
+            int separator = column.indexOf( ':' );
+            if ( separator <= 0 || separator == column.length() - 1 )
+            {
+                throw new IllegalArgumentException(
+                        format( "Property column '%s' is not on the form <label>:<property key>", column ) );
+            }
+            propertyKeysByLabel.computeIfAbsent( column.substring( 0, separator ), label -> new HashSet<>() )
+                    .add( column.substring( separator + 1 ) );
+        }
+    }
+
+    public static File getPropertyColumnFile( File storeDir, int labelId, int propertyKeyId )
+    {
+        return new File( storeDir, FILE_NAME_PREFIX + labelId + "." + propertyKeyId + ".db" );
+    }
+
+    /**
+     * Opens the columns of the configured pairs whose label and property key exist, and rebuilds those which
+     * aren't online. Expected to be called after the tokens have been loaded.
+     */
+    public void start() throws IOException
+    {
+        if ( propertyKeysByLabel.isEmpty() )
+        {
+            return;
+        }
+
+        Map<String,Integer> propertyKeyIds = new HashMap<>();
+        for ( Token token : propertyKeyTokens() )
+        {
+            propertyKeyIds.put( token.name(), token.id() );
+        }
+        List<PropertyColumn> columnsToRebuild = new ArrayList<>();
+        for ( Token label : labelTokens() )
+        {
+            for ( String propertyKey : propertyKeysByLabel.getOrDefault( label.name(), emptySet() ) )
+            {
+                Integer propertyKeyId = propertyKeyIds.get( propertyKey );
+                if ( propertyKeyId != null )
+                {
+                    PropertyColumn column = open( label.id(), propertyKeyId );
+                    if ( !column.isOnline() )
+                    {
+                        columnsToRebuild.add( column );
+                    }
+                }
+            }
+        }
+        if ( !columnsToRebuild.isEmpty() )
+        {
+            List<File> files = new ArrayList<>();
+            columnsToRebuild.forEach( column -> files.add( column.file() ) );
+            log.info( "Rebuilding property columns " + files );
+            rebuild( columnsToRebuild );
+            log.info( "Property columns rebuilt" );
+        }
+    }
+
+    /**
+     * Called when a label token has been created, opening the columns of configured pairs having that label
+     * and an existing property key.
+     */
+    public void labelCreated( int labelId ) throws IOException
+    {
+        if ( propertyKeysByLabel.isEmpty() )
+        {
+            return;
+        }
+        Set<String> propertyKeys = propertyKeysByLabel.get( neoStores.getLabelTokenStore().getToken( labelId ).name() );
+        if ( propertyKeys != null )
+        {
+            for ( Token propertyKey : propertyKeyTokens() )
+            {
+                if ( propertyKeys.contains( propertyKey.name() ) )
+                {
+                    openNew( labelId, propertyKey.id() );
+                }
+            }
+        }
+    }
+
+    /**
+     * Called when a property key token has been created, opening the columns of configured pairs having that
+     * property key and an existing label.
+     */
+    public void propertyKeyCreated( int propertyKeyId ) throws IOException
+    {
+        if ( propertyKeysByLabel.isEmpty() )
+        {
+            return;
+        }
+        String propertyKey = neoStores.getPropertyKeyTokenStore().getToken( propertyKeyId ).name();
+        for ( Token label : labelTokens() )
+        {
+            if ( propertyKeysByLabel.getOrDefault( label.name(), emptySet() ).contains( propertyKey ) )
+            {
+                openNew( label.id(), propertyKeyId );
+            }
+        }
+    }
+
+    /**
+     * @param labelId label id to get the column for.
+     * @param propertyKeyId property key id to get the column for.
+     * @return the column of the given label and property key, or {@code null} if they aren't kept in a column.
+     */
+    public PropertyColumn get( int labelId, int propertyKeyId )
+    {
+        for ( PropertyColumn column : columns )
+        {
+            if ( column.labelId() == labelId && column.propertyKeyId() == propertyKeyId )
+            {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether or not there are columns for the given property key, for any label.
+     */
+    public boolean hasColumnsFor( int propertyKeyId )
+    {
+        for ( PropertyColumn column : columns )
+        {
+            if ( column.propertyKeyId() == propertyKeyId )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param node node to get the value for, its labels decide which columns to look in.
+     * @param propertyKeyId property key id to get the value for.
+     * @return the value, or {@code null} if the value isn't available from a column and instead has to be read
+     * from the property chain of the node.
+     */
+    public Value nodeGetProperty( NodeItem node, int propertyKeyId )
+    {
+        for ( PropertyColumn column : columns )
+        {
+            if ( column.propertyKeyId() == propertyKeyId && node.hasLabel( column.labelId() ) )
+            {
+                // All columns of the labels of the node have the same entry for it
+                return column.get( node.id() );
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param labelId label id of the column to scan.
+     * @param propertyKeyId property key id of the column to scan.
+     * @return ids of the nodes having both the label and the property, in ascending order,
+     * or {@code null} if they aren't kept in a column.
+     */
+    public PrimitiveLongIterator nodes( int labelId, int propertyKeyId )
+    {
+        PropertyColumn column = get( labelId, propertyKeyId );
+        return column != null ? column.nodes() : null;
+    }
+
+    /**
+     * @return the labels of the given node, as currently in the node store, or no labels if the node isn't in use.
+     */
+    public long[] nodeLabels( long nodeId )
+    {
+        NodeStore nodeStore = neoStores.getNodeStore();
+        NodeRecord node = nodeStore.getRecord( nodeId, nodeStore.newRecord(), FORCE );
+        return node.inUse() ? NodeLabelsField.get( node, nodeStore ) : EMPTY_LONG_ARRAY;
+    }
+
+    /**
+     * Sets the value of the given property of a node in the columns of the labels of the node.
+     */
+    public void nodePropertySet( long nodeId, long[] labelIds, int propertyKeyId, Value value )
+    {
+        for ( PropertyColumn column : columns )
+        {
+            if ( column.propertyKeyId() == propertyKeyId && contains( labelIds, column.labelId() ) )
+            {
+                column.set( nodeId, value );
+            }
+        }
+    }
+
+    /**
+     * Removes the value of the given property of a node from the columns of the labels of the node.
+     */
+    public void nodePropertyRemoved( long nodeId, long[] labelIds, int propertyKeyId )
+    {
+        for ( PropertyColumn column : columns )
+        {
+            if ( column.propertyKeyId() == propertyKeyId && contains( labelIds, column.labelId() ) )
+            {
+                column.remove( nodeId );
+            }
+        }
+    }
+
+    /**
+     * Updates the entries of the given node in all columns from its current labels and the property chain
+     * in the property store. Needed when the labels of a node change, since that adds the node to, or removes it
+     * from, the columns of those labels.
+     *
+     * @param nodeId id of the node to update.
+     * @param labelIds the current labels of the node, or no labels if the node has been deleted.
+     */
+    public void nodeLabelsChanged( long nodeId, long[] labelIds )
+    {
+        PropertyColumn[] columns = this.columns;
+        boolean[] labeled = new boolean[columns.length];
+        boolean anyLabeled = false;
+        for ( int i = 0; i < columns.length; i++ )
+        {
+            labeled[i] = contains( labelIds, columns[i].labelId() );
+            anyLabeled |= labeled[i];
+            columns[i].remove( nodeId );
+        }
+        if ( !anyLabeled )
+        {
+            return;
+        }
+
+        NodeStore nodeStore = neoStores.getNodeStore();
+        PropertyStore propertyStore = neoStores.getPropertyStore();
+        NodeRecord node = nodeStore.getRecord( nodeId, nodeStore.newRecord(), FORCE );
+        PropertyRecord propertyRecord = propertyStore.newRecord();
+        long nextProp = node.inUse() ? node.getNextProp() : Record.NO_NEXT_PROPERTY.intValue();
+        while ( !Record.NO_NEXT_PROPERTY.is( nextProp ) )
+        {
+            propertyStore.getRecord( nextProp, propertyRecord, FORCE );
+            if ( !propertyRecord.inUse() )
+            {
+                break;
+            }
+            setColumnarValues( nodeId, propertyRecord, columns, labeled, propertyStore );
+            nextProp = propertyRecord.getNextProp();
+        }
+    }
+
+    public Collection<File> files()
+    {
+        List<File> files = new ArrayList<>();
+        for ( PropertyColumn column : columns )
+        {
+            files.add( column.file() );
+        }
+        return files;
+    }
+
+    public void flush( IOLimiter limiter ) throws IOException
+    {
+        for ( PropertyColumn column : columns )
+        {
+            column.flush( limiter );
+        }
+    }
+
+    public synchronized void close() throws IOException
+    {
+        PropertyColumn[] columns = this.columns;
+        this.columns = NO_COLUMNS;
+        IOUtils.closeAll( columns );
+    }
+
+    /**
+     * @return the value of the given block as it's kept in a column. Only numbers are kept in columns and so values
+     * which would have to be read from the dynamic stores are never loaded.
+     */
+    public static Value columnValue( PropertyBlock block, PropertyStore propertyStore )
+    {
+        switch ( block.getType() )
+        {
+        case BYTE:
+        case SHORT:
+        case INT:
+        case LONG:
+        case FLOAT:
+        case DOUBLE:
+            return block.getType().value( block, propertyStore );
+        default:
+            return Values.NO_VALUE;
+        }
+    }
+
+    private List<Token> labelTokens()
+    {
+        return neoStores.getLabelTokenStore().getTokens( Integer.MAX_VALUE );
+    }
+
+    private List<Token> propertyKeyTokens()
+    {
+        return neoStores.getPropertyKeyTokenStore().getTokens( Integer.MAX_VALUE );
+    }
+
+    private static boolean contains( long[] labelIds, int labelId )
+    {
+        for ( long candidate : labelIds )
+        {
+            if ( candidate == labelId )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void setColumnarValues( long nodeId, PropertyRecord propertyRecord, PropertyColumn[] columns,
+            boolean[] labeled, PropertyStore propertyStore )
+    {
+        for ( PropertyBlock block : propertyRecord )
+        {
+            for ( int i = 0; i < columns.length; i++ )
+            {
+                if ( labeled[i] && columns[i].propertyKeyId() == block.getKeyIndexId() )
+                {
+                    columns[i].set( nodeId, columnValue( block, propertyStore ) );
+                }
+            }
+        }
+    }
+
+    // A newly created label or property key has no nodes or values yet, so its columns are online right away
+    private synchronized void openNew( int labelId, int propertyKeyId ) throws IOException
+    {
+        if ( get( labelId, propertyKeyId ) == null )
+        {
+            open( labelId, propertyKeyId ).markAsOnline();
+        }
+    }
+
+    private synchronized PropertyColumn open( int labelId, int propertyKeyId ) throws IOException
+    {
+        PropertyColumn column = PropertyColumn.open( pageCache,
+                getPropertyColumnFile( storeDir, labelId, propertyKeyId ), labelId, propertyKeyId );
+        PropertyColumn[] newColumns = Arrays.copyOf( columns, columns.length + 1 );
+        newColumns[columns.length] = column;
+        columns = newColumns;
+        return column;
+    }
+
+    private void rebuild( List<PropertyColumn> columnList ) throws IOException
+    {
+        PropertyColumn[] columns = columnList.toArray( new PropertyColumn[columnList.size()] );
+        for ( PropertyColumn column : columns )
+        {
+            column.markAsBuilding();
+        }
+
+        NodeStore nodeStore = neoStores.getNodeStore();
+        PropertyStore propertyStore = neoStores.getPropertyStore();
+        long highId = nodeStore.getHighId();
+        boolean[] labeled = new boolean[columns.length];
+        try ( RecordCursor<NodeRecord> nodeCursor =
+                      nodeStore.newRecordCursor( nodeStore.newRecord() ).acquire( 0, CHECK );
+              RecordCursor<PropertyRecord> propertyCursor =
+                      propertyStore.newRecordCursor( propertyStore.newRecord() ).acquire( 0, CHECK ) )
+        {
+            for ( long nodeId = 0; nodeId < highId; nodeId++ )
+            {
+                // Entries of deleted or relabeled nodes may be left from before the column was last taken offline
+                for ( PropertyColumn column : columns )
+                {
+                    column.remove( nodeId );
+                }
+                if ( !nodeCursor.next( nodeId ) )
+                {
+                    continue;
+                }
+
+                long[] labelIds = NodeLabelsField.get( nodeCursor.get(), nodeStore );
+                boolean anyLabeled = false;
+                for ( int i = 0; i < columns.length; i++ )
+                {
+                    labeled[i] = contains( labelIds, columns[i].labelId() );
+                    anyLabeled |= labeled[i];
+                }
+                if ( !anyLabeled )
+                {
+                    continue;
+                }
+
+                long nextProp = nodeCursor.get().getNextProp();
+                while ( !Record.NO_NEXT_PROPERTY.is( nextProp ) && propertyCursor.next( nextProp ) )
+                {
+                    PropertyRecord propertyRecord = propertyCursor.get();
+                    setColumnarValues( nodeId, propertyRecord, columns, labeled, propertyStore );
+                    nextProp = propertyRecord.getNextProp();
+                }
+            }
+        }
+
+        for ( PropertyColumn column : columns )
+        {
+            column.flush( IOLimiter.unlimited() );
+            column.markAsOnline();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import org.neo4j.kernel.impl.api.CountsAccessor;
+import org.neo4j.kernel.impl.store.kvstore.DataInitializer;
+import org.neo4j.kernel.lifecycle.Lifecycle;
+
+/**
+ * The counts store, as seen by the rest of the kernel. Implemented by {@link CountsTracker}, the default, and by
+ * {@link GBPTreeCountsStore}, selected by {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#counts_store_gbptree}.
+ */
+public interface CountsStore extends CountsAccessor, Lifecycle
+{
+    @Override
+    void init() throws IOException;
+
+    @Override
+    void start() throws IOException;
+
+    @Override
+    void shutdown() throws IOException;
+
+    /**
+     * @param initializer used to build the counts if the store files don't exist when starting.
+     * @return this store, for convenience.
+     */
+    CountsStore setInitializer( DataInitializer<Updater> initializer );
+
+    /**
+     * @param txId the transaction whose counts changes to apply.
+     * @return an {@link Updater} for the changes of the given transaction, or {@link Optional#empty()} if this
+     * transaction is already included in the store.
+     */
+    Optional<Updater> apply( long txId );
+
+    IndexStatsUpdater updateIndexCounts();
+
+    /**
+     * @param txId the transaction id the store is at after the returned {@link Updater} has been closed.
+     * @return an {@link Updater} for all counts, replacing everything currently in the store.
+     */
+    Updater reset( long txId );
+
+    /**
+     * @return the highest transaction id included in the store files.
+     */
+    long txId();
+
+    /**
+     * @param txId the lowest transaction id that must be included in the snapshot created by the rotation.
+     * @return the highest transaction id that was included in the snapshot created by the rotation.
+     */
+    long rotate( long txId ) throws IOException;
+
+    /**
+     * @return the files this store consists of.
+     */
+    Iterable<File> allFiles();
+}
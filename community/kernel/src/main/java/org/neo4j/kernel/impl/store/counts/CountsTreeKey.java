@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+import org.neo4j.kernel.impl.store.counts.keys.CountsKeyType;
+
+/**
+ * Keys in {@link CountsTreeLayout}. Each key consists of a {@link CountsKeyType#code type} followed by two
+ * longs, into which the ids of the different kinds of counts keys are packed:
+ * <ul>
+ * <li>node counts: {@code labelId}, {@code 0}</li>
+ * <li>relationship counts: {@code typeId} in the high and {@code startLabelId} in the low 32 bits,
+ * {@code endLabelId}</li>
+ * <li>index statistics and samples: {@code indexId}, {@code 0}</li>
+ * </ul>
+ */
+class CountsTreeKey
+{
+    byte type;
+    long first;
+    long second;
+
+    CountsTreeKey()
+    {
+        clear();
+    }
+
+    CountsTreeKey( byte type, long first, long second )
+    {
+        set( type, first, second );
+    }
+
+    static CountsTreeKey nodeKey( int labelId )
+    {
+        return new CountsTreeKey( CountsKeyType.ENTITY_NODE.code, labelId, 0 );
+    }
+
+    static CountsTreeKey relationshipKey( int startLabelId, int typeId, int endLabelId )
+    {
+        return new CountsTreeKey( CountsKeyType.ENTITY_RELATIONSHIP.code,
+                ((long) typeId << Integer.SIZE) | (startLabelId & 0xFFFFFFFFL), endLabelId );
+    }
+
+    static CountsTreeKey indexStatisticsKey( long indexId )
+    {
+        return new CountsTreeKey( CountsKeyType.INDEX_STATISTICS.code, indexId, 0 );
+    }
+
+    static CountsTreeKey indexSampleKey( long indexId )
+    {
+        return new CountsTreeKey( CountsKeyType.INDEX_SAMPLE.code, indexId, 0 );
+    }
+
+    /**
+     * Sets this key.
+     *
+     * @return this key instance, for convenience.
+     */
+    CountsTreeKey set( byte type, long first, long second )
+    {
+        this.type = type;
+        this.first = first;
+        this.second = second;
+        return this;
+    }
+
+    void clear()
+    {
+        set( CountsKeyType.EMPTY.code, 0, 0 );
+    }
+
+    int startLabelId()
+    {
+        return (int) first;
+    }
+
+    int typeId()
+    {
+        return (int) (first >>> Integer.SIZE);
+    }
+
+    int endLabelId()
+    {
+        return (int) second;
+    }
+
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( this == o )
+        {
+            return true;
+        }
+        if ( o == null || getClass() != o.getClass() )
+        {
+            return false;
+        }
+        CountsTreeKey that = (CountsTreeKey) o;
+        return type == that.type && first == that.first && second == that.second;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int result = type;
+        result = 31 * result + Long.hashCode( first );
+        result = 31 * result + Long.hashCode( second );
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[type:" + type + ",first:" + first + ",second:" + second + "]";
+    }
+}
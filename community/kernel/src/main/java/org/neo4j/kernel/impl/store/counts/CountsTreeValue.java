@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+/**
+ * Values in {@link CountsTreeLayout}, the two longs of a counts register. Node and relationship counts
+ * only use {@link #second}, index statistics are stored as {@code updates, size} and index samples
+ * as {@code unique, size}.
+ */
+class CountsTreeValue
+{
+    long first;
+    long second;
+
+    CountsTreeValue()
+    {
+    }
+
+    CountsTreeValue( long first, long second )
+    {
+        set( first, second );
+    }
+
+    /**
+     * Sets this value.
+     *
+     * @return this value instance, for convenience.
+     */
+    CountsTreeValue set( long first, long second )
+    {
+        this.first = first;
+        this.second = second;
+        return this;
+    }
+
+    void add( long firstDelta, long secondDelta )
+    {
+        this.first += firstDelta;
+        this.second += secondDelta;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "[" + first + "," + second + "]";
+    }
+}
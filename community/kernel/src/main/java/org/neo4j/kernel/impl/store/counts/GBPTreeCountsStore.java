@@ -0,0 +1,755 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.collection.primitive.PrimitiveLongSet;
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.GBPTree;
+import org.neo4j.index.internal.gbptree.Header;
+import org.neo4j.index.internal.gbptree.Hit;
+import org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector;
+import org.neo4j.index.internal.gbptree.ValueMerger;
+import org.neo4j.index.internal.gbptree.Writer;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.kernel.impl.api.CountsVisitor;
+import org.neo4j.kernel.impl.store.UnderlyingStorageException;
+import org.neo4j.kernel.impl.store.counts.keys.CountsKeyType;
+import org.neo4j.kernel.impl.store.kvstore.DataInitializer;
+import org.neo4j.kernel.impl.util.ArrayQueueOutOfOrderSequence;
+import org.neo4j.kernel.impl.util.OutOfOrderSequence;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.register.Register;
+
+/**
+ * Counts store kept in a {@link GBPTree}, as opposed to {@link CountsTracker} which rewrites a complete sorted
+ * counts file on every rotation.
+ * <p>
+ * Changes from applied transactions are aggregated as deltas in a set of striped in-memory maps. On
+ * {@link #checkpoint(long, IOLimiter)} only the keys changed since the previous checkpoint are merged
+ * into the tree, after which the tree checkpoints, flushing only its dirty pages. The amount of work per checkpoint
+ * is therefore proportional to the number of changed counts keys and not to the total number of counts keys.
+ * <p>
+ * The header of the tree records the highest gap-free transaction id included in the last checkpoint, as well as
+ * any transaction ids above it which were also included. Transactions covered by that information are ignored when
+ * applied again, i.e. during recovery, see {@link #apply(long)}.
+ */
+public class GBPTreeCountsStore extends LifecycleAdapter implements CountsStore
+{
+    public static final String FILE_NAME = "neostore.counts.db";
+
+    private static final int STRIPES = 16;
+    private static final long[] NO_META = new long[0];
+    private static final long NOT_INITIALIZED = -1;
+    private static final CountsTreeKey LOWEST = new CountsTreeKey( Byte.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE );
+    private static final CountsTreeKey HIGHEST = new CountsTreeKey( Byte.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE );
+
+    private final PageCache pageCache;
+    private final File file;
+    private final RecoveryCleanupWorkCollector recoveryCleanupWorkCollector;
+    private final long awaitTimeoutMillis;
+    private final boolean readOnly;
+    private final CountsTreeLayout layout = new CountsTreeLayout();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    /**
+     * Held shared when applying changes and reading counts, held exclusively when moving changes into the tree.
+     */
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    /**
+     * Transactions applied above the highest gap-free transaction id, guarded by {@code this}.
+     */
+    private final PrimitiveLongSet appliedAboveGapFree = Primitive.longSet();
+    private final Object checkpointMutex = new Object();
+
+    private GBPTree<CountsTreeKey,CountsTreeValue> tree;
+    private OutOfOrderSequence appliedTransactions;
+    private DataInitializer<Updater> initializer;
+    private volatile long checkpointedTxId;
+    private volatile PrimitiveLongSet checkpointedStrays = Primitive.longSet();
+
+    public GBPTreeCountsStore( PageCache pageCache, File file, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            long awaitTimeoutMillis )
+    {
+        this( pageCache, file, recoveryCleanupWorkCollector, awaitTimeoutMillis, false );
+    }
+
+    /**
+     * @param readOnly whether or not {@link #rotate(long) rotations} should be ignored.
+     */
+    public GBPTreeCountsStore( PageCache pageCache, File file, RecoveryCleanupWorkCollector recoveryCleanupWorkCollector,
+            long awaitTimeoutMillis, boolean readOnly )
+    {
+        this.pageCache = pageCache;
+        this.file = file;
+        this.recoveryCleanupWorkCollector = recoveryCleanupWorkCollector;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+        this.readOnly = readOnly;
+        for ( int i = 0; i < stripes.length; i++ )
+        {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @param initializer used to build the counts if the store file doesn't exist when {@link #start() starting}.
+     * @return this store, for convenience.
+     */
+    @Override
+    public GBPTreeCountsStore setInitializer( DataInitializer<Updater> initializer )
+    {
+        this.initializer = initializer;
+        return this;
+    }
+
+    @Override
+    public void init()
+    {   // The tree is opened when starting, after which recovery may apply transactions
+    }
+
+    @Override
+    public void start() throws IOException
+    {
+        boolean[] existed = new boolean[1];
+        Header.Reader headerReader = headerData ->
+        {
+            readHeader( headerData );
+            existed[0] = checkpointedTxId != NOT_INITIALIZED;
+        };
+        // Marks the tree as not yet initialized until the first checkpoint, should initializing it be interrupted
+        Consumer<PageCursor> initialHeader = cursor -> writeHeader( cursor, NOT_INITIALIZED, NO_META );
+        tree = new GBPTree<>( pageCache, file, layout, 0, GBPTree.NO_MONITOR, headerReader, initialHeader,
+                recoveryCleanupWorkCollector );
+
+        if ( !existed[0] )
+        {
+            checkpointedTxId = 0;
+            checkpointedStrays = Primitive.longSet();
+        }
+        if ( !existed[0] && initializer != null )
+        {
+            checkpointedTxId = initializer.initialVersion();
+            appliedTransactions = new ArrayQueueOutOfOrderSequence( checkpointedTxId, 200, NO_META );
+            try ( Updater updater = new TransactionUpdater( -1 ) )
+            {
+                initializer.initialize( updater );
+            }
+            checkpoint( checkpointedTxId, IOLimiter.unlimited() );
+        }
+        else
+        {
+            appliedTransactions = new ArrayQueueOutOfOrderSequence( checkpointedTxId, 200, NO_META );
+            PrimitiveLongIterator strays = checkpointedStrays.iterator();
+            while ( strays.hasNext() )
+            {
+                transactionApplied( strays.next() );
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() throws IOException
+    {
+        if ( tree != null )
+        {
+            tree.close();
+            tree = null;
+        }
+    }
+
+    @Override
+    public Optional<Updater> apply( long txId )
+    {
+        if ( txId <= checkpointedTxId || checkpointedStrays.contains( txId ) )
+        {
+            return Optional.empty();
+        }
+        return Optional.of( new TransactionUpdater( txId ) );
+    }
+
+    @Override
+    public IndexStatsUpdater updateIndexCounts()
+    {
+        return new IndexStatisticsUpdater();
+    }
+
+    @Override
+    public Updater reset( long txId )
+    {
+        return new ResettingUpdater( txId );
+    }
+
+    /**
+     * @return the highest gap-free transaction id included in the last checkpoint.
+     */
+    @Override
+    public long txId()
+    {
+        return checkpointedTxId;
+    }
+
+    /**
+     * Same as {@link #checkpoint(long, IOLimiter)}, flushing the tree without limit, unless read-only.
+     */
+    @Override
+    public long rotate( long txId ) throws IOException
+    {
+        return readOnly ? checkpointedTxId : checkpoint( txId, IOLimiter.unlimited() );
+    }
+
+    @Override
+    public Iterable<File> allFiles()
+    {
+        return Collections.singletonList( file );
+    }
+
+    /**
+     * Waits for all transactions up to and including {@code txId} to be applied and then merges all changes
+     * applied since the last checkpoint into the tree and checkpoints it.
+     *
+     * @param txId the lowest transaction id that must be included in this checkpoint.
+     * @param limiter {@link IOLimiter} for flushing the dirty pages of the tree.
+     * @return the highest gap-free transaction id included in this checkpoint.
+     */
+    public long checkpoint( long txId, IOLimiter limiter ) throws IOException
+    {
+        synchronized ( checkpointMutex )
+        {
+            return doCheckpoint( txId, limiter );
+        }
+    }
+
+    private long doCheckpoint( long txId, IOLimiter limiter ) throws IOException
+    {
+        try
+        {
+            appliedTransactions.await( txId, awaitTimeoutMillis );
+        }
+        catch ( TimeoutException | InterruptedException e )
+        {
+            throw new IOException( "Counts store checkpoint timed out waiting for transaction " + txId +
+                    " to be applied", e );
+        }
+
+        long gapFreeTxId;
+        long[] strays;
+        checkpointLock.writeLock().lock();
+        try
+        {
+            synchronized ( this )
+            {
+                gapFreeTxId = appliedTransactions.getHighestGapFreeNumber();
+                strays = straysAbove( gapFreeTxId );
+            }
+            try ( Writer<CountsTreeKey,CountsTreeValue> writer = tree.writer() )
+            {
+                for ( Stripe stripe : stripes )
+                {
+                    stripe.writeTo( writer );
+                }
+            }
+        }
+        finally
+        {
+            checkpointLock.writeLock().unlock();
+        }
+
+        // Only the pages dirtied by the changes merged above need to be flushed here
+        tree.checkpoint( limiter, cursor -> writeHeader( cursor, gapFreeTxId, strays ) );
+        PrimitiveLongSet newCheckpointedStrays = Primitive.longSet();
+        for ( long stray : strays )
+        {
+            newCheckpointedStrays.add( stray );
+        }
+        checkpointedStrays = newCheckpointedStrays;
+        checkpointedTxId = gapFreeTxId;
+        return gapFreeTxId;
+    }
+
+    private long[] straysAbove( long gapFreeTxId )
+    {
+        PrimitiveLongSet strays = Primitive.longSet();
+        PrimitiveLongIterator iterator = appliedAboveGapFree.iterator();
+        while ( iterator.hasNext() )
+        {
+            long txId = iterator.next();
+            if ( txId > gapFreeTxId )
+            {
+                strays.add( txId );
+            }
+        }
+        appliedAboveGapFree.clear();
+        long[] result = new long[strays.size()];
+        int i = 0;
+        for ( PrimitiveLongIterator iter = strays.iterator(); iter.hasNext(); )
+        {
+            long txId = iter.next();
+            appliedAboveGapFree.add( txId );
+            result[i++] = txId;
+        }
+        return result;
+    }
+
+    private synchronized void transactionApplied( long txId )
+    {
+        appliedTransactions.offer( txId, NO_META );
+        if ( txId > appliedTransactions.getHighestGapFreeNumber() )
+        {
+            appliedAboveGapFree.add( txId );
+        }
+    }
+
+    private static void writeHeader( PageCursor cursor, long gapFreeTxId, long[] strays )
+    {
+        cursor.putLong( gapFreeTxId );
+        cursor.putInt( strays.length );
+        for ( long stray : strays )
+        {
+            cursor.putLong( stray );
+        }
+    }
+
+    private void readHeader( ByteBuffer headerData )
+    {
+        checkpointedTxId = headerData.getLong();
+        int numberOfStrays = headerData.getInt();
+        PrimitiveLongSet strays = Primitive.longSet();
+        for ( int i = 0; i < numberOfStrays; i++ )
+        {
+            strays.add( headerData.getLong() );
+        }
+        checkpointedStrays = strays;
+    }
+
+    @Override
+    public Register.DoubleLongRegister nodeCount( int labelId, Register.DoubleLongRegister target )
+    {
+        return get( CountsTreeKey.nodeKey( labelId ), target );
+    }
+
+    @Override
+    public Register.DoubleLongRegister relationshipCount( int startLabelId, int typeId, int endLabelId,
+            Register.DoubleLongRegister target )
+    {
+        return get( CountsTreeKey.relationshipKey( startLabelId, typeId, endLabelId ), target );
+    }
+
+    @Override
+    public Register.DoubleLongRegister indexUpdatesAndSize( long indexId, Register.DoubleLongRegister target )
+    {
+        return get( CountsTreeKey.indexStatisticsKey( indexId ), target );
+    }
+
+    @Override
+    public Register.DoubleLongRegister indexSample( long indexId, Register.DoubleLongRegister target )
+    {
+        return get( CountsTreeKey.indexSampleKey( indexId ), target );
+    }
+
+    private Register.DoubleLongRegister get( CountsTreeKey key, Register.DoubleLongRegister target )
+    {
+        checkpointLock.readLock().lock();
+        try
+        {
+            Change change = stripe( key ).get( key );
+            if ( change != null && change.replace )
+            {
+                target.write( change.first, change.second );
+                return target;
+            }
+
+            long first = 0;
+            long second = 0;
+            try ( RawCursor<Hit<CountsTreeKey,CountsTreeValue>,IOException> seek = tree.seek( key, key ) )
+            {
+                if ( seek.next() )
+                {
+                    CountsTreeValue value = seek.get().value();
+                    first = value.first;
+                    second = value.second;
+                }
+            }
+            if ( change != null )
+            {
+                first += change.first;
+                second += change.second;
+            }
+            target.write( first, second );
+            return target;
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+        finally
+        {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void accept( CountsVisitor visitor )
+    {
+        checkpointLock.readLock().lock();
+        try
+        {
+            Map<CountsTreeKey,Change> changes = new HashMap<>();
+            for ( Stripe stripe : stripes )
+            {
+                stripe.copyTo( changes );
+            }
+
+            try ( RawCursor<Hit<CountsTreeKey,CountsTreeValue>,IOException> seek = tree.seek( LOWEST, HIGHEST ) )
+            {
+                while ( seek.next() )
+                {
+                    CountsTreeKey key = seek.get().key();
+                    CountsTreeValue value = seek.get().value();
+                    Change change = changes.remove( key );
+                    if ( change == null )
+                    {
+                        visit( visitor, key, value.first, value.second );
+                    }
+                    else if ( change.replace )
+                    {
+                        visit( visitor, key, change.first, change.second );
+                    }
+                    else
+                    {
+                        visit( visitor, key, value.first + change.first, value.second + change.second );
+                    }
+                }
+            }
+            changes.forEach( ( key, change ) -> visit( visitor, key, change.first, change.second ) );
+        }
+        catch ( IOException e )
+        {
+            throw new UnderlyingStorageException( e );
+        }
+        finally
+        {
+            checkpointLock.readLock().unlock();
+        }
+    }
+
+    private static void visit( CountsVisitor visitor, CountsTreeKey key, long first, long second )
+    {
+        switch ( CountsKeyType.value( key.type ) )
+        {
+        case ENTITY_NODE:
+            visitor.visitNodeCount( (int) key.first, second );
+            break;
+        case ENTITY_RELATIONSHIP:
+            visitor.visitRelationshipCount( key.startLabelId(), key.typeId(), key.endLabelId(), second );
+            break;
+        case INDEX_STATISTICS:
+            visitor.visitIndexStatistics( key.first, first, second );
+            break;
+        case INDEX_SAMPLE:
+            visitor.visitIndexSample( key.first, first, second );
+            break;
+        default:
+            throw new IllegalStateException( "Unexpected counts key " + key );
+        }
+    }
+
+    private Stripe stripe( CountsTreeKey key )
+    {
+        return stripes[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    private void increment( CountsTreeKey key, long firstDelta, long secondDelta )
+    {
+        stripe( key ).increment( key, firstDelta, secondDelta );
+    }
+
+    private void replace( CountsTreeKey key, long first, long second )
+    {
+        stripe( key ).replace( key, first, second );
+    }
+
+    /**
+     * Change to a counts key since the last checkpoint. Either a delta to add to the value in the tree,
+     * or, if {@link #replace} is set, the value which should replace the value in the tree.
+     */
+    private static class Change extends CountsTreeValue
+    {
+        boolean replace;
+
+        Change( boolean replace, long first, long second )
+        {
+            super( first, second );
+            this.replace = replace;
+        }
+    }
+
+    /**
+     * One of the maps aggregating changes in between checkpoints, keys are spread over the stripes by hash
+     * to keep contention among concurrently applying transactions low.
+     */
+    private static class Stripe
+    {
+        private static final ValueMerger<CountsTreeKey,CountsTreeValue> ADD = ( existingKey, newKey, existingValue,
+                newValue ) -> existingValue.set( existingValue.first + newValue.first,
+                existingValue.second + newValue.second );
+
+        private Map<CountsTreeKey,Change> changes = new HashMap<>();
+
+        synchronized Change get( CountsTreeKey key )
+        {
+            Change change = changes.get( key );
+            return change == null ? null : new Change( change.replace, change.first, change.second );
+        }
+
+        synchronized void increment( CountsTreeKey key, long firstDelta, long secondDelta )
+        {
+            Change change = changes.get( key );
+            if ( change == null )
+            {
+                changes.put( key, new Change( false, firstDelta, secondDelta ) );
+            }
+            else
+            {
+                change.add( firstDelta, secondDelta );
+            }
+        }
+
+        synchronized void replace( CountsTreeKey key, long first, long second )
+        {
+            changes.put( key, new Change( true, first, second ) );
+        }
+
+        synchronized void clear()
+        {
+            changes = new HashMap<>();
+        }
+
+        synchronized void copyTo( Map<CountsTreeKey,Change> target )
+        {
+            changes.forEach( ( key, change ) -> target.put( key, new Change( change.replace, change.first,
+                    change.second ) ) );
+        }
+
+        synchronized void writeTo( Writer<CountsTreeKey,CountsTreeValue> writer ) throws IOException
+        {
+            for ( Map.Entry<CountsTreeKey,Change> entry : changes.entrySet() )
+            {
+                Change change = entry.getValue();
+                CountsTreeValue value = new CountsTreeValue( change.first, change.second );
+                if ( change.replace )
+                {
+                    writer.put( entry.getKey(), value );
+                }
+                else
+                {
+                    writer.merge( entry.getKey(), value, ADD );
+                }
+            }
+            changes = new HashMap<>();
+        }
+    }
+
+    /**
+     * Collects the changes of one transaction and publishes them all at once on {@link #close()}, so that
+     * a checkpoint includes either all or none of the changes of a transaction.
+     */
+    private class TransactionUpdater implements Updater
+    {
+        private final long txId;
+        private final Map<CountsTreeKey,CountsTreeValue> deltas = new HashMap<>();
+
+        TransactionUpdater( long txId )
+        {
+            this.txId = txId;
+        }
+
+        @Override
+        public void incrementNodeCount( int labelId, long delta )
+        {
+            deltas.computeIfAbsent( CountsTreeKey.nodeKey( labelId ), key -> new CountsTreeValue() ).add( 0, delta );
+        }
+
+        @Override
+        public void incrementRelationshipCount( int startLabelId, int typeId, int endLabelId, long delta )
+        {
+            deltas.computeIfAbsent( CountsTreeKey.relationshipKey( startLabelId, typeId, endLabelId ),
+                    key -> new CountsTreeValue() ).add( 0, delta );
+        }
+
+        @Override
+        public void close()
+        {
+            checkpointLock.readLock().lock();
+            try
+            {
+                deltas.forEach( ( key, delta ) -> increment( key, delta.first, delta.second ) );
+                if ( txId != -1 )
+                {
+                    transactionApplied( txId );
+                }
+            }
+            finally
+            {
+                checkpointLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Collects all counts and on {@link #close()} replaces everything in the store with them, followed by
+     * a checkpoint.
+     */
+    private class ResettingUpdater implements Updater
+    {
+        private final long txId;
+        private final Map<CountsTreeKey,CountsTreeValue> counts = new HashMap<>();
+
+        ResettingUpdater( long txId )
+        {
+            this.txId = txId;
+        }
+
+        @Override
+        public void incrementNodeCount( int labelId, long delta )
+        {
+            counts.computeIfAbsent( CountsTreeKey.nodeKey( labelId ), key -> new CountsTreeValue() ).add( 0, delta );
+        }
+
+        @Override
+        public void incrementRelationshipCount( int startLabelId, int typeId, int endLabelId, long delta )
+        {
+            counts.computeIfAbsent( CountsTreeKey.relationshipKey( startLabelId, typeId, endLabelId ),
+                    key -> new CountsTreeValue() ).add( 0, delta );
+        }
+
+        @Override
+        public void close()
+        {
+            synchronized ( checkpointMutex )
+            {
+                try
+                {
+                    replaceAll();
+                    doCheckpoint( txId, IOLimiter.unlimited() );
+                }
+                catch ( IOException e )
+                {
+                    throw new UnderlyingStorageException( e );
+                }
+            }
+        }
+
+        private void replaceAll() throws IOException
+        {
+            checkpointLock.writeLock().lock();
+            try
+            {
+                for ( Stripe stripe : stripes )
+                {
+                    stripe.clear();
+                }
+                List<CountsTreeKey> existing = new ArrayList<>();
+                try ( RawCursor<Hit<CountsTreeKey,CountsTreeValue>,IOException> seek = tree.seek( LOWEST, HIGHEST ) )
+                {
+                    while ( seek.next() )
+                    {
+                        CountsTreeKey key = seek.get().key();
+                        existing.add( new CountsTreeKey( key.type, key.first, key.second ) );
+                    }
+                }
+                try ( Writer<CountsTreeKey,CountsTreeValue> writer = tree.writer() )
+                {
+                    for ( CountsTreeKey key : existing )
+                    {
+                        writer.remove( key );
+                    }
+                    for ( Map.Entry<CountsTreeKey,CountsTreeValue> entry : counts.entrySet() )
+                    {
+                        writer.put( entry.getKey(), entry.getValue() );
+                    }
+                }
+                synchronized ( GBPTreeCountsStore.this )
+                {
+                    appliedAboveGapFree.clear();
+                    appliedTransactions = new ArrayQueueOutOfOrderSequence( txId, 200, NO_META );
+                }
+            }
+            finally
+            {
+                checkpointLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private class IndexStatisticsUpdater implements IndexStatsUpdater
+    {
+        @Override
+        public void replaceIndexUpdateAndSize( long indexId, long updates, long size )
+        {
+            update( () -> replace( CountsTreeKey.indexStatisticsKey( indexId ), updates, size ) );
+        }
+
+        @Override
+        public void replaceIndexSample( long indexId, long unique, long size )
+        {
+            update( () -> replace( CountsTreeKey.indexSampleKey( indexId ), unique, size ) );
+        }
+
+        @Override
+        public void incrementIndexUpdates( long indexId, long delta )
+        {
+            update( () -> increment( CountsTreeKey.indexStatisticsKey( indexId ), delta, 0 ) );
+        }
+
+        private void update( Runnable update )
+        {
+            checkpointLock.readLock().lock();
+            try
+            {
+                update.run();
+            }
+            finally
+            {
+                checkpointLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -47,6 +47,11 @@ public enum Capability
      */
     VERSION_TRAILERS( CapabilityType.STORE ),
 
+    /**
+     * Store can have string property values shared through a string dictionary
+     */
+    DICTIONARY_STRINGS( CapabilityType.STORE ),
+
     /**
      * Lucene version 3.x
      */
@@ -28,6 +28,8 @@ public enum StoreVersion
     STANDARD_V3_0( "v0.A.7", "3.0.0" ),
     STANDARD_V3_2( "v0.A.8", "3.2.0" ),
 
+    STANDARD_DICTIONARY_STRINGS_V3_3( "vS.D.0", "3.3.0" ),
+
     HIGH_LIMIT_V3_0_0( "vE.H.0", "3.0.0" ),
     HIGH_LIMIT_V3_0_6( "vE.H.0b", "3.0.6" ),
     HIGH_LIMIT_V3_1_0( "vE.H.2", "3.1.0" ),
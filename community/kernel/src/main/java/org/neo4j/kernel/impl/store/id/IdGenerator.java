@@ -29,6 +29,25 @@ public interface IdGenerator extends IdSequence, Closeable
      * @param id the highest in use + 1
      */
     void setHighId( long id );
+
+    /**
+     * Sets the high id to the given id, unless the high id is already at least as high. Unlike a check of
+     * {@link #getHighId()} followed by {@link #setHighId(long)}, this never lowers the high id below ids that are
+     * concurrently handed out.
+     *
+     * @param id the highest in use + 1
+     */
+    default void raiseHighId( long id )
+    {
+        synchronized ( this )
+        {
+            if ( id > getHighId() )
+            {
+                setHighId( id );
+            }
+        }
+    }
+
     long getHighId();
     long getHighestPossibleIdInUse();
     void freeId( long id );
@@ -74,6 +93,12 @@ public interface IdGenerator extends IdSequence, Closeable
             delegate.setHighId( id );
         }
 
+        @Override
+        public void raiseHighId( long id )
+        {
+            delegate.raiseHighId( id );
+        }
+
         @Override
         public long getHighId()
         {
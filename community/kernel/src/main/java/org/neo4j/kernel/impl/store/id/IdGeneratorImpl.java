@@ -21,12 +21,16 @@ package org.neo4j.kernel.impl.store.id;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.impl.store.UnderlyingStorageException;
 import org.neo4j.kernel.impl.store.id.validation.IdValidator;
 
+import static org.neo4j.collection.primitive.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+
 /**
  * This class generates unique ids for a resource type. For example, nodes in a
  * nodes space are connected to each other via relationships. On nodes and
@@ -56,6 +60,11 @@ import org.neo4j.kernel.impl.store.id.validation.IdValidator;
  * same file. There can only be one id generator instance per id generator file.
  * <p>
  * In case of disk/file I/O failure an <CODE>IOException</CODE> is thrown.
+ * <p>
+ * Defragged ids are handed out while holding the monitor of this generator, but once there are no more
+ * defragged ids to reuse, new ids are allocated by atomically incrementing the high id, without synchronization.
+ * Concurrently committing transactions allocating ids in batches, see {@link RenewableBatchIdSequences},
+ * will therefore not contend on this generator as long as there are no ids to reuse.
  */
 public class IdGeneratorImpl implements IdGenerator
 {
@@ -67,7 +76,14 @@ public class IdGeneratorImpl implements IdGenerator
 
     private final long max;
     private final IdContainer idContainer;
-    private long highId;
+    private final boolean aggressiveReuse;
+    private final AtomicLong highId = new AtomicLong();
+    /**
+     * Whether or not {@link #idContainer} may have defragged ids to hand out. Only set while holding the
+     * monitor of this generator, but read without it to decide whether new ids can be allocated from
+     * {@link #highId} directly.
+     */
+    private volatile boolean mayHaveReusableIds = true;
 
     /**
      * Opens the id generator represented by <CODE>fileName</CODE>. The
@@ -99,6 +115,7 @@ public class IdGeneratorImpl implements IdGenerator
             Supplier<Long> highId )
     {
         this.max = max;
+        this.aggressiveReuse = aggressiveReuse;
         this.idContainer = new IdContainer( fs, file, grabSize, aggressiveReuse );
         /*
          * The highId supplier will be called only if the id container tells us that the information found in the
@@ -107,11 +124,11 @@ public class IdGeneratorImpl implements IdGenerator
          */
         if ( this.idContainer.init() )
         {
-            this.highId = idContainer.getInitialHighId();
+            this.highId.set( idContainer.getInitialHighId() );
         }
         else
         {
-            this.highId = highId.get();
+            this.highId.set( highId.get() );
         }
     }
 
@@ -127,50 +144,78 @@ public class IdGeneratorImpl implements IdGenerator
      * @throws IllegalStateException if this id generator has been closed
      */
     @Override
-    public synchronized long nextId()
+    public long nextId()
     {
         assertStillOpen();
-        long nextDefragId = idContainer.getReusableId();
-        if ( nextDefragId != IdContainer.NO_RESULT )
+        if ( mayHaveReusableIds )
         {
-            return nextDefragId;
+            synchronized ( this )
+            {
+                long nextDefragId = idContainer.getReusableId();
+                if ( nextDefragId != IdContainer.NO_RESULT )
+                {
+                    return nextDefragId;
+                }
+                mayHaveReusableIds = false;
+            }
         }
 
-        if ( IdValidator.isReservedId( highId ) )
+        while ( true )
         {
-            highId++;
+            long currentHighId = highId.get();
+            long id = IdValidator.isReservedId( currentHighId ) ? currentHighId + 1 : currentHighId;
+            IdValidator.assertValidId( id, max );
+            if ( highId.compareAndSet( currentHighId, id + 1 ) )
+            {
+                return id;
+            }
         }
-        IdValidator.assertValidId( highId, max );
-        return highId++;
     }
 
     @Override
-    public synchronized IdRange nextIdBatch( int size )
+    public IdRange nextIdBatch( int size )
     {
         assertStillOpen();
 
+        long[] defragIds = EMPTY_LONG_ARRAY;
+        if ( mayHaveReusableIds )
+        {
+            synchronized ( this )
+            {
+                defragIds = nextDefragIds( size );
+            }
+        }
+
+        int sizeLeftForRange = size - defragIds.length;
+        while ( true )
+        {
+            long start = highId.get();
+            IdValidator.assertIdWithinCapacity( start + sizeLeftForRange, max );
+            if ( highId.compareAndSet( start, start + sizeLeftForRange ) )
+            {
+                return new IdRange( defragIds, start, sizeLeftForRange );
+            }
+        }
+    }
+
+    private long[] nextDefragIds( int size )
+    {
         // Get from defrag list
         int count = 0;
         long[] defragIds = new long[size];
         while ( count < size )
         {
             long id = idContainer.getReusableId();
-            if ( id == -1 )
+            if ( id == IdContainer.NO_RESULT )
             {
+                mayHaveReusableIds = false;
                 break;
             }
             defragIds[count++] = id;
         }
 
         // Shrink the array to actual size
-        long[] tmpArray = defragIds;
-        defragIds = new long[count];
-        System.arraycopy( tmpArray, 0, defragIds, 0, count );
-
-        int sizeLeftForRange = size - count;
-        long start = highId;
-        setHighId( start + sizeLeftForRange );
-        return new IdRange( defragIds, start, sizeLeftForRange );
+        return count == size ? defragIds : Arrays.copyOf( defragIds, count );
     }
 
     /**
@@ -183,7 +228,20 @@ public class IdGeneratorImpl implements IdGenerator
     public synchronized void setHighId( long id )
     {
         IdValidator.assertIdWithinCapacity( id, max );
-        highId = id;
+        highId.set( id );
+    }
+
+    /**
+     * Raises the next free "high" id to {@code id}, if it is not already higher. This is atomic with respect to
+     * concurrent allocations of new ids, which are made without holding the monitor of this generator.
+     *
+     * @param id The next free id returned from {@link #nextId()} if there are no existing free ids.
+     */
+    @Override
+    public void raiseHighId( long id )
+    {
+        IdValidator.assertIdWithinCapacity( id, max );
+        highId.accumulateAndGet( id, Math::max );
     }
 
     /**
@@ -193,15 +251,15 @@ public class IdGeneratorImpl implements IdGenerator
      * @return The next free "high" id
      */
     @Override
-    public synchronized long getHighId()
+    public long getHighId()
     {
-        return highId;
+        return highId.get();
     }
 
     @Override
-    public synchronized long getHighestPossibleIdInUse()
+    public long getHighestPossibleIdInUse()
     {
-        return highId - 1;
+        return highId.get() - 1;
     }
 
     /**
@@ -227,11 +285,17 @@ public class IdGeneratorImpl implements IdGenerator
             return;
         }
 
-        if ( id < 0 || id >= highId )
+        long currentHighId = highId.get();
+        if ( id < 0 || id >= currentHighId )
         {
-            throw new IllegalArgumentException( "Illegal id[" + id + "], highId is " + highId );
+            throw new IllegalArgumentException( "Illegal id[" + id + "], highId is " + currentHighId );
         }
         idContainer.freeId( id );
+        if ( aggressiveReuse )
+        {
+            // Freed ids are reusable right away
+            mayHaveReusableIds = true;
+        }
     }
 
     /**
@@ -246,7 +310,7 @@ public class IdGeneratorImpl implements IdGenerator
     @Override
     public synchronized void close()
     {
-        idContainer.close( highId );
+        idContainer.close( highId.get() );
     }
 
     /**
@@ -297,7 +361,7 @@ public class IdGeneratorImpl implements IdGenerator
     @Override
     public synchronized long getNumberOfIdsInUse()
     {
-        return highId - getDefragCount();
+        return highId.get() - getDefragCount();
     }
 
     @Override
@@ -23,5 +23,19 @@ public interface IdSequence
 {
     long nextId();
 
+    /**
+     * Hands out the next id, preferably one for a record in the same page as the record with the given id,
+     * so that records which are accessed together can be kept close together in the store.
+     * This is only a hint and sequences which can't place ids return {@link #nextId()}.
+     *
+     * @param nearId id of a record the record for the returned id will be accessed together with,
+     * or a negative value if there's no such record.
+     * @return the next id.
+     */
+    default long nextId( long nearId )
+    {
+        return nextId();
+    }
+
     IdRange nextIdBatch( int size );
 }
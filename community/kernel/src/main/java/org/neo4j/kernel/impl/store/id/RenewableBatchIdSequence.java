@@ -19,28 +19,42 @@
  */
 package org.neo4j.kernel.impl.store.id;
 
+import java.util.Arrays;
 import java.util.function.LongConsumer;
 
 import org.neo4j.graphdb.Resource;
 
+import static org.neo4j.collection.primitive.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
 import static org.neo4j.kernel.impl.store.id.IdRangeIterator.VALUE_REPRESENTING_NULL;
 
 /**
  * An {@link IdSequence} which does internal batching by using another {@link IdSequence} as source of batches.
  * Meant to be used by a single thread at a time.
+ * <p>
+ * Given the number of ids per page of the store the ids are for, {@link #nextId(long)} prefers handing out
+ * an id from the current batch which is in the same page as the given id, typically a reused id.
  */
 class RenewableBatchIdSequence implements IdSequence, Resource
 {
     private final IdSequence source;
     private final int batchSize;
+    private final int idsPerPage;
     private final LongConsumer excessIdConsumer;
-    private IdSequence currentBatch;
+    private long[] currentBatch = EMPTY_LONG_ARRAY;
+    private int position;
+    private int size;
     private boolean closed;
 
     RenewableBatchIdSequence( IdSequence source, int batchSize, LongConsumer excessIdConsumer )
+    {
+        this( source, batchSize, 0, excessIdConsumer );
+    }
+
+    RenewableBatchIdSequence( IdSequence source, int batchSize, int idsPerPage, LongConsumer excessIdConsumer )
     {
         this.source = source;
         this.batchSize = batchSize;
+        this.idsPerPage = idsPerPage;
         this.excessIdConsumer = excessIdConsumer;
     }
 
@@ -51,14 +65,14 @@ class RenewableBatchIdSequence implements IdSequence, Resource
     @Override
     public synchronized void close()
     {
-        if ( !closed && currentBatch != null )
+        if ( !closed )
         {
             long id;
-            while ( (id = currentBatch.nextId()) != VALUE_REPRESENTING_NULL )
+            while ( (id = nextIdInCurrentBatch()) != VALUE_REPRESENTING_NULL )
             {
                 excessIdConsumer.accept( id );
             }
-            currentBatch = null;
+            currentBatch = EMPTY_LONG_ARRAY;
         }
         closed = true;
     }
@@ -69,16 +83,67 @@ class RenewableBatchIdSequence implements IdSequence, Resource
         assert !closed;
 
         long id;
-        while ( currentBatch == null || (id = currentBatch.nextId()) == VALUE_REPRESENTING_NULL )
+        while ( (id = nextIdInCurrentBatch()) == VALUE_REPRESENTING_NULL )
         {
-            currentBatch = source.nextIdBatch( batchSize ).iterator();
+            renewBatch();
         }
         return id;
     }
 
+    @Override
+    public long nextId( long nearId )
+    {
+        assert !closed;
+
+        if ( idsPerPage > 0 && nearId >= 0 )
+        {
+            long page = nearId / idsPerPage;
+            for ( int i = position; i < size; i++ )
+            {
+                long id = currentBatch[i];
+                if ( id != VALUE_REPRESENTING_NULL && id / idsPerPage == page )
+                {
+                    // Leave a hole which nextId() will skip
+                    currentBatch[i] = VALUE_REPRESENTING_NULL;
+                    return id;
+                }
+            }
+        }
+        return nextId();
+    }
+
     @Override
     public IdRange nextIdBatch( int size )
     {
         throw new UnsupportedOperationException( "Haven't been needed so far" );
     }
+
+    private long nextIdInCurrentBatch()
+    {
+        while ( position < size )
+        {
+            long id = currentBatch[position++];
+            if ( id != VALUE_REPRESENTING_NULL )
+            {
+                return id;
+            }
+        }
+        return VALUE_REPRESENTING_NULL;
+    }
+
+    private void renewBatch()
+    {
+        IdRangeIterator batch = source.nextIdBatch( batchSize ).iterator();
+        size = 0;
+        position = 0;
+        long id;
+        while ( (id = batch.nextId()) != VALUE_REPRESENTING_NULL )
+        {
+            if ( size == currentBatch.length )
+            {
+                currentBatch = Arrays.copyOf( currentBatch, Math.max( batchSize, size * 2 ) );
+            }
+            currentBatch[size++] = id;
+        }
+    }
 }
@@ -44,7 +44,8 @@ public class RenewableBatchIdSequences implements Resource
                 else
                 {
                     // This is a normal record store where id batching is beneficial
-                    types[type.ordinal()] = new RenewableBatchIdSequence( store, batchSize, store::freeId );
+                    types[type.ordinal()] =
+                            new RenewableBatchIdSequence( store, batchSize, store.getRecordsPerPage(), store::freeId );
                 }
             }
         }
@@ -55,6 +56,11 @@ public class RenewableBatchIdSequences implements Resource
         return idGenerator( type ).nextId();
     }
 
+    public long nextId( StoreType type, long nearId )
+    {
+        return idGenerator( type ).nextId( nearId );
+    }
+
     public IdSequence idGenerator( StoreType type )
     {
         return types[type.ordinal()];
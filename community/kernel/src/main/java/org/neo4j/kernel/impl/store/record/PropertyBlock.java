@@ -176,6 +176,7 @@ public class PropertyBlock implements Cloneable
             {
             case STRING:
             case ARRAY:
+            case DICTIONARY_STRING:
                 result.append( ",firstDynamic=" ).append( getSingleValueLong() );
                 break;
             default:
@@ -51,6 +51,7 @@ import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier
 import org.neo4j.kernel.api.AssertOpen;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.store.StorePropertyCursor;
+import org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.kernel.impl.store.MetaDataStore;
@@ -69,6 +70,7 @@ import org.neo4j.kernel.impl.store.format.RecordFormats;
 import org.neo4j.kernel.impl.store.format.standard.MetaDataRecordFormat;
 import org.neo4j.kernel.impl.store.format.standard.NodeRecordFormat;
 import org.neo4j.kernel.impl.store.format.standard.RelationshipRecordFormat;
+import org.neo4j.kernel.impl.store.format.standard.StandardDictionaryStrings;
 import org.neo4j.kernel.impl.store.format.standard.StandardV2_3;
 import org.neo4j.kernel.impl.store.id.IdGeneratorFactory;
 import org.neo4j.kernel.impl.store.id.ReadOnlyIdGeneratorFactory;
@@ -188,7 +190,7 @@ public class StoreMigrator extends AbstractStoreMigrationParticipant
         }
         RecordFormats oldFormat = selectForVersion( versionToMigrateFrom );
         RecordFormats newFormat = selectForVersion( versionToMigrateTo );
-        if ( FormatFamily.isHigherFamilyFormat( newFormat, oldFormat ) ||
+        if ( (FormatFamily.isHigherFamilyFormat( newFormat, oldFormat ) && !isAddingDictionaryStrings( oldFormat, newFormat )) ||
              (FormatFamily.isSameFamily( oldFormat, newFormat ) && isDifferentCapabilities( oldFormat, newFormat )) )
         {
             // TODO if this store has relationship indexes then warn user about that they will be incorrect
@@ -209,6 +211,13 @@ public class StoreMigrator extends AbstractStoreMigrationParticipant
         return !oldFormat.hasSameCapabilities( newFormat, CapabilityType.FORMAT );
     }
 
+    private boolean isAddingDictionaryStrings( RecordFormats oldFormat, RecordFormats newFormat )
+    {
+        // Records of the dictionary strings format are laid out as in its base format, only the version changes
+        return oldFormat.storeVersion().equals( StandardDictionaryStrings.BASE_FORMAT.storeVersion() ) &&
+               newFormat.storeVersion().equals( StandardDictionaryStrings.STORE_VERSION );
+    }
+
     void writeLastTxInformation( File migrationDir, TransactionId txInfo ) throws IOException
     {
         writeTxLogCounters( fileSystem, lastTxInformationFile( migrationDir ),
@@ -652,6 +661,25 @@ public class StoreMigrator extends AbstractStoreMigrationParticipant
         {
             //This means that we had no files only present in the page cache, this is fine.
         }
+        deleteRelationshipTypeScanStore( storeDir );
+    }
+
+    /**
+     * Relationship ids are not preserved when migrating with the batch importer, so remove the relationship type
+     * scan store and have it rebuilt from the migrated relationship store on next startup.
+     */
+    private void deleteRelationshipTypeScanStore( File storeDir ) throws IOException
+    {
+        try
+        {
+            pageCache.getCachedFileSystem()
+                    .streamFilesRecursive( NativeRelationshipTypeScanStore.getRelationshipTypeScanStoreFile( storeDir ) )
+                    .forEach( FileHandle.HANDLE_DELETE );
+        }
+        catch ( NoSuchFileException e )
+        {
+            // No relationship type scan store to delete, this is fine.
+        }
     }
 
     private void updateOrAddNeoStoreFieldsAsPartOfMigration( File migrationDir, File storeDir,
@@ -85,6 +85,7 @@ public class HighIdTransactionApplier extends TransactionApplier.Adapter
             switch ( block.getType() )
             {
             case STRING:
+            case DICTIONARY_STRING:
                 track( propertyStore.getStringStore(), block.getValueRecords() );
                 break;
             case ARRAY:
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveLongSet;
+import org.neo4j.kernel.impl.api.BatchTransactionApplier;
+import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.api.index.NodePropertyCommandsExtractor;
+import org.neo4j.kernel.impl.store.NodeLabels;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.columns.PropertyColumns;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.transaction.command.Command.NodeCommand;
+import org.neo4j.kernel.impl.transaction.command.Command.PropertyCommand;
+import org.neo4j.storageengine.api.CommandsToApply;
+
+import static org.neo4j.collection.primitive.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.kernel.impl.store.NodeLabelsField.parseLabelsField;
+import static org.neo4j.kernel.impl.store.columns.PropertyColumns.columnValue;
+
+/**
+ * Keeps {@link PropertyColumns} up to date with the node label and property changes of applied transactions.
+ * Commands are gathered per node for each transaction, since a property may move from one property record
+ * to another within a transaction, and are applied to the columns when the transaction closes, at which point
+ * the node and property stores have the state after the transaction.
+ * <p>
+ * A node whose labels changed gets all its entries updated from the stores, since it may have been added to
+ * or removed from columns of any of the labels. For other nodes only the changed properties are applied, to the
+ * columns of the labels the node has.
+ */
+public class PropertyColumnBatchTransactionApplier extends BatchTransactionApplier.Adapter
+{
+    private final PropertyColumns columns;
+    private final PropertyStore propertyStore;
+    private final SingleTransactionApplier transactionApplier = new SingleTransactionApplier();
+
+    public PropertyColumnBatchTransactionApplier( PropertyColumns columns, PropertyStore propertyStore )
+    {
+        this.columns = columns;
+        this.propertyStore = propertyStore;
+    }
+
+    @Override
+    public TransactionApplier startTx( CommandsToApply transaction )
+    {
+        return transactionApplier;
+    }
+
+    private class SingleTransactionApplier extends TransactionApplier.Adapter
+    {
+        private final NodePropertyCommandsExtractor extractor = new NodePropertyCommandsExtractor();
+        private final PrimitiveLongSet relabeledNodes = Primitive.longSet();
+        private final Map<Integer,PropertyBlock> before = new HashMap<>();
+        private final Map<Integer,PropertyBlock> after = new HashMap<>();
+
+        @Override
+        public boolean visitNodeCommand( NodeCommand command ) throws IOException
+        {
+            return extractor.visitNodeCommand( command );
+        }
+
+        @Override
+        public boolean visitPropertyCommand( PropertyCommand command ) throws IOException
+        {
+            return extractor.visitPropertyCommand( command );
+        }
+
+        @Override
+        public boolean visitLabelTokenCommand( Command.LabelTokenCommand command ) throws IOException
+        {
+            columns.labelCreated( command.getAfter().getIntId() );
+            return false;
+        }
+
+        @Override
+        public boolean visitPropertyKeyTokenCommand( Command.PropertyKeyTokenCommand command ) throws IOException
+        {
+            columns.propertyKeyCreated( command.getAfter().getIntId() );
+            return false;
+        }
+
+        @Override
+        public void close() throws Exception
+        {
+            if ( extractor.containsAnyNodeOrPropertyUpdate() )
+            {
+                extractor.nodeCommandsById().visitEntries( this::applyLabelChanges );
+                extractor.propertyCommandsByNodeIds().visitEntries( this::applyPropertyChanges );
+                extractor.close();
+                relabeledNodes.clear();
+            }
+        }
+
+        private boolean applyLabelChanges( long nodeId, NodeCommand command )
+        {
+            if ( NodePropertyCommandsExtractor.mayResultInIndexUpdates( command ) )
+            {
+                long[] labelsBefore = labels( command.getBefore() );
+                long[] labelsAfter = labels( command.getAfter() );
+                if ( labelsBefore == null || labelsAfter == null || !Arrays.equals( labelsBefore, labelsAfter ) )
+                {
+                    columns.nodeLabelsChanged( nodeId,
+                            labelsAfter != null ? labelsAfter : columns.nodeLabels( nodeId ) );
+                    relabeledNodes.add( nodeId );
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return the labels of the node record, or {@code null} if they are in dynamic records which the command
+         * didn't carry.
+         */
+        private long[] labels( NodeRecord node )
+        {
+            if ( !node.inUse() )
+            {
+                return EMPTY_LONG_ARRAY;
+            }
+            NodeLabels labels = parseLabelsField( node );
+            return labels.getIfLoaded();
+        }
+
+        private boolean applyPropertyChanges( long nodeId, List<PropertyCommand> commands )
+        {
+            if ( relabeledNodes.contains( nodeId ) )
+            {
+                // All entries of the node are already up to date
+                return false;
+            }
+
+            for ( PropertyCommand command : commands )
+            {
+                mapColumnarBlocks( command.getBefore(), before );
+                mapColumnarBlocks( command.getAfter(), after );
+            }
+            long[] labels = null;
+            for ( Map.Entry<Integer,PropertyBlock> entry : after.entrySet() )
+            {
+                PropertyBlock beforeBlock = before.remove( entry.getKey() );
+                if ( beforeBlock == null || !beforeBlock.hasSameContentsAs( entry.getValue() ) )
+                {
+                    labels = labels != null ? labels : columns.nodeLabels( nodeId );
+                    columns.nodePropertySet( nodeId, labels, entry.getKey(),
+                            columnValue( entry.getValue(), propertyStore ) );
+                }
+            }
+            for ( Integer removedKey : before.keySet() )
+            {
+                labels = labels != null ? labels : columns.nodeLabels( nodeId );
+                columns.nodePropertyRemoved( nodeId, labels, removedKey );
+            }
+            before.clear();
+            after.clear();
+            return false;
+        }
+
+        private void mapColumnarBlocks( PropertyRecord record, Map<Integer,PropertyBlock> blocks )
+        {
+            if ( record.inUse() )
+            {
+                for ( PropertyBlock block : record )
+                {
+                    if ( columns.hasColumnsFor( block.getKeyIndexId() ) )
+                    {
+                        blocks.put( block.getKeyIndexId(), block );
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.command;
+
+import java.io.IOException;
+
+import org.neo4j.kernel.impl.api.BatchTransactionApplier;
+import org.neo4j.kernel.impl.api.TransactionApplier;
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.PropertyType;
+import org.neo4j.kernel.impl.store.StringDictionary;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.transaction.command.Command.PropertyCommand;
+import org.neo4j.storageengine.api.CommandsToApply;
+import org.neo4j.values.storable.Values;
+
+/**
+ * Keeps the {@link StringDictionary} up to date with the shared string chains created and freed, and the references
+ * to them added and removed, by applied transactions. References are compared per property record, between the
+ * before and after state of each property command.
+ */
+public class StringDictionaryBatchTransactionApplier extends BatchTransactionApplier.Adapter
+{
+    private final StringDictionary dictionary;
+    private final PropertyStore propertyStore;
+
+    public StringDictionaryBatchTransactionApplier( PropertyStore propertyStore )
+    {
+        this.dictionary = propertyStore.getStringDictionary();
+        this.propertyStore = propertyStore;
+    }
+
+    @Override
+    public TransactionApplier startTx( CommandsToApply transaction )
+    {
+        return dictionary.isOpen() ? new SingleTransactionApplier() : TransactionApplier.EMPTY;
+    }
+
+    private class SingleTransactionApplier extends TransactionApplier.Adapter
+    {
+        private StringDictionary.Updater updater;
+
+        @Override
+        public boolean visitPropertyCommand( PropertyCommand command ) throws IOException
+        {
+            PropertyRecord before = command.getBefore();
+            PropertyRecord after = command.getAfter();
+            if ( after.inUse() )
+            {
+                for ( PropertyBlock block : after )
+                {
+                    if ( block.getType() == PropertyType.DICTIONARY_STRING )
+                    {
+                        long reference = block.getSingleValueLong();
+                        if ( !block.isLight() && block.getValueRecords().get( 0 ).isCreated() )
+                        {
+                            updater().chainCreated( block.getKeyIndexId(), reference,
+                                    Values.stringValue( propertyStore.getStringFor( block.getValueRecords() ) ) );
+                        }
+                        if ( !refersTo( before, reference ) )
+                        {
+                            updater().referenceAdded( reference, after.getId() );
+                        }
+                    }
+                }
+            }
+            if ( before.inUse() )
+            {
+                for ( PropertyBlock block : before )
+                {
+                    if ( block.getType() == PropertyType.DICTIONARY_STRING )
+                    {
+                        long reference = block.getSingleValueLong();
+                        if ( !refersTo( after, reference ) )
+                        {
+                            updater().referenceRemoved( reference, before.getId() );
+                        }
+                        if ( deletes( after, reference ) )
+                        {
+                            updater().chainDeleted( reference );
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private StringDictionary.Updater updater()
+        {
+            if ( updater == null )
+            {
+                updater = dictionary.updater();
+            }
+            return updater;
+        }
+
+        @Override
+        public void close() throws Exception
+        {
+            if ( updater != null )
+            {
+                updater.close();
+            }
+        }
+    }
+
+    private static boolean refersTo( PropertyRecord record, long reference )
+    {
+        if ( record.inUse() )
+        {
+            for ( PropertyBlock block : record )
+            {
+                if ( block.getType() == PropertyType.DICTIONARY_STRING && block.getSingleValueLong() == reference )
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean deletes( PropertyRecord record, long reference )
+    {
+        for ( DynamicRecord deletedRecord : record.getDeletedRecords() )
+        {
+            if ( deletedRecord.getId() == reference )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -31,6 +31,7 @@ import java.util.stream.Collectors;
 import org.neo4j.graphdb.Resource;
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.impl.api.ExplicitIndexProviderLookup;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.index.IndexConfigStore;
@@ -48,17 +49,20 @@ public class NeoStoreFileListing
 {
     private final File storeDir;
     private final LabelScanStore labelScanStore;
+    private final RelationshipTypeScanStore relationshipTypeScanStore;
     private final IndexingService indexingService;
     private final ExplicitIndexProviderLookup explicitIndexProviders;
     private final StorageEngine storageEngine;
     private final Function<File,StoreFileMetadata> toNotAStoreTypeFile =
             file -> new StoreFileMetadata( file, RecordFormat.NO_RECORD_SIZE );
 
-    public NeoStoreFileListing( File storeDir, LabelScanStore labelScanStore, IndexingService indexingService,
+    public NeoStoreFileListing( File storeDir, LabelScanStore labelScanStore,
+            RelationshipTypeScanStore relationshipTypeScanStore, IndexingService indexingService,
             ExplicitIndexProviderLookup explicitIndexProviders, StorageEngine storageEngine )
     {
         this.storeDir = storeDir;
         this.labelScanStore = labelScanStore;
+        this.relationshipTypeScanStore = relationshipTypeScanStore;
         this.indexingService = indexingService;
         this.explicitIndexProviders = explicitIndexProviders;
         this.storageEngine = storageEngine;
@@ -70,13 +74,15 @@ public class NeoStoreFileListing
         gatherNonRecordStores( files, includeLogs );
         gatherNeoStoreFiles( files );
         Resource labelScanStoreSnapshot = gatherLabelScanStoreFiles( files );
+        Resource relationshipTypeScanStoreSnapshot = gatherRelationshipTypeScanStoreFiles( files );
         Resource schemaIndexSnapshots = gatherSchemaIndexFiles( files );
         Resource explicitIndexSnapshots = gatherExplicitIndexFiles( files );
 
         placeMetaDataStoreLast( files );
 
         return resourceIterator( files.iterator(),
-                new MultiResource( asList( labelScanStoreSnapshot, schemaIndexSnapshots, explicitIndexSnapshots ) ) );
+                new MultiResource( asList( labelScanStoreSnapshot, relationshipTypeScanStoreSnapshot,
+                        schemaIndexSnapshots, explicitIndexSnapshots ) ) );
     }
 
     private void placeMetaDataStoreLast( List<StoreFileMetadata> files )
@@ -150,6 +156,16 @@ public class NeoStoreFileListing
         return snapshot;
     }
 
+    private Resource gatherRelationshipTypeScanStoreFiles( Collection<StoreFileMetadata> targetFiles )
+            throws IOException
+    {
+        ResourceIterator<File> snapshot = relationshipTypeScanStore.snapshotStoreFiles();
+        snapshot.stream().map( toNotAStoreTypeFile ).collect( Collectors.toCollection( () -> targetFiles ) );
+        // Intentionally don't close the snapshot here, return it for closing by the consumer of
+        // the targetFiles list.
+        return snapshot;
+    }
+
     private void gatherNeoStoreFiles( final Collection<StoreFileMetadata> targetFiles )
     {
         targetFiles.addAll( storageEngine.listStorageFiles() );
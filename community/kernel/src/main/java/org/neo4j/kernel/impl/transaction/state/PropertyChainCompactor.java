@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.state;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveLongSet;
+import org.neo4j.kernel.impl.store.PropertyType;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.transaction.state.RecordAccess.RecordProxy;
+
+/**
+ * Rewrites fragmented property chains into as few property records as their blocks fit in, placed next to
+ * each other in the property store. Years of removing and adding properties leaves chains with half empty
+ * records spread over many pages, which makes every property read fault in more pages than it has to.
+ * <p>
+ * Property blocks are moved as they are, which means that dynamic records of string and array values
+ * stay where they are and that index updates derived from the resulting commands see no changed values.
+ */
+public class PropertyChainCompactor
+{
+    private final PropertyCreator propertyCreator;
+    private final int recordsPerPage;
+
+    public PropertyChainCompactor( PropertyCreator propertyCreator, int recordsPerPage )
+    {
+        this.propertyCreator = propertyCreator;
+        this.recordsPerPage = recordsPerPage;
+    }
+
+    /**
+     * Compacts the property chain of the primitive found in {@code primitiveProxy}, if it's fragmented.
+     *
+     * @param primitiveProxy access to the primitive record pointing to the start of the property chain.
+     * @param propertyRecords access to records.
+     * @return {@code true} if the property chain was rewritten, otherwise {@code false}.
+     */
+    public <P extends PrimitiveRecord> boolean compact( RecordProxy<P,Void> primitiveProxy,
+            RecordAccess<PropertyRecord,PrimitiveRecord> propertyRecords )
+    {
+        PrimitiveRecord primitive = primitiveProxy.forReadingLinkage();
+        if ( !primitive.inUse() )
+        {
+            return false;
+        }
+
+        List<RecordProxy<PropertyRecord,PrimitiveRecord>> chain = new ArrayList<>();
+        long nextProp = primitive.getNextProp();
+        while ( nextProp != Record.NO_NEXT_PROPERTY.intValue() )
+        {
+            RecordProxy<PropertyRecord,PrimitiveRecord> propertyChange = propertyRecords.getOrLoad( nextProp, primitive );
+            chain.add( propertyChange );
+            nextProp = propertyChange.forReadingLinkage().getNextProp();
+        }
+        if ( !isFragmented( chain ) )
+        {
+            return false;
+        }
+
+        // Light blocks are fine, values are moved, not changed
+        List<PropertyBlock> blocks = new ArrayList<>();
+        for ( RecordProxy<PropertyRecord,PrimitiveRecord> propertyChange : chain )
+        {
+            PropertyRecord propRecord = propertyChange.forChangingLinkage();
+            for ( PropertyBlock block : propRecord )
+            {
+                blocks.add( block );
+            }
+            propRecord.clearPropertyBlocks();
+            propRecord.setInUse( false );
+            propRecord.setChanged( primitive );
+        }
+        long firstProp = propertyCreator.createPropertyChain( primitive, blocks.iterator(), propertyRecords );
+        primitiveProxy.forChangingLinkage().setNextProp( firstProp );
+        return true;
+    }
+
+    /**
+     * A chain is fragmented if its blocks fit in fewer records, or if its records span more pages than
+     * the same number of records placed next to each other could. The latter allows for one extra page,
+     * since even adjacent records may straddle a page boundary, so that a compacted chain isn't compacted again.
+     */
+    private boolean isFragmented( List<RecordProxy<PropertyRecord,PrimitiveRecord>> chain )
+    {
+        if ( chain.size() <= 1 )
+        {
+            return false;
+        }
+
+        int packedRecords = 1;
+        int packedRecordSize = 0;
+        PrimitiveLongSet pages = Primitive.longSet( chain.size() );
+        for ( RecordProxy<PropertyRecord,PrimitiveRecord> propertyChange : chain )
+        {
+            PropertyRecord propRecord = propertyChange.forReadingLinkage();
+            for ( PropertyBlock block : propRecord )
+            {
+                // Same packing as PropertyCreator#createPropertyChain
+                if ( packedRecordSize + block.getSize() > PropertyType.getPayloadSize() )
+                {
+                    packedRecords++;
+                    packedRecordSize = 0;
+                }
+                packedRecordSize += block.getSize();
+            }
+            pages.add( propRecord.getId() / recordsPerPage );
+        }
+        if ( packedRecords < chain.size() )
+        {
+            return true;
+        }
+        int contiguousPages = (chain.size() + recordsPerPage - 1) / recordsPerPage + 1;
+        return pages.size() > contiguousPages;
+    }
+}
@@ -25,6 +25,7 @@ import java.util.function.Consumer;
 import org.neo4j.kernel.impl.store.DynamicRecordAllocator;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.PropertyType;
+import org.neo4j.kernel.impl.store.StringDictionary;
 import org.neo4j.kernel.impl.store.id.IdSequence;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
@@ -32,6 +33,7 @@ import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.kernel.impl.transaction.state.RecordAccess.RecordProxy;
+import org.neo4j.storageengine.api.lock.ResourceLocker;
 import org.neo4j.values.storable.Value;
 
 public class PropertyCreator
@@ -40,26 +42,46 @@ public class PropertyCreator
     private final DynamicRecordAllocator arrayRecordAllocator;
     private final IdSequence propertyRecordIdGenerator;
     private final PropertyTraverser traverser;
+    private final StringDictionary stringDictionary;
 
     public PropertyCreator( PropertyStore propertyStore, PropertyTraverser traverser )
     {
-        this( propertyStore.getStringStore(), propertyStore.getArrayStore(), propertyStore, traverser );
+        this( propertyStore.getStringStore(), propertyStore.getArrayStore(), propertyStore, traverser,
+                propertyStore.getStringDictionary() );
     }
 
     public PropertyCreator( DynamicRecordAllocator stringRecordAllocator, DynamicRecordAllocator arrayRecordAllocator,
             IdSequence propertyRecordIdGenerator, PropertyTraverser traverser )
+    {
+        this( stringRecordAllocator, arrayRecordAllocator, propertyRecordIdGenerator, traverser, null );
+    }
+
+    public PropertyCreator( DynamicRecordAllocator stringRecordAllocator, DynamicRecordAllocator arrayRecordAllocator,
+            IdSequence propertyRecordIdGenerator, PropertyTraverser traverser, StringDictionary stringDictionary )
     {
         this.stringRecordAllocator = stringRecordAllocator;
         this.arrayRecordAllocator = arrayRecordAllocator;
         this.propertyRecordIdGenerator = propertyRecordIdGenerator;
         this.traverser = traverser;
+        this.stringDictionary = stringDictionary;
     }
 
     public <P extends PrimitiveRecord> void primitiveSetProperty(
             RecordProxy<P, Void> primitiveRecordChange, int propertyKey, Value value,
             RecordAccess<PropertyRecord, PrimitiveRecord> propertyRecords )
     {
-        PropertyBlock block = encodePropertyValue( propertyKey, value );
+        primitiveSetProperty( primitiveRecordChange, propertyKey, value, propertyRecords, ResourceLocker.NONE );
+    }
+
+    /**
+     * Sets a property, where {@code locks} are the locks of the transaction, used for keeping a shared string
+     * chain of a dictionary encoded value from being freed, see {@link StringDictionary}.
+     */
+    public <P extends PrimitiveRecord> void primitiveSetProperty(
+            RecordProxy<P, Void> primitiveRecordChange, int propertyKey, Value value,
+            RecordAccess<PropertyRecord, PrimitiveRecord> propertyRecords, ResourceLocker locks )
+    {
+        PropertyBlock block = encodeValue( new PropertyBlock(), propertyKey, value, locks );
         P primitive = primitiveRecordChange.forReadingLinkage();
         assert traverser.assertPropertyChain( primitive, propertyRecords );
         int newBlockSizeInBytes = block.getSize();
@@ -137,8 +159,10 @@ public class PropertyCreator
         PropertyRecord freeHost = null;
         if ( freeHostProxy == null )
         {
-            // We couldn't find free space along the way, so create a new host record
-            freeHost = propertyRecords.create( propertyRecordIdGenerator.nextId(), primitive ).forChangingData();
+            // We couldn't find free space along the way, so create a new host record,
+            // preferably in the same page as the current first record of the chain
+            freeHost = propertyRecords.create( propertyRecordIdGenerator.nextId( primitive.getNextProp() ),
+                    primitive ).forChangingData();
             freeHost.setInUse( true );
             if ( primitive.getNextProp() != Record.NO_NEXT_PROPERTY.intValue() )
             {
@@ -192,7 +216,13 @@ public class PropertyCreator
 
     public PropertyBlock encodeValue( PropertyBlock block, int propertyKey, Value value )
     {
-        PropertyStore.encodeValue( block, propertyKey, value, stringRecordAllocator, arrayRecordAllocator );
+        return encodeValue( block, propertyKey, value, ResourceLocker.NONE );
+    }
+
+    public PropertyBlock encodeValue( PropertyBlock block, int propertyKey, Value value, ResourceLocker locks )
+    {
+        PropertyStore.encodeValue( block, propertyKey, value, stringRecordAllocator, arrayRecordAllocator,
+                stringDictionary, locks );
         return block;
     }
 
@@ -224,7 +254,7 @@ public class PropertyCreator
                 // Here it means the current block is done for
                 PropertyRecord prevRecord = currentRecord;
                 // Create new record
-                long propertyId = propertyRecordIdGenerator.nextId();
+                long propertyId = propertyRecordIdGenerator.nextId( prevRecord.getId() );
                 currentRecord = propertyRecords.create( propertyId, owner ).forChangingData();
                 createdPropertyRecords.accept( currentRecord );
                 currentRecord.setInUse( true );
@@ -22,17 +22,25 @@ package org.neo4j.kernel.impl.transaction.state;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.impl.core.RelationshipTypeToken;
+import org.neo4j.kernel.impl.locking.LockTracer;
+import org.neo4j.kernel.impl.locking.ResourceTypes;
 import org.neo4j.kernel.impl.store.MetaDataStore;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.PropertyType;
 import org.neo4j.kernel.impl.store.RecordStore;
 import org.neo4j.kernel.impl.store.RelationshipStore;
 import org.neo4j.kernel.impl.store.SchemaStore;
+import org.neo4j.kernel.impl.store.StringDictionary;
 import org.neo4j.kernel.impl.store.record.AbstractBaseRecord;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
 import org.neo4j.kernel.impl.store.record.IndexRule;
@@ -40,6 +48,7 @@ import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
 import org.neo4j.kernel.impl.store.record.NeoStoreRecord;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyKeyTokenRecord;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.store.record.Record;
@@ -76,6 +85,12 @@ import static org.neo4j.kernel.impl.store.NodeLabelsField.parseLabelsField;
 public class TransactionRecordState implements RecordState
 {
     private static final Command[] EMPTY_COMMANDS = new Command[0];
+    /**
+     * Transactions removing references to a shared string chain only try to free it when there are at most this
+     * many references to it besides the removed ones, so that transactions removing references to a commonly used
+     * chain don't contend for its lock.
+     */
+    private static final int DICTIONARY_STRING_FREE_MARGIN = 64;
 
     private final NeoStores neoStores;
     private final IntegrityValidator integrityValidator;
@@ -135,6 +150,8 @@ public class TransactionRecordState implements RecordState
 
         integrityValidator.validateTransactionStartKnowledge( lastCommittedTxWhenTransactionStarted );
 
+        freeUnreferencedDictionaryStrings();
+
         int noOfCommands = recordChangeSet.changeSize() +
                            (neoStoreRecord != null ? neoStoreRecord.changeSize() : 0);
 
@@ -263,6 +280,74 @@ public class TransactionRecordState implements RecordState
         prepared = true;
     }
 
+    /**
+     * Frees the shared string chains of dictionary encoded strings which this transaction removes the last
+     * references to, by deleting their records together with a property record which referred to them.
+     * See {@link StringDictionary} for how this is kept safe from concurrent transactions.
+     */
+    private void freeUnreferencedDictionaryStrings()
+    {
+        StringDictionary dictionary = propertyStore.getStringDictionary();
+        if ( !dictionary.isOpen() || recordChangeSet.getPropertyRecords().changeSize() == 0 )
+        {
+            return;
+        }
+
+        // Net change in number of references per chain, ordered by reference for locking in a consistent order
+        SortedMap<Long,Integer> referenceChanges = new TreeMap<>();
+        Map<Long,RecordProxy<PropertyRecord,PrimitiveRecord>> formerHosts = new HashMap<>();
+        for ( RecordProxy<PropertyRecord,PrimitiveRecord> change : recordChangeSet.getPropertyRecords().changes() )
+        {
+            PropertyRecord before = change.getBefore();
+            if ( !change.isCreated() && before.inUse() )
+            {
+                for ( PropertyBlock block : before )
+                {
+                    if ( block.getType() == PropertyType.DICTIONARY_STRING )
+                    {
+                        referenceChanges.merge( block.getSingleValueLong(), -1, Integer::sum );
+                        formerHosts.putIfAbsent( block.getSingleValueLong(), change );
+                    }
+                }
+            }
+            PropertyRecord after = change.forReadingLinkage();
+            if ( after.inUse() )
+            {
+                for ( PropertyBlock block : after )
+                {
+                    if ( block.getType() == PropertyType.DICTIONARY_STRING )
+                    {
+                        referenceChanges.merge( block.getSingleValueLong(), 1, Integer::sum );
+                    }
+                }
+            }
+        }
+
+        for ( Map.Entry<Long,Integer> referenceChange : referenceChanges.entrySet() )
+        {
+            long reference = referenceChange.getKey();
+            int removed = -referenceChange.getValue();
+            if ( removed <= 0 ||
+                 dictionary.countReferences( reference, removed + DICTIONARY_STRING_FREE_MARGIN + 1 ) >
+                 removed + DICTIONARY_STRING_FREE_MARGIN )
+            {   // Not removing the last references, at least not without many concurrent transactions doing the same
+                continue;
+            }
+
+            // Keeps out transactions about to refer to this chain, until this transaction has been applied
+            locks.acquireExclusive( LockTracer.NONE, ResourceTypes.STRING_DICTIONARY_VALUE, reference );
+            if ( dictionary.countReferences( reference, removed + 1 ) == removed )
+            {
+                PropertyRecord host = formerHosts.get( reference ).forChangingData();
+                for ( DynamicRecord record : propertyStore.getDictionaryStringRecords( reference ) )
+                {
+                    record.setInUse( false, PropertyType.DICTIONARY_STRING.intValue() );
+                    host.addDeletedRecord( record );
+                }
+            }
+        }
+    }
+
     private <RECORD extends AbstractBaseRecord> RECORD prepared(
             RecordProxy<RECORD,?> proxy, RecordStore<RECORD> store )
     {
@@ -368,7 +453,7 @@ public class TransactionRecordState implements RecordState
     public void relChangeProperty( long relId, int propertyKey, Value value )
     {
         RecordProxy<RelationshipRecord, Void> rel = recordChangeSet.getRelRecords().getOrLoad( relId, null );
-        propertyCreator.primitiveSetProperty( rel, propertyKey, value, recordChangeSet.getPropertyRecords() );
+        propertyCreator.primitiveSetProperty( rel, propertyKey, value, recordChangeSet.getPropertyRecords(), locks );
     }
 
     /**
@@ -381,7 +466,7 @@ public class TransactionRecordState implements RecordState
     public void nodeChangeProperty( long nodeId, int propertyKey, Value value )
     {
         RecordProxy<NodeRecord, Void> node = recordChangeSet.getNodeRecords().getOrLoad( nodeId, null );
-        propertyCreator.primitiveSetProperty( node, propertyKey, value, recordChangeSet.getPropertyRecords() );
+        propertyCreator.primitiveSetProperty( node, propertyKey, value, recordChangeSet.getPropertyRecords(), locks );
     }
 
     /**
@@ -394,7 +479,7 @@ public class TransactionRecordState implements RecordState
     public void relAddProperty( long relId, int propertyKey, Value value )
     {
         RecordProxy<RelationshipRecord, Void> rel = recordChangeSet.getRelRecords().getOrLoad( relId, null );
-        propertyCreator.primitiveSetProperty( rel, propertyKey, value, recordChangeSet.getPropertyRecords() );
+        propertyCreator.primitiveSetProperty( rel, propertyKey, value, recordChangeSet.getPropertyRecords(), locks );
     }
 
     /**
@@ -406,7 +491,38 @@ public class TransactionRecordState implements RecordState
     public void nodeAddProperty( long nodeId, int propertyKey, Value value )
     {
         RecordProxy<NodeRecord, Void> node = recordChangeSet.getNodeRecords().getOrLoad( nodeId, null );
-        propertyCreator.primitiveSetProperty( node, propertyKey, value, recordChangeSet.getPropertyRecords() );
+        propertyCreator.primitiveSetProperty( node, propertyKey, value, recordChangeSet.getPropertyRecords(), locks );
+    }
+
+    /**
+     * Rewrites the property chain of the given node into as few records, placed as close together, as possible,
+     * if it's fragmented. Property values are left unchanged.
+     *
+     * @param nodeId The id of the node to compact the property chain of.
+     * @return {@code true} if the property chain was rewritten, otherwise {@code false}.
+     */
+    public boolean nodeCompactPropertyChain( long nodeId )
+    {
+        RecordProxy<NodeRecord, Void> node = recordChangeSet.getNodeRecords().getOrLoad( nodeId, null );
+        return propertyChainCompactor().compact( node, recordChangeSet.getPropertyRecords() );
+    }
+
+    /**
+     * Rewrites the property chain of the given relationship into as few records, placed as close together,
+     * as possible, if it's fragmented. Property values are left unchanged.
+     *
+     * @param relId The id of the relationship to compact the property chain of.
+     * @return {@code true} if the property chain was rewritten, otherwise {@code false}.
+     */
+    public boolean relCompactPropertyChain( long relId )
+    {
+        RecordProxy<RelationshipRecord, Void> rel = recordChangeSet.getRelRecords().getOrLoad( relId, null );
+        return propertyChainCompactor().compact( rel, recordChangeSet.getPropertyRecords() );
+    }
+
+    private PropertyChainCompactor propertyChainCompactor()
+    {
+        return new PropertyChainCompactor( propertyCreator, propertyStore.getRecordsPerPage() );
     }
 
     /**
@@ -540,7 +656,7 @@ public class TransactionRecordState implements RecordState
     public void graphAddProperty( int propertyKey, Value value )
     {
         propertyCreator.primitiveSetProperty( getOrLoadNeoStoreRecord(), propertyKey, value,
-                recordChangeSet.getPropertyRecords() );
+                recordChangeSet.getPropertyRecords(), locks );
     }
 
     /**
@@ -553,7 +669,7 @@ public class TransactionRecordState implements RecordState
     public void graphChangeProperty( int propertyKey, Value value )
     {
         propertyCreator.primitiveSetProperty( getOrLoadNeoStoreRecord(), propertyKey, value,
-                recordChangeSet.getPropertyRecords() );
+                recordChangeSet.getPropertyRecords(), locks );
     }
 
     /**
@@ -33,13 +33,14 @@ import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.PropertyStore;
-import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.register.Register.DoubleLongRegister;
 import org.neo4j.storageengine.api.EntityType;
+import org.neo4j.unsafe.impl.internal.dragons.FeatureToggles;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
@@ -51,10 +52,18 @@ import static org.neo4j.kernel.impl.store.record.RecordLoad.FORCE;
  */
 public class NeoStoreIndexStoreView implements IndexStoreView
 {
+    static final String SCAN_WORKERS_NAME = "scan_workers";
+    static final String SCAN_MIN_PARTITION_SIZE_NAME = "scan_min_partition_size";
+
+    private final int scanWorkers = FeatureToggles.getInteger( NeoStoreIndexStoreView.class, SCAN_WORKERS_NAME,
+            Runtime.getRuntime().availableProcessors() );
+    private final long scanMinPartitionSize = FeatureToggles.getLong( NeoStoreIndexStoreView.class,
+            SCAN_MIN_PARTITION_SIZE_NAME, 500_000 );
+
     protected final PropertyStore propertyStore;
     protected final NodeStore nodeStore;
     protected final LockService locks;
-    private final CountsTracker counts;
+    private final CountsStore counts;
 
     public NeoStoreIndexStoreView( LockService locks, NeoStores neoStores )
     {
@@ -103,7 +112,7 @@ public class NeoStoreIndexStoreView implements IndexStoreView
             boolean forceStoreScan )
     {
         return new StoreViewNodeStoreScan<>( nodeStore, locks, propertyStore, labelUpdateVisitor,
-                propertyUpdatesVisitor, labelIds, propertyKeyIdFilter );
+                propertyUpdatesVisitor, labelIds, propertyKeyIdFilter, scanWorkers, scanMinPartitionSize );
     }
 
     @Override
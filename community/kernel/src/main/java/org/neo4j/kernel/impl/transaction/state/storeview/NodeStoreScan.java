@@ -38,12 +38,12 @@ import static org.neo4j.kernel.impl.store.record.RecordLoad.FORCE;
  */
 public abstract class NodeStoreScan<FAILURE extends Exception> implements StoreScan<FAILURE>
 {
-    private volatile boolean continueScanning;
+    protected volatile boolean continueScanning;
     private final NodeRecord record;
 
     protected final NodeStore nodeStore;
     protected final LockService locks;
-    private final long totalCount;
+    protected final long totalCount;
 
     private long count;
 
@@ -100,4 +100,10 @@ public abstract class NodeStoreScan<FAILURE extends Exception> implements StoreS
         // nothing to do 100% completed
         return PopulationProgress.DONE;
     }
+
+    @Override
+    public String toString()
+    {
+        return getClass().getSimpleName() + "[scanned=" + count + "/" + totalCount + "]";
+    }
 }
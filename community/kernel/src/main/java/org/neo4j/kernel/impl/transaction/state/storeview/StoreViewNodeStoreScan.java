@@ -21,16 +21,24 @@ package org.neo4j.kernel.impl.transaction.state.storeview;
 
 import org.apache.commons.lang3.ArrayUtils;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.IntPredicate;
 
 import org.neo4j.collection.primitive.PrimitiveLongResourceIterator;
+import org.neo4j.helpers.Exceptions;
 import org.neo4j.helpers.collection.PrefetchingIterator;
 import org.neo4j.helpers.collection.Visitor;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
 import org.neo4j.kernel.impl.api.index.MultipleIndexPopulator;
 import org.neo4j.kernel.impl.api.index.NodeUpdates;
+import org.neo4j.kernel.impl.locking.Lock;
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.PropertyStore;
@@ -39,26 +47,63 @@ import org.neo4j.kernel.impl.store.record.PropertyBlock;
 import org.neo4j.kernel.impl.store.record.PropertyRecord;
 import org.neo4j.kernel.impl.store.record.Record;
 import org.neo4j.kernel.impl.util.Validators;
+import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.values.storable.Value;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.util.Collections.emptyIterator;
 import static org.neo4j.collection.primitive.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
+import static org.neo4j.helpers.NamedThreadFactory.daemon;
 import static org.neo4j.kernel.api.labelscan.NodeLabelUpdate.labelChanges;
 import static org.neo4j.kernel.impl.store.NodeLabelsField.parseLabelsField;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.FORCE;
 
+/**
+ * Scans the node store, feeding labels and properties of interest to the given visitors.
+ * <p>
+ * When given more than one worker, and only property updates are requested, the node id space is split into
+ * contiguous partitions which are scanned concurrently, one thread per partition. Reading node records and
+ * loading properties happens in parallel, whereas visiting is serialized, so visitors need not be thread safe.
+ * Each node stays locked until it has been visited, which together with the per partition scan position
+ * is what decides whether or not a concurrent update should be {@link #acceptUpdate(MultipleIndexPopulator.MultipleIndexUpdater,
+ * IndexEntryUpdate, long) accepted}, much like the single threaded scan does using the currently indexed node id.
+ *
+ * @param <FAILURE> type of exception thrown on failure
+ */
 public class StoreViewNodeStoreScan<FAILURE extends Exception> extends NodeStoreScan<FAILURE>
 {
+    private static final String PARTITION_THREAD_NAME_PREFIX = "Index Population Partition Scan";
+
     private final PropertyStore propertyStore;
 
     private final Visitor<NodeLabelUpdate,FAILURE> labelUpdateVisitor;
     private final Visitor<NodeUpdates,FAILURE> propertyUpdatesVisitor;
     private final IntPredicate propertyKeyIdFilter;
     protected final int[] labelIds;
+    private final int workers;
+    private final long minPartitionSize;
+
+    private volatile List<Partition> partitions;
 
     public StoreViewNodeStoreScan( NodeStore nodeStore, LockService locks, PropertyStore propertyStore,
             Visitor<NodeLabelUpdate,FAILURE> labelUpdateVisitor,
             Visitor<NodeUpdates,FAILURE> propertyUpdatesVisitor,
             int[] labelIds, IntPredicate propertyKeyIdFilter )
+    {
+        this( nodeStore, locks, propertyStore, labelUpdateVisitor, propertyUpdatesVisitor, labelIds, propertyKeyIdFilter,
+                1, Long.MAX_VALUE );
+    }
+
+    /**
+     * @param workers maximum number of partitions to scan concurrently.
+     * @param minPartitionSize minimum number of node ids in each partition. Stores having fewer than twice
+     * this number of nodes are scanned by a single thread.
+     */
+    public StoreViewNodeStoreScan( NodeStore nodeStore, LockService locks, PropertyStore propertyStore,
+            Visitor<NodeLabelUpdate,FAILURE> labelUpdateVisitor,
+            Visitor<NodeUpdates,FAILURE> propertyUpdatesVisitor,
+            int[] labelIds, IntPredicate propertyKeyIdFilter, int workers, long minPartitionSize )
     {
         super( nodeStore, locks, nodeStore.getHighId() );
         this.propertyStore = propertyStore;
@@ -67,6 +112,8 @@ public class StoreViewNodeStoreScan<FAILURE extends Exception> extends NodeStore
         this.labelIds = labelIds;
 
         this.propertyKeyIdFilter = propertyKeyIdFilter;
+        this.workers = workers;
+        this.minPartitionSize = max( 1, minPartitionSize );
     }
 
     @Override
@@ -91,31 +138,198 @@ public class StoreViewNodeStoreScan<FAILURE extends Exception> extends NodeStore
             labelUpdateVisitor.visit( labelChanges( node.getId(), EMPTY_LONG_ARRAY, labels ) );
         }
 
-        if ( propertyUpdatesVisitor != null && containsAnyLabel( labelIds, labels ) )
+        NodeUpdates updates = propertyUpdates( node, labels );
+        if ( updates != null )
         {
             // Notify the property update visitor
-            // TODO: reuse object instead? Better in terms of speed and GC?
-            NodeUpdates.Builder updates = NodeUpdates.forNode( node.getId(), labels );
-            boolean hasRelevantProperty = false;
+            propertyUpdatesVisitor.visit( updates );
+        }
+    }
 
-            for ( PropertyBlock property : properties( node ) )
+    /**
+     * @return updates for properties of interest to us, or {@code null} if the node has none.
+     */
+    private NodeUpdates propertyUpdates( NodeRecord node, long[] labels )
+    {
+        if ( propertyUpdatesVisitor == null || !containsAnyLabel( labelIds, labels ) )
+        {
+            return null;
+        }
+
+        // TODO: reuse object instead? Better in terms of speed and GC?
+        NodeUpdates.Builder updates = NodeUpdates.forNode( node.getId(), labels );
+        boolean hasRelevantProperty = false;
+
+        for ( PropertyBlock property : properties( node ) )
+        {
+            int propertyKeyId = property.getKeyIndexId();
+            if ( propertyKeyIdFilter.test( propertyKeyId ) )
             {
-                int propertyKeyId = property.getKeyIndexId();
-                if ( propertyKeyIdFilter.test( propertyKeyId ) )
+                // This node has a property of interest to us
+                Value value = valueOf( property );
+                Validators.INDEX_VALUE_VALIDATOR.validate( value );
+                updates.added( propertyKeyId, value );
+                hasRelevantProperty = true;
+            }
+        }
+        return hasRelevantProperty ? updates.build() : null;
+    }
+
+    @Override
+    public void run() throws FAILURE
+    {
+        List<Partition> partitions = partitions();
+        if ( partitions.size() < 2 )
+        {
+            super.run();
+            return;
+        }
+
+        this.partitions = partitions;
+        continueScanning = true;
+        ExecutorService executor = Executors.newFixedThreadPool( partitions.size(), daemon( PARTITION_THREAD_NAME_PREFIX ) );
+        try
+        {
+            List<Future<Void>> futures = new ArrayList<>( partitions.size() );
+            for ( Partition partition : partitions )
+            {
+                futures.add( executor.submit( () ->
+                {
+                    scan( partition );
+                    return null;
+                } ) );
+            }
+            awaitPartitions( futures );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private List<Partition> partitions()
+    {
+        List<Partition> partitions = new ArrayList<>();
+        if ( workers < 2 || labelUpdateVisitor != null )
+        {
+            // Label updates are expected in node id order
+            return partitions;
+        }
+
+        long lowId = nodeStore.getNumberOfReservedLowIds();
+        long ids = totalCount - lowId;
+        int count = (int) min( workers, ids / minPartitionSize );
+        if ( count < 2 )
+        {
+            return partitions;
+        }
+        long partitionSize = (ids - 1) / count + 1;
+        for ( int i = 0; i < count; i++ )
+        {
+            long startId = lowId + i * partitionSize;
+            // The last partition also covers nodes created while scanning, just like the single threaded scan
+            long endId = i == count - 1 ? Long.MAX_VALUE : startId + partitionSize;
+            partitions.add( new Partition( startId, endId ) );
+        }
+        return partitions;
+    }
+
+    private void scan( Partition partition ) throws FAILURE
+    {
+        NodeRecord record = nodeStore.newRecord();
+        partition.startTime = System.currentTimeMillis();
+        try
+        {
+            for ( long id = partition.startId; continueScanning && id < min( partition.endId, nodeStore.getHighId() ); id++ )
+            {
+                try ( Lock ignored = locks.acquireNodeLock( id, LockService.LockType.READ_LOCK ) )
                 {
-                    // This node has a property of interest to us
-                    Value value = valueOf( property );
-                    Validators.INDEX_VALUE_VALIDATOR.validate( value );
-                    updates.added( propertyKeyId, value );
-                    hasRelevantProperty = true;
+                    if ( nodeStore.getRecord( id, record, FORCE ).inUse() )
+                    {
+                        long[] labels = parseLabelsField( record ).get( nodeStore );
+                        NodeUpdates updates = labels.length == 0 ? null : propertyUpdates( record, labels );
+                        if ( updates != null )
+                        {
+                            synchronized ( this )
+                            {
+                                propertyUpdatesVisitor.visit( updates );
+                            }
+                        }
+                    }
+                    partition.scanned( id );
                 }
             }
+        }
+        finally
+        {
+            partition.endTime = System.currentTimeMillis();
+        }
+    }
 
-            if ( hasRelevantProperty )
+    private void awaitPartitions( List<Future<Void>> futures ) throws FAILURE
+    {
+        Throwable failure = null;
+        for ( Future<Void> future : futures )
+        {
+            try
             {
-                propertyUpdatesVisitor.visit( updates.build() );
+                future.get();
             }
+            catch ( ExecutionException e )
+            {
+                // Let the other partitions know there's no point in continuing
+                stop();
+                failure = Exceptions.chain( failure, e.getCause() );
+            }
+            catch ( InterruptedException e )
+            {
+                stop();
+                Thread.currentThread().interrupt();
+                failure = Exceptions.chain( failure, new IllegalStateException( "Interrupted while scanning partitions", e ) );
+            }
+        }
+        if ( failure != null )
+        {
+            throw this.<FAILURE>scanFailure( failure );
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private <E extends Exception> E scanFailure( Throwable failure )
+    {
+        if ( failure instanceof Error )
+        {
+            throw (Error) failure;
+        }
+        if ( failure instanceof RuntimeException )
+        {
+            throw (RuntimeException) failure;
         }
+        // The only checked exceptions a partition scan can throw are the ones thrown by the visitor
+        return (E) failure;
+    }
+
+    @Override
+    public PopulationProgress getProgress()
+    {
+        List<Partition> partitions = this.partitions;
+        if ( partitions == null )
+        {
+            return super.getProgress();
+        }
+        long scanned = 0;
+        for ( Partition partition : partitions )
+        {
+            scanned += partition.count;
+        }
+        return new PopulationProgress( min( scanned, totalCount ), totalCount );
+    }
+
+    @Override
+    public String toString()
+    {
+        List<Partition> partitions = this.partitions;
+        return partitions == null ? super.toString() : getClass().getSimpleName() + partitions;
     }
 
     private Iterable<PropertyBlock> properties( final NodeRecord node )
@@ -146,12 +360,66 @@ public class StoreViewNodeStoreScan<FAILURE extends Exception> extends NodeStore
     public void acceptUpdate( MultipleIndexPopulator.MultipleIndexUpdater updater, IndexEntryUpdate<?> update,
             long currentlyIndexedNodeId )
     {
-        if ( update.getEntityId() <= currentlyIndexedNodeId )
+        if ( accept( update.getEntityId(), currentlyIndexedNodeId ) )
         {
             updater.process( update );
         }
     }
 
+    private boolean accept( long nodeId, long currentlyIndexedNodeId )
+    {
+        List<Partition> partitions = this.partitions;
+        if ( partitions == null || currentlyIndexedNodeId == Long.MAX_VALUE )
+        {
+            return nodeId <= currentlyIndexedNodeId;
+        }
+        // The currently indexed node id only says something about the partition it's in
+        for ( int i = partitions.size() - 1; i >= 0; i-- )
+        {
+            Partition partition = partitions.get( i );
+            if ( nodeId >= partition.startId )
+            {
+                return nodeId <= partition.position;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Range of node ids scanned by one thread. Scan position and count are written by the scanning thread only.
+     */
+    private static class Partition
+    {
+        private final long startId;
+        private final long endId;
+        private volatile long position;
+        private volatile long count;
+        private volatile long startTime;
+        private volatile long endTime;
+
+        Partition( long startId, long endId )
+        {
+            this.startId = startId;
+            this.endId = endId;
+            this.position = startId - 1;
+        }
+
+        void scanned( long id )
+        {
+            position = id;
+            count++;
+        }
+
+        @Override
+        public String toString()
+        {
+            long end = endTime != 0 ? endTime : System.currentTimeMillis();
+            long millis = max( 1, end - startTime );
+            return "[" + startId + "-" + (endId == Long.MAX_VALUE ? "" : String.valueOf( endId )) + ")" +
+                   ":scanned=" + count + ",nodes/s=" + count * 1000 / millis + (endTime != 0 ? ",done" : "");
+        }
+    }
+
     private class PropertyBlockIterator extends PrefetchingIterator<PropertyBlock>
     {
         private final Iterator<PropertyRecord> records;
@@ -20,6 +20,7 @@
 package org.neo4j.storageengine.api;
 
 import org.neo4j.collection.primitive.PrimitiveIntSet;
+import org.neo4j.collection.primitive.PrimitiveIntVisitor;
 import org.neo4j.kernel.impl.locking.Lock;
 
 /**
@@ -39,6 +40,14 @@ public interface NodeItem
      */
     PrimitiveIntSet labels();
 
+    /**
+     * Visits the labels of the current node, without the allocation of {@link #labels()}.
+     *
+     * @param visitor visitor receiving each label id, returning {@code true} to stop visiting.
+     * @throws IllegalStateException if no current node is selected
+     */
+    <E extends Exception> void visitLabels( PrimitiveIntVisitor<E> visitor ) throws E;
+
     /**
      * @return whether or not this node has been marked as being dense, i.e. exceeding a certain threshold
      * of number of relationships.
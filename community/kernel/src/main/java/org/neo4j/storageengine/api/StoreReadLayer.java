@@ -46,6 +46,7 @@ import org.neo4j.kernel.impl.api.RelationshipVisitor;
 import org.neo4j.kernel.impl.api.store.RelationshipIterator;
 import org.neo4j.register.Register.DoubleLongRegister;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
+import org.neo4j.values.storable.Value;
 
 /**
  * Abstraction for reading committed data from {@link StorageEngine store}.
@@ -131,6 +132,8 @@ public interface StoreReadLayer
 
     PrimitiveLongIterator nodesGetForLabel( StorageStatement statement, int labelId );
 
+    PrimitiveLongIterator nodesGetForAllLabels( StorageStatement statement, int... labelIds );
+
     /**
      * Looks for a stored index by given {@code descriptor}
      *
@@ -278,6 +281,14 @@ public interface StoreReadLayer
      */
     RelationshipIterator relationshipsGetAll();
 
+    /**
+     * @param statement {@link StorageStatement} to use for reading.
+     * @param relationshipTypeId relationship type id to get relationships for.
+     * @return ids of all stored relationships of the given type. The returned iterator can optionally visit data
+     * about each relationship returned.
+     */
+    RelationshipIterator relationshipsGetForType( StorageStatement statement, int relationshipTypeId );
+
     Cursor<RelationshipItem> nodeGetRelationships( StorageStatement statement, NodeItem nodeItem, Direction direction );
 
     Cursor<RelationshipItem> nodeGetRelationships( StorageStatement statement, NodeItem nodeItem, Direction direction,
@@ -288,6 +299,37 @@ public interface StoreReadLayer
     Cursor<PropertyItem> nodeGetProperty( StorageStatement statement, NodeItem node, int propertyKeyId,
             AssertOpen assertOpen );
 
+    /**
+     * Reads a node property value from where it's kept in a column, see
+     * {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#property_columns}. This is cheaper than reading
+     * the property chain of the node, but only committed values are kept there.
+     *
+     * @param node node to get the property value for.
+     * @param propertyKeyId property key id to get the value for.
+     * @return the committed value, or {@code null} if the value isn't available from a column and instead has to be
+     * read from the property chain of the node.
+     */
+    Value nodeGetColumnarProperty( NodeItem node, int propertyKeyId );
+
+    /**
+     * @param labelId label id of the column.
+     * @param propertyKeyId property key id of the column.
+     * @return whether or not the given label and property key are kept in a column, see
+     * {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#property_columns}.
+     */
+    boolean nodePropertyColumnExists( int labelId, int propertyKeyId );
+
+    /**
+     * Scans the column of the given label and property key, which is cheaper than a label scan followed by
+     * reading the property of every labeled node, since no node or property records are read.
+     *
+     * @param labelId label id of the column to scan.
+     * @param propertyKeyId property key id of the column to scan.
+     * @return ids of the nodes which, as committed, have both the label and the property,
+     * or {@code null} if they aren't kept in a column.
+     */
+    PrimitiveLongIterator nodesGetFromPropertyColumn( int labelId, int propertyKeyId );
+
     Cursor<PropertyItem> relationshipGetProperties( StorageStatement statement, RelationshipItem relationship,
             AssertOpen assertOpen );
 
@@ -36,6 +36,21 @@ public interface ResourceLocker
      */
     void acquireExclusive( LockTracer tracer, ResourceType resourceType, long... resourceIds ) throws AcquireLockTimeoutException;
 
+    /**
+     * Can be grabbed when there are no locks or only other shared locks on the relevant resources. Lockers not
+     * distinguishing between shared and exclusive locks grab an {@link #acquireExclusive(LockTracer, ResourceType,
+     * long...) exclusive} lock.
+     *
+     * @param tracer
+     * @param resourceType type or resource(s) to lock.
+     * @param resourceIds id(s) of resources to lock. Multiple ids should be ordered consistently by all callers
+     */
+    default void acquireShared( LockTracer tracer, ResourceType resourceType, long... resourceIds )
+            throws AcquireLockTimeoutException
+    {
+        acquireExclusive( tracer, resourceType, resourceIds );
+    }
+
     ResourceLocker NONE = ( tracer, resourceType, resourceIds ) ->
     {
         throw new UnsupportedOperationException(
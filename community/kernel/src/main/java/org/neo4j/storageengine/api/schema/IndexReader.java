@@ -24,6 +24,7 @@ import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphdb.Resource;
 import org.neo4j.kernel.api.exceptions.index.IndexNotApplicableKernelException;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.values.storable.Value;
 
@@ -60,6 +61,56 @@ public interface IndexReader extends Resource
      */
     boolean hasFullNumberPrecision( IndexQuery... predicates );
 
+    /**
+     * @param order the order results are wanted in.
+     * @param predicates query to determine whether or not this reader can return results in the given order for.
+     * @return whether or not {@link #orderedQuery(IndexOrder, IndexQuery...)} can be called with the given
+     * {@code order} and {@code predicates}.
+     */
+    default boolean supportsOrder( IndexOrder order, IndexQuery... predicates )
+    {
+        return false;
+    }
+
+    /**
+     * Queries the index for the given {@link IndexQuery} predicates, returning the matching entity IDs in the given
+     * {@link IndexOrder order} of their indexed values. Only supported if {@link #supportsOrder(IndexOrder, IndexQuery...)}
+     * returns {@code true} for the same arguments.
+     *
+     * @param order the order to return the matching entity IDs in.
+     * @param predicates the predicates to query for.
+     * @return the matching entity IDs, ordered by indexed value.
+     */
+    default PrimitiveLongIterator orderedQuery( IndexOrder order, IndexQuery... predicates )
+            throws IndexNotApplicableKernelException
+    {
+        throw new UnsupportedOperationException( getClass().getSimpleName() + " can not return results in " + order +
+                                                 " order" );
+    }
+
+    /**
+     * @param predicates query to determine whether or not this reader can return indexed values for.
+     * @return whether or not {@link #queryWithValues(IndexQuery...)} can be called with the given {@code predicates}.
+     * Values are only returned by indexes storing the exact indexed values, not e.g. hashes or approximations of them.
+     */
+    default boolean canProvideValues( IndexQuery... predicates )
+    {
+        return false;
+    }
+
+    /**
+     * Queries the index for the given {@link IndexQuery} predicates, like {@link #query(IndexQuery...)}, but where
+     * the indexed values of each matching entity can be retrieved from the returned iterator as well.
+     * Only supported if {@link #canProvideValues(IndexQuery...)} returns {@code true} for the same predicates.
+     *
+     * @param predicates the predicates to query for.
+     * @return the matching entity IDs, together with their indexed values.
+     */
+    default NodeValueIterator queryWithValues( IndexQuery... predicates ) throws IndexNotApplicableKernelException
+    {
+        throw new UnsupportedOperationException( getClass().getSimpleName() + " can not provide indexed values" );
+    }
+
     IndexReader EMPTY = new IndexReader()
     {
         // Used for checking index correctness
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.storageengine.api.schema;
+
+import java.util.NoSuchElementException;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.values.storable.Value;
+
+/**
+ * {@link PrimitiveLongIterator} over node ids matching an index query, which can also provide the indexed
+ * property values of the most recently returned node, without having to read them from the node.
+ */
+public interface NodeValueIterator extends PrimitiveLongIterator
+{
+    NodeValueIterator EMPTY = new NodeValueIterator()
+    {
+        @Override
+        public boolean hasNext()
+        {
+            return false;
+        }
+
+        @Override
+        public long next()
+        {
+            throw new NoSuchElementException();
+        }
+
+        @Override
+        public Value[] values()
+        {
+            throw new IllegalStateException( "No current node" );
+        }
+    };
+
+    /**
+     * Returns the indexed property values of the node most recently returned from {@link #next()}, one value
+     * for each property of the index, in the order of the index properties. Only valid after a call to
+     * {@link #next()} and before the next call to {@link #hasNext()}.
+     *
+     * @return the indexed property values of the current node.
+     */
+    Value[] values();
+}
@@ -25,9 +25,11 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.collection.primitive.PrimitiveLongSet;
 import org.neo4j.graphdb.schema.IndexDefinition;
@@ -37,20 +39,27 @@ import org.neo4j.kernel.api.Statement;
 import org.neo4j.kernel.api.exceptions.index.IndexNotApplicableKernelException;
 import org.neo4j.kernel.api.exceptions.index.IndexNotFoundKernelException;
 import org.neo4j.kernel.api.exceptions.schema.SchemaRuleNotFoundException;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
 import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
 import org.neo4j.kernel.api.schema.index.IndexDescriptor;
 import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.test.mockito.matcher.Neo4jMatchers;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.test.rule.ImpermanentDatabaseRule;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.neo4j.helpers.collection.Iterators.asSet;
 import static org.neo4j.helpers.collection.Iterators.count;
+import static org.neo4j.helpers.collection.MapUtil.genericMap;
 import static org.neo4j.helpers.collection.MapUtil.map;
+import static org.neo4j.kernel.api.schema.IndexQuery.range;
 import static org.neo4j.kernel.api.schema.IndexQuery.stringPrefix;
 import static org.neo4j.kernel.impl.coreapi.schema.PropertyNameUtils.getPropertyIds;
 import static org.neo4j.test.mockito.matcher.Neo4jMatchers.containsOnly;
@@ -604,6 +613,123 @@ public class IndexingAcceptanceTest
         assertThat( found, equalTo( expected ) );
     }
 
+    @Test
+    public void shouldSupportOrderedIndexSeekByRange()
+            throws SchemaRuleNotFoundException, IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        // GIVEN
+        GraphDatabaseService db = dbRule.getGraphDatabaseAPI();
+        IndexDefinition index = Neo4jMatchers.createIndex( db, LABEL1, "age" );
+        long[] nodes = new long[5];
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( int age : new int[]{30, 10, 40, 20, 50} )
+            {
+                nodes[age / 10 - 1] = createNode( db, map( "age", age ), LABEL1 ).getId();
+            }
+            tx.success();
+        }
+
+        // WHEN
+        try ( Transaction tx = db.beginTx();
+              Statement statement = getStatement( (GraphDatabaseAPI) db ) )
+        {
+            ReadOperations ops = statement.readOperations();
+            IndexDescriptor descriptor = indexDescriptor( ops, index );
+            int propertyKeyId = descriptor.schema().getPropertyId();
+
+            // THEN
+            assertArrayEquals( new long[]{nodes[1], nodes[2], nodes[3]}, PrimitiveLongCollections.asArray(
+                    ops.orderedIndexQuery( descriptor, IndexOrder.ASCENDING, range( propertyKeyId, 20, true, 40, true ) ) ) );
+            assertArrayEquals( new long[]{nodes[3], nodes[2], nodes[1]}, PrimitiveLongCollections.asArray(
+                    ops.orderedIndexQuery( descriptor, IndexOrder.DESCENDING, range( propertyKeyId, 20, true, 40, true ) ) ) );
+        }
+    }
+
+    @Test
+    public void shouldIncludeNodesChangedInSameTxInOrderedIndexSeekByRange()
+            throws SchemaRuleNotFoundException, IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        // GIVEN
+        GraphDatabaseService db = dbRule.getGraphDatabaseAPI();
+        IndexDefinition index = Neo4jMatchers.createIndex( db, LABEL1, "age" );
+        long first;
+        long second;
+        try ( Transaction tx = db.beginTx() )
+        {
+            first = createNode( db, map( "age", 10 ), LABEL1 ).getId();
+            second = createNode( db, map( "age", 20 ), LABEL1 ).getId();
+            tx.success();
+        }
+
+        // WHEN
+        try ( Transaction tx = db.beginTx() )
+        {
+            long third = createNode( db, map( "age", 15 ), LABEL1 ).getId();
+            db.getNodeById( first ).setProperty( "age", 25 );
+            try ( Statement statement = getStatement( (GraphDatabaseAPI) db ) )
+            {
+                ReadOperations ops = statement.readOperations();
+                IndexDescriptor descriptor = indexDescriptor( ops, index );
+                int propertyKeyId = descriptor.schema().getPropertyId();
+
+                // THEN
+                assertArrayEquals( new long[]{third, second, first}, PrimitiveLongCollections.asArray(
+                        ops.orderedIndexQuery( descriptor, IndexOrder.ASCENDING, range( propertyKeyId, 0, true, 30, true ) ) ) );
+                assertArrayEquals( new long[]{first, second, third}, PrimitiveLongCollections.asArray(
+                        ops.orderedIndexQuery( descriptor, IndexOrder.DESCENDING, range( propertyKeyId, 0, true, 30, true ) ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnIndexedValuesOfNodesChangedInSameTx()
+            throws SchemaRuleNotFoundException, IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        // GIVEN
+        GraphDatabaseService db = dbRule.getGraphDatabaseAPI();
+        IndexDefinition index = Neo4jMatchers.createIndex( db, LABEL1, "age" );
+        long first;
+        long second;
+        try ( Transaction tx = db.beginTx() )
+        {
+            first = createNode( db, map( "age", 10 ), LABEL1 ).getId();
+            second = createNode( db, map( "age", 20 ), LABEL1 ).getId();
+            tx.success();
+        }
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            // WHEN
+            Map<Long,Value> committedValues = indexedValues( db, index, 0, 30 );
+            db.getNodeById( first ).setProperty( "age", 25 );
+            Map<Long,Value> changedValues = indexedValues( db, index, 0, 30 );
+
+            // THEN
+            assertEquals( genericMap( first, Values.of( 10 ), second, Values.of( 20 ) ), committedValues );
+            assertEquals( genericMap( first, Values.of( 25 ), second, Values.of( 20 ) ), changedValues );
+        }
+    }
+
+    private Map<Long,Value> indexedValues( GraphDatabaseService db, IndexDefinition index, int from, int to )
+            throws SchemaRuleNotFoundException, IndexNotFoundKernelException, IndexNotApplicableKernelException
+    {
+        try ( Statement statement = getStatement( (GraphDatabaseAPI) db ) )
+        {
+            ReadOperations ops = statement.readOperations();
+            IndexDescriptor descriptor = indexDescriptor( ops, index );
+            NodeValueIterator nodes = ops.indexQueryWithValues( descriptor,
+                    range( descriptor.schema().getPropertyId(), from, true, to, true ) );
+            Map<Long,Value> values = new HashMap<>();
+            while ( nodes.hasNext() )
+            {
+                long node = nodes.next();
+                values.put( node, nodes.values()[0] );
+            }
+            return values;
+        }
+    }
+
     private PrimitiveLongSet createNodes( GraphDatabaseService db, Label label, String propertyKey, String... propertyValues )
     {
         PrimitiveLongSet expected = Primitive.longSet();
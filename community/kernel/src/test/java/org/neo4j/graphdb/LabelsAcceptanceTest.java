@@ -39,6 +39,7 @@ import org.neo4j.graphdb.factory.GraphDatabaseBuilder;
 import org.neo4j.helpers.collection.Iterables;
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.kernel.GraphDatabaseDependencies;
+import org.neo4j.kernel.api.ReadOperations;
 import org.neo4j.kernel.api.Statement;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
@@ -74,6 +75,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.neo4j.collection.primitive.PrimitiveIntCollections.consume;
+import static org.neo4j.collection.primitive.PrimitiveLongCollections.toSet;
 import static org.neo4j.graphdb.Label.label;
 import static org.neo4j.helpers.collection.Iterables.asList;
 import static org.neo4j.helpers.collection.Iterables.map;
@@ -405,6 +407,43 @@ public class LabelsAcceptanceTest
         assertEquals( asSet( node1, node2 ), nodesWithMyOtherLabel );
     }
 
+    @Test
+    public void getNodesWithAllLabelsWithTxAddsAndRemoves() throws Exception
+    {
+        // GIVEN
+        GraphDatabaseAPI db = dbRule.getGraphDatabaseAPI();
+        Node node1 = createNode( db, Labels.MY_LABEL, Labels.MY_OTHER_LABEL );
+        Node node2 = createNode( db, Labels.MY_LABEL, Labels.MY_OTHER_LABEL );
+        Node node3 = createNode( db, Labels.MY_LABEL, Labels.MY_OTHER_LABEL );
+        Node node4 = createNode( db, Labels.MY_LABEL );
+        createNode( db, Labels.MY_OTHER_LABEL );
+
+        // WHEN
+        Node node5;
+        Set<Long> nodesWithBothLabels;
+        try ( Transaction tx = db.beginTx() )
+        {
+            node5 = db.createNode( Labels.MY_LABEL, Labels.MY_OTHER_LABEL );
+            db.createNode( Labels.MY_LABEL );
+            node2.removeLabel( Labels.MY_OTHER_LABEL );
+            node3.delete();
+            node4.addLabel( Labels.MY_OTHER_LABEL );
+            ThreadToStatementContextBridge bridge =
+                    db.getDependencyResolver().resolveDependency( ThreadToStatementContextBridge.class );
+            try ( Statement statement = bridge.get() )
+            {
+                ReadOperations readOperations = statement.readOperations();
+                nodesWithBothLabels = toSet( readOperations.nodesGetForAllLabels(
+                        readOperations.labelGetForName( Labels.MY_LABEL.name() ),
+                        readOperations.labelGetForName( Labels.MY_OTHER_LABEL.name() ) ) );
+            }
+            tx.success();
+        }
+
+        // THEN
+        assertEquals( asSet( node1.getId(), node4.getId(), node5.getId() ), nodesWithBothLabels );
+    }
+
     @Test
     public void shouldListAllExistingLabels() throws Exception
     {
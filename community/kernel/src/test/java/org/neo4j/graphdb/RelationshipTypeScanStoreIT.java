@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphdb;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Set;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
+import org.neo4j.kernel.api.ReadOperations;
+import org.neo4j.kernel.api.Statement;
+import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
+import org.neo4j.kernel.impl.index.labelscan.NativeRelationshipTypeScanStore;
+import org.neo4j.test.rule.DatabaseRule;
+import org.neo4j.test.rule.EmbeddedDatabaseRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.neo4j.helpers.collection.Iterators.asSet;
+
+public class RelationshipTypeScanStoreIT
+{
+    private static final RelationshipType KNOWS = RelationshipType.withName( "KNOWS" );
+    private static final RelationshipType LIKES = RelationshipType.withName( "LIKES" );
+
+    @Rule
+    public final DatabaseRule db = new EmbeddedDatabaseRule();
+
+    @Test
+    public void shouldFindCommittedRelationshipsByType() throws Exception
+    {
+        // GIVEN
+        long knows1 = createRelationship( KNOWS );
+        createRelationship( LIKES );
+        long knows2 = createRelationship( KNOWS );
+
+        // WHEN
+        Set<Long> relationships = relationshipsWithType( KNOWS );
+
+        // THEN
+        assertEquals( asSet( knows1, knows2 ), relationships );
+    }
+
+    @Test
+    public void shouldFindRelationshipsByTypeIncludingTransactionState() throws Exception
+    {
+        // GIVEN
+        long knows1 = createRelationship( KNOWS );
+        long knows2 = createRelationship( KNOWS );
+
+        try ( Transaction tx = db.beginTx() )
+        {
+            // WHEN
+            db.getRelationshipById( knows1 ).delete();
+            long knows3 = db.createNode().createRelationshipTo( db.createNode(), KNOWS ).getId();
+            db.createNode().createRelationshipTo( db.createNode(), LIKES );
+
+            // THEN
+            assertEquals( asSet( knows2, knows3 ), relationshipsWithType( KNOWS ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void shouldNotFindDeletedRelationships() throws Exception
+    {
+        // GIVEN
+        long knows1 = createRelationship( KNOWS );
+        long knows2 = createRelationship( KNOWS );
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getRelationshipById( knows1 ).delete();
+            tx.success();
+        }
+
+        // WHEN
+        Set<Long> relationships = relationshipsWithType( KNOWS );
+
+        // THEN
+        assertEquals( asSet( knows2 ), relationships );
+    }
+
+    @Test
+    public void shouldRebuildFromRelationshipStoreIfScanStoreIsMissing() throws Exception
+    {
+        // GIVEN
+        long knows1 = createRelationship( KNOWS );
+        long likes = createRelationship( LIKES );
+        long knows2 = createRelationship( KNOWS );
+
+        // WHEN
+        db.restartDatabase( ( fs, storeDir ) ->
+                fs.deleteFile( new File( storeDir, NativeRelationshipTypeScanStore.FILE_NAME ) ) );
+
+        // THEN
+        assertEquals( asSet( knows1, knows2 ), relationshipsWithType( KNOWS ) );
+        assertEquals( asSet( likes ), relationshipsWithType( LIKES ) );
+    }
+
+    private long createRelationship( RelationshipType type )
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            Relationship relationship = db.createNode().createRelationshipTo( db.createNode(), type );
+            tx.success();
+            return relationship.getId();
+        }
+    }
+
+    private Set<Long> relationshipsWithType( RelationshipType type )
+    {
+        try ( Transaction tx = db.beginTx();
+              Statement statement = db.getDependencyResolver()
+                      .resolveDependency( ThreadToStatementContextBridge.class )
+                      .getKernelTransactionBoundToThisThread( true ).acquireStatement() )
+        {
+            ReadOperations readOperations = statement.readOperations();
+            int typeId = readOperations.relationshipTypeGetForName( type.name() );
+            Set<Long> relationships = PrimitiveLongCollections.toSet(
+                    readOperations.relationshipsGetForType( typeId ) );
+            tx.success();
+            return relationships;
+        }
+    }
+}
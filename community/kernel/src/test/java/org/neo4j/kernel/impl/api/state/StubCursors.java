@@ -24,6 +24,7 @@ import java.util.Iterator;
 
 import org.neo4j.collection.primitive.PrimitiveIntCollections;
 import org.neo4j.collection.primitive.PrimitiveIntSet;
+import org.neo4j.collection.primitive.PrimitiveIntVisitor;
 import org.neo4j.cursor.Cursor;
 import org.neo4j.helpers.collection.Iterables;
 import org.neo4j.kernel.api.properties.PropertyKeyValue;
@@ -101,6 +102,12 @@ public class StubCursors
             return labels.contains( labelId );
         }
 
+        @Override
+        public <E extends Exception> void visitLabels( PrimitiveIntVisitor<E> visitor ) throws E
+        {
+            labels.visitKeys( visitor );
+        }
+
         @Override
         public long nextGroupId()
         {
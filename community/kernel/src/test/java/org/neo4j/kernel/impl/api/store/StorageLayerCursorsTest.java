@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.store;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.storageengine.api.Direction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.function.Predicates.ALWAYS_TRUE_INT;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.helpers.collection.MapUtil.map;
+
+/**
+ * Test read access to committed data through {@link StoreCursors}, reusing the same cursors for many entities.
+ */
+public class StorageLayerCursorsTest extends StorageLayerTest
+{
+    @Test
+    public void shouldReadInlinedAndDynamicLabelsThroughReusedNodeCursor() throws Exception
+    {
+        // GIVEN
+        Label[] manyLabels = new Label[20];
+        for ( int i = 0; i < manyLabels.length; i++ )
+        {
+            manyLabels[i] = label( "Label" + i );
+        }
+        long fewLabelsNode = createLabeledNode( db, map(), label1, label2 ).getId();
+        long manyLabelsNode = createLabeledNode( db, map(), manyLabels ).getId();
+        long noLabelsNode = createLabeledNode( db, map() ).getId();
+        Set<Integer> fewLabelIds = labelIds( label1, label2 );
+        Set<Integer> manyLabelIds = labelIds( manyLabels );
+
+        try ( StoreCursors cursors = ((StorageLayer) disk).allocateCursors() )
+        {
+            for ( int i = 0; i < 2; i++ )
+            {
+                // WHEN/THEN
+                assertEquals( fewLabelIds, labelsOf( cursors, fewLabelsNode ) );
+                assertEquals( manyLabelIds, labelsOf( cursors, manyLabelsNode ) );
+                assertEquals( new HashSet<>(), labelsOf( cursors, noLabelsNode ) );
+
+                StoreSingleNodeCursor node = cursors.node( manyLabelsNode );
+                assertTrue( node.next() );
+                assertTrue( node.hasLabel( labelId( manyLabels[manyLabels.length - 1] ) ) );
+                assertFalse( node.hasLabel( labelId( label1 ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldTraverseRelationshipsOfSparseAndDenseNodesThroughReusedCursors() throws Exception
+    {
+        // GIVEN
+        long sparseNode;
+        long denseNode;
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node sparse = db.createNode();
+            Node dense = db.createNode();
+            for ( int i = 0; i < 3; i++ )
+            {
+                sparse.createRelationshipTo( db.createNode(), relType1 );
+            }
+            for ( int i = 0; i < 100; i++ )
+            {
+                dense.createRelationshipTo( db.createNode(), i % 2 == 0 ? relType1 : relType2 );
+            }
+            db.createNode().createRelationshipTo( dense, relType1 );
+            sparseNode = sparse.getId();
+            denseNode = dense.getId();
+            tx.success();
+        }
+        int type1 = relationshipTypeId( relType1 );
+        int type2 = relationshipTypeId( relType2 );
+
+        try ( StoreCursors cursors = ((StorageLayer) disk).allocateCursors() )
+        {
+            for ( int i = 0; i < 2; i++ )
+            {
+                // WHEN/THEN
+                assertEquals( 3, countRelationships( cursors, sparseNode, Direction.BOTH, ALWAYS_TRUE_INT ) );
+                assertEquals( 0, countRelationships( cursors, sparseNode, Direction.INCOMING, ALWAYS_TRUE_INT ) );
+                assertEquals( 101, countRelationships( cursors, denseNode, Direction.BOTH, ALWAYS_TRUE_INT ) );
+                assertEquals( 1, countRelationships( cursors, denseNode, Direction.INCOMING, ALWAYS_TRUE_INT ) );
+                assertEquals( 50, countRelationships( cursors, denseNode, Direction.OUTGOING, type -> type == type1 ) );
+                StoreNodeRelationshipCursor relationships =
+                        cursors.relationships( node( cursors, denseNode ), Direction.BOTH, type -> type == type2 );
+                while ( relationships.next() )
+                {
+                    assertEquals( type2, relationships.type() );
+                    assertEquals( denseNode, relationships.startNode() );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadPropertiesThroughReusedPropertyCursor() throws Exception
+    {
+        // GIVEN
+        long first = createLabeledNode( db, map( propertyKey, "Alistair", otherPropertyKey, 42 ) ).getId();
+        long second = createLabeledNode( db, map( propertyKey, "Bob" ) ).getId();
+        int nameKey = propertyKeyId( propertyKey );
+        int ageKey = propertyKeyId( otherPropertyKey );
+
+        try ( StoreCursors cursors = ((StorageLayer) disk).allocateCursors() )
+        {
+            for ( int i = 0; i < 2; i++ )
+            {
+                // WHEN/THEN
+                Map<Integer,Object> firstProperties = propertiesOf( cursors, first );
+                assertEquals( 2, firstProperties.size() );
+                assertEquals( "Alistair", firstProperties.get( nameKey ) );
+                assertEquals( 42, firstProperties.get( ageKey ) );
+                Map<Integer,Object> secondProperties = propertiesOf( cursors, second );
+                assertEquals( 1, secondProperties.size() );
+                assertEquals( "Bob", secondProperties.get( nameKey ) );
+            }
+        }
+    }
+
+    private Set<Integer> labelIds( Label... labels )
+    {
+        Set<Integer> ids = new HashSet<>();
+        for ( Label label : labels )
+        {
+            ids.add( labelId( label ) );
+        }
+        return ids;
+    }
+
+    private static Set<Integer> labelsOf( StoreCursors cursors, long nodeId )
+    {
+        Set<Integer> labels = new HashSet<>();
+        node( cursors, nodeId ).visitLabels( label ->
+        {
+            labels.add( label );
+            return false;
+        } );
+        return labels;
+    }
+
+    private static int countRelationships( StoreCursors cursors, long nodeId, Direction direction,
+            IntPredicate relTypes )
+    {
+        StoreNodeRelationshipCursor relationships =
+                cursors.relationships( node( cursors, nodeId ), direction, relTypes );
+        int count = 0;
+        while ( relationships.next() )
+        {
+            count++;
+        }
+        return count;
+    }
+
+    private static Map<Integer,Object> propertiesOf( StoreCursors cursors, long nodeId )
+    {
+        Map<Integer,Object> properties = new HashMap<>();
+        StorePropertyCursor property = cursors.properties( node( cursors, nodeId ).nextPropertyId() );
+        while ( property.next() )
+        {
+            properties.put( property.propertyKeyId(), property.value().asObject() );
+        }
+        property.close();
+        return properties;
+    }
+
+    private static StoreSingleNodeCursor node( StoreCursors cursors, long nodeId )
+    {
+        StoreSingleNodeCursor node = cursors.node( nodeId );
+        assertTrue( node.next() );
+        return node;
+    }
+}
@@ -30,6 +30,7 @@ import java.util.function.LongConsumer;
 import org.neo4j.graphdb.DependencyResolver;
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.factory.GraphDatabaseSettings;
 import org.neo4j.kernel.impl.core.RelationshipTypeTokenHolder;
@@ -178,6 +179,32 @@ public class StorageLayerRelTypesAndDegreeTest extends StorageLayerTest
         testDegreeByDirectionAndTypeForDenseNodeWithPartiallyDeletedRelChains( true, true, true );
     }
 
+    @Test
+    public void degreeByDirectionAndTypeForDenseNodeWithoutGroupForType()
+    {
+        int inRelCount = randomRelCount();
+        int outRelCount = randomRelCount();
+        int loopRelCount = randomRelCount();
+        long nodeId = createNode( inRelCount, outRelCount, loopRelCount );
+        RelationshipType otherType = RelationshipType.withName( "OTHER" );
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.createNode().createRelationshipTo( db.createNode(), otherType );
+            tx.success();
+        }
+        int otherTypeId = db.getDependencyResolver().resolveDependency( RelationshipTypeTokenHolder.class )
+                .getIdByName( otherType.name() );
+
+        StoreSingleNodeCursor cursor = newCursor( nodeId );
+
+        assertEquals( 0, degreeForDirectionAndType( cursor, OUTGOING, otherTypeId ) );
+        assertEquals( 0, degreeForDirectionAndType( cursor, INCOMING, otherTypeId ) );
+        assertEquals( 0, degreeForDirectionAndType( cursor, BOTH, otherTypeId ) );
+        assertEquals( outRelCount, degreeForDirectionAndType( cursor, OUTGOING, relTypeId( OUT ) ) );
+        assertEquals( inRelCount, degreeForDirectionAndType( cursor, INCOMING, relTypeId( IN ) ) );
+        assertEquals( loopRelCount, degreeForDirectionAndType( cursor, BOTH, relTypeId( LOOP ) ) );
+    }
+
     private void testDegreeByDirectionForDenseNodeWithPartiallyDeletedRelGroupChain( TestRelType... typesToDelete )
     {
         int inRelCount = randomRelCount();
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.store;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.neo4j.collection.primitive.PrimitiveIntVisitor;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.storageengine.api.Direction;
+
+import static org.neo4j.function.Predicates.ALWAYS_TRUE_INT;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.resources.HeapAllocation.HEAP_ALLOCATION;
+
+/**
+ * Measures the number of bytes allocated on the heap per labelled node read and per traversed relationship when
+ * reading through {@link StoreCursors}, which in steady state is expected to be zero.
+ */
+@Ignore( "These are rudimentary benchmarks, but implemented via the jUnit framework to make them easy to run " +
+         "from an IDE." )
+public class StoreCursorsAllocationBenchmarks extends StorageLayerTest
+{
+    private static final int NODES = 10_000;
+    private static final int RELATIONSHIPS_PER_NODE = 10;
+    // Every this many nodes has so many labels that they are stored in dynamic records, and is dense
+    private static final int MANY_LABELS_NODE_INTERVAL = 100;
+    private static final int WARMUP = 10;
+    private static final int TRIALS = 10;
+
+    private long sum;
+    private final PrimitiveIntVisitor<RuntimeException> labelVisitor = label ->
+    {
+        sum += label;
+        return false;
+    };
+
+    @Test
+    public void readLabelsOfNodes()
+    {
+        createGraph();
+        try ( StoreCursors cursors = ((StorageLayer) disk).allocateCursors() )
+        {
+            for ( int i = 0; i < WARMUP; i++ )
+            {
+                readLabels( cursors );
+            }
+            long allocatedBytes = 0;
+            long nodes = 0;
+            for ( int i = 0; i < TRIALS; i++ )
+            {
+                long before = HEAP_ALLOCATION.allocatedBytes( Thread.currentThread() );
+                nodes += readLabels( cursors );
+                allocatedBytes += HEAP_ALLOCATION.allocatedBytes( Thread.currentThread() ) - before;
+            }
+            System.out.printf( "%.3f bytes allocated per labelled node read%n", (double) allocatedBytes / nodes );
+        }
+    }
+
+    @Test
+    public void traverseRelationshipsOfNodes()
+    {
+        createGraph();
+        try ( StoreCursors cursors = ((StorageLayer) disk).allocateCursors() )
+        {
+            for ( int i = 0; i < WARMUP; i++ )
+            {
+                traverseRelationships( cursors );
+            }
+            long allocatedBytes = 0;
+            long relationships = 0;
+            for ( int i = 0; i < TRIALS; i++ )
+            {
+                long before = HEAP_ALLOCATION.allocatedBytes( Thread.currentThread() );
+                relationships += traverseRelationships( cursors );
+                allocatedBytes += HEAP_ALLOCATION.allocatedBytes( Thread.currentThread() ) - before;
+            }
+            System.out.printf( "%.3f bytes allocated per traversed relationship%n",
+                    (double) allocatedBytes / relationships );
+        }
+    }
+
+    private long readLabels( StoreCursors cursors )
+    {
+        long nodes = 0;
+        for ( long nodeId = 0; nodeId < NODES; nodeId++ )
+        {
+            StoreSingleNodeCursor node = cursors.node( nodeId );
+            if ( node.next() )
+            {
+                node.visitLabels( labelVisitor );
+                nodes++;
+            }
+        }
+        return nodes;
+    }
+
+    private long traverseRelationships( StoreCursors cursors )
+    {
+        long relationships = 0;
+        for ( long nodeId = 0; nodeId < NODES; nodeId++ )
+        {
+            StoreSingleNodeCursor node = cursors.node( nodeId );
+            if ( node.next() )
+            {
+                StoreNodeRelationshipCursor relationship = cursors.relationships( node, Direction.BOTH,
+                        ALWAYS_TRUE_INT );
+                while ( relationship.next() )
+                {
+                    sum += relationship.otherNode( nodeId );
+                    relationships++;
+                }
+            }
+        }
+        return relationships;
+    }
+
+    private void createGraph()
+    {
+        Label[] manyLabels = new Label[20];
+        for ( int i = 0; i < manyLabels.length; i++ )
+        {
+            manyLabels[i] = label( "Label" + i );
+        }
+        int batch = 1_000;
+        for ( int i = 0; i < NODES; i += batch )
+        {
+            try ( Transaction tx = db.beginTx() )
+            {
+                for ( int j = i; j < i + batch; j++ )
+                {
+                    if ( j % MANY_LABELS_NODE_INTERVAL == 0 )
+                    {
+                        db.createNode( manyLabels );
+                    }
+                    else
+                    {
+                        db.createNode( label1, label2 );
+                    }
+                }
+                tx.success();
+            }
+        }
+        for ( int i = 0; i < NODES; i += batch )
+        {
+            try ( Transaction tx = db.beginTx() )
+            {
+                for ( int j = i; j < i + batch; j++ )
+                {
+                    Node node = db.getNodeById( j );
+                    int relationships = j % MANY_LABELS_NODE_INTERVAL == 0 ? 100 : RELATIONSHIPS_PER_NODE;
+                    for ( int k = 0; k < relationships; k++ )
+                    {
+                        node.createRelationshipTo( db.getNodeById( (j + k + 1) % NODES ),
+                                k % 2 == 0 ? relType1 : relType2 );
+                    }
+                }
+                tx.success();
+            }
+        }
+    }
+}
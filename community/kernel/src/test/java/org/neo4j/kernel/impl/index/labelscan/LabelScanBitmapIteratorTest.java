@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.labelscan;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.index.internal.gbptree.Hit;
+
+import static java.lang.Math.toIntExact;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LabelScanBitmapIteratorTest
+{
+    private final Set<RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException>> openCursors = new HashSet<>();
+    private final List<long[]> labels = new ArrayList<>();
+    private int seeks;
+
+    @Test
+    public void mustHandleNoLabels() throws Exception
+    {
+        // when
+        LabelScanBitmapIterator iterator = iterator( false );
+
+        // then
+        assertFalse( iterator.hasNext() );
+        try
+        {
+            iterator.next();
+            fail( "Expected iterator to throw" );
+        }
+        catch ( NoSuchElementException e )
+        {
+            // Good
+        }
+    }
+
+    @Test
+    public void mustHandleMultipleEmptyLabels() throws Exception
+    {
+        // when
+        LabelScanBitmapIterator iterator = iterator( false, new long[0], new long[0], new long[0] );
+
+        // then
+        assertFalse( iterator.hasNext() );
+        assertTrue( openCursors.isEmpty() );
+    }
+
+    /* ALL = FALSE */
+    @Test
+    public void mustReportAllFromSingleLabel() throws Exception
+    {
+        // given
+        long[] expected = {0L, 1L, 64L, 1000L, Long.MAX_VALUE};
+
+        // when
+        LabelScanBitmapIterator iterator = iterator( false, expected );
+
+        // then
+        assertArrayEquals( expected, PrimitiveLongCollections.asArray( iterator ) );
+    }
+
+    @Test
+    public void mustReportUniqueValuesFromOverlappingLabels() throws Exception
+    {
+        // given
+        long[] first    = {0L,     2L,          130L,       Long.MAX_VALUE};
+        long[] second   = {    1L,     3L,            200L                };
+        long[] third    = {0L,         3L, 64L                            };
+        long[] fourth   = {/* Empty */                                    };
+        long[] expected = {0L, 1L, 2L, 3L, 64L, 130L, 200L, Long.MAX_VALUE};
+
+        // when
+        LabelScanBitmapIterator iterator = iterator( false, first, second, third, fourth );
+
+        // then
+        assertArrayEquals( expected, PrimitiveLongCollections.asArray( iterator ) );
+        assertTrue( openCursors.isEmpty() );
+    }
+
+    /* ALL = TRUE */
+    @Test
+    public void mustOnlyReportValuesReportedByAll() throws Exception
+    {
+        // given
+        long[] first    = {0L,         65L, 300L,       Long.MAX_VALUE};
+        long[] second   = {0L, 1L,     65L,       500L, Long.MAX_VALUE};
+        long[] third    = {0L, 1L, 2L, 65L, 301L, 500L, Long.MAX_VALUE};
+        long[] expected = {0L,         65L,             Long.MAX_VALUE};
+
+        // when
+        LabelScanBitmapIterator iterator = iterator( true, first, second, third );
+
+        // then
+        assertArrayEquals( expected, PrimitiveLongCollections.asArray( iterator ) );
+        assertTrue( openCursors.isEmpty() );
+    }
+
+    @Test
+    public void mustOnlyReportValuesReportedByAllWithOneEmpty() throws Exception
+    {
+        // given
+        long[] first  = {0L,         Long.MAX_VALUE};
+        long[] second = {0L, 1L,     Long.MAX_VALUE};
+        long[] third  = {/* Empty */               };
+
+        // when
+        LabelScanBitmapIterator iterator = iterator( true, first, second, third );
+
+        // then
+        assertArrayEquals( new long[0], PrimitiveLongCollections.asArray( iterator ) );
+        assertTrue( openCursors.isEmpty() );
+    }
+
+    @Test
+    public void mustReseekLaggingLabelInsteadOfReadingThroughAllItsRanges() throws Exception
+    {
+        // given
+        int ranges = LabelScanValue.RANGE_SIZE * 100;
+        long[] dense = new long[ranges];
+        for ( int i = 0; i < ranges; i++ )
+        {
+            dense[i] = i * LabelScanValue.RANGE_SIZE;
+        }
+        long last = dense[ranges - 1];
+        long[] sparse = {dense[0], last};
+
+        // when
+        LabelScanBitmapIterator iterator = iterator( true, dense, sparse );
+
+        // then
+        assertArrayEquals( new long[]{dense[0], last}, PrimitiveLongCollections.asArray( iterator ) );
+        assertEquals( 3, seeks );
+        assertTrue( openCursors.isEmpty() );
+    }
+
+    private LabelScanBitmapIterator iterator( boolean trueForAll, long[]... nodeIdsPerLabel )
+    {
+        int[] labelIds = new int[nodeIdsPerLabel.length];
+        for ( int i = 0; i < nodeIdsPerLabel.length; i++ )
+        {
+            labels.add( nodeIdsPerLabel[i] );
+            labelIds[i] = i;
+        }
+        return new LabelScanBitmapIterator( labelIds, trueForAll, this::seek, openCursors );
+    }
+
+    private RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> seek( int labelId, long fromRange )
+    {
+        seeks++;
+        TreeMap<Long,LabelScanValue> bitsPerRange = new TreeMap<>();
+        for ( long nodeId : labels.get( labelId ) )
+        {
+            long range = nodeId / LabelScanValue.RANGE_SIZE;
+            bitsPerRange.computeIfAbsent( range, r -> new LabelScanValue() )
+                    .set( toIntExact( nodeId % LabelScanValue.RANGE_SIZE ) );
+        }
+        Iterator<Long> ranges = bitsPerRange.tailMap( fromRange ).keySet().iterator();
+        RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException> cursor =
+                new RawCursor<Hit<LabelScanKey,LabelScanValue>,IOException>()
+        {
+            private Hit<LabelScanKey,LabelScanValue> current;
+
+            @Override
+            public boolean next()
+            {
+                if ( !ranges.hasNext() )
+                {
+                    return false;
+                }
+                long range = ranges.next();
+                current = new MutableHit<>( new LabelScanKey( labelId, range ), bitsPerRange.get( range ) );
+                return true;
+            }
+
+            @Override
+            public Hit<LabelScanKey,LabelScanValue> get()
+            {
+                return current;
+            }
+
+            @Override
+            public void close()
+            {
+            }
+        };
+        openCursors.add( cursor );
+        return cursor;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.labelscan;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.test.rule.RandomRule;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LabelScanLayoutTest
+{
+    @Rule
+    public final RandomRule random = new RandomRule();
+
+    private final LabelScanLayout layout = new LabelScanLayout();
+
+    @Test
+    public void shouldStoreSparseValueAsArray() throws Exception
+    {
+        // GIVEN
+        LabelScanValue value = new LabelScanValue();
+        value.set( 3 );
+        value.set( 500 );
+        value.set( 1000 );
+
+        // WHEN
+        PageCursor cursor = write( value );
+
+        // THEN
+        assertEquals( LabelScanLayout.TYPE_ARRAY, cursor.getByte( 0 ) );
+        assertEquals( 1 + 3 * Short.BYTES, layout.valueSize( value ) );
+        assertReadsBack( value, cursor );
+    }
+
+    @Test
+    public void shouldStoreConsecutiveNodesAsRuns() throws Exception
+    {
+        // GIVEN
+        LabelScanValue value = new LabelScanValue();
+        value.setRange( 0, 700 );
+        value.setRange( 800, LabelScanValue.RANGE_SIZE );
+
+        // WHEN
+        PageCursor cursor = write( value );
+
+        // THEN
+        assertEquals( LabelScanLayout.TYPE_RUN, cursor.getByte( 0 ) );
+        assertEquals( 1 + 2 * 2 * Short.BYTES, layout.valueSize( value ) );
+        assertReadsBack( value, cursor );
+    }
+
+    @Test
+    public void shouldStoreDenseValueAsBitmap() throws Exception
+    {
+        // GIVEN
+        LabelScanValue value = new LabelScanValue();
+        for ( int i = 0; i < LabelScanValue.RANGE_SIZE; i += 2 )
+        {
+            value.set( i );
+        }
+
+        // WHEN
+        PageCursor cursor = write( value );
+
+        // THEN
+        assertEquals( LabelScanLayout.TYPE_BITMAP, cursor.getByte( 0 ) );
+        assertEquals( layout.valueSize(), layout.valueSize( value ) );
+        assertReadsBack( value, cursor );
+    }
+
+    @Test
+    public void shouldReadBackRandomValues() throws Exception
+    {
+        for ( int round = 0; round < 1_000; round++ )
+        {
+            // GIVEN
+            LabelScanValue value = new LabelScanValue();
+            int density = random.nextInt( 1, 100 );
+            for ( int i = 0; i < LabelScanValue.RANGE_SIZE; i++ )
+            {
+                if ( random.nextInt( 100 ) < density )
+                {
+                    int length = random.nextInt( 1, 50 );
+                    value.setRange( i, Math.min( i + length, LabelScanValue.RANGE_SIZE ) );
+                    i += length;
+                }
+            }
+
+            // WHEN
+            PageCursor cursor = write( value );
+
+            // THEN
+            assertTrue( layout.valueSize( value ) <= layout.valueSize() );
+            assertReadsBack( value, cursor );
+        }
+    }
+
+    @Test
+    public void shouldReadGarbageWithoutFailing() throws Exception
+    {
+        for ( int round = 0; round < 1_000; round++ )
+        {
+            // GIVEN
+            byte[] garbage = new byte[random.nextInt( 1, layout.valueSize() + 1 )];
+            random.nextBytes( garbage );
+            PageCursor cursor = ByteArrayPageCursor.wrap( garbage );
+
+            // WHEN
+            layout.readValue( cursor, new LabelScanValue(), garbage.length );
+
+            // THEN no exception is thrown, the read is expected to be retried
+        }
+    }
+
+    private PageCursor write( LabelScanValue value )
+    {
+        PageCursor cursor = ByteArrayPageCursor.wrap( layout.valueSize() );
+        layout.writeValue( cursor, value );
+        assertEquals( layout.valueSize( value ), cursor.getOffset() );
+        return cursor;
+    }
+
+    private void assertReadsBack( LabelScanValue expected, PageCursor cursor )
+    {
+        LabelScanValue read = new LabelScanValue();
+        read.set( 42 );
+        cursor.setOffset( 0 );
+        layout.readValue( cursor, read, layout.valueSize( expected ) );
+        assertArrayEquals( expected.words, read.words );
+    }
+}
@@ -22,6 +22,8 @@ package org.neo4j.kernel.impl.index.labelscan;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class LabelScanValueTest
 {
@@ -30,15 +32,15 @@ public class LabelScanValueTest
     {
         // GIVEN
         LabelScanValue value = new LabelScanValue();
-        value.bits = 0b0000__1000_0100__0010_0001;
+        value.words[0] = 0b0000__1000_0100__0010_0001;
 
         // WHEN
         LabelScanValue other = new LabelScanValue();
-        other.bits = 0b1100__0100_0100__0100_0100;
+        other.words[0] = 0b1100__0100_0100__0100_0100;
         value.add( other );
 
         // THEN
-        assertEquals( 0b1100__1100_0100__0110_0101, value.bits );
+        assertEquals( 0b1100__1100_0100__0110_0101, value.words[0] );
     }
 
     @Test
@@ -46,14 +48,65 @@ public class LabelScanValueTest
     {
         // GIVEN
         LabelScanValue value = new LabelScanValue();
-        value.bits = 0b1100__1000_0100__0010_0001;
+        value.words[0] = 0b1100__1000_0100__0010_0001;
 
         // WHEN
         LabelScanValue other = new LabelScanValue();
-        other.bits = 0b1000__0100_0100__0100_0100;
+        other.words[0] = 0b1000__0100_0100__0100_0100;
         value.remove( other );
 
         // THEN
-        assertEquals( 0b0100__1000_0000__0010_0001, value.bits );
+        assertEquals( 0b0100__1000_0000__0010_0001, value.words[0] );
+    }
+
+    @Test
+    public void shouldSetBitsInAllWords() throws Exception
+    {
+        // GIVEN
+        LabelScanValue value = new LabelScanValue();
+
+        // WHEN
+        value.set( 0 );
+        value.set( 63 );
+        value.set( 64 );
+        value.set( LabelScanValue.RANGE_SIZE - 1 );
+
+        // THEN
+        assertEquals( 1L | 1L << 63, value.words[0] );
+        assertEquals( 1L, value.words[1] );
+        assertEquals( 1L << 63, value.words[LabelScanValue.WORDS - 1] );
+        assertEquals( 4, value.cardinality() );
+    }
+
+    @Test
+    public void shouldCountRunsAcrossWords() throws Exception
+    {
+        // GIVEN
+        LabelScanValue value = new LabelScanValue();
+
+        // WHEN
+        value.setRange( 10, 200 );
+        value.set( 300 );
+        value.setRange( 1000, LabelScanValue.RANGE_SIZE );
+
+        // THEN
+        assertEquals( 3, value.runs() );
+        assertEquals( 190 + 1 + LabelScanValue.RANGE_SIZE - 1000, value.cardinality() );
+    }
+
+    @Test
+    public void shouldBeEmptyAfterClear() throws Exception
+    {
+        // GIVEN
+        LabelScanValue value = new LabelScanValue();
+        value.set( 500 );
+        assertFalse( value.isEmpty() );
+
+        // WHEN
+        value.clear();
+
+        // THEN
+        assertTrue( value.isEmpty() );
+        assertEquals( 0, value.runs() );
     }
 }
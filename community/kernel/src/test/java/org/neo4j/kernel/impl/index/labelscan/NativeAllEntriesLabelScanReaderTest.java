@@ -162,12 +162,16 @@ public class NativeAllEntriesLabelScanReaderTest
                 if ( entry.first().idRange == rangeId )
                 {
                     long baseNodeId = entry.first().idRange * RANGE_SIZE;
-                    long bits = entry.other().bits;
-                    while ( bits != 0 )
+                    long[] words = entry.other().words;
+                    for ( int i = 0; i < words.length; i++ )
                     {
-                        long nodeId = baseNodeId + Long.numberOfTrailingZeros( bits );
-                        result.computeIfAbsent( nodeId, id -> new ArrayList<>() ).add( (long) label.labelId );
-                        bits &= bits - 1;
+                        long bits = words[i];
+                        while ( bits != 0 )
+                        {
+                            long nodeId = baseNodeId + i * Long.SIZE + Long.numberOfTrailingZeros( bits );
+                            result.computeIfAbsent( nodeId, id -> new ArrayList<>() ).add( (long) label.labelId );
+                            bits &= bits - 1;
+                        }
                     }
                 }
             }
@@ -212,7 +216,7 @@ public class NativeAllEntriesLabelScanReaderTest
             long range = nodeId / RANGE_SIZE;
             if ( range != currentRange )
             {
-                if ( value.bits != 0 )
+                if ( !value.isEmpty() )
                 {
                     entries.add( Pair.of( new LabelScanKey().set( labelId, currentRange ), value ) );
                     value = new LabelScanValue();
@@ -222,7 +226,7 @@ public class NativeAllEntriesLabelScanReaderTest
             currentRange = range;
         }
 
-        if ( value.bits != 0 )
+        if ( !value.isEmpty() )
         {
             entries.add( Pair.of( new LabelScanKey().set( labelId, currentRange ), value ) );
         }
@@ -64,12 +64,12 @@ public class NativeLabelScanReaderTest
 
             // THEN
             assertArrayEquals( new long[] {
-                    // base 0*64 = 0
+                    // base 0*1024 = 0
                     1, 6, 7, 11, 15,
-                    // base 1*64 = 64
-                    64 + 3, 64 + 9,
-                    // base 3*64 = 192
-                    192 + 0, 192 + 5, 192 + 7, 192 + 13 },
+                    // base 1*1024 = 1024
+                    1024 + 3, 1024 + 9,
+                    // base 3*1024 = 3072
+                    3072 + 0, 3072 + 5, 3072 + 7, 3072 + 13 },
 
                     asArray( iterator ) );
         }
@@ -141,7 +141,7 @@ public class NativeLabelScanReaderTest
     {
         LabelScanKey key = new LabelScanKey( LABEL_ID, baseNodeId );
         LabelScanValue value = new LabelScanValue();
-        value.bits = bits;
+        value.words[0] = bits;
         return new MutableHit<>( key, value );
     }
 
@@ -164,7 +164,7 @@ public class NativeLabelScanWriterTest
         private static LabelScanValue clone( LabelScanValue value )
         {
             LabelScanValue result = new LabelScanValue();
-            result.bits = value.bits;
+            result.copyFrom( value );
             return result;
         }
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.ValueTuple;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompositeNumberLayoutTest
+{
+    private final CompositeNumberLayout layout = new NonUniqueCompositeNumberLayout( 2 );
+
+    private final Value[] numbers = new Value[]{
+            Values.doubleValue( Double.NEGATIVE_INFINITY ),
+            Values.longValue( Long.MIN_VALUE ),
+            Values.intValue( -1 ),
+            Values.byteValue( (byte) 0 ),
+            Values.floatValue( 0.5f ),
+            Values.shortValue( (short) 1 ),
+            Values.doubleValue( 1.5 ),
+            Values.longValue( Long.MAX_VALUE ),
+            Values.doubleValue( Double.POSITIVE_INFINITY )
+    };
+
+    @Test
+    public void mustSortValueByValue() throws Exception
+    {
+        // given
+        List<ValueTuple> tuples = allTuples();
+        List<CompositeSchemaNumberKey> keys = asKeys( tuples );
+        Collections.shuffle( keys );
+
+        // when
+        keys.sort( layout );
+
+        // then
+        List<ValueTuple> sorted = keys.stream().map( key -> ValueTuple.of( key.asValues() ) ).collect( Collectors.toList() );
+        assertEquals( tuples, sorted );
+    }
+
+    @Test
+    public void shouldWriteAndReadKeys() throws Exception
+    {
+        // given
+        PageCursor cursor = ByteArrayPageCursor.wrap( layout.keySize() );
+        CompositeSchemaNumberKey read = layout.newKey();
+        for ( CompositeSchemaNumberKey key : asKeys( allTuples() ) )
+        {
+            // when
+            cursor.setOffset( 0 );
+            layout.writeKey( cursor, key );
+            cursor.setOffset( 0 );
+            layout.readKey( cursor, read, layout.keySize( key ) );
+
+            // then
+            assertEquals( 0, layout.compare( key, read ) );
+            assertEquals( ValueTuple.of( key.asValues() ), ValueTuple.of( read.asValues() ) );
+            assertEquals( layout.keySize( key ), cursor.getOffset() );
+        }
+    }
+
+    @Test
+    public void minimalSplitterMustSeparateKeysAndOnlyStoreNeededValues() throws Exception
+    {
+        // given
+        List<CompositeSchemaNumberKey> keys = asKeys( allTuples() );
+        keys.sort( layout );
+        PageCursor cursor = ByteArrayPageCursor.wrap( layout.keySize() );
+        CompositeSchemaNumberKey splitter = layout.newKey();
+        CompositeSchemaNumberKey read = layout.newKey();
+
+        for ( int i = 1; i < keys.size(); i++ )
+        {
+            CompositeSchemaNumberKey left = keys.get( i - 1 );
+            CompositeSchemaNumberKey right = keys.get( i );
+
+            // when
+            layout.minimalSplitter( left, right, splitter );
+            cursor.setOffset( 0 );
+            layout.writeKey( cursor, splitter );
+            cursor.setOffset( 0 );
+            layout.readKey( cursor, read, layout.keySize( splitter ) );
+
+            // then
+            assertTrue( layout.compare( left, read ) < 0 );
+            assertTrue( layout.compare( read, right ) <= 0 );
+            assertTrue( layout.keySize( splitter ) <= layout.keySize( right ) );
+            if ( RawBits.compare( left.rawValueBits[0], left.types[0], right.rawValueBits[0], right.types[0] ) != 0 )
+            {
+                // first value is enough to separate the keys
+                assertEquals( CompositeSchemaNumberKey.size( 1 ), layout.keySize( splitter ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldHaveNumberOfValuesInIdentifier() throws Exception
+    {
+        assertNotEquals( layout.identifier(), new NonUniqueCompositeNumberLayout( 3 ).identifier() );
+        assertEquals( true, CompositeNumberLayout.sameIdentifierName(
+                layout.identifier(), new NonUniqueCompositeNumberLayout( 3 ).identifier() ) );
+        assertEquals( false, CompositeNumberLayout.sameIdentifierName(
+                layout.identifier(), new UniqueCompositeNumberLayout( 2 ).identifier() ) );
+    }
+
+    @Test
+    public void shouldNotAcceptWrongNumberOfValues() throws Exception
+    {
+        CompositeSchemaNumberKey key = layout.newKey();
+        try
+        {
+            key.from( 0, Values.intValue( 1 ) );
+            fail( "Should have failed" );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // then good
+        }
+    }
+
+    private List<ValueTuple> allTuples()
+    {
+        List<ValueTuple> tuples = new ArrayList<>();
+        for ( Value first : numbers )
+        {
+            for ( Value second : numbers )
+            {
+                tuples.add( ValueTuple.of( first, second ) );
+            }
+        }
+        return tuples;
+    }
+
+    private List<CompositeSchemaNumberKey> asKeys( List<ValueTuple> tuples )
+    {
+        List<CompositeSchemaNumberKey> keys = new ArrayList<>();
+        long entityId = 0;
+        for ( ValueTuple tuple : tuples )
+        {
+            CompositeSchemaNumberKey key = layout.newKey();
+            key.from( entityId++, tuple.valueAt( 0 ), tuple.valueAt( 1 ) );
+            keys.add( key );
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.cursor.RawCursor;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.test.rule.PageCacheRule;
+import org.neo4j.test.rule.RandomRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+import org.neo4j.test.rule.fs.FileSystemRule;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.rules.RuleChain.outerRule;
+import static org.neo4j.test.rule.PageCacheRule.config;
+
+public class ExternalKeySorterTest
+{
+    private final FileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( getClass(), fs.get() );
+    private final PageCacheRule pageCacheRule = new PageCacheRule( config().withAccessChecks( true ) );
+    private final RandomRule random = new RandomRule();
+    @Rule
+    public final RuleChain rules = outerRule( fs ).around( directory ).around( pageCacheRule ).around( random );
+
+    private final NonUniqueNumberLayout layout = new NonUniqueNumberLayout();
+
+    @Test
+    public void shouldSortKeysInMemoryWithoutTouchingFile() throws Exception
+    {
+        // given
+        PageCache pageCache = pageCacheRule.getPageCache( fs );
+        File file = directory.file( "sort" );
+        List<SchemaNumberKey> expected = new ArrayList<>();
+        try ( ExternalKeySorter<SchemaNumberKey> sorter = new ExternalKeySorter<>( pageCache, file, layout, 1_000 ) )
+        {
+            // when
+            addRandomKeys( sorter, 1_000, expected );
+
+            // then
+            assertSorted( expected, sorter );
+            assertFalse( fs.fileExists( file ) );
+        }
+    }
+
+    @Test
+    public void shouldMergeSortedRunsWrittenToFile() throws Exception
+    {
+        // given
+        PageCache pageCache = pageCacheRule.getPageCache( fs );
+        File file = directory.file( "sort" );
+        List<SchemaNumberKey> expected = new ArrayList<>();
+        try ( ExternalKeySorter<SchemaNumberKey> sorter = new ExternalKeySorter<>( pageCache, file, layout, 100 ) )
+        {
+            // when
+            addRandomKeys( sorter, 5_000 + random.nextInt( 100 ), expected );
+
+            // then
+            assertSorted( expected, sorter );
+            assertTrue( fs.fileExists( file ) );
+        }
+        assertFalse( fs.fileExists( file ) );
+    }
+
+    @Test
+    public void shouldKeepDuplicates() throws Exception
+    {
+        // given
+        PageCache pageCache = pageCacheRule.getPageCache( fs );
+        List<SchemaNumberKey> expected = new ArrayList<>();
+        try ( ExternalKeySorter<SchemaNumberKey> sorter = new ExternalKeySorter<>( pageCache, directory.file( "sort" ), layout, 10 ) )
+        {
+            // when
+            SchemaNumberKey key = layout.newKey();
+            for ( int i = 0; i < 100; i++ )
+            {
+                key.from( i % 7, Values.intValue( i % 3 ) );
+                sorter.add( key );
+                expected.add( layout.copyKey( key, layout.newKey() ) );
+            }
+
+            // then
+            assertSorted( expected, sorter );
+        }
+    }
+
+    @Test
+    public void shouldHandleNoKeys() throws Exception
+    {
+        // given
+        PageCache pageCache = pageCacheRule.getPageCache( fs );
+        try ( ExternalKeySorter<SchemaNumberKey> sorter = new ExternalKeySorter<>( pageCache, directory.file( "sort" ), layout, 10 );
+              RawCursor<SchemaNumberKey,IOException> sorted = sorter.sorted() )
+        {
+            // then
+            assertFalse( sorted.next() );
+        }
+    }
+
+    private void addRandomKeys( ExternalKeySorter<SchemaNumberKey> sorter, int count, List<SchemaNumberKey> expected )
+            throws IOException
+    {
+        SchemaNumberKey key = layout.newKey();
+        for ( int i = 0; i < count; i++ )
+        {
+            key.from( i, Values.longValue( random.nextLong() ) );
+            sorter.add( key );
+            expected.add( layout.copyKey( key, layout.newKey() ) );
+        }
+    }
+
+    private void assertSorted( List<SchemaNumberKey> expected, ExternalKeySorter<SchemaNumberKey> sorter ) throws IOException
+    {
+        expected.sort( layout );
+        List<SchemaNumberKey> actual = new ArrayList<>();
+        try ( RawCursor<SchemaNumberKey,IOException> sorted = sorter.sorted() )
+        {
+            while ( sorted.next() )
+            {
+                actual.add( layout.copyKey( sorted.get(), layout.newKey() ) );
+            }
+        }
+        assertEquals( expected.size(), actual.size() );
+        for ( int i = 0; i < expected.size(); i++ )
+        {
+            assertEquals( "Unexpected key at " + i, 0, layout.compare( expected.get( i ), actual.get( i ) ) );
+        }
+    }
+}
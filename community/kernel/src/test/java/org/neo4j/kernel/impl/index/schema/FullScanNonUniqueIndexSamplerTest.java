@@ -33,11 +33,12 @@ import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
 import org.neo4j.storageengine.api.schema.IndexSample;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import static org.neo4j.kernel.impl.index.schema.LayoutTestUtil.countUniqueValues;
 import static org.neo4j.values.storable.Values.values;
 
-public class FullScanNonUniqueIndexSamplerTest extends SchemaNumberIndexTestUtil<SchemaNumberKey,SchemaNumberValue>
+public class FullScanNonUniqueIndexSamplerTest extends SchemaNumberIndexTestUtil<SchemaNumberKey,NativeSchemaValue>
 {
     @Test
     public void shouldIncludeAllValuesInTree() throws Exception
@@ -48,11 +49,11 @@ public class FullScanNonUniqueIndexSamplerTest extends SchemaNumberIndexTestUtil
 
         // WHEN
         IndexSample sample;
-        try ( GBPTree<SchemaNumberKey,SchemaNumberValue> gbpTree = getTree() )
+        try ( GBPTree<SchemaNumberKey,NativeSchemaValue> gbpTree = getTree() )
         {
             IndexSamplingConfig samplingConfig = new IndexSamplingConfig( Config.defaults() );
-            FullScanNonUniqueIndexSampler<SchemaNumberKey,SchemaNumberValue> sampler =
-                    new FullScanNonUniqueIndexSampler<>( gbpTree, layout, samplingConfig );
+            FullScanNonUniqueIndexSampler<SchemaNumberKey,NativeSchemaValue> sampler =
+                    new FullScanNonUniqueIndexSampler<>( gbpTree, layout, samplingConfig, IndexSampleSketch.unknown() );
             sample = sampler.result();
         }
 
@@ -62,6 +63,26 @@ public class FullScanNonUniqueIndexSamplerTest extends SchemaNumberIndexTestUtil
         assertEquals( values.length, sample.indexSize() );
     }
 
+    @Test
+    public void shouldRebuildSketchFromAllValuesInTree() throws Exception
+    {
+        // GIVEN
+        Number[] values = generateNumberValues();
+        buildTree( values );
+        IndexSampleSketch sketch = IndexSampleSketch.unknown();
+
+        // WHEN
+        try ( GBPTree<SchemaNumberKey,NativeSchemaValue> gbpTree = getTree() )
+        {
+            IndexSamplingConfig samplingConfig = new IndexSamplingConfig( Config.defaults() );
+            new FullScanNonUniqueIndexSampler<>( gbpTree, layout, samplingConfig, sketch ).result();
+        }
+
+        // THEN
+        assertFalse( sketch.needsFullScan( 0 ) );
+        assertEquals( new IndexSample( values.length, countUniqueValues( values ), values.length ), sketch.sample() );
+    }
+
     private Number[] generateNumberValues()
     {
         IndexEntryUpdate<IndexDescriptor>[] updates = layoutUtil.someUpdates();
@@ -75,12 +96,12 @@ public class FullScanNonUniqueIndexSamplerTest extends SchemaNumberIndexTestUtil
 
     private void buildTree( Number[] values ) throws IOException
     {
-        try ( GBPTree<SchemaNumberKey,SchemaNumberValue> gbpTree = getTree() )
+        try ( GBPTree<SchemaNumberKey,NativeSchemaValue> gbpTree = getTree() )
         {
-            try ( Writer<SchemaNumberKey,SchemaNumberValue> writer = gbpTree.writer() )
+            try ( Writer<SchemaNumberKey,NativeSchemaValue> writer = gbpTree.writer() )
             {
                 SchemaNumberKey key = layout.newKey();
-                SchemaNumberValue value = layout.newValue();
+                NativeSchemaValue value = layout.newValue();
                 long nodeId = 0;
                 for ( Number number : values )
                 {
@@ -95,7 +116,7 @@ public class FullScanNonUniqueIndexSamplerTest extends SchemaNumberIndexTestUtil
     }
 
     @Override
-    protected LayoutTestUtil<SchemaNumberKey,SchemaNumberValue> createLayoutTestUtil()
+    protected LayoutTestUtil<SchemaNumberKey,NativeSchemaValue> createLayoutTestUtil()
     {
         return new NonUniqueLayoutTestUtil();
     }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import org.neo4j.io.pagecache.StubPageCursor;
+import org.neo4j.storageengine.api.schema.IndexSample;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.values.storable.Values.doubleValue;
+import static org.neo4j.values.storable.Values.intValue;
+import static org.neo4j.values.storable.Values.longValue;
+import static org.neo4j.values.storable.Values.stringValue;
+
+public class IndexSampleSketchTest
+{
+    @Test
+    public void shouldEstimateDistinctValuesWithinStandardError() throws Exception
+    {
+        // given
+        IndexSampleSketch sketch = IndexSampleSketch.empty();
+        int distinct = 200_000;
+
+        // when
+        for ( int i = 0; i < distinct * 3; i++ )
+        {
+            sketch.entryAdded( IndexSampleSketch.hash( stringValue( "value" + (i % distinct) ) ) );
+        }
+
+        // then
+        IndexSample sample = sketch.sample();
+        assertEquals( distinct * 3, sample.indexSize() );
+        assertEquals( distinct * 3, sample.sampleSize() );
+        assertEquals( distinct, sample.uniqueValues(), distinct * 0.05 );
+    }
+
+    @Test
+    public void shouldCountFewDistinctValuesExactly() throws Exception
+    {
+        // given
+        IndexSampleSketch sketch = IndexSampleSketch.empty();
+
+        // when
+        for ( int i = 0; i < 100; i++ )
+        {
+            sketch.entryAdded( IndexSampleSketch.hash( longValue( i % 5 ) ) );
+        }
+
+        // then
+        assertEquals( new IndexSample( 100, 5, 100 ), sketch.sample() );
+    }
+
+    @Test
+    public void shouldHashEqualValuesOfDifferentTypesTheSame() throws Exception
+    {
+        assertEquals( IndexSampleSketch.hash( intValue( 42 ) ), IndexSampleSketch.hash( longValue( 42 ) ) );
+        assertEquals( IndexSampleSketch.hash( longValue( 42 ) ), IndexSampleSketch.hash( doubleValue( 42d ) ) );
+    }
+
+    @Test
+    public void shouldHashExtremeValuesDifferently() throws Exception
+    {
+        assertNotEquals( IndexSampleSketch.hash( longValue( Long.MIN_VALUE ) ),
+                IndexSampleSketch.hash( longValue( Long.MAX_VALUE ) ) );
+        assertNotEquals( IndexSampleSketch.hash( intValue( Integer.MIN_VALUE ) ),
+                IndexSampleSketch.hash( intValue( Integer.MAX_VALUE ) ) );
+        assertNotEquals( IndexSampleSketch.hash( doubleValue( Double.MAX_VALUE ) ),
+                IndexSampleSketch.hash( longValue( Long.MAX_VALUE ) ) );
+    }
+
+    @Test
+    public void shouldNeedFullScanWhenUnknownOrTooManyRemovals() throws Exception
+    {
+        // given
+        IndexSampleSketch sketch = IndexSampleSketch.unknown();
+        assertTrue( sketch.needsFullScan( 0.1 ) );
+        IndexSampleSketch scanned = IndexSampleSketch.empty();
+        for ( int i = 0; i < 100; i++ )
+        {
+            scanned.entryAdded( IndexSampleSketch.hash( longValue( i ) ) );
+        }
+        sketch.replaceWith( scanned );
+        assertFalse( sketch.needsFullScan( 0.1 ) );
+
+        // when
+        for ( int i = 0; i < 9; i++ )
+        {
+            sketch.entryRemoved();
+        }
+        assertFalse( sketch.needsFullScan( 0.1 ) );
+        sketch.entryRemoved();
+
+        // then
+        assertTrue( sketch.needsFullScan( 0.1 ) );
+        assertEquals( 90, sketch.sample().indexSize() );
+    }
+
+    @Test
+    public void shouldReadBackWrittenSketch() throws Exception
+    {
+        // given
+        IndexSampleSketch sketch = IndexSampleSketch.empty();
+        for ( int i = 0; i < 1_000; i++ )
+        {
+            sketch.entryAdded( IndexSampleSketch.hash( longValue( i % 300 ) ) );
+        }
+        sketch.entryRemoved();
+        StubPageCursor cursor = new StubPageCursor( 0, 8192 );
+
+        // when
+        sketch.write( cursor );
+        IndexSampleSketch read = IndexSampleSketch.read( headerData( cursor ) );
+
+        // then
+        assertEquals( sketch.sample(), read.sample() );
+        assertFalse( read.needsFullScan( 0.1 ) );
+    }
+
+    @Test
+    public void shouldReadUnknownSketchIfNoneWritten() throws Exception
+    {
+        // given
+        IndexSampleSketch sketch = IndexSampleSketch.empty();
+        StubPageCursor cursor = new StubPageCursor( 0, IndexSampleSketch.REGISTERS );
+
+        // when
+        sketch.write( cursor );
+        IndexSampleSketch read = IndexSampleSketch.read( headerData( cursor ) );
+
+        // then
+        assertTrue( read.needsFullScan( 0.1 ) );
+    }
+
+    private static ByteBuffer headerData( StubPageCursor cursor )
+    {
+        byte[] data = new byte[cursor.getOffset()];
+        cursor.setOffset( 0 );
+        cursor.getBytes( data );
+        return ByteBuffer.wrap( data );
+    }
+}
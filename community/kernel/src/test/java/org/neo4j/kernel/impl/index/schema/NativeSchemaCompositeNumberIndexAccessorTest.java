@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
+import org.neo4j.kernel.api.index.IndexEntryUpdate;
+import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.index.SchemaIndexProvider;
+import org.neo4j.kernel.api.schema.IndexQuery;
+import org.neo4j.kernel.api.schema.index.IndexDescriptor;
+import org.neo4j.kernel.api.schema.index.IndexDescriptorFactory;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
+import org.neo4j.storageengine.api.schema.IndexReader;
+import org.neo4j.storageengine.api.schema.IndexSample;
+import org.neo4j.test.rule.PageCacheRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.DefaultFileSystemRule;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.rules.RuleChain.outerRule;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.IMMEDIATE;
+import static org.neo4j.kernel.impl.api.index.IndexUpdateMode.ONLINE;
+import static org.neo4j.test.rule.PageCacheRule.config;
+
+/**
+ * Tests for
+ * <ul>
+ * <li>{@link NativeSchemaCompositeNumberIndexAccessor}</li>
+ * <li>{@link NativeSchemaCompositeNumberIndexReader}</li>
+ * </ul>
+ */
+public class NativeSchemaCompositeNumberIndexAccessorTest
+{
+    private static final int PROP_1 = 1;
+    private static final int PROP_2 = 2;
+    private static final int VALUES_PER_PROPERTY = 10;
+
+    private final DefaultFileSystemRule fs = new DefaultFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( getClass(), fs.get() );
+    private final PageCacheRule pageCacheRule = new PageCacheRule( config().withAccessChecks( true ) );
+    @Rule
+    public final RuleChain rules = outerRule( fs ).around( directory ).around( pageCacheRule );
+
+    private final IndexDescriptor descriptor = IndexDescriptorFactory.forLabel( 42, PROP_1, PROP_2 );
+    private NativeSchemaCompositeNumberIndexAccessor<CompositeSchemaNumberKey,NativeSchemaValue> accessor;
+
+    @Before
+    public void setupAccessor() throws Exception
+    {
+        accessor = new NativeSchemaCompositeNumberIndexAccessor<>( pageCacheRule.getPageCache( fs ), fs,
+                directory.file( "index" ), new NonUniqueCompositeNumberLayout( 2 ), IMMEDIATE,
+                SchemaIndexProvider.Monitor.EMPTY, descriptor, 1, new IndexSamplingConfig( Config.defaults() ) );
+        try ( IndexUpdater updater = accessor.newUpdater( ONLINE ) )
+        {
+            for ( int i = 0; i < VALUES_PER_PROPERTY; i++ )
+            {
+                for ( int j = 0; j < VALUES_PER_PROPERTY; j++ )
+                {
+                    Value[] values = values( i, j );
+                    updater.process( IndexEntryUpdate.add( nodeId( i, j ), descriptor.schema(), values[0], values[1] ) );
+                }
+            }
+        }
+    }
+
+    @After
+    public void closeAccessor() throws IOException
+    {
+        accessor.close();
+    }
+
+    @Test
+    public void shouldSeekExactValues() throws Exception
+    {
+        assertQuery( IndexQuery.exact( PROP_1, 3 ), IndexQuery.exact( PROP_2, 4.5 ) );
+        assertQuery( IndexQuery.exact( PROP_1, 3.0 ), IndexQuery.exact( PROP_2, 4.5f ) );
+        assertQuery( IndexQuery.exact( PROP_1, 3 ), IndexQuery.exact( PROP_2, 4 ) );
+    }
+
+    @Test
+    public void shouldSeekRangeOnTrailingProperty() throws Exception
+    {
+        for ( boolean fromInclusive : new boolean[]{true, false} )
+        {
+            for ( boolean toInclusive : new boolean[]{true, false} )
+            {
+                assertQuery( IndexQuery.exact( PROP_1, 5 ), IndexQuery.range( PROP_2, 2.5, fromInclusive, 6.5, toInclusive ) );
+                assertQuery( IndexQuery.exact( PROP_1, 5 ), IndexQuery.range( PROP_2, 2, fromInclusive, 6, toInclusive ) );
+                assertQuery( IndexQuery.exact( PROP_1, 5 ), IndexQuery.range( PROP_2, null, fromInclusive, 6.5, toInclusive ) );
+                assertQuery( IndexQuery.exact( PROP_1, 5 ), IndexQuery.range( PROP_2, 2.5, fromInclusive, null, toInclusive ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldSeekRangeOnLeadingPropertyAndFilterTrailingProperty() throws Exception
+    {
+        for ( boolean fromInclusive : new boolean[]{true, false} )
+        {
+            for ( boolean toInclusive : new boolean[]{true, false} )
+            {
+                assertQuery( IndexQuery.range( PROP_1, 2, fromInclusive, 6, toInclusive ), IndexQuery.exact( PROP_2, 3.5 ) );
+                assertQuery( IndexQuery.range( PROP_1, 2, fromInclusive, 6, toInclusive ), IndexQuery.exists( PROP_2 ) );
+                assertQuery( IndexQuery.range( PROP_1, 2, fromInclusive, 6, toInclusive ),
+                        IndexQuery.range( PROP_2, 1, fromInclusive, 5, toInclusive ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldSeekWithExistsPredicates() throws Exception
+    {
+        assertQuery( IndexQuery.exact( PROP_1, 7 ), IndexQuery.exists( PROP_2 ) );
+        assertQuery( IndexQuery.exists( PROP_1 ), IndexQuery.exact( PROP_2, 7.5 ) );
+        assertQuery( IndexQuery.exists( PROP_1 ), IndexQuery.exists( PROP_2 ) );
+    }
+
+    @Test
+    public void shouldScanWithSingleExistsPredicate() throws Exception
+    {
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            assertEquals( VALUES_PER_PROPERTY * VALUES_PER_PROPERTY,
+                    PrimitiveLongCollections.count( reader.query( IndexQuery.exists( PROP_1 ) ) ) );
+        }
+    }
+
+    @Test
+    public void shouldNotFindAnythingForNonNumberPredicates() throws Exception
+    {
+        assertQuery( IndexQuery.exact( PROP_1, 3 ), IndexQuery.exact( PROP_2, "4.5" ) );
+        assertQuery( IndexQuery.stringPrefix( PROP_1, "3" ), IndexQuery.exists( PROP_2 ) );
+    }
+
+    @Test
+    public void shouldCountIndexedNodes() throws Exception
+    {
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            Value[] values = values( 3, 4 );
+            assertEquals( 1, reader.countIndexedNodes( nodeId( 3, 4 ), values ) );
+            assertEquals( 0, reader.countIndexedNodes( nodeId( 3, 5 ), values ) );
+        }
+    }
+
+    @Test
+    public void shouldSampleDistinctTuples() throws Exception
+    {
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            IndexSample sample = reader.createSampler().sampleIndex();
+            assertEquals( VALUES_PER_PROPERTY * VALUES_PER_PROPERTY, sample.indexSize() );
+            assertEquals( VALUES_PER_PROPERTY * VALUES_PER_PROPERTY, sample.uniqueValues() );
+        }
+    }
+
+    private void assertQuery( IndexQuery... predicates ) throws Exception
+    {
+        Set<Long> expected = new HashSet<>();
+        for ( int i = 0; i < VALUES_PER_PROPERTY; i++ )
+        {
+            for ( int j = 0; j < VALUES_PER_PROPERTY; j++ )
+            {
+                Value[] values = values( i, j );
+                if ( predicates[0].test( values[0] ) && predicates[1].test( values[1] ) )
+                {
+                    expected.add( nodeId( i, j ) );
+                }
+            }
+        }
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            Set<Long> actual = PrimitiveLongCollections.toSet( reader.query( predicates ) );
+            assertEquals( "Unexpected result for " + Arrays.toString( predicates ), expected, actual );
+        }
+    }
+
+    private static Value[] values( int i, int j )
+    {
+        // Mix of types, with the second property having values in between integers
+        return new Value[]{Values.intValue( i ), j % 2 == 0 ? Values.longValue( j ) : Values.doubleValue( j - 0.5 )};
+    }
+
+    private static long nodeId( int i, int j )
+    {
+        return i * VALUES_PER_PROPERTY + j;
+    }
+}
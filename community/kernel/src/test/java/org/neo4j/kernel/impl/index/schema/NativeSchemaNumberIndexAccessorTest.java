@@ -31,6 +31,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -42,6 +43,7 @@ import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
 import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.api.index.IndexUpdater;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.index.IndexDescriptor;
 import org.neo4j.kernel.configuration.Config;
@@ -50,10 +52,12 @@ import org.neo4j.kernel.impl.api.index.sampling.IndexSamplingConfig;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.storageengine.api.schema.IndexSample;
 import org.neo4j.storageengine.api.schema.IndexSampler;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -76,11 +80,11 @@ import static org.neo4j.values.storable.Values.of;
  * Tests for
  * <ul>
  * <li>{@link NativeSchemaNumberIndexAccessor}</li>
- * <li>{@link NativeSchemaNumberIndexUpdater}</li>
+ * <li>{@link NativeSchemaIndexUpdater}</li>
  * <li>{@link NativeSchemaNumberIndexReader}</li>
  * </ul>
  */
-public abstract class NativeSchemaNumberIndexAccessorTest<KEY extends SchemaNumberKey, VALUE extends SchemaNumberValue>
+public abstract class NativeSchemaNumberIndexAccessorTest<KEY extends SchemaNumberKey, VALUE extends NativeSchemaValue>
         extends SchemaNumberIndexTestUtil<KEY,VALUE>
 {
     private NativeSchemaNumberIndexAccessor<KEY,VALUE> accessor;
@@ -437,6 +441,93 @@ public abstract class NativeSchemaNumberIndexAccessorTest<KEY extends SchemaNumb
         assertEntityIdHits( EMPTY_LONG_ARRAY, result );
     }
 
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void shouldReturnRangePredicateMatchesInAscendingOrder() throws Exception
+    {
+        // given
+        processAll( shuffledUpdates() );
+
+        // when
+        IndexReader reader = accessor.newReader();
+        IndexQuery.NumberRangePredicate query = IndexQuery.range( 0, 1, true, 4, false );
+        assertTrue( reader.supportsOrder( IndexOrder.ASCENDING, query ) );
+        PrimitiveLongIterator result = reader.orderedQuery( IndexOrder.ASCENDING, query );
+
+        // then
+        assertArrayEquals( new long[]{11, 12, 13}, PrimitiveLongCollections.asArray( result ) );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void shouldReturnRangePredicateMatchesInDescendingOrder() throws Exception
+    {
+        // given
+        processAll( shuffledUpdates() );
+
+        // when
+        IndexReader reader = accessor.newReader();
+        IndexQuery.NumberRangePredicate query = IndexQuery.range( 0, 1, false, 4, true );
+        assertTrue( reader.supportsOrder( IndexOrder.DESCENDING, query ) );
+        PrimitiveLongIterator result = reader.orderedQuery( IndexOrder.DESCENDING, query );
+
+        // then
+        assertArrayEquals( new long[]{14, 13, 12}, PrimitiveLongCollections.asArray( result ) );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void shouldReturnExistsPredicateMatchesInDescendingOrder() throws Exception
+    {
+        // given
+        processAll( shuffledUpdates() );
+
+        // when
+        IndexReader reader = accessor.newReader();
+        PrimitiveLongIterator result = reader.orderedQuery( IndexOrder.DESCENDING, IndexQuery.exists( 0 ) );
+
+        // then
+        assertArrayEquals( new long[]{15, 14, 13, 12, 11, 10}, PrimitiveLongCollections.asArray( result ) );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void shouldReturnIndexedValuesOfMatchingNodes() throws Exception
+    {
+        // given
+        processAll( shuffledUpdates() );
+
+        // when
+        IndexReader reader = accessor.newReader();
+        IndexQuery.NumberRangePredicate query = IndexQuery.range( 0, 2, true, 5, false );
+        assertTrue( reader.canProvideValues( query ) );
+        NodeValueIterator result = reader.queryWithValues( query );
+
+        // then
+        List<Value> values = new ArrayList<>();
+        List<Long> nodeIds = new ArrayList<>();
+        while ( result.hasNext() )
+        {
+            nodeIds.add( result.next() );
+            values.add( result.values()[0] );
+        }
+        assertEquals( asList( 12L, 13L, 14L ), nodeIds );
+        assertEquals( asList( Values.of( 2.5 ), Values.of( 3 ), Values.of( 4 ) ), values );
+    }
+
+    private IndexEntryUpdate[] shuffledUpdates()
+    {
+        return new IndexEntryUpdate[]
+                {
+                        IndexEntryUpdate.add( 13, indexDescriptor, Values.of( 3 ) ),
+                        IndexEntryUpdate.add( 10, indexDescriptor, Values.of( 0 ) ),
+                        IndexEntryUpdate.add( 15, indexDescriptor, Values.of( 5.5 ) ),
+                        IndexEntryUpdate.add( 11, indexDescriptor, Values.of( 1 ) ),
+                        IndexEntryUpdate.add( 14, indexDescriptor, Values.of( 4 ) ),
+                        IndexEntryUpdate.add( 12, indexDescriptor, Values.of( 2.5 ) )
+                };
+    }
+
     @Test( timeout = 10_000L )
     @SuppressWarnings( "unchecked" )
     public void mustHandleNestedQueries() throws Exception
@@ -637,6 +728,57 @@ public abstract class NativeSchemaNumberIndexAccessorTest<KEY extends SchemaNumb
         }
     }
 
+    @Test
+    public void shouldSampleIndexFromSketchKeptUpToDateByUpdates() throws Exception
+    {
+        // given
+        IndexEntryUpdate<IndexDescriptor>[] updates = layoutUtil.someUpdates();
+        processAll( updates );
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            reader.createSampler().sampleIndex();
+        }
+        assertFalse( accessor.sketch.needsFullScan( 0 ) );
+
+        // when
+        processAll( IndexEntryUpdate.add( 1_000, indexDescriptor, of( 123_456_789.5 ) ) );
+        IndexSample sample;
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            sample = reader.createSampler().sampleIndex();
+        }
+
+        // then
+        assertFalse( accessor.sketch.needsFullScan( 0 ) );
+        assertEquals( updates.length + 1, sample.indexSize() );
+        assertEquals( updates.length + 1, sample.sampleSize() );
+        assertEquals( countUniqueValues( updates ) + 1, sample.uniqueValues() );
+    }
+
+    @Test
+    public void shouldKeepSketchAfterForceAndReopen() throws Exception
+    {
+        // given
+        IndexEntryUpdate<IndexDescriptor>[] updates = layoutUtil.someUpdates();
+        processAll( updates );
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            reader.createSampler().sampleIndex();
+        }
+        IndexSample sampleBeforeClose = accessor.sketch.sample();
+
+        // when
+        forceAndCloseAccessor();
+        setupAccessor();
+
+        // then
+        assertFalse( accessor.sketch.needsFullScan( 0 ) );
+        try ( IndexReader reader = accessor.newReader() )
+        {
+            assertEquals( sampleBeforeClose, reader.createSampler().sampleIndex() );
+        }
+    }
+
     @Test
     public void readingAfterDropShouldThrow() throws Exception
     {
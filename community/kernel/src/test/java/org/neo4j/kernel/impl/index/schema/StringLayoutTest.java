@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.index.schema;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.neo4j.io.pagecache.ByteArrayPageCursor;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import static java.util.Arrays.asList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StringLayoutTest
+{
+    private final StringLayout layout = new NonUniqueStringLayout();
+
+    private final List<String> strings = Arrays.asList(
+            "",
+            "\u0000",
+            "\u0000\u0000",
+            "A",
+            "AB",
+            "Abc",
+            "a",
+            "ab",
+            "abc",
+            "abcd",
+            "abd",
+            "b",
+            "z\u007f",
+            "\u0080",
+            "å",
+            "åäö",
+            "߿",
+            "ࠀ",
+            "中文",
+            "鿿"
+    );
+
+    @Test
+    public void mustSortInSameOrderAsValueComparator() throws Exception
+    {
+        // given
+        List<Value> values = asValues( strings );
+        List<StringSchemaKey> keys = asKeys( values );
+        Collections.shuffle( values );
+        Collections.shuffle( keys );
+
+        // when
+        values.sort( Values.COMPARATOR );
+        keys.sort( layout );
+
+        // then
+        assertEquals( values, keys.stream().map( StringSchemaKey::asValue ).collect( Collectors.toList() ) );
+    }
+
+    @Test
+    public void shouldHaveSameCompareResultsAsValueCompare() throws Exception
+    {
+        // given
+        List<Value> values = asValues( strings );
+        List<StringSchemaKey> keys = asKeys( values );
+
+        // when
+        for ( int i = 0; i < values.size(); i++ )
+        {
+            for ( int j = 0; j < values.size(); j++ )
+            {
+                // then
+                assertEquals( Integer.signum( Values.COMPARATOR.compare( values.get( i ), values.get( j ) ) ),
+                        Integer.signum( layout.compare( keys.get( i ), keys.get( j ) ) ) );
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteAndReadKeys() throws Exception
+    {
+        // given
+        PageCursor cursor = ByteArrayPageCursor.wrap( layout.keySize() );
+        StringSchemaKey read = layout.newKey();
+        for ( StringSchemaKey key : asKeys( asValues( strings ) ) )
+        {
+            // when
+            cursor.setOffset( 0 );
+            layout.writeKey( cursor, key );
+            cursor.setOffset( 0 );
+            layout.readKey( cursor, read, layout.keySize( key ) );
+
+            // then
+            assertEquals( 0, layout.compare( key, read ) );
+            assertEquals( key.asValue(), read.asValue() );
+            assertEquals( layout.keySize( key ), cursor.getOffset() );
+        }
+    }
+
+    @Test
+    public void shouldWriteAndReadKeyOfMaxSize() throws Exception
+    {
+        // given
+        PageCursor cursor = ByteArrayPageCursor.wrap( layout.keySize() );
+        StringSchemaKey key = asKeys( asValues( Collections.singletonList(
+                repeat( 'a', StringSchemaKey.MAX_STRING_BYTES ) ) ) ).get( 0 );
+        StringSchemaKey read = layout.newKey();
+
+        // when
+        layout.writeKey( cursor, key );
+        cursor.setOffset( 0 );
+        layout.readKey( cursor, read, layout.keySize( key ) );
+
+        // then
+        assertEquals( layout.keySize(), layout.keySize( key ) );
+        assertEquals( key.asValue(), read.asValue() );
+    }
+
+    @Test
+    public void minimalSplitterMustBeShortestPrefixSeparatingKeys() throws Exception
+    {
+        // given
+        List<StringSchemaKey> keys = asKeys( asValues( strings ) );
+        keys.sort( layout );
+        StringSchemaKey splitter = layout.newKey();
+
+        for ( int i = 1; i < keys.size(); i++ )
+        {
+            StringSchemaKey left = keys.get( i - 1 );
+            StringSchemaKey right = keys.get( i );
+
+            // when
+            layout.minimalSplitter( left, right, splitter );
+
+            // then
+            assertTrue( layout.compare( left, splitter ) < 0 );
+            assertTrue( layout.compare( splitter, right ) <= 0 );
+            if ( splitter.bytesLength > 0 )
+            {
+                // one byte shorter would not separate the keys
+                StringSchemaKey shorter = layout.copyKey( splitter, layout.newKey() );
+                shorter.bytesLength--;
+                assertTrue( layout.compare( left, shorter ) >= 0 );
+            }
+        }
+    }
+
+    @Test
+    public void minimalSplitterMustStripSuffixOfLongStrings() throws Exception
+    {
+        // given
+        List<StringSchemaKey> keys = asKeys( asValues( asList(
+                repeat( 'a', 1000 ) + "left", repeat( 'a', 1000 ) + "right" ) ) );
+        StringSchemaKey splitter = layout.newKey();
+
+        // when
+        layout.minimalSplitter( keys.get( 0 ), keys.get( 1 ), splitter );
+
+        // then
+        assertEquals( Values.stringValue( repeat( 'a', 1000 ) + "r" ), splitter.asValue() );
+    }
+
+    @Test
+    public void shouldAcceptOnlyStringsThatFitInKey() throws Exception
+    {
+        assertTrue( StringSchemaKey.fitsInKey( Values.stringValue( repeat( 'a', StringSchemaKey.MAX_STRING_BYTES ) ) ) );
+        assertFalse( StringSchemaKey.fitsInKey( Values.stringValue( repeat( 'a', StringSchemaKey.MAX_STRING_BYTES + 1 ) ) ) );
+        // two bytes per character in UTF-8
+        assertFalse( StringSchemaKey.fitsInKey(
+                Values.stringValue( repeat( 'å', StringSchemaKey.MAX_STRING_BYTES / 2 + 1 ) ) ) );
+        assertFalse( StringSchemaKey.fitsInKey( Values.intValue( 1 ) ) );
+    }
+
+    @Test
+    public void prefixUpperBoundMustBeHigherThanAllStringsWithPrefix() throws Exception
+    {
+        for ( String prefix : asList( "a", "ab", "å", "中" ) )
+        {
+            // given
+            StringSchemaKey upperBound = layout.newKey();
+            assertFalse( upperBound.initAsBound( prefix ) );
+            upperBound.initAsPrefixUpperBound();
+
+            for ( String string : strings )
+            {
+                // when
+                StringSchemaKey key = asKeys( asValues( Collections.singletonList( string ) ) ).get( 0 );
+                int comparison = layout.compare( key, upperBound );
+
+                // then
+                if ( string.startsWith( prefix ) )
+                {
+                    assertTrue( string + " with prefix " + prefix, comparison < 0 );
+                }
+                else if ( string.compareTo( prefix ) > 0 )
+                {
+                    assertTrue( string + " after prefix " + prefix, comparison > 0 );
+                }
+            }
+        }
+    }
+
+    private static String repeat( char c, int count )
+    {
+        char[] chars = new char[count];
+        Arrays.fill( chars, c );
+        return new String( chars );
+    }
+
+    private static List<Value> asValues( List<String> strings )
+    {
+        return strings.stream().map( Values::stringValue ).collect( Collectors.toList() );
+    }
+
+    private List<StringSchemaKey> asKeys( List<Value> values )
+    {
+        List<StringSchemaKey> keys = new ArrayList<>();
+        for ( Value value : values )
+        {
+            StringSchemaKey key = layout.newKey();
+            key.from( 0, value );
+            keys.add( key );
+        }
+        return keys;
+    }
+}
@@ -51,6 +51,7 @@ import static org.neo4j.kernel.impl.index.schema.fusion.FusionIndexTestHelp.veri
 
 public class FusionIndexAccessorTest
 {
+    private IndexAccessor stringAccessor;
     private IndexAccessor nativeAccessor;
     private IndexAccessor luceneAccessor;
     private FusionIndexAccessor fusionIndexAccessor;
@@ -60,9 +61,12 @@ public class FusionIndexAccessorTest
     @Before
     public void setup()
     {
+        stringAccessor = mock( IndexAccessor.class );
         nativeAccessor = mock( IndexAccessor.class );
         luceneAccessor = mock( IndexAccessor.class );
-        fusionIndexAccessor = new FusionIndexAccessor( nativeAccessor, luceneAccessor, new NativeSelector(), indexId, dropAction );
+        mockSingleAllEntriesReader( stringAccessor, new long[0] );
+        fusionIndexAccessor = new FusionIndexAccessor( stringAccessor, nativeAccessor, luceneAccessor, new NativeSelector(), indexId,
+                dropAction );
     }
 
     /* drop */
@@ -74,11 +78,19 @@ public class FusionIndexAccessorTest
         // ... both drop successful
         fusionIndexAccessor.drop();
         // then
+        verify( stringAccessor, times( 1 ) ).drop();
         verify( nativeAccessor, times( 1 ) ).drop();
         verify( luceneAccessor, times( 1 ) ).drop();
         verify( dropAction ).drop( indexId );
     }
 
+    @Test
+    public void dropMustThrowIfDropStringFail() throws Exception
+    {
+        // when
+        verifyFailOnSingleDropFailure( stringAccessor, fusionIndexAccessor );
+    }
+
     @Test
     public void dropMustThrowIfDropNativeFail() throws Exception
     {
@@ -95,6 +107,15 @@ public class FusionIndexAccessorTest
         assertFalse( fusionIndexAccessor.isDirty() );
     }
 
+    @Test
+    public void fusionIndexIsDirtyWhenStringIndexIsDirty()
+    {
+        when( stringAccessor.isDirty() ).thenReturn( true ).thenReturn( false );
+
+        assertTrue( fusionIndexAccessor.isDirty() );
+        assertFalse( fusionIndexAccessor.isDirty() );
+    }
+
     @Test
     public void dropMustThrowIfDropLuceneFail() throws Exception
     {
@@ -150,10 +171,24 @@ public class FusionIndexAccessorTest
         fusionIndexAccessor.close();
 
         // then
+        verify( stringAccessor, times( 1 ) ).close();
         verify( nativeAccessor, times( 1 ) ).close();
         verify( luceneAccessor, times( 1 ) ).close();
     }
 
+    @Test
+    public void closeMustThrowIfStringThrow() throws Exception
+    {
+        verifyFusionCloseThrowOnSingleCloseThrow( stringAccessor, fusionIndexAccessor );
+    }
+
+    @Test
+    public void closeMustCloseOthersIfStringThrow() throws Exception
+    {
+        verifyOtherIsClosedOnSingleThrow( stringAccessor, nativeAccessor, fusionIndexAccessor );
+        verify( luceneAccessor, times( 1 ) ).close();
+    }
+
     @Test
     public void closeMustThrowIfLuceneThrow() throws Exception
     {
@@ -202,6 +237,25 @@ public class FusionIndexAccessorTest
         assertResultContainsAll( result, luceneEntries );
     }
 
+    @Test
+    public void allEntriesReaderMustCombineResultFromStringNativeAndLucene() throws Exception
+    {
+        // given
+        long[] stringEntries = {9, 10};
+        long[] nativeEntries = {0, 1, 2, 5, 6};
+        long[] luceneEntries = {3, 4, 7, 8};
+        mockSingleAllEntriesReader( stringAccessor, stringEntries );
+        mockAllEntriesReaders( nativeEntries, luceneEntries );
+
+        // when
+        Set<Long> result = Iterables.asSet( fusionIndexAccessor.newAllEntriesReader() );
+
+        // then
+        assertResultContainsAll( result, stringEntries );
+        assertResultContainsAll( result, nativeEntries );
+        assertResultContainsAll( result, luceneEntries );
+    }
+
     @Test
     public void allEntriesReaderMustCombineResultFromNativeAndLuceneWithEmptyNative() throws Exception
     {
@@ -339,6 +393,19 @@ public class FusionIndexAccessorTest
         assertThat( fusionAllEntriesReader.maxCount(), is( BoundedIterable.UNKNOWN_MAX_COUNT ) );
     }
 
+    @Test
+    public void allEntriesReaderMustReportUnknownMaxCountIfStringReportUnknownMaxCount() throws Exception
+    {
+        // given
+        mockSingleAllEntriesReaderWithUnknownMaxCount( stringAccessor, new long[0] );
+        mockSingleAllEntriesReader( nativeAccessor, new long[0] );
+        mockSingleAllEntriesReader( luceneAccessor, new long[0] );
+
+        // then
+        BoundedIterable<Long> fusionAllEntriesReader = fusionIndexAccessor.newAllEntriesReader();
+        assertThat( fusionAllEntriesReader.maxCount(), is( BoundedIterable.UNKNOWN_MAX_COUNT ) );
+    }
+
     @Test
     public void allEntriesReaderMustReportFusionMaxCountOfNativeAndLucene() throws Exception
     {
@@ -350,6 +417,18 @@ public class FusionIndexAccessorTest
         assertThat( fusionAllEntriesReader.maxCount(), is( 4L ) );
     }
 
+    @Test
+    public void allEntriesReaderMustReportFusionMaxCountOfStringNativeAndLucene() throws Exception
+    {
+        mockSingleAllEntriesReader( stringAccessor, new long[]{5} );
+        mockSingleAllEntriesReader( nativeAccessor, new long[]{1, 2} );
+        mockSingleAllEntriesReader( luceneAccessor, new long[]{3, 4} );
+
+        // then
+        BoundedIterable<Long> fusionAllEntriesReader = fusionIndexAccessor.newAllEntriesReader();
+        assertThat( fusionAllEntriesReader.maxCount(), is( 5L ) );
+    }
+
     private void assertResultContainsAll( Set<Long> result, long[] nativeEntries )
     {
         for ( long nativeEntry : nativeEntries )
@@ -51,6 +51,7 @@ import static org.neo4j.kernel.impl.index.schema.fusion.FusionIndexTestHelp.veri
 
 public class FusionIndexPopulatorTest
 {
+    private IndexPopulator stringPopulator;
     private IndexPopulator nativePopulator;
     private IndexPopulator lucenePopulator;
     private FusionIndexPopulator fusionIndexPopulator;
@@ -60,9 +61,11 @@ public class FusionIndexPopulatorTest
     @Before
     public void mockComponents()
     {
+        stringPopulator = mock( IndexPopulator.class );
         nativePopulator = mock( IndexPopulator.class );
         lucenePopulator = mock( IndexPopulator.class );
-        fusionIndexPopulator = new FusionIndexPopulator( nativePopulator, lucenePopulator, new NativeSelector(), indexId, dropAction );
+        fusionIndexPopulator = new FusionIndexPopulator( stringPopulator, nativePopulator, lucenePopulator, new NativeSelector(), indexId,
+                dropAction );
     }
 
     /* create */
@@ -74,6 +77,7 @@ public class FusionIndexPopulatorTest
         fusionIndexPopulator.create();
 
         // then
+        verify( stringPopulator, times( 1 ) ).create();
         verify( nativePopulator, times( 1 ) ).create();
         verify( lucenePopulator, times( 1 ) ).create();
     }
@@ -115,6 +119,7 @@ public class FusionIndexPopulatorTest
         fusionIndexPopulator.drop();
 
         // then
+        verify( stringPopulator, times( 1 ) ).drop();
         verify( nativePopulator, times( 1 ) ).drop();
         verify( lucenePopulator, times( 1 ) ).drop();
         verify( dropAction ).drop( indexId );
@@ -134,6 +139,20 @@ public class FusionIndexPopulatorTest
         } );
     }
 
+    @Test
+    public void dropMustThrowIfDropStringThrow() throws Exception
+    {
+        // given
+        IOException failure = new IOException( "fail" );
+        doThrow( failure ).when( stringPopulator ).drop();
+
+        verifyCallFail( failure, () ->
+        {
+            fusionIndexPopulator.drop();
+            return null;
+        } );
+    }
+
     @Test
     public void dropMustThrowIfDropLuceneThrow() throws Exception
     {
@@ -155,38 +174,48 @@ public class FusionIndexPopulatorTest
     {
         // given
         Value[] numberValues = FusionIndexTestHelp.valuesSupportedByNative();
+        Value[] stringValues = FusionIndexTestHelp.valuesSupportedByString();
         Value[] otherValues = FusionIndexTestHelp.valuesNotSupportedByNative();
         Value[] allValues = FusionIndexTestHelp.allValues();
 
         // Add with native for number values
         for ( Value numberValue : numberValues )
         {
-            verifyAddWithCorrectPopulator( nativePopulator, lucenePopulator, numberValue );
+            verifyAddWithCorrectPopulator( nativePopulator, numberValue );
+        }
+
+        // Add with string for string values
+        for ( Value stringValue : stringValues )
+        {
+            verifyAddWithCorrectPopulator( stringPopulator, stringValue );
         }
 
         // Add with lucene for other values
         for ( Value otherValue : otherValues )
         {
-            verifyAddWithCorrectPopulator( lucenePopulator, nativePopulator, otherValue );
+            verifyAddWithCorrectPopulator( lucenePopulator, otherValue );
         }
 
-        // All composite values should go to lucene
+        // Composite values should go to native if all are numbers, otherwise to lucene
         for ( Value firstValue : allValues )
         {
             for ( Value secondValue : allValues )
             {
-                verifyAddWithCorrectPopulator( lucenePopulator, nativePopulator, firstValue, secondValue );
+                IndexPopulator correct = FusionIndexTestHelp.bothNumbers( firstValue, secondValue ) ? nativePopulator : lucenePopulator;
+                verifyAddWithCorrectPopulator( correct, firstValue, secondValue );
             }
         }
     }
 
-    private void verifyAddWithCorrectPopulator( IndexPopulator correctPopulator, IndexPopulator wrongPopulator, Value... numberValues )
+    private void verifyAddWithCorrectPopulator( IndexPopulator correctPopulator, Value... values )
             throws IndexEntryConflictException, IOException
     {
-        Collection<IndexEntryUpdate<LabelSchemaDescriptor>> update = asList( add( numberValues ) );
+        Collection<IndexEntryUpdate<LabelSchemaDescriptor>> update = asList( add( values ) );
         fusionIndexPopulator.add( update );
-        verify( correctPopulator, times( 1 ) ).add( update );
-        verify( wrongPopulator, times( 0 ) ).add( update );
+        for ( IndexPopulator populator : asList( stringPopulator, nativePopulator, lucenePopulator ) )
+        {
+            verify( populator, times( populator == correctPopulator ? 1 : 0 ) ).add( update );
+        }
     }
 
     /* verifyDeferredConstraints */
@@ -205,6 +234,20 @@ public class FusionIndexPopulatorTest
         } );
     }
 
+    @Test
+    public void verifyDeferredConstraintsMustThrowIfStringThrow() throws Exception
+    {
+        // given
+        IndexEntryConflictException failure = mock( IndexEntryConflictException.class );
+        doThrow( failure ).when( stringPopulator ).verifyDeferredConstraints( any() );
+
+        verifyCallFail( failure, () ->
+        {
+            fusionIndexPopulator.verifyDeferredConstraints( null );
+            return null;
+        } );
+    }
+
     @Test
     public void verifyDeferredConstraintsMustThrowIfLuceneThrow() throws Exception
     {
@@ -241,6 +284,7 @@ public class FusionIndexPopulatorTest
         fusionIndexPopulator.close( populationCompletedSuccessfully );
 
         // then
+        verify( stringPopulator, times( 1 ) ).close( populationCompletedSuccessfully );
         verify( nativePopulator, times( 1 ) ).close( populationCompletedSuccessfully );
         verify( lucenePopulator, times( 1 ) ).close( populationCompletedSuccessfully );
     }
@@ -315,6 +359,28 @@ public class FusionIndexPopulatorTest
         verify( lucenePopulator, times( 1 ) ).close( true );
     }
 
+    @Test
+    public void closeMustCloseOthersIfStringThrow() throws Exception
+    {
+        // given
+        IOException failure = new IOException( "fail" );
+        doThrow( failure ).when( stringPopulator ).close( anyBoolean() );
+
+        // when
+        try
+        {
+            fusionIndexPopulator.close( true );
+            fail( "Should have failed" );
+        }
+        catch ( IOException ignore )
+        {
+        }
+
+        // then
+        verify( nativePopulator, times( 1 ) ).close( true );
+        verify( lucenePopulator, times( 1 ) ).close( true );
+    }
+
     @Test
     public void closeMustThrowIfBothThrow() throws Exception
     {
@@ -347,6 +413,7 @@ public class FusionIndexPopulatorTest
         fusionIndexPopulator.markAsFailed( failureMessage );
 
         // then
+        verify( stringPopulator, times( 1 ) ).markAsFailed( failureMessage );
         verify( nativePopulator, times( 1 ) ).markAsFailed( failureMessage );
         verify( lucenePopulator, times( 1 ) ).markAsFailed( failureMessage );
     }
@@ -386,8 +453,20 @@ public class FusionIndexPopulatorTest
     {
         // given
         Value[] numberValues = FusionIndexTestHelp.valuesSupportedByNative();
+        Value[] stringValues = FusionIndexTestHelp.valuesSupportedByString();
         Value[] otherValues = FusionIndexTestHelp.valuesNotSupportedByNative();
 
+        for ( Value value : stringValues )
+        {
+            // when
+            IndexEntryUpdate<LabelSchemaDescriptor> update = add( value );
+            fusionIndexPopulator.includeSample( update );
+
+            // then
+            verify( stringPopulator ).includeSample( update );
+            reset( stringPopulator );
+        }
+
         for ( Value value : numberValues )
         {
             // when
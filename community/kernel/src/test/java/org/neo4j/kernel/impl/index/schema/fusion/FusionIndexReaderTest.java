@@ -27,6 +27,7 @@ import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.collection.primitive.PrimitiveLongSet;
 import org.neo4j.kernel.api.exceptions.index.IndexNotApplicableKernelException;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.IndexQuery.NumberRangePredicate;
 import org.neo4j.kernel.api.schema.IndexQuery.StringContainsPredicate;
@@ -37,6 +38,7 @@ import org.neo4j.kernel.impl.index.schema.NativeSelector;
 import org.neo4j.storageengine.api.schema.IndexReader;
 import org.neo4j.values.storable.Value;
 
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -47,6 +49,7 @@ import static org.mockito.Mockito.when;
 
 public class FusionIndexReaderTest
 {
+    private IndexReader stringReader;
     private IndexReader nativeReader;
     private IndexReader luceneReader;
     private FusionIndexReader fusionIndexReader;
@@ -55,9 +58,10 @@ public class FusionIndexReaderTest
     @Before
     public void setup()
     {
+        stringReader = mock( IndexReader.class );
         nativeReader = mock( IndexReader.class );
         luceneReader = mock( IndexReader.class );
-        fusionIndexReader = new FusionIndexReader( nativeReader, luceneReader, new NativeSelector() );
+        fusionIndexReader = new FusionIndexReader( stringReader, nativeReader, luceneReader, new NativeSelector() );
     }
 
     /* close */
@@ -69,6 +73,7 @@ public class FusionIndexReaderTest
         fusionIndexReader.close();
 
         // then
+        verify( stringReader, times( 1 ) ).close();
         verify( nativeReader, times( 1 ) ).close();
         verify( luceneReader, times( 1 ) ).close();
     }
@@ -80,34 +85,43 @@ public class FusionIndexReaderTest
     {
         // given
         Value[] nativeValues = FusionIndexTestHelp.valuesSupportedByNative();
+        Value[] stringValues = FusionIndexTestHelp.valuesSupportedByString();
         Value[] otherValues = FusionIndexTestHelp.valuesNotSupportedByNative();
         Value[] allValues = FusionIndexTestHelp.allValues();
 
         // when
         for ( Value nativeValue : nativeValues )
         {
-            verifyCountIndexedNodesWithCorrectReader( nativeReader, luceneReader, nativeValue );
+            verifyCountIndexedNodesWithCorrectReader( nativeReader, nativeValue );
+        }
+
+        for ( Value stringValue : stringValues )
+        {
+            verifyCountIndexedNodesWithCorrectReader( stringReader, stringValue );
         }
 
         for ( Value otherValue : otherValues )
         {
-            verifyCountIndexedNodesWithCorrectReader( luceneReader, nativeReader, otherValue );
+            verifyCountIndexedNodesWithCorrectReader( luceneReader, otherValue );
         }
 
         for ( Value firstValue : allValues )
         {
             for ( Value secondValue : allValues )
             {
-                verifyCountIndexedNodesWithCorrectReader( luceneReader, nativeReader, firstValue, secondValue );
+                IndexReader correct = FusionIndexTestHelp.bothNumbers( firstValue, secondValue ) ? nativeReader : luceneReader;
+                verifyCountIndexedNodesWithCorrectReader( correct, firstValue, secondValue );
             }
         }
     }
 
-    private void verifyCountIndexedNodesWithCorrectReader( IndexReader correct, IndexReader wrong, Value... nativeValue )
+    private void verifyCountIndexedNodesWithCorrectReader( IndexReader correct, Value... values )
     {
-        fusionIndexReader.countIndexedNodes( 0, nativeValue );
-        verify( correct, times( 1 ) ).countIndexedNodes( 0, nativeValue );
-        verify( wrong, times( 0 ) ).countIndexedNodes( 0, nativeValue );
+        fusionIndexReader.countIndexedNodes( 0, values );
+        for ( IndexReader reader : new IndexReader[]{stringReader, nativeReader, luceneReader} )
+        {
+            verify( reader, times( reader == correct ? 1 : 0 ) ).countIndexedNodes( 0, values );
+        }
     }
 
     /* query */
@@ -119,6 +133,59 @@ public class FusionIndexReaderTest
         verifyQueryWithCorrectReader( luceneReader, nativeReader, any( IndexQuery.class ), any( IndexQuery.class ) );
     }
 
+    @Test
+    public void mustSelectNativeForCompositeExactPredicatesWithNumberValues() throws Exception
+    {
+        // given
+        IndexQuery first = IndexQuery.exact( PROP_KEY, 1 );
+        IndexQuery second = IndexQuery.exact( PROP_KEY + 1, 2.5 );
+
+        // then
+        verifyQueryWithCorrectReader( nativeReader, luceneReader, first, second );
+    }
+
+    @Test
+    public void mustSelectNativeForCompositeExactAndRangeNumericPredicates() throws Exception
+    {
+        // given
+        IndexQuery first = IndexQuery.exact( PROP_KEY, 1 );
+        IndexQuery second = IndexQuery.range( PROP_KEY + 1, 0, true, 10, false );
+
+        // then
+        verifyQueryWithCorrectReader( nativeReader, luceneReader, first, second );
+    }
+
+    @Test
+    public void mustSelectLuceneForCompositePredicatesWithNonNumberValue() throws Exception
+    {
+        // given
+        IndexQuery first = IndexQuery.exact( PROP_KEY, 1 );
+        IndexQuery second = IndexQuery.exact( PROP_KEY + 1, "string" );
+
+        // then
+        verifyQueryWithCorrectReader( luceneReader, nativeReader, first, second );
+    }
+
+    @Test
+    public void mustCombineResultFromCompositeExistsPredicates() throws Exception
+    {
+        // given
+        IndexQuery first = IndexQuery.exists( PROP_KEY );
+        IndexQuery second = IndexQuery.exists( PROP_KEY + 1 );
+        when( nativeReader.query( first, second ) ).thenReturn( Primitive.iterator( 0L, 2L ) );
+        when( luceneReader.query( first, second ) ).thenReturn( Primitive.iterator( 1L ) );
+
+        // when
+        PrimitiveLongSet resultSet = PrimitiveLongCollections.asSet( fusionIndexReader.query( first, second ) );
+
+        // then
+        for ( long i = 0L; i < 3L; i++ )
+        {
+            assertTrue( "Expected to contain " + i + ", but was " + resultSet, resultSet.contains( i ) );
+        }
+        verifyNoMoreInteractions( stringReader );
+    }
+
     @Test
     public void mustSelectNativeForExactPredicateWithNumberValue() throws Exception
     {
@@ -132,6 +199,19 @@ public class FusionIndexReaderTest
         }
     }
 
+    @Test
+    public void mustSelectStringForExactPredicateWithShortStringValue() throws Exception
+    {
+        // given
+        for ( Object stringValue : FusionIndexTestHelp.valuesSupportedByString() )
+        {
+            IndexQuery indexQuery = IndexQuery.exact( PROP_KEY, stringValue );
+
+            // then
+            verifyQueryWithCorrectReader( stringReader, luceneReader, indexQuery );
+        }
+    }
+
     @Test
     public void mustSelectLuceneForExactPredicateWithNonNumberValue() throws Exception
     {
@@ -146,13 +226,13 @@ public class FusionIndexReaderTest
     }
 
     @Test
-    public void mustSelectLuceneForRangeStringPredicate() throws Exception
+    public void mustSelectStringAndLuceneForRangeStringPredicate() throws Exception
     {
         // given
         StringRangePredicate stringRange = IndexQuery.range( PROP_KEY, "abc", true, "def", false );
 
         // then
-        verifyQueryWithCorrectReader( luceneReader, nativeReader, stringRange );
+        verifyQueryWithStringAndLucene( stringRange );
     }
 
     @Test
@@ -166,33 +246,33 @@ public class FusionIndexReaderTest
     }
 
     @Test
-    public void mustSelectLuceneForStringPrefixPredicate() throws Exception
+    public void mustSelectStringAndLuceneForStringPrefixPredicate() throws Exception
     {
         // given
         StringPrefixPredicate stringPrefix = IndexQuery.stringPrefix( PROP_KEY, "abc" );
 
         // then
-        verifyQueryWithCorrectReader( luceneReader, nativeReader, stringPrefix );
+        verifyQueryWithStringAndLucene( stringPrefix );
     }
 
     @Test
-    public void mustSelectLuceneForStringSuffixPredicate() throws Exception
+    public void mustSelectStringAndLuceneForStringSuffixPredicate() throws Exception
     {
         // given
         StringSuffixPredicate stringPrefix = IndexQuery.stringSuffix( PROP_KEY, "abc" );
 
         // then
-        verifyQueryWithCorrectReader( luceneReader, nativeReader, stringPrefix );
+        verifyQueryWithStringAndLucene( stringPrefix );
     }
 
     @Test
-    public void mustSelectLuceneForStringContainsPredicate() throws Exception
+    public void mustSelectStringAndLuceneForStringContainsPredicate() throws Exception
     {
         // given
         StringContainsPredicate stringContains = IndexQuery.stringContains( PROP_KEY, "abc" );
 
         // then
-        verifyQueryWithCorrectReader( luceneReader, nativeReader, stringContains );
+        verifyQueryWithStringAndLucene( stringContains );
     }
 
     @Test
@@ -200,6 +280,7 @@ public class FusionIndexReaderTest
     {
         // given
         IndexQuery.ExistsPredicate exists = IndexQuery.exists( PROP_KEY );
+        when( stringReader.query( exists ) ).thenReturn( Primitive.iterator( 8L, 9L ) );
         when( nativeReader.query( exists ) ).thenReturn( Primitive.iterator( 0L, 1L, 3L, 4L, 7L ) );
         when( luceneReader.query( exists ) ).thenReturn( Primitive.iterator( 2L, 5L, 6L ) );
 
@@ -208,12 +289,81 @@ public class FusionIndexReaderTest
 
         // then
         PrimitiveLongSet resultSet = PrimitiveLongCollections.asSet( result );
-        for ( long i = 0L; i < 8L; i++ )
+        for ( long i = 0L; i < 10L; i++ )
         {
             assertTrue( "Expected to contain " + i + ", but was " + resultSet, resultSet.contains( i ) );
         }
     }
 
+    /* orderedQuery */
+
+    @Test
+    public void mustSelectNativeForOrderedRangeNumericPredicate() throws Exception
+    {
+        // given
+        NumberRangePredicate numberRange = IndexQuery.range( PROP_KEY, 0, true, 1, false );
+        when( nativeReader.supportsOrder( IndexOrder.DESCENDING, numberRange ) ).thenReturn( true );
+
+        // when
+        assertTrue( fusionIndexReader.supportsOrder( IndexOrder.DESCENDING, numberRange ) );
+        fusionIndexReader.orderedQuery( IndexOrder.DESCENDING, numberRange );
+
+        // then
+        verify( nativeReader, times( 1 ) ).orderedQuery( IndexOrder.DESCENDING, numberRange );
+        verifyNoMoreInteractions( stringReader, luceneReader );
+    }
+
+    @Test
+    public void mustNotSupportOrderForPredicatesSpanningMultipleReaders() throws Exception
+    {
+        // given
+        IndexQuery exists = IndexQuery.exists( PROP_KEY );
+        IndexQuery stringRange = IndexQuery.range( PROP_KEY, "abc", true, "def", false );
+        IndexQuery stringPrefix = IndexQuery.stringPrefix( PROP_KEY, "abc" );
+        IndexQuery exact = IndexQuery.exact( PROP_KEY + 1, 1 );
+
+        // then
+        for ( IndexOrder order : IndexOrder.values() )
+        {
+            assertFalse( fusionIndexReader.supportsOrder( order, exists ) );
+            assertFalse( fusionIndexReader.supportsOrder( order, stringRange ) );
+            assertFalse( fusionIndexReader.supportsOrder( order, stringPrefix ) );
+            assertFalse( fusionIndexReader.supportsOrder( order, exists, exact ) );
+        }
+    }
+
+    @Test
+    public void mustSelectNativeForRangeNumericPredicateWithValues() throws Exception
+    {
+        // given
+        NumberRangePredicate numberRange = IndexQuery.range( PROP_KEY, 0, true, 1, false );
+        when( nativeReader.canProvideValues( numberRange ) ).thenReturn( true );
+
+        // when
+        assertTrue( fusionIndexReader.canProvideValues( numberRange ) );
+        fusionIndexReader.queryWithValues( numberRange );
+
+        // then
+        verify( nativeReader, times( 1 ) ).queryWithValues( numberRange );
+        verifyNoMoreInteractions( stringReader, luceneReader );
+    }
+
+    @Test
+    public void mustNotProvideValuesForPredicatesSpanningMultipleReaders() throws Exception
+    {
+        // given
+        IndexQuery exists = IndexQuery.exists( PROP_KEY );
+        IndexQuery stringPrefix = IndexQuery.stringPrefix( PROP_KEY, "abc" );
+        IndexQuery exact = IndexQuery.exact( PROP_KEY + 1, 1 );
+        when( stringReader.canProvideValues( any() ) ).thenReturn( true );
+        when( nativeReader.canProvideValues( any() ) ).thenReturn( true );
+
+        // then
+        assertFalse( fusionIndexReader.canProvideValues( exists ) );
+        assertFalse( fusionIndexReader.canProvideValues( stringPrefix ) );
+        assertFalse( fusionIndexReader.canProvideValues( exists, exact ) );
+    }
+
     private void verifyQueryWithCorrectReader( IndexReader expectedReader, IndexReader unexpectedReader, IndexQuery... indexQuery )
             throws IndexNotApplicableKernelException
     {
@@ -224,4 +374,21 @@ public class FusionIndexReaderTest
         verify( expectedReader, times( 1 ) ).query( indexQuery );
         verifyNoMoreInteractions( unexpectedReader );
     }
+
+    private void verifyQueryWithStringAndLucene( IndexQuery indexQuery ) throws IndexNotApplicableKernelException
+    {
+        // given
+        when( stringReader.query( indexQuery ) ).thenReturn( Primitive.iterator( 0L, 2L ) );
+        when( luceneReader.query( indexQuery ) ).thenReturn( Primitive.iterator( 1L ) );
+
+        // when
+        PrimitiveLongSet resultSet = PrimitiveLongCollections.asSet( fusionIndexReader.query( indexQuery ) );
+
+        // then
+        for ( long i = 0L; i < 3L; i++ )
+        {
+            assertTrue( "Expected to contain " + i + ", but was " + resultSet, resultSet.contains( i ) );
+        }
+        verifyNoMoreInteractions( nativeReader );
+    }
 }
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.index.schema.fusion;
 
 import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.mockito.Mockito;
 
 import java.io.IOException;
@@ -53,11 +54,17 @@ class FusionIndexTestHelp
                     Values.floatValue( 5.6f ),
                     Values.doubleValue( 7.8 )
             };
-    private static final Value[] otherValues = new Value[]
+    private static final Value[] stringValues = new Value[]
             {
-                    Values.booleanValue( true ),
                     Values.charValue( 'a' ),
                     Values.stringValue( "bcd" ),
+                    Values.stringValue( "" ),
+                    Values.stringValue( StringUtils.repeat( 'x', 1000 ) )
+            };
+    private static final Value[] otherValues = new Value[]
+            {
+                    Values.booleanValue( true ),
+                    Values.stringValue( StringUtils.repeat( 'x', 3000 ) ),
                     Values.booleanArray( new boolean[2] ),
                     Values.byteArray( new byte[]{1, 2} ),
                     Values.shortArray( new short[]{3, 4} ),
@@ -75,6 +82,11 @@ class FusionIndexTestHelp
         return numberValues;
     }
 
+    static Value[] valuesSupportedByString()
+    {
+        return stringValues;
+    }
+
     static Value[] valuesNotSupportedByNative()
     {
         return otherValues;
@@ -82,7 +94,15 @@ class FusionIndexTestHelp
 
     static Value[] allValues()
     {
-        return ArrayUtils.addAll( numberValues, otherValues );
+        return ArrayUtils.addAll( ArrayUtils.addAll( numberValues, stringValues ), otherValues );
+    }
+
+    /**
+     * @return whether or not a composite entry of the given values is supported by native.
+     */
+    static boolean bothNumbers( Value first, Value second )
+    {
+        return Values.isNumberValue( first ) && Values.isNumberValue( second );
     }
 
     static void verifyCallFail( Exception expectedFailure, Callable failingCall ) throws Exception
@@ -41,6 +41,7 @@ import static org.neo4j.kernel.impl.index.schema.fusion.FusionIndexTestHelp.remo
 
 public class FusionIndexUpdaterTest
 {
+    private IndexUpdater stringUpdater;
     private IndexUpdater nativeUpdater;
     private IndexUpdater luceneUpdater;
     private FusionIndexUpdater fusionIndexUpdater;
@@ -48,9 +49,10 @@ public class FusionIndexUpdaterTest
     @Before
     public void setup()
     {
+        stringUpdater = mock( IndexUpdater.class );
         nativeUpdater = mock( IndexUpdater.class );
         luceneUpdater = mock( IndexUpdater.class );
-        fusionIndexUpdater = new FusionIndexUpdater( nativeUpdater, luceneUpdater, new NativeSelector() );
+        fusionIndexUpdater = new FusionIndexUpdater( stringUpdater, nativeUpdater, luceneUpdater, new NativeSelector() );
     }
 
     /* process */
@@ -71,6 +73,13 @@ public class FusionIndexUpdaterTest
             verifyAddWithCorrectUpdater( nativeUpdater, luceneUpdater, value );
         }
 
+        // when
+        // ... value supported by string
+        for ( Value value : FusionIndexTestHelp.valuesSupportedByString() )
+        {
+            verifyAddWithCorrectUpdater( stringUpdater, luceneUpdater, value );
+        }
+
         // when
         // ... value not supported by native
         for ( Value value : notSupportedByNative )
@@ -84,7 +93,14 @@ public class FusionIndexUpdaterTest
         {
             for ( Value secondValue : allValues )
             {
-                verifyAddWithCorrectUpdater( luceneUpdater, nativeUpdater, firstValue, secondValue );
+                if ( FusionIndexTestHelp.bothNumbers( firstValue, secondValue ) )
+                {
+                    verifyAddWithCorrectUpdater( nativeUpdater, luceneUpdater, firstValue, secondValue );
+                }
+                else
+                {
+                    verifyAddWithCorrectUpdater( luceneUpdater, nativeUpdater, firstValue, secondValue );
+                }
             }
         }
     }
@@ -105,6 +121,13 @@ public class FusionIndexUpdaterTest
             verifyRemoveWithCorrectUpdater( nativeUpdater, luceneUpdater, value );
         }
 
+        // when
+        // ... value supported by string
+        for ( Value value : FusionIndexTestHelp.valuesSupportedByString() )
+        {
+            verifyRemoveWithCorrectUpdater( stringUpdater, luceneUpdater, value );
+        }
+
         // when
         // ... value not supported by native
         for ( Value value : notSupportedByNative )
@@ -118,7 +141,14 @@ public class FusionIndexUpdaterTest
         {
             for ( Value secondValue : allValues )
             {
-                verifyRemoveWithCorrectUpdater( luceneUpdater, nativeUpdater, firstValue, secondValue );
+                if ( FusionIndexTestHelp.bothNumbers( firstValue, secondValue ) )
+                {
+                    verifyRemoveWithCorrectUpdater( nativeUpdater, luceneUpdater, firstValue, secondValue );
+                }
+                else
+                {
+                    verifyRemoveWithCorrectUpdater( luceneUpdater, nativeUpdater, firstValue, secondValue );
+                }
             }
         }
     }
@@ -159,6 +189,50 @@ public class FusionIndexUpdaterTest
         }
     }
 
+    @Test
+    public void processMustSelectCorrectForChangeSupportedByString() throws Exception
+    {
+        // given
+        Value[] supportedByString = FusionIndexTestHelp.valuesSupportedByString();
+
+        // when
+        // ... before - supported
+        // ... after - supported
+        for ( Value before : supportedByString )
+        {
+            for ( Value after : supportedByString )
+            {
+                verifyChangeWithCorrectUpdaterNotMixed( stringUpdater, luceneUpdater, before, after );
+            }
+        }
+    }
+
+    @Test
+    public void processMustSelectCorrectForChangeFromStringToLucene() throws Exception
+    {
+        // given
+        Value[] supportedByString = FusionIndexTestHelp.valuesSupportedByString();
+        Value[] notSupportedByNative = FusionIndexTestHelp.valuesNotSupportedByNative();
+
+        // when
+        // ... before - string
+        // ... after - lucene
+        verifyChangeWithCorrectUpdaterMixed( stringUpdater, luceneUpdater, supportedByString, notSupportedByNative );
+    }
+
+    @Test
+    public void processMustSelectCorrectForChangeFromNativeToString() throws Exception
+    {
+        // given
+        Value[] supportedByNative = FusionIndexTestHelp.valuesSupportedByNative();
+        Value[] supportedByString = FusionIndexTestHelp.valuesSupportedByString();
+
+        // when
+        // ... before - number
+        // ... after - string
+        verifyChangeWithCorrectUpdaterMixed( nativeUpdater, stringUpdater, supportedByNative, supportedByString );
+    }
+
     @Test
     public void processMustSelectCorrectForChangeFromNativeToLucene() throws Exception
     {
@@ -241,6 +315,7 @@ public class FusionIndexUpdaterTest
         fusionIndexUpdater.close();
 
         // then
+        verify( stringUpdater, times( 1 ) ).close();
         verify( nativeUpdater, times( 1 ) ).close();
         verify( luceneUpdater, times( 1 ) ).close();
     }
@@ -257,6 +332,19 @@ public class FusionIndexUpdaterTest
         FusionIndexTestHelp.verifyFusionCloseThrowOnSingleCloseThrow( nativeUpdater, fusionIndexUpdater );
     }
 
+    @Test
+    public void closeMustThrowIfStringThrow() throws Exception
+    {
+        FusionIndexTestHelp.verifyFusionCloseThrowOnSingleCloseThrow( stringUpdater, fusionIndexUpdater );
+    }
+
+    @Test
+    public void closeMustCloseOthersIfStringThrow() throws Exception
+    {
+        FusionIndexTestHelp.verifyOtherIsClosedOnSingleThrow( stringUpdater, nativeUpdater, fusionIndexUpdater );
+        verify( luceneUpdater, times( 1 ) ).close();
+    }
+
     @Test
     public void closeMustCloseNativeIfLuceneThrow() throws Exception
     {
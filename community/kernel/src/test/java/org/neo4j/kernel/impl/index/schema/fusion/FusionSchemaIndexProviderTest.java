@@ -41,6 +41,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.neo4j.helpers.ArrayUtil.array;
@@ -50,14 +51,19 @@ public class FusionSchemaIndexProviderTest
 {
     private static final SchemaIndexProvider.Descriptor DESCRIPTOR = new SchemaIndexProvider.Descriptor( "test-fusion", "1" );
 
+    private SchemaIndexProvider stringProvider;
     private SchemaIndexProvider nativeProvider;
     private SchemaIndexProvider luceneProvider;
 
     @Before
     public void setup()
     {
+        stringProvider = mock( SchemaIndexProvider.class );
         nativeProvider = mock( SchemaIndexProvider.class );
         luceneProvider = mock( SchemaIndexProvider.class );
+        when( stringProvider.getProviderDescriptor() ).thenReturn( new SchemaIndexProvider.Descriptor( "string", "1" ) );
+        when( stringProvider.getPopulationFailure( anyLong() ) ).thenThrow( new IllegalStateException( "no string failure" ) );
+        setInitialState( stringProvider, InternalIndexState.ONLINE );
         when( nativeProvider.getProviderDescriptor() ).thenReturn( new SchemaIndexProvider.Descriptor( "native", "1" ) );
         when( luceneProvider.getProviderDescriptor() ).thenReturn( new SchemaIndexProvider.Descriptor( "lucene", "1" ) );
     }
@@ -70,6 +76,7 @@ public class FusionSchemaIndexProviderTest
     {
         // given
         Value[] numberValues = FusionIndexTestHelp.valuesSupportedByNative();
+        Value[] stringValues = FusionIndexTestHelp.valuesSupportedByString();
         Value[] otherValues = FusionIndexTestHelp.valuesNotSupportedByNative();
         Value[] allValues = FusionIndexTestHelp.allValues();
 
@@ -78,32 +85,43 @@ public class FusionSchemaIndexProviderTest
         for ( Value numberValue : numberValues )
         {
             // when
-            SchemaIndexProvider selected = selector.select( nativeProvider, luceneProvider, numberValue );
+            SchemaIndexProvider selected = selector.select( stringProvider, nativeProvider, luceneProvider, numberValue );
 
             // then
             assertSame( nativeProvider, selected );
         }
 
+        // String values that fit in the native key should go to string provider
+        for ( Value stringValue : stringValues )
+        {
+            // when
+            SchemaIndexProvider selected = selector.select( stringProvider, nativeProvider, luceneProvider, stringValue );
+
+            // then
+            assertSame( stringProvider, selected );
+        }
+
         // Other values should go to lucene provider
         for ( Value otherValue : otherValues )
         {
             // when
-            SchemaIndexProvider selected = selector.select( nativeProvider, luceneProvider, otherValue );
+            SchemaIndexProvider selected = selector.select( stringProvider, nativeProvider, luceneProvider, otherValue );
 
             // then
             assertSame( luceneProvider, selected );
         }
 
-        // All composite values should go to lucene
+        // Composite values should go to native provider if all are numbers, otherwise to lucene provider
         for ( Value firstValue : allValues )
         {
             for ( Value secondValue : allValues )
             {
                 // when
-                SchemaIndexProvider selected = selector.select( nativeProvider, luceneProvider, firstValue, secondValue );
+                SchemaIndexProvider selected = selector.select( stringProvider, nativeProvider, luceneProvider, firstValue,
+                        secondValue );
 
                 // then
-                assertSame( luceneProvider, selected );
+                assertSame( FusionIndexTestHelp.bothNumbers( firstValue, secondValue ) ? nativeProvider : luceneProvider, selected );
             }
         }
     }
@@ -201,6 +219,21 @@ public class FusionSchemaIndexProviderTest
         assertThat( populationFailure, containsString( luceneFailure ) );
     }
 
+    @Test
+    public void getPopulationFailureMustReportFailureWhenStringFailure() throws Exception
+    {
+        FusionSchemaIndexProvider fusionSchemaIndexProvider = fusionProvider();
+
+        // when
+        // ... string failure
+        String stringFailure = "string failure";
+        doReturn( stringFailure ).when( stringProvider ).getPopulationFailure( anyLong() );
+        when( nativeProvider.getPopulationFailure( anyLong() ) ).thenThrow( new IllegalStateException( "no native failure" ) );
+        when( luceneProvider.getPopulationFailure( anyLong() ) ).thenThrow( new IllegalStateException( "no lucene failure" ) );
+        // then
+        assertThat( fusionSchemaIndexProvider.getPopulationFailure( 0 ), containsString( stringFailure ) );
+    }
+
     @Test
     public void shouldReportFailedIfAnyIsFailed() throws Exception
     {
@@ -219,9 +252,15 @@ public class FusionSchemaIndexProviderTest
             setInitialState( luceneProvider, InternalIndexState.FAILED );
             InternalIndexState failed2 = provider.getInitialState( 0, indexDescriptor );
 
+            setInitialState( luceneProvider, state );
+            setInitialState( stringProvider, InternalIndexState.FAILED );
+            InternalIndexState failed3 = provider.getInitialState( 0, indexDescriptor );
+            setInitialState( stringProvider, InternalIndexState.ONLINE );
+
             // then
             assertEquals( InternalIndexState.FAILED, failed1 );
             assertEquals( InternalIndexState.FAILED, failed2 );
+            assertEquals( InternalIndexState.FAILED, failed3 );
         }
     }
 
@@ -243,15 +282,21 @@ public class FusionSchemaIndexProviderTest
             setInitialState( luceneProvider, InternalIndexState.POPULATING );
             InternalIndexState failed2 = provider.getInitialState( 0, indexDescriptor );
 
+            setInitialState( luceneProvider, state );
+            setInitialState( stringProvider, InternalIndexState.POPULATING );
+            InternalIndexState failed3 = provider.getInitialState( 0, indexDescriptor );
+            setInitialState( stringProvider, InternalIndexState.ONLINE );
+
             // then
             assertEquals( InternalIndexState.POPULATING, failed1 );
             assertEquals( InternalIndexState.POPULATING, failed2 );
+            assertEquals( InternalIndexState.POPULATING, failed3 );
         }
     }
 
     private FusionSchemaIndexProvider fusionProvider()
     {
-        return new FusionSchemaIndexProvider( nativeProvider, luceneProvider, new NativeSelector(), DESCRIPTOR, 10, NONE,
+        return new FusionSchemaIndexProvider( stringProvider, nativeProvider, luceneProvider, new NativeSelector(), DESCRIPTOR, 10, NONE,
                 mock( FileSystemAbstraction.class ) );
     }
 
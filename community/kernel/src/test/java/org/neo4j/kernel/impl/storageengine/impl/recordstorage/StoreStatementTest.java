@@ -25,6 +25,7 @@ import java.util.function.Supplier;
 
 import org.neo4j.kernel.impl.locking.LockService;
 import org.neo4j.storageengine.api.schema.LabelScanReader;
+import org.neo4j.storageengine.api.schema.RelationshipTypeScanReader;
 import org.neo4j.test.MockedNeoStores;
 
 import static org.junit.Assert.assertEquals;
@@ -44,7 +45,8 @@ public class StoreStatementTest
 
         when( scanStore.get() ).thenReturn( scanReader );
         StoreStatement statement = new StoreStatement( MockedNeoStores.basicMockedNeoStores(), mock( Supplier.class ),
-                scanStore, LockService.NO_LOCK_SERVICE, mock( RecordStorageCommandCreationContext.class ) );
+                scanStore, mock( Supplier.class ), LockService.NO_LOCK_SERVICE,
+                mock( RecordStorageCommandCreationContext.class ) );
         statement.acquire();
 
         // when
@@ -63,4 +65,34 @@ public class StoreStatementTest
         verify( scanReader ).close();
         verifyNoMoreInteractions( scanReader );
     }
+
+    @Test
+    public void shouldCloseOpenedRelationshipTypeScanReader() throws Exception
+    {
+        // given
+        Supplier<RelationshipTypeScanReader> scanStore = mock( Supplier.class );
+        RelationshipTypeScanReader scanReader = mock( RelationshipTypeScanReader.class );
+
+        when( scanStore.get() ).thenReturn( scanReader );
+        StoreStatement statement = new StoreStatement( MockedNeoStores.basicMockedNeoStores(), mock( Supplier.class ),
+                mock( Supplier.class ), scanStore, LockService.NO_LOCK_SERVICE,
+                mock( RecordStorageCommandCreationContext.class ) );
+        statement.acquire();
+
+        // when
+        RelationshipTypeScanReader actualReader = statement.getRelationshipTypeScanReader();
+
+        // then
+        assertEquals( scanReader, actualReader );
+
+        // when
+        statement.close();
+
+        // then
+        verify( scanStore ).get();
+        verifyNoMoreInteractions( scanStore );
+
+        verify( scanReader ).close();
+        verifyNoMoreInteractions( scanReader );
+    }
 }
@@ -34,17 +34,24 @@ import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.configuration.Settings;
+import org.neo4j.kernel.impl.api.CountsAccessor;
+import org.neo4j.kernel.impl.store.counts.CountsStore;
+import org.neo4j.kernel.impl.store.counts.CountsTracker;
+import org.neo4j.kernel.impl.store.counts.GBPTreeCountsStore;
 import org.neo4j.kernel.impl.store.format.RecordFormats;
 import org.neo4j.kernel.impl.store.id.DefaultIdGeneratorFactory;
 import org.neo4j.kernel.impl.store.id.IdGeneratorFactory;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.logging.NullLogProvider;
+import org.neo4j.register.Registers;
 import org.neo4j.test.rule.PageCacheRule;
 import org.neo4j.test.rule.fs.EphemeralFileSystemRule;
 
 import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.neo4j.kernel.impl.store.MetaDataStore.DEFAULT_NAME;
@@ -128,6 +135,35 @@ public class StoreFactoryTest
         assertEquals( -1, neoStores.getCounts().rotate( lastClosedTransactionId ) );
     }
 
+    @Test
+    public void shouldMigrateCountsTrackerIntoTreeCountsStore() throws IOException
+    {
+        // given
+        neoStores = storeFactory( Config.defaults() ).openAllNeoStores( true );
+        neoStores.rebuildCountStoreIfNeeded();
+        long txId = neoStores.getMetaDataStore().getLastCommittedTransactionId() + 1;
+        try ( CountsAccessor.Updater updater = neoStores.getCounts().apply( txId ).get() )
+        {
+            updater.incrementNodeCount( 1, 5 );
+        }
+        neoStores.getCounts().rotate( txId );
+        neoStores.close();
+
+        // when
+        neoStores = storeFactory( Config.defaults( GraphDatabaseSettings.counts_store_gbptree, Settings.TRUE ) )
+                .openAllNeoStores();
+        neoStores.rebuildCountStoreIfNeeded();
+
+        // then
+        CountsStore counts = neoStores.getCounts();
+        assertThat( counts, instanceOf( GBPTreeCountsStore.class ) );
+        assertEquals( txId, counts.txId() );
+        assertEquals( 5, counts.nodeCount( 1, Registers.newDoubleLongRegister() ).readSecond() );
+        File countsFile = new File( storeDir, DEFAULT_NAME + StoreFactory.COUNTS_STORE );
+        assertFalse( fsRule.get().fileExists( new File( countsFile.getPath() + CountsTracker.LEFT ) ) );
+        assertFalse( fsRule.get().fileExists( new File( countsFile.getPath() + CountsTracker.RIGHT ) ) );
+    }
+
     @Test( expected = StoreNotFoundException.class )
     public void shouldThrowWhenOpeningNonExistingNeoStores()
     {
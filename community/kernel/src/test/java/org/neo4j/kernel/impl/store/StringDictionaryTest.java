@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.impl.locking.LockTracer;
+import org.neo4j.kernel.impl.locking.ResourceTypes;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.storageengine.api.lock.ResourceLocker;
+import org.neo4j.test.rule.PageCacheAndDependenciesRule;
+import org.neo4j.unsafe.impl.batchimport.store.BatchingIdSequence;
+import org.neo4j.values.storable.TextValue;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.IMMEDIATE;
+
+public class StringDictionaryTest
+{
+    private static final String LONG_VALUE = "a value much too long to be encoded as a short string in a property block";
+    private static final int ENCODED_KEY = 0;
+    private static final int OTHER_KEY = 1;
+
+    @Rule
+    public final PageCacheAndDependenciesRule rules = new PageCacheAndDependenciesRule();
+
+    private final Map<Long,TextValue> chainValues = new HashMap<>();
+    private final StringDictionary dictionary = newDictionary();
+    private final ResourceLocker locks = mock( ResourceLocker.class );
+    private final DynamicRecordAllocator stringAllocator =
+            new StandardDynamicRecordAllocator( new BatchingIdSequence(), 60 );
+    private final DynamicRecordAllocator arrayAllocator =
+            new StandardDynamicRecordAllocator( new BatchingIdSequence(), 60 );
+
+    @After
+    public void closeDictionary() throws IOException
+    {
+        dictionary.close();
+    }
+
+    @Test
+    public void shouldOnlyEncodeConfiguredPropertyKeysWhenOpen() throws Exception
+    {
+        assertFalse( dictionary.encodes( ENCODED_KEY ) );
+
+        // when
+        open( dictionary );
+
+        // then
+        assertTrue( dictionary.encodes( ENCODED_KEY ) );
+        assertFalse( dictionary.encodes( OTHER_KEY ) );
+        // and again, now cached
+        assertTrue( dictionary.encodes( ENCODED_KEY ) );
+        assertFalse( dictionary.encodes( OTHER_KEY ) );
+    }
+
+    @Test
+    public void shouldLookUpCreatedChains() throws Exception
+    {
+        // given
+        open( dictionary );
+
+        // when
+        createChain( dictionary, ENCODED_KEY, 10, "a" );
+
+        // then
+        assertEquals( 10, dictionary.reference( ENCODED_KEY, "a", locks ) );
+        assertEquals( Values.stringValue( "a" ), dictionary.value( 10 ) );
+        assertEquals( StringDictionary.NO_REFERENCE, dictionary.reference( ENCODED_KEY, "b", locks ) );
+        assertEquals( StringDictionary.NO_REFERENCE, dictionary.reference( OTHER_KEY, "a", locks ) );
+        assertNull( dictionary.value( 11 ) );
+    }
+
+    @Test
+    public void shouldLockChainWhenReferencingIt() throws Exception
+    {
+        // given
+        open( dictionary );
+        createChain( dictionary, ENCODED_KEY, 10, "a" );
+
+        // when
+        dictionary.reference( ENCODED_KEY, "a", locks );
+
+        // then
+        verify( locks ).acquireShared( LockTracer.NONE, ResourceTypes.STRING_DICTIONARY_VALUE, 10L );
+    }
+
+    @Test
+    public void shouldKeepChainsAndReferencesWhenReopened() throws Exception
+    {
+        // given
+        open( dictionary );
+        createChain( dictionary, ENCODED_KEY, 10, "a" );
+        try ( StringDictionary.Updater updater = dictionary.updater() )
+        {
+            updater.referenceAdded( 10, 100 );
+            updater.referenceAdded( 10, 101 );
+            updater.referenceAdded( 10, 101 );
+        }
+        dictionary.checkpoint( IOLimiter.unlimited() );
+        dictionary.close();
+
+        // when
+        StringDictionary reopened = newDictionary();
+        open( reopened );
+        try
+        {
+            // then
+            assertEquals( 10, reopened.reference( ENCODED_KEY, "a", locks ) );
+            assertEquals( Values.stringValue( "a" ), reopened.value( 10 ) );
+            assertEquals( 2, reopened.countReferences( 10, 10 ) );
+            assertEquals( 1, reopened.countReferences( 10, 1 ) );
+        }
+        finally
+        {
+            reopened.close();
+        }
+    }
+
+    @Test
+    public void shouldForgetDeletedChains() throws Exception
+    {
+        // given
+        open( dictionary );
+        createChain( dictionary, ENCODED_KEY, 10, "a" );
+        try ( StringDictionary.Updater updater = dictionary.updater() )
+        {
+            updater.referenceAdded( 10, 100 );
+        }
+        assertEquals( 10, dictionary.reference( ENCODED_KEY, "a", locks ) );
+
+        // when
+        try ( StringDictionary.Updater updater = dictionary.updater() )
+        {
+            updater.referenceRemoved( 10, 100 );
+            updater.chainDeleted( 10 );
+        }
+
+        // then
+        assertEquals( StringDictionary.NO_REFERENCE, dictionary.reference( ENCODED_KEY, "a", locks ) );
+        assertNull( dictionary.value( 10 ) );
+        assertEquals( 0, dictionary.countReferences( 10, 10 ) );
+    }
+
+    @Test
+    public void shouldNotAcceptMoreChainsThanMaxEntriesPerKey() throws Exception
+    {
+        // given
+        open( dictionary );
+
+        // when
+        createChain( dictionary, ENCODED_KEY, 10, "a" );
+        assertFalse( dictionary.isFull( ENCODED_KEY ) );
+        createChain( dictionary, ENCODED_KEY, 11, "b" );
+
+        // then
+        assertTrue( dictionary.isFull( ENCODED_KEY ) );
+        assertFalse( dictionary.isFull( OTHER_KEY ) );
+    }
+
+    @Test
+    public void shouldEncodeFirstOccurrenceOfValueAsNewDictionaryString() throws Exception
+    {
+        // given
+        open( dictionary );
+
+        // when
+        PropertyBlock block = encode( ENCODED_KEY, LONG_VALUE );
+
+        // then
+        assertEquals( PropertyType.DICTIONARY_STRING, block.getType() );
+        assertFalse( block.getValueRecords().isEmpty() );
+    }
+
+    @Test
+    public void shouldEncodeKnownValueAsReferenceToSharedString() throws Exception
+    {
+        // given
+        open( dictionary );
+        createChain( dictionary, ENCODED_KEY, 42, LONG_VALUE );
+
+        // when
+        PropertyBlock block = encode( ENCODED_KEY, LONG_VALUE );
+
+        // then
+        assertEquals( PropertyType.DICTIONARY_STRING, block.getType() );
+        assertEquals( 42, block.getSingleValueLong() );
+        assertTrue( block.getValueRecords().isEmpty() );
+    }
+
+    @Test
+    public void shouldEncodeValuesOfOtherPropertyKeysAndShortValuesAsBefore() throws Exception
+    {
+        open( dictionary );
+        createChain( dictionary, OTHER_KEY, 42, LONG_VALUE );
+
+        assertEquals( PropertyType.STRING, encode( OTHER_KEY, LONG_VALUE ).getType() );
+        assertEquals( PropertyType.SHORT_STRING, encode( ENCODED_KEY, "short" ).getType() );
+    }
+
+    @Test
+    public void shouldEncodeAsOrdinaryStringsWhenNotOpen()
+    {
+        assertEquals( PropertyType.STRING, encode( ENCODED_KEY, LONG_VALUE ).getType() );
+    }
+
+    @Test
+    public void shouldEncodeNewValuesAsStringsWhenFull() throws Exception
+    {
+        // given
+        open( dictionary );
+        createChain( dictionary, ENCODED_KEY, 10, "a" );
+        createChain( dictionary, ENCODED_KEY, 11, "b" );
+
+        // when
+        PropertyBlock block = encode( ENCODED_KEY, LONG_VALUE );
+
+        // then
+        assertEquals( PropertyType.STRING, block.getType() );
+    }
+
+    private StringDictionary newDictionary()
+    {
+        return new StringDictionary( Arrays.asList( "status" ), 2,
+                keyId -> keyId == ENCODED_KEY ? "status" : "name", chainValues::get );
+    }
+
+    private void open( StringDictionary dictionary ) throws IOException
+    {
+        File file = rules.directory().file( StringDictionary.FILE_NAME );
+        dictionary.open( rules.pageCache(), file, IMMEDIATE );
+    }
+
+    private void createChain( StringDictionary dictionary, int keyId, long reference, String value )
+            throws IOException
+    {
+        chainValues.put( reference, Values.stringValue( value ) );
+        try ( StringDictionary.Updater updater = dictionary.updater() )
+        {
+            updater.chainCreated( keyId, reference, Values.stringValue( value ) );
+        }
+    }
+
+    private PropertyBlock encode( int keyId, String value )
+    {
+        PropertyBlock block = new PropertyBlock();
+        PropertyStore.encodeValue( block, keyId, Values.stringValue( value ), stringAllocator, arrayAllocator,
+                dictionary, locks );
+        return block;
+    }
+}
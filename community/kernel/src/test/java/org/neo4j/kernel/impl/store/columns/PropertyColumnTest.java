@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.columns;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.test.rule.PageCacheAndDependenciesRule;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyColumnTest
+{
+    @Rule
+    public final PageCacheAndDependenciesRule rules = new PageCacheAndDependenciesRule();
+
+    @Test
+    public void shouldGetNumbersThatHaveBeenSet() throws Exception
+    {
+        try ( PropertyColumn column = open() )
+        {
+            // when
+            column.set( 0, Values.intValue( 10 ) );
+            column.set( 1, Values.longValue( Long.MAX_VALUE ) );
+            column.set( 2, Values.doubleValue( 3.5 ) );
+            column.set( 3, Values.floatValue( -1.25f ) );
+            column.set( 4, Values.byteValue( (byte) 7 ) );
+            column.set( 5, Values.shortValue( (short) -300 ) );
+            column.set( 100_000, Values.longValue( -42 ) );
+
+            // then
+            assertEquals( Values.intValue( 10 ), column.get( 0 ) );
+            assertEquals( Values.longValue( Long.MAX_VALUE ), column.get( 1 ) );
+            assertEquals( Values.doubleValue( 3.5 ), column.get( 2 ) );
+            assertEquals( Values.floatValue( -1.25f ), column.get( 3 ) );
+            assertEquals( Values.byteValue( (byte) 7 ), column.get( 4 ) );
+            assertEquals( Values.shortValue( (short) -300 ), column.get( 5 ) );
+            assertEquals( Values.longValue( -42 ), column.get( 100_000 ) );
+        }
+    }
+
+    @Test
+    public void shouldNotGetValuesWhichAreRemovedOrNotNumbers() throws Exception
+    {
+        try ( PropertyColumn column = open() )
+        {
+            // given
+            column.set( 0, Values.intValue( 10 ) );
+            column.set( 1, Values.intValue( 11 ) );
+
+            // when
+            column.remove( 0 );
+            column.set( 1, Values.stringValue( "eleven" ) );
+
+            // then
+            assertNull( column.get( 0 ) );
+            assertNull( column.get( 1 ) );
+            assertNull( column.get( 2 ) );
+            assertNull( column.get( 1_000_000 ) );
+        }
+    }
+
+    @Test
+    public void shouldKeepValuesAndStateWhenReopened() throws Exception
+    {
+        // given
+        try ( PropertyColumn column = open() )
+        {
+            assertFalse( column.isOnline() );
+            column.markAsBuilding();
+            column.set( 5, Values.longValue( 123 ) );
+            column.flush( IOLimiter.unlimited() );
+            column.markAsOnline();
+        }
+
+        // when
+        try ( PropertyColumn column = open() )
+        {
+            // then
+            assertTrue( column.isOnline() );
+            assertEquals( Values.longValue( 123 ), column.get( 5 ) );
+        }
+    }
+
+    @Test
+    public void shouldScanNodesWithEntries() throws Exception
+    {
+        try ( PropertyColumn column = open() )
+        {
+            // given
+            column.set( 1, Values.intValue( 10 ) );
+            column.set( 3, Values.stringValue( "three" ) );
+            column.set( 4, Values.intValue( 4 ) );
+            column.set( 100_000, Values.longValue( -42 ) );
+            column.remove( 4 );
+
+            // when
+            PrimitiveLongIterator nodes = column.nodes();
+
+            // then
+            assertArrayEquals( new long[]{1, 3, 100_000}, PrimitiveLongCollections.asArray( nodes ) );
+        }
+    }
+
+    private PropertyColumn open() throws Exception
+    {
+        File file = rules.directory().file( "column" );
+        return PropertyColumn.open( rules.pageCache(), file, 0, 0 );
+    }
+}
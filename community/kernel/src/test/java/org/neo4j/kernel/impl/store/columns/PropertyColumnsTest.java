@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.columns;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Set;
+
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseSettings;
+import org.neo4j.kernel.api.ReadOperations;
+import org.neo4j.kernel.api.Statement;
+import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
+import org.neo4j.test.rule.DatabaseRule;
+import org.neo4j.test.rule.ImpermanentDatabaseRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.collection.primitive.PrimitiveLongCollections.toSet;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.helpers.collection.Iterators.asSet;
+
+public class PropertyColumnsTest
+{
+    private static final Label PERSON = label( "Person" );
+    private static final Label DOG = label( "Dog" );
+    private static final String AGE = "age";
+
+    @Rule
+    public final DatabaseRule db =
+            new ImpermanentDatabaseRule().withSetting( GraphDatabaseSettings.property_columns, "Person:age" );
+
+    @Test
+    public void shouldKeepColumnOfNodesWithLabelAndProperty() throws Exception
+    {
+        // given
+        Node numeric = createNode( PERSON, 42 );
+        Node string = createNode( PERSON, "forty-two" );
+        createNode( PERSON, null );
+        createNode( DOG, 7 );
+        Node losingLabel = createNode( PERSON, 30 );
+        Node gettingLabel = createNode( DOG, 5 );
+        Node losingProperty = createNode( PERSON, 50 );
+        Node changingProperty = createNode( PERSON, 60 );
+        Node deleted = createNode( PERSON, 70 );
+
+        // when
+        try ( Transaction tx = db.beginTx() )
+        {
+            losingLabel.removeLabel( PERSON );
+            gettingLabel.addLabel( PERSON );
+            losingProperty.removeProperty( AGE );
+            changingProperty.setProperty( AGE, 61.5 );
+            deleted.delete();
+            tx.success();
+        }
+
+        // then
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertTrue( columnExists( PERSON, AGE ) );
+            assertFalse( columnExists( DOG, AGE ) );
+            assertEquals( asSet( numeric.getId(), string.getId(), gettingLabel.getId(), changingProperty.getId() ),
+                    scanColumn( PERSON, AGE ) );
+            assertEquals( 42, numeric.getProperty( AGE ) );
+            assertEquals( "forty-two", string.getProperty( AGE ) );
+            assertEquals( 5, gettingLabel.getProperty( AGE ) );
+            assertEquals( 61.5, changingProperty.getProperty( AGE ) );
+            assertEquals( 30, losingLabel.getProperty( AGE ) );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void shouldIncludeChangesOfTheTransactionWhenScanningColumn() throws Exception
+    {
+        // given
+        Node unchanged = createNode( PERSON, 1 );
+        Node losingLabel = createNode( PERSON, 2 );
+        Node gettingLabel = createNode( DOG, 3 );
+        Node gettingProperty = createNode( PERSON, null );
+
+        // when
+        Set<Long> nodes;
+        try ( Transaction tx = db.beginTx() )
+        {
+            losingLabel.removeLabel( PERSON );
+            gettingLabel.addLabel( PERSON );
+            gettingProperty.setProperty( AGE, 4 );
+            Node created = db.createNode( PERSON );
+            created.setProperty( AGE, 5 );
+            nodes = scanColumn( PERSON, AGE );
+
+            // then
+            assertEquals( asSet( unchanged.getId(), gettingLabel.getId(), gettingProperty.getId(), created.getId() ),
+                    nodes );
+            tx.success();
+        }
+    }
+
+    @Test
+    public void shouldOpenColumnWhenLabelAndPropertyKeyAreCreated() throws Exception
+    {
+        // given
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertFalse( columnExists( PERSON, AGE ) );
+            tx.success();
+        }
+
+        // when
+        Node person = createNode( PERSON, 10 );
+
+        // then
+        try ( Transaction tx = db.beginTx() )
+        {
+            assertTrue( columnExists( PERSON, AGE ) );
+            assertEquals( asSet( person.getId() ), scanColumn( PERSON, AGE ) );
+            tx.success();
+        }
+    }
+
+    private Node createNode( Label label, Object age )
+    {
+        try ( Transaction tx = db.beginTx() )
+        {
+            Node node = db.createNode( label );
+            if ( age != null )
+            {
+                node.setProperty( AGE, age );
+            }
+            tx.success();
+            return node;
+        }
+    }
+
+    private boolean columnExists( Label label, String propertyKey )
+    {
+        try ( Statement statement = statement() )
+        {
+            ReadOperations readOperations = statement.readOperations();
+            return readOperations.nodePropertyColumnExists( readOperations.labelGetForName( label.name() ),
+                    readOperations.propertyKeyGetForName( propertyKey ) );
+        }
+    }
+
+    private Set<Long> scanColumn( Label label, String propertyKey )
+    {
+        try ( Statement statement = statement() )
+        {
+            ReadOperations readOperations = statement.readOperations();
+            return toSet( readOperations.nodesGetFromPropertyColumn( readOperations.labelGetForName( label.name() ),
+                    readOperations.propertyKeyGetForName( propertyKey ) ) );
+        }
+    }
+
+    private Statement statement()
+    {
+        return db.getDependencyResolver().resolveDependency( ThreadToStatementContextBridge.class ).get();
+    }
+}
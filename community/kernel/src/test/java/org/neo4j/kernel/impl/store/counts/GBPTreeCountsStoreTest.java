@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.store.counts;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.io.pagecache.IOLimiter;
+import org.neo4j.kernel.impl.api.CountsAccessor;
+import org.neo4j.kernel.impl.api.CountsVisitor;
+import org.neo4j.kernel.impl.store.kvstore.DataInitializer;
+import org.neo4j.register.Register.DoubleLongRegister;
+import org.neo4j.register.Registers;
+import org.neo4j.test.rule.PageCacheAndDependenciesRule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.index.internal.gbptree.RecoveryCleanupWorkCollector.IMMEDIATE;
+
+public class GBPTreeCountsStoreTest
+{
+    private static final int LABEL = 1;
+    private static final int OTHER_LABEL = 2;
+    private static final int TYPE = 3;
+    private static final long INDEX = 4;
+
+    @Rule
+    public final PageCacheAndDependenciesRule rules = new PageCacheAndDependenciesRule();
+
+    @Test
+    public void shouldAggregateChangesAcrossCheckpoints() throws Exception
+    {
+        GBPTreeCountsStore store = start( 1 );
+        try
+        {
+            // given
+            apply( store, 2, 5, 10 );
+            store.checkpoint( 2, IOLimiter.unlimited() );
+
+            // when
+            apply( store, 3, -2, 1 );
+
+            // then
+            assertEquals( 3, store.nodeCount( LABEL, register() ).readSecond() );
+            assertEquals( 11, store.relationshipCount( LABEL, TYPE, OTHER_LABEL, register() ).readSecond() );
+            assertEquals( 0, store.nodeCount( OTHER_LABEL, register() ).readSecond() );
+        }
+        finally
+        {
+            store.checkpoint( 3, IOLimiter.unlimited() );
+            store.shutdown();
+        }
+
+        // when
+        store = start( 1 );
+        try
+        {
+            // then
+            assertEquals( 3, store.txId() );
+            assertEquals( 3, store.nodeCount( LABEL, register() ).readSecond() );
+            assertEquals( 11, store.relationshipCount( LABEL, TYPE, OTHER_LABEL, register() ).readSecond() );
+        }
+        finally
+        {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldIgnoreTransactionsIncludedInLastCheckpoint() throws Exception
+    {
+        // given
+        GBPTreeCountsStore store = start( 1 );
+        apply( store, 2, 1, 1 );
+        apply( store, 4, 1, 1 );
+        store.checkpoint( 2, IOLimiter.unlimited() );
+        apply( store, 3, 1, 1 );
+        // crash, i.e. no checkpoint here
+        store.shutdown();
+
+        // when
+        store = start( 1 );
+        try
+        {
+            // then
+            assertFalse( store.apply( 2 ).isPresent() );
+            assertFalse( store.apply( 4 ).isPresent() );
+            assertTrue( store.apply( 3 ).isPresent() );
+            assertEquals( 2, store.nodeCount( LABEL, register() ).readSecond() );
+
+            // and when
+            apply( store, 3, 1, 1 );
+            assertEquals( 4, store.checkpoint( 3, IOLimiter.unlimited() ) );
+
+            // then
+            assertEquals( 3, store.nodeCount( LABEL, register() ).readSecond() );
+        }
+        finally
+        {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReplaceAndIncrementIndexStatistics() throws Exception
+    {
+        GBPTreeCountsStore store = start( 1 );
+        try
+        {
+            // given
+            try ( CountsAccessor.IndexStatsUpdater updater = store.updateIndexCounts() )
+            {
+                updater.replaceIndexUpdateAndSize( INDEX, 2, 100 );
+                updater.replaceIndexSample( INDEX, 40, 100 );
+            }
+            store.checkpoint( 1, IOLimiter.unlimited() );
+
+            // when
+            try ( CountsAccessor.IndexStatsUpdater updater = store.updateIndexCounts() )
+            {
+                updater.incrementIndexUpdates( INDEX, 3 );
+            }
+
+            // then
+            assertRegister( 5, 100, store.indexUpdatesAndSize( INDEX, register() ) );
+            assertRegister( 40, 100, store.indexSample( INDEX, register() ) );
+
+            // and when
+            try ( CountsAccessor.IndexStatsUpdater updater = store.updateIndexCounts() )
+            {
+                updater.replaceIndexUpdateAndSize( INDEX, 0, 110 );
+            }
+            store.checkpoint( 1, IOLimiter.unlimited() );
+
+            // then
+            assertRegister( 0, 110, store.indexUpdatesAndSize( INDEX, register() ) );
+        }
+        finally
+        {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldBuildNewStoreFromInitializer() throws Exception
+    {
+        // given
+        GBPTreeCountsStore store = newStore().setInitializer( new DataInitializer<CountsAccessor.Updater>()
+        {
+            @Override
+            public void initialize( CountsAccessor.Updater updater )
+            {
+                updater.incrementNodeCount( LABEL, 7 );
+            }
+
+            @Override
+            public long initialVersion()
+            {
+                return 10;
+            }
+        } );
+
+        // when
+        store.start();
+        try
+        {
+            // then
+            assertEquals( 10, store.txId() );
+            assertFalse( store.apply( 10 ).isPresent() );
+            assertEquals( 7, store.nodeCount( LABEL, register() ).readSecond() );
+        }
+        finally
+        {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReplaceAllCountsWhenReset() throws Exception
+    {
+        GBPTreeCountsStore store = start( 1 );
+        try
+        {
+            // given
+            apply( store, 2, 5, 10 );
+            store.checkpoint( 2, IOLimiter.unlimited() );
+            apply( store, 3, 1, 1 );
+
+            // when
+            try ( CountsAccessor.Updater updater = store.reset( 7 ) )
+            {
+                updater.incrementNodeCount( OTHER_LABEL, 3 );
+            }
+
+            // then
+            assertEquals( 7, store.txId() );
+            assertFalse( store.apply( 7 ).isPresent() );
+            assertEquals( 0, store.nodeCount( LABEL, register() ).readSecond() );
+            assertEquals( 0, store.relationshipCount( LABEL, TYPE, OTHER_LABEL, register() ).readSecond() );
+            assertEquals( 3, store.nodeCount( OTHER_LABEL, register() ).readSecond() );
+        }
+        finally
+        {
+            store.shutdown();
+        }
+
+        // when
+        store = start( 1 );
+        try
+        {
+            // then
+            assertEquals( 7, store.txId() );
+            assertEquals( 0, store.nodeCount( LABEL, register() ).readSecond() );
+            assertEquals( 3, store.nodeCount( OTHER_LABEL, register() ).readSecond() );
+        }
+        finally
+        {
+            store.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldVisitCheckpointedAndPendingCounts() throws Exception
+    {
+        GBPTreeCountsStore store = start( 1 );
+        try
+        {
+            // given
+            apply( store, 2, 5, 10 );
+            store.checkpoint( 2, IOLimiter.unlimited() );
+            apply( store, 3, 1, 0 );
+            try ( CountsAccessor.Updater updater = store.apply( 4 ).get() )
+            {
+                updater.incrementNodeCount( OTHER_LABEL, 2 );
+            }
+
+            // when
+            long[] counts = new long[3];
+            store.accept( new CountsVisitor.Adapter()
+            {
+                @Override
+                public void visitNodeCount( int labelId, long count )
+                {
+                    counts[labelId == LABEL ? 0 : 1] = count;
+                }
+
+                @Override
+                public void visitRelationshipCount( int startLabelId, int typeId, int endLabelId, long count )
+                {
+                    assertEquals( LABEL, startLabelId );
+                    assertEquals( TYPE, typeId );
+                    assertEquals( OTHER_LABEL, endLabelId );
+                    counts[2] = count;
+                }
+            } );
+
+            // then
+            assertEquals( 6, counts[0] );
+            assertEquals( 2, counts[1] );
+            assertEquals( 10, counts[2] );
+        }
+        finally
+        {
+            store.shutdown();
+        }
+    }
+
+    private GBPTreeCountsStore start( long initialTxId ) throws IOException
+    {
+        GBPTreeCountsStore store = newStore().setInitializer( new DataInitializer<CountsAccessor.Updater>()
+        {
+            @Override
+            public void initialize( CountsAccessor.Updater updater )
+            {
+            }
+
+            @Override
+            public long initialVersion()
+            {
+                return initialTxId;
+            }
+        } );
+        store.start();
+        return store;
+    }
+
+    private GBPTreeCountsStore newStore()
+    {
+        File file = rules.directory().file( GBPTreeCountsStore.FILE_NAME );
+        return new GBPTreeCountsStore( rules.pageCache(), file, IMMEDIATE, 10_000 );
+    }
+
+    private static void apply( GBPTreeCountsStore store, long txId, long nodeDelta, long relationshipDelta )
+    {
+        try ( CountsAccessor.Updater updater = store.apply( txId ).get() )
+        {
+            updater.incrementNodeCount( LABEL, nodeDelta );
+            updater.incrementRelationshipCount( LABEL, TYPE, OTHER_LABEL, relationshipDelta );
+        }
+    }
+
+    private static DoubleLongRegister register()
+    {
+        return Registers.newDoubleLongRegister();
+    }
+
+    private static void assertRegister( long first, long second, DoubleLongRegister register )
+    {
+        assertEquals( first, register.readFirst() );
+        assertEquals( second, register.readSecond() );
+    }
+}
@@ -23,11 +23,15 @@ import org.junit.Rule;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import org.neo4j.graphdb.mockfs.EphemeralFileSystemAbstraction;
 import org.neo4j.kernel.impl.store.id.validation.IdCapacityExceededException;
 import org.neo4j.kernel.impl.store.id.validation.NegativeIdException;
+import org.neo4j.test.Race;
 import org.neo4j.test.rule.TestDirectory;
 import org.neo4j.test.rule.fs.EphemeralFileSystemRule;
 
@@ -35,6 +39,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -228,4 +233,113 @@ public class IdGeneratorImplTest
         // The supplier must have remained untouched
         verifyZeroInteractions( highId );
     }
+
+    @Test
+    public void shouldReuseIdFreedAfterHighIdHasBeenAllocated()
+    {
+        // Given
+        IdGeneratorImpl.createGenerator( fsr.get(), file, 0, false );
+        IdGenerator idGenerator = new IdGeneratorImpl( fsr.get(), file, 100, 100, true, () -> 0L );
+        long first = idGenerator.nextId();
+        idGenerator.nextId();
+
+        // When
+        idGenerator.freeId( first );
+
+        // Then
+        assertEquals( first, idGenerator.nextId() );
+        assertEquals( 2, idGenerator.nextId() );
+        idGenerator.close();
+    }
+
+    @Test
+    public void shouldHandOutUniqueIdsToConcurrentAllocators() throws Throwable
+    {
+        // Given
+        IdGeneratorImpl.createGenerator( fsr.get(), file, 0, false );
+        IdGenerator idGenerator = new IdGeneratorImpl( fsr.get(), file, 100, Long.MAX_VALUE, true, () -> 0L );
+        int threads = 4;
+        int allocationsPerThread = 1_000;
+        int batchSize = 10;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        // When
+        Race race = new Race();
+        race.addContestants( threads, () ->
+        {
+            for ( int i = 0; i < allocationsPerThread; i++ )
+            {
+                if ( !ids.add( idGenerator.nextId() ) )
+                {
+                    duplicates.incrementAndGet();
+                }
+                IdRange range = idGenerator.nextIdBatch( batchSize );
+                for ( long id = range.getRangeStart(); id < range.getRangeStart() + range.getRangeLength(); id++ )
+                {
+                    if ( !ids.add( id ) )
+                    {
+                        duplicates.incrementAndGet();
+                    }
+                }
+            }
+        }, 1 );
+        race.go();
+
+        // Then
+        assertEquals( 0, duplicates.get() );
+        assertEquals( threads * allocationsPerThread * (1 + batchSize), ids.size() );
+        assertEquals( ids.size(), idGenerator.getHighId() );
+        idGenerator.close();
+    }
+
+    @Test
+    public void shouldNotHandOutDuplicateIdsWhileHighIdIsRaisedConcurrently() throws Throwable
+    {
+        // Given
+        IdGeneratorImpl.createGenerator( fsr.get(), file, 0, false );
+        IdGenerator idGenerator = new IdGeneratorImpl( fsr.get(), file, 100, Long.MAX_VALUE, true, () -> 0L );
+        int threads = 4;
+        int allocationsPerThread = 10_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        // When
+        Race race = new Race();
+        race.addContestants( threads, () ->
+        {
+            for ( int i = 0; i < allocationsPerThread; i++ )
+            {
+                if ( !ids.add( idGenerator.nextId() ) )
+                {
+                    duplicates.incrementAndGet();
+                }
+            }
+        }, 1 );
+        race.addContestant( () ->
+        {
+            for ( int i = 0; i < allocationsPerThread; i++ )
+            {
+                idGenerator.raiseHighId( idGenerator.getHighId() + 1 );
+            }
+        }, 1 );
+        race.go();
+
+        // Then
+        assertEquals( 0, duplicates.get() );
+        assertEquals( threads * allocationsPerThread, ids.size() );
+        assertTrue( idGenerator.getHighId() > ids.stream().mapToLong( Long::longValue ).max().getAsLong() );
+        idGenerator.close();
+    }
+
+    @Test
+    public void raisingHighIdShouldNeverLowerIt()
+    {
+        IdGeneratorImpl.createGenerator( fsr.get(), file, 0, false );
+        IdGenerator idGenerator = new IdGeneratorImpl( fsr.get(), file, 100, Long.MAX_VALUE, false, () -> 0L );
+        idGenerator.raiseHighId( 10 );
+        idGenerator.raiseHighId( 5 );
+        assertEquals( 10, idGenerator.getHighId() );
+        idGenerator.close();
+    }
 }
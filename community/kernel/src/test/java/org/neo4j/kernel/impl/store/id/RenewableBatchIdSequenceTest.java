@@ -152,6 +152,23 @@ public class RenewableBatchIdSequenceTest
         }
     }
 
+    @Test
+    public void shouldPreferIdInSamePageAsNearId() throws Exception
+    {
+        // given
+        IdSequence idSource = mock( IdSequence.class );
+        when( idSource.nextIdBatch( anyInt() ) ).thenReturn( new IdRange( new long[]{3, 25, 41}, 100, 2 ) );
+        RenewableBatchIdSequence ids = new RenewableBatchIdSequence( idSource, BATCH_SIZE, 10, excessIds::add );
+
+        // when/then
+        assertEquals( 25, ids.nextId( 22 ) );
+        assertEquals( 3, ids.nextId() );
+        assertEquals( 41, ids.nextId( 999 ) );
+        assertEquals( 101, ids.nextId( 105 ) );
+        ids.close();
+        assertEquals( asList( 100L ), excessIds );
+    }
+
     private static class IdSource implements IdSequence
     {
         int calls;
@@ -35,6 +35,7 @@ import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.kernel.impl.logging.NullLogService;
 import org.neo4j.kernel.impl.logging.SimpleLogService;
 import org.neo4j.kernel.impl.store.TransactionId;
+import org.neo4j.kernel.impl.store.format.standard.StandardDictionaryStrings;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_0;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_2;
 import org.neo4j.kernel.impl.storemigration.monitoring.MigrationProgressMonitor;
@@ -208,6 +209,25 @@ public class StoreMigratorTest
         assertFalse( progressMonitor.started );
     }
 
+    @Test
+    public void shouldNotMigrateFilesWhenOnlyAddingStringDictionarySupport() throws Exception
+    {
+        // Prepare migrator and file
+        StoreMigrator migrator = newStoreMigrator();
+        File graphDbDir = directory.graphDbDir();
+        File neoStore = new File( graphDbDir, DEFAULT_NAME );
+        neoStore.createNewFile();
+
+        // Monitor what happens
+        MySection progressMonitor = new MySection();
+        // Records of the dictionary strings format are laid out the same as in its base format
+        migrator.migrate( graphDbDir, directory.directory( "migrationDir" ), progressMonitor,
+                StandardV3_2.STORE_VERSION, StandardDictionaryStrings.STORE_VERSION );
+
+        // Should not have started any migration
+        assertFalse( progressMonitor.started );
+    }
+
     private StoreMigrator newStoreMigrator()
     {
         return new StoreMigrator( fileSystemRule, pageCache,
@@ -37,7 +37,9 @@ import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.NodeStore;
 import org.neo4j.kernel.impl.store.PropertyStore;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.kernel.impl.transaction.command.Command.NodeCommand;
+import org.neo4j.kernel.impl.transaction.command.Command.RelationshipCommand;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -61,8 +63,10 @@ public class IndexBatchTransactionApplierTest
         WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync = new WorkSync<>( indexing );
         TransactionToApply tx = mock( TransactionToApply.class );
         PropertyStore propertyStore = mock( PropertyStore.class );
+        WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> relationshipTypeScanSync =
+                new WorkSync<>( singletonProvider( new OrderVerifyingLabelScanWriter() ) );
         try ( IndexBatchTransactionApplier applier = new IndexBatchTransactionApplier( indexing, labelScanSync,
-                indexUpdatesSync, mock( NodeStore.class ),
+                relationshipTypeScanSync, indexUpdatesSync, mock( NodeStore.class ),
                 new PropertyPhysicalToLogicalConverter( propertyStore ) ) )
         {
             try ( TransactionApplier txApplier = applier.startTx( tx ) )
@@ -77,6 +81,38 @@ public class IndexBatchTransactionApplierTest
         verify( labelScanSync ).applyAsync( any() );
     }
 
+    @Test
+    public void shouldProvideRelationshipTypeScanStoreUpdatesForCreatedAndDeletedRelationshipsSortedById()
+            throws Exception
+    {
+        // GIVEN
+        IndexingService indexing = mock( IndexingService.class );
+        when( indexing.convertToIndexUpdates( any() ) ).thenAnswer( o -> Iterables.empty() );
+        WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> labelScanSync =
+                new WorkSync<>( singletonProvider( new OrderVerifyingLabelScanWriter() ) );
+        LabelScanWriter writer = new OrderVerifyingLabelScanWriter( 3, 5, 8 );
+        WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork> relationshipTypeScanSync =
+                spy( new WorkSync<>( singletonProvider( writer ) ) );
+        WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync = new WorkSync<>( indexing );
+        TransactionToApply tx = mock( TransactionToApply.class );
+        PropertyStore propertyStore = mock( PropertyStore.class );
+        try ( IndexBatchTransactionApplier applier = new IndexBatchTransactionApplier( indexing, labelScanSync,
+                relationshipTypeScanSync, indexUpdatesSync, mock( NodeStore.class ),
+                new PropertyPhysicalToLogicalConverter( propertyStore ) ) )
+        {
+            try ( TransactionApplier txApplier = applier.startTx( tx ) )
+            {
+                // WHEN
+                txApplier.visitRelationshipCommand( relationship( 8, false, true ) );
+                txApplier.visitRelationshipCommand( relationship( 4, true, true ) );
+                txApplier.visitRelationshipCommand( relationship( 3, true, false ) );
+                txApplier.visitRelationshipCommand( relationship( 5, false, true ) );
+            }
+        }
+        // THEN all assertions happen inside the LabelScanWriter#write and #close
+        verify( relationshipTypeScanSync ).applyAsync( any() );
+    }
+
     private Supplier<LabelScanWriter> singletonProvider( final LabelScanWriter writer )
     {
         return () -> writer;
@@ -91,6 +127,17 @@ public class IndexBatchTransactionApplierTest
         return new NodeCommand( new NodeRecord( nodeId ), after );
     }
 
+    private RelationshipCommand relationship( long relationshipId, boolean inUseBefore, boolean inUseAfter )
+    {
+        RelationshipRecord before = new RelationshipRecord( relationshipId );
+        before.initialize( inUseBefore, NO_NEXT_PROPERTY.intValue(), 1, 2, 0,
+                NO_NEXT_RELATIONSHIP.intValue(), NO_NEXT_RELATIONSHIP.intValue(),
+                NO_NEXT_RELATIONSHIP.intValue(), NO_NEXT_RELATIONSHIP.intValue(), true, true );
+        RelationshipRecord after = before.clone();
+        after.setInUse( inUseAfter );
+        return new RelationshipCommand( before, after );
+    }
+
     private static class OrderVerifyingLabelScanWriter implements LabelScanWriter
     {
         private final long[] expectedNodeIds;
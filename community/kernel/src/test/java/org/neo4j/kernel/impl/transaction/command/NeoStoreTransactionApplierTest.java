@@ -113,6 +113,9 @@ public class NeoStoreTransactionApplierTest
     private final DynamicRecord three = DynamicRecord.dynamicRecord( 3, true );
     private final WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork>
             labelScanStoreSynchronizer = new WorkSync<>( labelScanStore );
+    @SuppressWarnings( "unchecked" )
+    private final WorkSync<Supplier<LabelScanWriter>,LabelUpdateWork>
+            relationshipTypeScanStoreSynchronizer = new WorkSync<>( mock( Supplier.class ) );
     private final TransactionToApply transactionToApply = mock( TransactionToApply.class );
     private final WorkSync<IndexingUpdateService,IndexUpdatesWork> indexUpdatesSync = new WorkSync<>( indexingService );
 
@@ -925,7 +928,7 @@ public class NeoStoreTransactionApplierTest
     private BatchTransactionApplier newIndexApplier()
     {
         return new IndexBatchTransactionApplier( indexingService, labelScanStoreSynchronizer,
-                indexUpdatesSync, nodeStore,
+                relationshipTypeScanStoreSynchronizer, indexUpdatesSync, nodeStore,
                 new PropertyPhysicalToLogicalConverter( propertyStore ) );
     }
 
@@ -36,6 +36,7 @@ import java.util.stream.Collectors;
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.kernel.NeoStoreDataSource;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.impl.api.ExplicitIndexProviderLookup;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.store.StoreType;
@@ -127,6 +128,7 @@ public class NeoStoreFileListingTest
     {
         // Given
         LabelScanStore labelScanStore = mock( LabelScanStore.class );
+        RelationshipTypeScanStore relationshipTypeScanStore = mock( RelationshipTypeScanStore.class );
         IndexingService indexingService = mock( IndexingService.class );
         ExplicitIndexProviderLookup explicitIndexes = mock( ExplicitIndexProviderLookup.class );
         when( explicitIndexes.all() ).thenReturn( Collections.emptyList() );
@@ -134,10 +136,12 @@ public class NeoStoreFileListingTest
         filesInStoreDirAre( storeDir, STANDARD_STORE_DIR_FILES, STANDARD_STORE_DIR_DIRECTORIES );
         StorageEngine storageEngine = mock( StorageEngine.class );
         NeoStoreFileListing fileListing = new NeoStoreFileListing(
-                storeDir, labelScanStore, indexingService, explicitIndexes, storageEngine );
+                storeDir, labelScanStore, relationshipTypeScanStore, indexingService, explicitIndexes, storageEngine );
 
         ResourceIterator<File> scanSnapshot = scanStoreFilesAre( labelScanStore,
                 new String[]{"blah/scan.store", "scan.more"} );
+        ResourceIterator<File> relationshipTypeScanSnapshot = relationshipTypeScanStoreFilesAre(
+                relationshipTypeScanStore, new String[]{"relationshiptype.scan.store"} );
         ResourceIterator<File> indexSnapshot = indexFilesAre( indexingService, new String[]{"schema/index/my.index"} );
 
         ResourceIterator<StoreFileMetadata> result = fileListing.listStoreFiles( false );
@@ -147,6 +151,7 @@ public class NeoStoreFileListingTest
 
         // Then
         verify( scanSnapshot ).close();
+        verify( relationshipTypeScanSnapshot ).close();
         verify( indexSnapshot ).close();
     }
 
@@ -222,6 +227,16 @@ public class NeoStoreFileListingTest
         return snapshot;
     }
 
+    private ResourceIterator<File> relationshipTypeScanStoreFilesAre(
+            RelationshipTypeScanStore relationshipTypeScanStore, String[] fileNames ) throws IOException
+    {
+        ArrayList<File> files = new ArrayList<>();
+        mockFiles( fileNames, files, false );
+        ResourceIterator<File> snapshot = spy( asResourceIterator( files.iterator() ) );
+        when( relationshipTypeScanStore.snapshotStoreFiles() ).thenReturn( snapshot );
+        return snapshot;
+    }
+
     private ResourceIterator<File> indexFilesAre( IndexingService indexingService, String[] fileNames )
             throws IOException
     {
@@ -41,10 +41,12 @@ import org.neo4j.helpers.collection.Pair;
 import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.store.DynamicNodeLabels;
+import org.neo4j.kernel.impl.store.InlineNodeLabels;
 import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.NodeLabels;
 import org.neo4j.kernel.impl.store.NodeLabelsField;
 import org.neo4j.kernel.impl.store.NodeStore;
+import org.neo4j.kernel.impl.store.RecordCursor;
 import org.neo4j.kernel.impl.store.StoreFactory;
 import org.neo4j.kernel.impl.store.id.DefaultIdGeneratorFactory;
 import org.neo4j.kernel.impl.store.record.DynamicRecord;
@@ -55,11 +57,13 @@ import org.neo4j.test.rule.PageCacheRule;
 import org.neo4j.test.rule.RandomRule;
 import org.neo4j.test.rule.fs.EphemeralFileSystemRule;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.neo4j.helpers.Numbers.safeCastLongToInt;
+import static org.neo4j.kernel.impl.store.record.RecordLoad.NORMAL;
 import static org.neo4j.kernel.impl.util.Bits.bits;
 
 public class NodeLabelsFieldTest
@@ -193,6 +197,60 @@ public class NodeLabelsFieldTest
                 node.getLabelField() );
     }
 
+    @Test
+    public void shouldDecodeInlinedLabelsIntoReusedArray() throws Exception
+    {
+        // GIVEN
+        long[] target = new long[2];
+        long[][] labelSets = {{}, {10}, {10, 4095}, {10, 30, 45, 60, 61}, {1, 2, 3, 4, 5, 6, 7}};
+
+        for ( long[] labels : labelSets )
+        {
+            long labelField = nodeRecordWithInlinedLabels( labels ).getLabelField();
+
+            // WHEN
+            target = InlineNodeLabels.parseInlined( labelField, target );
+
+            // THEN
+            int count = InlineNodeLabels.inlinedLabelCount( labelField );
+            assertArrayEquals( InlineNodeLabels.parseInlined( labelField ), Arrays.copyOf( target, count ) );
+            assertArrayEquals( labels, Arrays.copyOf( target, count ) );
+        }
+    }
+
+    @Test
+    public void shouldDecodeDynamicLabelsIntoReusedArray() throws Exception
+    {
+        // GIVEN
+        long[] target = new long[16];
+        DynamicRecord record = new DynamicRecord( -1 );
+        long[][] labelSets = {oneByteLongs( 10 ), oneByteLongs( 57 ), fourByteLongs( 3 ), fourByteLongs( 100 ),
+                oneByteLongs( 12 )};
+        long nodeId = Integer.MAX_VALUE;
+
+        try ( RecordCursor<DynamicRecord> cursor = nodeStore.getDynamicLabelStore()
+                .newRecordCursor( nodeStore.getDynamicLabelStore().newRecord() ).acquire( 0, NORMAL ) )
+        {
+            for ( long[] labels : labelSets )
+            {
+                long labelField = nodeRecordWithDynamicLabels( nodeId++, nodeStore, labels ).getLabelField();
+
+                // WHEN
+                int count = DynamicNodeLabels.readDynamicLabels( labelField, cursor, record, target );
+                if ( labels.length > target.length )
+                {
+                    assertEquals( -labels.length, count );
+                    target = new long[labels.length];
+                    count = DynamicNodeLabels.readDynamicLabels( labelField, cursor, record, target );
+                }
+
+                // THEN
+                assertEquals( labels.length, count );
+                assertArrayEquals( labels, Arrays.copyOf( target, count ) );
+            }
+        }
+    }
+
     @Test
     public void shouldSpillOverToDynamicRecordIfExceedsInlinedSpace() throws Exception
     {
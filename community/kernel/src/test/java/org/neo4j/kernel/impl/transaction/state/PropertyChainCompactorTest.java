@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.state;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.neo4j.kernel.impl.store.PropertyStore;
+import org.neo4j.kernel.impl.store.RecordStore;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PrimitiveRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.store.record.Record;
+import org.neo4j.kernel.impl.transaction.state.RecordAccess.RecordProxy;
+import org.neo4j.unsafe.batchinsert.internal.DirectRecordAccess;
+import org.neo4j.unsafe.impl.batchimport.store.BatchingIdSequence;
+import org.neo4j.values.storable.Values;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class PropertyChainCompactorTest
+{
+    private static final int RECORDS_PER_PAGE = 4;
+
+    private final BatchingIdSequence idGenerator = new BatchingIdSequence( 1_000 );
+    private final PropertyChainCompactor compactor = new PropertyChainCompactor(
+            new PropertyCreator( null, null, idGenerator, new PropertyTraverser() ), RECORDS_PER_PAGE );
+
+    @SuppressWarnings( "unchecked" )
+    private final RecordAccess<PropertyRecord,PrimitiveRecord> properties =
+            new DirectRecordAccess<>( mock( RecordStore.class ), Loaders.propertyLoader( null ) );
+    @SuppressWarnings( "unchecked" )
+    private final RecordAccess<NodeRecord,Void> nodes =
+            new DirectRecordAccess<>( mock( RecordStore.class ), Loaders.nodeLoader( null ) );
+    private final RecordProxy<NodeRecord,Void> node = nodes.create( 5, null );
+
+    @Test
+    public void shouldPackPropertiesIntoFewerRecords() throws Exception
+    {
+        // given
+        long[] existing = existingChain( new long[]{10, 11, 12}, new int[]{0, 1}, new int[]{2}, new int[]{3, 4} );
+
+        // when
+        boolean compacted = compactor.compact( node, properties );
+
+        // then
+        assertTrue( compacted );
+        assertChain( new int[]{0, 1, 2, 3}, new int[]{4} );
+        assertNotInUse( existing );
+    }
+
+    @Test
+    public void shouldMovePackedRecordsSpreadOverPagesNextToEachOther() throws Exception
+    {
+        // given
+        long[] existing = existingChain( new long[]{100, 200, 300},
+                new int[]{0, 1, 2, 3}, new int[]{4, 5, 6, 7}, new int[]{8} );
+
+        // when
+        boolean compacted = compactor.compact( node, properties );
+
+        // then
+        assertTrue( compacted );
+        long[] chain = assertChain( new int[]{0, 1, 2, 3}, new int[]{4, 5, 6, 7}, new int[]{8} );
+        assertArrayEquals( new long[]{1_000, 1_001, 1_002}, chain );
+        assertNotInUse( existing );
+    }
+
+    @Test
+    public void shouldNotCompactPackedRecordsInSamePage() throws Exception
+    {
+        // given
+        existingChain( new long[]{4, 7}, new int[]{0, 1, 2, 3}, new int[]{4} );
+
+        // when
+        boolean compacted = compactor.compact( node, properties );
+
+        // then
+        assertFalse( compacted );
+        assertArrayEquals( new long[]{4, 7}, assertChain( new int[]{0, 1, 2, 3}, new int[]{4} ) );
+    }
+
+    @Test
+    public void shouldNotCompactSingleRecordChain() throws Exception
+    {
+        // given
+        existingChain( new long[]{10}, new int[]{0} );
+
+        // when
+        boolean compacted = compactor.compact( node, properties );
+
+        // then
+        assertFalse( compacted );
+    }
+
+    private long[] existingChain( long[] ids, int[]... keysPerRecord )
+    {
+        NodeRecord nodeRecord = node.forChangingLinkage();
+        nodeRecord.setInUse( true );
+        PropertyRecord prev = null;
+        for ( int i = 0; i < ids.length; i++ )
+        {
+            PropertyRecord record = properties.create( ids[i], nodeRecord ).forChangingLinkage();
+            record.setInUse( true );
+            for ( int key : keysPerRecord[i] )
+            {
+                PropertyBlock block = new PropertyBlock();
+                PropertyStore.encodeValue( block, key, Values.of( key ), null, null );
+                record.addPropertyBlock( block );
+            }
+            if ( prev == null )
+            {
+                nodeRecord.setNextProp( record.getId() );
+            }
+            else
+            {
+                record.setPrevProp( prev.getId() );
+                prev.setNextProp( record.getId() );
+            }
+            prev = record;
+        }
+        return ids;
+    }
+
+    private long[] assertChain( int[]... expectedKeysPerRecord )
+    {
+        List<Long> ids = new ArrayList<>();
+        long prevProp = Record.NO_PREVIOUS_PROPERTY.intValue();
+        long nextProp = node.forReadingLinkage().getNextProp();
+        while ( !Record.NO_NEXT_PROPERTY.is( nextProp ) )
+        {
+            PropertyRecord record = properties.getIfLoaded( nextProp ).forReadingLinkage();
+            assertTrue( record.inUse() );
+            assertEquals( prevProp, record.getPrevProp() );
+            int[] expectedKeys = expectedKeysPerRecord[ids.size()];
+            assertEquals( expectedKeys.length, record.numberOfProperties() );
+            for ( int key : expectedKeys )
+            {
+                PropertyBlock block = record.getPropertyBlock( key );
+                assertEquals( Values.of( key ), block.getType().value( block, null ) );
+            }
+            ids.add( record.getId() );
+            prevProp = record.getId();
+            nextProp = record.getNextProp();
+        }
+        assertEquals( expectedKeysPerRecord.length, ids.size() );
+        return ids.stream().mapToLong( Long::longValue ).toArray();
+    }
+
+    private void assertNotInUse( long[] ids )
+    {
+        for ( long id : ids )
+        {
+            assertFalse( properties.getIfLoaded( id ).forReadingLinkage().inUse() );
+        }
+    }
+}
@@ -42,6 +42,7 @@ import org.neo4j.kernel.api.index.IndexEntryUpdate;
 import org.neo4j.kernel.api.labelscan.NodeLabelUpdate;
 import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
 import org.neo4j.kernel.api.schema.SchemaDescriptorFactory;
+import org.neo4j.kernel.impl.api.index.MultipleIndexPopulator;
 import org.neo4j.kernel.impl.api.index.NodeUpdates;
 import org.neo4j.kernel.impl.api.index.StoreScan;
 import org.neo4j.kernel.impl.core.ThreadToStatementContextBridge;
@@ -52,6 +53,7 @@ import org.neo4j.kernel.impl.store.NeoStores;
 import org.neo4j.kernel.impl.store.record.NodeRecord;
 import org.neo4j.kernel.impl.store.record.RecordLoad;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.test.rule.EmbeddedDatabaseRule;
 import org.neo4j.values.storable.Value;
 import org.neo4j.values.storable.Values;
@@ -67,6 +69,8 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyLong;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import static org.neo4j.helpers.collection.Iterators.asSet;
@@ -175,6 +179,75 @@ public class NeoStoreIndexStoreViewTest
         order.verify( lock1 ).release();
     }
 
+    @Test
+    public void shouldScanPartitionsConcurrently() throws Exception
+    {
+        // given
+        Set<NodeUpdates> expected = new HashSet<>();
+        expected.add( add( alistair.getId(), propertyKeyId, "Alistair", new long[] { labelId } ) );
+        expected.add( add( stefan.getId(), propertyKeyId, "Stefan", new long[] { labelId } ) );
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                Node node = graphDb.createNode( label );
+                node.setProperty( "name", "Node" + i );
+                expected.add( add( node.getId(), propertyKeyId, "Node" + i, new long[] { labelId } ) );
+                graphDb.createNode();
+            }
+            tx.success();
+        }
+        NodeUpdateCollectingVisitor visitor = new NodeUpdateCollectingVisitor();
+        StoreViewNodeStoreScan<Exception> storeScan = new StoreViewNodeStoreScan<>( neoStores.getNodeStore(),
+                LockService.NO_LOCK_SERVICE, neoStores.getPropertyStore(), null, visitor, new int[]{labelId},
+                id -> id == propertyKeyId, 4, 10 );
+
+        // when
+        storeScan.run();
+
+        // then
+        assertEquals( expected, visitor.getUpdates() );
+        PopulationProgress progress = storeScan.getProgress();
+        assertEquals( progress.getTotal(), progress.getCompleted() );
+    }
+
+    @Test
+    public void shouldOnlyAcceptUpdatesForNodesScannedByPartitions() throws Exception
+    {
+        // given
+        try ( Transaction tx = graphDb.beginTx() )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                graphDb.createNode( label ).setProperty( "name", "Node" + i );
+            }
+            tx.success();
+        }
+        long highId = neoStores.getNodeStore().getHighId();
+        StoreViewNodeStoreScan<Exception> storeScan = new StoreViewNodeStoreScan<>( neoStores.getNodeStore(),
+                LockService.NO_LOCK_SERVICE, neoStores.getPropertyStore(), null, new NodeUpdateCollectingVisitor(),
+                new int[]{labelId}, id -> id == propertyKeyId, 4, 10 );
+        storeScan.run();
+        MultipleIndexPopulator.MultipleIndexUpdater updater = mock( MultipleIndexPopulator.MultipleIndexUpdater.class );
+        LabelSchemaDescriptor schema = SchemaDescriptorFactory.forLabel( labelId, propertyKeyId );
+        IndexEntryUpdate<LabelSchemaDescriptor> scanned = IndexEntryUpdate.add( 5, schema, Values.of( "a" ) );
+        IndexEntryUpdate<LabelSchemaDescriptor> created = IndexEntryUpdate.add( highId, schema, Values.of( "b" ) );
+
+        // when
+        storeScan.acceptUpdate( updater, scanned, 0 );
+        storeScan.acceptUpdate( updater, created, 0 );
+
+        // then
+        verify( updater ).process( scanned );
+        verify( updater, never() ).process( created );
+
+        // and when population is about to complete
+        storeScan.acceptUpdate( updater, created, Long.MAX_VALUE );
+
+        // then
+        verify( updater ).process( created );
+    }
+
     @Test
     public void shouldReadProperties() throws EntityNotFoundException
     {
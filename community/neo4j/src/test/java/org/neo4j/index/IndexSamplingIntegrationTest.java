@@ -216,8 +216,8 @@ public class IndexSamplingIntegrationTest
             db = new TestGraphDatabaseFactory().newEmbeddedDatabase( testDirectory.graphDbDir() );
             @SuppressWarnings( "deprecation" )
             GraphDatabaseAPI api = (GraphDatabaseAPI) db;
-            CountsTracker countsTracker = api.getDependencyResolver().resolveDependency( RecordStorageEngine.class )
-                    .testAccessNeoStores().getCounts();
+            CountsTracker countsTracker = (CountsTracker) api.getDependencyResolver()
+                    .resolveDependency( RecordStorageEngine.class ).testAccessNeoStores().getCounts();
             IndexSampleKey key = CountsKeyFactory.indexSampleKey( indexId( api ) );
             return countsTracker.get( key, Registers.newDoubleLongRegister() );
         }
@@ -238,8 +238,8 @@ public class IndexSamplingIntegrationTest
             db = new TestGraphDatabaseFactory().newEmbeddedDatabase( testDirectory.graphDbDir() );
             @SuppressWarnings( "deprecation" )
             GraphDatabaseAPI api = (GraphDatabaseAPI) db;
-            CountsTracker countsTracker = api.getDependencyResolver().resolveDependency( RecordStorageEngine.class )
-                    .testAccessNeoStores().getCounts();
+            CountsTracker countsTracker = (CountsTracker) api.getDependencyResolver()
+                    .resolveDependency( RecordStorageEngine.class ).testAccessNeoStores().getCounts();
             IndexStatisticsKey key = CountsKeyFactory.indexStatisticsKey( indexId( api ) );
             return countsTracker.get( key, Registers.newDoubleLongRegister() );
         }
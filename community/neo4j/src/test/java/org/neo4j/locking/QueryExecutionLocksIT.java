@@ -68,6 +68,7 @@ import org.neo4j.kernel.api.proc.ProcedureSignature;
 import org.neo4j.kernel.api.proc.QualifiedName;
 import org.neo4j.kernel.api.proc.UserFunctionSignature;
 import org.neo4j.kernel.api.query.ExecutingQuery;
+import org.neo4j.kernel.api.schema.IndexOrder;
 import org.neo4j.kernel.api.schema.IndexQuery;
 import org.neo4j.kernel.api.schema.LabelSchemaDescriptor;
 import org.neo4j.kernel.api.schema.SchemaDescriptor;
@@ -93,6 +94,7 @@ import org.neo4j.storageengine.api.PropertyItem;
 import org.neo4j.storageengine.api.RelationshipItem;
 import org.neo4j.storageengine.api.Token;
 import org.neo4j.storageengine.api.lock.ResourceType;
+import org.neo4j.storageengine.api.schema.NodeValueIterator;
 import org.neo4j.storageengine.api.schema.PopulationProgress;
 import org.neo4j.test.rule.EmbeddedDatabaseRule;
 import org.neo4j.values.storable.Value;
@@ -461,6 +463,24 @@ public class QueryExecutionLocksIT
             return readOperations.nodesGetForLabel( labelId );
         }
 
+        @Override
+        public PrimitiveLongIterator nodesGetForAllLabels( int... labelIds )
+        {
+            return readOperations.nodesGetForAllLabels( labelIds );
+        }
+
+        @Override
+        public boolean nodePropertyColumnExists( int labelId, int propertyKeyId )
+        {
+            return readOperations.nodePropertyColumnExists( labelId, propertyKeyId );
+        }
+
+        @Override
+        public PrimitiveLongIterator nodesGetFromPropertyColumn( int labelId, int propertyKeyId )
+        {
+            return readOperations.nodesGetFromPropertyColumn( labelId, propertyKeyId );
+        }
+
         @Override
         public PrimitiveLongIterator indexQuery( IndexDescriptor index, IndexQuery... predicates )
                 throws IndexNotFoundKernelException, IndexNotApplicableKernelException
@@ -468,6 +488,20 @@ public class QueryExecutionLocksIT
             return readOperations.indexQuery( index, predicates );
         }
 
+        @Override
+        public PrimitiveLongIterator orderedIndexQuery( IndexDescriptor index, IndexOrder order,
+                IndexQuery... predicates ) throws IndexNotFoundKernelException, IndexNotApplicableKernelException
+        {
+            return readOperations.orderedIndexQuery( index, order, predicates );
+        }
+
+        @Override
+        public NodeValueIterator indexQueryWithValues( IndexDescriptor index, IndexQuery... predicates )
+                throws IndexNotFoundKernelException, IndexNotApplicableKernelException
+        {
+            return readOperations.indexQueryWithValues( index, predicates );
+        }
+
         @Override
         public PrimitiveLongIterator nodesGetAll()
         {
@@ -480,6 +514,12 @@ public class QueryExecutionLocksIT
             return readOperations.relationshipsGetAll();
         }
 
+        @Override
+        public RelationshipIterator relationshipsGetForType( int relationshipTypeId )
+        {
+            return readOperations.relationshipsGetForType( relationshipTypeId );
+        }
+
         @Override
         public RelationshipIterator nodeGetRelationships( long nodeId, Direction direction, int[] relTypes )
                 throws EntityNotFoundException
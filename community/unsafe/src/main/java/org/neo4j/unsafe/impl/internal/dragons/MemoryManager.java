@@ -26,6 +26,13 @@ package org.neo4j.unsafe.impl.internal.dragons;
  * aligned, and plays well with transparent huge pages and other operating system optimisations.
  *
  * The memory manager assumes that the memory claimed from it is evenly divisible in units of pages.
+ *
+ * If a grab alignment is given, or the {@code ALIGN_GRABS_TO_HUGE_PAGES} feature toggle is enabled, then every grab
+ * is aligned to, and sized in multiples of, that alignment, typically the huge page size. This only controls the
+ * placement of the memory: memory allocated with plain {@code malloc} is otherwise only aligned to the base page size
+ * of the operating system, which prevents transparent huge pages from backing a grab, but whether huge pages actually
+ * back an aligned grab is still up to the operating system and its transparent huge page configuration. No
+ * {@code madvise} hints are given, and no NUMA placement is done.
  */
 public final class MemoryManager
 {
@@ -34,11 +41,22 @@ public final class MemoryManager
      */
     private static final long GRAB_SIZE = FeatureToggles.getInteger( MemoryManager.class, "GRAB_SIZE", 512 * 1024 ); // 512 KiB
 
+    /**
+     * The alignment of grabs, which is the {@code HUGE_PAGE_SIZE} when the {@code ALIGN_GRABS_TO_HUGE_PAGES} feature
+     * toggle is enabled, or 0 if it is disabled.
+     */
+    private static final long GRAB_ALIGNMENT =
+            FeatureToggles.flag( MemoryManager.class, "ALIGN_GRABS_TO_HUGE_PAGES", false )
+            ? FeatureToggles.getLong( MemoryManager.class, "HUGE_PAGE_SIZE", 2 * 1024 * 1024 ) // 2 MiB
+            : 0;
+
     /**
      * The amount of memory that this memory manager can still allocate.
      */
     private long memoryReserve;
     private final long alignment;
+    private final long grabAlignment;
+    private final long grabSize;
 
     private Grab grabs;
 
@@ -50,13 +68,38 @@ public final class MemoryManager
      * @param alignment The byte multiple that the allocated pointers have to be aligned at.
      */
     public MemoryManager( long expectedMaxMemory, long alignment )
+    {
+        this( expectedMaxMemory, alignment, GRAB_ALIGNMENT );
+    }
+
+    /**
+     * Create a new MemoryManager that will allocate the given amount of memory, to pointers that are aligned to the
+     * given alignment size, in grabs that are aligned to the given grab alignment.
+     * @param expectedMaxMemory The maximum amount of memory that this memory manager is expected to allocate.
+     * @param alignment The byte multiple that the allocated pointers have to be aligned at.
+     * @param grabAlignment The byte multiple to align and size the grabs by, typically the huge page size, or 0 to not
+     * align grabs.
+     */
+    public MemoryManager( long expectedMaxMemory, long alignment, long grabAlignment )
     {
         if ( alignment == 0 )
         {
             throw new IllegalArgumentException( "Alignment cannot be zero" );
         }
+        if ( grabAlignment < 0 || Long.bitCount( grabAlignment ) > 1 )
+        {
+            throw new IllegalArgumentException( "Grab alignment must be a power of two, or zero, but was " +
+                                                grabAlignment );
+        }
         this.memoryReserve = expectedMaxMemory;
         this.alignment = alignment;
+        this.grabAlignment = grabAlignment;
+        this.grabSize = roundUpToGrabAlignment( GRAB_SIZE );
+    }
+
+    private long roundUpToGrabAlignment( long size )
+    {
+        return grabAlignment == 0 ? size : (size + grabAlignment - 1) & -grabAlignment;
     }
 
     public synchronized long sumUsedMemory()
@@ -79,15 +122,16 @@ public final class MemoryManager
      */
     public synchronized long allocateAligned( long bytes )
     {
-        if ( bytes > GRAB_SIZE )
+        if ( bytes > grabSize )
         {
             // This is a huge allocation. Put it in its own grab and keep any existing grab at the head.
             Grab nextGrab = grabs == null ? null : grabs.next;
-            Grab allocationGrab = new Grab( nextGrab, bytes, alignment );
+            Grab allocationGrab = new Grab( nextGrab, roundUpToGrabAlignment( bytes ), alignment, grabAlignment );
             if ( !allocationGrab.canAllocate( bytes ) )
             {
                 allocationGrab.free();
-                allocationGrab = new Grab( nextGrab, bytes + alignment, alignment );
+                allocationGrab = new Grab( nextGrab, roundUpToGrabAlignment( bytes + alignment ), alignment,
+                        grabAlignment );
             }
             long allocation = allocationGrab.allocate( bytes );
             grabs = grabs == null ? allocationGrab : grabs.setNext( allocationGrab );
@@ -97,11 +141,11 @@ public final class MemoryManager
 
         if ( grabs == null || !grabs.canAllocate( bytes ) )
         {
-            long desiredGrabSize = Math.min( GRAB_SIZE, memoryReserve );
+            long desiredGrabSize = roundUpToGrabAlignment( Math.min( grabSize, memoryReserve ) );
             if ( desiredGrabSize < bytes )
             {
-                desiredGrabSize = bytes;
-                Grab grab = new Grab( grabs, desiredGrabSize, alignment );
+                desiredGrabSize = roundUpToGrabAlignment( bytes );
+                Grab grab = new Grab( grabs, desiredGrabSize, alignment, grabAlignment );
                 if ( grab.canAllocate( bytes ) )
                 {
                     memoryReserve -= desiredGrabSize;
@@ -109,10 +153,10 @@ public final class MemoryManager
                     return grabs.allocate( bytes );
                 }
                 grab.free();
-                desiredGrabSize = bytes + alignment;
+                desiredGrabSize = roundUpToGrabAlignment( bytes + alignment );
             }
             memoryReserve -= desiredGrabSize;
-            grabs = new Grab( grabs, desiredGrabSize, alignment );
+            grabs = new Grab( grabs, desiredGrabSize, alignment, grabAlignment );
         }
         return grabs.allocate( bytes );
     }
@@ -170,14 +214,17 @@ public final class MemoryManager
         private final long alignMask;
         private long nextAlignedPointer;
 
-        Grab( Grab next, long size, long alignment )
+        Grab( Grab next, long size, long alignment, long baseAlignment )
         {
             this.next = next;
-            this.address = allocateNativeMemory( size );
-            this.limit = address + size;
+            // Over-allocate by the base alignment, so that 'size' bytes are available from the aligned base.
+            // The padding in front of the base is never touched, so the OS never backs it with physical memory.
+            this.address = allocateNativeMemory( size + baseAlignment );
+            this.limit = address + size + baseAlignment;
             this.alignMask = alignment - 1;
 
-            nextAlignedPointer = nextAligned( this.address );
+            long base = baseAlignment == 0 ? address : (address + baseAlignment - 1) & -baseAlignment;
+            nextAlignedPointer = nextAligned( base );
         }
 
         Grab( Grab next, long address, long limit, long alignMask, long nextAlignedPointer )
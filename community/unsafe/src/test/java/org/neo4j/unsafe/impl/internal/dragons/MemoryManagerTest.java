@@ -71,4 +71,39 @@ public class MemoryManagerTest
         assertThat( largeBlock, is( not( 0L ) ) );
         assertThat( page2, is( not( 0L ) ) );
     }
+
+    @Test
+    public void grabsMustBeAlignedToGrabAlignment() throws Exception
+    {
+        long hugePageSize = 2 * 1024 * 1024;
+        MemoryManager mman = new MemoryManager( 64 * 1024 * 1024, UnsafeUtil.pageSize(), hugePageSize );
+        long first = mman.allocateAligned( UnsafeUtil.pageSize() );
+        assertThat( first % hugePageSize, is( 0L ) );
+
+        // Allocations within the grab are only aligned to the requested alignment
+        long second = mman.allocateAligned( UnsafeUtil.pageSize() );
+        assertThat( second, is( first + UnsafeUtil.pageSize() ) );
+
+        long largeBlock = mman.allocateAligned( 3 * hugePageSize );
+        assertThat( largeBlock % hugePageSize, is( 0L ) );
+    }
+
+    @Test
+    public void mustFillAlignedGrabsBeforeAllocatingNewOnes() throws Exception
+    {
+        long hugePageSize = 2 * 1024 * 1024;
+        int pageSize = UnsafeUtil.pageSize();
+        MemoryManager mman = new MemoryManager( 64 * 1024 * 1024, pageSize, hugePageSize );
+        long first = mman.allocateAligned( pageSize );
+        for ( long i = 1; i < hugePageSize / pageSize; i++ )
+        {
+            assertThat( mman.allocateAligned( pageSize ), is( first + i * pageSize ) );
+        }
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void grabAlignmentMustBePowerOfTwo() throws Exception
+    {
+        new MemoryManager( 8192, 8, 3 * 1024 * 1024 );
+    }
 }
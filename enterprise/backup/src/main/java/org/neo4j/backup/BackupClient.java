@@ -73,6 +73,13 @@ class BackupClient extends Client<TheBackupInterface> implements TheBackupInterf
                 Protocol.VOID_DESERIALIZER );
     }
 
+    @Override
+    public Response<Void> differentialBackup( StoreWriter storeWriter, RequestContext context )
+    {
+        return sendRequest( BackupRequestType.DIFFERENTIAL_BACKUP, context, Protocol.EMPTY_SERIALIZER,
+                new Protocol.FileStreamsDeserializer310( storeWriter ) );
+    }
+
     @Override
     public ProtocolVersion getProtocolVersion()
     {
@@ -93,7 +100,10 @@ class BackupClient extends Client<TheBackupInterface> implements TheBackupInterf
             return master.fullBackup( new ToNetworkStoreWriter( target, new Monitors() ), forensics );
         }, Protocol.VOID_SERIALIZER ),
         INCREMENTAL_BACKUP( (TargetCaller<TheBackupInterface, Void>) ( master, context, input, target ) ->
-                master.incrementalBackup( context ), Protocol.VOID_SERIALIZER );
+                master.incrementalBackup( context ), Protocol.VOID_SERIALIZER ),
+        DIFFERENTIAL_BACKUP( (TargetCaller<TheBackupInterface, Void>) ( master, context, input, target ) ->
+                master.differentialBackup( new ToNetworkStoreWriter( target, new Monitors() ), context ),
+                Protocol.VOID_SERIALIZER );
 
         private final TargetCaller<?,?> masterCaller;
         private final ObjectSerializer<?> serializer;
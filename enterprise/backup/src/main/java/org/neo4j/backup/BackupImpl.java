@@ -25,6 +25,7 @@ import org.neo4j.com.RequestContext;
 import org.neo4j.com.Response;
 import org.neo4j.com.storecopy.ResponsePacker;
 import org.neo4j.com.storecopy.StoreCopyServer;
+import org.neo4j.com.storecopy.StoreFileChanges;
 import org.neo4j.com.storecopy.StoreWriter;
 import org.neo4j.kernel.impl.store.StoreId;
 import org.neo4j.kernel.impl.transaction.log.LogFileInformation;
@@ -34,10 +35,12 @@ import org.neo4j.logging.LogProvider;
 import org.neo4j.logging.Logger;
 
 import static org.neo4j.com.RequestContext.anonymous;
+import static org.neo4j.com.storecopy.StoreFileChanges.NO_PREVIOUS_COPY;
 
 class BackupImpl implements TheBackupInterface
 {
     static final String FULL_BACKUP_CHECKPOINT_TRIGGER = "full backup";
+    static final String DIFFERENTIAL_BACKUP_CHECKPOINT_TRIGGER = "differential backup";
 
     private final StoreCopyServer storeCopyServer;
     private final ResponsePacker incrementalResponsePacker;
@@ -46,6 +49,7 @@ class BackupImpl implements TheBackupInterface
     private final TransactionIdStore transactionIdStore;
     private final LogFileInformation logFileInformation;
     private final Logger logger;
+    private final StoreFileChanges storeFileChanges = new StoreFileChanges();
 
     BackupImpl( StoreCopyServer storeCopyServer,
             LogicalTransactionStore logicalTransactionStore, TransactionIdStore transactionIdStore,
@@ -62,25 +66,38 @@ class BackupImpl implements TheBackupInterface
 
     @Override
     public Response<Void> fullBackup( StoreWriter writer, boolean forensics )
+    {
+        return storeCopyBackup( "Full", FULL_BACKUP_CHECKPOINT_TRIGGER, writer, forensics, NO_PREVIOUS_COPY );
+    }
+
+    @Override
+    public Response<Void> differentialBackup( StoreWriter writer, RequestContext context )
+    {
+        return storeCopyBackup( "Differential", DIFFERENTIAL_BACKUP_CHECKPOINT_TRIGGER, writer, false,
+                context.lastAppliedTransaction() );
+    }
+
+    private Response<Void> storeCopyBackup( String backupKind, String triggerName, StoreWriter writer,
+            boolean forensics, long receiverTransactionId )
     {
         String backupIdentifier = getBackupIdentifier();
         try ( StoreWriter storeWriter = writer )
         {
-            logger.log( "%s: Full backup started...", backupIdentifier );
+            logger.log( "%s: " + backupKind + " backup started...", backupIdentifier );
             RequestContext copyStartContext = storeCopyServer.flushStoresAndStreamStoreFiles(
-                    FULL_BACKUP_CHECKPOINT_TRIGGER, storeWriter, forensics );
+                    triggerName, storeWriter, forensics, storeFileChanges, receiverTransactionId );
             ResponsePacker responsePacker = new StoreCopyResponsePacker( logicalTransactionStore, transactionIdStore,
                     logFileInformation, storeId, copyStartContext.lastAppliedTransaction() + 1,
                     storeCopyServer.monitor() );
             long optionalTransactionId = copyStartContext.lastAppliedTransaction();
 
             Response<Void> response = responsePacker.packTransactionStreamResponse( anonymous( optionalTransactionId ), null );
-            logger.log( "%s: Full backup finished.", backupIdentifier );
+            logger.log( "%s: " + backupKind + " backup finished.", backupIdentifier );
             return response;
         }
         catch ( Throwable e )
         {
-            logger.log( backupIdentifier + ": Full backup ended with exception.", e );
+            logger.log( backupIdentifier + ": " + backupKind + " backup ended with exception.", e );
             throw e;
         }
     }
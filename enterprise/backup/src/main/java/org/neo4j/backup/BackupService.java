@@ -23,6 +23,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.ConnectException;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -34,6 +35,7 @@ import org.neo4j.com.Response;
 import org.neo4j.com.monitor.RequestMonitor;
 import org.neo4j.com.storecopy.ExternallyManagedPageCache;
 import org.neo4j.com.storecopy.MoveAfterCopy;
+import org.neo4j.com.storecopy.PageDeltas;
 import org.neo4j.com.storecopy.ResponseUnpacker;
 import org.neo4j.com.storecopy.ResponseUnpacker.TxHandler;
 import org.neo4j.com.storecopy.StoreCopyClient;
@@ -56,6 +58,7 @@ import org.neo4j.kernel.configuration.Settings;
 import org.neo4j.kernel.extension.KernelExtensionFactory;
 import org.neo4j.kernel.impl.logging.LogService;
 import org.neo4j.kernel.impl.store.MetaDataStore;
+import org.neo4j.kernel.impl.store.MetaDataStore.Position;
 import org.neo4j.kernel.impl.store.MismatchingStoreIdException;
 import org.neo4j.kernel.impl.store.StoreId;
 import org.neo4j.kernel.impl.store.UnexpectedStoreVersionException;
@@ -115,6 +118,8 @@ class BackupService
 
     static final String DIFFERENT_STORE = "Target directory contains full backup of a logically different store.";
 
+    static final String DIFFERENTIAL_BACKUP_DIRECTORY_NAME = "differential-backup";
+
     private final Supplier<FileSystemAbstraction> fileSystemSupplier;
     private final LogProvider logProvider;
     private final Log log;
@@ -192,6 +197,89 @@ class BackupService
         }
     }
 
+    private BackupOutcome differentialBackup( FileSystemAbstraction fileSystem, String sourceHostNameOrIp,
+            int sourcePort, File targetDirectory, ConsistencyCheck consistencyCheck, Config tuningConfiguration,
+            long timeout, boolean forensics )
+    {
+        if ( !directoryContainsDb( fileSystem, targetDirectory ) )
+        {
+            throw new RuntimeException( targetDirectory + " doesn't contain a database" );
+        }
+        long timestamp = System.currentTimeMillis();
+        File newBackupDirectory = new File( targetDirectory, DIFFERENTIAL_BACKUP_DIRECTORY_NAME );
+        try ( PageCache pageCache = createPageCache( fileSystem, tuningConfiguration ) )
+        {
+            fileSystem.deleteRecursively( newBackupDirectory );
+            File neoStore = new File( targetDirectory, MetaDataStore.DEFAULT_NAME );
+            StoreId storeId = MetaDataStore.getStoreId( pageCache, neoStore );
+            long backupTransactionId = MetaDataStore.getRecord( pageCache, neoStore, Position.LAST_TRANSACTION_ID );
+
+            StoreCopyClient storeCopier = new StoreCopyClient( targetDirectory, tuningConfiguration,
+                    loadKernelExtensions(), logProvider, fileSystem, pageCache,
+                    monitors.newMonitor( StoreCopyClient.Monitor.class, getClass() ), forensics );
+            DifferentialBackupStoreCopyRequester storeCopyRequester = new DifferentialBackupStoreCopyRequester(
+                    sourceHostNameOrIp, sourcePort, timeout, storeId, anonymous( backupTransactionId ),
+                    targetDirectory, fileSystem, monitors );
+            storeCopier.copyStore(
+                    storeCopyRequester,
+                    CancellationRequest.NEVER_CANCELLED,
+                    ( moves, fromDirectory, toDirectory ) ->
+                            MoveAfterCopy.moveReplaceExisting().move( moves, fromDirectory, newBackupDirectory ) );
+            long lastCommittedTx = MetaDataStore.getRecord( pageCache,
+                    new File( newBackupDirectory, MetaDataStore.DEFAULT_NAME ), Position.LAST_TRANSACTION_ID );
+
+            tuningConfiguration.augment( logs_directory, targetDirectory.getCanonicalPath() );
+            File debugLogFile = tuningConfiguration.get( store_internal_log_path );
+            bumpDebugDotLogFileVersion( debugLogFile, timestamp );
+            boolean consistent =
+                    checkDbConsistency( fileSystem, newBackupDirectory, consistencyCheck, tuningConfiguration, pageCache );
+            if ( !consistent )
+            {
+                log.error( "Differential backup is inconsistent, keeping the previous backup in " + targetDirectory );
+                fileSystem.deleteRecursively( newBackupDirectory );
+                return new BackupOutcome( backupTransactionId, false );
+            }
+            replacePreviousBackup( fileSystem, newBackupDirectory, targetDirectory, debugLogFile.getName() );
+            clearIdFiles( fileSystem, targetDirectory );
+            return new BackupOutcome( lastCommittedTx, true );
+        }
+        catch ( Exception e )
+        {
+            throw Exceptions.launderedException( e );
+        }
+    }
+
+    /**
+     * The store files of a differential backup are rebuilt from the previous backup in the same directory, and
+     * are first moved to a directory of their own, so that the previous backup is only replaced once the new one
+     * has passed the consistency check. The debug logs are kept, as they are not part of the copy.
+     */
+    private static void replacePreviousBackup( FileSystemAbstraction fileSystem, File newBackupDirectory,
+            File targetDirectory, String debugLogName ) throws IOException
+    {
+        for ( File file : fileSystem.listFiles( targetDirectory ) )
+        {
+            if ( file.equals( newBackupDirectory ) || file.getName().startsWith( debugLogName ) )
+            {
+                continue;
+            }
+            if ( fileSystem.isDirectory( file ) )
+            {
+                fileSystem.deleteRecursively( file );
+            }
+            else
+            {
+                fileSystem.deleteFile( file );
+            }
+        }
+        for ( File file : fileSystem.listFiles( newBackupDirectory ) )
+        {
+            fileSystem.renameFile( file, new File( targetDirectory, file.getName() ),
+                    StandardCopyOption.REPLACE_EXISTING );
+        }
+        fileSystem.deleteRecursively( newBackupDirectory );
+    }
+
     BackupOutcome doIncrementalBackup( String sourceHostNameOrIp, int sourcePort, File targetDirectory,
             ConsistencyCheck consistencyCheck, long timeout, Config config ) throws IncrementalBackupNotPossibleException
     {
@@ -293,7 +381,17 @@ class BackupService
                 try
                 {
                     log.warn( "Attempt to do incremental backup failed.", e );
-                    log.info( "Existing backup is too far out of date, a new full backup will be performed." );
+                    log.info( "Existing backup is too far out of date, a differential backup will be performed." );
+                    return differentialBackup( fileSystem, sourceHostNameOrIp, sourcePort, targetDirectory,
+                            consistencyCheck, config, timeout, forensics );
+                }
+                catch ( Exception differentialBackupFailure )
+                {
+                    log.warn( "Attempt to do differential backup failed.", differentialBackupFailure );
+                }
+                try
+                {
+                    log.info( "Existing backup could not be updated, a new full backup will be performed." );
                     FileUtils.deleteRecursively( targetDirectory );
                     return fullBackup( fileSystem, sourceHostNameOrIp, sourcePort, targetDirectory, consistencyCheck,
                             config, timeout, forensics );
@@ -498,6 +596,52 @@ class BackupService
         }
     }
 
+    private static class DifferentialBackupStoreCopyRequester implements StoreCopyClient.StoreCopyRequester
+    {
+        private final String sourceHostNameOrIp;
+        private final int sourcePort;
+        private final long timeout;
+        private final StoreId storeId;
+        private final RequestContext context;
+        private final File previousBackupDirectory;
+        private final FileSystemAbstraction fileSystem;
+        private final Monitors monitors;
+
+        private BackupClient client;
+
+        private DifferentialBackupStoreCopyRequester( String sourceHostNameOrIp, int sourcePort, long timeout,
+                StoreId storeId, RequestContext context, File previousBackupDirectory,
+                FileSystemAbstraction fileSystem, Monitors monitors )
+        {
+            this.sourceHostNameOrIp = sourceHostNameOrIp;
+            this.sourcePort = sourcePort;
+            this.timeout = timeout;
+            this.storeId = storeId;
+            this.context = context;
+            this.previousBackupDirectory = previousBackupDirectory;
+            this.fileSystem = fileSystem;
+            this.monitors = monitors;
+        }
+
+        @Override
+        public Response<?> copyStore( StoreWriter writer )
+        {
+            client = new BackupClient( sourceHostNameOrIp, sourcePort, null, NullLogProvider.getInstance(),
+                    storeId, timeout, ResponseUnpacker.NO_OP_RESPONSE_UNPACKER, monitors.newMonitor(
+                    ByteCounterMonitor.class ), monitors.newMonitor( RequestMonitor.class ),
+                    new VersionAwareLogEntryReader<>() );
+            client.start();
+            return client.differentialBackup(
+                    PageDeltas.applyingTo( writer, previousBackupDirectory, fileSystem ), context );
+        }
+
+        @Override
+        public void done()
+        {
+            client.stop();
+        }
+    }
+
     private static class StoreCopyClientLoggingMonitor implements StoreCopyClient.Monitor
     {
         private final Log log;
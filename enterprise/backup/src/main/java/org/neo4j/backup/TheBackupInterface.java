@@ -28,4 +28,6 @@ public interface TheBackupInterface
     Response<Void> fullBackup( StoreWriter writer, boolean forensics );
 
     Response<Void> incrementalBackup( RequestContext context );
+
+    Response<Void> differentialBackup( StoreWriter writer, RequestContext context );
 }
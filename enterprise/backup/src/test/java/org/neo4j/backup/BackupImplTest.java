@@ -25,6 +25,7 @@ import java.util.function.Supplier;
 
 import org.neo4j.com.RequestContext;
 import org.neo4j.com.storecopy.StoreCopyServer;
+import org.neo4j.com.storecopy.StoreFileChanges;
 import org.neo4j.com.storecopy.StoreWriter;
 import org.neo4j.kernel.impl.store.StoreId;
 import org.neo4j.kernel.impl.transaction.log.LogFileInformation;
@@ -34,6 +35,7 @@ import org.neo4j.logging.NullLogProvider;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -46,8 +48,8 @@ public class BackupImplTest
     public void flushStoreFilesWithCorrectCheckpointTriggerName()
     {
         StoreCopyServer storeCopyServer = mock( StoreCopyServer.class );
-        when( storeCopyServer.flushStoresAndStreamStoreFiles( anyString(), any( StoreWriter.class ), anyBoolean() ) )
-                .thenReturn( RequestContext.EMPTY );
+        when( storeCopyServer.flushStoresAndStreamStoreFiles( anyString(), any( StoreWriter.class ), anyBoolean(),
+                any( StoreFileChanges.class ), anyLong() ) ).thenReturn( RequestContext.EMPTY );
 
         BackupImpl backup = new BackupImpl( storeCopyServer, mock( LogicalTransactionStore.class ),
                 mock( TransactionIdStore.class ), mock( LogFileInformation.class ), defaultStoreIdSupplier(),
@@ -56,7 +58,26 @@ public class BackupImplTest
         backup.fullBackup( mock( StoreWriter.class ), false ).close();
 
         verify( storeCopyServer ).flushStoresAndStreamStoreFiles(
-                eq( BackupImpl.FULL_BACKUP_CHECKPOINT_TRIGGER ), any( StoreWriter.class ), eq( false ) );
+                eq( BackupImpl.FULL_BACKUP_CHECKPOINT_TRIGGER ), any( StoreWriter.class ), eq( false ),
+                any( StoreFileChanges.class ), eq( StoreFileChanges.NO_PREVIOUS_COPY ) );
+    }
+
+    @Test
+    public void differentialBackupMustStreamChangesSinceReceiversLastTransaction()
+    {
+        StoreCopyServer storeCopyServer = mock( StoreCopyServer.class );
+        when( storeCopyServer.flushStoresAndStreamStoreFiles( anyString(), any( StoreWriter.class ), anyBoolean(),
+                any( StoreFileChanges.class ), anyLong() ) ).thenReturn( RequestContext.EMPTY );
+
+        BackupImpl backup = new BackupImpl( storeCopyServer, mock( LogicalTransactionStore.class ),
+                mock( TransactionIdStore.class ), mock( LogFileInformation.class ), defaultStoreIdSupplier(),
+                NullLogProvider.getInstance() );
+
+        backup.differentialBackup( mock( StoreWriter.class ), RequestContext.anonymous( 42 ) ).close();
+
+        verify( storeCopyServer ).flushStoresAndStreamStoreFiles(
+                eq( BackupImpl.DIFFERENTIAL_BACKUP_CHECKPOINT_TRIGGER ), any( StoreWriter.class ), eq( false ),
+                any( StoreFileChanges.class ), eq( 42L ) );
     }
 
     private static Supplier<StoreId> defaultStoreIdSupplier()
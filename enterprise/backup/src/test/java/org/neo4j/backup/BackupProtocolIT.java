@@ -120,5 +120,11 @@ public class BackupProtocolIT
         {
             throw new UnsupportedOperationException( "Should be required" );
         }
+
+        @Override
+        public Response<Void> differentialBackup( StoreWriter writer, RequestContext context )
+        {
+            throw new UnsupportedOperationException( "Should be required" );
+        }
     }
 }
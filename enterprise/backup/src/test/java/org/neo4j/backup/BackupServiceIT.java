@@ -111,6 +111,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.kernel.impl.store.StoreFile.COUNTS_STORE_LEFT;
@@ -223,7 +224,7 @@ public class BackupServiceIT
     }
 
     @Test
-    public void shouldPrintThatIncrementalBackupIsPerformedAndFallingBackToFull() throws Exception
+    public void shouldPrintThatIncrementalBackupIsPerformedAndFallingBackToDifferential() throws Exception
     {
         defaultBackupPortHostParams();
         Config defaultConfig = dbRule.getConfigCopy();
@@ -262,11 +263,17 @@ public class BackupServiceIT
             }
         };
 
-        backupService( logProvider ).doIncrementalBackupOrFallbackToFull( BACKUP_HOST, backupPort,
-                backupDir, ConsistencyCheck.NONE, dbRule.getConfigCopy(), BackupClient.BIG_READ_TIMEOUT, false );
+        BackupService.BackupOutcome outcome = backupService( logProvider ).doIncrementalBackupOrFallbackToFull(
+                BACKUP_HOST, backupPort, backupDir, ConsistencyCheck.NONE, dbRule.getConfigCopy(),
+                BackupClient.BIG_READ_TIMEOUT, false );
 
         verify( log ).info( "Previous backup found, trying incremental backup." );
-        verify( log ).info( "Existing backup is too far out of date, a new full backup will be performed." );
+        verify( log ).info( "Existing backup is too far out of date, a differential backup will be performed." );
+        verify( log, never() ).info( "Existing backup could not be updated, a new full backup will be performed." );
+        long lastCommittedTx = db.getDependencyResolver().resolveDependency( TransactionIdStore.class )
+                .getLastCommittedTransactionId();
+        assertEquals( lastCommittedTx, outcome.getLastCommittedTx() );
+        assertFalse( new File( backupDir, BackupService.DIFFERENTIAL_BACKUP_DIRECTORY_NAME ).exists() );
     }
 
     @Test
@@ -45,9 +45,11 @@ import static org.neo4j.graphdb.factory.GraphDatabaseSettings.logs_directory;
 import static org.neo4j.kernel.configuration.Settings.ADVERTISED_SOCKET_ADDRESS;
 import static org.neo4j.kernel.configuration.Settings.BOOLEAN;
 import static org.neo4j.kernel.configuration.Settings.BYTES;
+import static org.neo4j.kernel.configuration.Settings.DOUBLE;
 import static org.neo4j.kernel.configuration.Settings.DURATION;
 import static org.neo4j.kernel.configuration.Settings.FALSE;
 import static org.neo4j.kernel.configuration.Settings.INTEGER;
+import static org.neo4j.kernel.configuration.Settings.LONG;
 import static org.neo4j.kernel.configuration.Settings.NO_DEFAULT;
 import static org.neo4j.kernel.configuration.Settings.PATH;
 import static org.neo4j.kernel.configuration.Settings.STRING;
@@ -60,6 +62,7 @@ import static org.neo4j.kernel.configuration.Settings.list;
 import static org.neo4j.kernel.configuration.Settings.listenAddress;
 import static org.neo4j.kernel.configuration.Settings.min;
 import static org.neo4j.kernel.configuration.Settings.options;
+import static org.neo4j.kernel.configuration.Settings.range;
 import static org.neo4j.kernel.configuration.Settings.setting;
 
 @Description( "Settings for Causal Clustering" )
@@ -137,7 +140,7 @@ public class CausalClusteringSettings implements LoadableConfig
     @Description( "Type of in-flight cache." )
     public static final Setting<InFlightCacheFactory.Type> in_flight_cache_type =
             setting( "causal_clustering.in_flight_cache.type", options( InFlightCacheFactory.Type.class, true ),
-                    InFlightCacheFactory.Type.CONSECUTIVE.name() );
+                    InFlightCacheFactory.Type.CONCURRENT.name() );
 
     @Description( "The maximum number of entries in the in-flight cache." )
     public static final Setting<Integer> in_flight_cache_max_entries =
@@ -222,6 +225,12 @@ public class CausalClusteringSettings implements LoadableConfig
     public static final Setting<Integer> state_machine_apply_max_batch_size =
             setting( "causal_clustering.state_machine_apply_max_batch_size", INTEGER, "16" );
 
+    @Description( "The maximum number of batches of replicated transactions to be applied concurrently. Batches are " +
+                  "still appended to the transaction log in the order of the RAFT log, and batches which change the " +
+                  "same entities are applied in that order. Set to 1 to apply batches one at a time" )
+    public static final Setting<Integer> state_machine_apply_parallelism =
+            buildSetting( "causal_clustering.state_machine_apply_parallelism", INTEGER, "4" ).constraint( min( 1 ) ).build();
+
     @Description( "RAFT log pruning strategy" )
     public static final Setting<String> raft_log_pruning_strategy =
             setting( "causal_clustering.raft_log_prune_strategy", STRING, "1g size" );
@@ -238,6 +247,12 @@ public class CausalClusteringSettings implements LoadableConfig
     public static final Setting<Integer> raft_log_reader_pool_size =
             setting( "causal_clustering.raft_log_reader_pool_size", INTEGER, "8" );
 
+    @Description( "The number of bytes that readers of the RAFT log read ahead, when catching up followers or " +
+                  "applying entries that are no longer in the in-flight cache" )
+    public static final Setting<Long> raft_log_reader_read_ahead =
+            buildSetting( "causal_clustering.raft_log_reader_read_ahead", BYTES, "64k" )
+                    .constraint( range( 1024L, (long) Integer.MAX_VALUE ) ).build();
+
     @Description( "RAFT log pruning frequency" )
     public static final Setting<Duration> raft_log_pruning_frequency =
             setting( "causal_clustering.raft_log_pruning_frequency", DURATION, "10m" );
@@ -376,6 +391,12 @@ public class CausalClusteringSettings implements LoadableConfig
     public static final Setting<Integer> relationship_group_id_allocation_size =
             setting( "causal_clustering.relationship_group_id_allocation_size", INTEGER, "1024" );
 
+    @Description( "The maximum factor by which Core servers grow the size of their ID allocation requests over the " +
+            "configured sizes, when IDs of a type are used up quickly. Larger values mean fewer requests under " +
+            "heavy write load, but also more unused IDs in the event of a crash. A value of 1 disables the growth." )
+    public static final Setting<Integer> id_allocation_max_growth =
+            buildSetting( "causal_clustering.id_allocation_max_growth", INTEGER, "16" ).constraint( min( 1 ) ).build();
+
     @Description( "Time between scanning the cluster to refresh current server's view of topology" )
     public static final Setting<Duration> cluster_topology_refresh =
             buildSetting( "causal_clustering.cluster_topology_refresh", DURATION, "5s" ).constraint( min( Duration.ofSeconds( 1 ) ) ).build();
@@ -450,6 +471,35 @@ public class CausalClusteringSettings implements LoadableConfig
     public static final Setting<Boolean> load_balancing_shuffle =
             setting( "causal_clustering.load_balancing.shuffle", BOOLEAN, TRUE );
 
+    @Description( "Enables load-aware routing. Members then publish their load through discovery, and the read " +
+                  "servers returned by the load balancing exclude the servers that lag too far behind or that are " +
+                  "overloaded compared to the others, and are ordered from least to most loaded." )
+    public static final Setting<Boolean> load_balancing_load_aware =
+            setting( "causal_clustering.load_balancing.load_aware", BOOLEAN, FALSE );
+
+    @Description( "How often a member publishes its load, when load-aware routing is enabled." )
+    public static final Setting<Duration> load_balancing_load_publish_interval =
+            buildSetting( "causal_clustering.load_balancing.load_publish_interval", DURATION, "5s" )
+                    .constraint( min( Duration.ofSeconds( 1 ) ) ).build();
+
+    @Description( "The maximum age of the load published by a member for it to be taken into account by load-aware " +
+                  "routing. Servers with older load information are treated as if their load is unknown." )
+    public static final Setting<Duration> load_balancing_load_max_staleness =
+            buildSetting( "causal_clustering.load_balancing.load_max_staleness", DURATION, "30s" )
+                    .constraint( min( Duration.ofSeconds( 1 ) ) ).build();
+
+    @Description( "The maximum replication lag, in transactions behind the most up to date member, for a server to be " +
+                  "used for reads by load-aware routing. No limit is applied if unset." )
+    public static final Setting<Long> load_balancing_max_replication_lag =
+            buildSetting( "causal_clustering.load_balancing.max_replication_lag", LONG, NO_DEFAULT )
+                    .constraint( min( 0L ) ).build();
+
+    @Description( "Load-aware routing excludes the read servers with a load above this multiple of the average load " +
+                  "of the read servers." )
+    public static final Setting<Double> load_balancing_overload_ratio =
+            buildSetting( "causal_clustering.load_balancing.overload_ratio", DOUBLE, "2.0" )
+                    .constraint( min( 1.0 ) ).build();
+
     @Description( "Require authorization for access to the Causal Clustering status endpoints." )
     public static final Setting<Boolean> status_auth_enabled =
             setting( "dbms.security.causal_clustering_status_auth_enabled", BOOLEAN, TRUE );
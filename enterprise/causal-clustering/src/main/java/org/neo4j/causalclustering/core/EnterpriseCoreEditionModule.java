@@ -50,6 +50,7 @@ import org.neo4j.causalclustering.handlers.PipelineHandlerAppenderFactory;
 import org.neo4j.causalclustering.identity.MemberId;
 import org.neo4j.causalclustering.load_balancing.LoadBalancingPluginLoader;
 import org.neo4j.causalclustering.load_balancing.LoadBalancingProcessor;
+import org.neo4j.causalclustering.load_balancing.ServerLoadPublisher;
 import org.neo4j.causalclustering.load_balancing.procedure.GetServersProcedureForMultiDC;
 import org.neo4j.causalclustering.load_balancing.procedure.GetServersProcedureForSingleDC;
 import org.neo4j.causalclustering.load_balancing.procedure.LegacyGetServersProcedure;
@@ -93,6 +94,7 @@ import org.neo4j.kernel.impl.store.id.IdGeneratorFactory;
 import org.neo4j.kernel.impl.store.id.IdReuseEligibility;
 import org.neo4j.kernel.impl.transaction.TransactionHeaderInformationFactory;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogFile;
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
 import org.neo4j.kernel.impl.util.Dependencies;
 import org.neo4j.kernel.internal.DatabaseHealth;
 import org.neo4j.kernel.internal.DefaultKernelData;
@@ -261,6 +263,13 @@ public class EnterpriseCoreEditionModule extends EditionModule
         dependencies.satisfyDependency( lockManager );
 
         life.add( coreServerModule.membershipWaiterLifecycle );
+
+        if ( config.get( CausalClusteringSettings.load_balancing_load_aware ) )
+        {
+            life.add( new ServerLoadPublisher( topologyService, monitors, ServerLoadPublisher.lastClosedTransactionId(
+                    localDatabase, dependencies.provideDependency( TransactionIdStore.class ) ),
+                    Clocks.systemClock(), platformModule.jobScheduler, config, logProvider ) );
+        }
     }
 
     protected ClusteringModule getClusteringModule( PlatformModule platformModule,
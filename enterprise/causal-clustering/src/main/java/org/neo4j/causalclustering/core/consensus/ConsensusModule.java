@@ -56,6 +56,7 @@ import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.kernel.lifecycle.LifeSupport;
 import org.neo4j.logging.LogProvider;
 
+import static java.lang.Math.toIntExact;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.catchup_batch_size;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.join_catch_up_timeout;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.log_shipping_max_lag;
@@ -172,13 +173,14 @@ public class ConsensusModule
         {
             long rotateAtSize = config.get( CausalClusteringSettings.raft_log_rotation_size );
             int readerPoolSize = config.get( CausalClusteringSettings.raft_log_reader_pool_size );
+            int readAheadSize = toIntExact( config.get( CausalClusteringSettings.raft_log_reader_read_ahead ) );
 
             CoreLogPruningStrategy pruningStrategy =
                     new CoreLogPruningStrategyFactory( config.get( CausalClusteringSettings.raft_log_pruning_strategy ),
                             logProvider ).newInstance();
             File directory = new File( clusterStateDirectory, RAFT_LOG_DIRECTORY_NAME );
             return life.add( new SegmentedRaftLog( fileSystem, directory, rotateAtSize, marshal, logProvider,
-                    readerPoolSize, systemClock(), scheduler, pruningStrategy ) );
+                    readerPoolSize, readAheadSize, systemClock(), scheduler, pruningStrategy ) );
         }
         default:
             throw new IllegalStateException( "Unknown raft log implementation: " + raftLogImplementation );
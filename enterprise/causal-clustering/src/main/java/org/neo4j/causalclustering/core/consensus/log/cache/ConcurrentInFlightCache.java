@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.core.consensus.log.cache;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.neo4j.causalclustering.core.consensus.log.RaftLogEntry;
+import org.neo4j.causalclustering.core.state.machines.tx.CoreReplicatedContent;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.String.format;
+
+/**
+ * A cache that keeps a consecutive range of Raft log entries in memory, like the {@link ConsecutiveInFlightCache},
+ * but which never blocks readers. The log shippers and the command applier look up entries concurrently with the
+ * Raft thread appending them, so only modifications of the cache are serialized.
+ * <p>
+ * Entries are kept in a ring of slots, where the entry for a log index is in the slot at that index modulo the
+ * capacity. Every slot remembers the index of the entry it holds, and a read only returns the entry if the index
+ * matches and is still within the cached range after the slot has been read. The cache is bounded both by the number
+ * of entries and by their total size where known, see {@link CoreReplicatedContent#hasSize()}.
+ */
+public class ConcurrentInFlightCache implements InFlightCache
+{
+    private final AtomicReferenceArray<Slot> slots;
+    private final int capacity;
+    private final long maxBytes;
+    private final InFlightCacheMonitor monitor;
+
+    // The cached range is [firstIndex, endIndex], and is empty when firstIndex > endIndex.
+    private volatile long firstIndex;
+    private volatile long endIndex = -1;
+    private volatile long totalBytes;
+    private volatile long truncations;
+    private volatile boolean enabled;
+
+    public ConcurrentInFlightCache( int capacity, long maxBytes, InFlightCacheMonitor monitor, boolean enabled )
+    {
+        if ( capacity <= 0 )
+        {
+            throw new IllegalArgumentException( "Capacity must be > 0." );
+        }
+        this.slots = new AtomicReferenceArray<>( capacity );
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+        this.monitor = monitor;
+        this.enabled = enabled;
+
+        monitor.setMaxBytes( maxBytes );
+        monitor.setMaxElements( capacity );
+    }
+
+    @Override
+    public void enable()
+    {
+        enabled = true;
+    }
+
+    @Override
+    public synchronized void put( long logIndex, RaftLogEntry entry )
+    {
+        if ( !enabled )
+        {
+            return;
+        }
+        if ( logIndex < 0 )
+        {
+            throw new IllegalArgumentException( format( "Index must be >= 0 (was %d)", logIndex ) );
+        }
+        if ( entry == null )
+        {
+            throw new IllegalArgumentException( "Null entries are not accepted" );
+        }
+
+        if ( logIndex != endIndex + 1 || firstIndex > endIndex )
+        {
+            // Not a continuation of the cached range, so start over from this entry. This may reuse indexes, just
+            // like a truncation does.
+            truncations++;
+            evictUpTo( endIndex );
+            firstIndex = logIndex;
+        }
+        else if ( logIndex - firstIndex == capacity )
+        {
+            evictUpTo( firstIndex );
+        }
+
+        Slot slot = new Slot( logIndex, entry );
+        slots.set( slotOf( logIndex ), slot );
+        totalBytes += slot.size;
+        endIndex = logIndex;
+
+        while ( totalBytes > maxBytes && firstIndex <= endIndex )
+        {
+            evictUpTo( firstIndex );
+        }
+        updateMonitor();
+    }
+
+    @Override
+    public RaftLogEntry get( long logIndex )
+    {
+        if ( !enabled )
+        {
+            return null;
+        }
+
+        RaftLogEntry entry = null;
+        if ( logIndex >= 0 )
+        {
+            long truncationsBefore = truncations;
+            Slot slot = slots.get( slotOf( logIndex ) );
+            // The range must be checked after reading the slot, to not return an entry that was evicted meanwhile,
+            // and a truncation could have replaced the entry at the same index with another one.
+            if ( slot != null && slot.index == logIndex && logIndex >= firstIndex && logIndex <= endIndex &&
+                 truncations == truncationsBefore )
+            {
+                entry = slot.entry;
+            }
+        }
+
+        if ( entry == null )
+        {
+            monitor.miss();
+        }
+        else
+        {
+            monitor.hit();
+        }
+        return entry;
+    }
+
+    @Override
+    public synchronized void truncate( long fromIndex )
+    {
+        if ( !enabled || fromIndex > endIndex )
+        {
+            return;
+        }
+
+        truncations++;
+        long lowest = max( fromIndex, firstIndex );
+        long index = endIndex;
+        endIndex = fromIndex - 1;
+        for ( ; index >= lowest; index-- )
+        {
+            clear( index );
+        }
+        updateMonitor();
+    }
+
+    @Override
+    public synchronized void prune( long upToIndex )
+    {
+        if ( !enabled )
+        {
+            return;
+        }
+
+        evictUpTo( min( upToIndex, endIndex ) );
+        updateMonitor();
+    }
+
+    @Override
+    public long totalBytes()
+    {
+        return totalBytes;
+    }
+
+    @Override
+    public int elementCount()
+    {
+        return (int) max( 0, endIndex - firstIndex + 1 );
+    }
+
+    private void evictUpTo( long upToIndex )
+    {
+        while ( firstIndex <= upToIndex )
+        {
+            long index = firstIndex;
+            // Shrink the range before clearing the slot, so that concurrent readers see the entry as evicted.
+            firstIndex = index + 1;
+            clear( index );
+        }
+    }
+
+    private void clear( long index )
+    {
+        int slotIndex = slotOf( index );
+        Slot slot = slots.get( slotIndex );
+        if ( slot != null && slot.index == index )
+        {
+            slots.set( slotIndex, null );
+            totalBytes -= slot.size;
+        }
+    }
+
+    private int slotOf( long logIndex )
+    {
+        return (int) (logIndex % capacity);
+    }
+
+    private void updateMonitor()
+    {
+        monitor.setTotalBytes( totalBytes );
+        monitor.setElementCount( elementCount() );
+    }
+
+    private static class Slot
+    {
+        private final long index;
+        private final RaftLogEntry entry;
+        private final long size;
+
+        Slot( long index, RaftLogEntry entry )
+        {
+            this.index = index;
+            this.entry = entry;
+            this.size = entry.content().hasSize() ? entry.content().size() : 0;
+        }
+    }
+}
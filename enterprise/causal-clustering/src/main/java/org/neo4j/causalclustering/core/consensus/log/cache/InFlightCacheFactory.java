@@ -52,6 +52,15 @@ public class InFlightCacheFactory
                                 monitors.newMonitor( InFlightCacheMonitor.class ), false );
                     }
                 },
+        CONCURRENT
+                {
+                    @Override
+                    InFlightCache create( Config config, Monitors monitors )
+                    {
+                        return new ConcurrentInFlightCache( config.get( in_flight_cache_max_entries ), config.get( in_flight_cache_max_bytes ),
+                                monitors.newMonitor( InFlightCacheMonitor.class ), false );
+                    }
+                },
         UNBOUNDED
                 {
                     @Override
@@ -51,9 +51,10 @@ class EntryRecordCursor implements IOCursor<EntryRecord>
     private boolean closed;
 
     EntryRecordCursor( Reader reader, ChannelMarshal<ReplicatedContent> contentMarshal,
-            long currentIndex, long wantedIndex, SegmentFile segment ) throws IOException, EndOfStreamException
+            long currentIndex, long wantedIndex, SegmentFile segment, int readAheadSize )
+            throws IOException, EndOfStreamException
     {
-        this.bufferedReader = new ReadAheadChannel<>( reader.channel() );
+        this.bufferedReader = new ReadAheadChannel<>( reader.channel(), readAheadSize );
         this.reader = reader;
         this.contentMarshal = contentMarshal;
         this.segment = segment;
@@ -32,6 +32,7 @@ import org.neo4j.logging.LogProvider;
 
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static org.neo4j.kernel.impl.transaction.log.ReadAheadChannel.DEFAULT_READ_AHEAD_SIZE;
 
 class ReaderPool
 {
@@ -41,8 +42,15 @@ class ReaderPool
     private final FileNames fileNames;
     private final FileSystemAbstraction fsa;
     private final Clock clock;
+    private final int readAheadSize;
 
     ReaderPool( int maxSize, LogProvider logProvider, FileNames fileNames, FileSystemAbstraction fsa, Clock clock )
+    {
+        this( maxSize, logProvider, fileNames, fsa, clock, DEFAULT_READ_AHEAD_SIZE );
+    }
+
+    ReaderPool( int maxSize, LogProvider logProvider, FileNames fileNames, FileSystemAbstraction fsa, Clock clock,
+            int readAheadSize )
     {
         this.pool = new ArrayList<>( maxSize );
         this.maxSize = maxSize;
@@ -50,6 +58,15 @@ class ReaderPool
         this.fileNames = fileNames;
         this.fsa = fsa;
         this.clock = clock;
+        this.readAheadSize = readAheadSize;
+    }
+
+    /**
+     * The number of bytes that cursors read ahead from the channels of the pooled readers.
+     */
+    int readAheadSize()
+    {
+        return readAheadSize;
     }
 
     Reader acquire( long version, long byteOffset ) throws IOException
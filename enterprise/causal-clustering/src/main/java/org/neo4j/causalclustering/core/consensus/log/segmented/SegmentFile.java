@@ -112,7 +112,8 @@ class SegmentFile implements AutoCloseable
         try
         {
             long currentIndex = position.logIndex;
-            return new EntryRecordCursor( reader, contentMarshal, currentIndex, offsetIndex, this );
+            return new EntryRecordCursor( reader, contentMarshal, currentIndex, offsetIndex, this,
+                    readerPool.readAheadSize() );
         }
         catch ( EndOfStreamException e )
         {
@@ -37,6 +37,7 @@ import org.neo4j.logging.LogProvider;
 import org.neo4j.scheduler.JobScheduler;
 
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.neo4j.kernel.impl.transaction.log.ReadAheadChannel.DEFAULT_READ_AHEAD_SIZE;
 
 /**
  * The segmented RAFT log is an append only log supporting the operations required to support
@@ -78,6 +79,14 @@ public class SegmentedRaftLog extends LifecycleAdapter implements RaftLog
     public SegmentedRaftLog( FileSystemAbstraction fileSystem, File directory, long rotateAtSize,
             ChannelMarshal<ReplicatedContent> contentMarshal, LogProvider logProvider, int readerPoolSize, Clock clock,
             JobScheduler scheduler, CoreLogPruningStrategy pruningStrategy )
+    {
+        this( fileSystem, directory, rotateAtSize, contentMarshal, logProvider, readerPoolSize, DEFAULT_READ_AHEAD_SIZE,
+                clock, scheduler, pruningStrategy );
+    }
+
+    public SegmentedRaftLog( FileSystemAbstraction fileSystem, File directory, long rotateAtSize,
+            ChannelMarshal<ReplicatedContent> contentMarshal, LogProvider logProvider, int readerPoolSize,
+            int readAheadSize, Clock clock, JobScheduler scheduler, CoreLogPruningStrategy pruningStrategy )
     {
         this.fileSystem = fileSystem;
         this.directory = directory;
@@ -87,7 +96,7 @@ public class SegmentedRaftLog extends LifecycleAdapter implements RaftLog
         this.scheduler = scheduler;
 
         this.fileNames = new FileNames( directory );
-        this.readerPool = new ReaderPool( readerPoolSize, logProvider, fileNames, fileSystem, clock );
+        this.readerPool = new ReaderPool( readerPoolSize, logProvider, fileNames, fileSystem, clock, readAheadSize );
         this.pruner = new SegmentedRaftLogPruner( pruningStrategy );
         this.log = logProvider.getLog( getClass() );
     }
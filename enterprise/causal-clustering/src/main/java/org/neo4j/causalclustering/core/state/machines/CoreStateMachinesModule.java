@@ -71,11 +71,13 @@ import org.neo4j.kernel.impl.store.id.configuration.IdTypeConfigurationProvider;
 import org.neo4j.kernel.impl.store.stats.IdBasedStoreEntityCounters;
 import org.neo4j.kernel.impl.util.Dependencies;
 import org.neo4j.kernel.lifecycle.LifeSupport;
+import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.storageengine.api.Token;
 
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.array_block_id_allocation_size;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.id_alloc_state_size;
+import static org.neo4j.causalclustering.core.CausalClusteringSettings.id_allocation_max_growth;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.label_token_id_allocation_size;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.label_token_name_id_allocation_size;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.neostore_block_id_allocation_size;
@@ -91,7 +93,10 @@ import static org.neo4j.causalclustering.core.CausalClusteringSettings.relations
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.replicated_lock_token_state_size;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.schema_id_allocation_size;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.state_machine_apply_max_batch_size;
+import static org.neo4j.causalclustering.core.CausalClusteringSettings.state_machine_apply_parallelism;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.string_block_id_allocation_size;
+import static org.neo4j.scheduler.JobScheduler.Groups.transactionApplication;
+import static org.neo4j.scheduler.JobScheduler.Groups.transactionDecoding;
 
 public class CoreStateMachinesModule
 {
@@ -136,7 +141,8 @@ public class CoreStateMachinesModule
         Map<IdType,Integer> allocationSizes = getIdTypeAllocationSizeFromConfig( config );
 
         ReplicatedIdRangeAcquirer idRangeAcquirer =
-                new ReplicatedIdRangeAcquirer( replicator, idAllocationStateMachine, allocationSizes, myself,
+                new ReplicatedIdRangeAcquirer( replicator, idAllocationStateMachine, allocationSizes,
+                        config.get( id_allocation_max_growth ), platformModule.clock, platformModule.monitors, myself,
                         logProvider );
 
         idTypeConfigurationProvider = new EnterpriseIdTypeConfigurationProvider( config );
@@ -181,12 +187,14 @@ public class CoreStateMachinesModule
         ReplicatedTransactionStateMachine replicatedTxStateMachine =
                 new ReplicatedTransactionStateMachine( commandIndexTracker, replicatedLockTokenStateMachine,
                         config.get( state_machine_apply_max_batch_size ), logProvider, cursorTracerSupplier,
-                        versionContextSupplier );
+                        versionContextSupplier, platformModule.jobScheduler.executor( transactionDecoding ),
+                        platformModule.jobScheduler.executor( transactionApplication ),
+                        config.get( state_machine_apply_parallelism ) );
 
         dependencies.satisfyDependencies( replicatedTxStateMachine );
 
-        lockManager = createLockManager( config, platformModule.clock, logging, replicator, myself, raftMachine,
-                replicatedLockTokenStateMachine );
+        lockManager = createLockManager( config, platformModule.clock, platformModule.monitors, logging, replicator,
+                myself, raftMachine, replicatedLockTokenStateMachine );
 
         RecoverConsensusLogIndex consensusLogIndexRecovery = new RecoverConsensusLogIndex( dependencies, logProvider );
 
@@ -234,11 +242,11 @@ public class CoreStateMachinesModule
                 logProvider, idTypeConfigurationProvider );
     }
 
-    private Locks createLockManager( final Config config, Clock clock, final LogService logging,
+    private Locks createLockManager( final Config config, Clock clock, Monitors monitors, final LogService logging,
                                      final Replicator replicator, MemberId myself, LeaderLocator leaderLocator,
                                      ReplicatedLockTokenStateMachine lockTokenStateMachine )
     {
         Locks localLocks = CommunityEditionModule.createLockManager( config, clock, logging );
-        return new LeaderOnlyLockManager( myself, replicator, leaderLocator, localLocks, lockTokenStateMachine );
+        return new LeaderOnlyLockManager( myself, replicator, leaderLocator, localLocks, lockTokenStateMachine, monitors );
     }
 }
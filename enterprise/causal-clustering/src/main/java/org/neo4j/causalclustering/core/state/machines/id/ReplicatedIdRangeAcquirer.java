@@ -19,29 +19,43 @@
  */
 package org.neo4j.causalclustering.core.state.machines.id;
 
+import java.time.Clock;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 
 import org.neo4j.causalclustering.core.consensus.NoLeaderFoundException;
 import org.neo4j.causalclustering.core.replication.Replicator;
+import org.neo4j.causalclustering.core.state.machines.RoundTripsSavedMonitor;
 import org.neo4j.causalclustering.identity.MemberId;
 import org.neo4j.kernel.impl.store.id.IdRange;
 import org.neo4j.kernel.impl.store.id.IdType;
+import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.time.Clocks;
 
 import static java.lang.String.format;
 import static org.neo4j.collection.primitive.PrimitiveLongCollections.EMPTY_LONG_ARRAY;
 
 /**
  * Replicates commands to assign next available id range to this member.
+ * <p>
+ * The size of the ranges adapts to how fast the ids of every type are consumed. A range that is used up within
+ * {@link #TARGET_RANGE_LIFETIME_MILLIS} makes the next range of that type twice as large, up to the configured size
+ * multiplied by the maximum growth. A range that lasts for more than twice that time halves the size again, down to
+ * the configured size.
  */
 public class ReplicatedIdRangeAcquirer
 {
+    static final long TARGET_RANGE_LIFETIME_MILLIS = 1000;
+
     private final Replicator replicator;
     private final ReplicatedIdAllocationStateMachine idAllocationStateMachine;
 
-    private final Map<IdType,Integer> allocationSizes;
+    private final Map<IdType,AdaptiveSize> allocationSizes = new EnumMap<>( IdType.class );
+    private final Clock clock;
+    private final RoundTripsSavedMonitor roundTripsSavedMonitor;
 
     private final MemberId me;
     private final Log log;
@@ -49,25 +63,42 @@ public class ReplicatedIdRangeAcquirer
     public ReplicatedIdRangeAcquirer(
             Replicator replicator, ReplicatedIdAllocationStateMachine idAllocationStateMachine,
             Map<IdType, Integer> allocationSizes, MemberId me, LogProvider logProvider )
+    {
+        this( replicator, idAllocationStateMachine, allocationSizes, 1, Clocks.systemClock(), new Monitors(), me,
+                logProvider );
+    }
+
+    public ReplicatedIdRangeAcquirer(
+            Replicator replicator, ReplicatedIdAllocationStateMachine idAllocationStateMachine,
+            Map<IdType, Integer> allocationSizes, int maxGrowth, Clock clock, Monitors monitors, MemberId me,
+            LogProvider logProvider )
     {
         this.replicator = replicator;
         this.idAllocationStateMachine = idAllocationStateMachine;
-        this.allocationSizes = allocationSizes;
+        allocationSizes.forEach( ( idType, size ) -> this.allocationSizes.put( idType, new AdaptiveSize( size, maxGrowth ) ) );
+        this.clock = clock;
+        this.roundTripsSavedMonitor = monitors.newMonitor( RoundTripsSavedMonitor.class );
         this.me = me;
         this.log = logProvider.getLog( getClass() );
     }
 
     IdAllocation acquireIds( IdType idType )
     {
+        AdaptiveSize allocationSize = allocationSizes.get( idType );
+        int size = allocationSize.next( clock.millis() );
         while ( true )
         {
             long firstUnallocated = idAllocationStateMachine.firstUnallocated( idType );
             ReplicatedIdAllocationRequest idAllocationRequest =
-                    new ReplicatedIdAllocationRequest( me, idType, firstUnallocated, allocationSizes.get( idType ) );
+                    new ReplicatedIdAllocationRequest( me, idType, firstUnallocated, size );
 
             if ( replicateIdAllocationRequest( idType, idAllocationRequest ) )
             {
-                IdRange idRange = new IdRange( EMPTY_LONG_ARRAY, firstUnallocated, allocationSizes.get( idType ) );
+                if ( size > allocationSize.baseSize )
+                {
+                    roundTripsSavedMonitor.saved( size / allocationSize.baseSize - 1 );
+                }
+                IdRange idRange = new IdRange( EMPTY_LONG_ARRAY, firstUnallocated, size );
                 return new IdAllocation( idRange, -1, 0 );
             }
             else
@@ -89,4 +120,37 @@ public class ReplicatedIdRangeAcquirer
             throw new IdGenerationException( e );
         }
     }
+
+    private static class AdaptiveSize
+    {
+        private final int baseSize;
+        private final int maxSize;
+        private int size;
+        private long lastAcquiredMillis = -1;
+
+        AdaptiveSize( int baseSize, int maxGrowth )
+        {
+            this.baseSize = baseSize;
+            this.maxSize = (int) Math.min( Integer.MAX_VALUE, (long) baseSize * maxGrowth );
+            this.size = baseSize;
+        }
+
+        synchronized int next( long nowMillis )
+        {
+            if ( lastAcquiredMillis != -1 )
+            {
+                long lifetime = nowMillis - lastAcquiredMillis;
+                if ( lifetime < TARGET_RANGE_LIFETIME_MILLIS )
+                {
+                    size = (int) Math.min( maxSize, size * 2L );
+                }
+                else if ( lifetime > TARGET_RANGE_LIFETIME_MILLIS * 2 )
+                {
+                    size = Math.max( baseSize, size / 2 );
+                }
+            }
+            lastAcquiredMillis = nowMillis;
+            return size;
+        }
+    }
 }
@@ -26,11 +26,13 @@ import java.util.stream.Stream;
 import org.neo4j.causalclustering.core.consensus.LeaderLocator;
 import org.neo4j.causalclustering.core.consensus.NoLeaderFoundException;
 import org.neo4j.causalclustering.core.replication.Replicator;
+import org.neo4j.causalclustering.core.state.machines.RoundTripsSavedMonitor;
 import org.neo4j.causalclustering.core.state.machines.tx.ReplicatedTransactionStateMachine;
 import org.neo4j.causalclustering.identity.MemberId;
 import org.neo4j.kernel.impl.locking.ActiveLock;
 import org.neo4j.kernel.impl.locking.LockTracer;
 import org.neo4j.kernel.impl.locking.Locks;
+import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.storageengine.api.lock.AcquireLockTimeoutException;
 import org.neo4j.storageengine.api.lock.ResourceType;
 
@@ -71,15 +73,26 @@ public class LeaderOnlyLockManager implements Locks
     private final LeaderLocator leaderLocator;
     private final Locks localLocks;
     private final ReplicatedLockTokenStateMachine lockTokenStateMachine;
+    private final RoundTripsSavedMonitor roundTripsSavedMonitor;
+
+    private volatile long completedTokenRequests;
+    private AcquireLockTimeoutException lastTokenRequestFailure;
 
     public LeaderOnlyLockManager( MemberId myself, Replicator replicator, LeaderLocator leaderLocator, Locks localLocks,
             ReplicatedLockTokenStateMachine lockTokenStateMachine )
+    {
+        this( myself, replicator, leaderLocator, localLocks, lockTokenStateMachine, new Monitors() );
+    }
+
+    public LeaderOnlyLockManager( MemberId myself, Replicator replicator, LeaderLocator leaderLocator, Locks localLocks,
+            ReplicatedLockTokenStateMachine lockTokenStateMachine, Monitors monitors )
     {
         this.myself = myself;
         this.replicator = replicator;
         this.leaderLocator = leaderLocator;
         this.localLocks = localLocks;
         this.lockTokenStateMachine = lockTokenStateMachine;
+        this.roundTripsSavedMonitor = monitors.newMonitor( RoundTripsSavedMonitor.class );
     }
 
     @Override
@@ -90,19 +103,53 @@ public class LeaderOnlyLockManager implements Locks
 
     /**
      * Acquires a valid token id owned by us or throws.
+     * <p>
+     * Transactions that waited while another transaction requested the token share the outcome of that request. If
+     * the token was taken by another candidate, they fail with it instead of each replicating a request of their own.
      */
-    private synchronized int acquireTokenOrThrow()
+    private int acquireTokenOrThrow()
     {
-        LockToken currentToken = lockTokenStateMachine.currentToken();
-        if ( myself.equals( currentToken.owner() ) )
+        long requestsSeen = completedTokenRequests;
+        synchronized ( this )
         {
-            return currentToken.id();
-        }
+            LockToken currentToken = lockTokenStateMachine.currentToken();
+            if ( myself.equals( currentToken.owner() ) )
+            {
+                return currentToken.id();
+            }
+
+            /* If we are not the leader then we will not even attempt to get the token,
+               since only the leader should take locks. */
+            ensureLeader();
 
-        /* If we are not the leader then we will not even attempt to get the token,
-           since only the leader should take locks. */
-        ensureLeader();
+            AcquireLockTimeoutException lastFailure = lastTokenRequestFailure;
+            if ( requestsSeen != completedTokenRequests && lastFailure != null )
+            {
+                roundTripsSavedMonitor.saved( 1 );
+                throw new AcquireLockTimeoutException( lastFailure, lastFailure.getMessage(), lastFailure.status() );
+            }
 
+            try
+            {
+                int tokenId = requestToken( currentToken );
+                lastTokenRequestFailure = null;
+                return tokenId;
+            }
+            catch ( AcquireLockTimeoutException e )
+            {
+                // Interruptions are particular to the requesting thread, so they are not shared with the waiters.
+                lastTokenRequestFailure = e.status() == NotALeader ? e : null;
+                throw e;
+            }
+            finally
+            {
+                completedTokenRequests++;
+            }
+        }
+    }
+
+    private int requestToken( LockToken currentToken )
+    {
         ReplicatedLockTokenRequest lockTokenRequest =
                 new ReplicatedLockTokenRequest( myself, LockToken.nextCandidateId( currentToken.id() ) );
 
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.core.state.machines.tx;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.neo4j.causalclustering.core.state.Result;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
+import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
+import org.neo4j.kernel.impl.api.TransactionCommitProcess;
+import org.neo4j.kernel.impl.api.TransactionToApply;
+import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
+import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
+import org.neo4j.kernel.impl.transaction.tracing.StoreApplyEvent;
+import org.neo4j.storageengine.api.TransactionApplicationMode;
+
+import static java.lang.Math.max;
+
+/**
+ * Commits replicated transactions through a {@link TransactionCommitProcess} in batches, with up to a number of
+ * batches being committed concurrently, while keeping the order of the Raft log where it matters:
+ * <ul>
+ * <li>Batches are appended to the transaction log one at a time, in the order they were queued, such that transaction
+ * ids keep following the Raft log. The {@link CommitEvent} of each batch waits in {@link CommitEvent#beginLogAppend()}
+ * for the batch before it to be appended.</li>
+ * <li>A batch is applied to the store only after all earlier batches it conflicts with, see {@link TouchedEntities},
+ * have been applied. The {@link CommitEvent} waits for those in {@link CommitEvent#beginStoreApply()}. Batches which
+ * don't conflict lock disjoint entities when applied, so they can't deadlock on each other.</li>
+ * <li>The applied command index only moves forward once all earlier batches have been applied too.</li>
+ * </ul>
+ * With one concurrent batch and an executor running batches in the calling thread this is the same as committing
+ * batch after batch.
+ * <p>
+ * A failure to commit a batch fails all batches after it and is reported to the caller by
+ * {@link #queue(TransactionRepresentation, TouchedEntities, long, Consumer)}, {@link #flush()} or
+ * {@link #awaitApplied()}, since later transactions can't be committed after that.
+ */
+class ParallelBatchCommitter
+{
+    private final TransactionCommitProcess commitProcess;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final int maxConcurrentBatches;
+    private final LongConsumer appliedCommandIndex;
+    private final PageCursorTracerSupplier pageCursorTracerSupplier;
+    private final VersionContextSupplier versionContextSupplier;
+
+    private final Deque<Batch> inFlight = new ArrayDeque<>();
+    private Batch current;
+    private long nextSequence;
+    private long nextToAppend;
+    private Throwable failure;
+
+    ParallelBatchCommitter( TransactionCommitProcess commitProcess, Executor executor, int maxBatchSize,
+            int maxConcurrentBatches, LongConsumer appliedCommandIndex, PageCursorTracerSupplier pageCursorTracerSupplier,
+            VersionContextSupplier versionContextSupplier )
+    {
+        this.commitProcess = commitProcess;
+        this.executor = executor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxConcurrentBatches = maxConcurrentBatches;
+        this.appliedCommandIndex = appliedCommandIndex;
+        this.pageCursorTracerSupplier = pageCursorTracerSupplier;
+        this.versionContextSupplier = versionContextSupplier;
+    }
+
+    /**
+     * Queues a transaction to be committed as part of the current batch, committing the batch if it got full.
+     * Called by one thread at a time, the one applying the Raft log.
+     *
+     * @param transaction the transaction to commit.
+     * @param touched what the transaction touches, which decides what it conflicts with.
+     * @param commandIndex index of the transaction in the Raft log.
+     * @param callback notified with the transaction id when the transaction has been committed.
+     */
+    void queue( TransactionRepresentation transaction, TouchedEntities touched, long commandIndex,
+            Consumer<Result> callback ) throws Exception
+    {
+        if ( current == null )
+        {
+            current = new Batch();
+        }
+        current.add( transaction, touched, commandIndex, callback );
+        if ( current.transactions.size() >= maxBatchSize )
+        {
+            flush();
+        }
+    }
+
+    /**
+     * Starts committing the current batch, if any, waiting for a free slot if there are already
+     * {@code maxConcurrentBatches} batches being committed.
+     */
+    void flush() throws Exception
+    {
+        if ( current == null )
+        {
+            throwIfFailed();
+            return;
+        }
+
+        Batch batch = current;
+        current = null;
+        synchronized ( this )
+        {
+            while ( inFlight.size() >= maxConcurrentBatches && failure == null )
+            {
+                wait();
+            }
+            throwIfFailed();
+            batch.sequence = nextSequence++;
+            inFlight.addLast( batch );
+        }
+        executor.execute( () -> commit( batch ) );
+    }
+
+    /**
+     * Commits the current batch and waits for it and all batches before it to be applied.
+     */
+    void awaitApplied() throws Exception
+    {
+        flush();
+        synchronized ( this )
+        {
+            while ( !inFlight.isEmpty() && failure == null )
+            {
+                wait();
+            }
+            throwIfFailed();
+        }
+    }
+
+    private void commit( Batch batch )
+    {
+        Throwable error = null;
+        try
+        {
+            // Transactions are created here since the version context is bound to the committing thread
+            TransactionToApply first = null;
+            TransactionToApply last = null;
+            for ( QueuedTransaction queued : batch.transactions )
+            {
+                TransactionToApply transaction =
+                        new TransactionToApply( queued.transaction, versionContextSupplier.getVersionContext() );
+                transaction.onClose( txId -> queued.callback.accept( Result.of( txId ) ) );
+                if ( first == null )
+                {
+                    first = last = transaction;
+                }
+                else
+                {
+                    last.next( transaction );
+                    last = transaction;
+                }
+            }
+            commitProcess.commit( first, new OrderingCommitEvent( batch ), TransactionApplicationMode.EXTERNAL );
+            pageCursorTracerSupplier.get().reportEvents(); // Report paging metrics for the commit
+        }
+        catch ( Throwable e )
+        {
+            error = e;
+        }
+        completed( batch, error );
+    }
+
+    private synchronized void awaitAppendTurn( Batch batch )
+    {
+        while ( nextToAppend < batch.sequence && failure == null )
+        {
+            await();
+        }
+        throwIfFailed();
+    }
+
+    private synchronized void awaitStoreApplyTurn( Batch batch )
+    {
+        // This batch has been appended, let the next one append while this one waits to be applied
+        nextToAppend = max( nextToAppend, batch.sequence + 1 );
+        notifyAll();
+        while ( failure == null && hasConflictingPredecessor( batch ) )
+        {
+            await();
+        }
+        throwIfFailed();
+    }
+
+    private boolean hasConflictingPredecessor( Batch batch )
+    {
+        for ( Batch predecessor : inFlight )
+        {
+            if ( predecessor == batch )
+            {
+                return false;
+            }
+            if ( !predecessor.done && predecessor.touched.conflictsWith( batch.touched ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void completed( Batch batch, Throwable error )
+    {
+        batch.done = true;
+        if ( error != null )
+        {
+            if ( failure == null )
+            {
+                failure = error;
+            }
+        }
+        else
+        {
+            // For commit processes which don't go through the commit event, committed implies appended
+            nextToAppend = max( nextToAppend, batch.sequence + 1 );
+        }
+        while ( !inFlight.isEmpty() && inFlight.peekFirst().done )
+        {
+            Batch applied = inFlight.pollFirst();
+            if ( failure == null )
+            {
+                appliedCommandIndex.accept( applied.lastCommandIndex );
+            }
+        }
+        notifyAll();
+    }
+
+    private void await()
+    {
+        try
+        {
+            wait();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted while waiting for earlier transactions to be committed", e );
+        }
+    }
+
+    private synchronized void throwIfFailed()
+    {
+        if ( failure != null )
+        {
+            throw new IllegalStateException( "An earlier batch of transactions failed to commit", failure );
+        }
+    }
+
+    /**
+     * Hooks into the commit of a batch, to append and apply it in order with respect to other batches.
+     */
+    private class OrderingCommitEvent implements CommitEvent
+    {
+        private final Batch batch;
+
+        OrderingCommitEvent( Batch batch )
+        {
+            this.batch = batch;
+        }
+
+        @Override
+        public LogAppendEvent beginLogAppend()
+        {
+            awaitAppendTurn( batch );
+            return LogAppendEvent.NULL;
+        }
+
+        @Override
+        public StoreApplyEvent beginStoreApply()
+        {
+            awaitStoreApplyTurn( batch );
+            return StoreApplyEvent.NULL;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    private static class Batch
+    {
+        private final List<QueuedTransaction> transactions = new ArrayList<>();
+        private final TouchedEntities touched = new TouchedEntities();
+        private long lastCommandIndex;
+        private long sequence;
+        private boolean done;
+
+        void add( TransactionRepresentation transaction, TouchedEntities touched, long commandIndex,
+                Consumer<Result> callback )
+        {
+            transactions.add( new QueuedTransaction( transaction, callback ) );
+            this.touched.addAll( touched );
+            lastCommandIndex = commandIndex;
+        }
+    }
+
+    private static class QueuedTransaction
+    {
+        private final TransactionRepresentation transaction;
+        private final Consumer<Result> callback;
+
+        QueuedTransaction( TransactionRepresentation transaction, Consumer<Result> callback )
+        {
+            this.transaction = transaction;
+            this.callback = callback;
+        }
+    }
+}
@@ -20,6 +20,11 @@
 package org.neo4j.causalclustering.core.state.machines.tx;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
 import org.neo4j.causalclustering.core.state.Result;
@@ -30,19 +35,25 @@ import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracerSupplier;
 import org.neo4j.io.pagecache.tracing.cursor.context.VersionContextSupplier;
 import org.neo4j.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.impl.api.TransactionCommitProcess;
-import org.neo4j.kernel.impl.api.TransactionQueue;
-import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
-import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
-import org.neo4j.storageengine.api.TransactionApplicationMode;
 
 import static java.lang.String.format;
 import static org.neo4j.causalclustering.core.state.machines.tx.LogIndexTxHeaderEncoding.encodeLogIndexAsTxHeader;
 import static org.neo4j.kernel.api.exceptions.Status.Transaction.LockSessionExpired;
 
+/**
+ * Commits replicated transactions through the local commit process, in batches.
+ * <p>
+ * The transactions are decoded from their replicated form by the given decoder {@link Executor}, such that a batch
+ * of transactions can be decoded in parallel. Batches are committed by the given applier {@link Executor}, up to
+ * {@code maxConcurrentBatches} at a time. Batches are still appended to the transaction log in the order of the Raft
+ * log, and a batch is only applied to the store after the earlier batches it conflicts with, see
+ * {@link TouchedEntities} and {@link ParallelBatchCommitter}. The other state machines must call
+ * {@link #ensuredApplied()} before they apply a command, to keep their ordering with respect to the transactions.
+ */
 public class ReplicatedTransactionStateMachine implements StateMachine<ReplicatedTransaction>
 {
     private final CommandIndexTracker commandIndexTracker;
@@ -51,8 +62,12 @@ public class ReplicatedTransactionStateMachine implements StateMachine<Replicate
     private final Log log;
     private final PageCursorTracerSupplier pageCursorTracerSupplier;
     private final VersionContextSupplier versionContextSupplier;
+    private final Executor decoder;
+    private final Executor applier;
+    private final int maxConcurrentBatches;
+    private final Queue<PendingTransaction> pending = new ArrayDeque<>();
 
-    private TransactionQueue queue;
+    private ParallelBatchCommitter committer;
     private long lastCommittedIndex = -1;
 
     public ReplicatedTransactionStateMachine( CommandIndexTracker commandIndexTracker,
@@ -60,6 +75,17 @@ public class ReplicatedTransactionStateMachine implements StateMachine<Replicate
                                               LogProvider logProvider,
                                               PageCursorTracerSupplier pageCursorTracerSupplier,
                                               VersionContextSupplier versionContextSupplier )
+    {
+        this( commandIndexTracker, lockStateMachine, maxBatchSize, logProvider, pageCursorTracerSupplier,
+                versionContextSupplier, Runnable::run, Runnable::run, 1 );
+    }
+
+    public ReplicatedTransactionStateMachine( CommandIndexTracker commandIndexTracker,
+                                              ReplicatedLockTokenStateMachine lockStateMachine, int maxBatchSize,
+                                              LogProvider logProvider,
+                                              PageCursorTracerSupplier pageCursorTracerSupplier,
+                                              VersionContextSupplier versionContextSupplier, Executor decoder,
+                                              Executor applier, int maxConcurrentBatches )
     {
         this.commandIndexTracker = commandIndexTracker;
         this.lockTokenStateMachine = lockStateMachine;
@@ -67,17 +93,17 @@ public class ReplicatedTransactionStateMachine implements StateMachine<Replicate
         this.log = logProvider.getLog( getClass() );
         this.pageCursorTracerSupplier = pageCursorTracerSupplier;
         this.versionContextSupplier = versionContextSupplier;
+        this.decoder = decoder;
+        this.applier = applier;
+        this.maxConcurrentBatches = maxConcurrentBatches;
     }
 
     public synchronized void installCommitProcess( TransactionCommitProcess commitProcess, long lastCommittedIndex )
     {
         this.lastCommittedIndex = lastCommittedIndex;
         log.info( format("Updated lastCommittedIndex to %d", lastCommittedIndex) );
-        this.queue = new TransactionQueue( maxBatchSize, ( first, last ) ->
-        {
-            commitProcess.commit( first, CommitEvent.NULL, TransactionApplicationMode.EXTERNAL );
-            pageCursorTracerSupplier.get().reportEvents(); // Report paging metrics for the commit
-        } );
+        this.committer = new ParallelBatchCommitter( commitProcess, applier, maxBatchSize, maxConcurrentBatches,
+                commandIndexTracker::setAppliedCommandIndex, pageCursorTracerSupplier, versionContextSupplier );
     }
 
     @Override
@@ -89,11 +115,77 @@ public class ReplicatedTransactionStateMachine implements StateMachine<Replicate
             return;
         }
 
-        TransactionRepresentation tx;
-
         byte[] extraHeader = encodeLogIndexAsTxHeader( commandIndex );
-        tx = ReplicatedTransactionFactory.extractTransactionRepresentation( replicatedTx, extraHeader );
+        CompletableFuture<DecodedTransaction> decoded = CompletableFuture.supplyAsync(
+                () -> decode( replicatedTx, extraHeader ), decoder );
+        pending.add( new PendingTransaction( decoded, commandIndex, callback ) );
+
+        if ( pending.size() >= maxBatchSize )
+        {
+            queuePending();
+        }
+        else
+        {
+            queueDecoded();
+        }
+    }
+
+    private DecodedTransaction decode( ReplicatedTransaction replicatedTx, byte[] extraHeader )
+    {
+        TransactionRepresentation tx =
+                ReplicatedTransactionFactory.extractTransactionRepresentation( replicatedTx, extraHeader );
+        if ( maxConcurrentBatches <= 1 )
+        {
+            // Batches are committed one at a time anyway, no need to know what they conflict with
+            return new DecodedTransaction( tx, TouchedEntities.exclusive() );
+        }
+        try
+        {
+            return new DecodedTransaction( tx, TouchedEntities.of( tx ) );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * Queue the pending transactions that have already been decoded, up to the first one that has not.
+     */
+    private void queueDecoded()
+    {
+        while ( !pending.isEmpty() && pending.peek().decoded.isDone() )
+        {
+            queue( pending.poll() );
+        }
+    }
+
+    /**
+     * Queue all the pending transactions for commit, in the order they were applied, waiting for their decoding.
+     */
+    private void queuePending()
+    {
+        PendingTransaction transaction;
+        while ( (transaction = pending.poll()) != null )
+        {
+            queue( transaction );
+        }
+    }
 
+    private void queue( PendingTransaction pendingTx )
+    {
+        DecodedTransaction decoded;
+        try
+        {
+            decoded = pendingTx.decoded.join();
+        }
+        catch ( Exception e )
+        {
+            throw panicException( e );
+        }
+
+        TransactionRepresentation tx = decoded.transaction;
+        Consumer<Result> callback = pendingTx.callback;
         int currentTokenId = lockTokenStateMachine.currentToken().id();
         int txLockSessionId = tx.getLockSessionId();
 
@@ -107,13 +199,7 @@ public class ReplicatedTransactionStateMachine implements StateMachine<Replicate
         {
             try
             {
-                TransactionToApply transaction = new TransactionToApply( tx, versionContextSupplier.getVersionContext() );
-                transaction.onClose( txId ->
-                {
-                    callback.accept( Result.of( txId ) );
-                    commandIndexTracker.setAppliedCommandIndex( commandIndex );
-                } );
-                queue.queue( transaction );
+                committer.queue( tx, decoded.touched, pendingTx.commandIndex, callback );
             }
             catch ( Exception e )
             {
@@ -131,7 +217,7 @@ public class ReplicatedTransactionStateMachine implements StateMachine<Replicate
     @Override
     public long lastAppliedIndex()
     {
-        if ( queue == null )
+        if ( committer == null )
         {
             /** See {@link #installCommitProcess}. */
             throw new IllegalStateException( "Value has not been installed" );
@@ -141,9 +227,10 @@ public class ReplicatedTransactionStateMachine implements StateMachine<Replicate
 
     public synchronized void ensuredApplied()
     {
+        queuePending();
         try
         {
-            queue.empty();
+            committer.awaitApplied();
         }
         catch ( Exception e )
         {
@@ -157,4 +244,31 @@ public class ReplicatedTransactionStateMachine implements StateMachine<Replicate
                 "committed to the RAFT log. This server cannot process later transactions and needs to be " +
                 "restarted once the underlying cause has been addressed.", e );
     }
+
+    private static class DecodedTransaction
+    {
+        private final TransactionRepresentation transaction;
+        private final TouchedEntities touched;
+
+        DecodedTransaction( TransactionRepresentation transaction, TouchedEntities touched )
+        {
+            this.transaction = transaction;
+            this.touched = touched;
+        }
+    }
+
+    private static class PendingTransaction
+    {
+        private final CompletableFuture<DecodedTransaction> decoded;
+        private final long commandIndex;
+        private final Consumer<Result> callback;
+
+        PendingTransaction( CompletableFuture<DecodedTransaction> decoded, long commandIndex,
+                Consumer<Result> callback )
+        {
+            this.decoded = decoded;
+            this.commandIndex = commandIndex;
+            this.callback = callback;
+        }
+    }
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.core.state.machines.tx;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.collection.primitive.PrimitiveLongSet;
+import org.neo4j.kernel.impl.api.CommandVisitor;
+import org.neo4j.kernel.impl.index.IndexCommand;
+import org.neo4j.kernel.impl.index.IndexDefineCommand;
+import org.neo4j.kernel.impl.store.record.DynamicRecord;
+import org.neo4j.kernel.impl.store.record.PropertyBlock;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.command.Command;
+
+/**
+ * The records a transaction writes, and the entities it locks while being applied to the store, used to tell whether
+ * transactions, or batches of them, can be applied concurrently. Two transactions conflict if they write the same
+ * record, including dynamic label and property value records whose ids may have been freed by one and reused by the
+ * other, or if they lock the same node or relationship, which applying property changes does for the owner of the
+ * properties.
+ * <p>
+ * Transactions with commands that change tokens, schema, explicit indexes or the neo store record are
+ * {@link #isExclusive() exclusive}, i.e. conflict with all others. Counts commands are applied commutatively and
+ * don't conflict.
+ */
+class TouchedEntities
+{
+    private static final int TYPE_SHIFT = 58;
+    private static final long NODE = 1L << TYPE_SHIFT;
+    private static final long RELATIONSHIP = 2L << TYPE_SHIFT;
+    private static final long RELATIONSHIP_GROUP = 3L << TYPE_SHIFT;
+    private static final long PROPERTY = 4L << TYPE_SHIFT;
+    private static final long DYNAMIC_LABELS = 5L << TYPE_SHIFT;
+    private static final long PROPERTY_VALUE = 6L << TYPE_SHIFT;
+
+    private final PrimitiveLongSet keys = Primitive.longSet();
+    private boolean exclusive;
+
+    static TouchedEntities of( TransactionRepresentation transaction ) throws IOException
+    {
+        TouchedEntities touched = new TouchedEntities();
+        Collector collector = touched.new Collector();
+        transaction.accept( command -> ((Command) command).handle( collector ) );
+        return touched;
+    }
+
+    static TouchedEntities exclusive()
+    {
+        TouchedEntities touched = new TouchedEntities();
+        touched.exclusive = true;
+        return touched;
+    }
+
+    /**
+     * Adds everything touched by {@code other} to this instance, e.g. to get what a batch of transactions touches.
+     */
+    void addAll( TouchedEntities other )
+    {
+        exclusive |= other.exclusive;
+        if ( !exclusive )
+        {
+            keys.addAll( other.keys.iterator() );
+        }
+    }
+
+    boolean isExclusive()
+    {
+        return exclusive;
+    }
+
+    boolean conflictsWith( TouchedEntities other )
+    {
+        if ( exclusive || other.exclusive )
+        {
+            return true;
+        }
+        PrimitiveLongSet smaller = keys.size() <= other.keys.size() ? keys : other.keys;
+        PrimitiveLongSet larger = smaller == keys ? other.keys : keys;
+        PrimitiveLongIterator iterator = smaller.iterator();
+        while ( iterator.hasNext() )
+        {
+            if ( larger.contains( iterator.next() ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add( long type, long id )
+    {
+        if ( id >= 0 && !exclusive )
+        {
+            keys.add( type | id );
+        }
+    }
+
+    private void add( long type, Collection<DynamicRecord> records )
+    {
+        for ( DynamicRecord record : records )
+        {
+            add( type, record.getId() );
+        }
+    }
+
+    private void addPropertyValues( PropertyRecord record )
+    {
+        for ( PropertyBlock block : record )
+        {
+            add( PROPERTY_VALUE, block.getValueRecords() );
+        }
+        add( PROPERTY_VALUE, record.getDeletedRecords() );
+    }
+
+    private class Collector extends CommandVisitor.Adapter
+    {
+        @Override
+        public boolean visitNodeCommand( Command.NodeCommand command )
+        {
+            add( NODE, command.getKey() );
+            add( DYNAMIC_LABELS, command.getBefore().getDynamicLabelRecords() );
+            add( DYNAMIC_LABELS, command.getAfter().getDynamicLabelRecords() );
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipCommand( Command.RelationshipCommand command )
+        {
+            add( RELATIONSHIP, command.getKey() );
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipGroupCommand( Command.RelationshipGroupCommand command )
+        {
+            add( RELATIONSHIP_GROUP, command.getKey() );
+            return false;
+        }
+
+        @Override
+        public boolean visitPropertyCommand( Command.PropertyCommand command )
+        {
+            add( PROPERTY, command.getKey() );
+            // Applying property changes locks the owning entity, see NeoStoreTransactionApplier
+            if ( command.getNodeId() != -1 )
+            {
+                add( NODE, command.getNodeId() );
+            }
+            else
+            {
+                add( RELATIONSHIP, command.getRelId() );
+            }
+            addPropertyValues( command.getBefore() );
+            addPropertyValues( command.getAfter() );
+            return false;
+        }
+
+        @Override
+        public boolean visitRelationshipTypeTokenCommand( Command.RelationshipTypeTokenCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitLabelTokenCommand( Command.LabelTokenCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitPropertyKeyTokenCommand( Command.PropertyKeyTokenCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitSchemaRuleCommand( Command.SchemaRuleCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitNeoStoreCommand( Command.NeoStoreCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitIndexAddNodeCommand( IndexCommand.AddNodeCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitIndexAddRelationshipCommand( IndexCommand.AddRelationshipCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitIndexRemoveCommand( IndexCommand.RemoveCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitIndexDeleteCommand( IndexCommand.DeleteCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitIndexCreateCommand( IndexCommand.CreateCommand command )
+        {
+            return markExclusive();
+        }
+
+        @Override
+        public boolean visitIndexDefineCommand( IndexDefineCommand command )
+        {
+            return markExclusive();
+        }
+
+        private boolean markExclusive()
+        {
+            exclusive = true;
+            keys.clear();
+            return false;
+        }
+    }
+}
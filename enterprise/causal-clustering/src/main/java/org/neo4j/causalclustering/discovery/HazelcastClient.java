@@ -19,6 +19,7 @@
  */
 package org.neo4j.causalclustering.discovery;
 
+import java.time.Clock;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +34,7 @@ import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.time.Clocks;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.READ_REPLICA_BOLT_ADDRESS_MAP_NAME;
@@ -41,6 +43,7 @@ import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.READ
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.extractCatchupAddressesMap;
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.getCoreTopology;
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.getReadReplicaTopology;
+import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.getServerLoads;
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.refreshGroups;
 
 public class HazelcastClient extends LifecycleAdapter implements TopologyService
@@ -63,6 +66,8 @@ public class HazelcastClient extends LifecycleAdapter implements TopologyService
     private volatile Map<MemberId,AdvertisedSocketAddress> catchupAddressMap = new HashMap<>();
     private volatile CoreTopology coreTopology = CoreTopology.EMPTY;
     private volatile ReadReplicaTopology rrTopology = ReadReplicaTopology.EMPTY;
+    private final Clock clock = Clocks.systemClock();
+    private volatile Map<MemberId,ServerLoad> serverLoads = new HashMap<>();
 
     public HazelcastClient( HazelcastConnector connector, JobScheduler scheduler, LogProvider logProvider, Config config,
             MemberId myself, TopologyServiceRetryStrategy topologyServiceRetryStrategy )
@@ -111,6 +116,26 @@ public class HazelcastClient extends LifecycleAdapter implements TopologyService
         return Optional.ofNullable( catchupAddressMap.get( memberId ) );
     }
 
+    @Override
+    public Map<MemberId,ServerLoad> serverLoads()
+    {
+        return serverLoads;
+    }
+
+    @Override
+    public void publishServerLoad( ServerLoad load )
+    {
+        try
+        {
+            hzInstance.perform( hz -> HazelcastClusterTopology.publishServerLoad( hz, myself, load,
+                    config.get( CausalClusteringSettings.load_balancing_load_max_staleness ).toMillis() ) );
+        }
+        catch ( HazelcastInstanceNotActiveException e )
+        {
+            log.debug( "Unable to publish server load", e );
+        }
+    }
+
     /**
      * Caches the topology so that the lookups are fast.
      */
@@ -119,6 +144,7 @@ public class HazelcastClient extends LifecycleAdapter implements TopologyService
         coreTopology = hzInstance.apply( hz -> getCoreTopology( hz, config, log ) );
         rrTopology = hzInstance.apply( hz -> getReadReplicaTopology( hz, log ) );
         catchupAddressMap = extractCatchupAddressesMap( coreTopology, rrTopology );
+        serverLoads = hzInstance.apply( hz -> getServerLoads( hz, serverLoads, clock.millis(), log ) );
     }
 
     @Override
@@ -43,6 +43,7 @@ import org.neo4j.kernel.configuration.Config;
 import org.neo4j.logging.Log;
 
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.neo4j.causalclustering.core.CausalClusteringSettings.refuse_to_be_leader;
 import static java.util.stream.Stream.concat;
 import static java.util.stream.Stream.of;
@@ -66,6 +67,7 @@ public class HazelcastClusterTopology
     static final String READ_REPLICA_TRANSACTION_SERVER_ADDRESS_MAP_NAME = "read-replica-transaction-servers";
     static final String READ_REPLICA_BOLT_ADDRESS_MAP_NAME = "read_replicas"; // hz client uuid string -> boltAddress string
     static final String READ_REPLICA_MEMBER_ID_MAP_NAME = "read-replica-member-ids";
+    static final String SERVER_LOAD_MAP_NAME = "server-loads"; // member id uuid string -> encoded ServerLoad
 
     private HazelcastClusterTopology()
     {
@@ -240,6 +242,43 @@ public class HazelcastClusterTopology
         superfluous.forEach( group -> groupsMap.remove( memberId, group ) );
     }
 
+    static void publishServerLoad( HazelcastInstance hazelcastInstance, MemberId memberId, ServerLoad load,
+            long timeToLiveMillis )
+    {
+        IMap<String,String> serverLoads = hazelcastInstance.getMap( SERVER_LOAD_MAP_NAME );
+        serverLoads.put( memberId.getUuid().toString(), load.encode(), timeToLiveMillis, MILLISECONDS );
+    }
+
+    /**
+     * @param previous the loads returned by the previous call, to keep the local time at which each sample was first
+     * received, see {@link ServerLoad#receivedAt(long, ServerLoad)}.
+     * @param nowMillis the current time, by the local clock.
+     */
+    static Map<MemberId,ServerLoad> getServerLoads( HazelcastInstance hazelcastInstance,
+            Map<MemberId,ServerLoad> previous, long nowMillis, Log log )
+    {
+        Map<MemberId,ServerLoad> result = new HashMap<>();
+        IMap<String,String> serverLoads = hazelcastInstance.getMap( SERVER_LOAD_MAP_NAME );
+        if ( serverLoads == null )
+        {
+            return result;
+        }
+
+        for ( Map.Entry<String,String> entry : serverLoads.entrySet() )
+        {
+            try
+            {
+                MemberId memberId = new MemberId( UUID.fromString( entry.getKey() ) );
+                result.put( memberId, ServerLoad.decode( entry.getValue() ).receivedAt( nowMillis, previous.get( memberId ) ) );
+            }
+            catch ( IllegalArgumentException e )
+            {
+                log.warn( "Invalid server load supplied from Hazelcast", e );
+            }
+        }
+        return result;
+    }
+
     static MemberAttributeConfig buildMemberAttributesForCore( MemberId myself, Config config )
     {
         MemberAttributeConfig memberAttributeConfig = new MemberAttributeConfig();
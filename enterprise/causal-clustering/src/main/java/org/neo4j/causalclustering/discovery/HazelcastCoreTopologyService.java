@@ -19,6 +19,7 @@
  */
 package org.neo4j.causalclustering.discovery;
 
+import java.time.Clock;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +49,7 @@ import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
 import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.time.Clocks;
 
 import static com.hazelcast.spi.properties.GroupProperty.INITIAL_MIN_CLUSTER_SIZE;
 import static com.hazelcast.spi.properties.GroupProperty.LOGGING_TYPE;
@@ -62,6 +64,7 @@ import static org.neo4j.causalclustering.core.CausalClusteringSettings.initial_d
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.extractCatchupAddressesMap;
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.getCoreTopology;
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.getReadReplicaTopology;
+import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.getServerLoads;
 import static org.neo4j.causalclustering.discovery.HazelcastClusterTopology.refreshGroups;
 
 public class HazelcastCoreTopologyService extends LifecycleAdapter implements CoreTopologyService
@@ -85,6 +88,8 @@ public class HazelcastCoreTopologyService extends LifecycleAdapter implements Co
     private volatile ReadReplicaTopology readReplicaTopology = ReadReplicaTopology.EMPTY;
     private volatile CoreTopology coreTopology = CoreTopology.EMPTY;
     private volatile Map<MemberId,AdvertisedSocketAddress> catchupAddressMap = new HashMap<>();
+    private final Clock clock = Clocks.systemClock();
+    private volatile Map<MemberId,ServerLoad> serverLoads = new HashMap<>();
 
     private Thread startingThread;
     private volatile boolean stopped;
@@ -326,11 +331,29 @@ public class HazelcastCoreTopologyService extends LifecycleAdapter implements Co
         return Optional.ofNullable( catchupAddressMap.get( memberId ) );
     }
 
+    @Override
+    public Map<MemberId,ServerLoad> serverLoads()
+    {
+        return serverLoads;
+    }
+
+    @Override
+    public void publishServerLoad( ServerLoad load )
+    {
+        HazelcastInstance instance = hazelcastInstance;
+        if ( instance != null )
+        {
+            HazelcastClusterTopology.publishServerLoad( instance, myself, load,
+                    config.get( CausalClusteringSettings.load_balancing_load_max_staleness ).toMillis() );
+        }
+    }
+
     private synchronized void refreshTopology() throws InterruptedException
     {
         refreshCoreTopology();
         refreshReadReplicaTopology();
         catchupAddressMap = extractCatchupAddressesMap( coreTopology, readReplicaTopology );
+        serverLoads = getServerLoads( hazelcastInstance, serverLoads, clock.millis(), log );
     }
 
     private void refreshCoreTopology() throws InterruptedException
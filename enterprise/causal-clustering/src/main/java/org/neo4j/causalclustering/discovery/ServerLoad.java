@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.discovery;
+
+import java.util.Objects;
+
+import static java.lang.String.format;
+
+/**
+ * A lightweight sample of the load of a cluster member, which members publish through discovery so that the load
+ * balancing can take the load of the servers into account.
+ * <p>
+ * Replication lag is not published as such, since cores only know how far behind they are in Raft log entries, which
+ * also include entries that are not transactions. Each member publishes the id of the last transaction it has applied
+ * instead, and lag is measured in transactions behind the most up to date member, the same way for all of them.
+ * <p>
+ * Freshness is judged by the time at which a sample was first received locally, see {@link #receivedAt(long, ServerLoad)},
+ * rather than by the time at which the publishing member took it, so that clock skew between members does not matter.
+ */
+public class ServerLoad
+{
+    private final long boltSessions;
+    private final long queuedRequests;
+    private final long lastTransactionId;
+    private final long timestampMillis;
+    private final long receivedMillis;
+
+    /**
+     * @param boltSessions the number of open Bolt sessions.
+     * @param queuedRequests the number of Bolt requests that have been received, but not yet processed.
+     * @param lastTransactionId the id of the last transaction that the member has applied.
+     * @param timestampMillis the wall clock time at which the sample was taken, by the clock of the publishing member.
+     */
+    public ServerLoad( long boltSessions, long queuedRequests, long lastTransactionId, long timestampMillis )
+    {
+        this( boltSessions, queuedRequests, lastTransactionId, timestampMillis, timestampMillis );
+    }
+
+    private ServerLoad( long boltSessions, long queuedRequests, long lastTransactionId, long timestampMillis,
+            long receivedMillis )
+    {
+        this.boltSessions = boltSessions;
+        this.queuedRequests = queuedRequests;
+        this.lastTransactionId = lastTransactionId;
+        this.timestampMillis = timestampMillis;
+        this.receivedMillis = receivedMillis;
+    }
+
+    public long boltSessions()
+    {
+        return boltSessions;
+    }
+
+    public long queuedRequests()
+    {
+        return queuedRequests;
+    }
+
+    public long lastTransactionId()
+    {
+        return lastTransactionId;
+    }
+
+    public long timestampMillis()
+    {
+        return timestampMillis;
+    }
+
+    /**
+     * @return the local time at which this sample was first received, see {@link #receivedAt(long, ServerLoad)}.
+     */
+    public long receivedMillis()
+    {
+        return receivedMillis;
+    }
+
+    /**
+     * Marks this sample as received at the given local time, unless it is the same sample as the one received before,
+     * in which case that one is returned so that the time it was first received is kept. Samples are told apart by
+     * their contents, including the timestamp of the publishing member.
+     *
+     * @param nowMillis the current time, by the local clock.
+     * @param previous the sample previously received from the same member, or {@code null} if none.
+     * @return the sample with the local time at which it was first received.
+     */
+    public ServerLoad receivedAt( long nowMillis, ServerLoad previous )
+    {
+        if ( equals( previous ) )
+        {
+            return previous;
+        }
+        return new ServerLoad( boltSessions, queuedRequests, lastTransactionId, timestampMillis, nowMillis );
+    }
+
+    /**
+     * @return whether this sample was received locally no longer than the given time ago.
+     */
+    public boolean isFresh( long nowMillis, long maxStalenessMillis )
+    {
+        return nowMillis - receivedMillis <= maxStalenessMillis;
+    }
+
+    /**
+     * @return a single figure for comparing the load of servers, where higher is busier.
+     */
+    public long score()
+    {
+        return boltSessions + queuedRequests;
+    }
+
+    String encode()
+    {
+        return format( "%d,%d,%d,%d", boltSessions, queuedRequests, lastTransactionId, timestampMillis );
+    }
+
+    static ServerLoad decode( String value )
+    {
+        String[] parts = value.split( "," );
+        if ( parts.length != 4 )
+        {
+            throw new IllegalArgumentException( "Not a server load: " + value );
+        }
+        return new ServerLoad( Long.parseLong( parts[0] ), Long.parseLong( parts[1] ), Long.parseLong( parts[2] ),
+                Long.parseLong( parts[3] ) );
+    }
+
+    /**
+     * Samples are equal if the published figures are, regardless of when they were received.
+     */
+    @Override
+    public boolean equals( Object o )
+    {
+        if ( this == o )
+        {
+            return true;
+        }
+        if ( o == null || getClass() != o.getClass() )
+        {
+            return false;
+        }
+        ServerLoad that = (ServerLoad) o;
+        return boltSessions == that.boltSessions && queuedRequests == that.queuedRequests &&
+               lastTransactionId == that.lastTransactionId && timestampMillis == that.timestampMillis;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash( boltSessions, queuedRequests, lastTransactionId, timestampMillis );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ServerLoad{" +
+               "boltSessions=" + boltSessions +
+               ", queuedRequests=" + queuedRequests +
+               ", lastTransactionId=" + lastTransactionId +
+               ", timestampMillis=" + timestampMillis +
+               ", receivedMillis=" + receivedMillis +
+               '}';
+    }
+}
@@ -19,12 +19,15 @@
  */
 package org.neo4j.causalclustering.discovery;
 
+import java.util.Map;
 import java.util.Optional;
 
 import org.neo4j.causalclustering.identity.MemberId;
 import org.neo4j.helpers.AdvertisedSocketAddress;
 import org.neo4j.kernel.lifecycle.Lifecycle;
 
+import static java.util.Collections.emptyMap;
+
 /**
  * Provides a read-only service for the eventually consistent topology information.
  */
@@ -35,4 +38,20 @@ public interface TopologyService extends Lifecycle
     ReadReplicaTopology readReplicas();
 
     Optional<AdvertisedSocketAddress> findCatchupAddress( MemberId upstream );
+
+    /**
+     * @return the latest load published by each member, which may be arbitrarily old.
+     */
+    default Map<MemberId,ServerLoad> serverLoads()
+    {
+        return emptyMap();
+    }
+
+    /**
+     * Publishes the load of this member to the other members. Implementations that cannot share load information
+     * ignore it.
+     */
+    default void publishServerLoad( ServerLoad load )
+    {
+    }
 }
@@ -25,12 +25,14 @@ import java.util.Set;
 import org.neo4j.causalclustering.core.CausalClusteringSettings;
 import org.neo4j.causalclustering.core.consensus.LeaderLocator;
 import org.neo4j.causalclustering.discovery.TopologyService;
+import org.neo4j.causalclustering.load_balancing.plugins.LoadAwareProcessor;
 import org.neo4j.causalclustering.load_balancing.plugins.ServerShufflingProcessor;
 import org.neo4j.graphdb.config.InvalidSettingException;
 import org.neo4j.helpers.Service;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.time.Clocks;
 
 /**
  * Loads and initialises any service implementations of <class>LoadBalancingPlugin</class>.
@@ -54,12 +56,18 @@ public class LoadBalancingPluginLoader
         LoadBalancingPlugin plugin = findPlugin( config );
         plugin.init( topologyService, leaderLocator, logProvider, config );
 
+        LoadBalancingProcessor processor = plugin;
         if ( config.get( CausalClusteringSettings.load_balancing_shuffle ) )
         {
-            return new ServerShufflingProcessor( plugin );
+            processor = new ServerShufflingProcessor( processor );
         }
 
-        return plugin;
+        if ( config.get( CausalClusteringSettings.load_balancing_load_aware ) )
+        {
+            processor = new LoadAwareProcessor( processor, topologyService, Clocks.systemClock(), config );
+        }
+
+        return processor;
     }
 
     private static LoadBalancingPlugin findPlugin( Config config ) throws InvalidSettingException
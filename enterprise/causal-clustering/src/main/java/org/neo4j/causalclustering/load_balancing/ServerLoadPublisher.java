@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.load_balancing;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.neo4j.bolt.v1.runtime.MonitoredWorkerFactory.SessionMonitor;
+import org.neo4j.causalclustering.catchup.storecopy.LocalDatabase;
+import org.neo4j.causalclustering.core.CausalClusteringSettings;
+import org.neo4j.causalclustering.discovery.ServerLoad;
+import org.neo4j.causalclustering.discovery.TopologyService;
+import org.neo4j.causalclustering.helper.RobustJobSchedulerWrapper;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.kernel.monitoring.Monitors;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.JobScheduler;
+
+import static java.lang.Math.max;
+
+/**
+ * Periodically publishes the load of this member through discovery, for load-aware routing. The Bolt sessions and
+ * requests are counted by listening to the Bolt {@link SessionMonitor}, and the id of the last applied transaction is
+ * supplied by the edition.
+ */
+public class ServerLoadPublisher extends LifecycleAdapter
+{
+    private final TopologyService topologyService;
+    private final Monitors monitors;
+    private final LongSupplier lastTransactionId;
+    private final Clock clock;
+    private final RobustJobSchedulerWrapper scheduler;
+    private final long publishIntervalMillis;
+    private final BoltLoadMonitor boltLoad = new BoltLoadMonitor();
+
+    private JobScheduler.JobHandle publishJob;
+
+    public ServerLoadPublisher( TopologyService topologyService, Monitors monitors, LongSupplier lastTransactionId,
+            Clock clock, JobScheduler scheduler, Config config, LogProvider logProvider )
+    {
+        this.topologyService = topologyService;
+        this.monitors = monitors;
+        this.lastTransactionId = lastTransactionId;
+        this.clock = clock;
+        this.scheduler = new RobustJobSchedulerWrapper( scheduler, logProvider.getLog( getClass() ) );
+        this.publishIntervalMillis = config.get( CausalClusteringSettings.load_balancing_load_publish_interval ).toMillis();
+    }
+
+    @Override
+    public void start()
+    {
+        monitors.addMonitorListener( boltLoad );
+        publishJob = scheduler.scheduleRecurring( "ServerLoadPublish", publishIntervalMillis, this::publish );
+    }
+
+    @Override
+    public void stop()
+    {
+        if ( publishJob != null )
+        {
+            publishJob.cancel( false );
+        }
+        monitors.removeMonitorListener( boltLoad );
+    }
+
+    /**
+     * @return the id of the last transaction closed by the local database, or 0 while it is not available, e.g. while
+     * a store copy is in progress.
+     */
+    public static LongSupplier lastClosedTransactionId( LocalDatabase localDatabase,
+            Supplier<TransactionIdStore> transactionIdStore )
+    {
+        return () -> localDatabase.isAvailable() ? transactionIdStore.get().getLastClosedTransactionId() : 0;
+    }
+
+    void publish()
+    {
+        topologyService.publishServerLoad( currentLoad() );
+    }
+
+    ServerLoad currentLoad()
+    {
+        return new ServerLoad( max( 0, boltLoad.sessions.get() ), max( 0, boltLoad.pendingRequests.get() ),
+                max( 0, lastTransactionId.getAsLong() ), clock.millis() );
+    }
+
+    SessionMonitor boltLoadMonitor()
+    {
+        return boltLoad;
+    }
+
+    private static class BoltLoadMonitor implements SessionMonitor
+    {
+        // Sessions started before this monitor was registered may still end while it is, so these can go negative.
+        final AtomicLong sessions = new AtomicLong();
+        final AtomicLong pendingRequests = new AtomicLong();
+
+        @Override
+        public void sessionStarted()
+        {
+            sessions.incrementAndGet();
+        }
+
+        @Override
+        public void sessionEnded()
+        {
+            sessions.decrementAndGet();
+        }
+
+        @Override
+        public void messageReceived()
+        {
+            pendingRequests.incrementAndGet();
+        }
+
+        @Override
+        public void processingStarted( long queueTime )
+        {
+        }
+
+        @Override
+        public void processingDone( long processingTime )
+        {
+            pendingRequests.decrementAndGet();
+        }
+    }
+}
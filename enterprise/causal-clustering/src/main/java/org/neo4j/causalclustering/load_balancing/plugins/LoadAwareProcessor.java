@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.load_balancing.plugins;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import org.neo4j.causalclustering.core.CausalClusteringSettings;
+import org.neo4j.causalclustering.discovery.DiscoveryServerInfo;
+import org.neo4j.causalclustering.discovery.ServerLoad;
+import org.neo4j.causalclustering.discovery.TopologyService;
+import org.neo4j.causalclustering.identity.MemberId;
+import org.neo4j.causalclustering.load_balancing.Endpoint;
+import org.neo4j.causalclustering.load_balancing.LoadBalancingProcessor;
+import org.neo4j.causalclustering.load_balancing.LoadBalancingResult;
+import org.neo4j.helpers.AdvertisedSocketAddress;
+import org.neo4j.kernel.api.exceptions.ProcedureException;
+import org.neo4j.kernel.configuration.Config;
+
+import static java.util.Comparator.comparingDouble;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Narrows down the read servers of the delegate using the load that the members publish through discovery,
+ * see {@link ServerLoad}. Servers that lag too far behind, and servers that are overloaded compared to the others,
+ * are excluded, unless that would exclude all of them. The remaining servers are ordered from least to most loaded,
+ * keeping the order of the delegate between servers with the same load.
+ * <p>
+ * Replication lag is measured in transactions, as how far the last transaction applied by a server is behind the
+ * highest one published by any member, cores and read replicas alike. Since samples are taken up to a publish interval
+ * apart, this overestimates the lag of a server by the transactions committed in between.
+ * <p>
+ * Servers that have not published their load recently enough, by the local time at which it was received, are
+ * treated as having an average load, and are never excluded. Write and route servers are left as they are.
+ */
+public class LoadAwareProcessor implements LoadBalancingProcessor
+{
+    /**
+     * The lowest average load that the overload ratio is applied to, so that a handful of sessions on an otherwise
+     * idle cluster does not make a server look overloaded.
+     */
+    private static final double MIN_AVERAGE_SCORE = 10;
+
+    private final LoadBalancingProcessor delegate;
+    private final TopologyService topologyService;
+    private final Clock clock;
+    private final long maxStalenessMillis;
+    private final Long maxReplicationLag;
+    private final double overloadRatio;
+
+    public LoadAwareProcessor( LoadBalancingProcessor delegate, TopologyService topologyService, Clock clock,
+            Config config )
+    {
+        this.delegate = delegate;
+        this.topologyService = topologyService;
+        this.clock = clock;
+        this.maxStalenessMillis = config.get( CausalClusteringSettings.load_balancing_load_max_staleness ).toMillis();
+        this.maxReplicationLag = config.get( CausalClusteringSettings.load_balancing_max_replication_lag );
+        this.overloadRatio = config.get( CausalClusteringSettings.load_balancing_overload_ratio );
+    }
+
+    @Override
+    public Result run( Map<String,String> context ) throws ProcedureException
+    {
+        Result result = delegate.run( context );
+
+        Map<AdvertisedSocketAddress,ServerLoad> loads = freshLoadsByBoltAddress();
+        if ( loads.isEmpty() )
+        {
+            return result;
+        }
+
+        long latestTransactionId = loads.values().stream().mapToLong( ServerLoad::lastTransactionId ).max().orElse( 0 );
+        List<Endpoint> readers = new ArrayList<>( result.readEndpoints() );
+        readers = retainIfAny( readers,
+                endpoint -> !isLagging( loads.get( endpoint.address() ), latestTransactionId ) );
+
+        double averageScore = readers.stream().map( endpoint -> loads.get( endpoint.address() ) )
+                .filter( Objects::nonNull ).mapToLong( ServerLoad::score ).average().orElse( 0 );
+        double maxScore = Math.max( averageScore, MIN_AVERAGE_SCORE ) * overloadRatio;
+        readers = retainIfAny( readers, endpoint -> score( loads, endpoint, averageScore ) <= maxScore );
+
+        readers.sort( comparingDouble( endpoint -> score( loads, endpoint, averageScore ) ) );
+
+        return new LoadBalancingResult( result.routeEndpoints(), result.writeEndpoints(), readers,
+                result.getTimeToLiveMillis() );
+    }
+
+    private Map<AdvertisedSocketAddress,ServerLoad> freshLoadsByBoltAddress()
+    {
+        Map<MemberId,ServerLoad> serverLoads = topologyService.serverLoads();
+        Map<AdvertisedSocketAddress,ServerLoad> loads = new HashMap<>();
+        if ( serverLoads.isEmpty() )
+        {
+            return loads;
+        }
+
+        long now = clock.millis();
+        Map<MemberId,DiscoveryServerInfo> members = new HashMap<>();
+        members.putAll( topologyService.coreServers().members() );
+        members.putAll( topologyService.readReplicas().members() );
+        serverLoads.forEach( ( memberId, load ) ->
+        {
+            DiscoveryServerInfo info = members.get( memberId );
+            if ( info != null && load.isFresh( now, maxStalenessMillis ) )
+            {
+                loads.put( info.connectors().boltAddress(), load );
+            }
+        } );
+        return loads;
+    }
+
+    private boolean isLagging( ServerLoad load, long latestTransactionId )
+    {
+        return load != null && maxReplicationLag != null &&
+               latestTransactionId - load.lastTransactionId() > maxReplicationLag;
+    }
+
+    private static double score( Map<AdvertisedSocketAddress,ServerLoad> loads, Endpoint endpoint, double unknown )
+    {
+        ServerLoad load = loads.get( endpoint.address() );
+        return load == null ? unknown : load.score();
+    }
+
+    private static List<Endpoint> retainIfAny( List<Endpoint> endpoints, Predicate<Endpoint> predicate )
+    {
+        List<Endpoint> retained = endpoints.stream().filter( predicate ).collect( toList() );
+        return retained.isEmpty() ? endpoints : retained;
+    }
+
+    public LoadBalancingProcessor delegate()
+    {
+        return delegate;
+    }
+}
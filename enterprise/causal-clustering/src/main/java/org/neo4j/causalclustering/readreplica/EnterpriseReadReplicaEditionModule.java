@@ -53,6 +53,7 @@ import org.neo4j.causalclustering.handlers.PipelineHandlerAppender;
 import org.neo4j.causalclustering.handlers.PipelineHandlerAppenderFactory;
 import org.neo4j.causalclustering.helper.ExponentialBackoffStrategy;
 import org.neo4j.causalclustering.identity.MemberId;
+import org.neo4j.causalclustering.load_balancing.ServerLoadPublisher;
 import org.neo4j.com.storecopy.StoreUtil;
 import org.neo4j.function.Predicates;
 import org.neo4j.graphdb.DependencyResolver;
@@ -287,6 +288,13 @@ public class EnterpriseReadReplicaEditionModule extends EditionModule
         life.add( new ReadReplicaStartupProcess( remoteStore, localDatabase, txPulling, upstreamDatabaseStrategySelector, retryStrategy, logProvider,
                 platformModule.logging.getUserLogProvider(), storeCopyProcess, topologyService ) );
 
+        if ( config.get( CausalClusteringSettings.load_balancing_load_aware ) )
+        {
+            life.add( new ServerLoadPublisher( topologyService, monitors, ServerLoadPublisher.lastClosedTransactionId(
+                    localDatabase, dependencies.provideDependency( TransactionIdStore.class ) ),
+                    Clocks.systemClock(), platformModule.jobScheduler, config, logProvider ) );
+        }
+
         CatchupServer catchupServer =
                 new CatchupServer( platformModule.logging.getInternalLogProvider(), platformModule.logging.getUserLogProvider(), localDatabase::storeId,
                         platformModule.dependencies.provideDependency( TransactionIdStore.class ),
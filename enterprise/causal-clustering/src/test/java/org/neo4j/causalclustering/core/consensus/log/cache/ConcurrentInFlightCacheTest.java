@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.core.consensus.log.cache;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.causalclustering.core.consensus.log.RaftLogEntry;
+import org.neo4j.causalclustering.core.state.machines.dummy.DummyRequest;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentInFlightCacheTest
+{
+    @Test
+    public void shouldTrackUsedMemory() throws Exception
+    {
+        int capacity = 4;
+        ConcurrentInFlightCache cache = new ConcurrentInFlightCache( capacity, 1000, InFlightCacheMonitor.VOID, true );
+
+        for ( int i = 0; i < capacity; i++ )
+        {
+            // when
+            cache.put( i, content( 100 ) );
+
+            // then
+            assertEquals( (i + 1) * 100, cache.totalBytes() );
+        }
+
+        // when
+        cache.put( capacity, content( 100 ) );
+
+        // then
+        assertEquals( capacity, cache.elementCount() );
+        assertEquals( capacity * 100, cache.totalBytes() );
+
+        // when
+        cache.put( capacity + 1, content( 500 ) );
+        assertEquals( capacity, cache.elementCount() );
+        assertEquals( 800, cache.totalBytes() );
+
+        // when
+        cache.put( capacity + 2, content( 500 ) );
+        assertEquals( 2, cache.elementCount() );
+        assertEquals( 1000, cache.totalBytes() );
+    }
+
+    @Test
+    public void shouldReturnLatestItems() throws Exception
+    {
+        // given
+        int capacity = 4;
+        ConcurrentInFlightCache cache = new ConcurrentInFlightCache( capacity, 1000, InFlightCacheMonitor.VOID, true );
+
+        // when
+        for ( int i = 0; i < 3 * capacity; i++ )
+        {
+            cache.put( i, content( i ) );
+        }
+
+        // then
+        for ( int i = 0; i < 3 * capacity; i++ )
+        {
+            if ( i < 2 * capacity )
+            {
+                assertEquals( null, cache.get( i ) );
+            }
+            else
+            {
+                assertEquals( i, cache.get( i ).content().size() );
+            }
+        }
+    }
+
+    @Test
+    public void shouldRemovePrunedItems() throws Exception
+    {
+        // given
+        int capacity = 20;
+        ConcurrentInFlightCache cache = new ConcurrentInFlightCache( capacity, 1000, InFlightCacheMonitor.VOID, true );
+
+        for ( int i = 0; i < capacity; i++ )
+        {
+            cache.put( i, content( i ) );
+        }
+
+        // when
+        int upToIndex = capacity / 2 - 1;
+        cache.prune( upToIndex );
+
+        // then
+        assertEquals( capacity / 2, cache.elementCount() );
+
+        for ( int i = 0; i < capacity; i++ )
+        {
+            if ( i <= upToIndex )
+            {
+                assertEquals( null, cache.get( i ) );
+            }
+            else
+            {
+                assertEquals( i, cache.get( i ).content().size() );
+            }
+        }
+    }
+
+    @Test
+    public void shouldRemoveTruncatedItems() throws Exception
+    {
+        // given
+        int capacity = 20;
+        ConcurrentInFlightCache cache = new ConcurrentInFlightCache( capacity, 1000, InFlightCacheMonitor.VOID, true );
+
+        for ( int i = 0; i < capacity; i++ )
+        {
+            cache.put( i, content( i ) );
+        }
+
+        // when
+        int fromIndex = capacity / 2;
+        cache.truncate( fromIndex );
+
+        // then
+        assertEquals( fromIndex, cache.elementCount() );
+        assertEquals( (fromIndex * (fromIndex - 1)) / 2, cache.totalBytes() );
+
+        for ( int i = fromIndex; i < capacity; i++ )
+        {
+            assertEquals( null, cache.get( i ) );
+        }
+    }
+
+    @Test
+    public void shouldNotReturnReplacedItemsAfterTruncation() throws Exception
+    {
+        // given
+        ConcurrentInFlightCache cache = new ConcurrentInFlightCache( 4, 1000, InFlightCacheMonitor.VOID, true );
+        cache.put( 0, content( 1 ) );
+        cache.put( 1, content( 2 ) );
+
+        // when
+        cache.truncate( 1 );
+        cache.put( 1, content( 3 ) );
+
+        // then
+        assertEquals( 2, cache.elementCount() );
+        assertEquals( 4, cache.totalBytes() );
+        assertEquals( 3, cache.get( 1 ).content().size() );
+    }
+
+    @Test
+    public void shouldStartOverOnNonConsecutiveItems() throws Exception
+    {
+        // given
+        ConcurrentInFlightCache cache = new ConcurrentInFlightCache( 4, 1000, InFlightCacheMonitor.VOID, true );
+        cache.put( 0, content( 1 ) );
+        cache.put( 1, content( 2 ) );
+
+        // when
+        cache.put( 10, content( 3 ) );
+
+        // then
+        assertEquals( 1, cache.elementCount() );
+        assertEquals( 3, cache.totalBytes() );
+        assertNull( cache.get( 0 ) );
+        assertNull( cache.get( 1 ) );
+        assertEquals( 3, cache.get( 10 ).content().size() );
+    }
+
+    @Test
+    public void readersShouldOnlySeeEntriesOfTheRequestedIndex() throws Exception
+    {
+        // given
+        int capacity = 16;
+        ConcurrentInFlightCache cache = new ConcurrentInFlightCache( capacity, Long.MAX_VALUE, InFlightCacheMonitor.VOID, true );
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+
+        try
+        {
+            Future<?> reader = executor.submit( () ->
+            {
+                long index = 0;
+                while ( !done.get() )
+                {
+                    RaftLogEntry entry = cache.get( index );
+                    // every entry has its log index as its size, to tell it apart from the entries sharing its slot
+                    assertTrue( entry == null || entry.content().size() == index );
+                    index = (index + 1) % (capacity * 64);
+                }
+            } );
+
+            // when
+            for ( int round = 0; round < 100; round++ )
+            {
+                for ( int i = 0; i < capacity * 64; i++ )
+                {
+                    cache.put( i, content( i ) );
+                }
+                cache.truncate( 0 );
+            }
+            done.set( true );
+
+            // then
+            reader.get( 10, SECONDS );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private RaftLogEntry content( int size )
+    {
+        return new RaftLogEntry( 0, new DummyRequest( new byte[size] ) );
+    }
+}
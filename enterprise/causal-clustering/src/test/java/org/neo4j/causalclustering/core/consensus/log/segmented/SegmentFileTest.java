@@ -49,6 +49,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.neo4j.causalclustering.core.consensus.ReplicatedString.valueOf;
 import static org.neo4j.causalclustering.core.consensus.log.segmented.SegmentFile.create;
+import static org.neo4j.kernel.impl.transaction.log.ReadAheadChannel.DEFAULT_READ_AHEAD_SIZE;
 
 public class SegmentFileTest
 {
@@ -283,6 +284,7 @@ public class SegmentFileTest
         when( channel.read( any( ByteBuffer.class ) ) ).thenThrow( new IOException() );
         when( reader.channel() ).thenReturn( channel );
         when( readerPool.acquire( anyLong(), anyLong() ) ).thenReturn( reader );
+        when( readerPool.readAheadSize() ).thenReturn( DEFAULT_READ_AHEAD_SIZE );
 
         try ( SegmentFile segment = create( fsRule.get(), fileNames.getForVersion( 0 ), readerPool, 0, contentMarshal,
                 logProvider, segmentHeader ) )
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.junit.Rule;
@@ -34,12 +35,17 @@ import org.neo4j.causalclustering.core.replication.DirectReplicator;
 import org.neo4j.causalclustering.core.state.storage.InMemoryStateStorage;
 import org.neo4j.causalclustering.identity.MemberId;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.impl.store.id.IdRange;
 import org.neo4j.kernel.impl.store.id.IdType;
+import org.neo4j.kernel.monitoring.Monitors;
 import org.neo4j.logging.NullLogProvider;
 import org.neo4j.test.rule.TestDirectory;
 import org.neo4j.test.rule.fs.DefaultFileSystemRule;
 import org.neo4j.test.rule.fs.FileSystemRule;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class ReplicatedIdRangeAcquirerTest
@@ -74,6 +80,40 @@ public class ReplicatedIdRangeAcquirerTest
         consecutiveAllocationFromSeparateIdGeneratorsForSameIdTypeShouldNotDuplicateForGivenInitialHighId( 1 );
     }
 
+    @Test
+    public void shouldGrowRangeWhenIdsAreConsumedQuicklyAndShrinkWhenIdle() throws Exception
+    {
+        // given
+        FakeClock clock = Clocks.fakeClock();
+        Map<IdType,Integer> allocationSizes =
+                Arrays.stream( IdType.values() ).collect( Collectors.toMap( idType -> idType, idType -> 8 ) );
+        ReplicatedIdRangeAcquirer acquirer = new ReplicatedIdRangeAcquirer( replicator, idAllocationStateMachine,
+                allocationSizes, 4, clock, new Monitors(), memberA, NullLogProvider.getInstance() );
+
+        // when ranges are used up faster than the target lifetime
+        assertEquals( 8, rangeLength( acquirer ) );
+        clock.forward( 10, TimeUnit.MILLISECONDS );
+        assertEquals( 16, rangeLength( acquirer ) );
+        clock.forward( 10, TimeUnit.MILLISECONDS );
+        assertEquals( 32, rangeLength( acquirer ) );
+        clock.forward( 10, TimeUnit.MILLISECONDS );
+
+        // then growth is capped
+        assertEquals( 32, rangeLength( acquirer ) );
+
+        // when the last range lasted well beyond the target lifetime
+        clock.forward( 1, TimeUnit.MINUTES );
+
+        // then the range shrinks back towards the configured size
+        assertEquals( 16, rangeLength( acquirer ) );
+    }
+
+    private static int rangeLength( ReplicatedIdRangeAcquirer acquirer )
+    {
+        IdRange range = acquirer.acquireIds( IdType.NODE ).getIdRange();
+        return range.getRangeLength();
+    }
+
     private void consecutiveAllocationFromSeparateIdGeneratorsForSameIdTypeShouldNotDuplicateForGivenInitialHighId(
             long initialHighId ) throws Exception
     {
@@ -21,8 +21,21 @@ package org.neo4j.causalclustering.core.state.machines.tx;
 
 import org.junit.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.neo4j.causalclustering.core.state.Result;
 import org.neo4j.causalclustering.core.state.machines.id.CommandIndexTracker;
 import org.neo4j.causalclustering.core.state.machines.locks.ReplicatedLockTokenRequest;
 import org.neo4j.causalclustering.core.state.machines.locks.ReplicatedLockTokenStateMachine;
@@ -32,19 +45,33 @@ import org.neo4j.io.pagecache.tracing.cursor.context.EmptyVersionContextSupplier
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.impl.api.TransactionCommitProcess;
+import org.neo4j.kernel.impl.api.TransactionRepresentationCommitProcess;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.locking.Locks;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.transaction.command.Command;
 import org.neo4j.kernel.impl.transaction.log.FakeCommitment;
 import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
 import org.neo4j.kernel.impl.transaction.log.TransactionIdStore;
 import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
+import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
 import org.neo4j.logging.NullLogProvider;
+import org.neo4j.storageengine.api.CommandsToApply;
+import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.neo4j.causalclustering.core.state.machines.tx.LogIndexTxHeaderEncoding.decodeLogIndexFromTxHeader;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -165,6 +192,171 @@ public class ReplicatedTransactionStateMachineTest
         assertTrue( called.get() );
     }
 
+    @Test
+    public void shouldCommitTransactionsInLogOrderWhenDecodingInParallel() throws Exception
+    {
+        // given
+        int lockSessionId = 23;
+        ReplicatedTransaction tx = ReplicatedTransactionFactory.
+                createImmutableReplicatedTransaction( physicalTx( lockSessionId ) );
+
+        List<Long> committedLogIndexes = new ArrayList<>();
+        TransactionCommitProcess localCommitProcess = mock( TransactionCommitProcess.class );
+        when( localCommitProcess.commit(
+                any( TransactionToApply.class), any( CommitEvent.class ), any( TransactionApplicationMode.class ) )
+        ).thenAnswer( invocation ->
+        {
+            TransactionToApply txToApply = (TransactionToApply) invocation.getArguments()[0];
+            for ( ; txToApply != null; txToApply = txToApply.next() )
+            {
+                committedLogIndexes.add(
+                        decodeLogIndexFromTxHeader( txToApply.transactionRepresentation().additionalHeader() ) );
+            }
+            return 0L;
+        } );
+
+        ExecutorService decoder = Executors.newFixedThreadPool( 4 );
+        try
+        {
+            ReplicatedTransactionStateMachine stateMachine = new ReplicatedTransactionStateMachine(
+                    commandIndexTracker, lockState( lockSessionId ), batchSize, logProvider,
+                    PageCursorTracerSupplier.NULL, EmptyVersionContextSupplier.EMPTY, decoder, Runnable::run, 1 );
+            stateMachine.installCommitProcess( localCommitProcess, -1L );
+
+            // when
+            int transactions = batchSize * 3 + 5;
+            for ( int logIndex = 0; logIndex < transactions; logIndex++ )
+            {
+                stateMachine.applyCommand( tx, logIndex, r -> {} );
+            }
+            stateMachine.ensuredApplied();
+
+            // then
+            assertEquals( transactions, committedLogIndexes.size() );
+            for ( int logIndex = 0; logIndex < transactions; logIndex++ )
+            {
+                assertEquals( logIndex, (long) committedLogIndexes.get( logIndex ) );
+            }
+        }
+        finally
+        {
+            decoder.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldApplyNonConflictingTransactionsConcurrentlyAndConflictingOnesInLogOrder() throws Exception
+    {
+        // given transactions on nodes 1, 2, 1 and 3, where applying the one on node 2 waits for the one on node 3
+        int lockSessionId = 23;
+        long[] nodes = {1, 2, 1, 3};
+        CountDownLatch nodeThreeApplied = new CountDownLatch( 1 );
+        AtomicBoolean concurrentlyAppliedWhileBlocked = new AtomicBoolean();
+        RecordingStorage storage = new RecordingStorage( nodes, logIndex ->
+        {
+            if ( logIndex == 1 )
+            {
+                concurrentlyAppliedWhileBlocked.set( nodeThreeApplied.await( 10, SECONDS ) );
+            }
+            else if ( logIndex == 3 )
+            {
+                nodeThreeApplied.countDown();
+            }
+        } );
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try
+        {
+            ReplicatedTransactionStateMachine stateMachine = new ReplicatedTransactionStateMachine(
+                    commandIndexTracker, lockState( lockSessionId ), 1, logProvider,
+                    PageCursorTracerSupplier.NULL, EmptyVersionContextSupplier.EMPTY, executor, executor, 4 );
+            stateMachine.installCommitProcess( storage.commitProcess(), -1L );
+
+            // when
+            List<Long> committedTxIds = new CopyOnWriteArrayList<>();
+            for ( int logIndex = 0; logIndex < nodes.length; logIndex++ )
+            {
+                stateMachine.applyCommand( nodeTx( nodes[logIndex], lockSessionId ), logIndex,
+                        result -> committedTxIds.add( consume( result ) ) );
+            }
+            stateMachine.ensuredApplied();
+
+            // then
+            assertTrue( "transaction on node 3 should be applied while the one on node 2 is",
+                    concurrentlyAppliedWhileBlocked.get() );
+            assertEquals( asList( 0L, 1L, 2L, 3L ), storage.appendedLogIndexes );
+            assertEquals( asList( 0L, 2L ), storage.appliedLogIndexes( 1 ) );
+            assertFalse( storage.conflictingAppliesOverlapped.get() );
+            assertEquals( nodes.length, committedTxIds.size() );
+            verify( commandIndexTracker ).setAppliedCommandIndex( 3L );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldApplyRandomlyConflictingBatchesInLogOrderPerEntity() throws Exception
+    {
+        // given
+        int lockSessionId = 23;
+        Random random = new Random();
+        long[] nodes = new long[500];
+        for ( int i = 0; i < nodes.length; i++ )
+        {
+            nodes[i] = random.nextInt( 20 );
+        }
+        RecordingStorage storage = new RecordingStorage( nodes, logIndex ->
+        {
+            if ( random.nextInt( 10 ) == 0 )
+            {
+                Thread.sleep( 1 );
+            }
+        } );
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try
+        {
+            ReplicatedTransactionStateMachine stateMachine = new ReplicatedTransactionStateMachine(
+                    commandIndexTracker, lockState( lockSessionId ), 3, logProvider,
+                    PageCursorTracerSupplier.NULL, EmptyVersionContextSupplier.EMPTY, executor, executor, 4 );
+            stateMachine.installCommitProcess( storage.commitProcess(), -1L );
+
+            // when
+            for ( int logIndex = 0; logIndex < nodes.length; logIndex++ )
+            {
+                stateMachine.applyCommand( nodeTx( nodes[logIndex], lockSessionId ), logIndex, r -> {} );
+            }
+            stateMachine.ensuredApplied();
+
+            // then
+            assertEquals( nodes.length, storage.appendedLogIndexes.size() );
+            for ( int logIndex = 0; logIndex < nodes.length; logIndex++ )
+            {
+                assertEquals( logIndex, (long) storage.appendedLogIndexes.get( logIndex ) );
+            }
+            for ( int node = 0; node < 20; node++ )
+            {
+                List<Long> expected = new ArrayList<>();
+                for ( int logIndex = 0; logIndex < nodes.length; logIndex++ )
+                {
+                    if ( nodes[logIndex] == node )
+                    {
+                        expected.add( (long) logIndex );
+                    }
+                }
+                assertEquals( expected, storage.appliedLogIndexes( node ) );
+            }
+            assertFalse( storage.conflictingAppliesOverlapped.get() );
+            verify( commandIndexTracker ).setAppliedCommandIndex( nodes.length - 1 );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
     private TransactionCommitProcess createFakeTransactionCommitProcess( long txId ) throws TransactionFailureException
     {
         TransactionCommitProcess localCommitProcess = mock( TransactionCommitProcess.class );
@@ -189,6 +381,109 @@ public class ReplicatedTransactionStateMachineTest
         return physicalTx;
     }
 
+    private static ReplicatedTransaction nodeTx( long nodeId, int lockSessionId ) throws IOException
+    {
+        NodeRecord before = new NodeRecord( nodeId ).initialize( false, -1, false, -1, 0 );
+        NodeRecord after = new NodeRecord( nodeId ).initialize( true, -1, false, -1, 0 );
+        PhysicalTransactionRepresentation physicalTx =
+                new PhysicalTransactionRepresentation( singletonList( new Command.NodeCommand( before, after ) ) );
+        physicalTx.setHeader( new byte[0], 0, 0, 0, 0, 0, lockSessionId );
+        return ReplicatedTransactionFactory.createImmutableReplicatedTransaction( physicalTx );
+    }
+
+    private static long consume( Result result )
+    {
+        try
+        {
+            return (long) result.consume();
+        }
+        catch ( Exception e )
+        {
+            throw new RuntimeException( e );
+        }
+    }
+
+    private interface ApplyHook
+    {
+        void applying( long logIndex ) throws Exception;
+    }
+
+    /**
+     * Backs a real {@link TransactionRepresentationCommitProcess}, recording the order transactions are appended and,
+     * per node, applied in, as well as whether transactions on the same node were ever applied concurrently.
+     */
+    private static class RecordingStorage
+    {
+        private final long[] nodes;
+        private final ApplyHook hook;
+        private final List<Long> appendedLogIndexes = new CopyOnWriteArrayList<>();
+        private final Map<Long,List<Long>> appliedLogIndexes = new ConcurrentHashMap<>();
+        private final Set<Long> applying = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean conflictingAppliesOverlapped = new AtomicBoolean();
+        private final AtomicLong nextTxId = new AtomicLong( 1 );
+
+        RecordingStorage( long[] nodes, ApplyHook hook )
+        {
+            this.nodes = nodes;
+            this.hook = hook;
+        }
+
+        List<Long> appliedLogIndexes( long node )
+        {
+            return appliedLogIndexes.getOrDefault( node, emptyList() );
+        }
+
+        TransactionCommitProcess commitProcess() throws Exception
+        {
+            TransactionAppender appender = mock( TransactionAppender.class );
+            when( appender.append( any( TransactionToApply.class ), any( LogAppendEvent.class ) ) ).thenAnswer(
+                    invocation ->
+                    {
+                        long txId = -1;
+                        TransactionToApply tx = (TransactionToApply) invocation.getArguments()[0];
+                        for ( ; tx != null; tx = tx.next() )
+                        {
+                            appendedLogIndexes.add( logIndex( tx ) );
+                            txId = nextTxId.getAndIncrement();
+                            tx.commitment( new FakeCommitment( txId, mock( TransactionIdStore.class ) ), txId );
+                        }
+                        return txId;
+                    } );
+
+            StorageEngine storageEngine = mock( StorageEngine.class );
+            doAnswer( invocation ->
+            {
+                TransactionToApply batch = (TransactionToApply) invocation.getArguments()[0];
+                for ( TransactionToApply tx = batch; tx != null; tx = tx.next() )
+                {
+                    long logIndex = logIndex( tx );
+                    long node = nodes[(int) logIndex];
+                    if ( !applying.add( node ) )
+                    {
+                        conflictingAppliesOverlapped.set( true );
+                    }
+                    try
+                    {
+                        hook.applying( logIndex );
+                        appliedLogIndexes.computeIfAbsent( node, n -> new CopyOnWriteArrayList<>() ).add( logIndex );
+                    }
+                    finally
+                    {
+                        applying.remove( node );
+                    }
+                }
+                return null;
+            } ).when( storageEngine ).apply( any( CommandsToApply.class ), any( TransactionApplicationMode.class ) );
+
+            return new TransactionRepresentationCommitProcess( appender, storageEngine );
+        }
+
+        private static long logIndex( TransactionToApply tx )
+        {
+            return decodeLogIndexFromTxHeader( tx.transactionRepresentation().additionalHeader() );
+        }
+    }
+
     private  ReplicatedLockTokenStateMachine lockState( int lockSessionId )
     {
         @SuppressWarnings( "unchecked" )
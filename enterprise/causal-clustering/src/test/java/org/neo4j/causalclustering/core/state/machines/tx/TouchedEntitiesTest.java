@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.core.state.machines.tx;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import org.neo4j.kernel.impl.store.record.LabelTokenRecord;
+import org.neo4j.kernel.impl.store.record.NodeRecord;
+import org.neo4j.kernel.impl.store.record.PropertyRecord;
+import org.neo4j.kernel.impl.transaction.command.Command;
+import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
+import org.neo4j.storageengine.api.StorageCommand;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TouchedEntitiesTest
+{
+    @Test
+    public void shouldConflictOnSameNodeOnly() throws Exception
+    {
+        TouchedEntities first = TouchedEntities.of( tx( nodeCommand( 1 ) ) );
+        TouchedEntities second = TouchedEntities.of( tx( nodeCommand( 2 ) ) );
+        TouchedEntities third = TouchedEntities.of( tx( nodeCommand( 1 ) ) );
+
+        assertFalse( first.conflictsWith( second ) );
+        assertTrue( first.conflictsWith( third ) );
+    }
+
+    @Test
+    public void shouldConflictOnPropertyOwner() throws Exception
+    {
+        TouchedEntities node = TouchedEntities.of( tx( nodeCommand( 5 ) ) );
+        TouchedEntities property = TouchedEntities.of( tx( propertyCommand( 10, 5 ) ) );
+        TouchedEntities otherProperty = TouchedEntities.of( tx( propertyCommand( 11, 6 ) ) );
+
+        assertTrue( node.conflictsWith( property ) );
+        assertFalse( node.conflictsWith( otherProperty ) );
+        assertFalse( property.conflictsWith( otherProperty ) );
+    }
+
+    @Test
+    public void shouldConflictWithEverythingWhenChangingTokens() throws Exception
+    {
+        TouchedEntities token = TouchedEntities.of( tx( nodeCommand( 1 ),
+                new Command.LabelTokenCommand( new LabelTokenRecord( 1 ), new LabelTokenRecord( 1 ) ) ) );
+        TouchedEntities node = TouchedEntities.of( tx( nodeCommand( 2 ) ) );
+
+        assertTrue( token.isExclusive() );
+        assertTrue( token.conflictsWith( node ) );
+        assertTrue( node.conflictsWith( token ) );
+    }
+
+    @Test
+    public void shouldConflictWithAnyPartOfBatch() throws Exception
+    {
+        TouchedEntities batch = new TouchedEntities();
+        batch.addAll( TouchedEntities.of( tx( nodeCommand( 1 ) ) ) );
+        batch.addAll( TouchedEntities.of( tx( nodeCommand( 2 ) ) ) );
+
+        assertTrue( batch.conflictsWith( TouchedEntities.of( tx( nodeCommand( 2 ) ) ) ) );
+        assertFalse( batch.conflictsWith( TouchedEntities.of( tx( nodeCommand( 3 ) ) ) ) );
+    }
+
+    private static PhysicalTransactionRepresentation tx( StorageCommand... commands )
+    {
+        return new PhysicalTransactionRepresentation( Arrays.asList( commands ) );
+    }
+
+    private static Command.NodeCommand nodeCommand( long nodeId )
+    {
+        return new Command.NodeCommand( new NodeRecord( nodeId ).initialize( false, -1, false, -1, 0 ),
+                new NodeRecord( nodeId ).initialize( true, -1, false, -1, 0 ) );
+    }
+
+    private static Command.PropertyCommand propertyCommand( long propertyId, long nodeId )
+    {
+        PropertyRecord before = new PropertyRecord( propertyId );
+        PropertyRecord after = new PropertyRecord( propertyId );
+        after.setInUse( true );
+        after.setNodeId( nodeId );
+        return new Command.PropertyCommand( before, after );
+    }
+}
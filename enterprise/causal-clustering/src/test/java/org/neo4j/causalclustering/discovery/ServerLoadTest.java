@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.discovery;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ServerLoadTest
+{
+    @Test
+    public void shouldEncodeAndDecode()
+    {
+        ServerLoad load = new ServerLoad( 3, 2, 42, 1234 );
+
+        assertEquals( load, ServerLoad.decode( load.encode() ) );
+    }
+
+    @Test
+    public void shouldKeepTimeOfFirstReceiptOfSameSample()
+    {
+        // given a sample timestamped by a publishing member whose clock is far behind
+        ServerLoad first = new ServerLoad( 3, 2, 42, 10 ).receivedAt( 100_000, null );
+
+        // when the same sample is seen again later
+        ServerLoad again = ServerLoad.decode( first.encode() ).receivedAt( 150_000, first );
+
+        // then
+        assertSame( first, again );
+        assertEquals( 100_000, again.receivedMillis() );
+        assertTrue( again.isFresh( 130_000, 30_000 ) );
+        assertFalse( again.isFresh( 130_001, 30_000 ) );
+    }
+
+    @Test
+    public void shouldTakeTimeOfReceiptOfNewSample()
+    {
+        // given
+        ServerLoad first = new ServerLoad( 3, 2, 42, 10 ).receivedAt( 100_000, null );
+
+        // when
+        ServerLoad next = new ServerLoad( 1, 0, 50, 20 ).receivedAt( 150_000, first );
+
+        // then
+        assertEquals( 150_000, next.receivedMillis() );
+        assertEquals( 20, next.timestampMillis() );
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.load_balancing;
+
+import org.junit.Test;
+
+import org.neo4j.bolt.v1.runtime.MonitoredWorkerFactory.SessionMonitor;
+import org.neo4j.causalclustering.discovery.ServerLoad;
+import org.neo4j.causalclustering.discovery.TopologyService;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.kernel.monitoring.Monitors;
+import org.neo4j.logging.NullLogProvider;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ServerLoadPublisherTest
+{
+    @Test
+    public void shouldPublishBoltLoadAndLastTransactionId()
+    {
+        // given
+        FakeClock clock = Clocks.fakeClock();
+        TopologyService topologyService = mock( TopologyService.class );
+        ServerLoadPublisher publisher = new ServerLoadPublisher( topologyService, new Monitors(), () -> 42, clock,
+                mock( JobScheduler.class ), Config.defaults(), NullLogProvider.getInstance() );
+        SessionMonitor monitor = publisher.boltLoadMonitor();
+
+        // when
+        monitor.sessionStarted();
+        monitor.sessionStarted();
+        monitor.sessionStarted();
+        monitor.sessionEnded();
+        monitor.messageReceived();
+        monitor.messageReceived();
+        monitor.processingStarted( 0 );
+        monitor.processingDone( 0 );
+        publisher.publish();
+
+        // then
+        verify( topologyService ).publishServerLoad( new ServerLoad( 2, 1, 42, clock.millis() ) );
+    }
+
+    @Test
+    public void shouldNotPublishNegativeFigures()
+    {
+        // given
+        FakeClock clock = Clocks.fakeClock();
+        ServerLoadPublisher publisher = new ServerLoadPublisher( mock( TopologyService.class ), new Monitors(),
+                () -> -1, clock, mock( JobScheduler.class ), Config.defaults(), NullLogProvider.getInstance() );
+
+        // when a session that was started before the publisher ends
+        publisher.boltLoadMonitor().sessionEnded();
+
+        // then
+        assertEquals( new ServerLoad( 0, 0, 0, clock.millis() ), publisher.currentLoad() );
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.causalclustering.load_balancing.plugins;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.neo4j.causalclustering.discovery.CoreTopology;
+import org.neo4j.causalclustering.discovery.ReadReplicaInfo;
+import org.neo4j.causalclustering.discovery.ReadReplicaTopology;
+import org.neo4j.causalclustering.discovery.ServerLoad;
+import org.neo4j.causalclustering.discovery.TopologyService;
+import org.neo4j.causalclustering.identity.MemberId;
+import org.neo4j.causalclustering.load_balancing.Endpoint;
+import org.neo4j.causalclustering.load_balancing.LoadBalancingPlugin;
+import org.neo4j.causalclustering.load_balancing.LoadBalancingProcessor;
+import org.neo4j.causalclustering.load_balancing.LoadBalancingResult;
+import org.neo4j.helpers.AdvertisedSocketAddress;
+import org.neo4j.kernel.configuration.Config;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.causalclustering.core.CausalClusteringSettings.load_balancing_load_max_staleness;
+import static org.neo4j.causalclustering.core.CausalClusteringSettings.load_balancing_max_replication_lag;
+import static org.neo4j.causalclustering.discovery.TestTopology.adressesForCore;
+import static org.neo4j.causalclustering.discovery.TestTopology.addressesForReadReplica;
+import static org.neo4j.helpers.collection.MapUtil.stringMap;
+
+public class LoadAwareProcessorTest
+{
+    private static final int REPLICAS = 4;
+
+    private final FakeClock clock = Clocks.fakeClock();
+    private final TopologyService topologyService = mock( TopologyService.class );
+    private final Map<MemberId,ServerLoad> loads = new HashMap<>();
+    private final List<MemberId> members = new ArrayList<>();
+    private final MemberId leader = new MemberId( UUID.randomUUID() );
+    private final List<Endpoint> readers = new ArrayList<>();
+    private final List<Endpoint> writers =
+            Collections.singletonList( Endpoint.write( new AdvertisedSocketAddress( "leader", 1 ) ) );
+    private LoadBalancingProcessor delegate;
+
+    @Before
+    public void setup() throws Exception
+    {
+        Map<MemberId,ReadReplicaInfo> replicas = new HashMap<>();
+        for ( int i = 0; i < REPLICAS; i++ )
+        {
+            MemberId memberId = new MemberId( UUID.randomUUID() );
+            ReadReplicaInfo info = addressesForReadReplica( i );
+            members.add( memberId );
+            replicas.put( memberId, info );
+            readers.add( Endpoint.read( info.connectors().boltAddress() ) );
+        }
+
+        when( topologyService.coreServers() ).thenReturn(
+                new CoreTopology( null, false, Collections.singletonMap( leader, adressesForCore( 0 ) ) ) );
+        when( topologyService.readReplicas() ).thenReturn( new ReadReplicaTopology( replicas ) );
+        when( topologyService.serverLoads() ).thenReturn( loads );
+
+        delegate = mock( LoadBalancingPlugin.class );
+        when( delegate.run( any() ) ).thenAnswer( invocation -> new LoadBalancingResult(
+                new ArrayList<>(), new ArrayList<>( writers ), new ArrayList<>( readers ), 1000 ) );
+    }
+
+    @Test
+    public void shouldOrderReadersByLoadAndExcludeOverloadedOnes() throws Exception
+    {
+        // given
+        publishLoad( 0, 30, 0 );
+        publishLoad( 1, 5, 0 );
+        publishLoad( 2, 200, 0 );
+        publishLoad( 3, 10, 0 );
+
+        // when
+        LoadBalancingProcessor.Result result = processor( Config.defaults() ).run( Collections.emptyMap() );
+
+        // then
+        assertEquals( asList( readers.get( 1 ), readers.get( 3 ), readers.get( 0 ) ), result.readEndpoints() );
+        assertEquals( writers, result.writeEndpoints() );
+    }
+
+    @Test
+    public void shouldExcludeReadersLaggingBehindTheMostUpToDateMember() throws Exception
+    {
+        // given
+        publishLoad( 0, 0, 950 );
+        publishLoad( 1, 0, 850 );
+        publishLoad( 2, 0, 900 );
+        publishLoad( 3, 0, 1000 );
+        Config config = Config.defaults( load_balancing_max_replication_lag, "100" );
+
+        // when
+        LoadBalancingProcessor.Result result = processor( config ).run( Collections.emptyMap() );
+
+        // then
+        assertEquals( asList( readers.get( 0 ), readers.get( 2 ), readers.get( 3 ) ), result.readEndpoints() );
+    }
+
+    @Test
+    public void shouldMeasureLagAgainstCoreMembersToo() throws Exception
+    {
+        // given a leader which is further ahead than all read replicas
+        publishLoad( 0, 0, 995 );
+        publishLoad( 1, 0, 980 );
+        publishLoad( 2, 0, 1000 );
+        publishLoad( 3, 0, 950 );
+        publishLoad( leader, 0, 1010 );
+        Config config = Config.defaults( load_balancing_max_replication_lag, "20" );
+
+        // when
+        LoadBalancingProcessor.Result result = processor( config ).run( Collections.emptyMap() );
+
+        // then
+        assertEquals( asList( readers.get( 0 ), readers.get( 2 ) ), result.readEndpoints() );
+    }
+
+    @Test
+    public void shouldNotExcludeAllReaders() throws Exception
+    {
+        // given
+        for ( int i = 0; i < REPLICAS; i++ )
+        {
+            publishLoad( i, 0, 1000 );
+        }
+        publishLoad( leader, 0, 2000 );
+        Config config = Config.defaults( load_balancing_max_replication_lag, "10" );
+
+        // when
+        LoadBalancingProcessor.Result result = processor( config ).run( Collections.emptyMap() );
+
+        // then
+        assertEquals( readers, result.readEndpoints() );
+    }
+
+    @Test
+    public void shouldIgnoreStaleLoads() throws Exception
+    {
+        // given
+        publishLoad( 0, 1000, 0 );
+        clock.forward( 31, SECONDS );
+        publishLoad( 1, 500, 1000 );
+        publishLoad( 2, 100, 1000 );
+        Config config = Config.defaults( stringMap( load_balancing_load_max_staleness.name(), "30s",
+                load_balancing_max_replication_lag.name(), "10" ) );
+
+        // when
+        LoadBalancingProcessor.Result result = processor( config ).run( Collections.emptyMap() );
+
+        // then the readers without a fresh load are treated as having an average load
+        assertEquals( asList( readers.get( 2 ), readers.get( 0 ), readers.get( 3 ), readers.get( 1 ) ),
+                result.readEndpoints() );
+    }
+
+    @Test
+    public void shouldJudgeFreshnessByLocalReceiveTime() throws Exception
+    {
+        // given a load published by a member with a clock far behind, which was received just now
+        clock.forward( 1, DAYS );
+        loads.put( members.get( 0 ), new ServerLoad( 1000, 0, 0, 0 ).receivedAt( clock.millis(), null ) );
+        publishLoad( 1, 10, 0 );
+        publishLoad( 2, 20, 0 );
+        publishLoad( 3, 30, 0 );
+
+        // when
+        LoadBalancingProcessor.Result result = processor( Config.defaults() ).run( Collections.emptyMap() );
+
+        // then the load is taken into account, and the overloaded reader excluded
+        assertEquals( asList( readers.get( 1 ), readers.get( 2 ), readers.get( 3 ) ), result.readEndpoints() );
+    }
+
+    private LoadAwareProcessor processor( Config config )
+    {
+        return new LoadAwareProcessor( delegate, topologyService, clock, config );
+    }
+
+    private void publishLoad( int replica, long boltSessions, long lastTransactionId )
+    {
+        publishLoad( members.get( replica ), boltSessions, lastTransactionId );
+    }
+
+    private void publishLoad( MemberId member, long boltSessions, long lastTransactionId )
+    {
+        loads.put( member, new ServerLoad( boltSessions, 0, lastTransactionId, clock.millis() ) );
+    }
+}
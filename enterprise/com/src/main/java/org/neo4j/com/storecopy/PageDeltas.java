@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.com.storecopy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.pagecache.ChangedPages;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+
+/**
+ * A page delta is a store file where only the pages that have changed since a previous copy are sent. It is streamed
+ * under the path of the store file, with the {@link #SUFFIX} appended, and has the following format:
+ * <pre>
+ *     int  requiredElementAlignment, of the store file
+ *     int  pageSize
+ *     long fileSize, of the store file
+ *     long pageCount
+ *     pageCount * [long filePageId, pageSize bytes of page data]
+ * </pre>
+ * The pages are ordered by ascending file page id. The receiving side rebuilds the whole store file by reading the
+ * unchanged pages from its previous copy of the file.
+ */
+public class PageDeltas
+{
+    public static final String SUFFIX = ".pagedelta";
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 2;
+
+    private PageDeltas()
+    {
+    }
+
+    /**
+     * Open a channel that produces the page delta for the given changes to the given paged file.
+     */
+    static ReadableByteChannel readDelta( PagedFile pagedFile, ChangedPages changes, int requiredElementAlignment )
+            throws IOException
+    {
+        return new DeltaChannel( pagedFile, changes, requiredElementAlignment );
+    }
+
+    /**
+     * Decorate the given {@link StoreWriter} such that any page delta that is written to it, is rebuilt into the
+     * whole store file by merging it with the previous copy of that file in the given directory.
+     */
+    public static StoreWriter applyingTo( StoreWriter delegate, File previousCopyDirectory, FileSystemAbstraction fs )
+    {
+        return new StoreWriter()
+        {
+            @Override
+            public long write( String path, ReadableByteChannel data, ByteBuffer temporaryBuffer, boolean hasData,
+                    int requiredElementAlignment ) throws IOException
+            {
+                if ( !path.endsWith( SUFFIX ) )
+                {
+                    return delegate.write( path, data, temporaryBuffer, hasData, requiredElementAlignment );
+                }
+                String storeFilePath = path.substring( 0, path.length() - SUFFIX.length() );
+                File previousCopy = new File( previousCopyDirectory, storeFilePath );
+                if ( !fs.fileExists( previousCopy ) )
+                {
+                    throw new IOException( "Received page delta for " + storeFilePath + ", but the previous copy of " +
+                                           "the file, " + previousCopy + ", does not exist." );
+                }
+                try ( StoreChannel base = fs.open( previousCopy, "r" ) )
+                {
+                    MergingChannel merged = new MergingChannel( data, base );
+                    return delegate.write( storeFilePath, merged, temporaryBuffer, merged.fileSize > 0,
+                            merged.requiredElementAlignment );
+                }
+            }
+
+            @Override
+            public void close()
+            {
+                delegate.close();
+            }
+        };
+    }
+
+    private static void readFully( ReadableByteChannel channel, ByteBuffer buffer ) throws IOException
+    {
+        while ( buffer.hasRemaining() )
+        {
+            if ( channel.read( buffer ) == -1 )
+            {
+                throw new IOException( "Page delta ended prematurely" );
+            }
+        }
+    }
+
+    private static int transfer( ByteBuffer from, ByteBuffer to )
+    {
+        int count = Math.min( from.remaining(), to.remaining() );
+        ByteBuffer slice = from.duplicate();
+        slice.limit( slice.position() + count );
+        to.put( slice );
+        from.position( from.position() + count );
+        return count;
+    }
+
+    private static class DeltaChannel implements ReadableByteChannel
+    {
+        private final PagedFile pagedFile;
+        private final ChangedPages changes;
+        private final long lastPageId;
+        private final byte[] page;
+        private final ByteBuffer buffer;
+        private long nextPageId;
+        private boolean open = true;
+
+        DeltaChannel( PagedFile pagedFile, ChangedPages changes, int requiredElementAlignment ) throws IOException
+        {
+            this.pagedFile = pagedFile;
+            this.changes = changes;
+            this.lastPageId = pagedFile.getLastPageId();
+            this.page = new byte[pagedFile.pageSize()];
+            this.buffer = ByteBuffer.allocate( Math.max( HEADER_SIZE, Long.BYTES + page.length ) );
+
+            long pageCount = 0;
+            for ( long pageId = changes.nextChanged( 0 ); pageId != -1 && pageId <= lastPageId;
+                  pageId = changes.nextChanged( pageId + 1 ) )
+            {
+                pageCount++;
+            }
+            buffer.putInt( requiredElementAlignment );
+            buffer.putInt( page.length );
+            buffer.putLong( pagedFile.fileSize() );
+            buffer.putLong( pageCount );
+            buffer.flip();
+        }
+
+        @Override
+        public int read( ByteBuffer dst ) throws IOException
+        {
+            if ( !open )
+            {
+                throw new ClosedChannelException();
+            }
+            if ( !buffer.hasRemaining() && !nextPage() )
+            {
+                return -1;
+            }
+            return transfer( buffer, dst );
+        }
+
+        private boolean nextPage() throws IOException
+        {
+            long pageId = changes.nextChanged( nextPageId );
+            if ( pageId == -1 || pageId > lastPageId )
+            {
+                return false;
+            }
+            nextPageId = pageId + 1;
+            try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK ) )
+            {
+                if ( !cursor.next() )
+                {
+                    return false;
+                }
+                do
+                {
+                    cursor.getBytes( page );
+                }
+                while ( cursor.shouldRetry() );
+                cursor.checkAndClearBoundsFlag();
+                cursor.checkAndClearCursorException();
+            }
+            buffer.clear();
+            buffer.putLong( pageId );
+            buffer.put( page );
+            buffer.flip();
+            return true;
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return open;
+        }
+
+        @Override
+        public void close()
+        {
+            open = false;
+        }
+    }
+
+    private static class MergingChannel implements ReadableByteChannel
+    {
+        private final ReadableByteChannel delta;
+        private final StoreChannel base;
+        private final int requiredElementAlignment;
+        private final int pageSize;
+        private final long fileSize;
+        private final ByteBuffer page;
+        private final ByteBuffer pageIdBuffer = ByteBuffer.allocate( Long.BYTES );
+        private long remainingDeltaPages;
+        private long nextDeltaPageId;
+        private long currentPageId;
+        private long position;
+
+        MergingChannel( ReadableByteChannel delta, StoreChannel base ) throws IOException
+        {
+            this.delta = delta;
+            this.base = base;
+            ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE );
+            readFully( delta, header );
+            header.flip();
+            requiredElementAlignment = header.getInt();
+            pageSize = header.getInt();
+            fileSize = header.getLong();
+            remainingDeltaPages = header.getLong();
+            page = ByteBuffer.allocate( pageSize );
+            page.flip();
+            readNextDeltaPageId();
+        }
+
+        private void readNextDeltaPageId() throws IOException
+        {
+            if ( remainingDeltaPages-- > 0 )
+            {
+                pageIdBuffer.clear();
+                readFully( delta, pageIdBuffer );
+                pageIdBuffer.flip();
+                nextDeltaPageId = pageIdBuffer.getLong();
+            }
+            else
+            {
+                nextDeltaPageId = -1;
+            }
+        }
+
+        @Override
+        public int read( ByteBuffer dst ) throws IOException
+        {
+            if ( !page.hasRemaining() )
+            {
+                if ( position >= fileSize )
+                {
+                    return -1;
+                }
+                loadPage();
+            }
+            int transferred = transfer( page, dst );
+            position += transferred;
+            return transferred;
+        }
+
+        private void loadPage() throws IOException
+        {
+            page.clear();
+            if ( currentPageId == nextDeltaPageId )
+            {
+                readFully( delta, page );
+                readNextDeltaPageId();
+            }
+            else
+            {
+                long filePosition = currentPageId * pageSize;
+                while ( page.hasRemaining() && base.read( page, filePosition + page.position() ) > 0 )
+                {
+                    // Keep reading until the page is full, or we reach the end of the previous copy.
+                }
+                while ( page.hasRemaining() )
+                {
+                    page.put( (byte) 0 );
+                }
+            }
+            currentPageId++;
+            page.flip();
+            page.limit( (int) Math.min( pageSize, fileSize - position ) );
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return delta.isOpen();
+        }
+
+        @Override
+        public void close()
+        {
+            // The delta channel is owned by the caller, and the base channel by the store writer.
+        }
+    }
+}
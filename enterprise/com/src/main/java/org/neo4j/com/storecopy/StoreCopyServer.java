@@ -33,6 +33,7 @@ import org.neo4j.graphdb.Resource;
 import org.neo4j.graphdb.ResourceIterator;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.ChangedPages;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.kernel.NeoStoreDataSource;
@@ -42,6 +43,7 @@ import org.neo4j.kernel.impl.transaction.log.checkpoint.StoreCopyCheckPointMutex
 import org.neo4j.storageengine.api.StoreFileMetadata;
 
 import static org.neo4j.com.RequestContext.anonymous;
+import static org.neo4j.com.storecopy.StoreFileChanges.NO_PREVIOUS_COPY;
 import static org.neo4j.io.fs.FileUtils.getMostCanonicalFile;
 import static org.neo4j.io.fs.FileUtils.relativePath;
 
@@ -150,6 +152,25 @@ public class StoreCopyServer
      * @return a {@link RequestContext} specifying at which point the store copy started.
      */
     public RequestContext flushStoresAndStreamStoreFiles( String triggerName, StoreWriter writer, boolean includeLogs )
+    {
+        return flushStoresAndStreamStoreFiles( triggerName, writer, includeLogs, null, NO_PREVIOUS_COPY );
+    }
+
+    /**
+     * Trigger store flush (checkpoint) and write {@link NeoStoreDataSource#listStoreFiles(boolean) store files} to the
+     * given {@link StoreWriter}, sending only the {@link PageDeltas pages that have changed} for the store files where
+     * that is possible.
+     *
+     * @param triggerName name of the component asks for store files.
+     * @param writer store writer to write files to.
+     * @param includeLogs <code>true</code> if transaction logs should be copied, <code>false</code> otherwise.
+     * @param changes the changes tracked since the previous copy, or {@code null} if changes should not be tracked.
+     * @param receiverTransactionId the last committed transaction id of the store copy that the receiver already has,
+     * or {@link StoreFileChanges#NO_PREVIOUS_COPY} if the whole store should be sent.
+     * @return a {@link RequestContext} specifying at which point the store copy started.
+     */
+    public RequestContext flushStoresAndStreamStoreFiles( String triggerName, StoreWriter writer, boolean includeLogs,
+            StoreFileChanges changes, long receiverTransactionId )
     {
         try
         {
@@ -163,10 +184,12 @@ public class StoreCopyServer
 
             // Copy the store files
             long lastAppliedTransaction;
+            StoreFileChanges.Copy copy = null;
             try ( Resource lock = mutex.storeCopy( checkPointAction );
                     ResourceIterator<StoreFileMetadata> files = dataSource.listStoreFiles( includeLogs ) )
             {
                 lastAppliedTransaction = checkPointer.lastCheckPointedTransactionId();
+                copy = changes != null ? changes.beginCopy( lastAppliedTransaction, receiverTransactionId ) : null;
                 monitor.startStreamingStoreFiles( storeCopyIdentifier );
                 ByteBuffer temporaryBuffer = ByteBuffer.allocateDirect( (int) ByteUnit.mebiBytes( 1 ) );
                 while ( files.hasNext() )
@@ -183,10 +206,24 @@ public class StoreCopyServer
                     {
                         try ( PagedFile pagedFile = optionalPagedFile.get() )
                         {
-                            long fileSize = pagedFile.fileSize();
-                            try ( ReadableByteChannel fileChannel = pagedFile.openReadableByteChannel() )
+                            // Only send the changed pages, if we know which pages have changed since the last copy.
+                            ChangedPages changedPages = copy != null ? copy.capture( file, pagedFile ) : null;
+                            if ( changedPages != null )
+                            {
+                                try ( ReadableByteChannel deltaChannel =
+                                              PageDeltas.readDelta( pagedFile, changedPages, recordSize ) )
+                                {
+                                    doWriteDelta( writer, temporaryBuffer, file, deltaChannel, storeCopyIdentifier );
+                                }
+                            }
+                            else
                             {
-                                doWrite( writer, temporaryBuffer, file, recordSize, fileChannel, fileSize, storeCopyIdentifier );
+                                long fileSize = pagedFile.fileSize();
+                                try ( ReadableByteChannel fileChannel = pagedFile.openReadableByteChannel() )
+                                {
+                                    doWrite( writer, temporaryBuffer, file, recordSize, fileChannel, fileSize,
+                                            storeCopyIdentifier );
+                                }
                             }
                         }
                     }
@@ -202,6 +239,10 @@ public class StoreCopyServer
             }
             finally
             {
+                if ( copy != null )
+                {
+                    copy.close();
+                }
                 monitor.finishStreamingStoreFiles( storeCopyIdentifier );
             }
 
@@ -221,4 +262,12 @@ public class StoreCopyServer
                 temporaryBuffer, fileSize > 0, recordSize );
         monitor.finishStreamingStoreFile( file, storeCopyIdentifier );
     }
+
+    private void doWriteDelta( StoreWriter writer, ByteBuffer temporaryBuffer, File file,
+            ReadableByteChannel deltaChannel, String storeCopyIdentifier ) throws IOException
+    {
+        monitor.startStreamingStoreFile( file, storeCopyIdentifier );
+        writer.write( relativePath( storeDirectory, file ) + PageDeltas.SUFFIX, deltaChannel, temporaryBuffer, true, 1 );
+        monitor.finishStreamingStoreFile( file, storeCopyIdentifier );
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.com.storecopy;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.neo4j.graphdb.Resource;
+import org.neo4j.io.pagecache.ChangedPages;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.kernel.impl.store.StoreType;
+
+/**
+ * Remembers which pages of the mapped store files have been written since the last time the store was copied with
+ * {@link StoreCopyServer#flushStoresAndStreamStoreFiles(String, StoreWriter, boolean, StoreFileChanges, long)}.
+ * <p>
+ * The pages of a file can only be sent as a page delta if the change tracking of the file has been uninterrupted
+ * since the previous copy, and if the receiver has a copy that is at least as recent as the checkpoint that the
+ * previous copy started from. In all other cases the whole file must be sent.
+ * <p>
+ * Only record store files are ever sent as deltas. Files like the label scan store, native schema indexes and the
+ * counts store are rewritten by recovery on the receiving side, so a page delta against the receivers previous copy
+ * of such a file would not reproduce the file of this store.
+ * <p>
+ * Changed pages are swapped out of the paged files themselves, so there can only be one copy capturing changes at
+ * any given time. Copies are serialised by {@link #beginCopy(long, long)}.
+ */
+public class StoreFileChanges
+{
+    /**
+     * Transaction id to give when the receiver has no previous copy of the store.
+     */
+    public static final long NO_PREVIOUS_COPY = -1;
+
+    private final Lock copyLock = new ReentrantLock();
+    private final Map<File,ChangedPages> lastCopied = new HashMap<>();
+    private long lastCopyCheckPointedTransactionId = NO_PREVIOUS_COPY;
+
+    /**
+     * Start a new store copy. Must be called after the store has been check pointed, and while holding the store
+     * copy lock. Blocks while another copy is in progress.
+     *
+     * @param checkPointedTransactionId the transaction id that the checkpoint of this copy was made at.
+     * @param receiverTransactionId the last committed transaction id of the copy the receiver already has, or
+     * {@link #NO_PREVIOUS_COPY} if the receiver needs a full copy.
+     * @return the {@link Copy} to capture the changes of each file with, which must be closed when the copy is done.
+     */
+    Copy beginCopy( long checkPointedTransactionId, long receiverTransactionId )
+    {
+        copyLock.lock();
+        boolean deltasAllowed = receiverTransactionId != NO_PREVIOUS_COPY &&
+                                lastCopyCheckPointedTransactionId != NO_PREVIOUS_COPY &&
+                                receiverTransactionId >= lastCopyCheckPointedTransactionId;
+        lastCopyCheckPointedTransactionId = checkPointedTransactionId;
+        return new Copy( deltasAllowed );
+    }
+
+    /**
+     * A store copy in progress, holding on to the right to capture changes until closed.
+     */
+    class Copy implements Resource
+    {
+        private final boolean deltasAllowed;
+
+        private Copy( boolean deltasAllowed )
+        {
+            this.deltasAllowed = deltasAllowed;
+        }
+
+        /**
+         * Capture the changes made to the given file since the previous copy, and start tracking changes anew.
+         *
+         * @return the pages that have changed since the previous copy, or {@code null} if the whole file must be sent.
+         */
+        ChangedPages capture( File file, PagedFile pagedFile )
+        {
+            ChangedPages changes = pagedFile.swapChangedPages();
+            if ( changes == null )
+            {
+                lastCopied.remove( file );
+                return null;
+            }
+            ChangedPages previous = lastCopied.put( file, changes );
+            return deltasAllowed && isRecordStoreFile( file ) && changes.follows( previous ) ? changes : null;
+        }
+
+        @Override
+        public void close()
+        {
+            copyLock.unlock();
+        }
+    }
+
+    private static boolean isRecordStoreFile( File file )
+    {
+        return StoreType.typeOf( file.getName() ).map( StoreType::isRecordStore ).orElse( false );
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.com.storecopy;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.pagecache.ChangedPages;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.test.rule.PageCacheRule;
+import org.neo4j.test.rule.TestDirectory;
+import org.neo4j.test.rule.fs.EphemeralFileSystemRule;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+
+public class PageDeltasTest
+{
+    private static final int PAGE_SIZE = 128;
+    private static final String NODE_STORE = "neostore.nodestore.db";
+
+    private final EphemeralFileSystemRule fs = new EphemeralFileSystemRule();
+    private final TestDirectory directory = TestDirectory.testDirectory( fs );
+    private final PageCacheRule pageCacheRule = new PageCacheRule();
+
+    @Rule
+    public final RuleChain rules = RuleChain.outerRule( fs ).around( directory ).around( pageCacheRule );
+
+    @Test
+    public void mustRebuildStoreFileFromPreviousCopyAndPageDelta() throws Exception
+    {
+        PageCache pageCache = pageCacheRule.getPageCache( fs, PageCacheRule.config().withPageSize( PAGE_SIZE ) );
+        File storeFile = directory.file( NODE_STORE );
+        File previousCopyDirectory = directory.directory( "previous" );
+        StoreFileChanges changes = new StoreFileChanges();
+
+        try ( PagedFile pagedFile = pageCache.map( storeFile, PAGE_SIZE, CREATE ) )
+        {
+            writePages( pagedFile, 0, 5, (byte) 1 );
+            pagedFile.flushAndForce();
+            try ( StoreFileChanges.Copy copy = changes.beginCopy( 10, StoreFileChanges.NO_PREVIOUS_COPY ) )
+            {
+                assertNull( copy.capture( storeFile, pagedFile ) );
+            }
+            copyFile( storeFile, new File( previousCopyDirectory, NODE_STORE ) );
+
+            writePages( pagedFile, 1, 1, (byte) 2 );
+            writePages( pagedFile, 3, 4, (byte) 3 ); // also grows the file by two pages
+            pagedFile.flushAndForce();
+            ChangedPages changedPages;
+            try ( StoreFileChanges.Copy copy = changes.beginCopy( 20, 10 ) )
+            {
+                changedPages = copy.capture( storeFile, pagedFile );
+            }
+            assertNotNull( changedPages );
+            assertEquals( 5, changedPages.count() );
+
+            CapturingStoreWriter capture = new CapturingStoreWriter();
+            StoreWriter writer = PageDeltas.applyingTo( capture, previousCopyDirectory, fs );
+            try ( ReadableByteChannel delta = PageDeltas.readDelta( pagedFile, changedPages, 16 ) )
+            {
+                writer.write( NODE_STORE + PageDeltas.SUFFIX, delta, ByteBuffer.allocate( 100 ), true, 1 );
+            }
+
+            assertEquals( NODE_STORE, capture.path );
+            assertEquals( 16, capture.requiredElementAlignment );
+            assertArrayEquals( readFile( storeFile ), capture.data.toByteArray() );
+        }
+    }
+
+    @Test
+    public void mustNotAllowDeltaIfReceiverIsOlderThanPreviousCopy() throws Exception
+    {
+        PageCache pageCache = pageCacheRule.getPageCache( fs, PageCacheRule.config().withPageSize( PAGE_SIZE ) );
+        File storeFile = directory.file( NODE_STORE );
+        StoreFileChanges changes = new StoreFileChanges();
+
+        try ( PagedFile pagedFile = pageCache.map( storeFile, PAGE_SIZE, CREATE ) )
+        {
+            try ( StoreFileChanges.Copy copy = changes.beginCopy( 10, StoreFileChanges.NO_PREVIOUS_COPY ) )
+            {
+                assertNull( copy.capture( storeFile, pagedFile ) );
+            }
+            try ( StoreFileChanges.Copy copy = changes.beginCopy( 20, 9 ) )
+            {
+                assertNull( copy.capture( storeFile, pagedFile ) );
+            }
+            try ( StoreFileChanges.Copy copy = changes.beginCopy( 30, 20 ) )
+            {
+                assertNotNull( copy.capture( storeFile, pagedFile ) );
+            }
+        }
+    }
+
+    @Test
+    public void mustNotAllowDeltaForFilesThatAreNotRecordStores() throws Exception
+    {
+        PageCache pageCache = pageCacheRule.getPageCache( fs, PageCacheRule.config().withPageSize( PAGE_SIZE ) );
+        File storeFile = directory.file( "neostore.labelscanstore.db" );
+        StoreFileChanges changes = new StoreFileChanges();
+
+        try ( PagedFile pagedFile = pageCache.map( storeFile, PAGE_SIZE, CREATE ) )
+        {
+            try ( StoreFileChanges.Copy copy = changes.beginCopy( 10, StoreFileChanges.NO_PREVIOUS_COPY ) )
+            {
+                assertNull( copy.capture( storeFile, pagedFile ) );
+            }
+            writePages( pagedFile, 0, 1, (byte) 1 );
+            try ( StoreFileChanges.Copy copy = changes.beginCopy( 20, 10 ) )
+            {
+                assertNull( copy.capture( storeFile, pagedFile ) );
+            }
+        }
+    }
+
+    @Test( timeout = 10_000 )
+    public void mustSerialiseConcurrentCopies() throws Exception
+    {
+        StoreFileChanges changes = new StoreFileChanges();
+        AtomicBoolean secondCopyStarted = new AtomicBoolean();
+        Thread secondCopy;
+        try ( StoreFileChanges.Copy ignored = changes.beginCopy( 10, StoreFileChanges.NO_PREVIOUS_COPY ) )
+        {
+            secondCopy = new Thread( () ->
+            {
+                try ( StoreFileChanges.Copy ignored = changes.beginCopy( 20, 10 ) )
+                {
+                    secondCopyStarted.set( true );
+                }
+            } );
+            secondCopy.start();
+            secondCopy.join( 100 );
+            assertFalse( secondCopyStarted.get() );
+        }
+        secondCopy.join();
+        assertTrue( secondCopyStarted.get() );
+    }
+
+    private static void writePages( PagedFile pagedFile, long fromPageId, int count, byte value ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( fromPageId, PF_SHARED_WRITE_LOCK ) )
+        {
+            for ( int i = 0; i < count; i++ )
+            {
+                cursor.next();
+                for ( int j = 0; j < PAGE_SIZE; j++ )
+                {
+                    cursor.putByte( (byte) (value + j) );
+                }
+            }
+        }
+    }
+
+    private void copyFile( File from, File to ) throws IOException
+    {
+        byte[] data = readFile( from );
+        try ( StoreChannel channel = fs.create( to ) )
+        {
+            channel.writeAll( ByteBuffer.wrap( data ) );
+        }
+    }
+
+    private byte[] readFile( File file ) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate( (int) fs.getFileSize( file ) );
+        try ( StoreChannel channel = fs.open( file, "r" ) )
+        {
+            channel.read( buffer, 0 );
+        }
+        return buffer.array();
+    }
+
+    private static class CapturingStoreWriter implements StoreWriter
+    {
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private String path;
+        private int requiredElementAlignment;
+
+        @Override
+        public long write( String path, ReadableByteChannel data, ByteBuffer temporaryBuffer, boolean hasData,
+                int requiredElementAlignment ) throws IOException
+        {
+            this.path = path;
+            this.requiredElementAlignment = requiredElementAlignment;
+            long total = 0;
+            temporaryBuffer.clear();
+            int read;
+            while ( (read = data.read( temporaryBuffer )) != -1 )
+            {
+                this.data.write( temporaryBuffer.array(), 0, read );
+                total += read;
+                temporaryBuffer.clear();
+            }
+            return total;
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
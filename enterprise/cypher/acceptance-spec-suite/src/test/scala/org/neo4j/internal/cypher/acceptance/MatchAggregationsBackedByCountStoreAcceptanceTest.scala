@@ -193,8 +193,8 @@ class MatchAggregationsBackedByCountStoreAcceptanceTest
     val query = "MATCH (:User)-[r:KNOWS]->(:User) RETURN count(r)"
 
     // Then
-    compareCount(query, 0, Configs.All, expectedLogicalPlan = "NodeByLabelScan", expectOtherPlanIn = Configs.AllRulePlanners)
-    compareCount(query, 1, Configs.All, expectedLogicalPlan = "NodeByLabelScan", expectOtherPlanIn = Configs.AllRulePlanners, executeBefore = executeBefore)
+    compareCount(query, 0, Configs.All, expectedLogicalPlan = "DirectedRelationshipTypeScan", expectOtherPlanIn = relationshipTypeScanNotSupported)
+    compareCount(query, 1, Configs.All, expectedLogicalPlan = "DirectedRelationshipTypeScan", expectOtherPlanIn = relationshipTypeScanNotSupported, executeBefore = executeBefore)
   }
 
   test("counts relationships with unspecified type and labeled source and destination without using count store") {
@@ -507,9 +507,9 @@ class MatchAggregationsBackedByCountStoreAcceptanceTest
     val query = "MATCH (:User)-[r:KNOWS]->(:User) RETURN count(r)"
 
     // Then
-    compareCount(query, 0, Configs.All, expectedLogicalPlan = "NodeByLabelScan", expectOtherPlanIn = Configs.AllRulePlanners)
+    compareCount(query, 0, Configs.All, expectedLogicalPlan = "DirectedRelationshipTypeScan", expectOtherPlanIn = relationshipTypeScanNotSupported)
     setupBigModel()
-    compareCount(query, 3, Configs.All, expectedLogicalPlan = "NodeByLabelScan", expectOtherPlanIn = Configs.AllRulePlanners, assertCountInTransaction = true, executeBefore = executeBefore)
+    compareCount(query, 3, Configs.All, expectedLogicalPlan = "DirectedRelationshipTypeScan", expectOtherPlanIn = relationshipTypeScanNotSupported, assertCountInTransaction = true, executeBefore = executeBefore)
   }
 
   test("counts relationships with unspecified type and labeled source and destination without using count store considering transaction state") {
@@ -669,6 +669,9 @@ class MatchAggregationsBackedByCountStoreAcceptanceTest
         """.stripMargin)
   }
 
+  private val relationshipTypeScanNotSupported =
+    Configs.AllRulePlanners + Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_2
+
   private def compareCount(query: String,
                    expectedCount: Any,
                    expectSucceed: TestConfiguration = defaultConfig,
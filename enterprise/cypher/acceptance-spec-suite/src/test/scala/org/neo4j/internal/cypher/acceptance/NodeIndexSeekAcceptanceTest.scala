@@ -357,6 +357,19 @@ class NodeIndexSeekAcceptanceTest extends ExecutionEngineFunSuite with CypherCom
     result.toList should equal(List(Map("n" -> node1)))
   }
 
+  test("should return updated property values of nodes found by index seek") {
+    // Given
+    (1 to 100).foreach(i => createLabeledNode(Map("prop" -> i), "L"))
+    graph.createIndex("L", "prop")
+
+    // When
+    val result = executeWith(Configs.CommunityInterpreted - Configs.Cost2_3,
+      "MATCH (n:L) WHERE n.prop = 42 WITH n, n.prop AS before SET n.prop = 4242 RETURN before, n.prop AS after")
+
+    // Then
+    result.toList should equal(List(Map("before" -> 42, "after" -> 4242)))
+  }
+
   private def setUpDatabaseForTests() {
     executeWith(Configs.All - Configs.Compiled - Configs.Cost2_3,
       """CREATE (architect:Matrix { name:'The Architect' }),
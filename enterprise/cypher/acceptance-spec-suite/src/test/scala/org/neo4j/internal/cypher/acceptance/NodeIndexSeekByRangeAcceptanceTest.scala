@@ -164,7 +164,7 @@ class NodeIndexSeekByRangeAcceptanceTest extends ExecutionEngineFunSuite with Cy
         plan should useOperators(IndexSeekByRange.name)
       }, Configs.AllRulePlanners), params = Map("apa" -> 43))
 
-    result.toList should equal(List(Map("a" -> a1), Map("a" -> a2)))
+    result.toSet should equal(Set(Map("a" -> a1), Map("a" -> a2)))
     result.executionPlanDescription().toString should include("prop STARTS WITH www")
   }
 
@@ -190,7 +190,7 @@ class NodeIndexSeekByRangeAcceptanceTest extends ExecutionEngineFunSuite with Cy
         plan should useOperators(IndexSeekByRange.name)
       }, Configs.AllRulePlanners))
 
-    result.toList should equal(List(Map("a" -> a1), Map("a" -> a2)))
+    result.toSet should equal(Set(Map("a" -> a1), Map("a" -> a2)))
   }
 
   test("should plan a UniqueIndexSeek when constraint exists") {
@@ -216,7 +216,7 @@ class NodeIndexSeekByRangeAcceptanceTest extends ExecutionEngineFunSuite with Cy
         plan should useOperators(UniqueIndexSeekByRange.name)
       }, Configs.AllRulePlanners))
 
-    result.toList should equal(List(Map("a" -> a1), Map("a" -> a2)))
+    result.toSet should equal(Set(Map("a" -> a1), Map("a" -> a2)))
   }
 
   test("should be able to plan index seek for numerical less than") {
@@ -1248,6 +1248,30 @@ class NodeIndexSeekByRangeAcceptanceTest extends ExecutionEngineFunSuite with Cy
     result.close()
   }
 
+  test("should order by the property of an index range seek without sorting") {
+    graph.inTx {
+      Seq(7, 3, 9, 1, 5).foreach { i =>
+        createLabeledNode(Map("prop" -> i), "Label")
+      }
+      (1 to 100).foreach { _ =>
+        createLabeledNode("Label")
+      }
+    }
+
+    graph.createIndex("Label", "prop")
+
+    import scala.collection.JavaConverters._
+    val ascending = graph.execute("CYPHER PROFILE MATCH (n:Label) WHERE n.prop > 2 RETURN n.prop AS p ORDER BY n.prop")
+    ascending.asScala.toList.map(_.asScala) should equal(List(Map("p" -> 3), Map("p" -> 5), Map("p" -> 7), Map("p" -> 9)))
+    ascending.getExecutionPlanDescription.toString should not include "Sort"
+    ascending.close()
+
+    val descending = graph.execute("CYPHER PROFILE MATCH (n:Label) WHERE n.prop < 8 RETURN n.prop AS p ORDER BY p DESC")
+    descending.asScala.toList.map(_.asScala) should equal(List(Map("p" -> 7), Map("p" -> 5), Map("p" -> 3), Map("p" -> 1)))
+    descending.getExecutionPlanDescription.toString should not include "Sort"
+    descending.close()
+  }
+
   private def createTestModelBigEnoughToConsiderPickingIndexSeek: Int = {
     val size = 400
 
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.cypher.acceptance
+
+import org.neo4j.cypher.ExecutionEngineFunSuite
+import org.neo4j.graphdb.Node
+import org.neo4j.graphdb.factory.GraphDatabaseSettings
+import org.neo4j.internal.cypher.acceptance.CypherComparisonSupport.{ComparePlansWithAssertion, Configs}
+
+class PropertyColumnScanAcceptanceTest extends ExecutionEngineFunSuite with CypherComparisonSupport {
+
+  override def databaseConfig() = super.databaseConfig() ++ Map(
+    GraphDatabaseSettings.property_columns -> "Person:age"
+  )
+
+  private val noColumnScan = Configs.AllRulePlanners + Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_2
+
+  test("Scans property column for label and property existence") {
+    val node = createLabeledNode(Map("age" -> 42), "Person")
+    createLabeledNode(Map("name" -> "Bob"), "Person")
+    createLabeledNode(Map("age" -> 42), "Animal")
+    (1 to 100).foreach(_ => createLabeledNode("Person"))
+
+    val result = executeWith(Configs.All, "match (n:Person) where exists(n.age) return n",
+      planComparisonStrategy = ComparePlansWithAssertion(_ should useOperators("NodePropertyColumnScan"),
+        expectPlansToFail = noColumnScan))
+    result.columnAs[Node]("n").toList should equal(List(node))
+  }
+
+  test("Filters property column scan on range predicate") {
+    val node = createLabeledNode(Map("age" -> 42), "Person")
+    createLabeledNode(Map("age" -> 17), "Person")
+    (1 to 100).foreach(_ => createLabeledNode("Person"))
+
+    val result = executeWith(Configs.All, "match (n:Person) where n.age > 18 return n",
+      planComparisonStrategy = ComparePlansWithAssertion(_ should useOperators("NodePropertyColumnScan"),
+        expectPlansToFail = noColumnScan))
+    result.columnAs[Node]("n").toList should equal(List(node))
+  }
+}
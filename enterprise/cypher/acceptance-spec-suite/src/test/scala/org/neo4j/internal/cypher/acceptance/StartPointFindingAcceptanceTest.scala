@@ -71,6 +71,31 @@ class StartPointFindingAcceptanceTest extends ExecutionEngineFunSuite with Cyphe
     result.columnAs[Node]("n").toList should equal(List(node))
   }
 
+  test("Intersects label scans for nodes with multiple labels") {
+    val node = createLabeledNode("Person", "Employee")
+    createLabeledNode("Person")
+    createLabeledNode("Employee")
+    (1 to 100).foreach(_ => createLabeledNode("Person"))
+
+    val result = executeWith(Configs.All, "match (n:Person:Employee) return n",
+      planComparisonStrategy = ComparePlansWithAssertion(_ should useOperators("NodeByLabelIntersectionScan"),
+        expectPlansToFail = Configs.AllRulePlanners + Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_2))
+    result.columnAs[Node]("n").toList should equal(List(node))
+  }
+
+  test("Scans relationship type for directed relationship with single type") {
+    val a = createNode("a")
+    val b = createNode("b")
+    val rel = relate(a, b, "KNOWS")
+    relate(b, a, "LIKES")
+    (1 to 100).foreach(_ => createNode())
+
+    val result = executeWith(Configs.All, "match (x)-[r:KNOWS]->(y) return x, r, y",
+      planComparisonStrategy = ComparePlansWithAssertion(_ should useOperators("DirectedRelationshipTypeScan"),
+        expectPlansToFail = Configs.AllRulePlanners + Configs.Version2_3 + Configs.Version3_1 + Configs.Version3_2))
+    result.toList should equal(List(Map("x" -> a, "r" -> rel, "y" -> b)))
+  }
+
   test("Seek relationship by id given on the left") {
     val rel = relate(createNode("a"), createNode("b"))
 
@@ -39,6 +39,8 @@ object LogicalPlanConverter {
     case p: plans.SingleRow => singleRowAsCodeGenPlan(p)
     case p: plans.AllNodesScan => allNodesScanAsCodeGenPlan(p)
     case p: plans.NodeByLabelScan => nodeByLabelScanAsCodeGenPlan(p)
+    case p: plans.NodeByLabelIntersectionScan => nodeByLabelIntersectionScanAsCodeGenPlan(p)
+    case p: plans.DirectedRelationshipTypeScan => directedRelationshipTypeScanAsCodeGenPlan(p)
     case p: plans.NodeIndexSeek => nodeIndexSeekAsCodeGenPlan(p)
     case p: plans.NodeByIdSeek => nodeByIdSeekAsCodeGenPlan(p)
     case p: plans.NodeUniqueIndexSeek => nodeUniqueIndexSeekAsCodeGen(p)
@@ -172,6 +174,39 @@ object LogicalPlanConverter {
     }
   }
 
+  private def nodeByLabelIntersectionScanAsCodeGenPlan(scan: plans.NodeByLabelIntersectionScan) =
+    new CodeGenPlan with LeafCodeGenPlan {
+      override val logicalPlan: plans.LogicalPlan = scan
+
+      override def produce(context: CodeGenContext): (Option[JoinTableMethod], List[Instruction]) = {
+        val nodeVar = Variable(context.namer.newVarName(), CodeGenType.primitiveNode)
+        val labels = scan.labels.map(label => label.name -> context.namer.newVarName())
+        context.addVariable(scan.idName, nodeVar)
+        val (methodHandle, actions :: tl) = context.popParent().consume(context, this)
+        val opName = context.registerOperator(logicalPlan)
+        (methodHandle, WhileLoop(nodeVar, ScanForAllLabels(opName, labels), actions) :: tl)
+      }
+    }
+
+  private def directedRelationshipTypeScanAsCodeGenPlan(scan: plans.DirectedRelationshipTypeScan) =
+    new CodeGenPlan with LeafCodeGenPlan {
+      override val logicalPlan: plans.LogicalPlan = scan
+
+      override def produce(context: CodeGenContext): (Option[JoinTableMethod], List[Instruction]) = {
+        val relVar = Variable(context.namer.newVarName(), CodeGenType.primitiveRel)
+        val startNodeVar = Variable(context.namer.newVarName(), CodeGenType.primitiveNode)
+        val endNodeVar = Variable(context.namer.newVarName(), CodeGenType.primitiveNode)
+        val typeVar = context.namer.newVarName()
+        context.addVariable(scan.idName, relVar)
+        context.addVariable(scan.startNode, startNodeVar)
+        context.addVariable(scan.endNode, endNodeVar)
+        val (methodHandle, actions :: tl) = context.popParent().consume(context, this)
+        val opName = context.registerOperator(logicalPlan)
+        val scanGenerator = ScanForRelationshipType(opName, scan.typ.name, typeVar, startNodeVar, endNodeVar, relVar)
+        (methodHandle, WhileLoop(relVar, scanGenerator, actions) :: tl)
+      }
+    }
+
   private type IndexSeekFun = (String, String, CodeGenExpression, Variable, Instruction) => Instruction
 
   // Used by both nodeIndexSeekAsCodeGenPlan and nodeUniqueIndexSeekAsCodeGenPlan
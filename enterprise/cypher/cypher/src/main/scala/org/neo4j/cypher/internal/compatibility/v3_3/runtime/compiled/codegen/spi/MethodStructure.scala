@@ -148,6 +148,8 @@ trait MethodStructure[E] {
 
   // db access
   def labelScan(iterVar: String, labelIdVar: String): Unit
+  def relationshipTypeScan(iterVar: String, typeIdVar: String): Unit
+  def labelIntersectionScan(iterVar: String, labelIdVars: Seq[String]): Unit
   def hasLabel(nodeVar: String, labelVar: String, predVar: String): E
   def allNodesScan(iterVar: String): Unit
   def lookupLabelId(labelIdVar: String, labelName: String): Unit
@@ -161,6 +163,7 @@ trait MethodStructure[E] {
   def nextNode(targetVar: String, iterVar: String): Unit
   def nextRelationshipAndNode(toNodeVar: String, iterVar: String, direction: SemanticDirection, fromNodeVar: String, relVar: String): Unit
   def nextRelationship(iterVar: String, direction: SemanticDirection, relVar: String): Unit
+  def nextRelationshipAndNodes(iterVar: String, relVar: String, startNodeVar: String, endNodeVar: String): Unit
   def hasNextNode(iterVar: String): E
   def hasNextRelationship(iterVar: String): E
   def nodeGetPropertyById(nodeVar: String, nodeVarType: CodeGenType, propId: Int, propValueVar: String): Unit
@@ -150,6 +150,18 @@ class GeneratedMethodStructure(val fields: Fields, val generator: CodeBlock, aux
     generator.assign(typeRef[Long], relVar, invoke(generator.load(extractor), getRelationship))
   }
 
+  override def nextRelationshipAndNodes(iterVar: String, relVar: String, startNodeVar: String, endNodeVar: String) = {
+    val extractor = relExtractor(relVar)
+    generator.expression(
+      pop(
+        invoke(generator.load(iterVar), relationshipVisit,
+               invoke(generator.load(iterVar), fetchNextRelationship),
+               generator.load(extractor))))
+    generator.assign(typeRef[Long], startNodeVar, invoke(generator.load(extractor), startNode))
+    generator.assign(typeRef[Long], endNodeVar, invoke(generator.load(extractor), endNode))
+    generator.assign(typeRef[Long], relVar, invoke(generator.load(extractor), getRelationship))
+  }
+
   override def allNodesScan(iterVar: String) =
     generator.assign(typeRef[PrimitiveLongIterator], iterVar, invoke(readOperations, nodesGetAll))
 
@@ -157,6 +169,15 @@ class GeneratedMethodStructure(val fields: Fields, val generator: CodeBlock, aux
     generator.assign(typeRef[PrimitiveLongIterator], iterVar,
                      invoke(readOperations, nodesGetForLabel, generator.load(labelIdVar)))
 
+  override def relationshipTypeScan(iterVar: String, typeIdVar: String) =
+    generator.assign(typeRef[RelationshipIterator], iterVar,
+                     invoke(readOperations, relationshipsGetForType, generator.load(typeIdVar)))
+
+  override def labelIntersectionScan(iterVar: String, labelIdVars: Seq[String]) =
+    generator.assign(typeRef[PrimitiveLongIterator], iterVar,
+                     invoke(readOperations, nodesGetForAllLabels,
+                            newArray(typeRef[Int], labelIdVars.map(generator.load): _*)))
+
   override def lookupLabelId(labelIdVar: String, labelName: String) =
     generator.assign(typeRef[Int], labelIdVar,
                      invoke(readOperations, labelGetForName, constant(labelName)))
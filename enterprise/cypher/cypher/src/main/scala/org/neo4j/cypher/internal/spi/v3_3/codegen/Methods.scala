@@ -95,6 +95,8 @@ object Methods {
   val countsForRel = method[ReadOperations, Long]("countsForRelationship", typeRef[Int], typeRef[Int], typeRef[Int])
   val relationshipGetProperty = method[ReadOperations, Value]("relationshipGetProperty", typeRef[Long], typeRef[Int])
   val nodesGetForLabel = method[ReadOperations, PrimitiveLongIterator]("nodesGetForLabel", typeRef[Int])
+  val relationshipsGetForType = method[ReadOperations, RelationshipIterator]("relationshipsGetForType", typeRef[Int])
+  val nodesGetForAllLabels = method[ReadOperations, PrimitiveLongIterator]("nodesGetForAllLabels", typeRef[Array[Int]])
   val nodeHasLabel = method[ReadOperations, Boolean]("nodeHasLabel", typeRef[Long], typeRef[Int])
   val nextLong = method[PrimitiveLongIterator, Long]("next")
   val fetchNextRelationship = method[RelationshipIterator, Long]("next")
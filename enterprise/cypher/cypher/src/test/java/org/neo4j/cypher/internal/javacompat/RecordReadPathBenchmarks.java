@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.javacompat;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.store.prototype.neole.NeoleRecordReadPathFactory;
+import org.neo4j.test.TestEnterpriseGraphDatabaseFactory;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.graphdb.RelationshipType.withName;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.read_only;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.record_read_path;
+
+/**
+ * Compares the slotted runtime reading records through the page cache with reading them through the neole
+ * record read path, for scans and expands.
+ */
+@Ignore( "These are rudimentary benchmarks, but implemented via the jUnit framework to make them easy to run " +
+         "from an IDE." )
+public class RecordReadPathBenchmarks
+{
+    private static final int NODES = 1_000_000;
+    private static final int RELATIONSHIPS_PER_NODE = 5;
+    private static final int WARMUP = 5;
+    private static final int TRIALS = 10;
+
+    @Rule
+    public final TestDirectory testDirectory = TestDirectory.testDirectory();
+
+    @Before
+    public void createGraph()
+    {
+        GraphDatabaseService db = new TestEnterpriseGraphDatabaseFactory()
+                .newEmbeddedDatabaseBuilder( testDirectory.graphDbDir() ).newGraphDatabase();
+        try
+        {
+            int batch = 10_000;
+            for ( int i = 0; i < NODES; i += batch )
+            {
+                try ( Transaction tx = db.beginTx() )
+                {
+                    for ( int j = 0; j < batch; j++ )
+                    {
+                        db.createNode( label( j % 2 == 0 ? "Person" : "Thing" ) );
+                    }
+                    tx.success();
+                }
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for ( int i = 0; i < NODES; i += batch )
+            {
+                try ( Transaction tx = db.beginTx() )
+                {
+                    for ( int j = i; j < i + batch; j++ )
+                    {
+                        for ( int k = 0; k < RELATIONSHIPS_PER_NODE; k++ )
+                        {
+                            db.getNodeById( j ).createRelationshipTo( db.getNodeById( random.nextInt( NODES ) ),
+                                    withName( k % 2 == 0 ? "KNOWS" : "LIKES" ) );
+                        }
+                    }
+                    tx.success();
+                }
+            }
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+
+    @Test
+    public void allNodesScan()
+    {
+        compare( "MATCH (n) RETURN sum(id(n))" );
+    }
+
+    @Test
+    public void allNodesScanWithLabelCheck()
+    {
+        compare( "MATCH (n) WHERE n:Person OR n:Thing RETURN sum(id(n))" );
+    }
+
+    @Test
+    public void expandAll()
+    {
+        compare( "MATCH (n)-[r]->(m) RETURN sum(id(m))" );
+    }
+
+    @Test
+    public void expandByTypeFromLabelScan()
+    {
+        compare( "MATCH (n:Person)-[:KNOWS]->(m) RETURN sum(id(m))" );
+    }
+
+    private void compare( String query )
+    {
+        measure( "page cache", "", query );
+        measure( "neole", NeoleRecordReadPathFactory.NAME, query );
+    }
+
+    private void measure( String name, String readPath, String query )
+    {
+        GraphDatabaseService db = new TestEnterpriseGraphDatabaseFactory()
+                .newEmbeddedDatabaseBuilder( testDirectory.graphDbDir() )
+                .setConfig( read_only, "true" )
+                .setConfig( record_read_path, readPath )
+                .newGraphDatabase();
+        try
+        {
+            for ( int i = 0; i < WARMUP; i++ )
+            {
+                run( db, query );
+            }
+            long total = 0;
+            for ( int i = 0; i < TRIALS; i++ )
+            {
+                long start = System.nanoTime();
+                run( db, query );
+                total += System.nanoTime() - start;
+            }
+            System.out.printf( "%s, %s: %.3f ms on average%n", query, name, total / TRIALS / 1_000_000.0 );
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+
+    private static void run( GraphDatabaseService db, String query )
+    {
+        try ( Result result = db.execute( "CYPHER runtime=slotted " + query ) )
+        {
+            while ( result.hasNext() )
+            {
+                result.next();
+            }
+        }
+    }
+}
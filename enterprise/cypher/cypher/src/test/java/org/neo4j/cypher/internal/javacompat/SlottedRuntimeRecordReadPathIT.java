@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.javacompat;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.internal.store.prototype.neole.NeoleRecordReadPathFactory;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordReadPath;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.test.TestEnterpriseGraphDatabaseFactory;
+import org.neo4j.test.rule.TestDirectory;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeThat;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.graphdb.RelationshipType.withName;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.dense_node_threshold;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.read_only;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.record_read_path;
+
+public class SlottedRuntimeRecordReadPathIT
+{
+    private static final String[] QUERIES = {
+            "MATCH (n) RETURN id(n) AS id, labels(n) AS labels ORDER BY id",
+            "MATCH (n) WHERE n:Person RETURN id(n) AS id ORDER BY id",
+            "MATCH (a:Person)-[r:KNOWS]->(b) RETURN id(a) AS a, id(r) AS r, id(b) AS b ORDER BY a, r",
+            "MATCH (a)<-[r]-(b) RETURN id(a) AS a, type(r) AS type, id(b) AS b ORDER BY a, type, b",
+            "MATCH (a:Person)-[r]-(b) RETURN id(a) AS a, id(r) AS r, id(b) AS b ORDER BY a, r, b",
+            "MATCH (a)-[:KNOWS]->(b)-[:LIKES]->(c) RETURN id(a) AS a, id(b) AS b, id(c) AS c ORDER BY a, b, c",
+            "MATCH ()-[r]->() RETURN id(r) AS r, type(r) AS type ORDER BY r",
+    };
+
+    @Rule
+    public final TestDirectory testDirectory = TestDirectory.testDirectory();
+
+    @Before
+    public void createGraph()
+    {
+        assumeThat( "x86_64", equalTo( System.getProperty( "os.arch" ) ) );
+
+        GraphDatabaseService db = new TestEnterpriseGraphDatabaseFactory()
+                .newEmbeddedDatabaseBuilder( testDirectory.graphDbDir() )
+                .setConfig( dense_node_threshold, "5" )
+                .newGraphDatabase();
+        try ( Transaction tx = db.beginTx() )
+        {
+            List<Node> people = new ArrayList<>();
+            for ( int i = 0; i < 20; i++ )
+            {
+                people.add( db.createNode( label( "Person" ), label( i % 2 == 0 ? "Even" : "Odd" ) ) );
+            }
+            Node popular = people.get( 0 );
+            for ( int i = 1; i < people.size(); i++ )
+            {
+                people.get( i ).createRelationshipTo( popular, withName( "KNOWS" ) );
+                people.get( i - 1 ).createRelationshipTo( people.get( i ), withName( i % 3 == 0 ? "LIKES" : "KNOWS" ) );
+                db.createNode( label( "Thing" ) ).createRelationshipTo( people.get( i ), withName( "LIKES" ) );
+            }
+            popular.createRelationshipTo( popular, withName( "LIKES" ) );
+            tx.success();
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReadThroughTheSelectedRecordReadPath()
+    {
+        // given
+        List<List<Map<String,Object>>> expected = runQueries( "" );
+
+        // when
+        List<List<Map<String,Object>>> actual = runQueries( NeoleRecordReadPathFactory.NAME );
+
+        // then
+        assertThat( actual, equalTo( expected ) );
+    }
+
+    private List<List<Map<String,Object>>> runQueries( String readPath )
+    {
+        File storeDir = testDirectory.graphDbDir();
+        GraphDatabaseService db = new TestEnterpriseGraphDatabaseFactory().newEmbeddedDatabaseBuilder( storeDir )
+                .setConfig( read_only, "true" )
+                .setConfig( record_read_path, readPath )
+                .newGraphDatabase();
+        try
+        {
+            if ( !readPath.isEmpty() )
+            {
+                assertThat( ((GraphDatabaseAPI) db).getDependencyResolver().resolveDependency( RecordReadPath.class ),
+                        notNullValue() );
+            }
+            List<List<Map<String,Object>>> results = new ArrayList<>();
+            for ( String query : QUERIES )
+            {
+                try ( Result result = db.execute( "CYPHER runtime=slotted " + query ) )
+                {
+                    List<Map<String,Object>> rows = new ArrayList<>();
+                    while ( result.hasNext() )
+                    {
+                        rows.add( new LinkedHashMap<>( result.next() ) );
+                    }
+                    assertThat( query, result.getExecutionPlanDescription().getArguments().get( "runtime" ),
+                            equalTo( "SLOTTED" ) );
+                    results.add( rows );
+                }
+            }
+            return results;
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+}
@@ -120,6 +120,13 @@ object SlotAllocation {
         pipeline.newLong(leaf.idName, nullable, CTNode)
         pipeline
 
+      case DirectedRelationshipTypeScan(idName, startNode, _, endNode, _) =>
+        val pipeline = argument.getOrElse(PipelineInformation.empty)
+        pipeline.newLong(idName, nullable, CTRelationship)
+        pipeline.newLong(startNode, nullable, CTNode)
+        pipeline.newLong(endNode, nullable, CTNode)
+        pipeline
+
       case SingleRow() =>
         argument.getOrElse(PipelineInformation.empty)
 
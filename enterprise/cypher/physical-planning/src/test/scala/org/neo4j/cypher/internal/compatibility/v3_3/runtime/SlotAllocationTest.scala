@@ -78,6 +78,22 @@ class SlotAllocationTest extends CypherFunSuite with LogicalPlanningTestSupport2
     allocations(plan.assignedId) should equal(PipelineInformation(Map("x" -> LongSlot(0, nullable = false, CTNode, "x")), 1, 0))
   }
 
+  test("single directed relationship type scan") {
+    // given
+    val plan = DirectedRelationshipTypeScan(r, x, RelTypeName("T")(pos), y, Set.empty)(solved)
+    plan.assignIds()
+
+    // when
+    val allocations = SlotAllocation.allocateSlots(plan)
+
+    // then
+    allocations should have size 1
+    allocations(plan.assignedId) should equal(PipelineInformation(Map(
+      "r" -> LongSlot(0, nullable = false, CTRelationship, "r"),
+      "x" -> LongSlot(1, nullable = false, CTNode, "x"),
+      "y" -> LongSlot(2, nullable = false, CTNode, "y")), 3, 0))
+  }
+
   test("labelscan with filtering") {
     // given
     val leaf = NodeByLabelScan(x, LABEL, Set.empty)(solved)
@@ -63,11 +63,18 @@ class SlottedPipeBuilder(fallback: PipeBuilder,
       case NodeIndexScan(column, label, propertyKeys, _) =>
         NodeIndexScanSlottedPipe(column, label, propertyKeys, pipelineInformation)(id)
 
+      case NodePropertyColumnScan(column, label, propertyKey, _) =>
+        NodePropertyColumnScanSlottedPipe(column, label, propertyKey, pipelineInformation)(id)
+
       case NodeIndexSeek(column, label, propertyKeys, valueExpr, _) =>
         val indexSeekMode = IndexSeekModeFactory(unique = false, readOnly = readOnly).fromQueryExpression(valueExpr)
         NodeIndexSeekSlottedPipe(column, label, propertyKeys,
                                   valueExpr.map(convertExpressions), indexSeekMode, pipelineInformation)(id)
 
+      case OrderedNodeIndexSeek(column, label, propertyKeys, valueExpr, _, indexOrder) =>
+        NodeIndexSeekSlottedPipe(column, label, propertyKeys, valueExpr.map(convertExpressions),
+                                  OrderedIndexSeekByRange(indexOrder), pipelineInformation)(id)
+
       case NodeUniqueIndexSeek(column, label, propertyKeys, valueExpr, _) =>
         val indexSeekMode = IndexSeekModeFactory(unique = true, readOnly = readOnly).fromQueryExpression(valueExpr)
         NodeIndexSeekSlottedPipe(column, label, propertyKeys,
@@ -79,6 +86,12 @@ class SlottedPipeBuilder(fallback: PipeBuilder,
       case NodeByLabelScan(column, label, _) =>
         NodesByLabelScanSlottedPipe(column, LazyLabel(label), pipelineInformation)(id)
 
+      case NodeByLabelIntersectionScan(column, labels, _) =>
+        NodesByLabelIntersectionScanSlottedPipe(column, labels.map(LazyLabel(_)), pipelineInformation)(id)
+
+      case DirectedRelationshipTypeScan(column, startNode, typ, endNode, _) =>
+        DirectedRelationshipTypeScanSlottedPipe(column, startNode, LazyType(typ), endNode, pipelineInformation)(id)
+
       case SingleRow() =>
         SingleRowSlottedPipe(pipelineInformation)(id)
 
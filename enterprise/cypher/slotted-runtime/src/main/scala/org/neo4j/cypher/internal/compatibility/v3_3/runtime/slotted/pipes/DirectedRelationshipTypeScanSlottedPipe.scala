@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.cypher.internal.compatibility.v3_3.runtime.slotted.pipes
+
+import org.neo4j.cypher.internal.compatibility.v3_3.runtime.helpers.PrimitiveLongHelper
+import org.neo4j.cypher.internal.compatibility.v3_3.runtime.pipes.{LazyType, Pipe, QueryState}
+import org.neo4j.cypher.internal.compatibility.v3_3.runtime.slotted.PrimitiveExecutionContext
+import org.neo4j.cypher.internal.compatibility.v3_3.runtime.{ExecutionContext, PipelineInformation}
+import org.neo4j.cypher.internal.frontend.v3_3.InternalException
+import org.neo4j.cypher.internal.v3_3.logical.plans.LogicalPlanId
+import org.neo4j.kernel.impl.api.RelationshipVisitor
+
+case class DirectedRelationshipTypeScanSlottedPipe(ident: String, fromNode: String, typ: LazyType, toNode: String,
+                                                   pipelineInformation: PipelineInformation)
+                                                  (val id: LogicalPlanId = LogicalPlanId.DEFAULT) extends Pipe {
+
+  private val relOffset = pipelineInformation.getLongOffsetFor(ident)
+  private val fromOffset = pipelineInformation.getLongOffsetFor(fromNode)
+  private val toOffset = pipelineInformation.getLongOffsetFor(toNode)
+
+  protected def internalCreateResults(state: QueryState): Iterator[ExecutionContext] = {
+    typ.getOptId(state.query) match {
+      case Some(typeId) =>
+        val relationships = state.query.getRelationshipsByTypePrimitive(typeId)
+        var startNode: Long = 0
+        var endNode: Long = 0
+
+        val relVisitor = new RelationshipVisitor[InternalException] {
+          override def visit(relationshipId: Long, typeId: Int, startNodeId: Long, endNodeId: Long): Unit = {
+            startNode = startNodeId
+            endNode = endNodeId
+          }
+        }
+
+        PrimitiveLongHelper.map(relationships, { relId =>
+          relationships.relationshipVisit(relId, relVisitor)
+          val context = PrimitiveExecutionContext(pipelineInformation)
+          state.copyArgumentStateTo(context)
+          context.setLongAt(relOffset, relId)
+          context.setLongAt(fromOffset, startNode)
+          context.setLongAt(toOffset, endNode)
+          context
+        })
+      case None =>
+        Iterator.empty
+    }
+  }
+}
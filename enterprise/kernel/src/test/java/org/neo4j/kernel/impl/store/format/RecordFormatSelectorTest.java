@@ -36,6 +36,7 @@ import org.neo4j.kernel.impl.store.format.highlimit.v300.HighLimitV3_0_0;
 import org.neo4j.kernel.impl.store.format.highlimit.v306.HighLimitV3_0_6;
 import org.neo4j.kernel.impl.store.format.highlimit.v310.HighLimitV3_1_0;
 import org.neo4j.kernel.impl.store.format.standard.Standard;
+import org.neo4j.kernel.impl.store.format.standard.StandardDictionaryStrings;
 import org.neo4j.kernel.impl.store.format.standard.StandardV2_3;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_0;
 import org.neo4j.kernel.impl.store.format.standard.StandardV3_2;
@@ -90,6 +91,8 @@ public class RecordFormatSelectorTest
         assertSame( StandardV2_3.RECORD_FORMATS, selectForVersion( StandardV2_3.STORE_VERSION ) );
         assertSame( StandardV3_0.RECORD_FORMATS, selectForVersion( StandardV3_0.STORE_VERSION ) );
         assertSame( StandardV3_2.RECORD_FORMATS, selectForVersion( StandardV3_2.STORE_VERSION ) );
+        assertSame( StandardDictionaryStrings.RECORD_FORMATS,
+                selectForVersion( StandardDictionaryStrings.STORE_VERSION ) );
         assertSame( HighLimitV3_0_0.RECORD_FORMATS, selectForVersion( HighLimitV3_0_0.STORE_VERSION ) );
         assertSame( HighLimitV3_1_0.RECORD_FORMATS, selectForVersion( HighLimitV3_1_0.STORE_VERSION ) );
         assertSame( HighLimit.RECORD_FORMATS, selectForVersion( HighLimit.STORE_VERSION ) );
@@ -114,6 +117,8 @@ public class RecordFormatSelectorTest
     {
         assertSame( Standard.LATEST_RECORD_FORMATS, selectForConfig( config( Standard.LATEST_NAME ), LOG ) );
         assertSame( HighLimit.RECORD_FORMATS, selectForConfig( config( HighLimit.NAME ), LOG ) );
+        assertSame( StandardDictionaryStrings.RECORD_FORMATS,
+                selectForConfig( config( StandardDictionaryStrings.NAME ), LOG ) );
     }
 
     @Test
@@ -331,6 +336,18 @@ public class RecordFormatSelectorTest
         assertSame( HighLimit.RECORD_FORMATS, selectNewestFormat( config, storeDir, fs, getPageCache(), LOG ) );
     }
 
+    @Test
+    public void selectNewestFormatForExistingDictionaryStringsStore() throws IOException
+    {
+        PageCache pageCache = getPageCache();
+        prepareNeoStoreFile( StandardDictionaryStrings.STORE_VERSION, pageCache );
+
+        Config config = Config.defaults();
+
+        assertSame( StandardDictionaryStrings.RECORD_FORMATS,
+                selectNewestFormat( config, storeDir, fs, getPageCache(), LOG ) );
+    }
+
     @Test
     public void selectNewestFormatForExistingStoreWithLegacyFormat() throws IOException
     {
@@ -353,6 +370,7 @@ public class RecordFormatSelectorTest
     {
         assertEquals( StandardV3_0.RECORD_FORMATS, findSuccessor( StandardV2_3.RECORD_FORMATS ).get() );
         assertEquals( StandardV3_2.RECORD_FORMATS, findSuccessor( StandardV3_0.RECORD_FORMATS ).get() );
+        assertFalse( findSuccessor( StandardV3_2.RECORD_FORMATS ).isPresent() );
 
         assertEquals( HighLimitV3_0_6.RECORD_FORMATS, findSuccessor( HighLimitV3_0_0.RECORD_FORMATS ).get() );
         assertEquals( HighLimitV3_1_0.RECORD_FORMATS, findSuccessor( HighLimitV3_0_6.RECORD_FORMATS ).get() );
@@ -116,6 +116,8 @@ public class StoreMigratorTest
         actualVersions.add( StoreVersion.STANDARD_V3_0.versionString() );
         assertFalse( storeMigrator.countStoreRebuildRequired( StoreVersion.STANDARD_V3_2.versionString() ) );
         actualVersions.add( StoreVersion.STANDARD_V3_2.versionString() );
+        assertFalse( storeMigrator.countStoreRebuildRequired( StoreVersion.STANDARD_DICTIONARY_STRINGS_V3_3.versionString() ) );
+        actualVersions.add( StoreVersion.STANDARD_DICTIONARY_STRINGS_V3_3.versionString() );
         assertTrue( storeMigrator.countStoreRebuildRequired( StoreVersion.HIGH_LIMIT_V3_0_0.versionString() ) );
         actualVersions.add( StoreVersion.HIGH_LIMIT_V3_0_0.versionString() );
         assertTrue( storeMigrator.countStoreRebuildRequired( StoreVersion.HIGH_LIMIT_V3_0_6.versionString() ) );
@@ -46,6 +46,8 @@ public class CoreMetrics extends LifecycleAdapter
     public static final String TERM = name( CAUSAL_CLUSTERING_PREFIX, "term" );
     @Documented( "Leader was not found while attempting to commit a transaction" )
     public static final String LEADER_NOT_FOUND = name( CAUSAL_CLUSTERING_PREFIX, "leader_not_found" );
+    @Documented( "Replication round trips saved by coalescing lock token requests and growing id allocations" )
+    public static final String ROUND_TRIPS_SAVED = name( CAUSAL_CLUSTERING_PREFIX, "replication_round_trips_saved" );
     @Documented( "Transaction retries" )
     public static final String TX_RETRIES = name( CAUSAL_CLUSTERING_PREFIX, "tx_retries" );
     @Documented( "Is this server the leader?" )
@@ -62,6 +64,8 @@ public class CoreMetrics extends LifecycleAdapter
     public static final String HITS = name( CAUSAL_CLUSTERING_PREFIX, "in_flight_cache", "hits" );
     @Documented( "In-flight cache misses" )
     public static final String MISSES = name( CAUSAL_CLUSTERING_PREFIX, "in_flight_cache", "misses" );
+    @Documented( "The ratio of hits to the total number of lookups in the in-flight cache" )
+    public static final String HIT_RATIO = name( CAUSAL_CLUSTERING_PREFIX, "in_flight_cache", "hit_ratio" );
     @Documented( "Delay between RAFT message receive and process" )
     public static final String DELAY = name( CAUSAL_CLUSTERING_PREFIX, "message_processing_delay" );
     @Documented( "Timer for RAFT message processing" )
@@ -77,6 +81,7 @@ public class CoreMetrics extends LifecycleAdapter
     private final LeaderNotFoundMetric leaderNotFoundMetric = new LeaderNotFoundMetric();
     private final TxPullRequestsMetric txPullRequestsMetric = new TxPullRequestsMetric();
     private final TxRetryMetric txRetryMetric = new TxRetryMetric();
+    private final RoundTripsSavedMetric roundTripsSavedMetric = new RoundTripsSavedMetric();
     private final InFlightCacheMetric inFlightCacheMetric = new InFlightCacheMetric();
     private final RaftMessageProcessingMetric raftMessageProcessingMetric = RaftMessageProcessingMetric.create();
 
@@ -96,6 +101,7 @@ public class CoreMetrics extends LifecycleAdapter
         monitors.addMonitorListener( leaderNotFoundMetric );
         monitors.addMonitorListener( txPullRequestsMetric );
         monitors.addMonitorListener( txRetryMetric );
+        monitors.addMonitorListener( roundTripsSavedMetric );
         monitors.addMonitorListener( inFlightCacheMetric );
         monitors.addMonitorListener( raftMessageProcessingMetric );
 
@@ -104,10 +110,12 @@ public class CoreMetrics extends LifecycleAdapter
         registry.register( TERM, (Gauge<Long>) raftTermMetric::term );
         registry.register( LEADER_NOT_FOUND, (Gauge<Long>) leaderNotFoundMetric::leaderNotFoundExceptions );
         registry.register( TX_RETRIES, (Gauge<Long>) txRetryMetric::transactionsRetries );
+        registry.register( ROUND_TRIPS_SAVED, (Gauge<Long>) roundTripsSavedMetric::roundTripsSaved );
         registry.register( IS_LEADER, new LeaderGauge() );
         registry.register( TOTAL_BYTES, (Gauge<Long>) inFlightCacheMetric::getTotalBytes );
         registry.register( HITS, (Gauge<Long>) inFlightCacheMetric::getHits );
         registry.register( MISSES, (Gauge<Long>) inFlightCacheMetric::getMisses );
+        registry.register( HIT_RATIO, (Gauge<Double>) inFlightCacheMetric::getHitRatio );
         registry.register( MAX_BYTES, (Gauge<Long>) inFlightCacheMetric::getMaxBytes );
         registry.register( MAX_ELEMENTS, (Gauge<Long>) inFlightCacheMetric::getMaxElements );
         registry.register( ELEMENT_COUNT, (Gauge<Long>) inFlightCacheMetric::getElementCount );
@@ -128,10 +136,12 @@ public class CoreMetrics extends LifecycleAdapter
         registry.remove( TERM );
         registry.remove( LEADER_NOT_FOUND );
         registry.remove( TX_RETRIES );
+        registry.remove( ROUND_TRIPS_SAVED );
         registry.remove( IS_LEADER );
         registry.remove( TOTAL_BYTES );
         registry.remove( HITS );
         registry.remove( MISSES );
+        registry.remove( HIT_RATIO );
         registry.remove( MAX_BYTES );
         registry.remove( MAX_ELEMENTS );
         registry.remove( ELEMENT_COUNT );
@@ -149,6 +159,7 @@ public class CoreMetrics extends LifecycleAdapter
         monitors.removeMonitorListener( leaderNotFoundMetric );
         monitors.removeMonitorListener( txPullRequestsMetric );
         monitors.removeMonitorListener( txRetryMetric );
+        monitors.removeMonitorListener( roundTripsSavedMetric );
         monitors.removeMonitorListener( inFlightCacheMetric );
         monitors.removeMonitorListener( raftMessageProcessingMetric );
     }
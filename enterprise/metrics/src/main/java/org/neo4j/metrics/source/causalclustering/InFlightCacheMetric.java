@@ -19,12 +19,16 @@
  */
 package org.neo4j.metrics.source.causalclustering;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import org.neo4j.causalclustering.core.consensus.log.cache.InFlightCacheMonitor;
+import org.neo4j.helpers.MathUtil;
 
 public class InFlightCacheMetric implements InFlightCacheMonitor
 {
-    private volatile long misses;
-    private volatile long hits;
+    // Hits and misses are counted by concurrent readers of the cache.
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder hits = new LongAdder();
     private volatile long totalBytes;
     private volatile long maxBytes;
     private volatile int elementCount;
@@ -33,23 +37,28 @@ public class InFlightCacheMetric implements InFlightCacheMonitor
     @Override
     public void miss()
     {
-        misses++;
+        misses.increment();
     }
 
     @Override
     public void hit()
     {
-        hits++;
+        hits.increment();
     }
 
     public long getMisses()
     {
-        return misses;
+        return misses.sum();
     }
 
     public long getHits()
     {
-        return hits;
+        return hits.sum();
+    }
+
+    public double getHitRatio()
+    {
+        return MathUtil.portion( getHits(), getMisses() );
     }
 
     public long getMaxBytes()
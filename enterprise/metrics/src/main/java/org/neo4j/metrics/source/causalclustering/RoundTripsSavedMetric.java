@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.metrics.source.causalclustering;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.causalclustering.core.state.machines.RoundTripsSavedMonitor;
+
+public class RoundTripsSavedMetric implements RoundTripsSavedMonitor
+{
+    private AtomicLong count = new AtomicLong( 0 );
+
+    @Override
+    public long roundTripsSaved()
+    {
+        return count.get();
+    }
+
+    @Override
+    public void saved( long roundTrips )
+    {
+        count.addAndGet( roundTrips );
+    }
+}
@@ -39,6 +39,8 @@ public class BoltMetrics extends LifecycleAdapter
     @Documented( "The total number of Bolt sessions started since this instance started. This includes both " +
                  "succeeded and failed sessions." )
     public static final String SESSIONS_STARTED = name( NAME_PREFIX, "sessions_started" );
+    @Documented( "The total number of Bolt sessions ended since this instance started." )
+    public static final String SESSIONS_ENDED = name( NAME_PREFIX, "sessions_ended" );
     @Documented( "The total number of messages received via Bolt since this instance started." )
     public static final String MESSAGES_RECIEVED = name( NAME_PREFIX, "messages_received" );
     @Documented( "The total number of messages work has started on since this instance started. This is different " +
@@ -69,6 +71,7 @@ public class BoltMetrics extends LifecycleAdapter
     {
         monitors.addMonitorListener( boltMonitor );
         registry.register( SESSIONS_STARTED, (Gauge<Long>) boltMonitor.sessionsStarted::get );
+        registry.register( SESSIONS_ENDED, (Gauge<Long>) boltMonitor.sessionsEnded::get );
         registry.register( MESSAGES_RECIEVED, (Gauge<Long>) boltMonitor.messagesReceived::get );
         registry.register( MESSAGES_STARTED, (Gauge<Long>) boltMonitor.messagesStarted::get );
         registry.register( MESSAGES_DONE, (Gauge<Long>) boltMonitor.messagesDone::get );
@@ -79,6 +82,7 @@ public class BoltMetrics extends LifecycleAdapter
     @Override
     public void stop()
     {
+        registry.remove( SESSIONS_ENDED );
         registry.remove( MESSAGES_RECIEVED );
         registry.remove( MESSAGES_STARTED );
         registry.remove( MESSAGES_DONE );
@@ -90,6 +94,7 @@ public class BoltMetrics extends LifecycleAdapter
     private class BoltMetricsMonitor implements MonitoredWorkerFactory.SessionMonitor
     {
         final AtomicLong sessionsStarted = new AtomicLong();
+        final AtomicLong sessionsEnded = new AtomicLong();
 
         final AtomicLong messagesReceived = new AtomicLong();
         final AtomicLong messagesStarted = new AtomicLong();
@@ -107,6 +112,12 @@ public class BoltMetrics extends LifecycleAdapter
             sessionsStarted.incrementAndGet();
         }
 
+        @Override
+        public void sessionEnded()
+        {
+            sessionsEnded.incrementAndGet();
+        }
+
         @Override
         public void messageReceived()
         {
@@ -21,6 +21,7 @@ package org.neo4j.internal.store.prototype.neole;
 
 import java.nio.BufferUnderflowException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import org.neo4j.internal.store.cursors.ReadCursor;
 
@@ -29,8 +30,8 @@ import static org.neo4j.internal.store.prototype.neole.ReadStore.combineReferenc
 import static org.neo4j.internal.store.prototype.neole.ReadStore.nextPowerOfTwo;
 
 /**
- * The ByteBlockCursor would be used to read data from dynamic stores. This will help if we decide to implement
- * loading of heavy properties in NeoLE.
+ * The ByteBlockCursor reads data from dynamic stores, i.e. the records of strings and arrays too big to be
+ * stored in property records.
  */
 class ByteBlockCursor extends ReadCursor
 {
@@ -60,12 +61,10 @@ class ByteBlockCursor extends ReadCursor
      */
     private static final int HEADER_SIZE = 8;
     public static final Charset UTF8 = Charset.forName( "UTF-8" );
-    private final ReadStore store;
     private final int recordSize;
 
-    ByteBlockCursor( ReadStore store, int recordSize )
+    ByteBlockCursor( int recordSize )
     {
-        this.store = store;
         this.recordSize = recordSize;
     }
 
@@ -106,19 +105,28 @@ class ByteBlockCursor extends ReadCursor
 
     String stringProperty()
     {
-        byte[] buffer;
-        int length;
-        if ( !hasNext() )
-        {
-            buffer = new byte[dataBytes()];
-            length = readChunk( HEADER_SIZE, buffer, 0, buffer.length );
-        }
-        else
+        return new String( bytes(), UTF8 );
+    }
+
+    /**
+     * @return the data of this block followed by the data of the remaining blocks in the chain.
+     */
+    byte[] bytes()
+    {
+        byte[] buffer = new byte[hasNext() ? nextPowerOfTwo( 2 * blockSize() ) : dataBytes()];
+        int length = 0;
+        do
         {
-            buffer = new byte[nextPowerOfTwo( 2 * (dataBound() - HEADER_SIZE) )];
-            length = 0; // TODO: read data!
+            int bytes = dataBytes();
+            if ( buffer.length < length + bytes )
+            {
+                buffer = Arrays.copyOf( buffer, nextPowerOfTwo( length + bytes ) );
+            }
+            read( HEADER_SIZE, buffer, length, bytes );
+            length += bytes;
         }
-        return new String( buffer, 0, length, UTF8 );
+        while ( next() );
+        return length == buffer.length ? buffer : Arrays.copyOf( buffer, length );
     }
 
     private String[] stringArray()
@@ -217,8 +225,7 @@ class ByteBlockCursor extends ReadCursor
         {
             return false;
         }
-        store.block( next, this );
-        return true;
+        return moveToVirtualAddress( next );
     }
 
     int dataBytes()
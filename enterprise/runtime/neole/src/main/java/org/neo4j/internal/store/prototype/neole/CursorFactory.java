@@ -54,7 +54,7 @@ class CursorFactory implements org.neo4j.internal.kernel.api.CursorFactory
     @Override
     public PropertyCursor allocatePropertyCursor()
     {
-        return new PropertyCursor();
+        return new PropertyCursor( store );
     }
 
     @Override
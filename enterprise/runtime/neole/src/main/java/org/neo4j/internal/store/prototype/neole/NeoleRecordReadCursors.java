@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.store.prototype.neole;
+
+import java.util.function.IntPredicate;
+
+import org.neo4j.cursor.Cursor;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordReadCursors;
+import org.neo4j.kernel.impl.util.InstanceCache;
+import org.neo4j.storageengine.api.Direction;
+import org.neo4j.storageengine.api.NodeItem;
+import org.neo4j.storageengine.api.RelationshipItem;
+
+class NeoleRecordReadCursors implements RecordReadCursors
+{
+    private final InstanceCache<NodeItemCursor> singleNodeCursor;
+    private final InstanceCache<SingleRelationshipItemCursor> singleRelationshipCursor;
+    private final InstanceCache<NodeRelationshipItemCursor> nodeRelationshipsCursor;
+
+    NeoleRecordReadCursors( ReadStore store )
+    {
+        singleNodeCursor = new InstanceCache<NodeItemCursor>()
+        {
+            @Override
+            protected NodeItemCursor create()
+            {
+                return new NodeItemCursor( store, this );
+            }
+        };
+        singleRelationshipCursor = new InstanceCache<SingleRelationshipItemCursor>()
+        {
+            @Override
+            protected SingleRelationshipItemCursor create()
+            {
+                return new SingleRelationshipItemCursor( store, this );
+            }
+        };
+        nodeRelationshipsCursor = new InstanceCache<NodeRelationshipItemCursor>()
+        {
+            @Override
+            protected NodeRelationshipItemCursor create()
+            {
+                return new NodeRelationshipItemCursor( store, this );
+            }
+        };
+    }
+
+    @Override
+    public Cursor<NodeItem> acquireSingleNodeCursor( long nodeId )
+    {
+        return singleNodeCursor.get().init( nodeId );
+    }
+
+    @Override
+    public Cursor<RelationshipItem> acquireSingleRelationshipCursor( long relationshipId )
+    {
+        return singleRelationshipCursor.get().init( relationshipId );
+    }
+
+    @Override
+    public Cursor<RelationshipItem> acquireNodeRelationshipCursor( boolean isDense, long nodeId,
+            long relationshipId, Direction direction, IntPredicate relTypeFilter )
+    {
+        return nodeRelationshipsCursor.get().init( isDense, nodeId, relationshipId, direction, relTypeFilter );
+    }
+
+    @Override
+    public void close()
+    {
+        // the cursors only refer to memory mapped by the store, there is nothing to release
+    }
+}
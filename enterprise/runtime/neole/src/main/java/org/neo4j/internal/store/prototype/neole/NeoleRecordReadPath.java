@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.store.prototype.neole;
+
+import org.neo4j.collection.primitive.PrimitiveLongCollections.PrimitiveLongBaseIterator;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordReadCursors;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordReadPath;
+
+class NeoleRecordReadPath implements RecordReadPath
+{
+    private final ReadStore store;
+
+    NeoleRecordReadPath( ReadStore store )
+    {
+        this.store = store;
+    }
+
+    @Override
+    public PrimitiveLongIterator nodesGetAll()
+    {
+        NodeCursor nodes = new NodeCursor( store );
+        store.allNodesScan( nodes );
+        return new PrimitiveLongBaseIterator()
+        {
+            @Override
+            protected boolean fetchNext()
+            {
+                if ( nodes.next() )
+                {
+                    return next( nodes.nodeReference() );
+                }
+                nodes.close();
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public RecordReadCursors newCursors()
+    {
+        return new NeoleRecordReadCursors( store );
+    }
+
+    @Override
+    public void close()
+    {
+        store.shutdown();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.store.prototype.neole;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.neo4j.helpers.Service;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordReadPath;
+
+/**
+ * Makes the neole store readable by the record storage engine, selected by setting
+ * {@link org.neo4j.graphdb.factory.GraphDatabaseSettings#record_read_path} to {@value #NAME} on a read only database.
+ */
+@Service.Implementation( RecordReadPath.Factory.class )
+public class NeoleRecordReadPathFactory extends RecordReadPath.Factory
+{
+    public static final String NAME = "neole";
+
+    public NeoleRecordReadPathFactory()
+    {
+        super( NAME );
+    }
+
+    @Override
+    public RecordReadPath open( File storeDir ) throws IOException
+    {
+        return new NeoleRecordReadPath( new ReadStore( storeDir ) );
+    }
+}
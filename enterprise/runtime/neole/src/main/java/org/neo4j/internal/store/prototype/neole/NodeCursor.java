@@ -19,6 +19,9 @@
  */
 package org.neo4j.internal.store.prototype.neole;
 
+import java.util.Arrays;
+
+import org.neo4j.helpers.collection.Pair;
 import org.neo4j.internal.kernel.api.LabelSet;
 import org.neo4j.internal.kernel.api.PropertyCursor;
 import org.neo4j.internal.kernel.api.RelationshipGroupCursor;
@@ -29,6 +32,9 @@ import static org.neo4j.internal.store.prototype.neole.PartialPropertyCursor.NO_
 import static org.neo4j.internal.store.prototype.neole.ReadStore.combineReference;
 import static org.neo4j.internal.store.prototype.neole.RelationshipCursor.NO_RELATIONSHIP;
 import static org.neo4j.internal.store.prototype.neole.RelationshipGroupCursor.encodeDirectRelationshipReference;
+import static org.neo4j.kernel.impl.store.DynamicArrayStore.NUMBER_HEADER_SIZE;
+import static org.neo4j.kernel.impl.store.DynamicArrayStore.getRightArray;
+import static org.neo4j.kernel.impl.store.LabelIdArray.stripNodeId;
 
 class NodeCursor extends ReadCursor implements org.neo4j.internal.kernel.api.NodeCursor
 {
@@ -60,6 +66,9 @@ class NodeCursor extends ReadCursor implements org.neo4j.internal.kernel.api.Nod
     static final int RECORD_SIZE = 15;
     protected final ReadStore store;
     private long maxReference;
+    private int[] labelIds = new int[8];
+    private int labelCount = -1;
+    private ByteBlockCursor labelBlocks;
 
     NodeCursor( ReadStore store )
     {
@@ -76,6 +85,7 @@ class NodeCursor extends ReadCursor implements org.neo4j.internal.kernel.api.Nod
     @Override
     public boolean next()
     {
+        labelCount = -1;
         while ( scanNextByVirtualAddress( maxReference ) )
         {
             if ( inUse() )
@@ -101,36 +111,103 @@ class NodeCursor extends ReadCursor implements org.neo4j.internal.kernel.api.Nod
 
     @Override
     public LabelSet labels()
+    {
+        int count = labelCount();
+        return count == 0 ? LabelSet.NONE : new Labels( Arrays.copyOf( labelIds, count ) );
+    }
+
+    /**
+     * @return number of labels of the current node, the label ids are the first that many items of
+     * {@link #labelIds()}.
+     */
+    int labelCount()
+    {
+        if ( labelCount == -1 )
+        {
+            readLabels();
+        }
+        return labelCount;
+    }
+
+    /**
+     * @return array holding the label ids of the current node, reused between nodes.
+     */
+    int[] labelIds()
+    {
+        labelCount();
+        return labelIds;
+    }
+
+    private void readLabels()
     {
         long field = unsignedInt( 9 ) | (((long) unsignedByte( 13 )) << 32);
         if ( (field & 0x80_0000_0000L) != 0 ) // reference to labels store
         {
-            throw new UnsupportedOperationException( "not implemented" );
+            long[] labels = dynamicLabels( field & 0x0F_FFFF_FFFFL );
+            ensureLabelCapacity( labels.length );
+            for ( int i = 0; i < labels.length; i++ )
+            {
+                labelIds[i] = (int) labels[i];
+            }
+            labelCount = labels.length;
         }
         else // inlined labels
         {
             int numberOfLabels = (int) ((field & 0x70_0000_0000L) >>> 36); // 0 - 7
-            if ( numberOfLabels == 0 )
-            {
-                return LabelSet.NONE;
-            }
-            int bitsPerLabel = 36 / numberOfLabels; // 5 - 36
-            int[] labels = new int[numberOfLabels];
-            long mask = (1L << bitsPerLabel) - 1;
-            for ( int i = 0; i < numberOfLabels; i++ )
+            if ( numberOfLabels > 0 )
             {
-                labels[i] = (int) (field & mask);
-                field >>= bitsPerLabel;
+                int bitsPerLabel = 36 / numberOfLabels; // 5 - 36
+                long mask = (1L << bitsPerLabel) - 1;
+                for ( int i = 0; i < numberOfLabels; i++ )
+                {
+                    labelIds[i] = (int) (field & mask);
+                    field >>= bitsPerLabel;
+                }
             }
-            return new Labels( labels );
+            labelCount = numberOfLabels;
+        }
+    }
+
+    private long[] dynamicLabels( long reference )
+    {
+        if ( labelBlocks == null )
+        {
+            labelBlocks = new ByteBlockCursor( store.labelStoreRecordSize() );
         }
+        store.labelBlock( reference, labelBlocks );
+        byte[] bytes = labelBlocks.bytes();
+        byte[] header = Arrays.copyOf( bytes, NUMBER_HEADER_SIZE );
+        byte[] data = Arrays.copyOfRange( bytes, NUMBER_HEADER_SIZE, bytes.length );
+        // the first item of the stored array is the id of the node owning the labels
+        return stripNodeId( (long[]) getRightArray( Pair.of( header, data ) ).asObject() );
+    }
+
+    private void ensureLabelCapacity( int capacity )
+    {
+        if ( labelIds.length < capacity )
+        {
+            labelIds = new int[ReadStore.nextPowerOfTwo( capacity )];
+        }
+    }
+
+    boolean isDense()
+    {
+        return (readByte( 14 ) & 0x01) != 0;
+    }
+
+    /**
+     * @return the first relationship of a node which isn't dense, the first relationship group of a dense node.
+     */
+    long relationshipsReference()
+    {
+        return combineReference( unsignedInt( 1 ), (unsignedByte( 0 ) & 0x0EL) << 31 );
     }
 
     @Override
     public long relationshipGroupReference()
     {
-        long relationships = combineReference( unsignedInt( 1 ), (unsignedByte( 0 ) & 0x0EL) << 31 );
-        if ( (readByte( 14 ) & 0x01) != 0 )
+        long relationships = relationshipsReference();
+        if ( isDense() )
         {
             return relationships;
         }
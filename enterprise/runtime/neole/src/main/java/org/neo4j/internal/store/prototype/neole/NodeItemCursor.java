@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.store.prototype.neole;
+
+import java.util.function.Consumer;
+
+import org.neo4j.collection.primitive.Primitive;
+import org.neo4j.collection.primitive.PrimitiveIntSet;
+import org.neo4j.collection.primitive.PrimitiveIntVisitor;
+import org.neo4j.cursor.Cursor;
+import org.neo4j.kernel.impl.locking.Lock;
+import org.neo4j.storageengine.api.NodeItem;
+
+import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_NODE;
+import static org.neo4j.kernel.impl.locking.LockService.NO_LOCK;
+
+/**
+ * Cursor for a single node, the neole counterpart of the kernel store single node cursor.
+ */
+class NodeItemCursor implements Cursor<NodeItem>, NodeItem
+{
+    private final ReadStore store;
+    private final NodeCursor node;
+    private final Consumer<NodeItemCursor> instanceCache;
+    private long nodeId = NO_SUCH_NODE;
+
+    NodeItemCursor( ReadStore store, Consumer<NodeItemCursor> instanceCache )
+    {
+        this.store = store;
+        this.node = new NodeCursor( store );
+        this.instanceCache = instanceCache;
+    }
+
+    NodeItemCursor init( long nodeId )
+    {
+        this.nodeId = nodeId;
+        return this;
+    }
+
+    @Override
+    public boolean next()
+    {
+        if ( nodeId != NO_SUCH_NODE )
+        {
+            try
+            {
+                if ( store.containsNode( nodeId ) )
+                {
+                    store.singleNode( nodeId, node );
+                    return node.next();
+                }
+            }
+            finally
+            {
+                nodeId = NO_SUCH_NODE;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public NodeItem get()
+    {
+        return this;
+    }
+
+    @Override
+    public void close()
+    {
+        node.close();
+        instanceCache.accept( this );
+    }
+
+    @Override
+    public long id()
+    {
+        return node.nodeReference();
+    }
+
+    @Override
+    public PrimitiveIntSet labels()
+    {
+        int count = node.labelCount();
+        int[] labelIds = node.labelIds();
+        PrimitiveIntSet set = Primitive.intSet( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            set.add( labelIds[i] );
+        }
+        return set;
+    }
+
+    @Override
+    public <E extends Exception> void visitLabels( PrimitiveIntVisitor<E> visitor ) throws E
+    {
+        int count = node.labelCount();
+        int[] labelIds = node.labelIds();
+        for ( int i = 0; i < count; i++ )
+        {
+            if ( visitor.visited( labelIds[i] ) )
+            {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasLabel( int labelId )
+    {
+        int count = node.labelCount();
+        int[] labelIds = node.labelIds();
+        for ( int i = 0; i < count; i++ )
+        {
+            if ( labelIds[i] == labelId )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isDense()
+    {
+        return node.isDense();
+    }
+
+    @Override
+    public long nextGroupId()
+    {
+        assert isDense();
+        return nextRelationshipId();
+    }
+
+    @Override
+    public long nextRelationshipId()
+    {
+        return node.relationshipsReference();
+    }
+
+    @Override
+    public long nextPropertyId()
+    {
+        return node.propertiesReference();
+    }
+
+    @Override
+    public Lock lock()
+    {
+        // only used for read only databases, there are no concurrent writers to guard against
+        return NO_LOCK;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.store.prototype.neole;
+
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+import org.neo4j.storageengine.api.Direction;
+
+import static org.neo4j.internal.store.prototype.neole.RelationshipCursor.NO_RELATIONSHIP;
+
+/**
+ * Cursor over the chain of relationships from one node, for both dense and non-dense nodes. For a dense node the
+ * chains of the relationship groups with an allowed type are visited, skipping chains not matching the direction,
+ * the same way as the kernel store node relationship cursor does.
+ */
+class NodeRelationshipItemCursor extends RelationshipItemCursor
+{
+    private final ReadStore store;
+    private final RelationshipTraversalCursor relationship;
+    private final RelationshipGroupCursor group;
+    private final Consumer<NodeRelationshipItemCursor> instanceCache;
+
+    // Reset all this state on init()
+    // --------
+    private long nodeId;
+    private boolean isDense;
+    private Direction direction;
+    private IntPredicate allowedTypes;
+    private boolean inChain;
+    private boolean inGroups;
+    private int groupChainIndex;
+    // --------
+
+    NodeRelationshipItemCursor( ReadStore store, Consumer<NodeRelationshipItemCursor> instanceCache )
+    {
+        this.store = store;
+        this.relationship = new RelationshipTraversalCursor( store );
+        this.group = new RelationshipGroupCursor( store, new RelationshipTraversalCursor( store ) );
+        this.instanceCache = instanceCache;
+    }
+
+    NodeRelationshipItemCursor init( boolean isDense, long nodeId, long firstRelId, Direction direction,
+            IntPredicate allowedTypes )
+    {
+        this.nodeId = nodeId;
+        this.isDense = isDense;
+        this.direction = direction;
+        this.allowedTypes = allowedTypes;
+        this.groupChainIndex = 0;
+        this.inGroups = false;
+        this.inChain = false;
+
+        if ( firstRelId != NO_RELATIONSHIP )
+        {
+            if ( isDense )
+            {
+                store.relationshipGroups( nodeId, firstRelId, group );
+                inGroups = group.next();
+                inChain = nextChain();
+            }
+            else
+            {
+                store.relationships( nodeId, firstRelId, relationship );
+                inChain = true;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    RelationshipCursor relationship()
+    {
+        return relationship;
+    }
+
+    @Override
+    public boolean next()
+    {
+        while ( inChain )
+        {
+            if ( relationship.next() )
+            {
+                if ( relationship.inUse() && matchesDirection() && allowedTypes.test( relationship.label() ) )
+                {
+                    return true;
+                }
+            }
+            else
+            {
+                // If there are no more relationships, and this is from a dense node, then
+                // traverse the next chain
+                inChain = isDense && nextChain();
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesDirection()
+    {
+        switch ( direction )
+        {
+        case BOTH:
+            return true;
+        case OUTGOING:
+            return relationship.isOutgoing();
+        case INCOMING:
+            return relationship.isIncoming();
+        default:
+            throw new IllegalStateException( "Unknown direction: " + direction );
+        }
+    }
+
+    private boolean nextChain()
+    {
+        while ( inGroups )
+        {
+            if ( allowedTypes.test( group.relationshipLabel() ) )
+            {
+                // Go to the next chain (direction) within this group
+                while ( groupChainIndex < GROUP_CHAINS.length )
+                {
+                    GroupChain groupChain = GROUP_CHAINS[groupChainIndex++];
+                    long chainStart = groupChain.chainStart( group );
+                    if ( chainStart != NO_RELATIONSHIP &&
+                         (direction == Direction.BOTH || groupChain.matchesDirection( direction )) )
+                    {
+                        store.relationships( nodeId, chainStart, relationship );
+                        return true;
+                    }
+                }
+            }
+            // Go to the next group
+            inGroups = group.next();
+            groupChainIndex = 0;
+        }
+        return false;
+    }
+
+    @Override
+    public void close()
+    {
+        relationship.close();
+        group.close();
+        instanceCache.accept( this );
+    }
+
+    private enum GroupChain
+    {
+        OUT
+                {
+                    @Override
+                    long chainStart( RelationshipGroupCursor group )
+                    {
+                        return group.outgoingReference();
+                    }
+
+                    @Override
+                    boolean matchesDirection( Direction direction )
+                    {
+                        return direction == Direction.OUTGOING;
+                    }
+                },
+        IN
+                {
+                    @Override
+                    long chainStart( RelationshipGroupCursor group )
+                    {
+                        return group.incomingReference();
+                    }
+
+                    @Override
+                    boolean matchesDirection( Direction direction )
+                    {
+                        return direction == Direction.INCOMING;
+                    }
+                },
+        LOOP
+                {
+                    @Override
+                    long chainStart( RelationshipGroupCursor group )
+                    {
+                        return group.loopsReference();
+                    }
+
+                    @Override
+                    boolean matchesDirection( Direction direction )
+                    {
+                        return true;
+                    }
+                };
+
+        abstract long chainStart( RelationshipGroupCursor group );
+
+        abstract boolean matchesDirection( Direction direction );
+    }
+
+    private static final GroupChain[] GROUP_CHAINS = GroupChain.values();
+}
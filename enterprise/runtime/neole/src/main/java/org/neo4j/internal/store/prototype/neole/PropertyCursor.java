@@ -60,6 +60,7 @@ class PropertyCursor extends PartialPropertyCursor
      * 10: ARRAY  REFERENCE
      * 11: SHORT STRING
      * 12: SHORT ARRAY
+     * 13: DICTIONARY STRING REFERENCE
      * </pre>
      * <h2>value formats</h2>
      * <pre>
@@ -87,12 +88,16 @@ class PropertyCursor extends PartialPropertyCursor
      */
     static final int RECORD_SIZE = 41;
     static final int BOOL = 1, BYTE = 2, SHORT = 3, CHAR = 4, INT = 5, LONG = 6, FLOAT = 7, DOUBLE = 8,
-            STRING_REFERENCE = 9, ARRAY_REFERENCE = 10, SHORT_STRING = 11, SHORT_ARRAY = 12;
+            STRING_REFERENCE = 9, ARRAY_REFERENCE = 10, SHORT_STRING = 11, SHORT_ARRAY = 12,
+            DICTIONARY_STRING_REFERENCE = 13;
 
+    private final ReadStore store;
     private int block;
+    private ByteBlockCursor strings;
 
-    PropertyCursor()
+    PropertyCursor( ReadStore store )
     {
+        this.store = store;
         block = Integer.MIN_VALUE;
     }
 
@@ -134,6 +139,10 @@ class PropertyCursor extends PartialPropertyCursor
     protected void closeImpl()
     {
         block = Integer.MIN_VALUE;
+        if ( strings != null )
+        {
+            strings.close();
+        }
     }
 
     @Override
@@ -185,6 +194,8 @@ class PropertyCursor extends PartialPropertyCursor
             return ValueGroup.NUMBER;
         case STRING_REFERENCE:
             return ValueGroup.TEXT;
+        case DICTIONARY_STRING_REFERENCE:
+            return ValueGroup.TEXT;
         case ARRAY_REFERENCE:
             throw new UnsupportedOperationException( "not implemented" );
         case SHORT_STRING:
@@ -230,7 +241,9 @@ class PropertyCursor extends PartialPropertyCursor
         case DOUBLE:
             return Values.doubleValue( Double.longBitsToDouble( block( this.block + 1 ) ) );
         case STRING_REFERENCE:
-            throw new UnsupportedOperationException( "not implemented" );
+        case DICTIONARY_STRING_REFERENCE:
+            // dictionary strings share the string store chain format, only the ownership of the chain differs
+            return Values.stringValue( readString( (valueBytes & 0xFFFF_FFFF_F000_0000L) >>> 28 ) );
         case ARRAY_REFERENCE:
             throw new UnsupportedOperationException( "not implemented" );
         case SHORT_STRING:
@@ -261,6 +274,16 @@ class PropertyCursor extends PartialPropertyCursor
         return RECORD_SIZE;
     }
 
+    private String readString( long reference )
+    {
+        if ( strings == null )
+        {
+            strings = new ByteBlockCursor( store.dynamicStoreRecordSize() );
+        }
+        store.block( reference, strings );
+        return strings.stringProperty();
+    }
+
     private boolean moreBlocksInRecord()
     {
         return block < 3;
@@ -273,7 +296,7 @@ class PropertyCursor extends PartialPropertyCursor
             return 1;
         }
         long valueBytes = block( this.block );
-        long typeId = (valueBytes & 0x1F00_0000L) >> 24;
+        long typeId = (valueBytes & 0x0F00_0000L) >> 24;
         if ( typeId == DOUBLE ||
                 (typeId == LONG && ( valueBytes & 0x0000_0000_1000_0000 ) == 0 ) )
         {
@@ -33,6 +33,7 @@ import org.neo4j.internal.store.cursors.MemoryManager;
 
 import static org.neo4j.internal.store.prototype.neole.PartialPropertyCursor.NO_PROPERTIES;
 import static org.neo4j.internal.store.prototype.neole.RelationshipCursor.NO_RELATIONSHIP;
+import static org.neo4j.internal.store.prototype.neole.StoreFile.dynamicSizeRecordFile;
 import static org.neo4j.internal.store.prototype.neole.StoreFile.fixedSizeRecordFile;
 
 public class ReadStore extends MemoryManager implements Read
@@ -40,9 +41,10 @@ public class ReadStore extends MemoryManager implements Read
     private static final String NODE_STORE = "neostore.nodestore.db", RELATIONSHIP_STORE =
             "neostore.relationshipstore.db",
             RELATIONSHIP_GROUP_STORE = "neostore.relationshipgroupstore.db", PROPERTY_STORE =
-            "neostore.propertystore.db";
+            "neostore.propertystore.db", STRING_STORE = "neostore.propertystore.db.strings",
+            LABEL_STORE = "neostore.nodestore.db.labels";
     private static final long INTEGER_MINUS_ONE = 0xFFFF_FFFFL;
-    private final StoreFile nodes, relationships, relationshipGroups, properties;
+    private final StoreFile nodes, relationships, relationshipGroups, properties, strings, labels;
 
     public ReadStore( File storeDir ) throws IOException
     {
@@ -53,6 +55,8 @@ public class ReadStore extends MemoryManager implements Read
                 fixedSizeRecordFile( new File( storeDir, RELATIONSHIP_GROUP_STORE ), org.neo4j.internal.store
                         .prototype.neole.RelationshipGroupCursor.RECORD_SIZE );
         this.properties = fixedSizeRecordFile( new File( storeDir, PROPERTY_STORE ), PropertyCursor.RECORD_SIZE );
+        this.strings = dynamicSizeRecordFile( new File( storeDir, STRING_STORE ) );
+        this.labels = dynamicSizeRecordFile( new File( storeDir, LABEL_STORE ) );
     }
 
     @Override
@@ -85,7 +89,7 @@ public class ReadStore extends MemoryManager implements Read
     @Override
     public void allNodesScan( org.neo4j.internal.kernel.api.NodeCursor cursor )
     {
-        ((NodeCursor) cursor).init( nodes, 0, nodes.maxReference );
+        ((NodeCursor) cursor).init( nodes, 0, nodes.maxReference - 1 );
     }
 
     @Override
@@ -111,7 +115,7 @@ public class ReadStore extends MemoryManager implements Read
     public void allRelationshipsScan( RelationshipScanCursor cursor )
     {
         ((org.neo4j.internal.store.prototype.neole.RelationshipScanCursor) cursor).
-                init( relationships, 0, relationships.maxReference );
+                init( relationships, 0, relationships.maxReference - 1 );
     }
 
     @Override
@@ -155,6 +159,17 @@ public class ReadStore extends MemoryManager implements Read
 
     @Override
     public void nodeProperties( long reference, org.neo4j.internal.kernel.api.PropertyCursor cursor )
+    {
+        properties( reference, cursor );
+    }
+
+    @Override
+    public void relationshipProperties( long reference, org.neo4j.internal.kernel.api.PropertyCursor cursor )
+    {
+        properties( reference, cursor );
+    }
+
+    private void properties( long reference, org.neo4j.internal.kernel.api.PropertyCursor cursor )
     {
         if ( reference == NO_PROPERTIES )
         {
@@ -166,12 +181,6 @@ public class ReadStore extends MemoryManager implements Read
         }
     }
 
-    @Override
-    public void relationshipProperties( long reference, org.neo4j.internal.kernel.api.PropertyCursor cursor )
-    {
-        throw new UnsupportedOperationException( "not implemented" );
-    }
-
     @Override
     public void futureNodeReferenceRead( long reference )
     {
@@ -198,13 +207,34 @@ public class ReadStore extends MemoryManager implements Read
 
     public void block( long reference, ByteBlockCursor cursor )
     {
-        throw new UnsupportedOperationException( "not implemented" );
+        if ( !strings.initializeCursor( reference, cursor ) )
+        {
+            throw new IllegalArgumentException( "Invalid string record reference: " + reference );
+        }
+    }
+
+    boolean containsNode( long reference )
+    {
+        return nodes.contains( reference );
+    }
+
+    boolean containsRelationship( long reference )
+    {
+        return relationships.contains( reference );
+    }
+
+    void labelBlock( long reference, ByteBlockCursor cursor )
+    {
+        if ( !labels.initializeCursor( reference, cursor ) )
+        {
+            throw new IllegalArgumentException( "Invalid label record reference: " + reference );
+        }
     }
 
     public void shutdown()
     {
         IllegalStateException failure = null;
-        for ( StoreFile file : new StoreFile[] {nodes} )
+        for ( StoreFile file : new StoreFile[] {nodes, relationships, relationshipGroups, properties, strings, labels} )
         {
             try
             {
@@ -259,6 +289,11 @@ public class ReadStore extends MemoryManager implements Read
 
     int dynamicStoreRecordSize()
     {
-        throw new UnsupportedOperationException( "not implemented" );
+        return strings.recordSize();
+    }
+
+    int labelStoreRecordSize()
+    {
+        return labels.recordSize();
     }
 }
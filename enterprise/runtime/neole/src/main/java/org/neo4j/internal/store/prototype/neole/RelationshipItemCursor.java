@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.store.prototype.neole;
+
+import org.neo4j.cursor.Cursor;
+import org.neo4j.kernel.impl.locking.Lock;
+import org.neo4j.storageengine.api.RelationshipItem;
+
+import static org.neo4j.kernel.impl.locking.LockService.NO_LOCK;
+
+/**
+ * Base cursor for relationships, exposing the current record of a neole relationship cursor.
+ */
+abstract class RelationshipItemCursor implements Cursor<RelationshipItem>, RelationshipItem
+{
+    abstract RelationshipCursor relationship();
+
+    @Override
+    public RelationshipItem get()
+    {
+        return this;
+    }
+
+    @Override
+    public long id()
+    {
+        return relationship().relationshipReference();
+    }
+
+    @Override
+    public int type()
+    {
+        return relationship().label();
+    }
+
+    @Override
+    public long startNode()
+    {
+        return relationship().sourceNodeReference();
+    }
+
+    @Override
+    public long endNode()
+    {
+        return relationship().targetNodeReference();
+    }
+
+    @Override
+    public long otherNode( long nodeId )
+    {
+        long startNode = startNode();
+        return startNode == nodeId ? endNode() : startNode;
+    }
+
+    @Override
+    public long nextPropertyId()
+    {
+        return relationship().propertiesReference();
+    }
+
+    @Override
+    public Lock lock()
+    {
+        // only used for read only databases, there are no concurrent writers to guard against
+        return NO_LOCK;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.store.prototype.neole;
+
+import java.util.function.Consumer;
+
+import static org.neo4j.kernel.api.StatementConstants.NO_SUCH_RELATIONSHIP;
+
+/**
+ * Cursor for a single relationship.
+ */
+class SingleRelationshipItemCursor extends RelationshipItemCursor
+{
+    private final ReadStore store;
+    private final RelationshipScanCursor relationship;
+    private final Consumer<SingleRelationshipItemCursor> instanceCache;
+    private long relationshipId = NO_SUCH_RELATIONSHIP;
+
+    SingleRelationshipItemCursor( ReadStore store, Consumer<SingleRelationshipItemCursor> instanceCache )
+    {
+        this.store = store;
+        this.relationship = new RelationshipScanCursor( store );
+        this.instanceCache = instanceCache;
+    }
+
+    SingleRelationshipItemCursor init( long relationshipId )
+    {
+        this.relationshipId = relationshipId;
+        return this;
+    }
+
+    @Override
+    RelationshipCursor relationship()
+    {
+        return relationship;
+    }
+
+    @Override
+    public boolean next()
+    {
+        if ( relationshipId != NO_SUCH_RELATIONSHIP )
+        {
+            try
+            {
+                if ( store.containsRelationship( relationshipId ) )
+                {
+                    store.singleRelationship( relationshipId, relationship );
+                    return relationship.next();
+                }
+            }
+            finally
+            {
+                relationshipId = NO_SUCH_RELATIONSHIP;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close()
+    {
+        relationship.close();
+        instanceCache.accept( this );
+    }
+}
@@ -35,6 +35,7 @@ import org.neo4j.internal.store.cursors.PageManager;
 import org.neo4j.internal.store.cursors.ReadCursor;
 
 import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
 import static org.neo4j.internal.store.prototype.neole.ReadStore.lcm;
 import static org.neo4j.internal.store.prototype.neole.ReadStore.nextPowerOfTwo;
@@ -57,7 +58,7 @@ abstract class StoreFile extends PageManager implements Closeable
     {
         FileChannel channel = new RandomAccessFile( file, "r" ).getChannel();
         ByteBuffer buffer = ByteBuffer.allocate( 4 );
-        System.out.println( channel.read( buffer ) );
+        channel.read( buffer );
         buffer.flip();
 
         final int recordSize = buffer.getInt();
@@ -74,6 +75,7 @@ abstract class StoreFile extends PageManager implements Closeable
     }
 
     private final FileChannel channel;
+    private final long size;
     final long maxReference;
     private final int pageSize;
     private long[] addresses;
@@ -81,15 +83,21 @@ abstract class StoreFile extends PageManager implements Closeable
 
     private StoreFile( File file ) throws IOException
     {
-        // even though we only use read access we need to request write access
-        // in order to be able to let memory mapping extend the file
-        this.channel = new RandomAccessFile( file, "rw" ).getChannel();
-        maxReference = channel.size() / recordSize();
+        // the files belong to a database, so they are opened for reading only and never mapped past their end,
+        // since mapping past the end of a file opened for writing would extend it
+        this.channel = new RandomAccessFile( file, "r" ).getChannel();
+        size = channel.size();
+        maxReference = size / recordSize();
         pageSize = lcm( recordSize(), 4096 );
     }
 
     abstract int recordSize();
 
+    boolean contains( long reference )
+    {
+        return reference >= 0 && reference < maxReference;
+    }
+
     private long pageBase( int pageId )
     {
         MappedByteBuffer[] buffers = this.buffers;
@@ -138,10 +146,10 @@ abstract class StoreFile extends PageManager implements Closeable
 
     private MappedByteBuffer map( int pageId )
     {
-        int pageSize = this.pageSize;
+        long position = pageId * (long) pageSize;
         try
         {
-            return channel.map( READ_ONLY, pageId * (long) pageSize, pageSize );
+            return channel.map( READ_ONLY, position, max( 0, min( pageSize, size - position ) ) );
         }
         catch ( IOException e )
         {
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2002-2018 "Neo Technology,"
+ * Network Engine for Objects in Lund AB [http://neotechnology.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.internal.store.prototype.neole;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
+import org.neo4j.kernel.impl.storageengine.impl.recordstorage.RecordReadPath;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeThat;
+import static org.neo4j.graphdb.Label.label;
+import static org.neo4j.graphdb.RelationshipType.withName;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.dense_node_threshold;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.read_only;
+import static org.neo4j.graphdb.factory.GraphDatabaseSettings.record_read_path;
+
+public class NeoleRecordReadPathTest
+{
+    private static final RelationshipType KNOWS = withName( "KNOWS" ), LIKES = withName( "LIKES" );
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private long missingNode;
+    private long missingRelationship;
+
+    @Before
+    public void createGraph()
+    {
+        assumeThat( "x86_64", equalTo( System.getProperty( "os.arch" ) ) );
+
+        GraphDatabaseService db = new GraphDatabaseFactory().newEmbeddedDatabaseBuilder( folder.getRoot() )
+                .setConfig( dense_node_threshold, "10" )
+                .newGraphDatabase();
+        try ( Transaction tx = db.beginTx() )
+        {
+            Label[] manyLabels = new Label[20];
+            for ( int i = 0; i < manyLabels.length; i++ )
+            {
+                manyLabels[i] = label( "Label" + i );
+            }
+            Node hub = db.createNode( label( "Hub" ) );
+            Node withManyLabels = db.createNode( manyLabels );
+            List<Node> nodes = new ArrayList<>();
+            for ( int i = 0; i < 30; i++ )
+            {
+                Node node = db.createNode( i % 2 == 0 ? label( "Even" ) : label( "Odd" ) );
+                nodes.add( node );
+                hub.createRelationshipTo( node, i % 3 == 0 ? KNOWS : LIKES );
+                if ( i % 5 == 0 )
+                {
+                    node.createRelationshipTo( hub, KNOWS );
+                }
+            }
+            for ( int i = 1; i < nodes.size(); i++ )
+            {
+                nodes.get( i - 1 ).createRelationshipTo( nodes.get( i ), i % 2 == 0 ? KNOWS : LIKES );
+            }
+            hub.createRelationshipTo( hub, LIKES );
+            nodes.get( 0 ).createRelationshipTo( nodes.get( 0 ), KNOWS );
+            withManyLabels.createRelationshipTo( hub, KNOWS );
+            Node deleted = db.createNode();
+            Relationship deletedRelationship = hub.createRelationshipTo( deleted, KNOWS );
+            missingNode = deleted.getId();
+            missingRelationship = deletedRelationship.getId();
+            tx.success();
+        }
+        try ( Transaction tx = db.beginTx() )
+        {
+            db.getRelationshipById( missingRelationship ).delete();
+            db.getNodeById( missingNode ).delete();
+            tx.success();
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldReadTheSameGraphAsThePageCache()
+    {
+        // given
+        Map<Long,String> expected = readGraph( startReadOnly( "" ) );
+
+        // when
+        GraphDatabaseService db = startReadOnly( NeoleRecordReadPathFactory.NAME );
+        RecordReadPath readPath = ((GraphDatabaseAPI) db).getDependencyResolver()
+                .resolveDependency( RecordReadPath.class );
+        Map<Long,String> actual = readGraph( db );
+
+        // then
+        assertThat( readPath, instanceOf( NeoleRecordReadPath.class ) );
+        assertEquals( expected, actual );
+        assertFalse( actual.containsKey( missingNode ) );
+    }
+
+    @Test
+    public void shouldNotFindDeletedOrNonExistentEntities()
+    {
+        GraphDatabaseService db = startReadOnly( NeoleRecordReadPathFactory.NAME );
+        try ( Transaction ignored = db.beginTx() )
+        {
+            for ( long id : asList( missingNode, Integer.MAX_VALUE - 1L ) )
+            {
+                try
+                {
+                    db.getNodeById( id );
+                    throw new AssertionError( "Should not find node " + id );
+                }
+                catch ( NotFoundException e )
+                {
+                    // expected
+                }
+            }
+            for ( long id : asList( missingRelationship, Integer.MAX_VALUE - 1L ) )
+            {
+                try
+                {
+                    db.getRelationshipById( id );
+                    throw new AssertionError( "Should not find relationship " + id );
+                }
+                catch ( NotFoundException e )
+                {
+                    // expected
+                }
+            }
+        }
+        finally
+        {
+            db.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotChangeTheStoreFiles()
+    {
+        // given
+        Map<String,Long> sizes = fileSizes( folder.getRoot() );
+
+        // when
+        readGraph( startReadOnly( NeoleRecordReadPathFactory.NAME ) );
+
+        // then
+        assertEquals( sizes, fileSizes( folder.getRoot() ) );
+    }
+
+    private GraphDatabaseService startReadOnly( String readPath )
+    {
+        return new GraphDatabaseFactory().newEmbeddedDatabaseBuilder( folder.getRoot() )
+                .setConfig( read_only, "true" )
+                .setConfig( record_read_path, readPath )
+                .newGraphDatabase();
+    }
+
+    /**
+     * Describes every node with its labels, degrees and relationships, reading each relationship both by
+     * traversing from the node and by its id. Shuts down the database afterwards.
+     */
+    private static Map<Long,String> readGraph( GraphDatabaseService db )
+    {
+        Map<Long,String> graph = new TreeMap<>();
+        try ( Transaction tx = db.beginTx() )
+        {
+            for ( Node node : db.getAllNodes() )
+            {
+                StringBuilder description = new StringBuilder();
+                List<String> labels = new ArrayList<>();
+                for ( Label label : node.getLabels() )
+                {
+                    labels.add( label.name() );
+                }
+                labels.sort( String::compareTo );
+                description.append( labels ).append( node.hasLabel( label( "Hub" ) ) );
+                for ( Direction direction : Direction.values() )
+                {
+                    description.append( direction ).append( node.getDegree( direction ) )
+                            .append( relationships( node.getRelationships( direction ) ) )
+                            .append( relationships( node.getRelationships( direction, KNOWS ) ) )
+                            .append( relationships( node.getRelationships( direction, LIKES, KNOWS ) ) );
+                }
+                for ( Relationship relationship : node.getRelationships() )
+                {
+                    Relationship byId = db.getRelationshipById( relationship.getId() );
+                    description.append( byId.getType().name() ).append( byId.getStartNode().getId() )
+                            .append( byId.getEndNode().getId() );
+                }
+                graph.put( db.getNodeById( node.getId() ).getId(), description.toString() );
+            }
+            tx.success();
+        }
+        finally
+        {
+            db.shutdown();
+        }
+        return graph;
+    }
+
+    private static String relationships( Iterable<Relationship> relationships )
+    {
+        List<String> descriptions = new ArrayList<>();
+        for ( Relationship relationship : relationships )
+        {
+            descriptions.add( relationship.getId() + ":" + relationship.getType().name() + ":" +
+                    relationship.getStartNode().getId() + "->" + relationship.getEndNode().getId() );
+        }
+        descriptions.sort( String::compareTo );
+        return descriptions.toString();
+    }
+
+    private static Map<String,Long> fileSizes( File directory )
+    {
+        Map<String,Long> sizes = new TreeMap<>();
+        File[] files = directory.listFiles();
+        if ( files != null )
+        {
+            for ( File file : files )
+            {
+                String name = file.getName();
+                if ( name.startsWith( "neostore." ) && (name.endsWith( ".db" ) || name.endsWith( ".labels" )) )
+                {
+                    sizes.put( name, file.length() );
+                }
+            }
+        }
+        return sizes;
+    }
+}
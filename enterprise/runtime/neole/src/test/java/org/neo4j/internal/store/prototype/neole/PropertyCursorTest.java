@@ -27,9 +27,11 @@ import java.util.Set;
 
 import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.internal.kernel.api.NodeCursor;
 import org.neo4j.internal.kernel.api.PropertyCursor;
+import org.neo4j.internal.kernel.api.RelationshipScanCursor;
 import org.neo4j.values.storable.Values;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -37,14 +39,17 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeThat;
+import static org.neo4j.graphdb.RelationshipType.withName;
 import static org.neo4j.graphdb.factory.GraphDatabaseSettings.dense_node_threshold;
 
 public class PropertyCursorTest
 {
     private static long bare, byteProp, shortProp, intProp, inlineLongProp, longProp,
-            floatProp, doubleProp, trueProp, falseProp, charProp, shortStringProp, utf8Prop, allProps;
+            floatProp, doubleProp, trueProp, falseProp, charProp, shortStringProp, utf8Prop, allProps,
+            relationshipProp, longStringProp, relationshipLongStringProp;
 
     private static String chinese = "造Unicode之";
+    private static String longString = longString();
     @ClassRule
     public static final GraphSetup graph = new GraphSetup()
     {
@@ -70,6 +75,7 @@ public class PropertyCursorTest
                 charProp = createNodeWithProperty( graphDb, "charProp", 'x' );
                 shortStringProp = createNodeWithProperty( graphDb, "shortStringProp", "hello" );
                 utf8Prop = createNodeWithProperty( graphDb, "utf8Prop", chinese );
+                longStringProp = createNodeWithProperty( graphDb, "longStringProp", longString );
 
                 Node all = graphDb.createNode();
                 // first property record
@@ -92,6 +98,14 @@ public class PropertyCursorTest
 
                 allProps = all.getId();
 
+                Relationship relationship = all.createRelationshipTo( graphDb.createNode(), withName( "REL" ) );
+                relationship.setProperty( "intProp", 13 );
+                relationshipProp = relationship.getId();
+
+                Relationship longStringRelationship = all.createRelationshipTo( graphDb.createNode(), withName( "REL" ) );
+                longStringRelationship.setProperty( "longStringProp", longString );
+                relationshipLongStringProp = longStringRelationship.getId();
+
                 tx.success();
             }
         }
@@ -144,6 +158,7 @@ public class PropertyCursorTest
         assertAccessSingleProperty( charProp, Values.of( 'x' ) );
         assertAccessSingleProperty( shortStringProp, Values.of( "hello" ) );
         assertAccessSingleProperty( utf8Prop, Values.of( chinese ) );
+        assertAccessSingleProperty( longStringProp, Values.of( longString ) );
     }
 
     @Test
@@ -184,6 +199,65 @@ public class PropertyCursorTest
         }
     }
 
+    @Test
+    public void shouldAccessRelationshipProperties() throws Exception
+    {
+        assumeThat( "x86_64", equalTo( System.getProperty( "os.arch" ) ) );
+
+        // given
+        try ( RelationshipScanCursor relationship = graph.allocateRelationshipScanCursor();
+                PropertyCursor props = graph.allocatePropertyCursor() )
+        {
+            // when
+            graph.singleRelationship( relationshipProp, relationship );
+            assertTrue( "relationship by reference", relationship.next() );
+            assertTrue( "has properties", relationship.hasProperties() );
+
+            // then
+            relationship.properties( props );
+            assertTrue( "has properties by direct method", props.next() );
+            assertEquals( "correct value", Values.of( 13 ), props.propertyValue() );
+            assertFalse( "single property", props.next() );
+
+            graph.relationshipProperties( relationship.propertiesReference(), props );
+            assertTrue( "has properties via property ref", props.next() );
+            assertEquals( "correct value", Values.of( 13 ), props.propertyValue() );
+            assertFalse( "single property", props.next() );
+        }
+    }
+
+    @Test
+    public void shouldAccessRelationshipStringProperties() throws Exception
+    {
+        assumeThat( "x86_64", equalTo( System.getProperty( "os.arch" ) ) );
+
+        // given
+        try ( RelationshipScanCursor relationship = graph.allocateRelationshipScanCursor();
+                PropertyCursor props = graph.allocatePropertyCursor() )
+        {
+            // when
+            graph.singleRelationship( relationshipLongStringProp, relationship );
+            assertTrue( "relationship by reference", relationship.next() );
+
+            // then
+            graph.relationshipProperties( relationship.propertiesReference(), props );
+            assertTrue( "has properties via property ref", props.next() );
+            assertEquals( "correct value", Values.of( longString ), props.propertyValue() );
+            assertFalse( "single property", props.next() );
+        }
+    }
+
+    private static String longString()
+    {
+        // long enough to be stored in a chain of several dynamic string records
+        StringBuilder builder = new StringBuilder();
+        for ( int i = 0; i < 50; i++ )
+        {
+            builder.append( chinese ).append( i );
+        }
+        return builder.toString();
+    }
+
     private void assertAccessSingleProperty( long nodeId, Object expectedValue )
     {
         // given
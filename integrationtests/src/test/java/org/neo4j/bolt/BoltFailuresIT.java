@@ -283,6 +283,11 @@ public class BoltFailuresIT
             throwIfNeeded( throwInSessionStarted );
         }
 
+        @Override
+        public void sessionEnded()
+        {
+        }
+
         @Override
         public void messageReceived()
         {
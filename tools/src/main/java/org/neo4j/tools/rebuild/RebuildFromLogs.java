@@ -43,6 +43,7 @@ import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.impl.muninn.StandalonePageCacheFactory;
 import org.neo4j.kernel.api.direct.DirectStoreAccess;
 import org.neo4j.kernel.api.labelscan.LabelScanStore;
+import org.neo4j.kernel.api.labelscan.RelationshipTypeScanStore;
 import org.neo4j.kernel.configuration.Config;
 import org.neo4j.kernel.impl.api.TransactionCommitProcess;
 import org.neo4j.kernel.impl.api.TransactionQueue;
@@ -277,6 +278,7 @@ class RebuildFromLogs
     {
         private final GraphDatabaseAPI graphdb;
         private final LabelScanStore labelScanStore;
+        private final RelationshipTypeScanStore relationshipTypeScanStore;
         private final Config tuningConfiguration = Config.defaults();
         private final SchemaIndexProviderMap indexes;
 
@@ -285,6 +287,7 @@ class RebuildFromLogs
             this.graphdb = startTemporaryDb( dbDirectory.getAbsoluteFile(), pageCache );
             DependencyResolver resolver = graphdb.getDependencyResolver();
             this.labelScanStore = resolver.resolveDependency( LabelScanStore.class );
+            this.relationshipTypeScanStore = resolver.resolveDependency( RelationshipTypeScanStore.class );
             this.indexes = resolver.resolveDependency( SchemaIndexProviderMap.class );
         }
 
@@ -292,7 +295,8 @@ class RebuildFromLogs
         {
             StoreAccess nativeStores = new StoreAccess( graphdb.getDependencyResolver()
                     .resolveDependency( RecordStorageEngine.class ).testAccessNeoStores() ).initialize();
-            DirectStoreAccess stores = new DirectStoreAccess( nativeStores, labelScanStore, indexes );
+            DirectStoreAccess stores = new DirectStoreAccess( nativeStores, labelScanStore, relationshipTypeScanStore,
+                    indexes );
             FullCheck fullCheck = new FullCheck( tuningConfiguration, ProgressMonitorFactory.textual( System.err ),
                     Statistics.NONE, ConsistencyCheckService.defaultConsistencyCheckThreadsNumber() );
 